@@ -286,6 +286,8 @@ public final class TinyMediaManager {
         }
       }
 
+      TinyMediaManagerCLI.writeMetrics();
+
       LOGGER.info("bye bye");
       try {
         shutdown();
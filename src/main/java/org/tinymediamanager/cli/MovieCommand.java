@@ -307,7 +307,13 @@ class MovieCommand implements Runnable {
         try {
           ex = new MovieExporter(Paths.get(exportTemplate.getPath()));
 
-          List<Movie> movies = MovieModuleManager.getInstance().getMovieList().getMovies();
+          List<Movie> movies;
+          if (export.search != null) {
+            movies = new ArrayList<>(MovieModuleManager.getInstance().getMovieList().searchMovies(export.search));
+          }
+          else {
+            movies = MovieModuleManager.getInstance().getMovieList().getMovies();
+          }
           movies.sort(new MovieComparator());
           ex.export(movies, export.path);
         }
@@ -388,6 +394,10 @@ class MovieCommand implements Runnable {
 
     @CommandLine.Option(names = { "-eP", "--exportPath" }, required = true, description = "The path to export your movie list to")
     Path    path;
+
+    @CommandLine.Option(names = { "-eS",
+        "--exportSearch" }, paramLabel = "<text>", description = "Only export movies matching this search text (optional)")
+    String  search;
   }
 
   static class MediaInfo {
@@ -19,11 +19,15 @@ import static org.tinymediamanager.TinyMediaManager.shutdown;
 import static org.tinymediamanager.TinyMediaManager.shutdownLogger;
 
 import java.awt.GraphicsEnvironment;
+import java.nio.file.Paths;
 
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.tinymediamanager.core.Settings;
+import org.tinymediamanager.core.Utils;
 import org.tinymediamanager.core.http.TmmHttpServer;
+import org.tinymediamanager.core.metrics.TmmMetrics;
 import org.tinymediamanager.ui.MainWindow;
 import org.tinymediamanager.updater.UpdateCheck;
 import org.tinymediamanager.updater.UpdaterTask;
@@ -50,6 +54,9 @@ import picocli.CommandLine;
                 "  tinyMediaManager tvshow -h           to display the help for the tvshow command",
                 "",
                 "  tinyMediaManager --update            to download the latest updates for tinyMediaManager",
+                "",
+                "  tinyMediaManager --metrics=metrics.json movie -u",
+                "                                       to write the runtime metrics of the update to metrics.json",
         },
         subcommands = {
                 MovieCommand.class,
@@ -71,6 +78,12 @@ public class TinyMediaManagerCLI implements Runnable {
   @CommandLine.Option(names = { "--start-api" }, description = "Start the API server and keep tinyMediaManager running")
   boolean                     startApi;
 
+  @CommandLine.Option(names = {
+      "--metrics" }, paramLabel = "<file>", description = "Write the runtime metrics (durations of tasks, HTTP requests, ...) as JSON to the given file when finished; - for the console")
+  String                      metrics;
+
+  private static String       metricsFile;
+
   public static boolean checkArgs(String... args) {
     CommandLine cmd = new CommandLine(TinyMediaManagerCLI.class);
     try {
@@ -104,6 +117,32 @@ public class TinyMediaManagerCLI implements Runnable {
   public static void start(String... args) {
     CommandLine cmd = new CommandLine(TinyMediaManagerCLI.class);
     cmd.execute(args);
+
+    // the options of the main command are also parsed if a subcommand is executed
+    TinyMediaManagerCLI cli = cmd.getCommand();
+    metricsFile = cli.metrics;
+  }
+
+  /**
+   * write the runtime metrics as JSON if requested (--metrics)
+   */
+  public static void writeMetrics() {
+    if (StringUtils.isBlank(metricsFile)) {
+      return;
+    }
+
+    try {
+      String json = TmmMetrics.getInstance().toJson();
+      if ("-".equals(metricsFile)) {
+        System.out.println(json); // NOSONAR
+      }
+      else {
+        Utils.writeStringToFile(Paths.get(metricsFile), json);
+      }
+    }
+    catch (Exception e) {
+      LOGGER.error("could not write metrics: {}", e.getMessage());
+    }
   }
 
   private TinyMediaManagerCLI() {
@@ -399,7 +399,13 @@ class TvShowCommand implements Runnable {
         try {
           ex = new TvShowExporter(Paths.get(exportTemplate.getPath()));
 
-          List<TvShow> tvShows = TvShowModuleManager.getInstance().getTvShowList().getTvShows();
+          List<TvShow> tvShows;
+          if (export.search != null) {
+            tvShows = new ArrayList<>(TvShowModuleManager.getInstance().getTvShowList().searchTvShows(export.search));
+          }
+          else {
+            tvShows = TvShowModuleManager.getInstance().getTvShowList().getTvShows();
+          }
           tvShows.sort(new TvShowComparator());
           ex.export(tvShows, export.path);
         }
@@ -487,6 +493,10 @@ class TvShowCommand implements Runnable {
 
     @CommandLine.Option(names = { "-eP", "--exportPath" }, required = true, description = "The path to export your TV show list to")
     Path    path;
+
+    @CommandLine.Option(names = { "-eS",
+        "--exportSearch" }, paramLabel = "<text>", description = "Only export TV shows matching this search text (optional)")
+    String  search;
   }
 
   static class MediaInfo {
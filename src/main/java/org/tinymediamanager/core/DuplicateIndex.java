@@ -0,0 +1,196 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.StringUtils;
+import org.tinymediamanager.core.entities.MediaEntity;
+import org.tinymediamanager.core.entities.MediaFile;
+import org.tinymediamanager.core.threading.TmmTask;
+import org.tinymediamanager.core.threading.TmmTaskManager;
+
+/**
+ * The class {@link DuplicateIndex} finds duplicates (entities sharing a key like an ID) with the help of a {@link FacetIndex}. The keys of an
+ * entity are only extracted again if the entity has been changed, and the index keeps track of the keys which are shared by several entities. So
+ * searching for duplicates neither rebuilds any map nor touches entities which are not (or no longer) duplicates.<br />
+ * <br />
+ * In the fingerprint mode the sampled content fingerprint (see {@link FileHashService}) of the main video file is used as an additional key, to
+ * find duplicate files which have not been scraped. Only stored fingerprints are used while indexing; missing fingerprints are computed in the
+ * cancellable background task and stored in the {@link MediaFile}, so every file is only read once.
+ *
+ * @param <E>
+ *          the type of the entities
+ *
+ * @author Manuel Laggner
+ */
+public class DuplicateIndex<E extends MediaEntity> {
+  private static final String                   FACET_ID            = "duplicates";
+
+  private final FacetIndex<E>                   facetIndex;
+  private final Function<E, Collection<String>> keyExtractor;
+  private final Function<E, MediaFile>          videoFile;
+  private final BooleanSupplier                 fingerprintMode;
+  private final Set<E>                          duplicates          = Collections.newSetFromMap(new IdentityHashMap<>());
+  private final Set<E>                          missingFingerprints = ConcurrentHashMap.newKeySet();
+  private final AtomicBoolean                   fingerprinting      = new AtomicBoolean(false);
+
+  /**
+   * create a new duplicate index
+   *
+   * @param facetIndex
+   *          the {@link FacetIndex} of all entities
+   * @param keyExtractor
+   *          a {@link Function} to extract the duplicate keys (e.g. the IDs) of an entity
+   * @param videoFile
+   *          a {@link Function} to get the main video file of an entity (for the fingerprint mode); null if the entity must not be compared by
+   *          its fingerprint
+   * @param fingerprintMode
+   *          true if the fingerprint mode is active
+   */
+  public DuplicateIndex(FacetIndex<E> facetIndex, Function<E, Collection<String>> keyExtractor, Function<E, MediaFile> videoFile,
+      BooleanSupplier fingerprintMode) {
+    this.facetIndex = facetIndex;
+    this.keyExtractor = keyExtractor;
+    this.videoFile = videoFile;
+    this.fingerprintMode = fingerprintMode;
+
+    facetIndex.registerFacet(FACET_ID, this::getKeys, true);
+  }
+
+  /**
+   * re-extract the keys of all entities (e.g. after the fingerprint mode has been changed)
+   */
+  public void invalidateAll() {
+    facetIndex.invalidateAll();
+  }
+
+  /**
+   * update the duplicate flag of all entities: only the flags of entities which became or are no longer a duplicate are changed
+   */
+  public synchronized void updateDuplicateFlags() {
+    BitSet shared = facetIndex.shared(FACET_ID);
+
+    Set<E> newDuplicates = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (int ordinal = shared.nextSetBit(0); ordinal >= 0; ordinal = shared.nextSetBit(ordinal + 1)) {
+      E entity = facetIndex.getEntity(ordinal);
+      if (entity != null) {
+        newDuplicates.add(entity);
+        entity.setDuplicate();
+      }
+    }
+
+    for (E entity : duplicates) {
+      if (!newDuplicates.contains(entity)) {
+        entity.clearDuplicate();
+      }
+    }
+
+    duplicates.clear();
+    duplicates.addAll(newDuplicates);
+
+    if (fingerprintMode.getAsBoolean()) {
+      computeMissingFingerprints();
+    }
+  }
+
+  private Collection<?> getKeys(E entity) {
+    List<String> keys = new ArrayList<>(keyExtractor.apply(entity));
+
+    if (fingerprintMode.getAsBoolean()) {
+      MediaFile mediaFile = videoFile.apply(entity);
+      if (mediaFile != null && StringUtils.isNotBlank(mediaFile.getFilename())) {
+        String fingerprint = FileHashService.getStoredFingerprint(mediaFile);
+        if (StringUtils.isNotBlank(fingerprint)) {
+          keys.add("fingerprint:" + fingerprint);
+        }
+        else {
+          missingFingerprints.add(entity);
+        }
+      }
+    }
+
+    return keys;
+  }
+
+  /**
+   * compute the missing fingerprints in a background task (which is shown in the task list and can be cancelled). The duplicate flags are updated
+   * afterwards
+   */
+  private void computeMissingFingerprints() {
+    if (missingFingerprints.isEmpty() || !fingerprinting.compareAndSet(false, true)) {
+      return;
+    }
+
+    TmmTaskManager.getInstance().addUnnamedTask(new FingerprintTask());
+  }
+
+  /*************************************************************************
+   * helper classes
+   *************************************************************************/
+  private class FingerprintTask extends TmmTask {
+    private FingerprintTask() {
+      super(TmmResourceBundle.getString("task.duplicatefingerprint"), missingFingerprints.size(), TaskType.BACKGROUND_TASK);
+    }
+
+    @Override
+    protected void doInBackground() {
+      boolean changed = false;
+      try {
+        int done = 0;
+        for (E entity : new ArrayList<>(missingFingerprints)) {
+          if (cancel) {
+            // the remaining entities are picked up with the next update of the duplicate flags
+            break;
+          }
+
+          missingFingerprints.remove(entity);
+          publishState(entity.getTitle(), ++done);
+          if (facetIndex.getOrdinal(entity) < 0) {
+            // removed meanwhile
+            continue;
+          }
+
+          // the fingerprint is stored in the media file (and persisted by the entity). If the file on disk differs from the stored size/date
+          // (not yet updated by the update data source), the hashes do not match the media file - do not trigger another update of the flags
+          MediaFile mediaFile = videoFile.apply(entity);
+          if (mediaFile != null && FileHashService.getHashes(mediaFile) != null
+              && StringUtils.isNotBlank(FileHashService.getStoredFingerprint(mediaFile))) {
+            facetIndex.invalidate(entity);
+            changed = true;
+          }
+        }
+      }
+      finally {
+        fingerprinting.set(false);
+      }
+
+      if (changed) {
+        updateDuplicateFlags();
+      }
+    }
+  }
+}
@@ -0,0 +1,842 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core;
+
+import java.beans.PropertyChangeListener;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The class {@link FacetIndex} maintains a posting list (a bitset or - for rare values - a plain array) per facet value over the ordinals of all
+ * indexed entities. Every entity gets an ordinal when it is added to the index; a facet is a function which extracts the (filterable) values of an
+ * entity. Combining facets is then a simple AND/OR of {@link BitSet}s instead of evaluating every filter against every entity.<br />
+ * <br />
+ * The index is kept up to date incrementally: any property change of an entity just marks it as dirty (and increments its modification stamp).
+ * Dirty entities are re-indexed lazily on the next query, so that a bulk change (e.g. a scrape of many movies) does not cost anything until the
+ * index is actually needed.
+ *
+ * @param <E>
+ *          the type of the indexed entities
+ *
+ * @author Manuel Laggner
+ */
+public class FacetIndex<E extends AbstractModelObject> {
+  private static final Logger          LOGGER        = LoggerFactory.getLogger(FacetIndex.class);
+
+  /**
+   * the facet value for entities which do not have any value in this facet
+   */
+  public static final Object           EMPTY         = new Object();
+
+  private final Map<E, Integer>        ordinals      = new IdentityHashMap<>();
+  private final List<E>                entities      = new ArrayList<>();
+  private final Deque<Integer>         freeOrdinals  = new ArrayDeque<>();
+  private final Map<String, Facet<E>>  facets        = new HashMap<>();
+  private final BitSet                 dirty         = new BitSet();
+  private final PropertyChangeListener entityListener;
+  private final ReadWriteLock          readWriteLock = new ReentrantReadWriteLock();
+  private final Object                 refreshLock   = new Object();
+
+  private long[]                       modifications = new long[0];
+  private long                         modificationCounter;
+
+  public FacetIndex() {
+    entityListener = evt -> {
+      if (evt.getSource() instanceof AbstractModelObject source) {
+        invalidate(source);
+      }
+    };
+  }
+
+  /**
+   * add the given entity to the index. The index registers itself as {@link PropertyChangeListener} on the entity, so this should be called
+   * <b>before</b> any other listener is registered to have the index invalidated before other listeners (e.g. filtered lists) are informed
+   *
+   * @param entity
+   *          the entity to add
+   */
+  public void add(E entity) {
+    readWriteLock.writeLock().lock();
+    try {
+      if (ordinals.containsKey(entity)) {
+        return;
+      }
+
+      int ordinal;
+      if (freeOrdinals.isEmpty()) {
+        ordinal = entities.size();
+        entities.add(entity);
+      }
+      else {
+        ordinal = freeOrdinals.pop();
+        entities.set(ordinal, entity);
+      }
+
+      ordinals.put(entity, ordinal);
+      touch(ordinal);
+    }
+    finally {
+      readWriteLock.writeLock().unlock();
+    }
+
+    entity.addPropertyChangeListener(entityListener);
+  }
+
+  /**
+   * add all given entities to the index
+   *
+   * @param entities
+   *          the entities to add
+   */
+  public void addAll(Collection<? extends E> entities) {
+    for (E entity : entities) {
+      add(entity);
+    }
+  }
+
+  /**
+   * remove the given entity from the index
+   *
+   * @param entity
+   *          the entity to remove
+   */
+  public void remove(E entity) {
+    entity.removePropertyChangeListener(entityListener);
+
+    readWriteLock.writeLock().lock();
+    try {
+      Integer ordinal = ordinals.remove(entity);
+      if (ordinal == null) {
+        return;
+      }
+
+      for (Facet<E> facet : facets.values()) {
+        facet.unindex(ordinal);
+      }
+
+      entities.set(ordinal, null);
+      dirty.clear(ordinal);
+      touch(ordinal);
+      freeOrdinals.push(ordinal);
+    }
+    finally {
+      readWriteLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * remove all entities from the index
+   */
+  public void clear() {
+    readWriteLock.writeLock().lock();
+    try {
+      for (E entity : ordinals.keySet()) {
+        entity.removePropertyChangeListener(entityListener);
+      }
+      ordinals.clear();
+      entities.clear();
+      freeOrdinals.clear();
+      dirty.clear();
+      for (Facet<E> facet : facets.values()) {
+        facet.clear();
+      }
+      modificationCounter++;
+      modifications = new long[0];
+    }
+    finally {
+      readWriteLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * mark the given entity as dirty. It will be re-indexed on the next query
+   *
+   * @param entity
+   *          the entity to invalidate
+   */
+  public void invalidate(Object entity) {
+    readWriteLock.writeLock().lock();
+    try {
+      Integer ordinal = ordinals.get(entity);
+      if (ordinal != null) {
+        dirty.set(ordinal);
+        touch(ordinal);
+      }
+    }
+    finally {
+      readWriteLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * mark all entities as dirty (e.g. after a setting has been changed which affects the facet values)
+   */
+  public void invalidateAll() {
+    readWriteLock.writeLock().lock();
+    try {
+      for (int ordinal : ordinals.values()) {
+        dirty.set(ordinal);
+        touch(ordinal);
+      }
+    }
+    finally {
+      readWriteLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * register a new facet. If there is already a facet with the same id, it will be replaced
+   *
+   * @param facetId
+   *          the id of the facet
+   * @param extractor
+   *          a {@link Function} to extract all values of this facet from an entity
+   */
+  public void registerFacet(String facetId, Function<E, Collection<?>> extractor) {
+    registerFacet(facetId, extractor, false);
+  }
+
+  /**
+   * register a new facet. If there is already a facet with the same id, it will be replaced
+   *
+   * @param facetId
+   *          the id of the facet
+   * @param extractor
+   *          a {@link Function} to extract all values of this facet from an entity
+   * @param trackShared
+   *          true to keep track of the values which are shared by several entities (see {@link #shared(String)})
+   */
+  public void registerFacet(String facetId, Function<E, Collection<?>> extractor, boolean trackShared) {
+    readWriteLock.writeLock().lock();
+    try {
+      Facet<E> facet = new Facet<>(extractor, trackShared);
+      facets.put(facetId, facet);
+      modificationCounter++;
+    }
+    finally {
+      readWriteLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * check if there is a facet with the given id
+   *
+   * @param facetId
+   *          the id of the facet
+   * @return true if the facet has been registered
+   */
+  public boolean hasFacet(String facetId) {
+    readWriteLock.readLock().lock();
+    try {
+      return facets.containsKey(facetId);
+    }
+    finally {
+      readWriteLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * check if the facet with the given id has already been built up, so that it can be queried without extracting the values of all entities
+   *
+   * @param facetId
+   *          the id of the facet
+   * @return true if the facet has been built up
+   */
+  public boolean isFacetBuilt(String facetId) {
+    readWriteLock.readLock().lock();
+    try {
+      Facet<E> facet = facets.get(facetId);
+      return facet != null && facet.built;
+    }
+    finally {
+      readWriteLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * build up the facet with the given id (if not done yet). This extracts the values of all entities and should not be done in the EDT
+   *
+   * @param facetId
+   *          the id of the facet
+   */
+  public void buildFacet(String facetId) {
+    refresh(facetId);
+  }
+
+  /**
+   * get a {@link BitSet} of all entities having at least one of the given values in the given facet (OR). Use {@link #EMPTY} to match all
+   * entities without any value in this facet
+   *
+   * @param facetId
+   *          the id of the facet
+   * @param values
+   *          the values to look for
+   * @return a new {@link BitSet} with all matching ordinals set
+   */
+  public BitSet anyOf(String facetId, Collection<?> values) {
+    Facet<E> facet = refresh(facetId);
+    if (facet == null) {
+      return new BitSet();
+    }
+
+    readWriteLock.readLock().lock();
+    try {
+      BitSet result = new BitSet(entities.size());
+      for (Object value : values) {
+        Postings postings = facet.postings.get(value);
+        if (postings != null) {
+          postings.orInto(result);
+        }
+      }
+      return result;
+    }
+    finally {
+      readWriteLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * get a {@link BitSet} of all entities having <b>all</b> of the given values in the given facet (AND)
+   *
+   * @param facetId
+   *          the id of the facet
+   * @param values
+   *          the values to look for
+   * @return a new {@link BitSet} with all matching ordinals set
+   */
+  public BitSet allOf(String facetId, Collection<?> values) {
+    Facet<E> facet = refresh(facetId);
+    if (facet == null || values.isEmpty()) {
+      return new BitSet();
+    }
+
+    readWriteLock.readLock().lock();
+    try {
+      List<Postings> postingsToIntersect = new ArrayList<>();
+      for (Object value : values) {
+        Postings postings = facet.postings.get(value);
+        if (postings == null || postings.isEmpty()) {
+          return new BitSet();
+        }
+        postingsToIntersect.add(postings);
+      }
+
+      // start with the smallest one to keep the intersection cheap
+      postingsToIntersect.sort(Comparator.comparingInt(Postings::cardinality));
+
+      BitSet result = postingsToIntersect.get(0).toBitSet();
+      for (int i = 1; i < postingsToIntersect.size() && !result.isEmpty(); i++) {
+        postingsToIntersect.get(i).andInto(result);
+      }
+      return result;
+    }
+    finally {
+      readWriteLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * get a {@link BitSet} of all entities which share at least one value of the given facet with another entity (e.g. to find duplicates). The
+   * shared values are maintained while indexing, so this only costs the amount of shared values - not the amount of entities. The facet must
+   * have been registered with <i>trackShared</i>
+   *
+   * @param facetId
+   *          the id of the facet
+   * @return a new {@link BitSet} with the ordinals of all entities sharing a value
+   */
+  public BitSet shared(String facetId) {
+    Facet<E> facet = refresh(facetId);
+    if (facet == null || facet.shared == null) {
+      return new BitSet();
+    }
+
+    readWriteLock.readLock().lock();
+    try {
+      BitSet result = new BitSet(entities.size());
+      for (Object value : facet.shared) {
+        Postings postings = facet.postings.get(value);
+        if (postings != null) {
+          postings.orInto(result);
+        }
+      }
+      return result;
+    }
+    finally {
+      readWriteLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * get a {@link BitSet} of all indexed entities
+   *
+   * @return a new {@link BitSet} with the ordinals of all indexed entities set
+   */
+  public BitSet all() {
+    readWriteLock.readLock().lock();
+    try {
+      BitSet result = new BitSet(entities.size());
+      for (int ordinal : ordinals.values()) {
+        result.set(ordinal);
+      }
+      return result;
+    }
+    finally {
+      readWriteLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * get all distinct values of the given facet
+   *
+   * @param facetId
+   *          the id of the facet
+   * @return a {@link Set} of all values in this facet
+   */
+  public Set<Object> getValues(String facetId) {
+    Facet<E> facet = refresh(facetId);
+    if (facet == null) {
+      return Collections.emptySet();
+    }
+
+    readWriteLock.readLock().lock();
+    try {
+      Set<Object> values = new HashSet<>();
+      facet.postings.forEach((value, postings) -> {
+        if (!postings.isEmpty()) {
+          values.add(value);
+        }
+      });
+      return values;
+    }
+    finally {
+      readWriteLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * get the ordinal of the given entity
+   *
+   * @param entity
+   *          the entity
+   * @return the ordinal or -1 if the entity is not indexed
+   */
+  public int getOrdinal(Object entity) {
+    readWriteLock.readLock().lock();
+    try {
+      Integer ordinal = ordinals.get(entity);
+      return ordinal != null ? ordinal : -1;
+    }
+    finally {
+      readWriteLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * get the entity for the given ordinal
+   *
+   * @param ordinal
+   *          the ordinal
+   * @return the entity or null if there is no entity with this ordinal
+   */
+  public E getEntity(int ordinal) {
+    readWriteLock.readLock().lock();
+    try {
+      if (ordinal < 0 || ordinal >= entities.size()) {
+        return null;
+      }
+      return entities.get(ordinal);
+    }
+    finally {
+      readWriteLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * get the current modification stamp of the index. Every change of an entity gets a higher stamp than this
+   *
+   * @return the modification stamp
+   */
+  public long getModificationStamp() {
+    readWriteLock.readLock().lock();
+    try {
+      return modificationCounter;
+    }
+    finally {
+      readWriteLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * check if the given entity has been modified after the given modification stamp. Results calculated before that stamp are not valid for this
+   * entity any more
+   *
+   * @param entity
+   *          the entity to check
+   * @param stamp
+   *          the modification stamp to compare with
+   * @return true if the entity is unknown or has been modified after the stamp
+   */
+  public boolean isModifiedSince(Object entity, long stamp) {
+    readWriteLock.readLock().lock();
+    try {
+      Integer ordinal = ordinals.get(entity);
+      if (ordinal == null || ordinal >= modifications.length) {
+        return true;
+      }
+      return modifications[ordinal] > stamp;
+    }
+    finally {
+      readWriteLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * check if the given entity may be in the given result (calculated at the given modification stamp). This is the case if the entity is in the
+   * result or if the entity has been modified after the stamp (so the result is not valid for this entity any more)
+   *
+   * @param result
+   *          the result of a query (ordinals)
+   * @param entity
+   *          the entity to check
+   * @param stamp
+   *          the modification stamp taken <b>before</b> the result has been calculated
+   * @return true if the entity has to be checked for itself
+   */
+  public boolean isCandidate(BitSet result, Object entity, long stamp) {
+    readWriteLock.readLock().lock();
+    try {
+      Integer ordinal = ordinals.get(entity);
+      if (ordinal == null || ordinal >= modifications.length || modifications[ordinal] > stamp) {
+        return true;
+      }
+      return result.get(ordinal);
+    }
+    finally {
+      readWriteLock.readLock().unlock();
+    }
+  }
+
+  private void touch(int ordinal) {
+    if (ordinal >= modifications.length) {
+      long[] newModifications = new long[Math.max(ordinal + 1, modifications.length * 2)];
+      System.arraycopy(modifications, 0, newModifications, 0, modifications.length);
+      modifications = newModifications;
+    }
+    modifications[ordinal] = ++modificationCounter;
+  }
+
+  /**
+   * re-index all dirty entities (for all facets) and build up the given facet if it has not been built yet. The facet values are extracted
+   * outside the index lock, because extracting may need to acquire locks of the entity itself (which may fire events into this index)
+   *
+   * @param facetId
+   *          the id of the facet to refresh
+   * @return the refreshed facet or null if there is no such facet
+   */
+  private Facet<E> refresh(String facetId) {
+    synchronized (refreshLock) {
+      Facet<E> facet;
+      boolean buildFacet;
+      BitSet toRefresh;
+      List<Facet<E>> builtFacets = new ArrayList<>();
+      List<PendingEntity<E>> pendingEntities = new ArrayList<>();
+
+      // 1. collect all entities to (re-)index
+      readWriteLock.writeLock().lock();
+      try {
+        facet = facets.get(facetId);
+        if (facet == null) {
+          return null;
+        }
+
+        buildFacet = !facet.built;
+        if (!buildFacet && dirty.isEmpty()) {
+          return facet;
+        }
+
+        toRefresh = (BitSet) dirty.clone();
+        dirty.clear();
+
+        for (Facet<E> f : facets.values()) {
+          if (f.built) {
+            builtFacets.add(f);
+          }
+        }
+
+        for (Map.Entry<E, Integer> entry : ordinals.entrySet()) {
+          int ordinal = entry.getValue();
+          if (buildFacet || toRefresh.get(ordinal)) {
+            pendingEntities.add(new PendingEntity<>(ordinal, entry.getKey(), modifications[ordinal]));
+          }
+        }
+      }
+      finally {
+        readWriteLock.writeLock().unlock();
+      }
+
+      // 2. extract the values without holding the lock
+      long start = System.currentTimeMillis();
+      for (PendingEntity<E> pending : pendingEntities) {
+        if (toRefresh.get(pending.ordinal)) {
+          for (Facet<E> f : builtFacets) {
+            pending.values.put(f, f.extract(pending.entity));
+          }
+        }
+        if (buildFacet) {
+          pending.values.put(facet, facet.extract(pending.entity));
+        }
+      }
+
+      // 3. and apply them
+      readWriteLock.writeLock().lock();
+      try {
+        for (PendingEntity<E> pending : pendingEntities) {
+          Integer ordinal = ordinals.get(pending.entity);
+          if (ordinal == null || ordinal != pending.ordinal) {
+            // removed in the meantime
+            continue;
+          }
+
+          pending.values.forEach((f, values) -> f.index(pending.ordinal, values, entities.size()));
+
+          if (modifications[pending.ordinal] != pending.modification) {
+            // changed in the meantime -> re-index on the next query
+            dirty.set(pending.ordinal);
+          }
+        }
+
+        if (buildFacet) {
+          facet.built = true;
+        }
+      }
+      finally {
+        readWriteLock.writeLock().unlock();
+      }
+
+      if (buildFacet) {
+        LOGGER.debug("built facet '{}' for {} entities - took {} ms", facetId, pendingEntities.size(), System.currentTimeMillis() - start);
+      }
+
+      return facet;
+    }
+  }
+
+  /*
+   * a single facet: value -> ordinals
+   */
+  private static class Facet<E> {
+    private final Function<E, Collection<?>> extractor;
+    private final Map<Object, Postings>      postings        = new HashMap<>();
+    private final Map<Integer, Object[]>     valuesByOrdinal = new HashMap<>();
+    private final Set<Object>                shared;
+    private boolean                          built           = false;
+
+    private Facet(Function<E, Collection<?>> extractor, boolean trackShared) {
+      this.extractor = extractor;
+      this.shared = trackShared ? new HashSet<>() : null;
+    }
+
+    private Set<Object> extract(E entity) {
+      Set<Object> values = new HashSet<>();
+      try {
+        Collection<?> extracted = extractor.apply(entity);
+        if (extracted != null) {
+          for (Object value : extracted) {
+            if (value != null) {
+              values.add(value);
+            }
+          }
+        }
+      }
+      catch (Exception e) {
+        LOGGER.debug("could not extract facet values - {}", e.getMessage());
+      }
+
+      if (values.isEmpty()) {
+        values.add(EMPTY);
+      }
+
+      return values;
+    }
+
+    private void index(int ordinal, Set<Object> values, int capacity) {
+      unindex(ordinal);
+
+      // remember the canonical values (the keys of the postings) only - there may be many equal values (e.g. n-grams) for different entities
+      Object[] canonicalValues = new Object[values.size()];
+      int i = 0;
+      for (Object value : values) {
+        Postings p = postings.computeIfAbsent(value, Postings::new);
+        p.add(ordinal, capacity);
+        canonicalValues[i++] = p.value;
+        if (shared != null && p.value != EMPTY && p.cardinality() > 1) {
+          shared.add(p.value);
+        }
+      }
+      valuesByOrdinal.put(ordinal, canonicalValues);
+    }
+
+    private void unindex(int ordinal) {
+      Object[] oldValues = valuesByOrdinal.remove(ordinal);
+      if (oldValues == null) {
+        return;
+      }
+
+      for (Object value : oldValues) {
+        Postings p = postings.get(value);
+        if (p != null) {
+          p.remove(ordinal);
+          if (p.isEmpty()) {
+            postings.remove(value);
+          }
+          if (shared != null && p.cardinality() < 2) {
+            shared.remove(value);
+          }
+        }
+      }
+    }
+
+    private void clear() {
+      postings.clear();
+      valuesByOrdinal.clear();
+      if (shared != null) {
+        shared.clear();
+      }
+      built = false;
+    }
+  }
+
+  /*
+   * the ordinals of all entities having one facet value. Facets with many distinct values (like the n-grams of the text search) are sparse, so the
+   * ordinals are held in a plain int array until a BitSet would need less memory
+   */
+  private static class Postings {
+    private final Object value;
+
+    private int[]        sparse = new int[4];
+    private int          size   = 0;
+    private BitSet       dense  = null;
+
+    private Postings(Object value) {
+      this.value = value;
+    }
+
+    /*
+     * the caller ensures that the ordinal is not in here yet (the facet always unindexes an entity before indexing it again)
+     */
+    private void add(int ordinal, int capacity) {
+      if (dense != null) {
+        dense.set(ordinal);
+        return;
+      }
+
+      if (size == sparse.length) {
+        if (size * 32 >= capacity) {
+          dense = toBitSet();
+          dense.set(ordinal);
+          sparse = null;
+          size = 0;
+          return;
+        }
+        sparse = Arrays.copyOf(sparse, size * 2);
+      }
+      sparse[size++] = ordinal;
+    }
+
+    private void remove(int ordinal) {
+      if (dense != null) {
+        dense.clear(ordinal);
+        return;
+      }
+
+      for (int i = 0; i < size; i++) {
+        if (sparse[i] == ordinal) {
+          sparse[i] = sparse[--size];
+          return;
+        }
+      }
+    }
+
+    private boolean isEmpty() {
+      return dense != null ? dense.isEmpty() : size == 0;
+    }
+
+    private int cardinality() {
+      return dense != null ? dense.cardinality() : size;
+    }
+
+    private void orInto(BitSet target) {
+      if (dense != null) {
+        target.or(dense);
+      }
+      else {
+        for (int i = 0; i < size; i++) {
+          target.set(sparse[i]);
+        }
+      }
+    }
+
+    private void andInto(BitSet target) {
+      target.and(dense != null ? dense : toBitSet());
+    }
+
+    private BitSet toBitSet() {
+      if (dense != null) {
+        return (BitSet) dense.clone();
+      }
+
+      BitSet bits = new BitSet();
+      for (int i = 0; i < size; i++) {
+        bits.set(sparse[i]);
+      }
+      return bits;
+    }
+  }
+
+  /*
+   * an entity which is waiting for being (re-)indexed
+   */
+  private static class PendingEntity<E> {
+    private final int                        ordinal;
+    private final E                          entity;
+    private final long                       modification;
+    private final Map<Facet<E>, Set<Object>> values = new IdentityHashMap<>();
+
+    private PendingEntity(int ordinal, E entity, long modification) {
+      this.ordinal = ordinal;
+      this.entity = entity;
+      this.modification = modification;
+    }
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tinymediamanager.core.entities.MediaFile;
+import org.tinymediamanager.core.entities.MediaFileHashes;
+
+/**
+ * The class {@link FileHashService} computes content hashes of media files: the OpenSubtitles hash and a sampled content fingerprint (which can
+ * be used for duplicate detection or cache keys). Both hashes are computed from the same few chunks of the file, so every file is only opened
+ * once and read with a handful of positional reads - no matter how large it is.<br />
+ * <br />
+ * The hashes are stored in the {@link MediaFile} and re-used as long as the file size and last modified date do not change.
+ *
+ * @author Manuel Laggner
+ */
+public class FileHashService {
+  private static final Logger LOGGER          = LoggerFactory.getLogger(FileHashService.class);
+
+  static final int            HASH_CHUNK_SIZE = 64 * 1024;
+  static final int            SAMPLE_SIZE     = 16 * 1024;
+  static final int            SAMPLE_COUNT    = 6;
+
+  private FileHashService() {
+    throw new IllegalAccessError();
+  }
+
+  /**
+   * get the hashes of the given {@link MediaFile}. If there are already hashes stored for the current file size and last modified date, they
+   * are re-used - otherwise they will be computed and stored in the {@link MediaFile}
+   *
+   * @param mediaFile
+   *          the {@link MediaFile} to get the hashes for
+   * @return the {@link MediaFileHashes} or null if the file could not be read
+   */
+  public static MediaFileHashes getHashes(MediaFile mediaFile) {
+    Path file = mediaFile.getFileAsPath();
+
+    try {
+      BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+      if (!attributes.isRegularFile()) {
+        return null;
+      }
+
+      MediaFileHashes hashes = mediaFile.getHashes();
+      if (hashes != null && hashes.isValidFor(attributes.size(), attributes.lastModifiedTime().toMillis())) {
+        return hashes;
+      }
+
+      hashes = computeHashes(file, attributes.size(), attributes.lastModifiedTime().toMillis());
+      mediaFile.setHashes(hashes);
+      return hashes;
+    }
+    catch (Exception e) {
+      LOGGER.debug("could not compute hashes for '{}' - {}", file, e.getMessage());
+    }
+
+    return null;
+  }
+
+  /**
+   * get the OpenSubtitles hash of the given {@link MediaFile}
+   *
+   * @param mediaFile
+   *          the {@link MediaFile} to get the hash for
+   * @return the OpenSubtitles hash or an empty string if the file could not be read
+   */
+  public static String getOpenSubtitlesHash(MediaFile mediaFile) {
+    MediaFileHashes hashes = getHashes(mediaFile);
+    return hashes != null ? hashes.openSubtitlesHash() : "";
+  }
+
+  /**
+   * get the sampled content fingerprint of the given {@link MediaFile}
+   *
+   * @param mediaFile
+   *          the {@link MediaFile} to get the fingerprint for
+   * @return the fingerprint or an empty string if the file could not be read
+   */
+  public static String getFingerprint(MediaFile mediaFile) {
+    MediaFileHashes hashes = getHashes(mediaFile);
+    return hashes != null ? hashes.fingerprint() : "";
+  }
+
+  /**
+   * get the stored fingerprint of the given {@link MediaFile} without accessing the file. The fingerprint is only returned if it has been computed
+   * for the current file size and last modified date of the {@link MediaFile}
+   *
+   * @param mediaFile
+   *          the {@link MediaFile} to get the fingerprint for
+   * @return the fingerprint or an empty string if the file has not been hashed yet
+   */
+  public static String getStoredFingerprint(MediaFile mediaFile) {
+    MediaFileHashes hashes = mediaFile.getHashes();
+    if (hashes == null || !hashes.isValidFor(mediaFile.getFilesize(), mediaFile.getFiledate())) {
+      return "";
+    }
+    return hashes.fingerprint();
+  }
+
+  /**
+   * compute all hashes of the given file. The head and tail chunk (64 KB each) are read once and used for both hashes; the fingerprint
+   * additionally samples some small chunks evenly distributed over the rest of the file
+   *
+   * @param file
+   *          the file to hash
+   * @param size
+   *          the size of the file
+   * @param lastModified
+   *          the last modified date (millis) of the file
+   * @return the computed {@link MediaFileHashes}
+   * @throws IOException
+   *           any {@link IOException} occurred while reading the file
+   */
+  static MediaFileHashes computeHashes(Path file, long size, long lastModified) throws IOException {
+    MessageDigest digest = createDigest();
+    digest.update(ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(0, size));
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      // do not use FileChannel.map() here because it is not releasing resources
+      ByteBuffer head = readChunk(channel, 0, (int) Math.min(HASH_CHUNK_SIZE, size));
+      ByteBuffer tail = size > HASH_CHUNK_SIZE ? readChunk(channel, size - HASH_CHUNK_SIZE, HASH_CHUNK_SIZE) : head.duplicate();
+
+      long openSubtitlesHash = size + sumLongs(head) + sumLongs(tail);
+
+      digest.update(head.rewind());
+
+      // sample the part between head and tail
+      long gap = size - 2L * HASH_CHUNK_SIZE;
+      if (gap > 0) {
+        int sampleSize = (int) Math.min(SAMPLE_SIZE, gap / SAMPLE_COUNT);
+        ByteBuffer sample = ByteBuffer.allocate(sampleSize);
+        for (int i = 0; i < SAMPLE_COUNT && sampleSize > 0; i++) {
+          long position = HASH_CHUNK_SIZE + (gap / SAMPLE_COUNT) * i;
+          sample.clear();
+          readFully(channel, sample, position);
+          digest.update(sample.flip());
+        }
+      }
+
+      if (size > HASH_CHUNK_SIZE) {
+        digest.update(tail.rewind());
+      }
+
+      return new MediaFileHashes(String.format("%016x", openSubtitlesHash), HexFormat.of().formatHex(digest.digest()), size, lastModified);
+    }
+  }
+
+  private static ByteBuffer readChunk(FileChannel channel, long position, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    readFully(channel, buffer, position);
+    buffer.flip();
+    return buffer;
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    long offset = position;
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, offset);
+      if (read < 0) {
+        break;
+      }
+      offset += read;
+    }
+  }
+
+  private static long sumLongs(ByteBuffer buffer) {
+    // the OpenSubtitles hash only takes full 64 bit words into account
+    LongBuffer longBuffer = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+    long hash = 0;
+
+    while (longBuffer.hasRemaining()) {
+      hash += longBuffer.get();
+    }
+
+    return hash;
+  }
+
+  private static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance("MD5");
+    }
+    catch (NoSuchAlgorithmException e) {
+      // every JVM has to support MD5
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -18,9 +18,11 @@ package org.tinymediamanager.core;
 import java.awt.Point;
 import java.awt.image.BufferedImage;
 import java.awt.image.ColorConvertOp;
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
+import java.io.EOFException;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -28,12 +30,18 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.security.MessageDigest;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 
+import javax.imageio.IIOException;
 import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
 import javax.imageio.ImageWriteParam;
 import javax.imageio.ImageWriter;
 import javax.imageio.stream.FileImageOutputStream;
+import javax.imageio.stream.ImageInputStream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.imgscalr.Scalr;
@@ -42,6 +50,8 @@ import org.slf4j.LoggerFactory;
 import org.tinymediamanager.Globals;
 import org.tinymediamanager.core.entities.MediaEntity;
 import org.tinymediamanager.core.entities.MediaFile;
+import org.tinymediamanager.core.metrics.Counter;
+import org.tinymediamanager.core.metrics.TmmMetrics;
 import org.tinymediamanager.core.tasks.ImageCacheTask;
 import org.tinymediamanager.core.threading.ThreadUtils;
 import org.tinymediamanager.core.threading.TmmTaskManager;
@@ -50,7 +60,6 @@ import org.tinymediamanager.scraper.util.StrgUtils;
 import org.tinymediamanager.scraper.util.UrlUtil;
 
 import com.fasterxml.jackson.annotation.JsonEnumDefaultValue;
-import com.madgag.gif.fmsware.GifDecoder;
 
 /**
  * The Class ImageCache - used to build a local image cache (scaled down versions & thumbnails - also for offline access).
@@ -58,9 +67,18 @@ import com.madgag.gif.fmsware.GifDecoder;
  * @author Manuel Laggner
  */
 public class ImageCache {
-  private static final Logger LOGGER     = LoggerFactory.getLogger(ImageCache.class);
-  private static final Path   CACHE_DIR  = Paths.get(Globals.CACHE_FOLDER + "/image");
-  private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+  private static final Logger      LOGGER       = LoggerFactory.getLogger(ImageCache.class);
+  private static final Path        CACHE_DIR    = Paths.get(Globals.CACHE_FOLDER + "/image");
+  private static final char[]      HEX_DIGITS   = "0123456789ABCDEF".toCharArray();
+
+  // a quarter of the heap (4 bytes per pixel) may be used for decoding/scaling images at the same time
+  private static final PixelBudget PIXEL_BUDGET = new PixelBudget(Runtime.getRuntime().maxMemory() / 16);
+
+  // resolved once - the lookup by name and labels is too expensive for every single image request
+  private static final Counter     CACHE_HITS   = TmmMetrics.getInstance()
+      .counter("tmm_image_cache_requests_total", "requests of cached images", "result", "hit");
+  private static final Counter     CACHE_MISSES = TmmMetrics.getInstance()
+      .counter("tmm_image_cache_requests_total", "requests of cached images", "result", "miss");
 
   public enum CacheSize {
     SMALL,
@@ -215,81 +233,14 @@ public class ImageCache {
         throw new EmptyFileException(originalFile);
       }
 
-      // recreate cache dir if needed
-      // rescale & cache
-      BufferedImage originalImage = null;
-
-      // try to cache the image file
-      // we have up to 5 retries here if we hit the memory cap since we are hitting the machine hard due to multi CPU image caching
-      int retries = 5;
-      do {
-        try {
-          byte[] bytes = Files.readAllBytes(originalFile);
-
-          // check if that file is an animated gif
-          GifDecoder decoder = new GifDecoder();
-          int status = decoder.read(new ByteArrayInputStream(bytes));
-          if (status == GifDecoder.STATUS_OK && decoder.getFrameCount() > 1) {
-            // animated gif - we must not scale this (because scaling loses the animation)
-            return writeAnimatedGif(originalFile, cachedFile);
-          }
-
-          originalImage = ImageUtils.createImage(bytes);
-          break;
-        }
-        catch (OutOfMemoryError e) {
-          // memory limit hit; give it another 500ms time to recover
-          LOGGER.debug("hit memory cap: {}", e.getMessage());
-          ThreadUtils.sleep(500);
-        }
-        retries--;
-      } while (retries > 0);
-
-      if (originalImage == null) {
-        throw new IOException("could not open original image to scale; probably due to memory limits");
+      // check if that file is an animated gif
+      if (isAnimatedGif(originalFile)) {
+        // animated gif - we must not scale this (because scaling loses the animation)
+        return writeAnimatedGif(originalFile, cachedFile);
       }
 
-      // calculate width based on MF type
-      int desiredWidth = calculateCacheImageWidth(originalImage);
-
-      Point size = ImageUtils.calculateSize(desiredWidth, originalImage.getHeight(), originalImage.getWidth(), originalImage.getHeight(), true);
-      BufferedImage scaledImage = null;
-
-      // we have up to 5 retries here if we hit the memory cap since we are hitting the machine hard due to multi CPU image caching
-      retries = 5;
-      do {
-        try {
-          switch (Settings.getInstance().getImageCacheType()) {
-            case BALANCED:
-              // scale fast
-              scaledImage = Scalr.resize(originalImage, Scalr.Method.BALANCED, Scalr.Mode.FIT_EXACT, size.x, size.y);
-              break;
-
-            case QUALITY:
-              // scale with good quality
-              scaledImage = Scalr.resize(originalImage, Scalr.Method.QUALITY, Scalr.Mode.FIT_EXACT, size.x, size.y);
-              break;
-
-            case ULTRA_QUALITY:
-              // scale with good quality
-              scaledImage = Scalr.resize(originalImage, Scalr.Method.ULTRA_QUALITY, Scalr.Mode.FIT_EXACT, size.x, size.y);
-              break;
-          }
-          break;
-        }
-        catch (OutOfMemoryError e) {
-          // memory limit hit; give it another 500ms time to recover
-          LOGGER.debug("hit memory cap: {}", e.getMessage());
-          ThreadUtils.sleep(500);
-        }
-        retries--;
-      } while (retries > 0);
-
-      originalImage.flush();
-
-      if (scaledImage == null) {
-        throw new IOException("could not scale image; probably due to memory limits");
-      }
+      // rescale & cache
+      BufferedImage scaledImage = createThumbnail(originalFile);
 
       ImageWriter imgWrtr = null;
       ImageWriteParam imgWrtrPrm = null;
@@ -344,9 +295,172 @@ public class ImageCache {
     return cachedFile;
   }
 
-  private static int calculateCacheImageWidth(BufferedImage originalImage) {
+  /**
+   * create the scaled down image for the cache. The size of the image is read from the image header, so the image can be decoded with a source
+   * subsampling (only as large as needed for the scaling). All image cache threads share a budget of decoded pixels, so caching several large
+   * images in parallel does not exhaust the heap
+   */
+  private static BufferedImage createThumbnail(Path originalFile) throws IOException, InterruptedException {
+    try (ImageInputStream iis = ImageIO.createImageInputStream(originalFile.toFile())) {
+      Iterator<ImageReader> readers = iis != null ? ImageIO.getImageReaders(iis) : Collections.emptyIterator();
+      if (!readers.hasNext()) {
+        // no ImageIO reader for this format - the size is unknown, so decode it exclusively
+        return createThumbnailFromFullImage(originalFile, PIXEL_BUDGET.getCapacity());
+      }
+
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(iis, true, true);
+        int width = reader.getWidth(0);
+        int height = reader.getHeight(0);
+
+        Point size = ImageUtils.calculateSize(calculateCacheImageWidth(width, height), height, width, height, true);
+        int subsampling = calculateSubsampling(width, height, size.x, size.y, Settings.getInstance().getImageCacheType());
+
+        // the decoded image + the scaled image (and an intermediate image of the scaling)
+        long pixels = (long) ceilDiv(width, subsampling) * ceilDiv(height, subsampling) + 2L * size.x * size.y;
+        PIXEL_BUDGET.acquire(pixels);
+        try {
+          ImageReadParam param = reader.getDefaultReadParam();
+          param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+          return scaleImage(reader.read(0, param), size);
+        }
+        catch (IIOException e) {
+          // ImageIO cannot decode some images (e.g. CMYK jpgs) - use the fallback below
+          LOGGER.trace("could not decode '{}' with ImageIO - {}", originalFile, e.getMessage());
+        }
+        finally {
+          PIXEL_BUDGET.release(pixels);
+        }
+
+        return createThumbnailFromFullImage(originalFile, (long) width * height + 2L * size.x * size.y);
+      }
+      finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /**
+   * decode the whole image in its full resolution (if ImageIO is not able to decode it)
+   */
+  private static BufferedImage createThumbnailFromFullImage(Path originalFile, long pixels) throws IOException, InterruptedException {
+    PIXEL_BUDGET.acquire(pixels);
+    try {
+      BufferedImage originalImage = ImageUtils.createImage(originalFile);
+      if (originalImage == null) {
+        throw new IOException("could not open original image to scale");
+      }
+
+      int width = originalImage.getWidth();
+      int height = originalImage.getHeight();
+      return scaleImage(originalImage, ImageUtils.calculateSize(calculateCacheImageWidth(width, height), height, width, height, true));
+    }
+    finally {
+      PIXEL_BUDGET.release(pixels);
+    }
+  }
+
+  private static BufferedImage scaleImage(BufferedImage originalImage, Point size) {
+    BufferedImage scaledImage = switch (Settings.getInstance().getImageCacheType()) {
+      // scale fast
+      case BALANCED -> Scalr.resize(originalImage, Scalr.Method.BALANCED, Scalr.Mode.FIT_EXACT, size.x, size.y);
+      // scale with good quality
+      case QUALITY -> Scalr.resize(originalImage, Scalr.Method.QUALITY, Scalr.Mode.FIT_EXACT, size.x, size.y);
+      case ULTRA_QUALITY -> Scalr.resize(originalImage, Scalr.Method.ULTRA_QUALITY, Scalr.Mode.FIT_EXACT, size.x, size.y);
+    };
+
+    if (scaledImage != originalImage) {
+      originalImage.flush();
+    }
+    return scaledImage;
+  }
+
+  /**
+   * calculate the source subsampling for decoding an image which is being scaled to the given target size afterwards
+   *
+   * @return the subsampling factor (1 for decoding all pixels)
+   */
+  static int calculateSubsampling(int width, int height, int targetWidth, int targetHeight, CacheType cacheType) {
+    // subsampling just drops pixels - for the quality modes decode at least twice the target size, the smoothing is done by scaling afterwards
+    int oversampling = cacheType == CacheType.BALANCED ? 1 : 2;
+    int factor = Math.min(width / Math.max(1, targetWidth * oversampling), height / Math.max(1, targetHeight * oversampling));
+    return Math.max(1, factor);
+  }
+
+  private static int ceilDiv(int value, int divisor) {
+    return (value + divisor - 1) / divisor;
+  }
+
+  /**
+   * check if the given file is an animated gif. Only the block structure of the gif is being read (until the second frame), no image data is
+   * decoded
+   *
+   * @param file
+   *          the file to check
+   * @return true if the file is a gif with more than one frame
+   */
+  static boolean isAnimatedGif(Path file) throws IOException {
+    try (InputStream is = new BufferedInputStream(Files.newInputStream(file))) {
+      byte[] header = is.readNBytes(13);
+      if (header.length < 13 || header[0] != 'G' || header[1] != 'I' || header[2] != 'F') {
+        return false;
+      }
+
+      // global color table
+      if ((header[10] & 0x80) != 0) {
+        is.skipNBytes(3L << ((header[10] & 0x07) + 1));
+      }
+
+      int frames = 0;
+      while (true) {
+        switch (is.read()) {
+          case 0x21:
+            // extension: label + data sub-blocks
+            is.read();
+            skipSubBlocks(is);
+            break;
+
+          case 0x2C:
+            // image descriptor
+            frames++;
+            if (frames > 1) {
+              return true;
+            }
+            byte[] descriptor = is.readNBytes(9);
+            if (descriptor.length < 9) {
+              return false;
+            }
+            // local color table
+            if ((descriptor[8] & 0x80) != 0) {
+              is.skipNBytes(3L << ((descriptor[8] & 0x07) + 1));
+            }
+            // LZW minimum code size + image data sub-blocks
+            is.read();
+            skipSubBlocks(is);
+            break;
+
+          default:
+            // trailer, end of file or a broken file
+            return false;
+        }
+      }
+    }
+    catch (EOFException e) {
+      return false;
+    }
+  }
+
+  private static void skipSubBlocks(InputStream is) throws IOException {
+    int length;
+    while ((length = is.read()) > 0) {
+      is.skipNBytes(length);
+    }
+  }
+
+  private static int calculateCacheImageWidth(int width, int height) {
     // initialize with the original width
-    int desiredWidth = originalImage.getWidth();
+    int desiredWidth = width;
 
     switch (Settings.getInstance().getImageCacheSize()) {
       case ORIGINAL:
@@ -355,32 +469,32 @@ public class ImageCache {
 
       case BIG:
         // decide the scale-side depending on the aspect ratio
-        if (((float) originalImage.getWidth()) / ((float) originalImage.getHeight()) > 1) {
+        if (((float) width) / ((float) height) > 1) {
           // landscape
-          if (originalImage.getWidth() > 1000) {
+          if (width > 1000) {
             desiredWidth = 1000;
           }
         }
         else {
           // portrait
-          if (originalImage.getHeight() > 1000) {
-            desiredWidth = 1000 * originalImage.getWidth() / originalImage.getHeight();
+          if (height > 1000) {
+            desiredWidth = 1000 * width / height;
           }
         }
         break;
 
       case SMALL:
         // decide the scale-side depending on the aspect ratio
-        if (((float) originalImage.getWidth()) / ((float) originalImage.getHeight()) > 1) {
+        if (((float) width) / ((float) height) > 1) {
           // landscape
-          if (originalImage.getWidth() > 400) {
+          if (width > 400) {
             desiredWidth = 400;
           }
         }
         else {
           // portrait
-          if (originalImage.getHeight() > 400) {
-            desiredWidth = 400 * originalImage.getWidth() / originalImage.getHeight();
+          if (height > 400) {
+            desiredWidth = 400 * width / height;
           }
         }
         break;
@@ -484,8 +598,10 @@ public class ImageCache {
     }
     Path cachedFile = ImageCache.getCacheDir().resolve(getMD5WithSubfolder(url) + "." + ext);
     if (Files.exists(cachedFile)) {
+      countRequest(true);
       return cachedFile;
     }
+    countRequest(false);
 
     // is the image cache activated?
     if (!Settings.getInstance().isImageCache()) {
@@ -538,13 +654,16 @@ public class ImageCache {
 
     Path cachedFile = ImageCache.getCacheDir().resolve(getMD5WithSubfolder(path.toString()) + "." + Utils.getExtension(path));
     if (Files.exists(cachedFile)) {
+      countRequest(true);
       return cachedFile;
     }
 
     // is the path already inside the cache dir? serve direct
     if (path.startsWith(CACHE_DIR.toAbsolutePath())) {
+      countRequest(true);
       return path;
     }
+    countRequest(false);
 
     // is the image cache activated?
     if (!Settings.getInstance().isImageCache()) {
@@ -569,6 +688,10 @@ public class ImageCache {
     return null;
   }
 
+  private static void countRequest(boolean hit) {
+    (hit ? CACHE_HITS : CACHE_MISSES).increment();
+  }
+
   /**
    * Check whether the original image is in the image cache or not
    * 
@@ -615,4 +738,36 @@ public class ImageCache {
     });
   }
 
+  /**
+   * a budget of pixels which can be decoded by all image cache threads at the same time
+   */
+  static class PixelBudget {
+    private final long capacity;
+    private long       available;
+
+    PixelBudget(long capacity) {
+      this.capacity = capacity;
+      this.available = capacity;
+    }
+
+    long getCapacity() {
+      return capacity;
+    }
+
+    /**
+     * wait until the given amount of pixels is available. An image which is larger than the whole budget is processed exclusively
+     */
+    synchronized void acquire(long pixels) throws InterruptedException {
+      long needed = Math.min(pixels, capacity);
+      while (available < needed) {
+        wait();
+      }
+      available -= needed;
+    }
+
+    synchronized void release(long pixels) {
+      available += Math.min(pixels, capacity);
+      notifyAll();
+    }
+  }
 }
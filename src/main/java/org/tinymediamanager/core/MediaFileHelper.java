@@ -38,11 +38,15 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -61,6 +65,7 @@ import org.tinymediamanager.core.mediainfo.MediaInfoFile;
 import org.tinymediamanager.core.mediainfo.MediaInfoUtils;
 import org.tinymediamanager.core.mediainfo.MediaInfoXMLParser;
 import org.tinymediamanager.core.mediainfo.MediaInfoXmlCreator;
+import org.tinymediamanager.core.metrics.TmmMetrics;
 import org.tinymediamanager.core.tasks.MediaFileARDetectorTask;
 import org.tinymediamanager.core.threading.TmmTask;
 import org.tinymediamanager.library.bluray.playlist.MPLSObject;
@@ -86,74 +91,83 @@ import com.github.stephenc.javaisotools.loopfs.udf.UDFFileSystem;
  * @author Manuel Laggner
  */
 public class MediaFileHelper {
-  private static final Logger      LOGGER             = LoggerFactory.getLogger(MediaFileHelper.class);
+  private static final Logger        LOGGER             = LoggerFactory.getLogger(MediaFileHelper.class);
 
-  public static final List<String> TRAILER_FOLDERS    = List.of("trailer", "trailers");
+  public static final List<String>   TRAILER_FOLDERS    = List.of("trailer", "trailers");
   // lower case
-  public static final List<String> EXTRA_FOLDERS      = List.of("extra", "extras", "behind the scenes", "behindthescenes", "deleted scenes",
+  public static final List<String>   EXTRA_FOLDERS      = List.of("extra", "extras", "behind the scenes", "behindthescenes", "deleted scenes",
       "deletedscenes", "deleted", "featurette", "featurettes", "interview", "interviews", "scene", "scenes", "short", "shorts", "other", "others",
       "bloopers");
   // for structure detection
-  public static final List<String> BLURAY_FOLDERS     = List.of("BDMV", "PLAYLIST", "CLIPINF", "STREAM");
-
-  public static final List<String> SUPPORTED_ARTWORK_FILETYPES;
-  public static final List<String> DEFAULT_VIDEO_FILETYPES;
-  public static final List<String> DEFAULT_AUDIO_FILETYPES;
-  public static final List<String> DEFAULT_SUBTITLE_FILETYPES;
-  public static final List<String> BINARY_FILETYPES;
-
-  public static final Pattern      MOVIESET_ARTWORK_PATTERN;
-  public static final Pattern      POSTER_PATTERN;
-  public static final Pattern      FANART_PATTERN;
-  public static final Pattern      EXTRAFANART_PATTERN;
-  public static final Pattern      BANNER_PATTERN;
-  public static final Pattern      THUMB_PATTERN;
-  public static final Pattern      SEASON_POSTER_PATTERN;
-  public static final Pattern      SEASON_FANART_PATTERN;
-  public static final Pattern      SEASON_BANNER_PATTERN;
-  public static final Pattern      SEASON_THUMB_PATTERN;
-  public static final Pattern      LOGO_PATTERN;
-  public static final Pattern      CLEARLOGO_PATTERN;
-  public static final Pattern      CHARACTERART_PATTERN;
-  public static final Pattern      DISCART_PATTERN;
-  public static final Pattern      CLEARART_PATTERN;
-  public static final Pattern      KEYART_PATTERN;
-
-  public static final String       VIDEO_FORMAT_96P   = "96p";
-  public static final String       VIDEO_FORMAT_120P  = "120p";
-  public static final String       VIDEO_FORMAT_144P  = "144p";
-  public static final String       VIDEO_FORMAT_240P  = "240p";
-  public static final String       VIDEO_FORMAT_288P  = "288p";
-  public static final String       VIDEO_FORMAT_360P  = "360p";
-  public static final String       VIDEO_FORMAT_480P  = "480p";
-  public static final String       VIDEO_FORMAT_540P  = "540p";
-  public static final String       VIDEO_FORMAT_576P  = "576p";
-  public static final String       VIDEO_FORMAT_720P  = "720p";
-  public static final String       VIDEO_FORMAT_1080P = "1080p";
-  public static final String       VIDEO_FORMAT_1440P = "1440p";
-  public static final String       VIDEO_FORMAT_2160P = "2160p";
-  public static final String       VIDEO_FORMAT_4320P = "4320p";
+  public static final List<String>   BLURAY_FOLDERS     = List.of("BDMV", "PLAYLIST", "CLIPINF", "STREAM");
+
+  public static final List<String>   SUPPORTED_ARTWORK_FILETYPES;
+  public static final List<String>   DEFAULT_VIDEO_FILETYPES;
+  public static final List<String>   DEFAULT_AUDIO_FILETYPES;
+  public static final List<String>   DEFAULT_SUBTITLE_FILETYPES;
+  public static final List<String>   BINARY_FILETYPES;
+
+  public static final Pattern        MOVIESET_ARTWORK_PATTERN;
+  public static final Pattern        POSTER_PATTERN;
+  public static final Pattern        FANART_PATTERN;
+  public static final Pattern        EXTRAFANART_PATTERN;
+  public static final Pattern        BANNER_PATTERN;
+  public static final Pattern        THUMB_PATTERN;
+  public static final Pattern        SEASON_POSTER_PATTERN;
+  public static final Pattern        SEASON_FANART_PATTERN;
+  public static final Pattern        SEASON_BANNER_PATTERN;
+  public static final Pattern        SEASON_THUMB_PATTERN;
+  public static final Pattern        LOGO_PATTERN;
+  public static final Pattern        CLEARLOGO_PATTERN;
+  public static final Pattern        CHARACTERART_PATTERN;
+  public static final Pattern        DISCART_PATTERN;
+  public static final Pattern        CLEARART_PATTERN;
+  public static final Pattern        KEYART_PATTERN;
+
+  public static final String         VIDEO_FORMAT_96P   = "96p";
+  public static final String         VIDEO_FORMAT_120P  = "120p";
+  public static final String         VIDEO_FORMAT_144P  = "144p";
+  public static final String         VIDEO_FORMAT_240P  = "240p";
+  public static final String         VIDEO_FORMAT_288P  = "288p";
+  public static final String         VIDEO_FORMAT_360P  = "360p";
+  public static final String         VIDEO_FORMAT_480P  = "480p";
+  public static final String         VIDEO_FORMAT_540P  = "540p";
+  public static final String         VIDEO_FORMAT_576P  = "576p";
+  public static final String         VIDEO_FORMAT_720P  = "720p";
+  public static final String         VIDEO_FORMAT_1080P = "1080p";
+  public static final String         VIDEO_FORMAT_1440P = "1440p";
+  public static final String         VIDEO_FORMAT_2160P = "2160p";
+  public static final String         VIDEO_FORMAT_4320P = "4320p";
 
   // meta formats
-  public static final String       VIDEO_FORMAT_LD    = "LD";
-  public static final String       VIDEO_FORMAT_SD    = "SD";
-  public static final String       VIDEO_FORMAT_HD    = "HD";
-  public static final String       VIDEO_FORMAT_UHD   = "UHD";
+  public static final String         VIDEO_FORMAT_LD    = "LD";
+  public static final String         VIDEO_FORMAT_SD    = "SD";
+  public static final String         VIDEO_FORMAT_HD    = "HD";
+  public static final String         VIDEO_FORMAT_UHD   = "UHD";
 
   // 3D / side-by-side / top-and-bottom / H=half - MVC=Multiview Video Coding-http://wiki.xbmc.org/index.php?title=3D#Video_filenames_flags
-  public static final String       VIDEO_3D           = "3D";
-  public static final String       VIDEO_3D_SBS       = "3D SBS";
-  public static final String       VIDEO_3D_TAB       = "3D TAB";
-  public static final String       VIDEO_3D_HSBS      = "3D HSBS";
-  public static final String       VIDEO_3D_HTAB      = "3D HTAB";
-  public static final String       VIDEO_3D_MVC       = "3D MVC";
+  public static final String         VIDEO_3D           = "3D";
+  public static final String         VIDEO_3D_SBS       = "3D SBS";
+  public static final String         VIDEO_3D_TAB       = "3D TAB";
+  public static final String         VIDEO_3D_HSBS      = "3D HSBS";
+  public static final String         VIDEO_3D_HTAB      = "3D HTAB";
+  public static final String         VIDEO_3D_MVC       = "3D MVC";
 
   // disc folders
-  public static final String       VIDEO_TS           = "VIDEO_TS";
-  public static final String       BDMV               = "BDMV";
-  public static final String       HVDVD_TS           = "HVDVD_TS";
+  public static final String         VIDEO_TS           = "VIDEO_TS";
+  public static final String         BDMV               = "BDMV";
+  public static final String         HVDVD_TS           = "HVDVD_TS";
+
+  // files are analyzed concurrently: a single file is only analyzed once at a time, the read buffers for disc images are shared
+  private static final int           ISO_BUFFER_SIZE    = 64 * 1024;
+  private static final Queue<byte[]> ISO_BUFFERS        = new ArrayBlockingQueue<>(16);
+  private static final Object[]      MEDIAINFO_LOCKS    = new Object[64];
 
   static {
+    for (int i = 0; i < MEDIAINFO_LOCKS.length; i++) {
+      MEDIAINFO_LOCKS[i] = new Object();
+    }
+
     SUPPORTED_ARTWORK_FILETYPES = List.of("jpg", "jpeg,", "png", "tbn", "gif", "bmp", "webp");
 
     // .disc = video stubs
@@ -890,12 +904,16 @@ public class MediaFileHelper {
 
     // read mediainfo directly
     if (mediaInfoFiles.isEmpty()) {
+      long start = System.nanoTime();
       if (mediaFile.isISO()) {
         mediaInfoFiles = getMediaInfoSnapshotFromISO(mediaFile);
       }
       else {
         mediaInfoFiles = getMediaInfoFromSingleFile(mediaFile);
       }
+      TmmMetrics.getInstance()
+          .timer("tmm_mediainfo_duration_seconds", "duration of reading mediainfo per file", "source", mediaFile.isISO() ? "iso" : "file")
+          .observeSince(start);
 
       if (!mediaInfoFiles.isEmpty()) {
         parseMediainfoSnapshot(mediaFile, mediaInfoFiles);
@@ -1100,11 +1118,22 @@ public class MediaFileHelper {
    *          the media file
    * @return a {@link List} of all associated files along with libmediainfo data
    */
-  private static synchronized List<MediaInfoFile> getMediaInfoFromSingleFile(MediaFile mediaFile) {
+  private static List<MediaInfoFile> getMediaInfoFromSingleFile(MediaFile mediaFile) {
     if (!MediaInfoUtils.useMediaInfo()) {
       return Collections.emptyList();
     }
 
+    // different files are analyzed concurrently, but not the same file (and its mediainfo.xml) twice
+    synchronized (getMediaInfoLock(mediaFile.getFileAsPath())) {
+      return gatherMediaInfoFromSingleFile(mediaFile);
+    }
+  }
+
+  private static Object getMediaInfoLock(Path path) {
+    return MEDIAINFO_LOCKS[Math.floorMod(path.hashCode(), MEDIAINFO_LOCKS.length)];
+  }
+
+  private static List<MediaInfoFile> gatherMediaInfoFromSingleFile(MediaFile mediaFile) {
     // open mediaInfo directly on file/folder
     List<MediaInfoFile> mediaInfoFiles = new ArrayList<>();
 
@@ -1168,29 +1197,32 @@ public class MediaFileHelper {
    *          the media file
    * @return a {@link List} of all associated files along with libmediainfo data
    */
-  private static synchronized List<MediaInfoFile> getMediaInfoSnapshotFromISO(MediaFile mediaFile) {
+  private static List<MediaInfoFile> getMediaInfoSnapshotFromISO(MediaFile mediaFile) {
     List<MediaInfoFile> miFiles;
 
     if (!MediaInfoUtils.useMediaInfo()) {
       return Collections.emptyList();
     }
 
-    // try parse ISO as DVD directly...
-    miFiles = parseIso9660(mediaFile);
-
-    // still empty? try parse ISO as UDF directly, taking the biggest file (for now)...
-    if (miFiles.isEmpty()) {
-      miFiles = parseIsoUdf(mediaFile);
-    }
+    // different images are analyzed concurrently, but not the same image (and its mediainfo.xml) twice
+    synchronized (getMediaInfoLock(mediaFile.getFileAsPath())) {
+      // try parse ISO as DVD directly...
+      miFiles = parseIso9660(mediaFile);
 
-    // at this point there is no valid XML file - write a new one if configured
-    if (Settings.getInstance().isWriteMediaInfoXml()) {
-      try {
-        MediaInfoXmlCreator mediaInfoXmlCreator = new MediaInfoXmlCreator(mediaFile, miFiles);
-        mediaInfoXmlCreator.write();
+      // still empty? try parse ISO as UDF directly, taking the biggest file (for now)...
+      if (miFiles.isEmpty()) {
+        miFiles = parseIsoUdf(mediaFile);
       }
-      catch (Exception e) {
-        LOGGER.debug("could not write mediainfo xml - {}", e.getMessage());
+
+      // at this point there is no valid XML file - write a new one if configured
+      if (Settings.getInstance().isWriteMediaInfoXml()) {
+        try {
+          MediaInfoXmlCreator mediaInfoXmlCreator = new MediaInfoXmlCreator(mediaFile, miFiles);
+          mediaInfoXmlCreator.write();
+        }
+        catch (Exception e) {
+          LOGGER.debug("could not write mediainfo xml - {}", e.getMessage());
+        }
       }
     }
 
@@ -1200,7 +1232,6 @@ public class MediaFileHelper {
   static List<MediaInfoFile> parseIso9660(MediaFile mediaFile) {
     List<MediaInfoFile> miFiles = new ArrayList<>();
 
-    int bufferSize = 64 * 1024;
     try (Iso9660FileSystem image = new Iso9660FileSystem(mediaFile.getFileAsPath().toFile(), true)) {
       LOGGER.trace("ISO: Open");
 
@@ -1223,7 +1254,7 @@ public class MediaFileHelper {
         allFiles.add(mif);
       }
 
-      List<MediaInfoFile> relevantFiles = detectRelevantFiles(allFiles);
+      Set<MediaInfoFile> relevantFiles = new HashSet<>(detectRelevantFiles(allFiles));
 
       for (Iso9660FileEntry entry : fileEntries) {
         MediaInfoFile mif = new MediaInfoFile(Paths.get(entry.getPath()), entry.getSize());
@@ -1237,43 +1268,7 @@ public class MediaFileHelper {
         if (mf.isDiscFile()) { // count all known DVD/BR/HDDVD files!
 
           try (MediaInfo fileMI = new MediaInfo()) {
-            byte[] fromBuffer = new byte[bufferSize];
-            int fromBufferSize; // The size of the read file buffer
-            long fileSize = entry.getSize();
-
-            // Preparing to fill MediaInfo with a buffer
-            fileMI.openBufferInit(fileSize, 0);
-
-            long pos = 0L;
-            // The parsing loop
-            do {
-              // limit read to maxBuffer, or to end of file size (cannot determine file end in stream!!)
-              long toread = pos + bufferSize > fileSize ? fileSize - pos : bufferSize;
-
-              // Reading data somewhere, do what you want for this.
-              fromBufferSize = image.readBytes(entry, pos, fromBuffer, 0, (int) toread);
-              if (fromBufferSize > 0) {
-                pos += fromBufferSize; // add bytes read to file position
-
-                // Sending the buffer to MediaInfo
-                int result = fileMI.openBufferContinue(fromBuffer, fromBufferSize);
-                if ((result & 8) == 8) { // Status.Finalized
-                  break;
-                }
-
-                // Testing if MediaInfo request to go elsewhere
-                if (fileMI.openBufferContinueGoToGet() != -1) {
-                  pos = fileMI.openBufferContinueGoToGet();
-                  LOGGER.trace("ISO: Seek to {}", pos);
-                  fileMI.openBufferInit(fileSize, pos); // Informing MediaInfo we have seek
-                }
-              }
-            } while (fromBufferSize > 0);
-
-            // Finalizing
-            LOGGER.trace("ISO: finalize entry");
-            fileMI.openBufferFinalize(); // This is the end of the stream, MediaInfo must finish some work
-
+            readIsoEntry(fileMI, entry.getSize(), (pos, buffer, length) -> image.readBytes(entry, pos, buffer, 0, length));
             mif.setSnapshot(fileMI.snapshot());
             miFiles.add(mif);
           }
@@ -1295,8 +1290,6 @@ public class MediaFileHelper {
     List<MediaInfoFile> miFiles = new ArrayList<>();
 
     try (UDFFileSystem image = new UDFFileSystem(mediaFile.getFileAsPath().toFile(), true)) {
-      int bufferSize = 64 * 1024;
-
       // find all relevant files to parse at the beginning to avoid unnecessary IO
       List<MediaInfoFile> allFiles = new ArrayList<>();
       List<UDFFileEntry> fileEntries = new ArrayList<>();
@@ -1327,7 +1320,7 @@ public class MediaFileHelper {
         allFiles.add(mif);
       }
 
-      List<MediaInfoFile> relevantFiles = detectRelevantFiles(allFiles);
+      Set<MediaInfoFile> relevantFiles = new HashSet<>(detectRelevantFiles(allFiles));
 
       for (UDFFileEntry entry : fileEntries) {
         MediaInfoFile mif = new MediaInfoFile(Paths.get(entry.getPath()), entry.getSize());
@@ -1338,43 +1331,7 @@ public class MediaFileHelper {
         LOGGER.trace("ISO: got entry {}, size : {}", entry.getPath(), entry.getSize());
 
         try (MediaInfo fileMI = new MediaInfo()) {
-          byte[] fromBuffer = new byte[bufferSize];
-          int fromBufferSize; // The size of the read file buffer
-          long fileSize = entry.getSize();
-
-          // Preparing to fill MediaInfo with a buffer
-          fileMI.openBufferInit(fileSize, 0);
-
-          long pos = 0L;
-          // The parsing loop
-          do {
-            // limit read to maxBuffer, or to end of file size (cannot determine file end in stream!!)
-            long toread = pos + bufferSize > fileSize ? fileSize - pos : bufferSize;
-
-            // Reading data somewhere, do what you want for this.
-            fromBufferSize = image.readFileContent(entry, pos, fromBuffer, 0, (int) toread);
-            if (fromBufferSize > 0) {
-              pos += fromBufferSize; // add bytes read to file position
-
-              // Sending the buffer to MediaInfo
-              int result = fileMI.openBufferContinue(fromBuffer, fromBufferSize);
-              if ((result & 8) == 8) { // Status.Finalized
-                break;
-              }
-
-              // Testing if MediaInfo request to go elsewhere
-              if (fileMI.openBufferContinueGoToGet() != -1) {
-                pos = fileMI.openBufferContinueGoToGet();
-                LOGGER.trace("ISO: Seek to {}", pos);
-                fileMI.openBufferInit(fileSize, pos); // Informing MediaInfo we have seek
-              }
-            }
-          } while (fromBufferSize > 0);
-
-          // Finalizing
-          LOGGER.trace("ISO: finalize entry");
-          fileMI.openBufferFinalize(); // This is the end of the stream, MediaInfo must finish some work
-
+          readIsoEntry(fileMI, entry.getSize(), (pos, buffer, length) -> image.readFileContent(entry, pos, buffer, 0, length));
           mif.setSnapshot(fileMI.snapshot());
           miFiles.add(mif);
         }
@@ -1391,6 +1348,73 @@ public class MediaFileHelper {
     return miFiles;
   }
 
+  /**
+   * stream the content of a file inside a disc image to MediaInfo. The read buffer is taken from a shared pool; reading stops as soon as MediaInfo
+   * has collected all needed data and seek requests of MediaInfo are honored (e.g. to read the end of a stream without reading everything in
+   * between)
+   *
+   * @param mediaInfo
+   *          the {@link MediaInfo} instance to fill
+   * @param fileSize
+   *          the size of the file inside the image
+   * @param reader
+   *          the reader for the file content
+   * @throws Exception
+   *           any exception while reading the image
+   */
+  private static void readIsoEntry(MediaInfo mediaInfo, long fileSize, IsoEntryReader reader) throws Exception {
+    byte[] buffer = ISO_BUFFERS.poll();
+    if (buffer == null) {
+      buffer = new byte[ISO_BUFFER_SIZE];
+    }
+
+    try {
+      // Preparing to fill MediaInfo with a buffer
+      mediaInfo.openBufferInit(fileSize, 0);
+
+      long pos = 0L;
+      int read; // The size of the read file buffer
+      // The parsing loop
+      do {
+        // limit read to the buffer, or to end of file size (cannot determine file end in stream!!)
+        int toRead = (int) Math.min(buffer.length, fileSize - pos);
+        read = toRead > 0 ? reader.read(pos, buffer, toRead) : 0;
+        if (read > 0) {
+          pos += read; // add bytes read to file position
+
+          // Sending the buffer to MediaInfo
+          int result = mediaInfo.openBufferContinue(buffer, read);
+          if ((result & 8) == 8) { // Status.Finalized
+            break;
+          }
+
+          // Testing if MediaInfo request to go elsewhere
+          long goTo = mediaInfo.openBufferContinueGoToGet();
+          if (goTo != -1) {
+            pos = goTo;
+            LOGGER.trace("ISO: Seek to {}", pos);
+            mediaInfo.openBufferInit(fileSize, pos); // Informing MediaInfo we have seek
+          }
+        }
+      } while (read > 0);
+
+      // Finalizing
+      LOGGER.trace("ISO: finalize entry");
+      mediaInfo.openBufferFinalize(); // This is the end of the stream, MediaInfo must finish some work
+    }
+    finally {
+      ISO_BUFFERS.offer(buffer);
+    }
+  }
+
+  /**
+   * read the content of a file inside a disc image
+   */
+  @FunctionalInterface
+  private interface IsoEntryReader {
+    int read(long position, byte[] buffer, int length) throws Exception;
+  }
+
   /**
    * uses a list of all 'relevant' files, and reduces them to only contain the 'needed' ones<br>
    * Like DVD IFO and associated VOBs, Bluray MPLS, CLPINF, SSIF, M2TS and other files.<br>
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tinymediamanager.core.threading.TmmScheduler;
+import org.tinymediamanager.core.threading.TmmScheduler.Priority;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
+import org.tinymediamanager.scraper.MediaMetadata;
+import org.tinymediamanager.scraper.MediaScraper;
+import org.tinymediamanager.scraper.MediaSearchResult;
+import org.tinymediamanager.scraper.exceptions.ScrapeException;
+
+/**
+ * The class {@link MultiProviderSearch} runs a search with several metadata providers at once:
+ * <ul>
+ * <li>all providers are queried concurrently (in the network queue of the {@link TmmScheduler}); a provider which does not answer within the
+ * timeout is skipped</li>
+ * <li>results of different providers which share an id (IMDB, TMDB, TVDB, Trakt.tv) are merged into one result. The result of the provider which
+ * has been selected first wins, the ids of the other results are added to it</li>
+ * <li>the merged results are being passed to a listener whenever a provider has answered, so the first results can be shown immediately</li>
+ * <li>the results of every provider are cached for the lifetime of this object (e.g. a chooser dialog), so selecting another provider does not
+ * search with the already used ones again</li>
+ * </ul>
+ *
+ * @author Manuel Laggner
+ */
+public class MultiProviderSearch {
+  private static final Logger                        LOGGER          = LoggerFactory.getLogger(MultiProviderSearch.class);
+  private static final long                          DEFAULT_TIMEOUT = 20000;
+  private static final List<String>                  SHARED_IDS      = List.of(MediaMetadata.IMDB, MediaMetadata.TMDB, MediaMetadata.TVDB,
+      MediaMetadata.TRAKT_TV);
+
+  private final long                                 timeout;
+  private final Map<String, List<MediaSearchResult>> cache           = new ConcurrentHashMap<>();
+
+  public MultiProviderSearch() {
+    this(DEFAULT_TIMEOUT);
+  }
+
+  /**
+   * create a new search session
+   *
+   * @param timeout
+   *          the time in ms to wait for every provider
+   */
+  public MultiProviderSearch(long timeout) {
+    this.timeout = timeout;
+  }
+
+  /**
+   * search with all given providers concurrently
+   *
+   * @param scrapers
+   *          the providers to search with (in the order of their preference)
+   * @param query
+   *          a key of all search parameters (search term, year, language, ...) for caching the results
+   * @param search
+   *          the search with a single provider
+   * @param listener
+   *          an optional listener which is being informed about the merged results whenever a provider has answered
+   * @return the merged results of all providers which have answered within the timeout
+   * @throws ScrapeException
+   *           the first error of a provider if no provider delivered any result
+   * @throws InterruptedException
+   *           if the waiting thread has been interrupted (all running searches are cancelled in this case)
+   */
+  public List<Result> search(List<MediaScraper> scrapers, String query, ProviderSearch search, Consumer<List<Result>> listener)
+      throws ScrapeException, InterruptedException {
+    Map<MediaScraper, List<MediaSearchResult>> answers = new LinkedHashMap<>();
+    Map<MediaScraper, Future<List<MediaSearchResult>>> running = new LinkedHashMap<>();
+    Map<MediaScraper, Long> started = new ConcurrentHashMap<>();
+    BlockingQueue<MediaScraper> finished = new LinkedBlockingQueue<>();
+
+    for (MediaScraper scraper : scrapers) {
+      List<MediaSearchResult> cached = cache.get(getCacheKey(scraper, query));
+      if (cached != null) {
+        answers.put(scraper, cached);
+        continue;
+      }
+
+      // the timeout of a provider starts when its search is running (and not while it is waiting in the queue)
+      running.put(scraper, TmmScheduler.getInstance().submit(ResourceClass.NETWORK, null, Priority.HIGH, () -> {
+        started.put(scraper, System.currentTimeMillis());
+        return search.search(scraper);
+      }, future -> finished.add(scraper)));
+    }
+
+    List<Result> results = merge(scrapers, answers);
+    if (listener != null && !answers.isEmpty()) {
+      listener.accept(results);
+    }
+
+    ScrapeException error = null;
+
+    try {
+      while (!running.isEmpty()) {
+        MediaScraper scraper = finished.poll(getNextDeadline(running.keySet(), started) - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        if (scraper == null) {
+          // timeout - do not wait for the providers which are running longer than the timeout
+          skipTimedOut(running, started);
+          continue;
+        }
+
+        Future<List<MediaSearchResult>> future = running.remove(scraper);
+        if (future == null) {
+          continue;
+        }
+
+        try {
+          List<MediaSearchResult> answer = future.get();
+          answer = answer != null ? Collections.unmodifiableList(new ArrayList<>(answer)) : Collections.emptyList();
+          cache.put(getCacheKey(scraper, query), answer);
+          answers.put(scraper, answer);
+        }
+        catch (ExecutionException e) {
+          LOGGER.warn("could not search with '{}' - '{}'", scraper.getId(), e.getCause().getMessage());
+          if (error == null) {
+            error = e.getCause() instanceof ScrapeException scrapeException ? scrapeException : new ScrapeException(e.getCause());
+          }
+          continue;
+        }
+        catch (Exception e) {
+          // cancelled
+          continue;
+        }
+
+        results = merge(scrapers, answers);
+        if (listener != null) {
+          listener.accept(results);
+        }
+      }
+    }
+    finally {
+      running.values().forEach(future -> future.cancel(true));
+    }
+
+    if (results.isEmpty() && error != null) {
+      throw error;
+    }
+
+    return results;
+  }
+
+  /**
+   * get the earliest deadline of all running providers. Providers which are still waiting in the queue have at least the full timeout left
+   */
+  private long getNextDeadline(Collection<MediaScraper> running, Map<MediaScraper, Long> started) {
+    long now = System.currentTimeMillis();
+    long deadline = now + timeout;
+    for (MediaScraper scraper : running) {
+      Long start = started.get(scraper);
+      if (start != null) {
+        deadline = Math.min(deadline, start + timeout);
+      }
+    }
+    return Math.max(now, deadline);
+  }
+
+  private void skipTimedOut(Map<MediaScraper, Future<List<MediaSearchResult>>> running, Map<MediaScraper, Long> started) {
+    long now = System.currentTimeMillis();
+    Iterator<Map.Entry<MediaScraper, Future<List<MediaSearchResult>>>> iterator = running.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<MediaScraper, Future<List<MediaSearchResult>>> entry = iterator.next();
+      Long start = started.get(entry.getKey());
+      if (start != null && now - start >= timeout) {
+        LOGGER.info("no answer from '{}' within {} ms - skipping", entry.getKey().getId(), timeout);
+        entry.getValue().cancel(true);
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * clear all cached results
+   */
+  public void clearCache() {
+    cache.clear();
+  }
+
+  private String getCacheKey(MediaScraper scraper, String query) {
+    return scraper.getId() + "|" + query;
+  }
+
+  /**
+   * merge the answers of all providers. Results sharing an id are being merged into (a copy of) the result of the preferred provider - the
+   * answers themselves are never modified, since they are cached and shared across threads
+   */
+  static List<Result> merge(List<MediaScraper> scrapers, Map<MediaScraper, List<MediaSearchResult>> answers) {
+    List<Result> merged = new ArrayList<>();
+    Map<String, Result> byId = new HashMap<>();
+
+    for (MediaScraper scraper : scrapers) {
+      List<MediaSearchResult> answer = answers.get(scraper);
+      if (answer == null) {
+        continue;
+      }
+
+      for (MediaSearchResult result : answer) {
+        Result existing = findShared(byId, result);
+        if (existing != null) {
+          // take over the missing ids of the duplicate
+          result.getIds().forEach((key, value) -> existing.result().getIds().putIfAbsent(key, value));
+          register(byId, existing);
+          continue;
+        }
+
+        Result newResult = new Result(scraper, copyOf(result));
+        merged.add(newResult);
+        register(byId, newResult);
+      }
+    }
+
+    // the best results first - just like the results of a single provider
+    merged.sort((r1, r2) -> r1.result().compareTo(r2.result()));
+    return merged;
+  }
+
+  private static Result findShared(Map<String, Result> byId, MediaSearchResult result) {
+    for (String key : SHARED_IDS) {
+      Object id = result.getIds().get(key);
+      if (isValidId(id)) {
+        Result existing = byId.get(key + ":" + id);
+        if (existing != null) {
+          return existing;
+        }
+      }
+    }
+    return null;
+  }
+
+  private static void register(Map<String, Result> byId, Result result) {
+    for (String key : SHARED_IDS) {
+      Object id = result.result().getIds().get(key);
+      if (isValidId(id)) {
+        byId.putIfAbsent(key + ":" + id, result);
+      }
+    }
+  }
+
+  private static MediaSearchResult copyOf(MediaSearchResult result) {
+    MediaSearchResult copy = new MediaSearchResult(result.getProviderId(), result.getMediaType(), result.getScore());
+    copy.mergeFrom(result);
+    copy.setOverview(result.getOverview());
+    return copy;
+  }
+
+  private static boolean isValidId(Object id) {
+    return id != null && !id.toString().isEmpty() && !"0".equals(id.toString());
+  }
+
+  /**
+   * a search result together with the provider which has delivered it
+   *
+   * @param scraper
+   *          the {@link MediaScraper} which has delivered the result
+   * @param result
+   *          the {@link MediaSearchResult}
+   */
+  public record Result(MediaScraper scraper, MediaSearchResult result) {
+  }
+
+  /**
+   * the search with a single provider
+   */
+  @FunctionalInterface
+  public interface ProviderSearch {
+    /**
+     * search with the given provider
+     *
+     * @param scraper
+     *          the {@link MediaScraper} to search with
+     * @return the search results of this provider
+     * @throws ScrapeException
+     *           any exception while searching
+     */
+    List<MediaSearchResult> search(MediaScraper scraper) throws ScrapeException;
+  }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tinymediamanager.Globals;
+
+/**
+ * The class {@link RenameJournal} is a write ahead journal for the renamer. Every entity (movie, TV show) is renamed in an own transaction and
+ * every successful file/folder move (via {@link Utils#moveFileSafe(Path, Path)} and {@link Utils#moveDirectorySafe(Path, Path)}) inside this
+ * transaction is recorded in the journal. If tinyMediaManager crashes in the middle of a rename run, the database still holds the old paths of the
+ * entities of all open transactions - so these moves are rolled back with {@link #recover()} to bring the file system in sync with the database
+ * again. Moves which have been persisted in the database meanwhile are protected by a {@link #checkpoint()}.<br />
+ * Since the database is written asynchronously, the pending database writes are flushed (via the given persister) before a CHECKPOINT or COMMIT is
+ * written - otherwise a crash right after the journal entry would leave the database with the old paths.
+ *
+ * @author Manuel Laggner
+ */
+public class RenameJournal {
+  private static final Logger                   LOGGER     = LoggerFactory.getLogger(RenameJournal.class);
+  private static final ThreadLocal<Transaction> CURRENT    = new ThreadLocal<>();
+
+  private static final String                   BEGIN      = "BEGIN";
+  private static final String                   MOVE       = "MOVE";
+  private static final String                   CHECKPOINT = "CHECKPOINT";
+  private static final String                   COMMIT     = "COMMIT";
+
+  private final Path                            journalFile;
+  private final Runnable                        persister;
+  private BufferedWriter                        writer;
+  private int                                   openTransactions;
+  private boolean                               closeRequested;
+
+  /**
+   * create a journal with the given name in the data folder
+   *
+   * @param name
+   *          the name of the journal (e.g. movies, tvshows)
+   * @param persister
+   *          writes all pending database changes synchronously
+   */
+  public RenameJournal(String name, Runnable persister) {
+    this(Paths.get(Globals.DATA_FOLDER, name + ".rename.journal"), persister);
+  }
+
+  RenameJournal(Path journalFile) {
+    this(journalFile, () -> {
+    });
+  }
+
+  RenameJournal(Path journalFile, Runnable persister) {
+    this.journalFile = journalFile;
+    this.persister = persister;
+  }
+
+  /**
+   * roll back all transactions of a previous (crashed) run, which have not been committed
+   *
+   * @return a {@link List} of the ids of all rolled back transactions
+   */
+  public synchronized List<String> recover() {
+    if (writer != null || !Files.exists(journalFile)) {
+      return Collections.emptyList();
+    }
+
+    Map<String, List<Path[]>> unfinished = new LinkedHashMap<>();
+    try {
+      for (String line : Files.readAllLines(journalFile, StandardCharsets.UTF_8)) {
+        String[] parts = line.split("\t");
+        if (BEGIN.equals(parts[0]) && parts.length == 2) {
+          unfinished.put(parts[1], new ArrayList<>());
+        }
+        else if (MOVE.equals(parts[0]) && parts.length == 4 && unfinished.containsKey(parts[1])) {
+          unfinished.get(parts[1]).add(new Path[] { Paths.get(parts[2]), Paths.get(parts[3]) });
+        }
+        else if (CHECKPOINT.equals(parts[0]) && parts.length == 2 && unfinished.containsKey(parts[1])) {
+          // the entity has been persisted with the new paths - the moves up to here must stay
+          unfinished.get(parts[1]).clear();
+        }
+        else if (COMMIT.equals(parts[0]) && parts.length == 2) {
+          unfinished.remove(parts[1]);
+        }
+      }
+    }
+    catch (Exception e) {
+      LOGGER.warn("could not read rename journal '{}' - {}", journalFile, e.getMessage());
+      return Collections.emptyList();
+    }
+
+    List<String> rolledBack = new ArrayList<>();
+    for (Map.Entry<String, List<Path[]>> entry : unfinished.entrySet()) {
+      LOGGER.info("rolling back unfinished rename of '{}' ({} moves)", entry.getKey(), entry.getValue().size());
+
+      // undo the moves in reverse order, since later moves may be inside an already moved folder
+      List<Path[]> moves = entry.getValue();
+      for (int i = moves.size() - 1; i >= 0; i--) {
+        rollback(moves.get(i)[0], moves.get(i)[1]);
+      }
+      rolledBack.add(entry.getKey());
+    }
+
+    try {
+      Files.deleteIfExists(journalFile);
+    }
+    catch (Exception e) {
+      LOGGER.warn("could not delete rename journal '{}' - {}", journalFile, e.getMessage());
+    }
+
+    return rolledBack;
+  }
+
+  private void rollback(Path source, Path destination) {
+    try {
+      if (!Files.exists(destination) || (Files.exists(source) && !Files.isSameFile(source, destination))) {
+        LOGGER.warn("could not roll back the move of '{}' to '{}' - file system has been changed meanwhile", source, destination);
+        return;
+      }
+
+      if (Files.isDirectory(destination)) {
+        Utils.moveDirectorySafe(destination, source);
+      }
+      else {
+        Utils.moveFileSafe(destination, source);
+      }
+    }
+    catch (Exception e) {
+      LOGGER.warn("could not roll back the move of '{}' to '{}' - {}", source, destination, e.getMessage());
+    }
+  }
+
+  /**
+   * open the journal for a new rename run
+   */
+  public synchronized void open() {
+    try {
+      Files.createDirectories(journalFile.getParent());
+      writer = Files.newBufferedWriter(journalFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+          StandardOpenOption.WRITE);
+      openTransactions = 0;
+      closeRequested = false;
+    }
+    catch (Exception e) {
+      LOGGER.warn("could not open rename journal '{}' - {}", journalFile, e.getMessage());
+      writer = null;
+    }
+  }
+
+  /**
+   * close the journal after a finished rename run. If there are still running transactions (e.g. after cancelling the run), the journal is being
+   * closed after the last of them has been committed
+   */
+  public synchronized void close() {
+    if (writer == null) {
+      return;
+    }
+
+    if (openTransactions > 0) {
+      closeRequested = true;
+      return;
+    }
+
+    try {
+      writer.close();
+      Files.deleteIfExists(journalFile);
+    }
+    catch (Exception e) {
+      LOGGER.warn("could not close rename journal '{}' - {}", journalFile, e.getMessage());
+    }
+    writer = null;
+  }
+
+  /**
+   * execute the given action in an own transaction. All file/folder moves of the current thread are recorded for this transaction.<br />
+   * The transaction is being committed even if the action fails with an exception: the renamer already updated the entity for everything which
+   * has been moved up to this point
+   *
+   * @param id
+   *          the id of the transaction (the db id of the entity)
+   * @param action
+   *          the rename action
+   */
+  public void execute(String id, Runnable action) {
+    begin(id);
+    CURRENT.set(new Transaction(this, id));
+    try {
+      action.run();
+    }
+    finally {
+      CURRENT.remove();
+      persist();
+      commit(id);
+    }
+  }
+
+  private synchronized void begin(String id) {
+    openTransactions++;
+    write(BEGIN, id);
+  }
+
+  private synchronized void commit(String id) {
+    write(COMMIT, id);
+    openTransactions--;
+
+    if (closeRequested && openTransactions == 0) {
+      close();
+    }
+  }
+
+  /**
+   * record a successful move of the current thread in the journal of the running transaction (if there is any)
+   *
+   * @param source
+   *          the source of the move
+   * @param destination
+   *          the destination of the move
+   */
+  static void recordMove(Path source, Path destination) {
+    Transaction transaction = CURRENT.get();
+    if (transaction != null) {
+      transaction.journal.write(MOVE, transaction.id, source.toAbsolutePath().toString(), destination.toAbsolutePath().toString());
+    }
+  }
+
+  /**
+   * mark that the entity of the running transaction of the current thread has been persisted with its new paths. The pending database writes are
+   * flushed first; all moves recorded up to this point must not be rolled back any more, because the database already references the new paths
+   */
+  public static void checkpoint() {
+    Transaction transaction = CURRENT.get();
+    if (transaction != null) {
+      transaction.journal.persist();
+      transaction.journal.write(CHECKPOINT, transaction.id);
+    }
+  }
+
+  private void persist() {
+    try {
+      persister.run();
+    }
+    catch (Exception e) {
+      LOGGER.warn("could not flush the database for rename journal '{}' - {}", journalFile, e.getMessage());
+    }
+  }
+
+  private synchronized void write(String... parts) {
+    if (writer == null) {
+      return;
+    }
+
+    try {
+      writer.write(String.join("\t", parts));
+      writer.newLine();
+      // flush every line to survive a crash of the JVM
+      writer.flush();
+    }
+    catch (IOException e) {
+      LOGGER.warn("could not write rename journal '{}' - {}", journalFile, e.getMessage());
+    }
+  }
+
+  private record Transaction(RenameJournal journal, String id) {
+  }
+}
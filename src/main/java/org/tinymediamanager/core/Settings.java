@@ -35,6 +35,7 @@ import org.tinymediamanager.ReleaseInfo;
 import org.tinymediamanager.core.ImageCache.CacheSize;
 import org.tinymediamanager.core.ImageCache.CacheType;
 import org.tinymediamanager.core.http.TmmHttpServer;
+import org.tinymediamanager.core.threading.VirtualThreads;
 import org.tinymediamanager.scraper.http.ProxySettings;
 import org.tinymediamanager.scraper.http.TmmHttpClient;
 import org.tinymediamanager.scraper.util.StrgUtils;
@@ -127,6 +128,7 @@ public final class Settings extends AbstractSettings {
   private boolean                                          upnpRemotePlay               = false;
 
   private boolean                                          ignoreSSLProblems            = true;
+  private boolean                                          useVirtualThreads            = false;
 
   private boolean                                          writeMediaInfoXml            = false;
 
@@ -147,6 +149,8 @@ public final class Settings extends AbstractSettings {
   private float                                            ardSecondaryDelta            = 0.15f;
   private float                                            ardDarkLevelPct              = 7f;
   private float                                            ardDarkLevelMaxPct           = 13f;
+  private boolean                                          ardSingleSession             = false;
+  private int                                              ardParallelFiles             = 1;
 
   private boolean                                          enableAutomaticUpdate        = true;
   private int                                              automaticUpdateInterval      = 1;
@@ -180,6 +184,7 @@ public final class Settings extends AbstractSettings {
     // create a new HTTP client to force setting the right proxy/SSL params
     setProxy();
     System.setProperty("tmm.trustallcerts", Boolean.toString(ignoreSSLProblems));
+    VirtualThreads.setEnabled(useVirtualThreads);
 
     TmmHttpClient.recreateHttpClient();
   }
@@ -1101,6 +1106,25 @@ public final class Settings extends AbstractSettings {
     }
   }
 
+  public boolean isUseVirtualThreads() {
+    return useVirtualThreads;
+  }
+
+  /**
+   * run the network bound jobs in virtual threads (if supported by the JDK) and limit the concurrent requests per provider instead of the
+   * amount of threads
+   *
+   * @param useVirtualThreads
+   *          true to use virtual threads
+   */
+  public void setUseVirtualThreads(boolean useVirtualThreads) {
+    VirtualThreads.setEnabled(useVirtualThreads);
+
+    boolean old = this.useVirtualThreads;
+    this.useVirtualThreads = useVirtualThreads;
+    firePropertyChange("useVirtualThreads", old, useVirtualThreads);
+  }
+
   /**
    * get the max. amount to download threads
    * 
@@ -1320,6 +1344,26 @@ public final class Settings extends AbstractSettings {
     return this.ardDarkLevelMaxPct;
   }
 
+  public void setArdSingleSession(boolean newValue) {
+    boolean oldValue = this.ardSingleSession;
+    this.ardSingleSession = newValue;
+    firePropertyChange("ardSingleSession", oldValue, newValue);
+  }
+
+  public boolean isArdSingleSession() {
+    return this.ardSingleSession;
+  }
+
+  public void setArdParallelFiles(int newValue) {
+    int oldValue = this.ardParallelFiles;
+    this.ardParallelFiles = newValue;
+    firePropertyChange("ardParallelFiles", oldValue, newValue);
+  }
+
+  public int getArdParallelFiles() {
+    return this.ardParallelFiles;
+  }
+
   public Map<ArdSettings.Mode, ArdSettings.SampleSetting> getArdSampleSettings() {
     return ardSampleSettings;
   }
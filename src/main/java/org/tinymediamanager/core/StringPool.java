@@ -0,0 +1,94 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The class {@link StringPool} is used to canonicalize often repeated strings of media files. Every media file holds its own copy of the folder
+ * it is in and of the codecs/formats/languages of its streams - with huge libraries most of the heap is wasted by these duplicates. Passing them
+ * through this pool makes all equal values share one instance.<br />
+ * <br />
+ * There are two pools:
+ * <ul>
+ * <li>a vocabulary pool for values with a small and finite set of values (codecs, container formats, languages, ...)</li>
+ * <li>a weak pool for folder paths which releases the paths as soon as no media file references them any more</li>
+ * </ul>
+ *
+ * @author Manuel Laggner
+ */
+public class StringPool {
+  // upper bound for the vocabulary to not leak memory if some unexpected values are being passed
+  static final int                                        MAX_VOCABULARY_SIZE = 10000;
+
+  private static final Map<String, String>                VOCABULARY          = new ConcurrentHashMap<>();
+  private static final Map<String, WeakReference<String>> PATHS               = new WeakHashMap<>();
+
+  private StringPool() {
+    throw new IllegalAccessError();
+  }
+
+  /**
+   * get the canonical instance of the given vocabulary value (codec, format, language, ...)
+   *
+   * @param value
+   *          the value to canonicalize
+   * @return the canonical instance of this value
+   */
+  public static String intern(String value) {
+    if (value == null || value.isEmpty()) {
+      return value == null ? null : "";
+    }
+
+    String canonical = VOCABULARY.get(value);
+    if (canonical != null) {
+      return canonical;
+    }
+
+    if (VOCABULARY.size() >= MAX_VOCABULARY_SIZE) {
+      return value;
+    }
+
+    canonical = VOCABULARY.putIfAbsent(value, value);
+    return canonical != null ? canonical : value;
+  }
+
+  /**
+   * get the canonical instance of the given folder path. All media files within the same folder share one instance of the path
+   *
+   * @param path
+   *          the path to canonicalize
+   * @return the canonical instance of this path
+   */
+  public static String internPath(String path) {
+    if (path == null || path.isEmpty()) {
+      return path == null ? null : "";
+    }
+
+    synchronized (PATHS) {
+      WeakReference<String> reference = PATHS.get(path);
+      String canonical = reference != null ? reference.get() : null;
+      if (canonical == null) {
+        PATHS.put(path, new WeakReference<>(path));
+        canonical = path;
+      }
+      return canonical;
+    }
+  }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.tinymediamanager.scraper.util.ListUtils;
+import org.tinymediamanager.scraper.util.StrgUtils;
+
+/**
+ * The class {@link TextSearchIndex} is an inverted n-gram (trigram) index over text fields of entities. It is built on top of a {@link FacetIndex}
+ * (every trigram of a field is a facet value), so it shares the ordinals and the incremental maintenance by property change events with the facets.
+ * <br />
+ * <br />
+ * A query only returns <b>candidates</b>: every entity containing the search term contains all of its trigrams, but not every entity containing
+ * all trigrams contains the search term. The candidates have to be verified with the original matching logic (which is cheap for the few
+ * candidates left). Search terms which are shorter than a trigram or contain regular expression meta characters cannot be answered by the index -
+ * in this case all entities are candidates.
+ *
+ * @param <E>
+ *          the type of the indexed entities
+ *
+ * @author Manuel Laggner
+ */
+public class TextSearchIndex<E extends AbstractModelObject> {
+  private static final String                                FACET_PREFIX    = "text:";
+  private static final int                                   GRAM_LENGTH     = 3;
+  private static final Pattern                               REGEX_METACHARS = Pattern.compile("[\\\\.\\[\\]{}()*+?^$|]");
+  private static final ExecutorService                       BUILD_EXECUTOR  = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "text-search-index");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final FacetIndex<E>                                facetIndex;
+  private final Map<String, Function<E, Collection<String>>> fields          = new ConcurrentHashMap<>();
+
+  public TextSearchIndex(FacetIndex<E> facetIndex) {
+    this.facetIndex = facetIndex;
+  }
+
+  /**
+   * register a text field for this index
+   *
+   * @param fieldId
+   *          the id of the field
+   * @param extractor
+   *          a {@link Function} to extract all texts of this field from an entity
+   */
+  public void registerField(String fieldId, Function<E, Collection<String>> extractor) {
+    fields.put(fieldId, extractor);
+    facetIndex.registerFacet(FACET_PREFIX + fieldId, entity -> {
+      Set<String> grams = new HashSet<>();
+      for (String text : ListUtils.nullSafe(extractor.apply(entity))) {
+        grams.addAll(getGrams(normalize(text)));
+      }
+      return grams;
+    });
+  }
+
+  /**
+   * check if there is a field with the given id
+   *
+   * @param fieldId
+   *          the id of the field
+   * @return true if the field has been registered
+   */
+  public boolean hasField(String fieldId) {
+    return fields.containsKey(fieldId);
+  }
+
+  /**
+   * check if the index of all given fields has been built up, so {@link #getCandidates(String, Collection)} does not need to extract the texts of
+   * all entities
+   *
+   * @param fieldIds
+   *          the ids of the fields
+   * @return true if all (registered) fields have been built up
+   */
+  public boolean isBuilt(Collection<String> fieldIds) {
+    for (String fieldId : fieldIds) {
+      if (fields.containsKey(fieldId) && !facetIndex.isFacetBuilt(FACET_PREFIX + fieldId)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * build up the index of all given fields in a background thread (the trigrams of long texts like the plot are expensive) and run the given
+   * callback afterwards (in the background thread)
+   *
+   * @param fieldIds
+   *          the ids of the fields
+   * @param callback
+   *          the {@link Runnable} to run after the fields have been built up
+   */
+  public void buildInBackground(Collection<String> fieldIds, Runnable callback) {
+    List<String> toBuild = new ArrayList<>(fieldIds);
+    BUILD_EXECUTOR.execute(() -> {
+      for (String fieldId : toBuild) {
+        if (fields.containsKey(fieldId)) {
+          facetIndex.buildFacet(FACET_PREFIX + fieldId);
+        }
+      }
+      callback.run();
+    });
+  }
+
+  /**
+   * get the underlying {@link FacetIndex}
+   *
+   * @return the {@link FacetIndex}
+   */
+  public FacetIndex<E> getFacetIndex() {
+    return facetIndex;
+  }
+
+  /**
+   * check if the search term can be answered by the index
+   *
+   * @param searchTerm
+   *          the search term
+   * @return true if the index can prune the candidates for this search term
+   */
+  public static boolean isIndexable(String searchTerm) {
+    return StringUtils.isNotBlank(searchTerm) && normalize(searchTerm).length() >= GRAM_LENGTH && !REGEX_METACHARS.matcher(searchTerm).find();
+  }
+
+  /**
+   * get all candidates for the given search term in <b>any</b> of the given fields. If the search term cannot be answered by the index, all
+   * entities are returned
+   *
+   * @param searchTerm
+   *          the search term
+   * @param fieldIds
+   *          the ids of the fields to search in
+   * @return a new {@link BitSet} with the ordinals of all candidates
+   */
+  public BitSet getCandidates(String searchTerm, Collection<String> fieldIds) {
+    if (!isIndexable(searchTerm)) {
+      return facetIndex.all();
+    }
+
+    Set<String> grams = getGrams(normalize(searchTerm));
+
+    BitSet candidates = new BitSet();
+    for (String fieldId : fieldIds) {
+      if (!fields.containsKey(fieldId)) {
+        // not indexed - we cannot prune anything
+        return facetIndex.all();
+      }
+      candidates.or(facetIndex.allOf(FACET_PREFIX + fieldId, grams));
+    }
+
+    return candidates;
+  }
+
+  /**
+   * search all entities containing the given search term (case insensitive, without diacritics) in <b>any</b> of the given fields
+   *
+   * @param searchTerm
+   *          the search term (no regular expression)
+   * @param fieldIds
+   *          the ids of the fields to search in
+   * @return a {@link List} of all matching entities
+   */
+  public List<E> search(String searchTerm, Collection<String> fieldIds) {
+    List<E> result = new ArrayList<>();
+    if (StringUtils.isBlank(searchTerm)) {
+      return result;
+    }
+
+    String normalizedSearchTerm = normalize(searchTerm);
+
+    // no regex here - so we can always ask the index, even for (short) search terms containing meta characters
+    BitSet candidates;
+    if (normalizedSearchTerm.length() >= GRAM_LENGTH) {
+      Set<String> grams = getGrams(normalizedSearchTerm);
+      candidates = new BitSet();
+      for (String fieldId : fieldIds) {
+        candidates.or(facetIndex.allOf(FACET_PREFIX + fieldId, grams));
+      }
+    }
+    else {
+      candidates = facetIndex.all();
+    }
+
+    for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+      E entity = facetIndex.getEntity(ordinal);
+      if (entity != null && containsSearchTerm(entity, normalizedSearchTerm, fieldIds)) {
+        result.add(entity);
+      }
+    }
+
+    return result;
+  }
+
+  private boolean containsSearchTerm(E entity, String normalizedSearchTerm, Collection<String> fieldIds) {
+    for (String fieldId : fieldIds) {
+      Function<E, Collection<String>> extractor = fields.get(fieldId);
+      if (extractor == null) {
+        continue;
+      }
+
+      for (String text : ListUtils.nullSafe(extractor.apply(entity))) {
+        if (normalize(text).contains(normalizedSearchTerm)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * normalize the given text for the index: remove diacritics/duplicate whitespace (like the UI filters do) and lower case it char by char (so
+   * that the length and positions of the chars do not change)
+   *
+   * @param text
+   *          the text to normalize
+   * @return the normalized text
+   */
+  static String normalize(String text) {
+    if (StringUtils.isBlank(text)) {
+      return "";
+    }
+
+    char[] chars = StrgUtils.normalizeString(text).toCharArray();
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = Character.toLowerCase(chars[i]);
+    }
+    return new String(chars);
+  }
+
+  static Set<String> getGrams(String normalizedText) {
+    Set<String> grams = new HashSet<>();
+    for (int i = 0; i + GRAM_LENGTH <= normalizedText.length(); i++) {
+      grams.add(normalizedText.substring(i, i + GRAM_LENGTH));
+    }
+    return grams;
+  }
+}
@@ -785,6 +785,7 @@ public class Utils {
       }
       else {
         LOGGER.info("Successfully moved folder {} to {}", srcDir, destDir);
+        RenameJournal.recordMove(srcDir, destDir);
         return true;
       }
     }
@@ -908,6 +909,7 @@ public class Utils {
       }
       else {
         LOGGER.debug("Successfully moved file from '{}' to '{}'", srcFile, destFile);
+        RenameJournal.recordMove(srcFile, destFile);
         return true;
       }
     }
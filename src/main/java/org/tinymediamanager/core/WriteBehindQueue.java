@@ -0,0 +1,352 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tinymediamanager.core.entities.MediaEntity;
+import org.tinymediamanager.core.metrics.TmmMetrics;
+import org.tinymediamanager.core.threading.TmmThreadPool.TmmThreadFactory;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * The class {@link WriteBehindQueue} persists changed entities asynchronously into a {@link MVStore}. Callers just enqueue the changed entity -
+ * the serialization and the write happen in an own thread:
+ * <ul>
+ * <li>an entity is written after it has not been changed for the flush delay (multiple changes in a row result in one write)</li>
+ * <li>only entities whose JSON has really been changed are written; this is checked by a hash of the last written JSON</li>
+ * <li>all writes of one flush are stored in a single commit</li>
+ * </ul>
+ *
+ * @author Manuel Laggner
+ */
+public class WriteBehindQueue {
+  private static final Logger                   LOGGER          = LoggerFactory.getLogger(WriteBehindQueue.class);
+
+  private final String                          name;
+  private final Supplier<MVStore>               store;
+  private final long                            flushDelay;
+  private final List<Target<?>>                 targets         = new ArrayList<>();
+  private final Map<MediaEntity, PendingChange> pending         = new ConcurrentHashMap<>();
+  private final Map<UUID, Long>                 hashes          = new ConcurrentHashMap<>();
+  private final AtomicLong                      sequence        = new AtomicLong();
+
+  private final AtomicLong                      flushes         = new AtomicLong();
+  private final AtomicLong                      totalFlushTime  = new AtomicLong();
+  private final AtomicLong                      entitiesWritten = new AtomicLong();
+  private final AtomicLong                      bytesWritten    = new AtomicLong();
+  private volatile long                         lastFlushTime   = 0;
+
+  private ScheduledExecutorService              executor;
+
+  /**
+   * create a new write behind queue
+   *
+   * @param name
+   *          the name of the queue (for logging)
+   * @param store
+   *          the supplier of the {@link MVStore} to write into (the store may be replaced at runtime, e.g. when recovering a corrupted database)
+   * @param flushDelay
+   *          the delay in ms an entity has to be unchanged before it is being written
+   */
+  public WriteBehindQueue(String name, Supplier<MVStore> store, long flushDelay) {
+    this.name = name;
+    this.store = store;
+    this.flushDelay = flushDelay;
+
+    TmmMetrics metrics = TmmMetrics.getInstance();
+    metrics.gauge("tmm_db_write_queue_depth", "pending changes in the database write behind queue", pending::size, "queue", name);
+    metrics.counter("tmm_db_entities_written_total", "entities written into the database", entitiesWritten::get, "queue", name);
+    metrics.counter("tmm_db_bytes_written_total", "bytes (JSON) written into the database", bytesWritten::get, "queue", name);
+  }
+
+  /**
+   * register a type of entities which can be persisted by this queue
+   *
+   * @param type
+   *          the class of the entities
+   * @param map
+   *          the supplier of the {@link MVMap} to store the entities into
+   * @param writer
+   *          the {@link ObjectWriter} to serialize the entities
+   */
+  public <T extends MediaEntity> void register(Class<T> type, Supplier<MVMap<UUID, String>> map, ObjectWriter writer) {
+    targets.add(new Target<>(type, map, writer));
+  }
+
+  /**
+   * start the background flushing
+   */
+  public synchronized void start() {
+    if (executor == null) {
+      executor = Executors.newSingleThreadScheduledExecutor(new TmmThreadFactory("persistence-" + name));
+      executor.scheduleWithFixedDelay(() -> flush(false), flushDelay, flushDelay, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * stop the background flushing and write all pending changes
+   */
+  public void shutdown() {
+    synchronized (this) {
+      if (executor != null) {
+        executor.shutdown();
+        executor = null;
+      }
+    }
+    flush(true);
+  }
+
+  /**
+   * mark the given entity as changed; the entity will be written after the flush delay
+   *
+   * @param entity
+   *          the changed entity
+   */
+  public void enqueue(MediaEntity entity) {
+    pending.put(entity, new PendingChange(sequence.incrementAndGet(), System.currentTimeMillis(), false));
+  }
+
+  /**
+   * remove the given entity from the database. The removal is being processed by the next flush, so it cannot interfere with a running write of
+   * the same entity
+   *
+   * @param entity
+   *          the entity to remove
+   */
+  public void remove(MediaEntity entity) {
+    pending.put(entity, new PendingChange(sequence.incrementAndGet(), System.currentTimeMillis(), true));
+  }
+
+  /**
+   * get the version of the entities of this queue. The version changes with every change (or removal) of an entity
+   *
+   * @return the current version
+   */
+  public long getVersion() {
+    return sequence.get();
+  }
+
+  /**
+   * check if there is a pending change for the given entity
+   *
+   * @param entity
+   *          the entity to check
+   * @return true if the entity has not been written yet
+   */
+  public boolean isPending(MediaEntity entity) {
+    return pending.containsKey(entity);
+  }
+
+  /**
+   * forget all known hashes - needed if the underlying store has been replaced
+   */
+  public void reset() {
+    hashes.clear();
+  }
+
+  /**
+   * write all pending changes which are older than the flush delay (or all if forced) in one commit
+   *
+   * @param force
+   *          write all pending changes regardless of their age
+   */
+  public synchronized void flush(boolean force) {
+    MVStore mvStore = store.get();
+    if (mvStore == null || mvStore.isClosed()) {
+      return;
+    }
+
+    long start = System.nanoTime();
+    long now = System.currentTimeMillis();
+    int written = 0;
+    long bytes = 0;
+
+    for (Map.Entry<MediaEntity, PendingChange> entry : new ArrayList<>(pending.entrySet())) {
+      PendingChange change = entry.getValue();
+      if (!force && !change.removal() && change.timestamp() > now - flushDelay) {
+        // changed recently - wait for more changes
+        continue;
+      }
+
+      // only take the change if the entity has not been changed meanwhile - if it gets changed while serializing, it is being enqueued again
+      if (!pending.remove(entry.getKey(), change)) {
+        continue;
+      }
+
+      try {
+        long result = write(entry.getKey(), change.removal());
+        if (result >= 0) {
+          written++;
+          bytes += result;
+        }
+      }
+      catch (Exception e) {
+        LOGGER.warn("could not store '{}' - '{}'", entry.getKey().getClass().getName(), e.getMessage());
+      }
+    }
+
+    if (written > 0 || mvStore.hasUnsavedChanges()) {
+      long commitStart = System.nanoTime();
+      mvStore.commit();
+      TmmMetrics.getInstance().timer("tmm_db_commit_duration_seconds", "duration of the database commits", "queue", name).observeSince(commitStart);
+    }
+
+    if (written > 0) {
+      long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      flushes.incrementAndGet();
+      totalFlushTime.addAndGet(duration);
+      entitiesWritten.addAndGet(written);
+      bytesWritten.addAndGet(bytes);
+      lastFlushTime = duration;
+
+      LOGGER.debug("{}: flushed {} entities ({} bytes) in {} ms - {} pending", name, written, bytes, duration, pending.size());
+    }
+  }
+
+  /**
+   * write/remove the given entity
+   *
+   * @return the amount of written bytes or -1 if nothing has been written
+   */
+  private long write(MediaEntity entity, boolean removal) throws Exception {
+    Target<?> target = getTarget(entity);
+    if (target == null) {
+      return -1;
+    }
+
+    MVMap<UUID, String> map = target.map().get();
+    if (removal) {
+      map.remove(entity.getDbId());
+      hashes.remove(entity.getDbId());
+      return 0;
+    }
+
+    // the JSON contains the full entity - reload evicted detail data first
+    entity.ensureDetailsLoaded();
+    int detailsVersion = entity.getDetailsVersion();
+
+    String json = target.writer().writeValueAsString(entity);
+    long hash = hash(json);
+
+    Long oldHash = hashes.get(entity.getDbId());
+    if (oldHash == null) {
+      // first write of this entity in this session: hash the stored value once
+      String oldValue = map.get(entity.getDbId());
+      oldHash = oldValue != null ? hash(oldValue) : null;
+    }
+
+    if (oldHash != null && oldHash == hash) {
+      hashes.put(entity.getDbId(), hash);
+      entity.detailsPersisted(detailsVersion);
+      return -1;
+    }
+
+    map.put(entity.getDbId(), json);
+    hashes.put(entity.getDbId(), hash);
+    entity.detailsPersisted(detailsVersion);
+    return utf8Length(json);
+  }
+
+  private Target<?> getTarget(MediaEntity entity) {
+    for (Target<?> target : targets) {
+      if (target.type().isInstance(entity)) {
+        return target;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * a 64 bit FNV-1a hash of the given string
+   */
+  static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  private static long utf8Length(String value) {
+    long length = 0;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        length++;
+      }
+      else if (c < 0x800 || Character.isSurrogate(c)) {
+        // a surrogate pair results in 4 bytes
+        length += 2;
+      }
+      else {
+        length += 3;
+      }
+    }
+    return length;
+  }
+
+  /**
+   * get the statistics of this queue
+   *
+   * @return the current {@link Statistics}
+   */
+  public Statistics getStatistics() {
+    long flushCount = flushes.get();
+    return new Statistics(pending.size(), flushCount, lastFlushTime, flushCount > 0 ? totalFlushTime.get() / flushCount : 0,
+        entitiesWritten.get(), bytesWritten.get());
+  }
+
+  /**
+   * the statistics of the write behind queue
+   *
+   * @param queueDepth
+   *          the amount of pending changes
+   * @param flushes
+   *          the amount of flushes which have written something
+   * @param lastFlushTime
+   *          the duration of the last flush in ms
+   * @param averageFlushTime
+   *          the average duration of a flush in ms
+   * @param entitiesWritten
+   *          the amount of written entities
+   * @param bytesWritten
+   *          the amount of written bytes (JSON in UTF-8)
+   */
+  public record Statistics(int queueDepth, long flushes, long lastFlushTime, long averageFlushTime, long entitiesWritten, long bytesWritten) {
+  }
+
+  private record Target<T extends MediaEntity>(Class<T> type, Supplier<MVMap<UUID, String>> map, ObjectWriter writer) {
+  }
+
+  private record PendingChange(long sequence, long timestamp, boolean removal) {
+  }
+}
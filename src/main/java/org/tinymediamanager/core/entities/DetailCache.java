@@ -0,0 +1,233 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.entities;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tinymediamanager.core.metrics.TmmMetrics;
+
+/**
+ * The class {@link DetailCache} keeps the detail data (cast, crew, trailers, ...) of the most recently used entities in the heap. The detail data
+ * of all other entities is evicted and reloaded from the database when it is needed (e.g. by a detail panel, an editor, the renamer or an
+ * exporter). Only the compact summary data which is needed for the tables and filters stays resident all the time.<br />
+ * <br />
+ * The cache uses an approximated LRU: every access stores a timestamp in the entity and the least recently used entities are evicted in a batch
+ * if the cache exceeds its capacity. Entities with modified detail data are never evicted, because the database does not contain these
+ * modifications yet.
+ *
+ * @author Manuel Laggner
+ */
+public class DetailCache {
+  private static final Logger          LOGGER    = LoggerFactory.getLogger(DetailCache.class);
+
+  private final String                 name;
+  private final int                    capacity;
+  private final DetailLoader           loader;
+  private final Predicate<MediaEntity> evictable;
+  private final Set<MediaEntity>       resident  = Collections.newSetFromMap(new IdentityHashMap<>());
+  private final AtomicLong             clock     = new AtomicLong();
+  private final AtomicLong             loads     = new AtomicLong();
+  private final AtomicLong             evictions = new AtomicLong();
+
+  /**
+   * create a new detail cache
+   *
+   * @param name
+   *          the name of the cache (for logging)
+   * @param capacity
+   *          the amount of entities whose detail data is kept in the heap; 0 to disable evicting
+   * @param loader
+   *          the {@link DetailLoader} to load the persisted entity from the database
+   * @param evictable
+   *          an additional check if the detail data of an entity can be evicted (e.g. the entity has no pending database writes)
+   */
+  public DetailCache(String name, int capacity, DetailLoader loader, Predicate<MediaEntity> evictable) {
+    this.name = name;
+    this.capacity = capacity;
+    this.loader = loader;
+    this.evictable = evictable;
+
+    TmmMetrics metrics = TmmMetrics.getInstance();
+    metrics.gauge("tmm_detail_cache_resident", "entities whose detail data is loaded in the heap", () -> getStatistics().resident(), "cache", name);
+    metrics.counter("tmm_detail_cache_loads_total", "loads of detail data from the database", loads::get, "cache", name);
+    metrics.counter("tmm_detail_cache_evictions_total", "evictions of detail data from the heap", evictions::get, "cache", name);
+  }
+
+  public boolean isEnabled() {
+    return capacity > 0;
+  }
+
+  long nextTimestamp() {
+    return clock.incrementAndGet();
+  }
+
+  /**
+   * load the detail data of the given entity from the database. Called by {@link MediaEntity#ensureDetailsLoaded()} while holding the detail lock
+   * of the entity
+   */
+  void load(MediaEntity entity) {
+    try {
+      MediaEntity stored = loader.load(entity);
+      if (stored != null) {
+        entity.copyDetails(stored);
+      }
+      loads.incrementAndGet();
+    }
+    catch (Exception e) {
+      LOGGER.warn("{}: could not load details of '{}' - {}", name, entity.getDbId(), e.getMessage());
+    }
+  }
+
+  /**
+   * register the given entity as resident (its detail data has been loaded from the database)
+   */
+  void loaded(MediaEntity entity) {
+    List<Victim> victims = new ArrayList<>();
+
+    synchronized (resident) {
+      resident.add(entity);
+
+      // evict in batches to not sort the resident entities on every load
+      if (resident.size() > capacity + Math.max(16, capacity / 4)) {
+        List<Victim> candidates = new ArrayList<>();
+        for (MediaEntity candidate : resident) {
+          candidates.add(new Victim(candidate, candidate.getLastDetailAccess()));
+        }
+        candidates.sort(Comparator.comparingLong(Victim::lastAccess));
+        victims.addAll(candidates.subList(0, candidates.size() - capacity));
+        victims.forEach(victim -> resident.remove(victim.entity()));
+      }
+    }
+
+    // evict outside the lock of the cache - evicting needs the lock of the entity. Entities which have been accessed meanwhile are not evicted
+    for (Victim victim : victims) {
+      evict(victim.entity(), victim.lastAccess());
+    }
+  }
+
+  /**
+   * the detail data of the given entity has been modified - it must stay in the heap
+   */
+  void modified(MediaEntity entity) {
+    synchronized (resident) {
+      resident.remove(entity);
+    }
+  }
+
+  /**
+   * evict the detail data of all given entities (e.g. after loading all entities from the database)
+   *
+   * @param entities
+   *          the entities to evict the detail data for
+   */
+  public void evictAll(Collection<? extends MediaEntity> entities) {
+    if (!isEnabled()) {
+      return;
+    }
+
+    int count = 0;
+    for (MediaEntity entity : entities) {
+      // collect the person names while the details are in the heap - filters and search indices need them
+      entity.getPersonNames(Person.Type.ACTOR);
+
+      if (evict(entity, entity.getLastDetailAccess())) {
+        remove(entity);
+        count++;
+      }
+    }
+    LOGGER.debug("{}: evicted details of {} entities", name, count);
+  }
+
+  private boolean evict(MediaEntity entity, long lastAccess) {
+    if (!evictable.test(entity)) {
+      return false;
+    }
+
+    if (entity.evictDetails(lastAccess)) {
+      evictions.incrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * remove the given entity from the cache (e.g. if it has been removed from the database)
+   *
+   * @param entity
+   *          the entity to remove
+   */
+  public void remove(MediaEntity entity) {
+    synchronized (resident) {
+      resident.remove(entity);
+    }
+  }
+
+  /**
+   * get the statistics of this cache
+   *
+   * @return the current {@link Statistics}
+   */
+  public Statistics getStatistics() {
+    synchronized (resident) {
+      return new Statistics(resident.size(), capacity, loads.get(), evictions.get());
+    }
+  }
+
+  /**
+   * the statistics of the detail cache
+   *
+   * @param resident
+   *          the amount of entities whose detail data has been reloaded and is currently in the heap
+   * @param capacity
+   *          the capacity of the cache
+   * @param loads
+   *          the amount of loads from the database
+   * @param evictions
+   *          the amount of evictions
+   */
+  public record Statistics(int resident, int capacity, long loads, long evictions) {
+  }
+
+  private record Victim(MediaEntity entity, long lastAccess) {
+  }
+
+  /**
+   * load the persisted state of an entity from the database
+   */
+  @FunctionalInterface
+  public interface DetailLoader {
+    /**
+     * load the persisted state of the given entity
+     *
+     * @param entity
+     *          the entity to load
+     * @return a new instance of the entity with all data from the database or null if the entity has not been persisted yet
+     * @throws Exception
+     *           any exception while reading the database
+     */
+    MediaEntity load(MediaEntity entity) throws Exception;
+  }
+}
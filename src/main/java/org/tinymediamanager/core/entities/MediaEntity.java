@@ -46,6 +46,7 @@ import static org.tinymediamanager.core.Constants.YEAR;
 import static org.tinymediamanager.core.Utils.returnOneWhenFilled;
 
 import java.awt.Dimension;
+import java.beans.PropertyChangeListener;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -78,6 +79,7 @@ import org.tinymediamanager.core.ImageCache;
 import org.tinymediamanager.core.MediaFileHelper;
 import org.tinymediamanager.core.MediaFileType;
 import org.tinymediamanager.core.Settings;
+import org.tinymediamanager.core.StringPool;
 import org.tinymediamanager.core.TmmDateFormat;
 import org.tinymediamanager.core.Utils;
 import org.tinymediamanager.scraper.MediaMetadata;
@@ -146,6 +148,17 @@ public abstract class MediaEntity extends AbstractModelObject implements IPrinta
   protected boolean                    newlyAdded         = false;
   protected boolean                    duplicate          = false;
   protected final ReadWriteLock        readWriteLock      = new ReentrantReadWriteLock();
+  private volatile MediaFileIndex      mediaFileIndex     = null;
+  // the content hashes of the media files are stored in the entity
+  private final PropertyChangeListener hashesListener     = evt -> saveToDb();
+
+  // state of the detail data (see DetailCache)
+  private final Object                 detailLock         = new Object();
+  private volatile boolean             detailsLoaded      = true;
+  private volatile int                 detailsVersion     = 0;
+  private volatile int                 persistedVersion   = 0;
+  private volatile long                lastDetailAccess   = 0;
+  private volatile PersonNames         personNames        = null; // resident even if the details are evicted
 
   /**
    * get the main file for this entity
@@ -161,6 +174,200 @@ public abstract class MediaEntity extends AbstractModelObject implements IPrinta
    */
   public abstract Date getReleaseDate();
 
+  /**
+   * get the {@link DetailCache} of the module of this entity. Entities without a {@link DetailCache} keep their detail data in the heap all the
+   * time
+   *
+   * @return the {@link DetailCache} or null
+   */
+  protected DetailCache getDetailCache() {
+    return null;
+  }
+
+  /**
+   * copy the detail data (the data which may be evicted from the heap) from the given entity (the persisted state of this entity) into this
+   * entity. No events must be fired here
+   *
+   * @param source
+   *          the persisted state of this entity
+   */
+  protected void copyDetails(MediaEntity source) {
+    // no detail data in the base class
+  }
+
+  /**
+   * replace the content of the target list with the content of the source list (for {@link #copyDetails(MediaEntity)})
+   */
+  protected static <T> void replaceContent(List<T> target, List<T> source) {
+    target.clear();
+    target.addAll(source);
+  }
+
+  /**
+   * remove the detail data from the heap. No events must be fired here
+   */
+  protected void clearDetails() {
+    // no detail data in the base class
+  }
+
+  /**
+   * get the names of the (JSON) properties holding the detail data (see {@link #clearDetails()})
+   *
+   * @return the names of the detail properties
+   */
+  public Set<String> getDetailProperties() {
+    return Collections.emptySet();
+  }
+
+  /**
+   * is the detail data of this entity held in the heap right now?
+   *
+   * @return false if the detail data has been evicted (and needs to be loaded with {@link #ensureDetailsLoaded()})
+   */
+  public boolean isDetailsLoaded() {
+    return detailsLoaded;
+  }
+
+  /**
+   * ensure that the detail data of this entity is loaded. Must be called before accessing any detail data
+   */
+  public void ensureDetailsLoaded() {
+    DetailCache detailCache = getDetailCache();
+    if (detailCache == null) {
+      return;
+    }
+
+    lastDetailAccess = detailCache.nextTimestamp();
+    if (detailsLoaded) {
+      return;
+    }
+
+    synchronized (detailLock) {
+      if (detailsLoaded) {
+        return;
+      }
+      detailCache.load(this);
+      detailsLoaded = true;
+    }
+
+    // register outside the lock - this may evict the details of other entities
+    detailCache.loaded(this);
+  }
+
+  /**
+   * mark the detail data as modified. Must be called before modifying any detail data; modified detail data stays in the heap until it has been
+   * persisted
+   */
+  protected void markDetailsModified() {
+    personNames = null;
+
+    DetailCache detailCache = getDetailCache();
+    if (detailCache == null) {
+      // no cache attached (e.g. while loading from the database) - the details cannot be evicted, so there is nothing to track
+      return;
+    }
+
+    ensureDetailsLoaded();
+
+    synchronized (detailLock) {
+      if (!detailsLoaded) {
+        // evicted meanwhile
+        detailCache.load(this);
+        detailsLoaded = true;
+      }
+      detailsVersion++;
+    }
+    detailCache.modified(this);
+  }
+
+  /**
+   * get the names of all persons in the given list of cast/crew. The names stay in the heap even if the detail data has been evicted, so filters
+   * and search indices can use them without reloading the details from the database
+   *
+   * @param type
+   *          the list of persons ({@link Person.Type#ACTOR}, {@link Person.Type#DIRECTOR}, {@link Person.Type#WRITER} or
+   *          {@link Person.Type#PRODUCER})
+   * @return the names of all persons in this list
+   */
+  public List<String> getPersonNames(Person.Type type) {
+    PersonNames names = personNames;
+    if (names == null) {
+      names = new PersonNames(collectPersonNames());
+      personNames = names;
+    }
+    return names.names().getOrDefault(type, Collections.emptyList());
+  }
+
+  /**
+   * collect the names of all persons per list of cast/crew (see {@link #getPersonNames(Person.Type)})
+   */
+  protected Map<Person.Type, List<String>> collectPersonNames() {
+    return Collections.emptyMap();
+  }
+
+  /**
+   * get the names of the given persons (for {@link #collectPersonNames()})
+   */
+  protected static List<String> toPersonNames(Collection<Person> persons) {
+    List<String> names = new ArrayList<>(persons.size());
+    for (Person person : persons) {
+      if (StringUtils.isNotEmpty(person.getName())) {
+        names.add(person.getName());
+      }
+    }
+    return names;
+  }
+
+  /**
+   * get the version of the detail data. Every modification increases the version
+   *
+   * @return the version of the detail data
+   */
+  public int getDetailsVersion() {
+    return detailsVersion;
+  }
+
+  /**
+   * the detail data has been persisted in the given version. If there was no other modification meanwhile, the detail data may be evicted again
+   *
+   * @param version
+   *          the persisted version (see {@link #getDetailsVersion()})
+   */
+  public void detailsPersisted(int version) {
+    boolean clean;
+    synchronized (detailLock) {
+      persistedVersion = Math.max(persistedVersion, version);
+      clean = detailsLoaded && persistedVersion == detailsVersion;
+    }
+
+    DetailCache detailCache = getDetailCache();
+    if (clean && version > 0 && detailCache != null && detailCache.isEnabled()) {
+      detailCache.loaded(this);
+    }
+  }
+
+  long getLastDetailAccess() {
+    return lastDetailAccess;
+  }
+
+  /**
+   * evict the detail data from the heap if it has not been modified or accessed since the given access
+   *
+   * @param lastAccess
+   *          the last access known by the {@link DetailCache}
+   * @return true if the detail data has been evicted
+   */
+  boolean evictDetails(long lastAccess) {
+    synchronized (detailLock) {
+      if (!detailsLoaded || detailsVersion != persistedVersion || lastDetailAccess != lastAccess) {
+        return false;
+      }
+      clearDetails();
+      detailsLoaded = false;
+      return true;
+    }
+  }
+
   /**
    * Overwrites all null/empty elements with "other" value (but might be empty also)<br>
    * For lists, check with 'contains' and add.<br>
@@ -230,6 +437,13 @@ public abstract class MediaEntity extends AbstractModelObject implements IPrinta
   public void initializeAfterLoading() {
     sortMediaFiles();
 
+    // share the folder paths and codec strings with all other media files
+    path = StringPool.internPath(path);
+    for (MediaFile mediaFile : mediaFiles) {
+      mediaFile.internStrings();
+      listenForHashes(mediaFile);
+    }
+
     // remove empty tag, null values and case insensitive duplicates
     Utils.removeEmptyStringsFromList(tags);
     Utils.removeDuplicateStringFromCollectionIgnoreCase(tags);
@@ -243,6 +457,7 @@ public abstract class MediaEntity extends AbstractModelObject implements IPrinta
     else {
       Collections.sort(mediaFiles);
     }
+    mediaFileIndex = null;
   }
 
   /**
@@ -509,7 +724,7 @@ public abstract class MediaEntity extends AbstractModelObject implements IPrinta
 
   public void setPath(String newValue) {
     String oldValue = path;
-    path = newValue;
+    path = StringPool.internPath(newValue);
     firePropertyChange(PATH, oldValue, newValue);
   }
 
@@ -772,7 +987,7 @@ public abstract class MediaEntity extends AbstractModelObject implements IPrinta
     score = score + returnOneWhenFilled(productionCompany);
     score = score + returnOneWhenFilled(ratings);
     score = score + returnOneWhenFilled(artworkUrlMap);
-    if (!getMediaFiles(MediaFileType.NFO).isEmpty()) {
+    if (!getMediaFilesView(MediaFileType.NFO).isEmpty()) {
       score++;
     }
     score = score + returnOneWhenFilled(lastScraperId);
@@ -918,6 +1133,7 @@ public abstract class MediaEntity extends AbstractModelObject implements IPrinta
           MediaFile oldMf = mediaFiles.get(i);
           if (oldMf.getType() != mediaFile.getType()) {
             mediaFiles.remove(i);
+            mediaFileIndex = null;
           }
         }
       }
@@ -943,11 +1159,22 @@ public abstract class MediaEntity extends AbstractModelObject implements IPrinta
     }
   }
 
+  /**
+   * persist this entity whenever the content hashes of the given {@link MediaFile} have been (re-)calculated
+   */
+  private void listenForHashes(MediaFile mediaFile) {
+    // the same media file may be announced several times - do not register twice
+    mediaFile.removePropertyChangeListener(MediaFile.HASHES, hashesListener);
+    mediaFile.addPropertyChangeListener(MediaFile.HASHES, hashesListener);
+  }
+
   protected void fireAddedEventForMediaFile(MediaFile mediaFile) {
     if (mediaFile == null) {
       return;
     }
 
+    listenForHashes(mediaFile);
+
     switch (mediaFile.getType()) {
       case FANART, SEASON_FANART:
         firePropertyChange(FANART, null, mediaFile.getPath());
@@ -1009,6 +1236,8 @@ public abstract class MediaEntity extends AbstractModelObject implements IPrinta
       return;
     }
 
+    mediaFile.removePropertyChangeListener(MediaFile.HASHES, hashesListener);
+
     switch (mediaFile.getType()) {
       case FANART, SEASON_FANART:
         firePropertyChange(FANART, null, "");
@@ -1084,27 +1313,30 @@ public abstract class MediaEntity extends AbstractModelObject implements IPrinta
 
   /**
    * gets all MediaFiles from specific type<br>
-   * <b>Can be one or multiple types!</b>
+   * <b>Can be one or multiple types!</b> For a single type the returned list is the read only snapshot of the {@link MediaFileIndex} (see
+   * {@link #getMediaFilesView(MediaFileType)})
    * 
    * @param types
    *          1-N types
    * @return list of MF (may be empty, but never null)
    */
   public List<MediaFile> getMediaFiles(MediaFileType... types) {
-    List<MediaFile> mf = new ArrayList<>();
-
     try {
       readWriteLock.readLock().lock();
-      for (MediaFile mediaFile : mediaFiles) {
-        boolean match = false;
+      MediaFileIndex index = getMediaFileIndex();
+
+      if (types.length == 1) {
+        return index.getMediaFiles(types[0]);
+      }
+
+      List<MediaFile> mf = new ArrayList<>();
+      for (int i = 0; i < index.mediaFiles.length; i++) {
         for (MediaFileType type : types) {
-          if (mediaFile.getType().equals(type)) {
-            match = true;
+          if (index.types[i] == type) {
+            mf.add(index.mediaFiles[i]);
+            break;
           }
         }
-        if (match) {
-          mf.add(mediaFile);
-        }
       }
       return mf;
     }
@@ -1113,6 +1345,40 @@ public abstract class MediaEntity extends AbstractModelObject implements IPrinta
     }
   }
 
+  /**
+   * gets a read only view of all MediaFiles from the given type. This neither allocates a new list nor scans all MediaFiles. The view is a
+   * snapshot - it is not affected by later changes of the MediaFiles, so it can be iterated while removing MediaFiles from the entity.
+   *
+   * @param type
+   *          the {@link MediaFileType}
+   * @return an unmodifiable list of MF (may be empty, but never null)
+   */
+  public List<MediaFile> getMediaFilesView(MediaFileType type) {
+    try {
+      readWriteLock.readLock().lock();
+      return getMediaFileIndex().getMediaFiles(type);
+    }
+    finally {
+      readWriteLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * get the {@link MediaFileIndex} for the current state of the MediaFiles. The index is dropped whenever the MediaFiles of this entity are
+   * changed; a change of the type/size of any MediaFile (see {@link MediaFile#getIndexChanges()}) invalidates it too.<br />
+   * <b>needs to be called with the read or write lock held</b>
+   *
+   * @return the {@link MediaFileIndex}
+   */
+  private MediaFileIndex getMediaFileIndex() {
+    MediaFileIndex index = mediaFileIndex;
+    if (index == null || !index.isCurrent()) {
+      index = new MediaFileIndex(mediaFiles);
+      mediaFileIndex = index;
+    }
+    return index;
+  }
+
   /**
    * gets the BIGGEST MediaFile of type(s)<br>
    * useful for getting the right MF for displaying mediaInformation
@@ -1120,20 +1386,20 @@ public abstract class MediaEntity extends AbstractModelObject implements IPrinta
    * @return biggest MF
    */
   public MediaFile getBiggestMediaFile(MediaFileType... types) {
-    MediaFile mf = null;
-
     try {
       readWriteLock.readLock().lock();
-      for (MediaFile mediaFile : mediaFiles) {
-        for (MediaFileType type : types) {
-          if (mediaFile.getType().equals(type)) {
-            if (mf == null || mediaFile.getFilesize() >= mf.getFilesize()) {
-              mf = mediaFile;
-            }
-          }
+      MediaFileIndex index = getMediaFileIndex();
+
+      // take the last one on equal size (like iterating over all MFs would do)
+      int biggest = -1;
+      for (MediaFileType type : types) {
+        int candidate = index.biggest.getOrDefault(type, -1);
+        if (candidate >= 0 && (biggest < 0 || index.filesizes[candidate] > index.filesizes[biggest]
+            || (index.filesizes[candidate] == index.filesizes[biggest] && candidate > biggest))) {
+          biggest = candidate;
         }
       }
-      return mf;
+      return biggest >= 0 ? index.mediaFiles[biggest] : null;
     }
     finally {
       readWriteLock.readLock().unlock();
@@ -1222,6 +1488,7 @@ public abstract class MediaEntity extends AbstractModelObject implements IPrinta
       for (int i = mediaFiles.size() - 1; i >= 0; i--) {
         mediaFiles.remove(i);
       }
+      mediaFileIndex = null;
     }
     finally {
       readWriteLock.writeLock().unlock();
@@ -1238,6 +1505,7 @@ public abstract class MediaEntity extends AbstractModelObject implements IPrinta
     try {
       readWriteLock.writeLock().lock();
       changed = mediaFiles.remove(mediaFile);
+      mediaFileIndex = null;
     }
     finally {
       readWriteLock.writeLock().unlock();
@@ -1261,6 +1529,7 @@ public abstract class MediaEntity extends AbstractModelObject implements IPrinta
           changedMediafiles.add(mediaFile);
         }
       }
+      mediaFileIndex = null;
     }
     finally {
       readWriteLock.writeLock().unlock();
@@ -1286,6 +1555,7 @@ public abstract class MediaEntity extends AbstractModelObject implements IPrinta
           changedMediafiles.add(mediaFile);
         }
       }
+      mediaFileIndex = null;
     }
     finally {
       readWriteLock.writeLock().unlock();
@@ -1559,4 +1829,54 @@ public abstract class MediaEntity extends AbstractModelObject implements IPrinta
   public String toPrintable() {
     return getTitle();
   }
+
+  /**
+   * an immutable snapshot of the MediaFiles grouped by their type (along with the biggest MediaFile per type)
+   */
+  private static class MediaFileIndex {
+    private final MediaFile[]                         mediaFiles;
+    private final MediaFileType[]                     types;
+    private final long[]                              filesizes;
+    private final long                                indexChanges;
+    private final Map<MediaFileType, List<MediaFile>> byType  = new EnumMap<>(MediaFileType.class);
+    private final Map<MediaFileType, Integer>         biggest = new EnumMap<>(MediaFileType.class);
+
+    private MediaFileIndex(List<MediaFile> mediaFiles) {
+      // take the change counter first - changes while building the index result in a rebuild with the next access
+      this.indexChanges = MediaFile.getIndexChanges();
+      this.mediaFiles = mediaFiles.toArray(new MediaFile[0]);
+      this.types = new MediaFileType[this.mediaFiles.length];
+      this.filesizes = new long[this.mediaFiles.length];
+
+      Map<MediaFileType, List<MediaFile>> lists = new EnumMap<>(MediaFileType.class);
+
+      for (int i = 0; i < this.mediaFiles.length; i++) {
+        MediaFile mediaFile = this.mediaFiles[i];
+        types[i] = mediaFile.getType();
+        filesizes[i] = mediaFile.getFilesize();
+
+        lists.computeIfAbsent(types[i], k -> new ArrayList<>(1)).add(mediaFile);
+
+        Integer currentBiggest = biggest.get(types[i]);
+        if (currentBiggest == null || filesizes[i] >= filesizes[currentBiggest]) {
+          biggest.put(types[i], i);
+        }
+      }
+
+      for (Entry<MediaFileType, List<MediaFile>> entry : lists.entrySet()) {
+        byType.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+      }
+    }
+
+    private List<MediaFile> getMediaFiles(MediaFileType type) {
+      return byType.getOrDefault(type, Collections.emptyList());
+    }
+
+    private boolean isCurrent() {
+      return indexChanges == MediaFile.getIndexChanges();
+    }
+  }
+
+  private record PersonNames(Map<Person.Type, List<String>> names) {
+  }
 }
@@ -33,6 +33,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -42,6 +43,7 @@ import org.tinymediamanager.core.AbstractModelObject;
 import org.tinymediamanager.core.MediaFileHelper;
 import org.tinymediamanager.core.MediaFileType;
 import org.tinymediamanager.core.Settings;
+import org.tinymediamanager.core.StringPool;
 import org.tinymediamanager.core.Utils;
 import org.tinymediamanager.scraper.util.ListUtils;
 import org.tinymediamanager.thirdparty.MediaInfo.StreamKind;
@@ -57,7 +59,13 @@ import com.madgag.gif.fmsware.GifDecoder;
 public class MediaFile extends AbstractModelObject implements Comparable<MediaFile> {
   private static final Logger        LOGGER            = LoggerFactory.getLogger(MediaFile.class);
 
+  // counts the changes of the path/filename of existing media files (e.g. by renaming) to detect stale lookup indexes
+  private static final AtomicLong    PATH_CHANGES      = new AtomicLong();
+  // counts the changes of the type/filesize of media files to invalidate the MediaFile indexes of the entities
+  private static final AtomicLong    INDEX_CHANGES     = new AtomicLong();
+
   public static final MediaFile      EMPTY_MEDIAFILE   = new MediaFile();
+  public static final String         HASHES            = "hashes";
 
   @JsonProperty
   private MediaFileType              type              = MediaFileType.UNKNOWN;
@@ -118,6 +126,8 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
   private List<MediaFileAudioStream> audioStreams      = null;
   @JsonProperty
   private List<MediaFileSubtitle>    subtitles         = null;
+  @JsonProperty
+  private MediaFileHashes            hashes            = null;
 
   private Path                       file              = null;
   // a map to temporarily preserve extra data from MI
@@ -153,6 +163,7 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
     this.isISO = clone.isISO;
     this.isAnimatedGraphic = clone.isAnimatedGraphic;
     this.hdrFormat = clone.hdrFormat;
+    this.hashes = clone.hashes;
 
     if (ListUtils.isNotEmpty(clone.audioStreams)) {
       audioStreams = new CopyOnWriteArrayList<>(clone.audioStreams);
@@ -190,9 +201,8 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
    *          the MediaFileType
    */
   public MediaFile(Path f, MediaFileType type) {
-    this.path = f.getParent() == null ? "" : f.getParent().toString(); // just path w/o filename
+    this.path = f.getParent() == null ? "" : StringPool.internPath(f.getParent().toString()); // just path w/o filename
     this.filename = f.getFileName().toString();
-    this.file = f.toAbsolutePath();
 
     if (type == null) {
       this.type = MediaFileHelper.parseMediaFileType(f);
@@ -454,7 +464,52 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
   public void setFile(Path file) {
     setFilename(file.getFileName().toString());
     setPath(file.toAbsolutePath().getParent().toString());
-    this.file = file.toAbsolutePath();
+  }
+
+  /**
+   * replace the folder path and the codec/format strings (also of all streams) with their canonical instances from the {@link StringPool}. This
+   * is needed after loading from the database, since the values are directly written into the fields there.
+   */
+  public void internStrings() {
+    path = StringPool.internPath(path);
+    videoCodec = StringPool.intern(videoCodec);
+    containerFormat = StringPool.intern(containerFormat);
+    exactVideoFormat = StringPool.intern(exactVideoFormat);
+    video3DFormat = StringPool.intern(video3DFormat);
+    hdrFormat = StringPool.intern(hdrFormat);
+
+    if (audioStreams != null) {
+      audioStreams.forEach(MediaStreamInfo::internStrings);
+    }
+    if (subtitles != null) {
+      subtitles.forEach(MediaStreamInfo::internStrings);
+    }
+  }
+
+  private static void countPathModification(String oldValue, String newValue) {
+    // the first assignment of new media files is no modification
+    if (StringUtils.isNotEmpty(oldValue) && !oldValue.equals(newValue)) {
+      PATH_CHANGES.incrementAndGet();
+    }
+  }
+
+  /**
+   * get the amount of changes of the path/filename of existing media files. Indexes using the file of media files can compare this value to
+   * detect that they could be stale
+   *
+   * @return the amount of path/filename changes since the start
+   */
+  public static long getPathChanges() {
+    return PATH_CHANGES.get();
+  }
+
+  /**
+   * get the amount of changes of the type/filesize of media files. The MediaFile index of the entities is being rebuilt whenever this value changes
+   *
+   * @return the amount of type/filesize changes since the start
+   */
+  public static long getIndexChanges() {
+    return INDEX_CHANGES.get();
   }
 
   /**
@@ -484,7 +539,8 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
    */
   public void setPath(String newValue) {
     String oldValue = this.path;
-    this.path = newValue;
+    this.path = StringPool.internPath(newValue);
+    countPathModification(oldValue, newValue);
     invalidateFileHandle();
     firePropertyChange("path", oldValue, newValue);
   }
@@ -548,6 +604,7 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
   public void setFilename(String newValue) {
     String oldValue = this.filename;
     this.filename = newValue;
+    countPathModification(oldValue, newValue);
     invalidateFileHandle();
     firePropertyChange("filename", oldValue, newValue);
   }
@@ -582,6 +639,9 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
   public void setFilesize(long newValue) {
     long oldValue = this.filesize;
     this.filesize = newValue;
+    if (oldValue != newValue) {
+      INDEX_CHANGES.incrementAndGet();
+    }
     firePropertyChange("filesize", oldValue, newValue);
     firePropertyChange("filesizeInMegabytes", oldValue, newValue);
   }
@@ -591,7 +651,10 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
   }
 
   public void setType(MediaFileType type) {
-    this.type = type;
+    if (this.type != type) {
+      this.type = type;
+      INDEX_CHANGES.incrementAndGet();
+    }
   }
 
   public int getStacking() {
@@ -793,7 +856,7 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
     }
 
     String oldValue = this.videoCodec;
-    this.videoCodec = newValue;
+    this.videoCodec = StringPool.intern(newValue);
     firePropertyChange("videoCodec", oldValue, newValue);
   }
 
@@ -951,7 +1014,7 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
    */
   public void setContainerFormat(String newValue) {
     String oldValue = this.containerFormat;
-    this.containerFormat = newValue;
+    this.containerFormat = StringPool.intern(newValue);
     firePropertyChange("containerFormat", oldValue, newValue);
   }
 
@@ -981,7 +1044,7 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
    */
   public void setExactVideoFormat(String newValue) {
     String oldValue = this.exactVideoFormat;
-    this.exactVideoFormat = newValue;
+    this.exactVideoFormat = StringPool.intern(newValue);
     firePropertyChange("exactVideoFormat", oldValue, newValue);
   }
 
@@ -1078,6 +1141,28 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
     firePropertyChange("dateCreated", oldValue, newValue);
   }
 
+  /**
+   * get the stored content hashes of this file. Use {@link org.tinymediamanager.core.FileHashService#getHashes(MediaFile)} to get up to date
+   * hashes
+   *
+   * @return the {@link MediaFileHashes} or null if the file has not been hashed yet
+   */
+  public MediaFileHashes getHashes() {
+    return hashes;
+  }
+
+  /**
+   * set the content hashes of this file. The owning entity listens to this property and persists itself
+   *
+   * @param newValue
+   *          the new {@link MediaFileHashes}
+   */
+  public void setHashes(MediaFileHashes newValue) {
+    MediaFileHashes oldValue = this.hashes;
+    this.hashes = newValue;
+    firePropertyChange(HASHES, oldValue, newValue);
+  }
+
   public Date getDateLastModified() {
     return dateLastModified;
   }
@@ -1582,7 +1667,7 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
    *          the 3D format
    */
   public void setVideo3DFormat(String video3DFormat) {
-    this.video3DFormat = video3DFormat;
+    this.video3DFormat = StringPool.intern(video3DFormat);
   }
 
   /**
@@ -1621,7 +1706,7 @@ public class MediaFile extends AbstractModelObject implements Comparable<MediaFi
    *          the HDR format
    */
   public void setHdrFormat(String format) {
-    this.hdrFormat = format;
+    this.hdrFormat = StringPool.intern(format);
   }
 
   /**
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.entities;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * the record {@link MediaFileHashes} is used to hold the content hashes of a {@link MediaFile} along with the file size/last modified date they
+ * have been computed for
+ *
+ * @param openSubtitlesHash
+ *          the OpenSubtitles hash (file size + checksum of the first and last 64 KB)
+ * @param fingerprint
+ *          a sampled content fingerprint
+ * @param filesize
+ *          the file size at the time of hashing
+ * @param filedate
+ *          the last modified date (millis) at the time of hashing
+ */
+public record MediaFileHashes(@JsonProperty String openSubtitlesHash, @JsonProperty String fingerprint, @JsonProperty long filesize,
+    @JsonProperty long filedate) {
+
+  /**
+   * checks if the hashes are still valid for the given file size and last modified date
+   *
+   * @param filesize
+   *          the current file size
+   * @param filedate
+   *          the current last modified date (millis)
+   * @return true/false
+   */
+  public boolean isValidFor(long filesize, long filedate) {
+    return this.filesize == filesize && this.filedate == filedate;
+  }
+}
@@ -22,6 +22,7 @@ import java.util.EnumSet;
 import java.util.Set;
 
 import org.tinymediamanager.core.AbstractModelObject;
+import org.tinymediamanager.core.StringPool;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -61,7 +62,7 @@ public class MediaStreamInfo extends AbstractModelObject {
   }
 
   public void setCodec(String codec) {
-    this.codec = codec;
+    this.codec = StringPool.intern(codec);
   }
 
   public String getLanguage() {
@@ -69,7 +70,7 @@ public class MediaStreamInfo extends AbstractModelObject {
   }
 
   public void setLanguage(String language) {
-    this.language = language;
+    this.language = StringPool.intern(language);
   }
 
   public String getTitle() {
@@ -80,6 +81,14 @@ public class MediaStreamInfo extends AbstractModelObject {
     this.title = title;
   }
 
+  /**
+   * replace the codec/language with their canonical instances from the {@link StringPool}
+   */
+  public void internStrings() {
+    codec = StringPool.intern(codec);
+    language = StringPool.intern(language);
+  }
+
   public boolean has(Flags flag) {
     return streamFlags.contains(flag);
   }
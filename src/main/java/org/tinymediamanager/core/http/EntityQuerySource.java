@@ -0,0 +1,157 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.http;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.tinymediamanager.core.entities.MediaEntity;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * the class {@link EntityQuerySource} is a {@link QueryHandler.QuerySource} for {@link MediaEntity}s. The entities are serialized with the
+ * {@link ObjectWriter} of the database, the version is the sequence of the persistence queue (which changes with every change of an entity).
+ * The detail data of an entity may have been evicted from the heap: it is loaded for filtering and if it has been requested - otherwise the
+ * detail properties of such an entity are omitted rather than serialized empty
+ *
+ * @author Manuel Laggner
+ */
+public class EntityQuerySource<T extends MediaEntity> implements QueryHandler.QuerySource<T> {
+  private final Supplier<List<T>>                           items;
+  private final ObjectWriter                                objectWriter;
+  private final LongSupplier                                version;
+  private final ObjectMapper                                objectMapper;
+  private final Map<Class<?>, Map<String, AnnotatedMember>> accessors = new ConcurrentHashMap<>();
+
+  /**
+   * create a new source
+   *
+   * @param items
+   *          the supplier of all entities
+   * @param objectWriter
+   *          the {@link ObjectWriter} to serialize the entities with
+   * @param version
+   *          the supplier of the version of the entities
+   */
+  public EntityQuerySource(Supplier<List<T>> items, ObjectWriter objectWriter, LongSupplier version) {
+    this.items = items;
+    this.objectWriter = objectWriter;
+    this.version = version;
+    this.objectMapper = new ObjectMapper();
+  }
+
+  @Override
+  public List<T> getItems() {
+    return items.get();
+  }
+
+  @Override
+  public String getId(T item) {
+    return item.getDbId().toString();
+  }
+
+  @Override
+  public ObjectNode toJson(T item, boolean details) throws IOException {
+    if (details) {
+      // the detail data may have been evicted from the heap
+      item.ensureDetailsLoaded();
+    }
+
+    // serialize into a token buffer to avoid the intermediate JSON string
+    TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+    objectWriter.writeValue(buffer, item);
+    JsonNode json = objectMapper.readTree(buffer.asParser());
+
+    ObjectNode node = objectMapper.createObjectNode();
+    node.put("id", getId(item));
+    if (json instanceof ObjectNode objectNode) {
+      node.setAll(objectNode);
+    }
+
+    if (!details && !item.isDetailsLoaded()) {
+      // evicted (before or while serializing) - the detail properties are empty and must not be mistaken for the real data
+      node.remove(item.getDetailProperties());
+    }
+    return node;
+  }
+
+  @Override
+  public boolean isDetailField(T item, String field) {
+    return item.getDetailProperties().contains(field);
+  }
+
+  @Override
+  public JsonNode getField(T item, String field) throws IOException {
+    if ("id".equals(field)) {
+      return TextNode.valueOf(getId(item));
+    }
+
+    AnnotatedMember accessor = accessors.computeIfAbsent(item.getClass(), this::findAccessors).get(field);
+    if (accessor == null) {
+      return null;
+    }
+
+    if (isDetailField(item, field)) {
+      // the accessor reads the field directly - the detail data may have been evicted from the heap
+      item.ensureDetailsLoaded();
+    }
+
+    Object value = accessor.getValue(item);
+    if (value == null) {
+      return null;
+    }
+
+    // serialize the field only - with the same writer as the whole entity
+    TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+    objectWriter.forType(accessor.getType()).writeValue(buffer, value);
+    return objectMapper.readTree(buffer.asParser());
+  }
+
+  /**
+   * find the accessors of all properties which are being serialized by the {@link ObjectWriter}
+   */
+  private Map<String, AnnotatedMember> findAccessors(Class<?> type) {
+    SerializationConfig config = objectWriter.getConfig();
+    Map<String, AnnotatedMember> result = new HashMap<>();
+    for (BeanPropertyDefinition property : config.introspect(config.constructType(type)).findProperties()) {
+      AnnotatedMember accessor = property.getAccessor();
+      if (accessor != null) {
+        accessor.fixAccess(true);
+        result.put(property.getName(), accessor);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public long getVersion(List<T> items) {
+    return version.getAsLong();
+  }
+}
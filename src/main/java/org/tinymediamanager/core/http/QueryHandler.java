@@ -0,0 +1,448 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+/**
+ * The class {@link QueryHandler} serves a read only, paged JSON view of a {@link QuerySource}. The following query parameters are supported:
+ * <ul>
+ * <li><b>fields</b>: a comma separated list of the top level fields to return (the id is always returned)</li>
+ * <li><b>filter</b>: a comma separated list of conditions; <i>field:value</i> for a (case insensitive) match and <i>field~value</i> for a
+ * (case insensitive) contains. Nested fields can be addressed with dots (e.g. <i>ids.imdb:tt0103639</i>), arrays match if any element
+ * matches</li>
+ * <li><b>limit</b>: the max. amount of items per page (default 100, max. 1000)</li>
+ * <li><b>cursor</b>: the <i>nextCursor</i> of the previous page</li>
+ * <li><b>details</b>: <i>true</i> to load the detail data (cast, crew, ...) of the items which are not held in the heap. Otherwise the detail
+ * fields of these items are omitted - unless they are requested explicitly with <i>fields</i> (filters always load the detail data they
+ * need)</li>
+ * </ul>
+ * The items are sorted by their id, so a cursor stays valid while the library changes. Every response carries a weak ETag of the version of
+ * the source (prefixed with the start time of the process) and the query; a request with a matching <i>If-None-Match</i> header is answered
+ * with 304. The items are filtered on their fields first and only the items of the page are serialized; they are streamed one by one with a
+ * {@link JsonGenerator}, so even a whole library is never built as a single JSON document in memory.
+ *
+ * @author Manuel Laggner
+ */
+public class QueryHandler<T> implements HttpHandler {
+  private static final Logger  LOGGER        = LoggerFactory.getLogger(QueryHandler.class);
+  // the versions of the sources start over with every start of tmm - the epoch keeps the ETags of different processes apart
+  private static final String  EPOCH         = Long.toHexString(System.currentTimeMillis());
+  static final int             DEFAULT_LIMIT = 100;
+  static final int             MAX_LIMIT     = 1000;
+
+  private final QuerySource<T> source;
+  private final ObjectMapper   objectMapper;
+
+  private Snapshot<T>          snapshot;
+
+  public QueryHandler(QuerySource<T> source) {
+    this.source = source;
+    this.objectMapper = new ObjectMapper();
+  }
+
+  @Override
+  public void handle(HttpExchange httpExchange) throws IOException {
+    try {
+      if (!"GET".equalsIgnoreCase(httpExchange.getRequestMethod())) {
+        sendError(405, "only GET is supported", httpExchange);
+        return;
+      }
+
+      Query query;
+      try {
+        query = Query.parse(httpExchange.getRequestURI().getRawQuery());
+      }
+      catch (IllegalArgumentException e) {
+        sendError(400, e.getMessage(), httpExchange);
+        return;
+      }
+
+      List<T> items = source.getItems();
+      long version = source.getVersion(items);
+      String etag = "W/\"" + EPOCH + "-" + Long.toHexString(version) + "-" + Integer.toHexString(query.hashCode()) + "\"";
+      httpExchange.getResponseHeaders().set("ETag", etag);
+
+      String ifNoneMatch = httpExchange.getRequestHeaders().getFirst("If-None-Match");
+      if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.contains(etag.substring(2)))) {
+        httpExchange.sendResponseHeaders(304, -1);
+        return;
+      }
+
+      Snapshot<T> sorted = getSnapshot(items, version);
+
+      httpExchange.getResponseHeaders().set("Content-Type", "application/json");
+      httpExchange.sendResponseHeaders(200, 0); // chunked
+
+      try (OutputStream out = httpExchange.getResponseBody(); JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+        generator.writeStartObject();
+        generator.writeNumberField("version", version);
+        generator.writeArrayFieldStart("items");
+
+        int count = 0;
+        String lastId = null;
+        for (int i = sorted.indexAfter(query.cursor()); i < sorted.items().size() && count < query.limit(); i++) {
+          T item = sorted.items().get(i);
+          ObjectNode node;
+          try {
+            // filter on the fields of the item first - only the items of the page are being serialized completely
+            if (!query.matches(source, item)) {
+              continue;
+            }
+            node = source.toJson(item, query.details() || query.requestsDetails(source, item));
+          }
+          catch (Exception e) {
+            LOGGER.debug("could not serialize '{}' - '{}'", sorted.ids().get(i), e.getMessage());
+            continue;
+          }
+
+          if (query.fields() != null) {
+            node.retain(query.fields());
+          }
+          generator.writeTree(node);
+
+          lastId = sorted.ids().get(i);
+          count++;
+        }
+
+        generator.writeEndArray();
+        if (count == query.limit() && lastId != null) {
+          generator.writeStringField("nextCursor", encodeCursor(lastId));
+        }
+        else {
+          generator.writeNullField("nextCursor");
+        }
+        generator.writeEndObject();
+      }
+    }
+    finally {
+      httpExchange.close();
+    }
+  }
+
+  /**
+   * get the items sorted by their id. The sorted items are re-used as long as the version of the source does not change
+   */
+  private synchronized Snapshot<T> getSnapshot(List<T> items, long version) {
+    if (snapshot != null && snapshot.version() == version && snapshot.items().size() == items.size()) {
+      return snapshot;
+    }
+
+    List<T> sorted = new ArrayList<>(items);
+    sorted.sort(Comparator.comparing(source::getId));
+
+    List<String> ids = new ArrayList<>(sorted.size());
+    for (T item : sorted) {
+      ids.add(source.getId(item));
+    }
+
+    snapshot = new Snapshot<>(version, sorted, ids);
+    return snapshot;
+  }
+
+  private void sendError(int responseCode, String message, HttpExchange httpExchange) throws IOException {
+    byte[] body = objectMapper.writeValueAsBytes(Collections.singletonMap("message", message));
+    httpExchange.getResponseHeaders().set("Content-Type", "application/json");
+    httpExchange.sendResponseHeaders(responseCode, body.length);
+    try (OutputStream out = httpExchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  static String encodeCursor(String id) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+  }
+
+  static String decodeCursor(String cursor) {
+    try {
+      return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+    catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("invalid cursor: " + cursor);
+    }
+  }
+
+  /**
+   * the source of the items for a {@link QueryHandler}
+   */
+  public interface QuerySource<T> {
+    /**
+     * get all items (the handler does not modify the list)
+     */
+    List<T> getItems();
+
+    /**
+     * get the stable and unique id of the given item
+     */
+    String getId(T item);
+
+    /**
+     * get the JSON representation of the given item. The node is being modified by the handler (projection), so it must not be shared
+     *
+     * @param item
+     *          the item to serialize
+     * @param details
+     *          true if the detail data of the item has been requested
+     * @return the JSON representation of the item
+     * @throws IOException
+     *           any error while serializing the item
+     */
+    ObjectNode toJson(T item, boolean details) throws IOException;
+
+    /**
+     * get the JSON representation of a single top level field of the given item (for filtering). Sources should override this to avoid
+     * serializing the whole item
+     *
+     * @param item
+     *          the item to get the field for
+     * @param field
+     *          the name of the field
+     * @return the JSON representation of the field or null if the item does not have this field
+     * @throws IOException
+     *           any error while serializing the field
+     */
+    default JsonNode getField(T item, String field) throws IOException {
+      return toJson(item, isDetailField(item, field)).get(field);
+    }
+
+    /**
+     * is the given top level field part of the detail data of the given item, which is only being serialized if the details have been
+     * requested (see {@link #toJson(Object, boolean)})?
+     *
+     * @param item
+     *          the item to check
+     * @param field
+     *          the name of the field
+     * @return true if the field is only available with the detail data
+     */
+    default boolean isDetailField(T item, String field) {
+      return false;
+    }
+
+    /**
+     * get the version of the given items. The version must change whenever an item has been changed
+     */
+    long getVersion(List<T> items);
+  }
+
+  private record Snapshot<T>(long version, List<T> items, List<String> ids) {
+    /**
+     * the index of the first item after the given id
+     */
+    int indexAfter(String id) {
+      if (id == null) {
+        return 0;
+      }
+
+      int index = Collections.binarySearch(ids, id);
+      return index >= 0 ? index + 1 : -index - 1;
+    }
+  }
+
+  /**
+   * a parsed query
+   */
+  record Query(Set<String> fields, List<Filter> filters, int limit, String cursor, boolean details) {
+
+    static Query parse(String rawQuery) {
+      Set<String> fields = null;
+      List<Filter> filters = new ArrayList<>();
+      int limit = DEFAULT_LIMIT;
+      String cursor = null;
+      boolean details = false;
+
+      if (rawQuery != null && !rawQuery.isEmpty()) {
+        for (String parameter : rawQuery.split("&")) {
+          int index = parameter.indexOf('=');
+          String key = decode(index < 0 ? parameter : parameter.substring(0, index));
+          String value = index < 0 ? "" : decode(parameter.substring(index + 1));
+
+          switch (key) {
+            case "fields" -> {
+              fields = new LinkedHashSet<>();
+              fields.add("id");
+              for (String field : value.split(",")) {
+                if (!field.isBlank()) {
+                  fields.add(field.trim());
+                }
+              }
+            }
+
+            case "filter" -> {
+              for (String condition : value.split(",")) {
+                if (!condition.isBlank()) {
+                  filters.add(Filter.parse(condition.trim()));
+                }
+              }
+            }
+
+            case "limit" -> {
+              try {
+                limit = Math.max(1, Math.min(MAX_LIMIT, Integer.parseInt(value)));
+              }
+              catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid limit: " + value);
+              }
+            }
+
+            case "cursor" -> cursor = value.isEmpty() ? null : decodeCursor(value);
+
+            case "details" -> details = Boolean.parseBoolean(value);
+
+            default -> throw new IllegalArgumentException("unknown parameter: " + key);
+          }
+        }
+      }
+
+      return new Query(fields, filters, limit, cursor, details);
+    }
+
+    private static String decode(String value) {
+      return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    boolean matches(JsonNode node) {
+      for (Filter filter : filters) {
+        if (!filter.matches(node)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * check the filters against the fields of the given item (without serializing the whole item)
+     */
+    <T> boolean matches(QuerySource<T> source, T item) throws IOException {
+      for (Filter filter : filters) {
+        if (!filter.matchesField(source.getField(item, filter.path()[0]))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * are detail fields of the given item requested explicitly?
+     */
+    <T> boolean requestsDetails(QuerySource<T> source, T item) {
+      if (fields == null) {
+        return false;
+      }
+      for (String field : fields) {
+        if (source.isDetailField(item, field)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * a single filter condition
+   */
+  record Filter(String[] path, String value, boolean contains) {
+
+    static Filter parse(String condition) {
+      int index = -1;
+      boolean contains = false;
+      for (int i = 0; i < condition.length(); i++) {
+        char c = condition.charAt(i);
+        if (c == ':' || c == '~') {
+          index = i;
+          contains = c == '~';
+          break;
+        }
+      }
+
+      if (index <= 0) {
+        throw new IllegalArgumentException("invalid filter: " + condition);
+      }
+
+      return new Filter(condition.substring(0, index).split("\\."), condition.substring(index + 1).toLowerCase(Locale.ROOT), contains);
+    }
+
+    boolean matches(JsonNode node) {
+      return matches(node, 0);
+    }
+
+    /**
+     * check the filter against the (top level) field of an item
+     */
+    boolean matchesField(JsonNode field) {
+      return matches(field, 1);
+    }
+
+    private boolean matches(JsonNode node, int depth) {
+      if (node == null || node.isMissingNode() || node.isNull()) {
+        return false;
+      }
+
+      if (node.isArray()) {
+        for (JsonNode element : node) {
+          if (matches(element, depth)) {
+            return true;
+          }
+        }
+        return false;
+      }
+
+      if (depth < path.length) {
+        return node.isObject() && matches(node.get(path[depth]), depth + 1);
+      }
+
+      if (node.isContainerNode()) {
+        return false;
+      }
+
+      String text = node.asText().toLowerCase(Locale.ROOT);
+      return contains ? text.contains(value) : text.equals(value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Filter other && Arrays.equals(path, other.path) && value.equals(other.value) && contains == other.contains;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(Arrays.hashCode(path), value, contains);
+    }
+  }
+}
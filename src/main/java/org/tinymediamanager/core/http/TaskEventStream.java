@@ -0,0 +1,306 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tinymediamanager.core.IMessageListener;
+import org.tinymediamanager.core.Message;
+import org.tinymediamanager.core.MessageManager;
+import org.tinymediamanager.core.entities.MediaEntity;
+import org.tinymediamanager.core.entities.MediaFile;
+import org.tinymediamanager.core.threading.TmmTaskHandle;
+import org.tinymediamanager.core.threading.TmmTaskListener;
+import org.tinymediamanager.core.threading.TmmTaskManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * The class {@link TaskEventStream} pushes the lifecycle and progress of all tasks and the messages of the {@link MessageManager} as server-sent
+ * events to the connected clients.<br />
+ * <br />
+ * The listeners only record the latest state of every task (so the workers are never blocked by slow clients); the recorded events are sent
+ * with a bounded rate. Progress events of a task are coalesced between two flushes, changes of the task state are always sent. Every client
+ * has its own bounded queue and thread, a client which cannot keep up loses the oldest events.
+ *
+ * @author Manuel Laggner
+ */
+class TaskEventStream implements TmmTaskListener, IMessageListener {
+  private static final Logger                           LOGGER         = LoggerFactory.getLogger(TaskEventStream.class);
+  private static final long                             FLUSH_INTERVAL = 500;
+  private static final long                             KEEP_ALIVE     = 15000;
+  private static final int                              MAX_CLIENTS    = 8;
+  private static final int                              CLIENT_QUEUE   = 256;
+  private static final int                              EVENT_QUEUE    = 1000;
+
+  private final ObjectMapper                            objectMapper   = new ObjectMapper();
+  private final List<Client>                            clients        = new CopyOnWriteArrayList<>();
+  private final Map<TmmTaskHandle, Map<String, Object>> progress       = new ConcurrentHashMap<>();
+  private final BlockingQueue<Event>                    events         = new LinkedBlockingQueue<>(EVENT_QUEUE);
+  private final AtomicLong                              eventId        = new AtomicLong();
+  private final ExecutorService                         clientExecutor;
+
+  // created with the first client - no thread is needed as long as nobody is listening
+  private ScheduledExecutorService                      flushExecutor;
+
+  TaskEventStream() {
+    AtomicInteger threadNumber = new AtomicInteger(1);
+    clientExecutor = new ThreadPoolExecutor(0, MAX_CLIENTS, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+      Thread thread = new Thread(r, "http-events-" + threadNumber.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    TmmTaskManager.getInstance().addTaskListener(this);
+    MessageManager.instance.addListener(this);
+  }
+
+  /**
+   * connect a new client; the exchange is kept open until the client disconnects
+   *
+   * @param httpExchange
+   *          the {@link HttpExchange} of the client
+   * @return false if the max. amount of clients has been reached
+   */
+  boolean connect(HttpExchange httpExchange) throws IOException {
+    Client client = new Client(httpExchange);
+
+    // start with the state of all running tasks
+    for (TmmTaskHandle task : TmmTaskManager.getInstance().getRunningTasks()) {
+      client.offer(toFrame(new Event("task", taskToMap(task))));
+    }
+
+    if (!addClient(client)) {
+      return false;
+    }
+
+    try {
+      httpExchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+      httpExchange.getResponseHeaders().set("Cache-Control", "no-cache");
+      httpExchange.sendResponseHeaders(200, 0);
+    }
+    catch (IOException e) {
+      clients.remove(client);
+      throw e;
+    }
+
+    startFlushing();
+    try {
+      clientExecutor.execute(client);
+    }
+    catch (Exception e) {
+      // no free thread
+      clients.remove(client);
+      httpExchange.close();
+    }
+    return true;
+  }
+
+  /**
+   * register the given client if the max. amount of clients has not been reached yet
+   *
+   * @param client
+   *          the {@link Client} to register
+   * @return true if the client has been registered
+   */
+  boolean addClient(Client client) {
+    // check and add atomically - concurrent connects must not exceed the limit
+    synchronized (clients) {
+      if (clients.size() >= MAX_CLIENTS) {
+        return false;
+      }
+      clients.add(client);
+      return true;
+    }
+  }
+
+  private synchronized void startFlushing() {
+    if (flushExecutor == null) {
+      flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "http-events-flush");
+        thread.setDaemon(true);
+        return thread;
+      });
+      flushExecutor.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @Override
+  public void processTaskEvent(TmmTaskHandle task) {
+    if (clients.isEmpty()) {
+      return;
+    }
+
+    Map<String, Object> event = taskToMap(task);
+    Map<String, Object> previous = progress.put(task, event);
+    if (previous != null && !Objects.equals(previous.get("state"), event.get("state"))) {
+      // do not coalesce a change of the state
+      events.offer(new Event("task", previous));
+    }
+  }
+
+  @Override
+  public void pushMessage(Message message) {
+    if (clients.isEmpty()) {
+      return;
+    }
+
+    Map<String, Object> event = new LinkedHashMap<>();
+    event.put("level", String.valueOf(message.getMessageLevel()));
+    event.put("id", message.getMessageId());
+    event.put("idParams", message.getIdParams() != null ? Arrays.asList(message.getIdParams()) : null);
+    event.put("sender", getSender(message.getMessageSender()));
+    event.put("senderParams", message.getSenderParams() != null ? Arrays.asList(message.getSenderParams()) : null);
+    event.put("date", message.getMessageDate() != null ? message.getMessageDate().getTime() : null);
+    events.offer(new Event("message", event));
+  }
+
+  private String getSender(Object sender) {
+    if (sender instanceof MediaEntity mediaEntity) {
+      return mediaEntity.getTitle();
+    }
+    else if (sender instanceof MediaFile mediaFile) {
+      return mediaFile.getFileAsPath().toString();
+    }
+    return String.valueOf(sender);
+  }
+
+  private Map<String, Object> taskToMap(TmmTaskHandle task) {
+    Map<String, Object> event = new LinkedHashMap<>();
+    event.put("id", TaskQuerySource.getTaskId(task));
+    event.put("name", task.getTaskName());
+    event.put("description", task.getTaskDescription());
+    event.put("type", String.valueOf(task.getType()));
+    event.put("state", String.valueOf(task.getState()));
+    event.put("progressDone", task.getProgressDone());
+    event.put("workUnits", task.getWorkUnits());
+    return event;
+  }
+
+  /**
+   * send all recorded events to the clients
+   */
+  void flush() {
+    try {
+      if (clients.isEmpty()) {
+        events.clear();
+        progress.clear();
+        return;
+      }
+
+      List<Event> toSend = new ArrayList<>();
+      events.drainTo(toSend);
+      for (TmmTaskHandle task : new ArrayList<>(progress.keySet())) {
+        Map<String, Object> event = progress.remove(task);
+        if (event != null) {
+          toSend.add(new Event("task", event));
+        }
+      }
+
+      for (Event event : toSend) {
+        String frame = toFrame(event);
+        for (Client client : clients) {
+          client.offer(frame);
+        }
+      }
+    }
+    catch (Exception e) {
+      LOGGER.debug("could not flush events - '{}'", e.getMessage());
+    }
+  }
+
+  private String toFrame(Event event) throws JsonProcessingException {
+    return "id: " + eventId.incrementAndGet() + "\nevent: " + event.type() + "\ndata: " + objectMapper.writeValueAsString(event.data()) + "\n\n";
+  }
+
+  private record Event(String type, Map<String, Object> data) {
+  }
+
+  /**
+   * a connected client, which writes the frames of its queue to the response
+   */
+  class Client implements Runnable {
+    private final HttpExchange          httpExchange;
+    private final BlockingQueue<String> frames = new ArrayBlockingQueue<>(CLIENT_QUEUE);
+
+    Client(HttpExchange httpExchange) {
+      this.httpExchange = httpExchange;
+    }
+
+    /**
+     * take the next frame of this client without waiting
+     *
+     * @return the next frame or null if there is none
+     */
+    String pollFrame() {
+      return frames.poll();
+    }
+
+    private void offer(String frame) {
+      while (!frames.offer(frame)) {
+        // the client cannot keep up - drop the oldest frame
+        frames.poll();
+      }
+    }
+
+    @Override
+    public void run() {
+      try (OutputStream out = httpExchange.getResponseBody()) {
+        while (!Thread.currentThread().isInterrupted()) {
+          String frame = frames.poll(KEEP_ALIVE, TimeUnit.MILLISECONDS);
+          // a comment keeps the connection alive and detects disconnected clients
+          out.write((frame != null ? frame : ": keep-alive\n\n").getBytes(StandardCharsets.UTF_8));
+          out.flush();
+        }
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      catch (IOException e) {
+        LOGGER.debug("event stream client disconnected - '{}'", e.getMessage());
+      }
+      finally {
+        clients.remove(this);
+        httpExchange.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.http;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.tinymediamanager.core.threading.TmmTaskHandle;
+import org.tinymediamanager.core.threading.TmmTaskManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * the class {@link TaskQuerySource} is a {@link QueryHandler.QuerySource} for the status of all running tasks
+ *
+ * @author Manuel Laggner
+ */
+class TaskQuerySource implements QueryHandler.QuerySource<TmmTaskHandle> {
+  // the ids of the tasks - the entries vanish with the tasks
+  private static final Map<TmmTaskHandle, String> TASK_IDS      = Collections.synchronizedMap(new WeakHashMap<>());
+  private static final AtomicLong                 TASK_SEQUENCE = new AtomicLong();
+
+  private final ObjectMapper                      objectMapper  = new ObjectMapper();
+
+  @Override
+  public List<TmmTaskHandle> getItems() {
+    return TmmTaskManager.getInstance().getRunningTasks();
+  }
+
+  @Override
+  public String getId(TmmTaskHandle item) {
+    return getTaskId(item);
+  }
+
+  /**
+   * the id of a task (tasks do not have an id on their own). The ids are taken from a sequence, so they are unique for the lifetime of the
+   * process
+   */
+  static String getTaskId(TmmTaskHandle task) {
+    return TASK_IDS.computeIfAbsent(task, t -> Long.toString(TASK_SEQUENCE.incrementAndGet()));
+  }
+
+  @Override
+  public ObjectNode toJson(TmmTaskHandle item, boolean details) {
+    ObjectNode node = objectMapper.createObjectNode();
+    node.put("id", getId(item));
+    node.put("name", item.getTaskName());
+    node.put("description", item.getTaskDescription());
+    node.put("type", String.valueOf(item.getType()));
+    node.put("state", String.valueOf(item.getState()));
+    node.put("progressDone", item.getProgressDone());
+    node.put("workUnits", item.getWorkUnits());
+    return node;
+  }
+
+  @Override
+  public long getVersion(List<TmmTaskHandle> items) {
+    // there is no change counter for tasks - hash the status of all tasks
+    long version = 1;
+    for (TmmTaskHandle item : items) {
+      version = 31 * version + Objects.hash(getId(item), item.getTaskDescription(), item.getState(), item.getProgressDone(), item.getWorkUnits());
+    }
+    return version;
+  }
+}
@@ -23,11 +23,17 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.tinymediamanager.core.Settings;
+import org.tinymediamanager.core.metrics.TmmMetrics;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -44,11 +50,15 @@ import com.sun.net.httpserver.HttpServer;
 public class TmmHttpServer {
   private static final Logger            LOGGER         = LoggerFactory.getLogger(TmmHttpServer.class);
   private static final String            CONTEXT_PREFIX = "/api/";
+  private static final int               QUERY_THREADS  = 4;
+  private static final int               QUERY_QUEUE    = 64;
 
   private static TmmHttpServer           instance;
 
   private final ObjectWriter             objectWriter;
   private final Map<String, HttpHandler> contextMap;
+  private final ThreadPoolExecutor       queryExecutor;
+  private final TaskEventStream          taskEventStream;
 
   private HttpServer                     httpServer;
   private boolean                        running        = false;
@@ -62,10 +72,24 @@ public class TmmHttpServer {
 
     contextMap = new LinkedHashMap<>();
 
+    // queries are served by their own threads, so long running queries cannot block the commands (and vice versa)
+    AtomicInteger threadNumber = new AtomicInteger(1);
+    queryExecutor = new ThreadPoolExecutor(QUERY_THREADS, QUERY_THREADS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(QUERY_QUEUE), r -> {
+      Thread thread = new Thread(r, "http-query-" + threadNumber.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    });
+    queryExecutor.allowCoreThreadTimeOut(true);
+
     httpServer = HttpServer.create();
 
     // default context
     createContext("command", new CommandHandler());
+    createMetricsContext();
+    createQueryContext("tasks", new QueryHandler<>(new TaskQuerySource()));
+
+    taskEventStream = new TaskEventStream();
+    createEventContext();
 
     updateConfiguration(Settings.getInstance().isEnableHttpServer(), Settings.getInstance().getHttpServerPort(),
         Settings.getInstance().getHttpApiKey());
@@ -98,15 +122,11 @@ public class TmmHttpServer {
       int responseCode;
       String responseMessage;
 
-      if (StringUtils.isNotBlank(this.apiKey)) {
-        // API key check
-        List<String> apiKeyFromRequest = httpExchange.getRequestHeaders().get("api-key");
-        if (apiKeyFromRequest == null || !apiKeyFromRequest.contains(this.apiKey)) {
-          responseCode = 403;
-          responseMessage = "Invalid API key";
-          sendResponse(responseCode, responseMessage, httpExchange);
-          return;
-        }
+      if (!isAuthorized(httpExchange)) {
+        responseCode = 403;
+        responseMessage = "Invalid API key";
+        sendResponse(responseCode, responseMessage, httpExchange);
+        return;
       }
 
       // delegate the request to the handler
@@ -129,6 +149,109 @@ public class TmmHttpServer {
     contextMap.put(CONTEXT_PREFIX + contextPath, httpHandler);
   }
 
+  /**
+   * the runtime metrics (see {@link TmmMetrics}) in the Prometheus text format or as JSON (with ?format=json)
+   */
+  private void createMetricsContext() {
+    HttpHandler httpHandler = httpExchange -> {
+      if (!isAuthorized(httpExchange)) {
+        sendResponse(403, "Invalid API key", httpExchange);
+        return;
+      }
+
+      try (OutputStream out = httpExchange.getResponseBody()) {
+        String query = httpExchange.getRequestURI().getQuery();
+        byte[] body;
+        if (query != null && query.contains("format=json")) {
+          body = TmmMetrics.getInstance().toJson().getBytes(StandardCharsets.UTF_8);
+          httpExchange.getResponseHeaders().add("Content-Type", "application/json");
+        }
+        else {
+          body = TmmMetrics.getInstance().toPrometheus().getBytes(StandardCharsets.UTF_8);
+          httpExchange.getResponseHeaders().add("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+        }
+        httpExchange.sendResponseHeaders(200, body.length);
+        out.write(body);
+      }
+      catch (IOException e) {
+        LOGGER.error("could not send metrics - '{}'", e.getMessage());
+      }
+    };
+
+    httpServer.createContext(CONTEXT_PREFIX + "metrics", httpHandler);
+    contextMap.put(CONTEXT_PREFIX + "metrics", httpHandler);
+  }
+
+  /**
+   * the task lifecycle/progress and the messages as server-sent events (see {@link TaskEventStream})
+   */
+  private void createEventContext() {
+    HttpHandler httpHandler = httpExchange -> {
+      if (!isAuthorized(httpExchange)) {
+        sendResponse(403, "Invalid API key", httpExchange);
+        return;
+      }
+
+      try {
+        if (!taskEventStream.connect(httpExchange)) {
+          sendResponse(503, "too many clients", httpExchange);
+        }
+      }
+      catch (IOException e) {
+        LOGGER.error("could not open event stream - '{}'", e.getMessage());
+        httpExchange.close();
+      }
+    };
+
+    httpServer.createContext(CONTEXT_PREFIX + "events", httpHandler);
+    contextMap.put(CONTEXT_PREFIX + "events", httpHandler);
+  }
+
+  /**
+   * register a read only query endpoint (see {@link QueryHandler}). The queries are served by a separate executor
+   *
+   * @param contextPath
+   *          the path of the endpoint (below /api/)
+   * @param queryHandler
+   *          the {@link QueryHandler} to serve the queries
+   */
+  public void createQueryContext(String contextPath, QueryHandler<?> queryHandler) {
+    HttpHandler httpHandler = httpExchange -> {
+      if (!isAuthorized(httpExchange)) {
+        sendResponse(403, "Invalid API key", httpExchange);
+        return;
+      }
+
+      try {
+        queryExecutor.execute(() -> {
+          try {
+            queryHandler.handle(httpExchange);
+          }
+          catch (Exception e) {
+            LOGGER.error("could not process query '{}' - '{}'", contextPath, e.getMessage());
+            httpExchange.close();
+          }
+        });
+      }
+      catch (RejectedExecutionException e) {
+        sendResponse(503, "too many queries", httpExchange);
+      }
+    };
+
+    httpServer.createContext(CONTEXT_PREFIX + contextPath, httpHandler);
+    contextMap.put(CONTEXT_PREFIX + contextPath, httpHandler);
+  }
+
+  private boolean isAuthorized(HttpExchange httpExchange) {
+    if (StringUtils.isBlank(this.apiKey)) {
+      return true;
+    }
+
+    // API key check
+    List<String> apiKeyFromRequest = httpExchange.getRequestHeaders().get("api-key");
+    return apiKeyFromRequest != null && apiKeyFromRequest.contains(this.apiKey);
+  }
+
   private void sendResponse(int responseCode, String responseMessage, HttpExchange httpExchange) {
     Response response = new Response();
     response.message = responseMessage;
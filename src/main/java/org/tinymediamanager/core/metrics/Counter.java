@@ -0,0 +1,53 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The class {@link Counter} is a monotonically increasing counter of the {@link TmmMetrics}
+ *
+ * @author Manuel Laggner
+ */
+public class Counter {
+  private final LongAdder value = new LongAdder();
+
+  Counter() {
+  }
+
+  /**
+   * increment the counter by one
+   */
+  public void increment() {
+    value.increment();
+  }
+
+  /**
+   * increment the counter by the given amount
+   *
+   * @param amount
+   *          the amount to add (must not be negative)
+   */
+  public void increment(long amount) {
+    if (amount > 0) {
+      value.add(amount);
+    }
+  }
+
+  public long get() {
+    return value.sum();
+  }
+}
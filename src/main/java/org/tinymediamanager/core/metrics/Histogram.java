@@ -0,0 +1,103 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The class {@link Histogram} counts observed values (e.g. durations in seconds) in fixed buckets of the {@link TmmMetrics}. The buckets are
+ * cumulative in the exported data (like in Prometheus): every bucket contains all values which are less than or equal to its upper bound.
+ *
+ * @author Manuel Laggner
+ */
+public class Histogram {
+  private final double[]    bounds;
+  private final LongAdder[] buckets;
+  private final LongAdder   count = new LongAdder();
+  private final DoubleAdder sum   = new DoubleAdder();
+
+  Histogram(double[] bounds) {
+    this.bounds = bounds;
+    this.buckets = new LongAdder[bounds.length];
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * observe the given value
+   *
+   * @param value
+   *          the value to observe
+   */
+  public void observe(double value) {
+    for (int i = 0; i < bounds.length; i++) {
+      if (value <= bounds[i]) {
+        buckets[i].increment();
+        break;
+      }
+    }
+    count.increment();
+    sum.add(value);
+  }
+
+  /**
+   * observe the duration (in seconds) since the given start
+   *
+   * @param startNanos
+   *          the start of the duration from {@link System#nanoTime()}
+   */
+  public void observeSince(long startNanos) {
+    observeNanos(System.nanoTime() - startNanos);
+  }
+
+  /**
+   * observe the given duration (in seconds)
+   *
+   * @param nanos
+   *          the duration in nanoseconds
+   */
+  public void observeNanos(long nanos) {
+    observe(nanos / (double) TimeUnit.SECONDS.toNanos(1));
+  }
+
+  double[] getBounds() {
+    return bounds;
+  }
+
+  /**
+   * get the cumulative counts of all buckets (without the implicit +Inf bucket which equals the count)
+   */
+  long[] getCumulativeCounts() {
+    long[] counts = new long[bounds.length];
+    long total = 0;
+    for (int i = 0; i < bounds.length; i++) {
+      total += buckets[i].sum();
+      counts[i] = total;
+    }
+    return counts;
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public double getSum() {
+    return sum.sum();
+  }
+}
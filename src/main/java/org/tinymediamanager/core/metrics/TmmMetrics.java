@@ -0,0 +1,347 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The class {@link TmmMetrics} is the registry for all runtime metrics of tinyMediaManager (task durations, HTTP latencies, database commits,
+ * cache hits, ...). Metrics are identified by their name and a set of labels (key/value pairs); every call with the same name and labels returns
+ * the same metric, so the metrics can be fetched where they are needed.<br />
+ * <br />
+ * The metrics can be exported in the Prometheus text format (see {@link #toPrometheus()}) or as JSON (see {@link #toJson()}).
+ *
+ * @author Manuel Laggner
+ */
+public class TmmMetrics {
+  // bounds of the buckets for durations in seconds
+  public static final double[]      DURATION_BUCKETS = { 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60, 300 };
+
+  private static final TmmMetrics   INSTANCE         = new TmmMetrics();
+
+  private final Map<String, Family> families         = new ConcurrentHashMap<>();
+
+  public enum Type {
+    COUNTER,
+    GAUGE,
+    HISTOGRAM
+  }
+
+  TmmMetrics() {
+  }
+
+  public static TmmMetrics getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * get (or create) the counter with the given name and labels
+   *
+   * @param name
+   *          the name of the metric (e.g. tmm_http_requests_total)
+   * @param help
+   *          the description of the metric
+   * @param labels
+   *          the labels as key/value pairs
+   * @return the {@link Counter}
+   */
+  public Counter counter(String name, String help, String... labels) {
+    return (Counter) getFamily(name, help, Type.COUNTER).metrics.computeIfAbsent(toKey(labels), key -> new Counter());
+  }
+
+  /**
+   * register a counter whose value is provided by the given supplier (e.g. an existing statistic). An already registered supplier with the same
+   * name and labels is being replaced
+   *
+   * @param name
+   *          the name of the metric
+   * @param help
+   *          the description of the metric
+   * @param value
+   *          the supplier of the current value
+   * @param labels
+   *          the labels as key/value pairs
+   */
+  public void counter(String name, String help, LongSupplier value, String... labels) {
+    getFamily(name, help, Type.COUNTER).metrics.put(toKey(labels), value);
+  }
+
+  /**
+   * register a gauge whose value is provided by the given supplier. An already registered supplier with the same name and labels is being
+   * replaced
+   *
+   * @param name
+   *          the name of the metric
+   * @param help
+   *          the description of the metric
+   * @param value
+   *          the supplier of the current value
+   * @param labels
+   *          the labels as key/value pairs
+   */
+  public void gauge(String name, String help, DoubleSupplier value, String... labels) {
+    getFamily(name, help, Type.GAUGE).metrics.put(toKey(labels), value);
+  }
+
+  /**
+   * get (or create) the histogram with the given name and labels
+   *
+   * @param name
+   *          the name of the metric
+   * @param help
+   *          the description of the metric
+   * @param bounds
+   *          the upper bounds of the buckets (ascending)
+   * @param labels
+   *          the labels as key/value pairs
+   * @return the {@link Histogram}
+   */
+  public Histogram histogram(String name, String help, double[] bounds, String... labels) {
+    return (Histogram) getFamily(name, help, Type.HISTOGRAM).metrics.computeIfAbsent(toKey(labels), key -> new Histogram(bounds.clone()));
+  }
+
+  /**
+   * get (or create) the histogram for durations in seconds with the given name and labels
+   *
+   * @param name
+   *          the name of the metric (e.g. tmm_task_duration_seconds)
+   * @param help
+   *          the description of the metric
+   * @param labels
+   *          the labels as key/value pairs
+   * @return the {@link Histogram}
+   */
+  public Histogram timer(String name, String help, String... labels) {
+    return histogram(name, help, DURATION_BUCKETS, labels);
+  }
+
+  /**
+   * time the given call in the histogram for durations with the given name and labels
+   *
+   * @param name
+   *          the name of the metric
+   * @param help
+   *          the description of the metric
+   * @param call
+   *          the call to time
+   * @param labels
+   *          the labels as key/value pairs
+   * @return the result of the call
+   */
+  public <T> T time(String name, String help, Supplier<T> call, String... labels) {
+    long start = System.nanoTime();
+    try {
+      return call.get();
+    }
+    finally {
+      timer(name, help, labels).observeSince(start);
+    }
+  }
+
+  private Family getFamily(String name, String help, Type type) {
+    Family family = families.computeIfAbsent(name, key -> new Family(name, help, type));
+    if (family.type != type) {
+      throw new IllegalArgumentException("metric '" + name + "' is already registered as " + family.type);
+    }
+    return family;
+  }
+
+  private static List<String> toKey(String... labels) {
+    if (labels.length % 2 != 0) {
+      throw new IllegalArgumentException("labels must be key/value pairs: " + Arrays.toString(labels));
+    }
+    List<String> key = new ArrayList<>(labels.length);
+    for (String label : labels) {
+      key.add(label == null ? "" : label);
+    }
+    return key;
+  }
+
+  /**
+   * export all metrics in the Prometheus text format (version 0.0.4)
+   *
+   * @return all metrics as text
+   */
+  public String toPrometheus() {
+    StringBuilder sb = new StringBuilder();
+
+    for (Family family : new TreeMap<>(families).values()) {
+      sb.append("# HELP ").append(family.name).append(' ').append(family.help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+      sb.append("# TYPE ").append(family.name).append(' ').append(family.type.name().toLowerCase(Locale.ROOT)).append('\n');
+
+      for (Map.Entry<List<String>, Object> entry : family.getSortedMetrics().entrySet()) {
+        List<String> labels = entry.getKey();
+        Object metric = entry.getValue();
+
+        if (metric instanceof Histogram histogram) {
+          long[] counts = histogram.getCumulativeCounts();
+          double[] bounds = histogram.getBounds();
+          for (int i = 0; i < bounds.length; i++) {
+            appendSample(sb, family.name + "_bucket", labels, "le", formatValue(bounds[i]), counts[i]);
+          }
+          long count = histogram.getCount();
+          appendSample(sb, family.name + "_bucket", labels, "le", "+Inf", count);
+          appendSample(sb, family.name + "_sum", labels, null, null, histogram.getSum());
+          appendSample(sb, family.name + "_count", labels, null, null, count);
+        }
+        else {
+          appendSample(sb, family.name, labels, null, null, getValue(metric));
+        }
+      }
+    }
+
+    return sb.toString();
+  }
+
+  private static void appendSample(StringBuilder sb, String name, List<String> labels, String extraKey, String extraValue, Number value) {
+    sb.append(name);
+    if (!labels.isEmpty() || extraKey != null) {
+      sb.append('{');
+      for (int i = 0; i < labels.size(); i += 2) {
+        appendLabel(sb, labels.get(i), labels.get(i + 1));
+      }
+      if (extraKey != null) {
+        appendLabel(sb, extraKey, extraValue);
+      }
+      sb.setLength(sb.length() - 1);
+      sb.append('}');
+    }
+    sb.append(' ').append(formatValue(value.doubleValue())).append('\n');
+  }
+
+  private static void appendLabel(StringBuilder sb, String key, String value) {
+    sb.append(key).append("=\"").append(value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n")).append("\",");
+  }
+
+  private static String formatValue(double value) {
+    if (Double.isNaN(value)) {
+      return "NaN";
+    }
+    if (Double.isInfinite(value)) {
+      return value > 0 ? "+Inf" : "-Inf";
+    }
+    if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+      return Long.toString((long) value);
+    }
+    return Double.toString(value);
+  }
+
+  private static Number getValue(Object metric) {
+    if (metric instanceof Counter counter) {
+      return counter.get();
+    }
+    if (metric instanceof LongSupplier supplier) {
+      return supplier.getAsLong();
+    }
+    if (metric instanceof DoubleSupplier supplier) {
+      return supplier.getAsDouble();
+    }
+    return Double.NaN;
+  }
+
+  /**
+   * export all metrics as a map (name -> type, help and the values of all label sets), e.g. to serialize it as JSON
+   *
+   * @return all metrics as {@link Map}
+   */
+  public Map<String, Object> toMap() {
+    Map<String, Object> result = new LinkedHashMap<>();
+
+    for (Family family : new TreeMap<>(families).values()) {
+      List<Map<String, Object>> values = new ArrayList<>();
+      for (Map.Entry<List<String>, Object> entry : family.getSortedMetrics().entrySet()) {
+        Map<String, Object> value = new LinkedHashMap<>();
+
+        Map<String, String> labels = new LinkedHashMap<>();
+        for (int i = 0; i < entry.getKey().size(); i += 2) {
+          labels.put(entry.getKey().get(i), entry.getKey().get(i + 1));
+        }
+        value.put("labels", labels);
+
+        if (entry.getValue() instanceof Histogram histogram) {
+          value.put("count", histogram.getCount());
+          value.put("sum", histogram.getSum());
+
+          Map<String, Long> buckets = new LinkedHashMap<>();
+          long[] counts = histogram.getCumulativeCounts();
+          for (int i = 0; i < counts.length; i++) {
+            buckets.put(formatValue(histogram.getBounds()[i]), counts[i]);
+          }
+          buckets.put("+Inf", histogram.getCount());
+          value.put("buckets", buckets);
+        }
+        else {
+          value.put("value", getValue(entry.getValue()));
+        }
+        values.add(value);
+      }
+
+      Map<String, Object> metric = new LinkedHashMap<>();
+      metric.put("type", family.type.name().toLowerCase(Locale.ROOT));
+      metric.put("help", family.help);
+      metric.put("values", values);
+      result.put(family.name, metric);
+    }
+
+    return result;
+  }
+
+  /**
+   * export all metrics as JSON (see {@link #toMap()})
+   *
+   * @return all metrics as JSON
+   * @throws JsonProcessingException
+   *           any error while serializing
+   */
+  public String toJson() throws JsonProcessingException {
+    return new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(toMap());
+  }
+
+  /*************************************************************************
+   * helper classes
+   *************************************************************************/
+  private static class Family {
+    private final String                    name;
+    private final String                    help;
+    private final Type                      type;
+    private final Map<List<String>, Object> metrics = new ConcurrentHashMap<>();
+
+    private Family(String name, String help, Type type) {
+      this.name = name;
+      this.help = help;
+      this.type = type;
+    }
+
+    private Map<List<String>, Object> getSortedMetrics() {
+      Map<List<String>, Object> sorted = new TreeMap<>((l1, l2) -> String.join("\u0000", l1).compareTo(String.join("\u0000", l2)));
+      sorted.putAll(metrics);
+      return sorted;
+    }
+  }
+}
@@ -20,7 +20,11 @@ import static org.tinymediamanager.core.Constants.DECADE;
 import static org.tinymediamanager.core.Constants.GENRE;
 import static org.tinymediamanager.core.Constants.MEDIA_FILES;
 import static org.tinymediamanager.core.Constants.MEDIA_INFORMATION;
+import static org.tinymediamanager.core.Constants.ORIGINAL_TITLE;
+import static org.tinymediamanager.core.Constants.SORT_TITLE;
 import static org.tinymediamanager.core.Constants.TAGS;
+import static org.tinymediamanager.core.Constants.TITLE;
+import static org.tinymediamanager.core.Constants.TITLE_SORTABLE;
 import static org.tinymediamanager.core.Constants.YEAR;
 
 import java.beans.PropertyChangeListener;
@@ -29,6 +33,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -44,6 +49,7 @@ import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -54,13 +60,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.tinymediamanager.TmmOsUtils;
 import org.tinymediamanager.core.AbstractModelObject;
+import org.tinymediamanager.core.AbstractSettings.UniversalFilterFields;
 import org.tinymediamanager.core.Constants;
+import org.tinymediamanager.core.DuplicateIndex;
+import org.tinymediamanager.core.FacetIndex;
 import org.tinymediamanager.core.ImageCache;
 import org.tinymediamanager.core.MediaFileType;
 import org.tinymediamanager.core.Message;
 import org.tinymediamanager.core.Message.MessageLevel;
 import org.tinymediamanager.core.MessageManager;
+import org.tinymediamanager.core.MultiProviderSearch;
 import org.tinymediamanager.core.ObservableCopyOnWriteArrayList;
+import org.tinymediamanager.core.TextSearchIndex;
 import org.tinymediamanager.core.Utils;
 import org.tinymediamanager.core.entities.MediaEntity;
 import org.tinymediamanager.core.entities.MediaFile;
@@ -68,6 +79,8 @@ import org.tinymediamanager.core.entities.MediaFileAudioStream;
 import org.tinymediamanager.core.entities.MediaFileSubtitle;
 import org.tinymediamanager.core.entities.MediaGenres;
 import org.tinymediamanager.core.entities.MediaSource;
+import org.tinymediamanager.core.entities.Person;
+import org.tinymediamanager.core.metrics.TmmMetrics;
 import org.tinymediamanager.core.movie.entities.Movie;
 import org.tinymediamanager.core.movie.entities.MovieSet;
 import org.tinymediamanager.core.movie.tasks.MovieUpdateDatasourceTask;
@@ -100,6 +113,9 @@ public final class MovieList extends AbstractModelObject {
 
   private final List<Movie>                              movieList;
   private final List<MovieSet>                           movieSetList;
+  private final FacetIndex<Movie>                        facetIndex;
+  private final TextSearchIndex<Movie>                   textSearchIndex;
+  private final DuplicateIndex<Movie>                    duplicateIndex;
 
   private final CopyOnWriteArrayList<Integer>            yearsInMovies;
   private final CopyOnWriteArrayList<String>             tagsInMovies;
@@ -131,6 +147,10 @@ public final class MovieList extends AbstractModelObject {
     // create all lists
     movieList = new ObservableElementList<>(GlazedLists.threadSafeList(new BasicEventList<>()), GlazedLists.beanConnector(Movie.class));
     movieSetList = new ObservableCopyOnWriteArrayList<>();
+    facetIndex = new FacetIndex<>();
+    textSearchIndex = createTextSearchIndex(facetIndex);
+    duplicateIndex = new DuplicateIndex<>(facetIndex, MovieList::getDuplicateKeys, Movie::getMainVideoFile,
+        () -> MovieModuleManager.getInstance().getSettings().isDuplicateFingerprintMode());
 
     yearsInMovies = new CopyOnWriteArrayList<>();
     tagsInMovies = new CopyOnWriteArrayList<>();
@@ -199,8 +219,47 @@ public final class MovieList extends AbstractModelObject {
         case "movieSetDataFolder":
           movieSetList.forEach(MovieSetArtworkHelper::updateArtwork);
           break;
+
+        case "duplicateFingerprintMode":
+          duplicateIndex.invalidateAll();
+          break;
+      }
+    });
+  }
+
+  private static TextSearchIndex<Movie> createTextSearchIndex(FacetIndex<Movie> facetIndex) {
+    TextSearchIndex<Movie> index = new TextSearchIndex<>(facetIndex);
+
+    // the title fields of the quick search
+    index.registerField(TITLE, movie -> Collections.singletonList(movie.getTitle()));
+    index.registerField(TITLE_SORTABLE, movie -> Collections.singletonList(movie.getTitleSortable()));
+    index.registerField(ORIGINAL_TITLE, movie -> Collections.singletonList(movie.getOriginalTitle()));
+    index.registerField("originalTitleSortable", movie -> Collections.singletonList(movie.getOriginalTitleSortable()));
+    index.registerField(SORT_TITLE, movie -> Collections.singletonList(movie.getSortTitle()));
+
+    // the fields of the universal filter
+    index.registerField(UniversalFilterFields.NOTE.name(), movie -> Collections.singletonList(movie.getNote()));
+    index.registerField(UniversalFilterFields.FILENAME.name(), movie -> {
+      List<String> filenames = new ArrayList<>();
+      for (MediaFile mediaFile : movie.getMediaFiles(MediaFileType.VIDEO)) {
+        filenames.add(mediaFile.getFilename());
       }
+      filenames.add(movie.getOriginalFilename());
+      return filenames;
     });
+    index.registerField(UniversalFilterFields.PRODUCTION_COMPANY.name(), movie -> Collections.singletonList(movie.getProductionCompany()));
+    index.registerField(UniversalFilterFields.COUNTRY.name(), movie -> Collections.singletonList(movie.getCountry()));
+    index.registerField(UniversalFilterFields.PLOT.name(), movie -> Collections.singletonList(movie.getPlot()));
+    index.registerField(UniversalFilterFields.TAGLINE.name(), movie -> Collections.singletonList(movie.getTagline()));
+    index.registerField(UniversalFilterFields.SPOKEN_LANGUAGE.name(),
+        movie -> Arrays.asList(movie.getSpokenLanguages(), movie.getLocalizedSpokenLanguages()));
+    index.registerField(UniversalFilterFields.ACTOR.name(), movie -> movie.getPersonNames(Person.Type.ACTOR));
+    index.registerField(UniversalFilterFields.PRODUCER.name(), movie -> movie.getPersonNames(Person.Type.PRODUCER));
+    index.registerField(UniversalFilterFields.DIRECTOR.name(), movie -> movie.getPersonNames(Person.Type.DIRECTOR));
+    index.registerField(UniversalFilterFields.WRITER.name(), movie -> movie.getPersonNames(Person.Type.WRITER));
+    index.registerField(UniversalFilterFields.TAGS.name(), Movie::getTags);
+
+    return index;
   }
 
   /**
@@ -232,6 +291,8 @@ public final class MovieList extends AbstractModelObject {
   public void addMovie(Movie movie) {
     if (!movieList.contains(movie)) {
       int oldValue = movieList.size();
+      // the facet index needs to be informed before the movie list about any change
+      facetIndex.add(movie);
       movieList.add(movie);
 
       updateLists(Collections.singletonList(movie));
@@ -352,6 +413,7 @@ public final class MovieList extends AbstractModelObject {
       readWriteLock.writeLock().lock();
       movieList.remove(movie);
       readWriteLock.writeLock().unlock();
+      facetIndex.remove(movie);
 
       try {
         MovieModuleManager.getInstance().removeMovieFromDb(movie);
@@ -391,6 +453,7 @@ public final class MovieList extends AbstractModelObject {
       readWriteLock.writeLock().lock();
       movieList.remove(movie);
       readWriteLock.writeLock().unlock();
+      facetIndex.remove(movie);
       if (movie.getMovieSet() != null) {
         MovieSet movieSet = movie.getMovieSet();
         movieSet.removeMovie(movie, false);
@@ -424,6 +487,40 @@ public final class MovieList extends AbstractModelObject {
     return movieList;
   }
 
+  /**
+   * Gets the {@link FacetIndex} over all movies. The index is maintained by the movie list; facets can be registered by any consumer (e.g. the UI
+   * filters)
+   *
+   * @return the {@link FacetIndex} for all movies
+   */
+  public FacetIndex<Movie> getFacetIndex() {
+    return facetIndex;
+  }
+
+  /**
+   * Gets the {@link TextSearchIndex} over the text fields of all movies (titles and all fields of the universal filter)
+   *
+   * @return the {@link TextSearchIndex} for all movies
+   */
+  public TextSearchIndex<Movie> getTextSearchIndex() {
+    return textSearchIndex;
+  }
+
+  /**
+   * search all movies containing the given text (case insensitive, without diacritics) in their titles or in any field of the universal filter
+   *
+   * @param searchTerm
+   *          the text to search for
+   * @return a {@link List} of all matching movies
+   */
+  public List<Movie> searchMovies(String searchTerm) {
+    List<String> fields = new ArrayList<>(List.of(TITLE, TITLE_SORTABLE, ORIGINAL_TITLE, "originalTitleSortable", SORT_TITLE));
+    for (UniversalFilterFields field : UniversalFilterFields.values()) {
+      fields.add(field.name());
+    }
+    return textSearchIndex.search(searchTerm, fields);
+  }
+
   /**
    * Load movies from database.
    */
@@ -465,9 +562,13 @@ public final class MovieList extends AbstractModelObject {
       }
     });
 
+    // the facet index needs to be informed before the movie list about any change
+    facetIndex.addAll(loadedMoviesWithoutDuplicates);
     movieList.addAll(loadedMoviesWithoutDuplicates);
 
     long end = System.nanoTime();
+    TmmMetrics.getInstance().timer("tmm_db_load_duration_seconds", "duration of loading the entities from the database", "entity", "movie")
+        .observeNanos(end - start);
 
     // remove defect movie sets
     for (UUID uuid : toRemove) {
@@ -508,6 +609,8 @@ public final class MovieList extends AbstractModelObject {
     });
 
     long end = System.nanoTime();
+    TmmMetrics.getInstance().timer("tmm_db_load_duration_seconds", "duration of loading the entities from the database", "entity", "movieset")
+        .observeNanos(end - start);
 
     // remove defect movie sets
     for (UUID uuid : toRemove) {
@@ -762,6 +865,47 @@ public final class MovieList extends AbstractModelObject {
    */
   public List<MediaSearchResult> searchMovie(String searchTerm, int year, Map<String, Object> ids, MediaScraper mediaScraper, MediaLanguages language)
       throws ScrapeException {
+    return searchMovie(searchTerm, year, ids, mediaScraper, language, MovieModuleManager.getInstance().getSettings().isScraperFallback());
+  }
+
+  /**
+   * Search movie with all given scrapers concurrently. The results of the scrapers are merged (results sharing an id are only listed once) and
+   * cached in the given {@link MultiProviderSearch} session.
+   *
+   * @param searchTerm
+   *          the search term
+   * @param year
+   *          the year of the movie (if available, otherwise <= 0)
+   * @param ids
+   *          a map of all available ids of the movie or null if no id based search is requested
+   * @param mediaScrapers
+   *          the media scrapers (in the order of their preference)
+   * @param language
+   *          the language to search with
+   * @param session
+   *          the {@link MultiProviderSearch} holding the cached results (e.g. of the chooser dialog)
+   * @param listener
+   *          an optional listener which gets the merged results whenever a scraper has answered
+   * @throws ScrapeException
+   *           the first {@link ScrapeException} occurred if no scraper delivered any result
+   * @throws InterruptedException
+   *           if the search has been interrupted
+   * @return the merged results of all scrapers
+   */
+  public List<MultiProviderSearch.Result> searchMovie(String searchTerm, int year, Map<String, Object> ids, List<MediaScraper> mediaScrapers,
+      MediaLanguages language, MultiProviderSearch session, Consumer<List<MultiProviderSearch.Result>> listener)
+      throws ScrapeException, InterruptedException {
+    List<MediaScraper> scrapers = mediaScrapers.stream().filter(MediaScraper::isEnabled).toList();
+
+    // trying all other scrapers is only needed if the user has chosen a single scraper
+    boolean fallback = scrapers.size() == 1 && MovieModuleManager.getInstance().getSettings().isScraperFallback();
+    String query = searchTerm + "|" + year + "|" + ids + "|" + language + "|" + fallback;
+
+    return session.search(scrapers, query, scraper -> searchMovie(searchTerm, year, ids, scraper, language, fallback), listener);
+  }
+
+  private List<MediaSearchResult> searchMovie(String searchTerm, int year, Map<String, Object> ids, MediaScraper mediaScraper,
+      MediaLanguages language, boolean fallback) throws ScrapeException {
 
     if (mediaScraper == null || !mediaScraper.isEnabled()) {
       return Collections.emptyList();
@@ -848,7 +992,7 @@ public final class MovieList extends AbstractModelObject {
     }
 
     // if result is empty, try all scrapers
-    if (sr.isEmpty() && MovieModuleManager.getInstance().getSettings().isScraperFallback()) {
+    if (sr.isEmpty() && fallback) {
       for (MediaScraper ms : getAvailableMediaScrapers()) {
         if (provider.getProviderInfo().equals(ms.getMediaProvider().getProviderInfo())
             || ms.getMediaProvider().getProviderInfo().getName().startsWith("Kodi") || !ms.getMediaProvider().isActive()) {
@@ -1373,50 +1517,42 @@ public final class MovieList extends AbstractModelObject {
   }
 
   /**
-   * Search duplicates.
+   * Search duplicates: movies sharing an ID. In the fingerprint mode also movies sharing the content fingerprint of the main video file or the
+   * title, year and runtime (re-encodes without IDs). The duplicates are maintained incrementally; only the flags of movies which became or are
+   * no longer a duplicate are changed
    */
   public void searchDuplicates() {
-    Map<String, Movie> duplicates = new HashMap<>();
-
-    for (Movie movie : movieList) {
-      movie.clearDuplicate();
+    duplicateIndex.updateDuplicateFlags();
+  }
 
-      Map<String, Object> ids = movie.getIds();
-      for (var entry : ids.entrySet()) {
-        // ignore collection "IDs" (tmdbcol is from Ember)
-        if (MediaMetadata.TMDB_SET.equalsIgnoreCase(entry.getKey()) || entry.getKey().toLowerCase(Locale.US).startsWith("tmdbcol")) {
-          continue;
-        }
+  static Collection<String> getDuplicateKeys(Movie movie) {
+    List<String> keys = new ArrayList<>();
 
-        if (entry.getValue() == null) {
-          continue;
-        }
+    for (var entry : movie.getIds().entrySet()) {
+      // ignore collection "IDs" (tmdbcol is from Ember)
+      if (MediaMetadata.TMDB_SET.equalsIgnoreCase(entry.getKey()) || entry.getKey().toLowerCase(Locale.US).startsWith("tmdbcol")) {
+        continue;
+      }
 
-        String id = entry.getKey() + entry.getValue();
-        if (duplicates.containsKey(id)) {
-          // yes - set duplicate flag on both movies
-          movie.setDuplicate();
-          Movie movie2 = duplicates.get(id);
-          movie2.setDuplicate();
-        }
-        else {
-          // no, store movie
-          duplicates.put(id, movie);
-        }
+      if (entry.getValue() == null) {
+        continue;
       }
 
-      // search per name/year
-      // nope - too many dupes https://www.reddit.com/r/tinyMediaManager/comments/sxj4hu/incorrect_flagging_of_duplicate_movies_in_version/
-      // String nameYear = movie.getTitle() + movie.getYear();
-      // if (duplicates.containsKey(nameYear)) {
-      // movie.setDuplicate();
-      // Movie movie2 = duplicates.get(nameYear);
-      // movie2.setDuplicate();
-      // }
-      // else {
-      // duplicates.put(nameYear, movie);
-      // }
+      keys.add(entry.getKey() + entry.getValue());
     }
+
+    // search per name/year
+    // nope - too many dupes https://www.reddit.com/r/tinyMediaManager/comments/sxj4hu/incorrect_flagging_of_duplicate_movies_in_version/
+    // only in the fingerprint mode and together with the runtime of the main video file
+    if (MovieModuleManager.getInstance().getSettings().isDuplicateFingerprintMode()) {
+      String title = movie.getTitle().toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]", "");
+      int runtime = movie.getMainVideoFile().getDurationInMinutes();
+      if (!title.isEmpty() && runtime > 0) {
+        keys.add("runtime:" + title + ":" + movie.getYear() + ":" + runtime);
+      }
+    }
+
+    return keys;
   }
 
   /**
@@ -1572,6 +1708,7 @@ public final class MovieList extends AbstractModelObject {
    */
   public void invalidateTitleSortable() {
     movieList.parallelStream().forEach(Movie::clearTitleSortable);
+    facetIndex.invalidateAll();
   }
 
   /**
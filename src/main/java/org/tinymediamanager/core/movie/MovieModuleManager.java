@@ -15,20 +15,15 @@
  */
 package org.tinymediamanager.core.movie;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.TimeZone;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.UUID;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
-import org.apache.commons.lang3.StringUtils;
 import org.h2.mvstore.MVMap;
 import org.h2.mvstore.MVStore;
 import org.slf4j.Logger;
@@ -41,11 +36,16 @@ import org.tinymediamanager.core.NullKeySerializer;
 import org.tinymediamanager.core.Settings;
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.Utils;
+import org.tinymediamanager.core.WriteBehindQueue;
+import org.tinymediamanager.core.entities.DetailCache;
 import org.tinymediamanager.core.entities.MediaEntity;
+import org.tinymediamanager.core.http.EntityQuerySource;
+import org.tinymediamanager.core.http.QueryHandler;
 import org.tinymediamanager.core.http.TmmHttpServer;
 import org.tinymediamanager.core.movie.entities.Movie;
 import org.tinymediamanager.core.movie.entities.MovieSet;
 import org.tinymediamanager.core.movie.http.MovieCommandHandler;
+import org.tinymediamanager.core.movie.tasks.MovieRenameTask;
 import org.tinymediamanager.scraper.util.MetadataUtil;
 
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
@@ -74,10 +74,11 @@ public final class MovieModuleManager implements ITmmModule {
   private static MovieModuleManager    instance;
 
   private final List<String>           startupMessages;
-  private final Map<MediaEntity, Long> pendingChanges;
-  private final ReentrantReadWriteLock lock;
+  private final WriteBehindQueue       persistenceQueue;
+  private final int                    detailCacheSize;
 
   private boolean                      enabled;
+  private DetailCache                  detailCache;
   private int                          autoCommitBufferSize = 8192;
   private MVStore                      mvStore;
   private ObjectWriter                 movieObjectWriter;
@@ -89,19 +90,19 @@ public final class MovieModuleManager implements ITmmModule {
   private MVMap<UUID, String>          movieSetMap;
   private MVMap<String, String>        metadataMap;
 
-  private Timer                        databaseTimer;
-
   private MovieModuleManager() {
     enabled = false;
     startupMessages = new ArrayList<>();
-    pendingChanges = new HashMap<>();
-    lock = new ReentrantReadWriteLock();
+    persistenceQueue = new WriteBehindQueue("movies", () -> mvStore, COMMIT_DELAY);
 
     // check if a custom autocommit buffer size has been set via jvm args
     int bufferSize = Integer.getInteger("tmm.mvstore.buffersize", 8);
     if (2 <= bufferSize && bufferSize <= 64) {
       autoCommitBufferSize = 1024 * bufferSize;
     }
+
+    // the amount of entities whose detail data (cast, crew, ...) is kept in the heap; 0 keeps everything in the heap
+    detailCacheSize = Math.max(0, Integer.getInteger("tmm.detailcache.size", 1000));
   }
 
   public static MovieModuleManager getInstance() {
@@ -155,21 +156,28 @@ public final class MovieModuleManager implements ITmmModule {
     movieSetObjectWriter = objectMapper.writerFor(MovieSet.class);
     movieSetObjectReader = objectMapper.readerFor(MovieSet.class);
 
+    persistenceQueue.register(Movie.class, () -> movieMap, movieObjectWriter);
+    persistenceQueue.register(MovieSet.class, () -> movieSetMap, movieSetObjectWriter);
+
     // open database
     openDatabaseAndLoadMovies();
     enabled = true;
 
-    TimerTask databaseWriteTask = new TimerTask() {
-      @Override
-      public void run() {
-        writePendingChanges();
-      }
-    };
-    databaseTimer = new Timer();
-    databaseTimer.schedule(databaseWriteTask, COMMIT_DELAY, COMMIT_DELAY);
+    // roll back the renames of a crashed run to bring the file system in sync with the database
+    MovieRenameTask.recoverUnfinishedRenames();
+
+    // only keep the summary data of the movies in the heap - the detail data is loaded on demand
+    detailCache = new DetailCache("movies", detailCacheSize, this::loadMovieFromDb, entity -> !persistenceQueue.isPending(entity));
+    detailCache.evictAll(getMovieList().getMovies());
+
+    // write changed movies/movie sets in the background
+    persistenceQueue.start();
 
     try {
       TmmHttpServer.getInstance().createContext("movie", new MovieCommandHandler());
+      TmmHttpServer.getInstance()
+          .createQueryContext("movies",
+              new QueryHandler<>(new EntityQuerySource<>(() -> getMovieList().getMovies(), movieObjectWriter, persistenceQueue::getVersion)));
     }
     catch (Exception e) {
       LOGGER.warn("could not register movie API - '{}'", e.getMessage());
@@ -294,6 +302,8 @@ public final class MovieModuleManager implements ITmmModule {
           movieSetMap = mvStore.openMap("movieSets");
           metadataMap = mvStore.openMap("metadata");
 
+          // the new database is empty - write everything
+          persistenceQueue.reset();
           for (Movie movie : getMovieList().getMovies()) {
             persistMovie(movie);
           }
@@ -334,11 +344,9 @@ public final class MovieModuleManager implements ITmmModule {
 
     enabled = false;
 
-    databaseTimer.cancel();
-
     // write pending changes
+    persistenceQueue.shutdown();
     if (mvStore != null && !mvStore.isClosed()) {
-      writePendingChanges(true);
       mvStore.commit();
 
       mvStore.compactMoveChunks();
@@ -353,72 +361,6 @@ public final class MovieModuleManager implements ITmmModule {
     }
   }
 
-  private void writePendingChanges() {
-    writePendingChanges(false);
-  }
-
-  private synchronized void writePendingChanges(boolean force) {
-    if (mvStore == null || mvStore.isClosed()) {
-      return;
-    }
-
-    if (force) {
-      // force write - wait until the lock is released
-      lock.writeLock().lock();
-    }
-    else {
-      // lock if there is no other task running
-      if (!lock.writeLock().tryLock()) {
-        return;
-      }
-    }
-
-    try {
-      Map<MediaEntity, Long> pending = new HashMap<>(pendingChanges);
-
-      long now = System.currentTimeMillis();
-
-      for (Map.Entry<MediaEntity, Long> entry : pending.entrySet()) {
-        if (force || entry.getValue() < (now - COMMIT_DELAY)) {
-          try {
-            if (entry.getKey() instanceof Movie) {
-              // store movie
-              Movie movie = (Movie) entry.getKey();
-
-              // only diffs
-              String oldValue = movieMap.get(movie.getDbId());
-              String newValue = movieObjectWriter.writeValueAsString(movie);
-              if (!StringUtils.equals(oldValue, newValue)) {
-                movieMap.put(movie.getDbId(), newValue);
-              }
-            }
-            else if (entry.getKey() instanceof MovieSet) {
-              // store movie set
-              MovieSet movieSet = (MovieSet) entry.getKey();
-
-              // only diffs
-              String oldValue = movieSetMap.get(movieSet.getDbId());
-              String newValue = movieSetObjectWriter.writeValueAsString(movieSet);
-              if (!StringUtils.equals(oldValue, newValue)) {
-                movieSetMap.put(movieSet.getDbId(), newValue);
-              }
-            }
-          }
-          catch (Exception e) {
-            LOGGER.warn("could not store '{}' - '{}'", entry.getKey().getClass().getName(), e.getMessage());
-          }
-          finally {
-            pendingChanges.remove(entry.getKey());
-          }
-        }
-      }
-    }
-    finally {
-      mvStore.commit();
-      lock.writeLock().unlock();
-    }
-  }
-
   @Override
   public boolean isEnabled() {
     return enabled;
@@ -490,45 +432,55 @@ public final class MovieModuleManager implements ITmmModule {
 
   void persistMovie(Movie movie) {
     // write movie to DB
-    try {
-      lock.writeLock().lock();
-      pendingChanges.put(movie, System.currentTimeMillis());
-    }
-    finally {
-      lock.writeLock().unlock();
-    }
+    persistenceQueue.enqueue(movie);
   }
 
   void removeMovieFromDb(Movie movie) {
-    try {
-      lock.writeLock().lock();
-      pendingChanges.remove(movie);
-      movieMap.remove(movie.getDbId());
+    persistenceQueue.remove(movie);
+    if (detailCache != null) {
+      detailCache.remove(movie);
     }
-    finally {
-      lock.writeLock().unlock();
+  }
+
+  private MediaEntity loadMovieFromDb(MediaEntity movie) throws IOException {
+    String json = movieMap.get(movie.getDbId());
+    if (json == null) {
+      return null;
     }
+    return movieObjectReader.readValue(json);
+  }
+
+  /**
+   * get the {@link DetailCache} for the detail data of the movies
+   *
+   * @return the {@link DetailCache} or null if the module has not been started
+   */
+  public DetailCache getDetailCache() {
+    return detailCache;
   }
 
   void persistMovieSet(MovieSet movieSet) {
-    try {
-      lock.writeLock().lock();
-      pendingChanges.put(movieSet, System.currentTimeMillis());
-    }
-    finally {
-      lock.writeLock().unlock();
-    }
+    persistenceQueue.enqueue(movieSet);
   }
 
   void removeMovieSetFromDb(MovieSet movieSet) {
-    try {
-      lock.writeLock().lock();
-      movieSetMap.remove(movieSet.getDbId());
-      pendingChanges.remove(movieSet);
-    }
-    finally {
-      lock.writeLock().unlock();
-    }
+    persistenceQueue.remove(movieSet);
+  }
+
+  /**
+   * get the statistics of the database writes (queue depth, flush latency, written bytes)
+   *
+   * @return the {@link WriteBehindQueue.Statistics} of the movie database
+   */
+  public WriteBehindQueue.Statistics getPersistenceStatistics() {
+    return persistenceQueue.getStatistics();
+  }
+
+  /**
+   * write all pending changes into the movie database synchronously (e.g. before the renamer marks a move as persisted)
+   */
+  public void flushPersistence() {
+    persistenceQueue.flush(true);
   }
 
   @Override
@@ -48,6 +48,7 @@ import org.tinymediamanager.core.MediaFileType;
 import org.tinymediamanager.core.Message;
 import org.tinymediamanager.core.Message.MessageLevel;
 import org.tinymediamanager.core.MessageManager;
+import org.tinymediamanager.core.RenameJournal;
 import org.tinymediamanager.core.Settings;
 import org.tinymediamanager.core.Utils;
 import org.tinymediamanager.core.entities.MediaFile;
@@ -646,6 +647,7 @@ public class MovieRenamer {
             movie.updateMediaFilePath(srcDir, destDir);
             movie.setPath(newPathname);
             movie.saveToDb(); // since we moved already, save it
+            RenameJournal.checkpoint();
           }
         }
         catch (Exception e) {
@@ -212,6 +212,7 @@ public final class MovieSettings extends AbstractSettings {
 
   // misc
   boolean                                   runtimeFromMediaInfo                   = false;
+  boolean                                   duplicateFingerprintMode               = false;
   boolean                                   includeExternalAudioStreams            = false;
   boolean                                   syncTrakt                              = false;
   boolean                                   syncTraktCollection                    = true;
@@ -1278,6 +1279,16 @@ public final class MovieSettings extends AbstractSettings {
     firePropertyChange("runtimeFromMediaInfo", oldValue, newValue);
   }
 
+  public boolean isDuplicateFingerprintMode() {
+    return duplicateFingerprintMode;
+  }
+
+  public void setDuplicateFingerprintMode(boolean newValue) {
+    boolean oldValue = this.duplicateFingerprintMode;
+    this.duplicateFingerprintMode = newValue;
+    firePropertyChange("duplicateFingerprintMode", oldValue, newValue);
+  }
+
   public boolean isExtractArtworkFromVsmeta() {
     return extractArtworkFromVsmeta;
   }
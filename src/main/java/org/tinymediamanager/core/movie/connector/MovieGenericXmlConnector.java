@@ -93,7 +93,7 @@ public abstract class MovieGenericXmlConnector implements IMovieConnector {
     // first of all, get the data from a previous written NFO file,
     // if we do not want clean NFOs
     if (!MovieModuleManager.getInstance().getSettings().isWriteCleanNfo()) {
-      for (MediaFile mf : movie.getMediaFiles(MediaFileType.NFO)) {
+      for (MediaFile mf : movie.getMediaFilesView(MediaFileType.NFO)) {
         try {
           parser = MovieNfoParser.parseNfo(mf.getFileAsPath());
           break;
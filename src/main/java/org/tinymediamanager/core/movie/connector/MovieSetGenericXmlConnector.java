@@ -97,7 +97,7 @@ public abstract class MovieSetGenericXmlConnector implements IMovieSetConnector
     // first of all, get the data from a previous written NFO file,
     // if we do not want clean NFOs
     if (!MovieModuleManager.getInstance().getSettings().isWriteCleanNfo()) {
-      for (MediaFile mf : movieSet.getMediaFiles(MediaFileType.NFO)) {
+      for (MediaFile mf : movieSet.getMediaFilesView(MediaFileType.NFO)) {
         try {
           parser = MovieNfoParser.parseNfo(mf.getFileAsPath());
           break;
@@ -109,7 +109,7 @@ public abstract class MovieSetGenericXmlConnector implements IMovieSetConnector
     }
 
     // remove old ones
-    for (MediaFile oldNfo : movieSet.getMediaFiles(MediaFileType.NFO)) {
+    for (MediaFile oldNfo : movieSet.getMediaFilesView(MediaFileType.NFO)) {
       Utils.deleteFileSafely(oldNfo.getFileAsPath());
     }
 
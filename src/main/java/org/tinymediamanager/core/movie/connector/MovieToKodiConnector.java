@@ -157,7 +157,7 @@ public class MovieToKodiConnector extends MovieGenericXmlConnector {
 
     // only add a trailer if there is no physical trailer due to a bug in kodi
     // https://forum.kodi.tv/showthread.php?tid=348759&pid=2900477#pid2900477
-    if (movie.getMediaFiles(MediaFileType.TRAILER).isEmpty()) {
+    if (movie.getMediaFilesView(MediaFileType.TRAILER).isEmpty()) {
       for (MediaTrailer mediaTrailer : new ArrayList<>(movie.getTrailer())) {
         if (mediaTrailer.getInNfo() && mediaTrailer.getUrl().startsWith("http")) {
           trailer.setTextContent(prepareTrailerForKodi(mediaTrailer));
@@ -399,7 +399,7 @@ public class MovieToKodiConnector extends MovieGenericXmlConnector {
 
       // also include external audio files if set
       if (MovieModuleManager.getInstance().getSettings().isIncludeExternalAudioStreams()) {
-        for (MediaFile audioFile : movie.getMediaFiles(MediaFileType.AUDIO)) {
+        for (MediaFile audioFile : movie.getMediaFilesView(MediaFileType.AUDIO)) {
           for (MediaFileAudioStream audioStream : vid.getAudioStreams()) {
             Element audio = document.createElement("audio");
 
@@ -432,7 +432,7 @@ public class MovieToKodiConnector extends MovieGenericXmlConnector {
     }
 
     // add external subtitles to NFO
-    for (MediaFile mediaFile : movie.getMediaFiles(MediaFileType.SUBTITLE)) {
+    for (MediaFile mediaFile : movie.getMediaFilesView(MediaFileType.SUBTITLE)) {
       for (MediaFileSubtitle sub : mediaFile.getSubtitles()) {
         Element subtitle = document.createElement("subtitle");
 
@@ -233,7 +233,7 @@ public class MovieToXbmcConnector extends MovieGenericXmlConnector {
 
       // also include external audio files if set
       if (MovieModuleManager.getInstance().getSettings().isIncludeExternalAudioStreams()) {
-        for (MediaFile audioFile : movie.getMediaFiles(MediaFileType.AUDIO)) {
+        for (MediaFile audioFile : movie.getMediaFilesView(MediaFileType.AUDIO)) {
           for (MediaFileAudioStream audioStream : vid.getAudioStreams()) {
             Element audio = document.createElement("audio");
 
@@ -266,7 +266,7 @@ public class MovieToXbmcConnector extends MovieGenericXmlConnector {
     }
 
     // add external subtitles to NFO
-    for (MediaFile mediaFile : movie.getMediaFiles(MediaFileType.SUBTITLE)) {
+    for (MediaFile mediaFile : movie.getMediaFilesView(MediaFileType.SUBTITLE)) {
       for (MediaFileSubtitle sub : mediaFile.getSubtitles()) {
         Element subtitle = document.createElement("subtitle");
 
@@ -61,6 +61,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -87,6 +88,7 @@ import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.TrailerQuality;
 import org.tinymediamanager.core.TrailerSources;
 import org.tinymediamanager.core.Utils;
+import org.tinymediamanager.core.entities.DetailCache;
 import org.tinymediamanager.core.entities.MediaEntity;
 import org.tinymediamanager.core.entities.MediaFile;
 import org.tinymediamanager.core.entities.MediaGenres;
@@ -144,6 +146,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
   private static final Logger                   LOGGER                     = LoggerFactory.getLogger(Movie.class);
   private static final Comparator<MediaFile>    MEDIA_FILE_COMPARATOR      = new MovieMediaFileComparator();
   private static final Comparator<MediaTrailer> TRAILER_QUALITY_COMPARATOR = new MediaTrailer.QualityComparator();
+  private static final Set<String>              DETAIL_PROPERTIES          = Set.of("actors", "producers", "directors", "writers", "trailer");
 
   @JsonProperty
   private String                                sortTitle                  = "";
@@ -245,6 +248,9 @@ public class Movie extends MediaEntity implements IMediaInformation {
     if (locked || other == null) {
       return;
     }
+    markDetailsModified();
+    other.ensureDetailsLoaded();
+
     super.merge(other, force);
 
     setSortTitle(StringUtils.isEmpty(sortTitle) || force ? other.sortTitle : sortTitle);
@@ -292,6 +298,47 @@ public class Movie extends MediaEntity implements IMediaInformation {
     return MEDIA_FILE_COMPARATOR;
   }
 
+  @Override
+  protected DetailCache getDetailCache() {
+    return MovieModuleManager.getInstance().getDetailCache();
+  }
+
+  @Override
+  protected void copyDetails(MediaEntity source) {
+    if (source instanceof Movie movie) {
+      replaceContent(actors, movie.actors);
+      replaceContent(producers, movie.producers);
+      replaceContent(directors, movie.directors);
+      replaceContent(writers, movie.writers);
+      replaceContent(trailer, movie.trailer);
+    }
+  }
+
+  @Override
+  protected Map<Person.Type, List<String>> collectPersonNames() {
+    Map<Person.Type, List<String>> names = new EnumMap<>(Person.Type.class);
+    names.put(Person.Type.ACTOR, toPersonNames(getActors()));
+    names.put(Person.Type.PRODUCER, toPersonNames(getProducers()));
+    names.put(Person.Type.DIRECTOR, toPersonNames(getDirectors()));
+    names.put(Person.Type.WRITER, toPersonNames(getWriters()));
+    return names;
+  }
+
+  @Override
+  public Set<String> getDetailProperties() {
+    return DETAIL_PROPERTIES;
+  }
+
+  @Override
+  protected void clearDetails() {
+    // cast, crew and trailers are only needed for the detail views/editors/renamer/exporter
+    actors.clear();
+    producers.clear();
+    directors.clear();
+    writers.clear();
+    trailer.clear();
+  }
+
   @Override
   public void setId(String key, Object value) {
     super.setId(key, value);
@@ -346,6 +393,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
 
   @Override
   protected float calculateScrapeScore() {
+    ensureDetailsLoaded();
     float score = super.calculateScrapeScore();
 
     score = score + returnOneWhenFilled(tagline);
@@ -464,7 +512,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    */
   public Boolean getHasTrailer() {
     // check if there is a mediafile (trailer)
-    return !getMediaFiles(MediaFileType.TRAILER).isEmpty();
+    return !getMediaFilesView(MediaFileType.TRAILER).isEmpty();
   }
 
   /**
@@ -508,6 +556,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    * @return the trailers
    */
   public List<MediaTrailer> getTrailer() {
+    ensureDetailsLoaded();
     return this.trailer;
   }
 
@@ -518,6 +567,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    *          a {@link Collection} of trailers to be added
    */
   public void addToTrailer(Collection<MediaTrailer> newTrailers) {
+    markDetailsModified();
     Set<MediaTrailer> newItems = new LinkedHashSet<>();
 
     // do not accept duplicates or null values
@@ -540,6 +590,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    * Removes the all trailers.
    */
   public void removeAllTrailers() {
+    markDetailsModified();
     trailer.clear();
     firePropertyChange(TRAILER, null, trailer);
   }
@@ -612,7 +663,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
 
   /** has movie local (or any mediafile inline) subtitles? */
   public boolean getHasSubtitles() {
-    if (!getMediaFiles(MediaFileType.SUBTITLE).isEmpty()) {
+    if (!getMediaFilesView(MediaFileType.SUBTITLE).isEmpty()) {
       return true;
     }
 
@@ -936,6 +987,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
     // 1:n relations are either merged (no overwrite) or completely set with the new data
 
     // cast
+    markDetailsModified();
     if (config.contains(MovieScraperMetadataConfig.ACTORS)) {
       if (!matchFound || overwriteExistingItems) {
         actors.clear();
@@ -1051,6 +1103,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    */
   @JsonSetter
   public void setTrailers(List<MediaTrailer> trailers) {
+    markDetailsModified();
     MediaTrailer preferredTrailer = null;
     removeAllTrailers();
 
@@ -1919,7 +1972,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
     MediaFile ifo = null;
 
     // loop over all IFOs, and find the one with longest runtime == main video file?
-    for (MediaFile mf : getMediaFiles(MediaFileType.VIDEO)) {
+    for (MediaFile mf : getMediaFilesView(MediaFileType.VIDEO)) {
       if (mf.getFilename().toLowerCase(Locale.ROOT).endsWith("ifo")) {
         if (mf.getDuration() > rtifo) {
           rtifo = mf.getDuration();
@@ -1940,7 +1993,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
 
       if (!prefix.isEmpty()) {
         int rtvob = 0;
-        for (MediaFile mf : getMediaFiles(MediaFileType.VIDEO)) {
+        for (MediaFile mf : getMediaFilesView(MediaFileType.VIDEO)) {
           if (mf.getFilename().startsWith(prefix) && !ifo.getFilename().equals(mf.getFilename())) {
             rtvob += mf.getDuration();
             LOGGER.trace("VOB:{} duration:{} accumulated:{}", mf.getFilename(), mf.getDuration(), rtvob);
@@ -1976,7 +2029,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
 
     // accumulate old version
     if (runtime < 10) {
-      for (MediaFile mf : getMediaFiles(MediaFileType.VIDEO)) {
+      for (MediaFile mf : getMediaFilesView(MediaFileType.VIDEO)) {
         if (!mf.isMainDiscIdentifierFile() && !mf.getFilename().toLowerCase(Locale.ROOT).endsWith("ifo")) { // exclude all IFOs
           runtime += mf.getDuration();
         }
@@ -2071,7 +2124,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    * @return the video base name (without stacking)
    */
   public String getVideoBasenameWithoutStacking() {
-    MediaFile mf = getMediaFiles(MediaFileType.VIDEO).get(0);
+    MediaFile mf = getMediaFilesView(MediaFileType.VIDEO).get(0);
     return FilenameUtils.getBaseName(mf.getFilenameWithoutStacking());
   }
 
@@ -2102,6 +2155,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    *          a {@link Collection} of all actors to be added
    */
   public void addToActors(Collection<Person> newActors) {
+    markDetailsModified();
     Set<Person> newItems = new LinkedHashSet<>();
 
     // do not accept duplicates or null values
@@ -2129,6 +2183,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    * remove all actors.
    */
   public void removeActors() {
+    markDetailsModified();
     actors.clear();
     firePropertyChange(ACTORS, null, getActors());
     firePropertyChange(ACTORS_AS_STRING, null, getActorsAsString());
@@ -2142,6 +2197,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    */
   @JsonSetter
   public void setActors(List<Person> newActors) {
+    markDetailsModified();
     // two way sync of actors
     mergePersons(actors, newActors);
     firePropertyChange(ACTORS, null, getActors());
@@ -2154,6 +2210,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    * @return the actors
    */
   public List<Person> getActors() {
+    ensureDetailsLoaded();
     return this.actors;
   }
 
@@ -2163,6 +2220,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    * @return a string containing all actors; separated by ,
    */
   public String getActorsAsString() {
+    ensureDetailsLoaded();
     List<String> actorNames = new ArrayList<>();
     for (Person actor : actors) {
       actorNames.add(actor.getName());
@@ -2177,6 +2235,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    *          a {@link Collection} of all producers to be added
    */
   public void addToProducers(Collection<Person> newProducers) {
+    markDetailsModified();
     Set<Person> newItems = new LinkedHashSet<>();
 
     // do not accept duplicates or null values
@@ -2204,6 +2263,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    * remove all producers
    */
   public void removeProducers() {
+    markDetailsModified();
     producers.clear();
     firePropertyChange(PRODUCERS, null, getProducers());
     firePropertyChange(PRODUCERS_AS_STRING, null, getProducersAsString());
@@ -2218,6 +2278,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    */
   @JsonSetter
   public void setProducers(List<Person> newProducers) {
+    markDetailsModified();
     // two way sync of producers
     mergePersons(producers, newProducers);
     firePropertyChange(PRODUCERS, null, getProducers());
@@ -2230,6 +2291,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    * @return the producers
    */
   public List<Person> getProducers() {
+    ensureDetailsLoaded();
     return this.producers;
   }
 
@@ -2239,6 +2301,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    * @return a string containing all producers; separated by ,
    */
   public String getProducersAsString() {
+    ensureDetailsLoaded();
     List<String> producerNames = new ArrayList<>();
     for (Person producer : producers) {
       producerNames.add(producer.getName());
@@ -2253,6 +2316,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    *          a {@link Collection} of directors to be added
    */
   public void addToDirectors(Collection<Person> newDirectors) {
+    markDetailsModified();
     Set<Person> newItems = new LinkedHashSet<>();
 
     // do not accept duplicates or null values
@@ -2280,6 +2344,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    * remove all directors.
    */
   public void removeDirectors() {
+    markDetailsModified();
     directors.clear();
     firePropertyChange(DIRECTORS, null, directors);
     firePropertyChange(DIRECTORS_AS_STRING, null, getDirectorsAsString());
@@ -2293,6 +2358,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    */
   @JsonSetter
   public void setDirectors(List<Person> newDirectors) {
+    markDetailsModified();
     // two way sync of directors
     mergePersons(directors, newDirectors);
 
@@ -2306,6 +2372,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    * @return the directors
    */
   public List<Person> getDirectors() {
+    ensureDetailsLoaded();
     return directors;
   }
 
@@ -2315,6 +2382,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    * @return a string containing all directors; separated by ,
    */
   public String getDirectorsAsString() {
+    ensureDetailsLoaded();
     List<String> directorNames = new ArrayList<>();
     for (Person director : directors) {
       directorNames.add(director.getName());
@@ -2329,6 +2397,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    *          a {@link Collection} of the writers to be added
    */
   public void addToWriters(Collection<Person> newWriters) {
+    markDetailsModified();
     Set<Person> newItems = new LinkedHashSet<>();
 
     // do not accept duplicates or null values
@@ -2356,6 +2425,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    * remove all writers.
    */
   public void removeWriters() {
+    markDetailsModified();
     writers.clear();
     firePropertyChange(WRITERS, null, getWriters());
     firePropertyChange(WRITERS_AS_STRING, null, getWritersAsString());
@@ -2369,6 +2439,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    */
   @JsonSetter
   public void setWriters(List<Person> newWriters) {
+    markDetailsModified();
     // two way sync of writers
     mergePersons(writers, newWriters);
 
@@ -2382,6 +2453,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    * @return the writers
    */
   public List<Person> getWriters() {
+    ensureDetailsLoaded();
     return writers;
   }
 
@@ -2391,6 +2463,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    * @return a string containing all writers; separated by ,
    */
   public String getWritersAsString() {
+    ensureDetailsLoaded();
     List<String> writerNames = new ArrayList<>();
     for (Person writer : writers) {
       writerNames.add(writer.getName());
@@ -2417,7 +2490,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
    */
   public void reEvaluateDiscfolder() {
     boolean disc = false;
-    for (MediaFile mf : getMediaFiles(MediaFileType.VIDEO)) {
+    for (MediaFile mf : getMediaFilesView(MediaFileType.VIDEO)) {
       if (mf.isDiscFile()) {
         disc = true;
       }
@@ -2491,7 +2564,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
 
     if (stacked) {
       // search the first stacked media file (e.g. CD1)
-      vid = getMediaFiles(MediaFileType.VIDEO).stream().min(Comparator.comparingInt(MediaFile::getStacking)).orElse(MediaFile.EMPTY_MEDIAFILE);
+      vid = getMediaFilesView(MediaFileType.VIDEO).stream().min(Comparator.comparingInt(MediaFile::getStacking)).orElse(MediaFile.EMPTY_MEDIAFILE);
     }
     else {
       // try to find correct main movie file (DVD only)
@@ -2517,7 +2590,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
     MediaFile vid = null;
 
     // find IFO file with the longest duration
-    for (MediaFile mf : getMediaFiles(MediaFileType.VIDEO)) {
+    for (MediaFile mf : getMediaFilesView(MediaFileType.VIDEO)) {
       if (mf.getExtension().equalsIgnoreCase("ifo")) {
         if (vid == null || mf.getDuration() > vid.getDuration()) {
           vid = mf;
@@ -2532,7 +2605,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
         // check HD-DVD
         prefix = StrgUtils.substr(vid.getFilename(), "(?i)^(HV\\d+)I.*");
       }
-      for (MediaFile mif : getMediaFiles(MediaFileType.VIDEO)) {
+      for (MediaFile mif : getMediaFilesView(MediaFileType.VIDEO)) {
         // TODO: check HD-DVD
         if (mif.getFilename().startsWith(prefix) && !mif.getFilename().endsWith("IFO")) {
           vid = mif;
@@ -2543,7 +2616,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
 
     // no IFO/VOB? - might be bluray
     if (vid == null) {
-      for (MediaFile mf : getMediaFiles(MediaFileType.VIDEO)) {
+      for (MediaFile mf : getMediaFilesView(MediaFileType.VIDEO)) {
         if (mf.getExtension().equalsIgnoreCase("m2ts")) {
           if (vid == null || mf.getDuration() > vid.getDuration()) {
             vid = mf;
@@ -2619,7 +2692,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
     List<String> lang = new ArrayList<String>();
     lang.addAll(getMainVideoFile().getAudioCodecList());
 
-    for (MediaFile mf : getMediaFiles(MediaFileType.AUDIO)) {
+    for (MediaFile mf : getMediaFilesView(MediaFileType.AUDIO)) {
       lang.addAll(mf.getAudioCodecList());
     }
     return lang;
@@ -2635,7 +2708,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
     List<String> lang = new ArrayList<String>();
     lang.addAll(getMainVideoFile().getAudioChannelsList());
 
-    for (MediaFile mf : getMediaFiles(MediaFileType.AUDIO)) {
+    for (MediaFile mf : getMediaFilesView(MediaFileType.AUDIO)) {
       lang.addAll(mf.getAudioChannelsList());
     }
     return lang;
@@ -2651,7 +2724,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
     List<String> lang = new ArrayList<String>();
     lang.addAll(getMainVideoFile().getAudioChannelsDotList());
 
-    for (MediaFile mf : getMediaFiles(MediaFileType.AUDIO)) {
+    for (MediaFile mf : getMediaFilesView(MediaFileType.AUDIO)) {
       lang.addAll(mf.getAudioChannelsDotList());
     }
     return lang;
@@ -2666,7 +2739,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
   public List<String> getMediaInfoAudioLanguageList() {
     List<String> lang = new ArrayList<>(getMainVideoFile().getAudioLanguagesList());
 
-    for (MediaFile mf : getMediaFiles(MediaFileType.AUDIO)) {
+    for (MediaFile mf : getMediaFilesView(MediaFileType.AUDIO)) {
       lang.addAll(mf.getAudioLanguagesList());
     }
     return lang;
@@ -2705,7 +2778,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
   @Override
   public long getVideoFilesize() {
     long filesize = 0;
-    for (MediaFile mf : getMediaFiles(MediaFileType.VIDEO)) {
+    for (MediaFile mf : getMediaFilesView(MediaFileType.VIDEO)) {
       filesize += mf.getFilesize();
     }
     return filesize;
@@ -2770,6 +2843,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
 
     // also remove from our trailer list
     if (mediaFile.getType() == MediaFileType.TRAILER) {
+      markDetailsModified();
       for (int i = trailer.size() - 1; i >= 0; i--) {
         MediaTrailer mediaTrailer = trailer.get(i);
         if (mediaTrailer.getUrl().equals(mediaFile.getFileAsPath().toUri().toString())) {
@@ -2825,6 +2899,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
   }
 
   private void mixinLocalTrailers() {
+    markDetailsModified();
     // remove local ones
     for (int i = trailer.size() - 1; i >= 0; i--) {
       MediaTrailer mediaTrailer = trailer.get(i);
@@ -2834,7 +2909,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
     }
 
     // add local trailers (in the front)!
-    for (MediaFile mf : getMediaFiles(MediaFileType.TRAILER)) {
+    for (MediaFile mf : getMediaFilesView(MediaFileType.TRAILER)) {
       LOGGER.debug("adding local trailer {}", mf.getFilename());
       MediaTrailer mt = new MediaTrailer();
       mt.setName(mf.getFilename());
@@ -2859,7 +2934,7 @@ public class Movie extends MediaEntity implements IMediaInformation {
 
     // did we get meta data via the video media file?
     if (mediaFile.getType() == MediaFileType.VIDEO && MovieModuleManager.getInstance().getSettings().isUseMediainfoMetadata()
-        && getMediaFiles(MediaFileType.NFO).isEmpty() && !mediaFile.getExtraData().isEmpty()) {
+        && getMediaFilesView(MediaFileType.NFO).isEmpty() && !mediaFile.getExtraData().isEmpty()) {
 
       String title = mediaFile.getExtraData().get("title");
       if (StringUtils.isNotBlank(title)) {
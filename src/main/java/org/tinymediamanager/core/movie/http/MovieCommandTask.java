@@ -425,6 +425,16 @@ class MovieCommandTask extends TmmThreadPool {
         moviesToProcess.addAll(movieList.getUnscrapedMovies());
         break;
 
+      case "search":
+        if (scope.args != null && scope.args.length > 0) {
+          Set<Movie> foundMovies = new LinkedHashSet<>();
+          for (String searchTerm : scope.args) {
+            foundMovies.addAll(movieList.searchMovies(searchTerm));
+          }
+          moviesToProcess.addAll(foundMovies);
+        }
+        break;
+
       case "all":
       default:
         moviesToProcess.addAll(movieList.getMovies());
@@ -17,8 +17,6 @@ package org.tinymediamanager.core.movie.tasks;
 
 import java.util.List;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.tinymediamanager.core.MediaFileType;
 import org.tinymediamanager.core.entities.MediaFile;
 import org.tinymediamanager.core.movie.entities.Movie;
@@ -31,9 +29,7 @@ import org.tinymediamanager.core.tasks.ARDetectorTask;
  */
 public class MovieARDetectorTask extends ARDetectorTask {
 
-  private static final Logger LOGGER = LoggerFactory.getLogger(MovieARDetectorTask.class);
-
-  private final List<Movie>   movies;
+  private final List<Movie> movies;
 
   public MovieARDetectorTask(List<Movie> movies) {
     super(TaskType.MAIN_TASK);
@@ -52,20 +48,17 @@ public class MovieARDetectorTask extends ARDetectorTask {
       setWorkUnits(filesTotal * 100);
     }
 
-    int idx = 0;
-    for (Movie movie : this.movies) {
+    analyzeAll(this.movies, movie -> {
       for (MediaFile mediaFile : movie.getMediaFiles(MediaFileType.VIDEO)) {
         if (cancel) {
           break;
         }
-        analyze(mediaFile, idx++);
+        analyze(mediaFile);
       }
-      if (cancel) {
-        LOGGER.info("Abort queue");
-        break;
+      if (!cancel) {
+        movie.saveToDb();
+        movie.writeNFO();
       }
-      movie.saveToDb();
-      movie.writeNFO();
-    }
+    });
   }
 }
@@ -33,6 +33,7 @@ import org.tinymediamanager.core.movie.MovieSearchAndScrapeOptions;
 import org.tinymediamanager.core.movie.MovieSetSearchAndScrapeOptions;
 import org.tinymediamanager.core.movie.entities.Movie;
 import org.tinymediamanager.core.movie.entities.MovieSet;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.scraper.MediaMetadata;
 import org.tinymediamanager.scraper.MediaScraper;
@@ -62,7 +63,7 @@ public class MovieAssignMovieSetTask extends TmmThreadPool {
 
   @Override
   protected void doInBackground() {
-    initThreadPool(1, "scrape");
+    initThreadPool(1, "scrape", ResourceClass.NETWORK);
     start();
 
     for (Movie movie : moviesToScrape) {
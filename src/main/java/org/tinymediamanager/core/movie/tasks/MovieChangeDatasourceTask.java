@@ -30,6 +30,7 @@ import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.Utils;
 import org.tinymediamanager.core.entities.MediaFile;
 import org.tinymediamanager.core.movie.entities.Movie;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 
 /**
@@ -51,7 +52,7 @@ public class MovieChangeDatasourceTask extends TmmThreadPool {
 
   @Override
   protected void doInBackground() {
-    initThreadPool(1, "changeDataSource");
+    initThreadPool(1, "changeDataSource", ResourceClass.DISK);
     start();
 
     for (Movie movie : moviesToChange) {
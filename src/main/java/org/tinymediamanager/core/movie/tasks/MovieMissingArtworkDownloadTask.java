@@ -31,6 +31,8 @@ import org.tinymediamanager.core.movie.MovieModuleManager;
 import org.tinymediamanager.core.movie.MovieScraperMetadataConfig;
 import org.tinymediamanager.core.movie.MovieSearchAndScrapeOptions;
 import org.tinymediamanager.core.movie.entities.Movie;
+import org.tinymediamanager.core.threading.TmmScheduler.Priority;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.scraper.ArtworkSearchAndScrapeOptions;
 import org.tinymediamanager.scraper.MediaScraper;
@@ -65,7 +67,8 @@ public class MovieMissingArtworkDownloadTask extends TmmThreadPool {
   @Override
   protected void doInBackground() {
     LOGGER.info("Getting missing artwork");
-    initThreadPool(3, "scrapeMissingMovieArtwork");
+    initThreadPool(3, "scrapeMissingMovieArtwork", ResourceClass.NETWORK);
+    setPriority(Priority.LOW);
     start();
 
     for (Movie movie : moviesToScrape) {
@@ -28,6 +28,7 @@ import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.entities.MediaFile;
 import org.tinymediamanager.core.movie.entities.Movie;
 import org.tinymediamanager.core.tasks.MediaFileInformationFetcherTask;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 
 /**
@@ -43,7 +44,7 @@ public class MovieReloadMediaInformationTask extends TmmThreadPool {
   public MovieReloadMediaInformationTask(List<Movie> movies) {
     super(TmmResourceBundle.getString("movie.updatemediainfo"));
     moviesToReload = new ArrayList<>(movies);
-    initThreadPool(1, "reloadMI");
+    initThreadPool(1, "reloadMI", ResourceClass.DISK);
   }
 
   @Override
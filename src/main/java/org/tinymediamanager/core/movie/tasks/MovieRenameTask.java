@@ -15,9 +15,22 @@
  */
 package org.tinymediamanager.core.movie.tasks;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,22 +38,35 @@ import org.tinymediamanager.core.ImageCache;
 import org.tinymediamanager.core.Message;
 import org.tinymediamanager.core.Message.MessageLevel;
 import org.tinymediamanager.core.MessageManager;
+import org.tinymediamanager.core.RenameJournal;
 import org.tinymediamanager.core.Settings;
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.entities.MediaFile;
+import org.tinymediamanager.core.movie.MovieModuleManager;
 import org.tinymediamanager.core.movie.MovieRenamer;
+import org.tinymediamanager.core.movie.MovieRenamerPreview;
+import org.tinymediamanager.core.movie.MovieRenamerPreviewContainer;
 import org.tinymediamanager.core.movie.entities.Movie;
+import org.tinymediamanager.core.threading.TmmScheduler;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 
 /**
- * The Class MovieRenameTask.
+ * The Class MovieRenameTask. The rename of all movies is being planned upfront (with the renamer preview) to detect movies which would be renamed
+ * to the same destination. Afterwards the movies are renamed in parallel - movies sharing a folder are renamed one after another and the amount
+ * of concurrent renames per file system is limited. Every rename is journaled to be able to roll back an unfinished rename after a crash.
  * 
  * @author Manuel Laggner
  */
 public class MovieRenameTask extends TmmThreadPool {
-  private static final Logger LOGGER = LoggerFactory.getLogger(MovieRenameTask.class);
+  private static final Logger        LOGGER                 = LoggerFactory.getLogger(MovieRenameTask.class);
+  private static final RenameJournal JOURNAL                = new RenameJournal("movies", () -> MovieModuleManager.getInstance().flushPersistence());
+  // the movies of a crashed run which have been rolled back at startup - they are renamed again with the next rename run
+  private static final Set<String>   UNFINISHED             = ConcurrentHashMap.newKeySet();
 
-  private final List<Movie>   moviesToRename;
+  private static final int           MAX_THREADS            = 8;
+
+  private final List<Movie>          moviesToRename;
 
   /**
    * Instantiates a new movie rename task.
@@ -56,24 +82,44 @@ public class MovieRenameTask extends TmmThreadPool {
   @Override
   protected void doInBackground() {
     try {
-      initThreadPool(1, "rename");
       start();
 
-      List<MediaFile> imageFiles = new ArrayList<>();
+      // roll back renames of a crashed run and rename these movies again
+      resumeUnfinishedRenames();
 
-      // rename movies
-      for (Movie movie : moviesToRename) {
-        if (cancel) {
-          break;
+      // group the rename chains by file system (in a round robin order to spread the file systems over the queue)
+      Map<Object, Deque<RenameChain>> chainsPerFileSystem = new LinkedHashMap<>();
+      for (RenameChain chain : createRenamePlan()) {
+        chainsPerFileSystem.computeIfAbsent(chain.fileSystemKey, key -> new ArrayDeque<>()).add(chain);
+      }
+
+      // the amount of concurrent renames per file system is limited by the disk budget of the scheduler
+      initThreadPool(MAX_THREADS, "rename", ResourceClass.DISK);
+
+      JOURNAL.open();
+      try {
+        boolean submitted = true;
+        while (submitted && !cancel) {
+          submitted = false;
+          for (Deque<RenameChain> chains : chainsPerFileSystem.values()) {
+            RenameChain chain = chains.poll();
+            if (chain != null) {
+              submitTask(new RenameMoviesTask(chain), chain.fileSystemKey);
+              submitted = true;
+            }
+          }
         }
-        submitTask(new RenameMovieTask(movie));
+        waitForCompletionOrCancel();
+      }
+      finally {
+        JOURNAL.close();
       }
-      waitForCompletionOrCancel();
 
       if (cancel) {
         return;
       }
 
+      List<MediaFile> imageFiles = new ArrayList<>();
       for (Movie movie : moviesToRename) {
         imageFiles.addAll(movie.getMediaFiles().stream().filter(MediaFile::isGraphic).toList());
       }
@@ -91,22 +137,135 @@ public class MovieRenameTask extends TmmThreadPool {
   }
 
   /**
-   * ThreadpoolWorker to work off ONE possible movie from root datasource directory
+   * roll back the renames of a crashed run. This is called at the start of the movie module, so that the file system is in sync with the
+   * database before anything accesses the movies. The rolled back movies are being renamed again with the next rename run
+   */
+  public static void recoverUnfinishedRenames() {
+    UNFINISHED.addAll(JOURNAL.recover());
+  }
+
+  private void resumeUnfinishedRenames() {
+    recoverUnfinishedRenames();
+
+    for (String id : new ArrayList<>(UNFINISHED)) {
+      UNFINISHED.remove(id);
+      try {
+        Movie movie = MovieModuleManager.getInstance().getMovieList().lookupMovie(UUID.fromString(id));
+        if (movie != null && !moviesToRename.contains(movie)) {
+          LOGGER.info("resuming unfinished rename of '{}'", movie.getTitle());
+          moviesToRename.add(movie);
+        }
+      }
+      catch (IllegalArgumentException e) {
+        LOGGER.debug("invalid id in rename journal - {}", id);
+      }
+    }
+  }
+
+  /**
+   * plan the rename of all movies: movies which would be renamed to the same destination files are being skipped and all movies sharing a source
+   * or destination folder are combined to one chain, which will be renamed sequentially
+   *
+   * @return a {@link List} of all {@link RenameChain}s
+   */
+  private List<RenameChain> createRenamePlan() {
+    // 1. detect conflicting destinations
+    Map<Path, Movie> destinations = new HashMap<>();
+    Map<Movie, Path> newFolders = new IdentityHashMap<>();
+    Set<Movie> conflicts = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    for (Movie movie : moviesToRename) {
+      MovieRenamerPreviewContainer container = MovieRenamerPreview.renameMovie(movie);
+      if (!container.isNeedsRename()) {
+        continue;
+      }
+
+      newFolders.put(movie, container.getNewPath());
+      for (MediaFile mf : container.getNewMediaFiles()) {
+        Movie other = destinations.putIfAbsent(mf.getFileAsPath(), movie);
+        if (other != null && other != movie) {
+          conflicts.add(movie);
+          conflicts.add(other);
+        }
+      }
+    }
+
+    for (Movie movie : conflicts) {
+      LOGGER.warn("not renaming movie '{}' - another movie would be renamed to the same destination", movie.getTitle());
+      MessageManager.instance
+          .pushMessage(new Message(MessageLevel.ERROR, movie.getPathNIO(), "message.renamer.conflict", new String[] { movie.getTitle() }));
+    }
+
+    // 2. combine movies sharing a folder to chains
+    Map<Path, RenameChain> chainPerFolder = new HashMap<>();
+    Set<RenameChain> chains = new LinkedHashSet<>();
+
+    for (Movie movie : moviesToRename) {
+      if (conflicts.contains(movie)) {
+        continue;
+      }
+
+      RenameChain chain = new RenameChain(movie);
+      chain.folders.add(movie.getPathNIO().toAbsolutePath());
+      if (newFolders.containsKey(movie)) {
+        chain.folders.add(newFolders.get(movie).toAbsolutePath());
+      }
+
+      for (Path folder : new ArrayList<>(chain.folders)) {
+        RenameChain existing = chainPerFolder.get(folder);
+        if (existing != null && existing != chain) {
+          // merge the new chain into the existing one (keeping the order of the movies)
+          existing.movies.addAll(chain.movies);
+          existing.folders.addAll(chain.folders);
+          chains.remove(chain);
+          chain = existing;
+        }
+      }
+
+      for (Path folder : chain.folders) {
+        chainPerFolder.put(folder, chain);
+      }
+      chains.add(chain);
+    }
+
+    return new ArrayList<>(chains);
+  }
+
+  /**
+   * a chain of movies sharing source or destination folders - these need to be renamed sequentially
+   */
+  private static class RenameChain {
+    private final List<Movie> movies  = new ArrayList<>();
+    private final Set<Path>   folders = new LinkedHashSet<>();
+    private final Object      fileSystemKey;
+
+    private RenameChain(Movie movie) {
+      this.movies.add(movie);
+      this.fileSystemKey = TmmScheduler.getDeviceKey(Paths.get(movie.getDataSource()));
+    }
+  }
+
+  /**
+   * ThreadpoolWorker to work off ONE chain of movies
    * 
    * @author Myron Boyle
    * @version 1.0
    */
-  private static class RenameMovieTask implements Callable<Object> {
-    private final Movie movie;
+  private static class RenameMoviesTask implements Callable<Object> {
+    private final RenameChain chain;
 
-    private RenameMovieTask(Movie movie) {
-      this.movie = movie;
+    private RenameMoviesTask(RenameChain chain) {
+      this.chain = chain;
     }
 
     @Override
     public String call() {
-      MovieRenamer.renameMovie(movie);
-      return movie.getTitle();
+      String title = "";
+      for (Movie movie : chain.movies) {
+        JOURNAL.execute(movie.getDbId().toString(), () -> MovieRenamer.renameMovie(movie));
+        title = movie.getTitle();
+      }
+      return title;
     }
   }
 
@@ -38,6 +38,8 @@ import org.tinymediamanager.core.movie.MovieModuleManager;
 import org.tinymediamanager.core.movie.MovieScraperMetadataConfig;
 import org.tinymediamanager.core.movie.MovieSearchAndScrapeOptions;
 import org.tinymediamanager.core.movie.entities.Movie;
+import org.tinymediamanager.core.threading.TmmScheduler.Priority;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
 import org.tinymediamanager.core.threading.TmmTaskManager;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.scraper.ArtworkSearchAndScrapeOptions;
@@ -90,7 +92,9 @@ public class MovieScrapeTask extends TmmThreadPool {
       return;
     }
 
-    initThreadPool(3, "scrape");
+    initThreadPool(3, "scrape", ResourceClass.NETWORK);
+    // scrapes triggered by the user are preferred over background jobs
+    setPriority(runInBackground ? Priority.LOW : Priority.HIGH);
     start();
 
     for (Movie movie : movieScrapeParams.moviesToScrape) {
@@ -29,6 +29,8 @@ import org.tinymediamanager.core.movie.MovieModuleManager;
 import org.tinymediamanager.core.movie.MovieSetArtworkHelper;
 import org.tinymediamanager.core.movie.MovieSetSearchAndScrapeOptions;
 import org.tinymediamanager.core.movie.entities.MovieSet;
+import org.tinymediamanager.core.threading.TmmScheduler.Priority;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.scraper.ArtworkSearchAndScrapeOptions;
 import org.tinymediamanager.scraper.MediaScraper;
@@ -59,7 +61,8 @@ public class MovieSetMissingArtworkDownloadTask extends TmmThreadPool {
   @Override
   protected void doInBackground() {
     LOGGER.info("Getting missing movieset artwork");
-    initThreadPool(3, "scrapeMissingMovieSetArtwork");
+    initThreadPool(3, "scrapeMissingMovieSetArtwork", ResourceClass.NETWORK);
+    setPriority(Priority.LOW);
     start();
 
     for (MovieSet movieSet : moviesToScrape) {
@@ -33,6 +33,7 @@ import org.tinymediamanager.core.movie.MovieScraperMetadataConfig;
 import org.tinymediamanager.core.movie.MovieSetScraperMetadataConfig;
 import org.tinymediamanager.core.movie.MovieSetSearchAndScrapeOptions;
 import org.tinymediamanager.core.movie.entities.MovieSet;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.scraper.ArtworkSearchAndScrapeOptions;
 import org.tinymediamanager.scraper.MediaMetadata;
@@ -69,7 +70,7 @@ public class MovieSetScrapeTask extends TmmThreadPool {
     LOGGER.debug("start scraping movie sets...");
     start();
 
-    initThreadPool(3, "scrape");
+    initThreadPool(3, "scrape", ResourceClass.NETWORK);
     for (MovieSet movieSet : movieSetsToScrape) {
       submitTask(new Worker(movieSet));
     }
@@ -36,6 +36,7 @@ import org.tinymediamanager.core.entities.MediaFile;
 import org.tinymediamanager.core.movie.MovieModuleManager;
 import org.tinymediamanager.core.movie.entities.Movie;
 import org.tinymediamanager.core.tasks.SubtitleDownloadTask;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
 import org.tinymediamanager.core.threading.TmmTaskManager;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.scraper.MediaScraper;
@@ -95,7 +96,7 @@ public class MovieSubtitleSearchAndDownloadTask extends TmmThreadPool {
       return;
     }
 
-    initThreadPool(3, "searchAndDownloadSubtitles");
+    initThreadPool(3, "searchAndDownloadSubtitles", ResourceClass.NETWORK);
     start();
 
     for (Movie movie : movies) {
@@ -82,6 +82,8 @@ import org.tinymediamanager.core.entities.MediaEntity;
 import org.tinymediamanager.core.entities.MediaFile;
 import org.tinymediamanager.core.entities.MediaGenres;
 import org.tinymediamanager.core.entities.MediaSource;
+import org.tinymediamanager.core.metrics.Counter;
+import org.tinymediamanager.core.metrics.TmmMetrics;
 import org.tinymediamanager.core.movie.MovieArtworkHelper;
 import org.tinymediamanager.core.movie.MovieEdition;
 import org.tinymediamanager.core.movie.MovieList;
@@ -92,6 +94,8 @@ import org.tinymediamanager.core.movie.connector.MovieSetNfoParser;
 import org.tinymediamanager.core.movie.entities.Movie;
 import org.tinymediamanager.core.movie.entities.MovieSet;
 import org.tinymediamanager.core.tasks.MediaFileInformationFetcherTask;
+import org.tinymediamanager.core.threading.TmmScheduler;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
 import org.tinymediamanager.core.threading.TmmTaskManager;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.scraper.entities.MediaArtwork;
@@ -111,12 +115,10 @@ import org.tinymediamanager.thirdparty.trakttv.MovieSyncTraktTvTask;
 public class MovieUpdateDatasourceTask extends TmmThreadPool {
   private static final Logger          LOGGER           = LoggerFactory.getLogger(MovieUpdateDatasourceTask.class);
 
-  private static long                  preDir           = 0;
-  private static long                  postDir          = 0;
-  private static long                  visFile          = 0;
-  private static long                  preDirAll        = 0;
-  private static long                  postDirAll       = 0;
-  private static long                  visFileAll       = 0;
+  // statistics of the file system walk (the per run values are the difference to the values at the start of the run)
+  private static final Counter         PRE_DIR          = scanCounter("pre_dir");
+  private static final Counter         POST_DIR         = scanCounter("post_dir");
+  private static final Counter         VISIT_FILE       = scanCounter("visit_file");
 
   // skip well-known, but unneeded folders (UPPERCASE)
   private static final List<String>    SKIP_FOLDERS     = Arrays.asList(".", "..", "CERTIFICATE", "$RECYCLE.BIN", "RECYCLER",
@@ -138,6 +140,10 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
   private final List<Path>             existingMovies   = new ArrayList<>();
   private final List<MediaFile>        imageFiles       = new ArrayList<>();
 
+  private long                         preDirStart;
+  private long                         postDirStart;
+  private long                         visitFileStart;
+
   public MovieUpdateDatasourceTask() {
     this(MovieModuleManager.getInstance().getSettings().getMovieDataSource());
   }
@@ -194,12 +200,9 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
       MessageManager.instance.pushMessage(new Message(MessageLevel.ERROR, "update.datasource", "update.datasource.nonespecified"));
       return;
     }
-    preDir = 0;
-    postDir = 0;
-    visFile = 0;
-    preDirAll = 0;
-    postDirAll = 0;
-    visFileAll = 0;
+    preDirStart = PRE_DIR.get();
+    postDirStart = POST_DIR.get();
+    visitFileStart = VISIT_FILE.get();
 
     // get existing movie folders
     for (Movie movie : movieList.getMovies()) {
@@ -260,7 +263,7 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
 
       LOGGER.info("Start UDS on datasource: {}", ds);
       miTasks.clear();
-      initThreadPool(3, "update");
+      initThreadPool(3, "update", ResourceClass.DISK, TmmScheduler.getDeviceKey(dsAsPath));
       setTaskName(TmmResourceBundle.getString("update.datasource") + " '" + ds + "'");
       publishState();
 
@@ -345,12 +348,7 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
       // print stats
       LOGGER.info("FilesFound: {}", filesFound.size());
       LOGGER.info("moviesFound: {}", movieList.getMovieCount());
-      LOGGER.debug("PreDir: {}", preDir);
-      LOGGER.debug("PostDir: {}", postDir);
-      LOGGER.debug("VisFile: {}", visFile);
-      LOGGER.debug("PreDirAll: {}", preDirAll);
-      LOGGER.debug("PostDirAll: {}", postDirAll);
-      LOGGER.debug("VisFileAll: {}", visFileAll);
+      logWalkStatistics();
 
       newMovieDirs.clear();
       existingMovieDirs.clear();
@@ -363,10 +361,9 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
       // cleanup
       cleanup(ds);
 
-      // map Kodi entries
+      // map Kodi entries - new/moved movies are being mapped on demand
       if (StringUtils.isNotBlank(Settings.getInstance().getKodiHost())) {
-        // call async to avoid slowdown of UDS
-        TmmTaskManager.getInstance().addUnnamedTask(() -> KodiRPC.getInstance().updateMovieMappings());
+        KodiRPC.getInstance().markMovieMappingsOutdated();
       }
 
       // mediainfo
@@ -471,7 +468,7 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
 
   private void updateMovies() {
     LOGGER.info("Start UDS for selected movies");
-    initThreadPool(3, "update");
+    initThreadPool(3, "update", ResourceClass.DISK);
     setTaskName(TmmResourceBundle.getString("update.datasource"));
     publishState();
 
@@ -532,8 +529,9 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
         }
       }
 
+      Object device = TmmScheduler.getDeviceKey(dsAsPath);
       for (Path path : movieDirs) {
-        submitTask(new FindMovieTask(path, Paths.get(ds)));
+        submitTask(new FindMovieTask(path, Paths.get(ds)), device);
       }
     }
 
@@ -542,12 +540,7 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
     // print stats
     LOGGER.info("FilesFound: {}", filesFound.size());
     LOGGER.info("moviesFound: {}", movieList.getMovieCount());
-    LOGGER.debug("PreDir: {}", preDir);
-    LOGGER.debug("PostDir: {}", postDir);
-    LOGGER.debug("VisFile: {}", visFile);
-    LOGGER.debug("PreDirAll: {}", preDirAll);
-    LOGGER.debug("PostDirAll: {}", postDirAll);
-    LOGGER.debug("VisFileAll: {}", visFileAll);
+    logWalkStatistics();
 
     // cleanup
     cleanup(moviesToCleanup);
@@ -1624,7 +1617,7 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
     setTaskName(TmmResourceBundle.getString("update.mediainfo"));
     publishState();
 
-    initThreadPool(1, "mediainfo");
+    initThreadPool(1, "mediainfo", ResourceClass.DISK);
 
     LOGGER.info("getting Mediainfo...");
 
@@ -1670,7 +1663,7 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
     setTaskName(TmmResourceBundle.getString("update.mediainfo"));
     publishState();
 
-    initThreadPool(1, "mediainfo");
+    initThreadPool(1, "mediainfo", ResourceClass.DISK);
 
     LOGGER.info("getting Mediainfo...");
     for (Movie movie : movies) {
@@ -1856,7 +1849,7 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
         return TERMINATE;
       }
 
-      incVisFile();
+      VISIT_FILE.increment();
 
       if (file.getFileName() == null) {
         return CONTINUE;
@@ -1901,7 +1894,7 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
         return TERMINATE;
       }
 
-      incPreDir();
+      PRE_DIR.increment();
       deep++;
 
       try {
@@ -1939,7 +1932,7 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
         return TERMINATE;
       }
 
-      incPostDir();
+      POST_DIR.increment();
       deep--;
 
       return CONTINUE;
@@ -1985,7 +1978,7 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
         return SKIP_SIBLINGS;
       }
 
-      incVisFile();
+      VISIT_FILE.increment();
 
       visited.add(file);
 
@@ -2024,7 +2017,7 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
         return SKIP_SUBTREE;
       }
 
-      incPreDir();
+      PRE_DIR.increment();
 
       String parent = "";
       if (!dir.equals(datasource) && !dir.getParent().equals(datasource)) {
@@ -2052,7 +2045,7 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
         return TERMINATE;
       }
 
-      incPostDir();
+      POST_DIR.increment();
 
       if (this.videofolders.contains(dir)) {
         boolean update = true;
@@ -2163,25 +2156,15 @@ public class MovieUpdateDatasourceTask extends TmmThreadPool {
     return false;
   }
 
-  /**
-   * synchronized increment of visFile
-   */
-  private static synchronized void incVisFile() {
-    visFile++;
+  private static Counter scanCounter(String event) {
+    return TmmMetrics.getInstance()
+        .counter("tmm_datasource_walk_total", "directories and files visited while updating the data sources", "module", "movie", "event", event);
   }
 
-  /**
-   * synchronized increment of preDir
-   */
-  private static synchronized void incPreDir() {
-    preDir++;
-  }
-
-  /**
-   * synchronized increment of postDir
-   */
-  private static synchronized void incPostDir() {
-    postDir++;
+  private void logWalkStatistics() {
+    LOGGER.debug("PreDir: {}", PRE_DIR.get() - preDirStart);
+    LOGGER.debug("PostDir: {}", POST_DIR.get() - postDirStart);
+    LOGGER.debug("VisFile: {}", VISIT_FILE.get() - visitFileStart);
   }
 
   /**
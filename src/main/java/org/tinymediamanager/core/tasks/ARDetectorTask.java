@@ -20,11 +20,19 @@ import java.nio.file.Path;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -42,6 +50,7 @@ import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.entities.MediaFile;
 import org.tinymediamanager.core.mediainfo.MediaInfoFile;
 import org.tinymediamanager.core.threading.TmmTask;
+import org.tinymediamanager.core.threading.TmmThreadPool.TmmThreadFactory;
 import org.tinymediamanager.thirdparty.FFmpeg;
 
 /**
@@ -52,6 +61,7 @@ import org.tinymediamanager.thirdparty.FFmpeg;
 public abstract class ARDetectorTask extends TmmTask {
 
   private static final Logger LOGGER                  = LoggerFactory.getLogger(ARDetectorTask.class);
+  private static final int    SAMPLES_PER_SESSION     = 8;
 
   private final Pattern       patternSampleDarkLevel  = Pattern.compile("lavfi.signalstats.YLOW=([0-9]*)");
   private final Pattern       patternSample           = Pattern
@@ -84,7 +94,12 @@ public abstract class ARDetectorTask extends TmmTask {
   private float               darkLevelPct            = 7f;
   private float               darkLevelMaxPct         = 13f;
 
+  protected boolean           singleSession           = false;
+  protected int               parallelFiles           = 1;
+  private int                 ffmpegThreads           = 0;
+
   protected final List<Float> arCustomList            = new LinkedList<>();
+  private final AtomicInteger scanProgress            = new AtomicInteger();
 
   public ARDetectorTask(TaskType type) {
     super(TmmResourceBundle.getString("update.aspectRatio"), 100, type);
@@ -120,13 +135,82 @@ public abstract class ARDetectorTask extends TmmTask {
 
     this.darkLevelPct = settings.getArdDarkLevelPct();
     this.darkLevelMaxPct = settings.getArdDarkLevelMaxPct();
+
+    this.singleSession = settings.isArdSingleSession();
+    this.parallelFiles = Math.max(1, settings.getArdParallelFiles());
+    if (this.parallelFiles > 1) {
+      // share the CPU between all concurrent FFmpeg sessions
+      this.ffmpegThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / this.parallelFiles);
+    }
+  }
+
+  /**
+   * analyze all given entities with the given analyzer. If parallel analysis is enabled, several entities are analyzed concurrently
+   *
+   * @param entities
+   *          the entities to analyze
+   * @param analyzer
+   *          the analyzer for a single entity
+   * @param <T>
+   *          the type of the entities
+   */
+  protected <T> void analyzeAll(List<T> entities, Consumer<T> analyzer) {
+    if (this.parallelFiles <= 1 || entities.size() <= 1) {
+      for (T entity : entities) {
+        if (cancel) {
+          LOGGER.info("Abort queue");
+          break;
+        }
+        analyzer.accept(entity);
+      }
+      return;
+    }
+
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(this.parallelFiles, this.parallelFiles, 2, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+        new TmmThreadFactory("ard"));
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (T entity : entities) {
+        futures.add(executor.submit(() -> {
+          if (!cancel) {
+            analyzer.accept(entity);
+          }
+        }));
+      }
+
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+        }
+        catch (ExecutionException e) {
+          LOGGER.error("Error detecting aspect ratio - {}", e.getMessage());
+        }
+      }
+
+      if (cancel) {
+        LOGGER.info("Abort queue");
+      }
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    finally {
+      executor.shutdownNow();
+    }
   }
 
   protected void analyze(MediaFile mediaFile) {
-    analyze(mediaFile, 0);
+    AtomicInteger fileProgress = new AtomicInteger();
+    try {
+      analyze(mediaFile, fileProgress);
+    }
+    finally {
+      // the file is done - no matter if we could detect anything
+      publishProgress(fileProgress, 100);
+    }
   }
 
-  protected void analyze(MediaFile mediaFile, int idx) {
+  private void analyze(MediaFile mediaFile, AtomicInteger fileProgress) {
     if (!canRun()) {
       return;
     }
@@ -202,48 +286,16 @@ public abstract class ARDetectorTask extends TmmTask {
         seconds = start;
       }
 
-      int sampleCounter = 0;
-
-      while (seconds < (end - 2)) {
-        if (sampleCounter > this.sampleMinNumber * 2) {
-          LOGGER.debug("we could not detect a valid result with '{}' samples", sampleCounter);
-          break;
-        }
-
-        try {
-          int iSec = Math.round(seconds);
-          int iInc = Math.round(increment);
-
-          if (iSec >= videoInfo.duration) {
-            iSec = videoInfo.duration - this.sampleDuration;
-          }
-          position = getPositionInMediaFile(relevant, iSec);
-          if (position != null) {
-            LOGGER.trace("Scanning {} at {}s", position.getPath(), position.getPosition());
-            result = FFmpeg.scanSample(position.getPosition(), sampleDuration, videoInfo.darkLevel, position.getPath());
-            parseSample(result, iSec, iInc, videoInfo);
-          }
-          else {
-            LOGGER.trace("Could not get postition {} in relevant file - maybe XML only?", iSec);
-            break;
-          }
-        }
-        catch (Exception ex) {
-          LOGGER.trace("Error scanning sample - '{}'", ex.getMessage());
-        }
-
-        seconds += increment - videoInfo.sampleSkipAdjustement;
-        sampleCounter++;
-        if (seconds <= start) {
-          seconds = Math.round(start + 0.5f * videoInfo.sampleSkipAdjustement);
-        }
-
-        if (this.cancel) {
-          return;
-        }
+      boolean finished;
+      if (this.singleSession) {
+        finished = scanSamplesInSingleSession(relevant, end, seconds, increment, videoInfo, fileProgress);
+      }
+      else {
+        finished = scanSamplesSequentially(relevant, start, end, seconds, increment, videoInfo, fileProgress);
+      }
 
-        int progress = ((int) seconds - start) * 100 / (end - start);
-        publishState(idx * 100 + progress);
+      if (!finished) {
+        return;
       }
 
       if (videoInfo.sampleCount == 0) {
@@ -288,6 +340,136 @@ public abstract class ARDetectorTask extends TmmTask {
     }
   }
 
+  private boolean scanSamplesSequentially(List<MediaInfoFile> relevant, int start, int end, float seconds, float increment, VideoInfo videoInfo,
+      AtomicInteger fileProgress) {
+    int sampleCounter = 0;
+
+    while (seconds < (end - 2)) {
+      if (sampleCounter > this.sampleMinNumber * 2) {
+        LOGGER.debug("we could not detect a valid result with '{}' samples", sampleCounter);
+        break;
+      }
+
+      try {
+        int iSec = Math.round(seconds);
+        int iInc = Math.round(increment);
+
+        if (iSec >= videoInfo.duration) {
+          iSec = videoInfo.duration - this.sampleDuration;
+        }
+        MediaFilePosition position = getPositionInMediaFile(relevant, iSec);
+        if (position != null) {
+          LOGGER.trace("Scanning {} at {}s", position.getPath(), position.getPosition());
+          String result = FFmpeg.scanSample(position.getPosition(), sampleDuration, videoInfo.darkLevel, position.getPath());
+          parseSample(result, iSec, iInc, videoInfo);
+        }
+        else {
+          LOGGER.trace("Could not get postition {} in relevant file - maybe XML only?", iSec);
+          break;
+        }
+      }
+      catch (Exception ex) {
+        LOGGER.trace("Error scanning sample - '{}'", ex.getMessage());
+      }
+
+      seconds += increment - videoInfo.sampleSkipAdjustement;
+      sampleCounter++;
+      if (seconds <= start) {
+        seconds = Math.round(start + 0.5f * videoInfo.sampleSkipAdjustement);
+      }
+
+      if (this.cancel) {
+        return false;
+      }
+
+      publishProgress(fileProgress, ((int) seconds - start) * 100 / (end - start));
+    }
+
+    return true;
+  }
+
+  /**
+   * scan all samples in as few FFmpeg sessions as possible (one session per file and up to {@link #SAMPLES_PER_SESSION} samples). The sample
+   * positions are calculated up front, so there is no adaptive skipping of implausible samples in this mode
+   */
+  private boolean scanSamplesInSingleSession(List<MediaInfoFile> relevant, int end, float seconds, float increment, VideoInfo videoInfo,
+      AtomicInteger fileProgress) {
+    int iInc = Math.round(increment);
+
+    // collect all sample windows and split them into sessions
+    List<List<SampleWindow>> sessions = new ArrayList<>();
+    List<SampleWindow> session = new ArrayList<>();
+    int sampleCounter = 0;
+
+    for (float pos = seconds; pos < (end - 2) && sampleCounter <= this.sampleMinNumber * 2; pos += increment) {
+      int iSec = Math.round(pos);
+      if (iSec >= videoInfo.duration) {
+        iSec = videoInfo.duration - this.sampleDuration;
+      }
+
+      MediaFilePosition position = getPositionInMediaFile(relevant, iSec);
+      if (position == null) {
+        LOGGER.trace("Could not get postition {} in relevant file - maybe XML only?", iSec);
+        break;
+      }
+
+      if (!session.isEmpty() && (session.size() >= SAMPLES_PER_SESSION || !session.get(0).position().getPath().equals(position.getPath()))) {
+        sessions.add(session);
+        session = new ArrayList<>();
+      }
+      session.add(new SampleWindow(iSec, position));
+      sampleCounter++;
+    }
+
+    if (!session.isEmpty()) {
+      sessions.add(session);
+    }
+
+    int samplesTotal = sampleCounter;
+    AtomicInteger samplesDone = new AtomicInteger();
+
+    for (List<SampleWindow> windows : sessions) {
+      Path path = windows.get(0).position().getPath();
+      List<Integer> starts = windows.stream().map(window -> window.position().getPosition()).toList();
+      boolean[] parsed = new boolean[windows.size()];
+      AtomicInteger parsedInSession = new AtomicInteger();
+
+      LOGGER.trace("Scanning {} at {}s", path, starts);
+
+      try {
+        FFmpeg.scanSamples(starts, this.sampleDuration, videoInfo.darkLevel, path, this.ffmpegThreads, (sampleIndex, line) -> {
+          if (sampleIndex < parsed.length && !parsed[sampleIndex]) {
+            // like in the sequential mode, only the first cropdetect result of every sample is taken into account
+            parsed[sampleIndex] = true;
+            parseSample(line, windows.get(sampleIndex).seconds(), iInc, videoInfo);
+            parsedInSession.incrementAndGet();
+            publishProgress(fileProgress, samplesDone.incrementAndGet() * 100 / samplesTotal);
+          }
+
+          // no need to decode the rest of the samples if we already got all results
+          return !this.cancel && parsedInSession.get() < parsed.length;
+        });
+      }
+      catch (Exception e) {
+        LOGGER.trace("Error scanning samples - '{}'", e.getMessage());
+      }
+
+      if (this.cancel) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private synchronized void publishProgress(AtomicInteger fileProgress, int progress) {
+    int delta = Math.min(progress, 100) - fileProgress.get();
+    if (delta > 0) {
+      fileProgress.addAndGet(delta);
+      publishState(scanProgress.addAndGet(delta));
+    }
+  }
+
   private MediaFilePosition getPositionInMediaFile(List<MediaInfoFile> mediaInfoFiles, int pos) {
     MediaFilePosition result = null;
 
@@ -754,6 +936,9 @@ public abstract class ARDetectorTask extends TmmTask {
     Map<Integer, Integer> heightMap             = new HashMap<>();
   }
 
+  record SampleWindow(int seconds, MediaFilePosition position) {
+  }
+
   static class MediaFilePosition {
 
     private final Path path;
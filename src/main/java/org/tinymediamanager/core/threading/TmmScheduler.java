@@ -0,0 +1,327 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.threading;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.tinymediamanager.core.metrics.TmmMetrics;
+import org.tinymediamanager.core.threading.TmmThreadPool.TmmThreadFactory;
+
+/**
+ * The class {@link TmmScheduler} is the central scheduler for all worker jobs of tinyMediaManager. Every job is tagged with the resource it
+ * mainly uses (network, disk or CPU) and a priority. Every resource has a global budget of concurrently running jobs (the disk budget is per
+ * device) - so the total amount of worker threads is bounded and e.g. an interactive scrape is not stuck behind a long running background job.<br />
+ * In the virtual thread mode (see {@link VirtualThreads}) the network jobs run in virtual threads with a much larger budget.
+ *
+ * @author Manuel Laggner
+ */
+public class TmmScheduler {
+  private static final TmmScheduler        INSTANCE               = new TmmScheduler();
+  private static final ThreadLocal<Object> WORKER                 = new ThreadLocal<>();
+
+  private static final int                 NETWORK_BUDGET         = 8;
+  private static final int                 DISK_BUDGET_PER_DEVICE = 2;
+  private static final int                 CPU_BUDGET             = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+  public enum ResourceClass {
+    NETWORK,
+    DISK,
+    CPU
+  }
+
+  public enum Priority {
+    HIGH,
+    NORMAL,
+    LOW
+  }
+
+  private final AtomicLong                 sequence               = new AtomicLong();
+  private final Map<Object, ResourceQueue> queues                 = new ConcurrentHashMap<>();
+
+  private volatile boolean                 isShutdown             = false;
+
+  private TmmScheduler() {
+  }
+
+  public static TmmScheduler getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * get a key for the device (file system) of the given path. Paths on the same device share the same key and thus the same disk budget
+   *
+   * @param path
+   *          the path to get the device key for
+   * @return the key for the device (the {@link java.nio.file.FileStore} or the root of the path if the file store is not accessible)
+   */
+  public static Object getDeviceKey(Path path) {
+    try {
+      return Files.getFileStore(path);
+    }
+    catch (Exception e) {
+      return path.getRoot() != null ? path.getRoot().toString() : path.toString();
+    }
+  }
+
+  /**
+   * check if the current thread is a worker of the scheduler
+   *
+   * @return true if the current thread is running a job of the scheduler
+   */
+  public static boolean isWorkerThread() {
+    return WORKER.get() != null;
+  }
+
+  /**
+   * submit a job to the scheduler
+   *
+   * @param resourceClass
+   *          the resource which is mainly used by this job
+   * @param device
+   *          the key of the device for disk jobs (see {@link #getDeviceKey(Path)}); may be null
+   * @param priority
+   *          the priority of the job
+   * @param job
+   *          the job
+   * @return the {@link Future} of the job
+   */
+  public Future<Object> submit(ResourceClass resourceClass, Object device, Priority priority, Runnable job) {
+    return submit(resourceClass, device, priority, Executors.callable(job), null);
+  }
+
+  /**
+   * submit a job to the scheduler
+   *
+   * @param resourceClass
+   *          the resource which is mainly used by this job
+   * @param device
+   *          the key of the device for disk jobs (see {@link #getDeviceKey(Path)}); may be null
+   * @param priority
+   *          the priority of the job
+   * @param job
+   *          the job
+   * @param whenDone
+   *          an optional callback which is being invoked after the job has been finished (or cancelled)
+   * @return the {@link Future} of the job
+   */
+  public <T> Future<T> submit(ResourceClass resourceClass, Object device, Priority priority, Callable<T> job, Consumer<Future<T>> whenDone) {
+    ScheduledJob<T> scheduledJob = new ScheduledJob<>(job, priority, sequence.getAndIncrement(), whenDone);
+    if (isShutdown) {
+      scheduledJob.cancel(false);
+      return scheduledJob;
+    }
+
+    getQueue(resourceClass, device).executor.execute(scheduledJob);
+    return scheduledJob;
+  }
+
+  /**
+   * run all given jobs in the given queue and wait until they are finished. The calling thread takes part in the work: all jobs which have not
+   * been started by the queue yet are being run in the calling thread - so this can be called from within a job of the scheduler without
+   * blocking a worker (or even deadlocking the queue)
+   *
+   * @param resourceClass
+   *          the resource which is mainly used by the jobs
+   * @param device
+   *          the key of the device for disk jobs (see {@link #getDeviceKey(Path)}); may be null
+   * @param priority
+   *          the priority of the jobs
+   * @param jobs
+   *          the jobs to run
+   * @throws InterruptedException
+   *           if the waiting thread has been interrupted
+   */
+  public void runAll(ResourceClass resourceClass, Object device, Priority priority, List<? extends Runnable> jobs) throws InterruptedException {
+    if (jobs.isEmpty()) {
+      return;
+    }
+
+    List<Future<Object>> futures = new ArrayList<>();
+    for (Runnable job : jobs.subList(1, jobs.size())) {
+      futures.add(submit(resourceClass, device, priority, job));
+    }
+
+    boolean completed = false;
+    try {
+      jobs.get(0).run();
+
+      for (int i = 0; i < futures.size(); i++) {
+        Future<Object> future = futures.get(i);
+        if (future.isCancelled() || future.cancel(false)) {
+          // not started yet (or not accepted after a shutdown) - run it in the calling thread
+          jobs.get(i + 1).run();
+          continue;
+        }
+
+        try {
+          future.get();
+        }
+        catch (ExecutionException e) {
+          if (e.getCause() instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+          }
+          if (e.getCause() instanceof Error error) {
+            throw error;
+          }
+          throw new IllegalStateException(e.getCause());
+        }
+      }
+      completed = true;
+    }
+    finally {
+      if (!completed) {
+        // a job failed or the caller has been interrupted - nobody waits for the pending jobs any more
+        futures.forEach(future -> future.cancel(false));
+      }
+    }
+  }
+
+  private ResourceQueue getQueue(ResourceClass resourceClass, Object device) {
+    if (resourceClass == ResourceClass.NETWORK && VirtualThreads.isEnabled()) {
+      // virtual threads are cheap - the load per provider is limited by the HTTP client
+      return queues.computeIfAbsent(List.of(resourceClass, "virtual"), key -> new ResourceQueue(resourceClass, "network virtual",
+          VirtualThreads.MAX_NETWORK_CONCURRENCY, VirtualThreads.createThreadFactory("scheduler-network")));
+    }
+
+    if (resourceClass != ResourceClass.DISK) {
+      String name = resourceClass.name().toLowerCase(Locale.ROOT);
+      return queues.computeIfAbsent(resourceClass, key -> new ResourceQueue(resourceClass, name,
+          resourceClass == ResourceClass.NETWORK ? NETWORK_BUDGET : CPU_BUDGET, new TmmThreadFactory("scheduler-" + name)));
+    }
+
+    Object deviceKey = device != null ? device : "default";
+    return queues.computeIfAbsent(List.of(resourceClass, deviceKey), key -> new ResourceQueue(resourceClass, "disk " + deviceKey,
+        DISK_BUDGET_PER_DEVICE, new TmmThreadFactory("scheduler-disk-" + deviceKey.toString().replace(' ', '-'))));
+  }
+
+  /**
+   * get the current state of all queues of the scheduler
+   *
+   * @return a {@link List} of the {@link QueueState}s of all queues
+   */
+  public List<QueueState> getQueueStates() {
+    List<QueueState> states = new ArrayList<>();
+    for (ResourceQueue queue : queues.values()) {
+      states.add(new QueueState(queue.name, queue.resourceClass, queue.budget, queue.executor.getActiveCount(), queue.executor.getQueue().size()));
+    }
+    states.sort(Comparator.comparing(QueueState::resourceClass).thenComparing(QueueState::name));
+    return states;
+  }
+
+  /**
+   * shut down the scheduler; running jobs are finished, but no new jobs are accepted
+   */
+  public void shutdown() {
+    isShutdown = true;
+    queues.values().forEach(queue -> queue.executor.shutdown());
+  }
+
+  /**
+   * shut down the scheduler and interrupt all running jobs
+   */
+  public void shutdownNow() {
+    isShutdown = true;
+    queues.values().forEach(queue -> queue.executor.shutdownNow());
+  }
+
+  /**
+   * the state of one queue (resource/device) of the scheduler
+   */
+  public record QueueState(String name, ResourceClass resourceClass, int budget, int running, int queued) {
+  }
+
+  /*************************************************************************
+   * helper classes
+   *************************************************************************/
+  private static class ResourceQueue {
+    private final ResourceClass      resourceClass;
+    private final String             name;
+    private final int                budget;
+    private final ThreadPoolExecutor executor;
+
+    private ResourceQueue(ResourceClass resourceClass, String name, int budget, ThreadFactory threadFactory) {
+      this.resourceClass = resourceClass;
+      this.name = name;
+      this.budget = budget;
+
+      // the priority queue orders the jobs by priority (and FIFO within the same priority)
+      this.executor = new ThreadPoolExecutor(budget, budget, 2, TimeUnit.SECONDS, new PriorityBlockingQueue<>(), threadFactory);
+      this.executor.allowCoreThreadTimeOut(true);
+
+      TmmMetrics metrics = TmmMetrics.getInstance();
+      metrics.gauge("tmm_scheduler_running_jobs", "running jobs per queue of the scheduler", executor::getActiveCount, "queue", name);
+      metrics.gauge("tmm_scheduler_queued_jobs", "waiting jobs per queue of the scheduler", () -> executor.getQueue().size(), "queue", name);
+    }
+  }
+
+  private static class ScheduledJob<T> extends FutureTask<T> implements Comparable<ScheduledJob<?>> {
+    private final Priority            priority;
+    private final long                sequence;
+    private final Consumer<Future<T>> whenDone;
+
+    private ScheduledJob(Callable<T> callable, Priority priority, long sequence, Consumer<Future<T>> whenDone) {
+      super(callable);
+      this.priority = priority;
+      this.sequence = sequence;
+      this.whenDone = whenDone;
+    }
+
+    @Override
+    public void run() {
+      WORKER.set(this);
+      try {
+        super.run();
+      }
+      finally {
+        WORKER.remove();
+      }
+    }
+
+    @Override
+    protected void done() {
+      if (whenDone != null) {
+        whenDone.accept(this);
+      }
+    }
+
+    @Override
+    public int compareTo(ScheduledJob<?> other) {
+      int result = priority.compareTo(other.priority);
+      if (result == 0) {
+        result = Long.compare(sequence, other.sequence);
+      }
+      return result;
+    }
+  }
+}
@@ -15,12 +15,14 @@
  */
 package org.tinymediamanager.core.threading;
 
+import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 import org.tinymediamanager.core.TmmModuleManager;
+import org.tinymediamanager.core.metrics.TmmMetrics;
 import org.tinymediamanager.license.TmmFeature;
 
 /**
@@ -138,15 +140,25 @@ public abstract class TmmTask implements Runnable, TmmTaskHandle, TmmFeature {
     name = name.replaceAll("\\-G\\d+", "-G" + uniqueId);
     Thread.currentThread().setName(name);
 
+    long startNanos = System.nanoTime();
     start();
     try {
       doInBackground();
     }
     finally {
       finish();
+      TmmMetrics.getInstance()
+          .timer("tmm_task_duration_seconds", "duration of the tasks", "task", getMetricsName(), "state", state.name().toLowerCase(Locale.ROOT))
+          .observeSince(startNanos);
     }
   }
 
+  private String getMetricsName() {
+    // anonymous tasks have no simple name
+    String name = getClass().getSimpleName();
+    return name.isEmpty() ? getClass().getName().substring(getClass().getName().lastIndexOf('.') + 1) : name;
+  }
+
   @Override
   public void cancel() {
     this.cancel = true;
@@ -15,18 +15,25 @@
  */
 package org.tinymediamanager.core.threading;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Locale;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.tinymediamanager.core.Settings;
 import org.tinymediamanager.core.TmmResourceBundle;
+import org.tinymediamanager.core.threading.TmmScheduler.Priority;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
 import org.tinymediamanager.core.threading.TmmTaskHandle.TaskState;
 import org.tinymediamanager.core.threading.TmmThreadPool.TmmThreadFactory;
 
@@ -43,10 +50,10 @@ public class TmmTaskManager implements TmmTaskListener {
   private final Set<TmmTaskHandle>       runningTasks     = new CopyOnWriteArraySet<>();
 
   // we have some "named" queues, holding different types of tasks
-  // image download/subtitle download are rather small/fast tasks - we only queue them in a queue and provide to abort the complete queue
-  private ThreadPoolExecutor             imageDownloadExecutor;
-
-  private ThreadPoolExecutor             imageCacheExecutor;
+  // image download/subtitle download are rather small/fast tasks - we only queue them in a queue and provide to abort the complete queue. These
+  // are background jobs with a low priority in the scheduler
+  private final ScheduledQueue           imageDownloadQueue;
+  private final ScheduledQueue           imageCacheQueue;
 
   // this is a queue which holds "other" tasks
   private ThreadPoolExecutor             unnamedTaskExecutor;
@@ -69,6 +76,8 @@ public class TmmTaskManager implements TmmTaskListener {
   private TmmTaskManager() {
     imageDownloadHandle = new ImageDownloadTaskHandle();
     imageCacheHandle = new ImageCacheTaskHandle();
+    imageDownloadQueue = new ScheduledQueue(ResourceClass.NETWORK, imageDownloadHandle);
+    imageCacheQueue = new ScheduledQueue(ResourceClass.CPU, imageCacheHandle);
 
     Settings.getInstance().addPropertyChangeListener("maximumDownloadThreads", e -> {
       // only need to set this if there is already an executor. otherwise the executor will be created with the right amount
@@ -85,6 +94,12 @@ public class TmmTaskManager implements TmmTaskListener {
         downloadExecutor.prestartAllCoreThreads(); // force new threads to be started if we've increased the thread count
       }
     });
+    Settings.getInstance().addPropertyChangeListener("useVirtualThreads", e -> {
+      // new download threads are created with the right thread factory
+      if (downloadExecutor != null) {
+        downloadExecutor.setThreadFactory(createDownloadThreadFactory());
+      }
+    });
   }
 
   public static TmmTaskManager getInstance() {
@@ -99,54 +114,13 @@ public class TmmTaskManager implements TmmTaskListener {
     taskListener.remove(listener);
   }
 
-  private ThreadPoolExecutor createImageDownloadExecutor() {
-    ThreadPoolExecutor executor = new ThreadPoolExecutor(3, 3, 2, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
-        new TmmThreadFactory("image-download-task")) {
-      @Override
-      protected void beforeExecute(Thread d, Runnable r) {
-        super.beforeExecute(d, r);
-        if (imageDownloadHandle != null) {
-          processTaskEvent(imageDownloadHandle);
-        }
-      }
-
-      @Override
-      protected void afterExecute(Runnable r, Throwable t) {
-        super.afterExecute(r, t);
-        if (imageDownloadHandle != null) {
-          processTaskEvent(imageDownloadHandle);
-        }
-      }
-    };
-    executor.allowCoreThreadTimeOut(true);
-    return executor;
-  }
-
-  private ThreadPoolExecutor createImageCacheExecutor() {
-    int threadCount = Runtime.getRuntime().availableProcessors() / 2;
-    if (threadCount < 2) {
-      threadCount = 2;
-    }
-    ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount, 2, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
-        new TmmThreadFactory("image-cache-task")) {
-      @Override
-      protected void beforeExecute(Thread d, Runnable r) {
-        super.beforeExecute(d, r);
-        if (imageCacheHandle != null) {
-          processTaskEvent(imageCacheHandle);
-        }
-      }
-
-      @Override
-      protected void afterExecute(Runnable r, Throwable t) {
-        super.afterExecute(r, t);
-        if (imageCacheHandle != null) {
-          processTaskEvent(imageCacheHandle);
-        }
-      }
-    };
-    executor.allowCoreThreadTimeOut(true);
-    return executor;
+  /**
+   * the download executor keeps its size (the maximum download threads) in the virtual thread mode too: the setting limits the amount of
+   * concurrent (big) downloads in favor of the bandwidth and the disk, and the downloads usually go to different hosts - so the limit per host
+   * would not limit them at all
+   */
+  private ThreadFactory createDownloadThreadFactory() {
+    return VirtualThreads.isEnabled() ? VirtualThreads.createThreadFactory("download-task") : new TmmThreadFactory("download-task");
   }
 
   private ThreadPoolExecutor createUnnamedTaskExecutor() {
@@ -172,10 +146,7 @@ public class TmmTaskManager implements TmmTaskListener {
       return;
     }
 
-    if (imageDownloadExecutor == null || imageDownloadExecutor.isShutdown()) {
-      imageDownloadExecutor = createImageDownloadExecutor();
-    }
-    imageDownloadExecutor.execute(task);
+    imageDownloadQueue.execute(task);
   }
 
   /**
@@ -189,10 +160,7 @@ public class TmmTaskManager implements TmmTaskListener {
       return;
     }
 
-    if (imageCacheExecutor == null || imageCacheExecutor.isShutdown()) {
-      imageCacheExecutor = createImageCacheExecutor();
-    }
-    imageCacheExecutor.execute(task);
+    imageCacheQueue.execute(task);
   }
 
   /**
@@ -247,7 +215,7 @@ public class TmmTaskManager implements TmmTaskListener {
     if (downloadExecutor == null) {
       downloadExecutor = new ThreadPoolExecutor(Settings.getInstance().getMaximumDownloadThreads(),
           Settings.getInstance().getMaximumDownloadThreads(), 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
-          new TmmThreadFactory("download-task"));
+          createDownloadThreadFactory());
       downloadExecutor.allowCoreThreadTimeOut(true);
     }
     task.setState(TaskState.QUEUED);
@@ -261,18 +229,14 @@ public class TmmTaskManager implements TmmTaskListener {
    * cancel all open and running image downloads
    */
   public void cancelImageDownloads() {
-    if (imageDownloadExecutor != null) {
-      imageDownloadExecutor.shutdownNow();
-    }
+    imageDownloadQueue.cancel();
   }
 
   /**
    * cancel all open and running image cache tasks
    */
   public void cancelImageCache() {
-    if (imageCacheExecutor != null) {
-      imageCacheExecutor.shutdownNow();
-    }
+    imageCacheQueue.cancel();
   }
 
   /**
@@ -308,12 +272,7 @@ public class TmmTaskManager implements TmmTaskListener {
   public void shutdown() {
     isShutdown = true;
 
-    if (imageDownloadExecutor != null) {
-      imageDownloadExecutor.shutdown();
-    }
-    if (imageCacheExecutor != null) {
-      imageCacheExecutor.shutdown();
-    }
+    TmmScheduler.getInstance().shutdown();
     if (unnamedTaskExecutor != null) {
       unnamedTaskExecutor.shutdown();
     }
@@ -347,12 +306,7 @@ public class TmmTaskManager implements TmmTaskListener {
     }
 
     // check if all finished
-    if (imageDownloadExecutor != null && !imageDownloadExecutor.isTerminated()) {
-      imageDownloadExecutor.shutdownNow();
-    }
-    if (imageCacheExecutor != null && !imageCacheExecutor.isTerminated()) {
-      imageCacheExecutor.shutdownNow();
-    }
+    TmmScheduler.getInstance().shutdownNow();
     if (unnamedTaskExecutor != null && !unnamedTaskExecutor.isTerminated()) {
       unnamedTaskExecutor.shutdownNow();
     }
@@ -367,6 +321,15 @@ public class TmmTaskManager implements TmmTaskListener {
     }
   }
 
+  /**
+   * get all currently running tasks
+   *
+   * @return a snapshot of all running tasks
+   */
+  public List<TmmTaskHandle> getRunningTasks() {
+    return new ArrayList<>(runningTasks);
+  }
+
   /**
    * is a TMM thread pool running?!
    */
@@ -380,7 +343,7 @@ public class TmmTaskManager implements TmmTaskListener {
    * @return true/false
    */
   public boolean imageDownloadsRunning() {
-    return imageDownloadExecutor.getActiveCount() > 0 || !imageDownloadExecutor.getQueue().isEmpty();
+    return imageDownloadQueue.getOpenTasks() > 0;
   }
 
   /**
@@ -460,20 +423,12 @@ public class TmmTaskManager implements TmmTaskListener {
 
     @Override
     public int getWorkUnits() {
-      int unit = 0;
-      if (imageDownloadExecutor != null) {
-        unit = (int) imageDownloadExecutor.getTaskCount();
-      }
-      return unit;
+      return imageDownloadQueue.getTaskCount();
     }
 
     @Override
     public int getProgressDone() {
-      int done = 0;
-      if (imageDownloadExecutor != null) {
-        done = (int) imageDownloadExecutor.getCompletedTaskCount();
-      }
-      return done;
+      return imageDownloadQueue.getCompletedTaskCount();
     }
 
     @Override
@@ -482,11 +437,7 @@ public class TmmTaskManager implements TmmTaskListener {
     }
 
     private int getOpenTasks() {
-      int openTasks = 0;
-      if (imageDownloadExecutor != null) {
-        openTasks = imageDownloadExecutor.getQueue().size() + imageDownloadExecutor.getActiveCount();
-      }
-      return openTasks;
+      return imageDownloadQueue.getOpenTasks();
     }
 
     @Override
@@ -522,20 +473,12 @@ public class TmmTaskManager implements TmmTaskListener {
 
     @Override
     public int getWorkUnits() {
-      int unit = 0;
-      if (imageCacheExecutor != null) {
-        unit = (int) imageCacheExecutor.getTaskCount();
-      }
-      return unit;
+      return imageCacheQueue.getTaskCount();
     }
 
     @Override
     public int getProgressDone() {
-      int done = 0;
-      if (imageCacheExecutor != null) {
-        done = (int) imageCacheExecutor.getCompletedTaskCount();
-      }
-      return done;
+      return imageCacheQueue.getCompletedTaskCount();
     }
 
     @Override
@@ -544,11 +487,7 @@ public class TmmTaskManager implements TmmTaskListener {
     }
 
     private int getOpenTasks() {
-      int openTasks = 0;
-      if (imageCacheExecutor != null) {
-        openTasks = imageCacheExecutor.getQueue().size() + imageCacheExecutor.getActiveCount();
-      }
-      return openTasks;
+      return imageCacheQueue.getOpenTasks();
     }
 
     @Override
@@ -575,4 +514,60 @@ public class TmmTaskManager implements TmmTaskListener {
       return getType().name() + " image " + getState().name() + " " + getProgressDone() + "/" + getWorkUnits();
     }
   }
+
+  /**
+   * a queue of small jobs which are executed by the {@link TmmScheduler} (with a low priority); the queue can only be cancelled as a whole
+   */
+  private class ScheduledQueue {
+    private final ResourceClass  resourceClass;
+    private final TmmTaskHandle  handle;
+    private final Set<Future<?>> openJobs       = new HashSet<>();
+    private final AtomicLong     taskCount      = new AtomicLong();
+    private final AtomicLong     completedCount = new AtomicLong();
+
+    private ScheduledQueue(ResourceClass resourceClass, TmmTaskHandle handle) {
+      this.resourceClass = resourceClass;
+      this.handle = handle;
+    }
+
+    private synchronized void execute(Runnable job) {
+      taskCount.incrementAndGet();
+
+      Future<Object> future = TmmScheduler.getInstance().submit(resourceClass, null, Priority.LOW, () -> {
+        processTaskEvent(handle);
+        job.run();
+        return null;
+      }, this::jobDone);
+
+      if (!future.isDone()) {
+        openJobs.add(future);
+      }
+    }
+
+    private void jobDone(Future<Object> future) {
+      synchronized (this) {
+        openJobs.remove(future);
+      }
+      completedCount.incrementAndGet();
+      processTaskEvent(handle);
+    }
+
+    private synchronized void cancel() {
+      for (Future<?> future : new ArrayList<>(openJobs)) {
+        future.cancel(true);
+      }
+    }
+
+    private int getTaskCount() {
+      return (int) taskCount.get();
+    }
+
+    private int getCompletedTaskCount() {
+      return (int) completedCount.get();
+    }
+
+    private int getOpenTasks() {
+      return (int) (taskCount.get() - completedCount.get());
+    }
+  }
 }
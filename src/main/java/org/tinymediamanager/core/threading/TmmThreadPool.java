@@ -15,39 +15,55 @@
  */
 package org.tinymediamanager.core.threading;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
-import java.util.concurrent.CompletionService;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.tinymediamanager.core.threading.TmmScheduler.Priority;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
 
 /**
- * The Class TmmThreadPool.
+ * The Class TmmThreadPool. The jobs of the thread pool are executed by the central {@link TmmScheduler} - the thread pool itself only limits the
+ * amount of its own concurrently running jobs.
  * 
  * @author Myron Boyle, Manuel Laggner
  */
 public abstract class TmmThreadPool extends TmmTask {
-  private static final Logger       LOGGER  = LoggerFactory.getLogger(TmmThreadPool.class);
+  private static final Logger                     LOGGER         = LoggerFactory.getLogger(TmmThreadPool.class);
+  private static final ThreadLocal<TmmThreadPool> CURRENT_POOL   = new ThreadLocal<>();
 
-  private ThreadPoolExecutor        pool    = null;
-  private CompletionService<Object> service = null;
+  private final BlockingQueue<Future<?>>          completed      = new LinkedBlockingQueue<>();
+  private final Deque<PendingJob>                 pending        = new ArrayDeque<>();
+  private final Set<Future<?>>                    running        = new HashSet<>();
+  private final Deque<NestedJob>                  nested         = new ArrayDeque<>();
 
-  protected String                  poolname;
+  private int                                     maxConcurrency = 1;
+  private ResourceClass                           resourceClass  = ResourceClass.CPU;
+  private Object                                  device         = null;
+  private Priority                                priority       = Priority.NORMAL;
+
+  protected String                                poolname;
 
   protected TmmThreadPool(String taskName) {
     super(taskName, 0, TaskType.MAIN_TASK);
   }
 
   /**
-   * create new ThreadPool.
+   * create new ThreadPool for CPU bound jobs.
    * 
    * @param threads
    *          amount of threads
@@ -55,15 +71,87 @@ public abstract class TmmThreadPool extends TmmTask {
    *          a name for the logging
    */
   protected void initThreadPool(int threads, String name) {
+    initThreadPool(threads, name, ResourceClass.CPU);
+  }
+
+  /**
+   * create new ThreadPool.
+   *
+   * @param threads
+   *          the maximum amount of concurrently running jobs of this pool
+   * @param name
+   *          a name for the logging
+   * @param resourceClass
+   *          the resource which is mainly used by the jobs of this pool
+   */
+  protected void initThreadPool(int threads, String name, ResourceClass resourceClass) {
+    initThreadPool(threads, name, resourceClass, null);
+  }
+
+  /**
+   * create new ThreadPool for jobs on the given device.
+   *
+   * @param threads
+   *          the maximum amount of concurrently running jobs of this pool
+   * @param name
+   *          a name for the logging
+   * @param resourceClass
+   *          the resource which is mainly used by the jobs of this pool
+   * @param device
+   *          the key of the device all jobs of this pool work on (see {@link TmmScheduler#getDeviceKey(java.nio.file.Path)})
+   */
+  protected synchronized void initThreadPool(int threads, String name, ResourceClass resourceClass, Object device) {
     this.cancel = false;
     this.poolname = name;
-    pool = new ThreadPoolExecutor(threads, threads, // max threads
-        2, TimeUnit.SECONDS, // time to wait before closing idle workers
-        new LinkedBlockingQueue<>(), // our queue
-        new TmmThreadFactory(name) // our thread settings
-    );
-    pool.allowCoreThreadTimeOut(true);
-    this.service = new ExecutorCompletionService<>(pool);
+    if (resourceClass == ResourceClass.NETWORK && VirtualThreads.isEnabled()) {
+      // no need to limit the network jobs by the pool size - the load per provider is limited by the HTTP client
+      this.maxConcurrency = Math.max(threads, VirtualThreads.MAX_NETWORK_CONCURRENCY);
+    }
+    else {
+      this.maxConcurrency = Math.max(1, threads);
+    }
+    this.resourceClass = resourceClass;
+    this.device = device;
+    this.completed.clear();
+    this.pending.clear();
+    this.running.clear();
+    this.nested.clear();
+  }
+
+  /**
+   * set the priority for the jobs of this pool in the {@link TmmScheduler}
+   *
+   * @param priority
+   *          the priority
+   */
+  public void setPriority(Priority priority) {
+    this.priority = priority;
+  }
+
+  public Priority getPriority() {
+    return priority;
+  }
+
+  public ResourceClass getResourceClass() {
+    return resourceClass;
+  }
+
+  /**
+   * get the amount of running jobs of this pool
+   *
+   * @return the amount of running jobs
+   */
+  public synchronized int getRunningJobs() {
+    return running.size();
+  }
+
+  /**
+   * get the amount of jobs of this pool which are waiting for execution
+   *
+   * @return the amount of waiting jobs
+   */
+  public synchronized int getQueuedJobs() {
+    return pending.size();
   }
 
   /**
@@ -72,23 +160,129 @@ public abstract class TmmThreadPool extends TmmTask {
    * @param task
    *          the callable
    */
-  protected synchronized void submitTask(Callable<Object> task) {
-    if (!cancel) {
+  protected void submitTask(Callable<Object> task) {
+    submitTask(task, device);
+  }
+
+  /**
+   * submits a new callable for the given device to the thread pool.
+   *
+   * @param task
+   *          the callable
+   * @param device
+   *          the key of the device the job works on (see {@link TmmScheduler#getDeviceKey(java.nio.file.Path)}); only used for disk jobs
+   */
+  protected void submitTask(Callable<Object> task, Object device) {
+    synchronized (this) {
+      if (cancel) {
+        return;
+      }
       workUnits++;
-      service.submit(task);
+
+      if (!TmmScheduler.isWorkerThread() || CURRENT_POOL.get() == this) {
+        pending.add(new PendingJob(wrap(task), device));
+        dispatch();
+        return;
+      }
+    }
+
+    // this pool runs embedded in a job of another pool: the budget may be held by the outer pool, so the waiting worker takes part in the work
+    // and runs all jobs which have not been started by the scheduler yet (like TmmScheduler.runAll)
+    FutureTask<Object> job = new FutureTask<>(wrap(task)) {
+      @Override
+      protected void done() {
+        jobDone(this);
+      }
+    };
+    synchronized (this) {
+      running.add(job);
+    }
+    Future<Object> scheduled = TmmScheduler.getInstance().submit(resourceClass, device, priority, job);
+    synchronized (this) {
+      nested.add(new NestedJob(job, scheduled));
     }
   }
 
+  private Callable<Object> wrap(Callable<Object> task) {
+    return () -> {
+      TmmThreadPool outer = CURRENT_POOL.get();
+      CURRENT_POOL.set(this);
+      try {
+        return task.call();
+      }
+      finally {
+        CURRENT_POOL.set(outer);
+      }
+    };
+  }
+
   /**
    * submits a new runnable to thread pool.
    * 
    * @param task
    *          the runnable
    */
-  protected synchronized void submitTask(Runnable task) {
-    if (!cancel) {
-      workUnits++;
-      service.submit(task, "");
+  protected void submitTask(Runnable task) {
+    submitTask(Executors.callable(task, ""));
+  }
+
+  /**
+   * submits a new runnable for the given device to the thread pool.
+   *
+   * @param task
+   *          the runnable
+   * @param device
+   *          the key of the device the job works on (see {@link TmmScheduler#getDeviceKey(java.nio.file.Path)}); only used for disk jobs
+   */
+  protected void submitTask(Runnable task, Object device) {
+    submitTask(Executors.callable(task, ""), device);
+  }
+
+  private synchronized void dispatch() {
+    while (!cancel && running.size() < maxConcurrency && !pending.isEmpty()) {
+      PendingJob job = pending.poll();
+      Future<Object> future = TmmScheduler.getInstance().submit(resourceClass, job.device(), priority, job.callable(), this::jobDone);
+      if (!future.isDone()) {
+        // an already finished job (e.g. rejected after the shutdown) must not be tracked as running
+        running.add(future);
+      }
+    }
+  }
+
+  private void jobDone(Future<Object> future) {
+    // add to the completed queue _before_ removing from the running jobs to not miss any result in waitForCompletionOrCancel
+    completed.add(future);
+
+    synchronized (this) {
+      running.remove(future);
+      dispatch();
+    }
+  }
+
+  private synchronized boolean isIdle() {
+    return pending.isEmpty() && running.isEmpty();
+  }
+
+  /**
+   * run the next nested job which has not been started by the scheduler yet in the calling thread
+   *
+   * @return true if a job has been run
+   */
+  private boolean runNestedJob() {
+    while (true) {
+      NestedJob job;
+      synchronized (this) {
+        job = nested.poll();
+      }
+      if (job == null) {
+        return false;
+      }
+
+      if (job.scheduled().isCancelled() || job.scheduled().cancel(false)) {
+        // not started yet (or not accepted after a shutdown) - run it in the calling thread
+        job.task().run();
+        return true;
+      }
     }
   }
 
@@ -96,11 +290,9 @@ public abstract class TmmThreadPool extends TmmTask {
    * Wait for completion or cancel.
    */
   protected void waitForCompletionOrCancel() {
-
-    pool.shutdown();
     while (true) {
       try {
-        final Future<Object> future = service.poll(500, TimeUnit.MILLISECONDS);
+        final Future<?> future = runNestedJob() ? completed.poll() : completed.poll(500, TimeUnit.MILLISECONDS);
         if (cancel) {
           break;
         }
@@ -109,8 +301,8 @@ public abstract class TmmThreadPool extends TmmTask {
           progressDone++;
           callback(future.get());
         }
-        else if (pool.isTerminated()) {
-          // no result got and the pool is terminated -> we're finished
+        else if (isIdle() && completed.isEmpty()) {
+          // no result got and nothing is running any more -> we're finished
           break;
         }
       }
@@ -118,14 +310,21 @@ public abstract class TmmThreadPool extends TmmTask {
         LOGGER.error("ThreadPool {} interrupted!", poolname);
         cancel = true;
       }
-      catch (ExecutionException e) {
+      catch (ExecutionException | CancellationException e) {
         LOGGER.error("ThreadPool {}: Error getting result! - {}", poolname, e.getMessage());
       }
     }
 
     if (cancel) {
       LOGGER.info("Abort queue (discarding {} tasks)", workUnits - progressDone);
-      pool.shutdownNow();
+      synchronized (this) {
+        pending.clear();
+        nested.forEach(job -> job.scheduled().cancel(false));
+        nested.clear();
+        for (Future<?> future : new HashSet<>(running)) {
+          future.cancel(true);
+        }
+      }
     }
   }
 
@@ -137,15 +336,21 @@ public abstract class TmmThreadPool extends TmmTask {
    */
   public abstract void callback(Object obj);
 
+  private record PendingJob(Callable<Object> callable, Object device) {
+  }
+
+  private record NestedJob(FutureTask<Object> task, Future<Object> scheduled) {
+  }
+
   /**
    * a copy of the default thread factory, just to set the pool name.
    */
-  static class TmmThreadFactory implements ThreadFactory {
+  public static class TmmThreadFactory implements ThreadFactory {
     final ThreadGroup   group;
     final AtomicInteger threadNumber = new AtomicInteger(1);
     final String        namePrefix;
 
-    TmmThreadFactory(String poolname) {
+    public TmmThreadFactory(String poolname) {
       SecurityManager s = System.getSecurityManager();
       group = (s != null) ? s.getThreadGroup() : Thread.currentThread().getThreadGroup();
       namePrefix = "tmmpool-" + poolname + "-T";
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.threading;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tinymediamanager.scraper.http.TmmHttpHostLimitInterceptor;
+
+/**
+ * The class {@link VirtualThreads} offers access to the virtual threads of newer JDKs (21+). Since tinyMediaManager is still built for Java 17,
+ * the virtual threads are accessed via reflection.<br />
+ * In the (opt-in) virtual thread mode the network bound jobs run in virtual threads - the concurrency is no longer limited by the size of the
+ * thread pools, but by the amount of concurrent requests per provider (see {@link TmmHttpHostLimitInterceptor}).
+ *
+ * @author Manuel Laggner
+ */
+public class VirtualThreads {
+  private static final Logger     LOGGER                  = LoggerFactory.getLogger(VirtualThreads.class);
+
+  /**
+   * the maximum amount of concurrent requests per provider in the virtual thread mode
+   */
+  public static final int         MAX_REQUESTS_PER_HOST   = 4;
+  /**
+   * the maximum amount of concurrently running network jobs (per pool) in the virtual thread mode
+   */
+  public static final int         MAX_NETWORK_CONCURRENCY = 64;
+
+  private static final Method     OF_VIRTUAL              = findOfVirtual();
+  private static volatile boolean enabled                 = false;
+
+  private VirtualThreads() {
+    throw new IllegalAccessError();
+  }
+
+  private static Method findOfVirtual() {
+    try {
+      return Thread.class.getMethod("ofVirtual");
+    }
+    catch (Exception e) {
+      return null;
+    }
+  }
+
+  /**
+   * check if the running JDK supports virtual threads
+   *
+   * @return true if virtual threads are available
+   */
+  public static boolean isSupported() {
+    return OF_VIRTUAL != null;
+  }
+
+  /**
+   * check if the virtual thread mode is active (enabled and supported by the JDK)
+   *
+   * @return true if network jobs should run in virtual threads
+   */
+  public static boolean isEnabled() {
+    return enabled && isSupported();
+  }
+
+  /**
+   * enable/disable the virtual thread mode. This also sets the limit of concurrent requests per provider
+   *
+   * @param enable
+   *          true to enable the virtual thread mode
+   */
+  public static void setEnabled(boolean enable) {
+    if (enable && !isSupported()) {
+      LOGGER.info("virtual threads are not supported by this JDK ({}) - using platform threads", System.getProperty("java.version"));
+    }
+
+    enabled = enable;
+    TmmHttpHostLimitInterceptor.setMaxRequestsPerHost(isEnabled() ? MAX_REQUESTS_PER_HOST : 0);
+  }
+
+  /**
+   * create a {@link ThreadFactory} for virtual threads. If virtual threads are not supported, a {@link TmmThreadPool.TmmThreadFactory} is being
+   * returned
+   *
+   * @param poolname
+   *          the name of the pool (for the thread names)
+   * @return the {@link ThreadFactory}
+   */
+  public static ThreadFactory createThreadFactory(String poolname) {
+    if (isSupported()) {
+      try {
+        // Thread.ofVirtual().name(prefix, 1).factory()
+        Object builder = OF_VIRTUAL.invoke(null);
+        Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+        builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "tmmvirtual-" + poolname + "-T", 1L);
+        return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+      }
+      catch (Exception e) {
+        LOGGER.debug("could not create virtual thread factory - {}", e.getMessage());
+      }
+    }
+
+    return new TmmThreadPool.TmmThreadFactory(poolname);
+  }
+}
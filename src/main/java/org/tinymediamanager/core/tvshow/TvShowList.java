@@ -15,12 +15,16 @@
  */
 package org.tinymediamanager.core.tvshow;
 
+import static org.tinymediamanager.core.Constants.ADDED_EPISODE;
 import static org.tinymediamanager.core.Constants.ADDED_TV_SHOW;
 import static org.tinymediamanager.core.Constants.EPISODE_COUNT;
 import static org.tinymediamanager.core.Constants.MEDIA_FILES;
 import static org.tinymediamanager.core.Constants.MEDIA_INFORMATION;
+import static org.tinymediamanager.core.Constants.ORIGINAL_TITLE;
+import static org.tinymediamanager.core.Constants.REMOVED_EPISODE;
 import static org.tinymediamanager.core.Constants.REMOVED_TV_SHOW;
 import static org.tinymediamanager.core.Constants.TAGS;
+import static org.tinymediamanager.core.Constants.TITLE;
 import static org.tinymediamanager.core.Constants.TV_SHOWS;
 import static org.tinymediamanager.core.Constants.TV_SHOW_COUNT;
 
@@ -43,6 +47,7 @@ import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -54,16 +59,23 @@ import org.slf4j.LoggerFactory;
 import org.tinymediamanager.TmmOsUtils;
 import org.tinymediamanager.UpgradeTasks;
 import org.tinymediamanager.core.AbstractModelObject;
+import org.tinymediamanager.core.AbstractSettings.UniversalFilterFields;
 import org.tinymediamanager.core.Constants;
+import org.tinymediamanager.core.DuplicateIndex;
+import org.tinymediamanager.core.FacetIndex;
 import org.tinymediamanager.core.ImageCache;
 import org.tinymediamanager.core.MediaFileType;
 import org.tinymediamanager.core.Message;
 import org.tinymediamanager.core.Message.MessageLevel;
 import org.tinymediamanager.core.MessageManager;
+import org.tinymediamanager.core.MultiProviderSearch;
+import org.tinymediamanager.core.TextSearchIndex;
 import org.tinymediamanager.core.Utils;
 import org.tinymediamanager.core.entities.MediaFile;
 import org.tinymediamanager.core.entities.MediaFileAudioStream;
 import org.tinymediamanager.core.entities.MediaFileSubtitle;
+import org.tinymediamanager.core.entities.Person;
+import org.tinymediamanager.core.metrics.TmmMetrics;
 import org.tinymediamanager.core.tvshow.TvShowEpisodeAndSeasonParser.EpisodeMatchingResult;
 import org.tinymediamanager.core.tvshow.entities.TvShow;
 import org.tinymediamanager.core.tvshow.entities.TvShowEpisode;
@@ -96,6 +108,12 @@ public final class TvShowList extends AbstractModelObject {
   private static TvShowList                              instance      = null;
 
   private final List<TvShow>                             tvShows;
+  private final FacetIndex<TvShow>                       facetIndex;
+  private final TextSearchIndex<TvShow>                  textSearchIndex;
+  private final FacetIndex<TvShowEpisode>                episodeFacetIndex;
+  private final TextSearchIndex<TvShowEpisode>           episodeTextSearchIndex;
+  private final DuplicateIndex<TvShow>                   duplicateIndex;
+  private final DuplicateIndex<TvShowEpisode>            episodeDuplicateIndex;
 
   private final CopyOnWriteArrayList<String>             tagsInTvShows;
   private final CopyOnWriteArrayList<String>             tagsInEpisodes;
@@ -123,6 +141,13 @@ public final class TvShowList extends AbstractModelObject {
   private TvShowList() {
     // create the lists
     tvShows = new ObservableElementList<>(GlazedLists.threadSafeList(new BasicEventList<>()), GlazedLists.beanConnector(TvShow.class));
+    facetIndex = new FacetIndex<>();
+    textSearchIndex = createTextSearchIndex(facetIndex);
+    episodeFacetIndex = new FacetIndex<>();
+    episodeTextSearchIndex = createEpisodeTextSearchIndex(episodeFacetIndex);
+    duplicateIndex = new DuplicateIndex<>(facetIndex, TvShowList::getDuplicateKeys, tvShow -> null, () -> false);
+    episodeDuplicateIndex = new DuplicateIndex<>(episodeFacetIndex, TvShowList::getDuplicateKeys, TvShowList::getFingerprintFile,
+        () -> TvShowModuleManager.getInstance().getSettings().isDuplicateFingerprintMode());
     tagsInTvShows = new CopyOnWriteArrayList<>();
     tagsInEpisodes = new CopyOnWriteArrayList<>();
     videoCodecsInEpisodes = new CopyOnWriteArrayList<>();
@@ -155,14 +180,78 @@ public final class TvShowList extends AbstractModelObject {
       if (EPISODE_COUNT.equals(evt.getPropertyName())) {
         firePropertyChange(EPISODE_COUNT, evt.getOldValue(), evt.getNewValue());
       }
+      // keep the episode index in sync (this listener is registered before the UI, so the index is informed first)
+      if (ADDED_EPISODE.equals(evt.getPropertyName()) && evt.getSource() instanceof TvShow && evt.getNewValue() instanceof TvShowEpisode episode) {
+        episodeFacetIndex.add(episode);
+      }
+      if (REMOVED_EPISODE.equals(evt.getPropertyName()) && evt.getSource() instanceof TvShow && evt.getNewValue() instanceof TvShowEpisode episode) {
+        episodeFacetIndex.remove(episode);
+      }
     };
 
+    TvShowModuleManager.getInstance().getSettings().addPropertyChangeListener(evt -> {
+      if ("duplicateFingerprintMode".equals(evt.getPropertyName())) {
+        episodeDuplicateIndex.invalidateAll();
+      }
+    });
+
     License.getInstance().addEventListener(() -> {
       firePropertyChange(TV_SHOW_COUNT, 0, tvShows.size());
       firePropertyChange(EPISODE_COUNT, 0, 1);
     });
   }
 
+  private static TextSearchIndex<TvShow> createTextSearchIndex(FacetIndex<TvShow> facetIndex) {
+    TextSearchIndex<TvShow> index = new TextSearchIndex<>(facetIndex);
+
+    index.registerField(TITLE, tvShow -> Collections.singletonList(tvShow.getTitle()));
+    index.registerField(ORIGINAL_TITLE, tvShow -> Collections.singletonList(tvShow.getOriginalTitle()));
+
+    // the fields of the universal filter which are available for TV shows
+    index.registerField(UniversalFilterFields.NOTE.name(), tvShow -> Collections.singletonList(tvShow.getNote()));
+    index.registerField(UniversalFilterFields.FILENAME.name(), tvShow -> getFilenames(tvShow.getMediaFiles()));
+    index.registerField(UniversalFilterFields.PRODUCTION_COMPANY.name(), tvShow -> Collections.singletonList(tvShow.getProductionCompany()));
+    index.registerField(UniversalFilterFields.COUNTRY.name(), tvShow -> Collections.singletonList(tvShow.getCountry()));
+    index.registerField(UniversalFilterFields.ACTOR.name(), tvShow -> getPersonNames(tvShow.getActors()));
+    index.registerField(UniversalFilterFields.TAGS.name(), TvShow::getTags);
+
+    return index;
+  }
+
+  private static TextSearchIndex<TvShowEpisode> createEpisodeTextSearchIndex(FacetIndex<TvShowEpisode> facetIndex) {
+    TextSearchIndex<TvShowEpisode> index = new TextSearchIndex<>(facetIndex);
+
+    index.registerField(TITLE, episode -> Collections.singletonList(episode.getTitle()));
+    index.registerField(ORIGINAL_TITLE, episode -> Collections.singletonList(episode.getOriginalTitle()));
+
+    // the fields of the universal filter which are available for episodes
+    index.registerField(UniversalFilterFields.NOTE.name(), episode -> Collections.singletonList(episode.getNote()));
+    index.registerField(UniversalFilterFields.FILENAME.name(), episode -> getFilenames(episode.getMediaFiles()));
+    index.registerField(UniversalFilterFields.PRODUCTION_COMPANY.name(), episode -> Collections.singletonList(episode.getProductionCompany()));
+    index.registerField(UniversalFilterFields.ACTOR.name(), episode -> episode.getPersonNames(Person.Type.ACTOR));
+    index.registerField(UniversalFilterFields.DIRECTOR.name(), episode -> episode.getPersonNames(Person.Type.DIRECTOR));
+    index.registerField(UniversalFilterFields.WRITER.name(), episode -> episode.getPersonNames(Person.Type.WRITER));
+    index.registerField(UniversalFilterFields.TAGS.name(), TvShowEpisode::getTags);
+
+    return index;
+  }
+
+  private static List<String> getFilenames(Collection<MediaFile> mediaFiles) {
+    List<String> filenames = new ArrayList<>();
+    for (MediaFile mediaFile : mediaFiles) {
+      filenames.add(mediaFile.getFilename());
+    }
+    return filenames;
+  }
+
+  private static List<String> getPersonNames(Collection<Person> persons) {
+    List<String> names = new ArrayList<>();
+    for (Person person : persons) {
+      names.add(person.getName());
+    }
+    return names;
+  }
+
   /**
    * Gets the single instance of TvShowList.
    * 
@@ -193,6 +282,69 @@ public final class TvShowList extends AbstractModelObject {
     return tvShows;
   }
 
+  /**
+   * Gets the {@link FacetIndex} over all TV shows. The index is maintained by the TV show list; facets can be registered by any consumer (e.g. the
+   * UI filters)
+   *
+   * @return the {@link FacetIndex} for all TV shows
+   */
+  public FacetIndex<TvShow> getFacetIndex() {
+    return facetIndex;
+  }
+
+  /**
+   * Gets the {@link TextSearchIndex} over the text fields of all TV shows (titles and the TV show fields of the universal filter)
+   *
+   * @return the {@link TextSearchIndex} for all TV shows
+   */
+  public TextSearchIndex<TvShow> getTextSearchIndex() {
+    return textSearchIndex;
+  }
+
+  /**
+   * Gets the {@link TextSearchIndex} over the text fields of all episodes (titles and the episode fields of the universal filter)
+   *
+   * @return the {@link TextSearchIndex} for all episodes
+   */
+  public TextSearchIndex<TvShowEpisode> getEpisodeTextSearchIndex() {
+    return episodeTextSearchIndex;
+  }
+
+  /**
+   * search all TV shows containing the given text (case insensitive, without diacritics) in their titles or in any TV show field of the universal
+   * filter
+   *
+   * @param searchTerm
+   *          the text to search for
+   * @return a {@link List} of all matching TV shows
+   */
+  public List<TvShow> searchTvShows(String searchTerm) {
+    return textSearchIndex.search(searchTerm, getSearchFields(UniversalFilterFields.NOTE, UniversalFilterFields.FILENAME,
+        UniversalFilterFields.PRODUCTION_COMPANY, UniversalFilterFields.COUNTRY, UniversalFilterFields.ACTOR, UniversalFilterFields.TAGS));
+  }
+
+  /**
+   * search all episodes containing the given text (case insensitive, without diacritics) in their titles or in any episode field of the universal
+   * filter
+   *
+   * @param searchTerm
+   *          the text to search for
+   * @return a {@link List} of all matching episodes
+   */
+  public List<TvShowEpisode> searchEpisodes(String searchTerm) {
+    return episodeTextSearchIndex.search(searchTerm,
+        getSearchFields(UniversalFilterFields.NOTE, UniversalFilterFields.FILENAME, UniversalFilterFields.PRODUCTION_COMPANY,
+            UniversalFilterFields.ACTOR, UniversalFilterFields.DIRECTOR, UniversalFilterFields.WRITER, UniversalFilterFields.TAGS));
+  }
+
+  private List<String> getSearchFields(UniversalFilterFields... filterFields) {
+    List<String> fields = new ArrayList<>(List.of(TITLE, ORIGINAL_TITLE));
+    for (UniversalFilterFields field : filterFields) {
+      fields.add(field.name());
+    }
+    return fields;
+  }
+
   /**
    * Gets all episodes
    *
@@ -296,6 +448,9 @@ public final class TvShowList extends AbstractModelObject {
   public void addTvShow(TvShow newValue) {
     readWriteLock.writeLock().lock();
     int oldValue = tvShows.size();
+    // the facet index needs to be informed before the TV show list about any change
+    facetIndex.add(newValue);
+    episodeFacetIndex.addAll(newValue.getEpisodes());
     tvShows.add(newValue);
     readWriteLock.writeLock().unlock();
 
@@ -382,6 +537,10 @@ public final class TvShowList extends AbstractModelObject {
     // first remove the TV show itself to deregister the events in the UI (no more UI handling of the tbe removed episodes needed)
     tvShows.remove(tvShow);
     readWriteLock.writeLock().unlock();
+    facetIndex.remove(tvShow);
+    for (TvShowEpisode episode : tvShow.getEpisodes()) {
+      episodeFacetIndex.remove(episode);
+    }
 
     firePropertyChange(TV_SHOWS, null, tvShows);
     firePropertyChange(REMOVED_TV_SHOW, null, tvShow);
@@ -435,6 +594,10 @@ public final class TvShowList extends AbstractModelObject {
     int oldValue = tvShows.size();
     tvShows.remove(tvShow);
     readWriteLock.writeLock().unlock();
+    facetIndex.remove(tvShow);
+    for (TvShowEpisode episode : tvShow.getEpisodes()) {
+      episodeFacetIndex.remove(episode);
+    }
 
     tvShow.deleteFilesSafely();
 
@@ -586,6 +749,8 @@ public final class TvShowList extends AbstractModelObject {
       }
     });
     long end = System.nanoTime();
+    TmmMetrics.getInstance().timer("tmm_db_load_duration_seconds", "duration of loading the entities from the database", "entity", "tvshow")
+        .observeNanos(end - start);
     // remove orphaned defect TV shows
     for (UUID uuid : toRemove) {
       tvShowMap.remove(uuid);
@@ -635,6 +800,8 @@ public final class TvShowList extends AbstractModelObject {
       }
     });
     end = System.nanoTime();
+    TmmMetrics.getInstance().timer("tmm_db_load_duration_seconds", "duration of loading the entities from the database", "entity", "season")
+        .observeNanos(end - start);
     // remove orphaned seasons
     for (UUID uuid : toRemove) {
       seasonMap.remove(uuid);
@@ -689,6 +856,8 @@ public final class TvShowList extends AbstractModelObject {
       }
     });
     end = System.nanoTime();
+    TmmMetrics.getInstance().timer("tmm_db_load_duration_seconds", "duration of loading the entities from the database", "entity", "episode")
+        .observeNanos(end - start);
     // remove orphaned episodes
     for (UUID uuid : toRemove) {
       episodesMap.remove(uuid);
@@ -710,7 +879,8 @@ public final class TvShowList extends AbstractModelObject {
       tvShowsFromDb.remove(tvShow);
     }
 
-    // and add all TV shows to the UI
+    // and add all TV shows to the UI (the facet index needs to be informed before the TV show list about any change)
+    facetIndex.addAll(tvShowsFromDb);
     tvShows.addAll(tvShowsFromDb);
   }
 
@@ -736,6 +906,8 @@ public final class TvShowList extends AbstractModelObject {
       tvShow.addPropertyChangeListener(propertyChangeListener);
     }
 
+    episodeFacetIndex.addAll(episodes);
+
     updateTvShowTags(tvShows);
     updateCertification(tvShows);
 
@@ -1035,6 +1207,39 @@ public final class TvShowList extends AbstractModelObject {
     return new ArrayList<>(results);
   }
 
+  /**
+   * Search tv show with all given scrapers concurrently. The results of the scrapers are merged (results sharing an id are only listed once) and
+   * cached in the given {@link MultiProviderSearch} session.
+   *
+   * @param searchTerm
+   *          the search term
+   * @param year
+   *          the year of the TV show (if available, otherwise <= 0)
+   * @param ids
+   *          a map of all available ids of the TV show or null if no id based search is requested
+   * @param mediaScrapers
+   *          the media scrapers (in the order of their preference)
+   * @param language
+   *          the language to search with
+   * @param session
+   *          the {@link MultiProviderSearch} holding the cached results (e.g. of the chooser dialog)
+   * @param listener
+   *          an optional listener which gets the merged results whenever a scraper has answered
+   * @throws ScrapeException
+   *           the first {@link ScrapeException} occurred if no scraper delivered any result
+   * @throws InterruptedException
+   *           if the search has been interrupted
+   * @return the merged results of all scrapers
+   */
+  public List<MultiProviderSearch.Result> searchTvShow(String searchTerm, int year, Map<String, Object> ids, List<MediaScraper> mediaScrapers,
+      MediaLanguages language, MultiProviderSearch session, Consumer<List<MultiProviderSearch.Result>> listener)
+      throws ScrapeException, InterruptedException {
+    List<MediaScraper> scrapers = mediaScrapers.stream().filter(MediaScraper::isEnabled).toList();
+    String query = searchTerm + "|" + year + "|" + ids + "|" + language;
+
+    return session.search(scrapers, query, scraper -> searchTvShow(searchTerm, year, ids, scraper, language), listener);
+  }
+
   private void updateTvShowTags(Collection<TvShow> tvShows) {
     Set<String> tags = new HashSet<>();
     tvShows.forEach(tvShow -> tags.addAll(tvShow.getTags()));
@@ -1305,22 +1510,8 @@ public final class TvShowList extends AbstractModelObject {
    * @return the tv episodes by file
    */
   public static List<TvShowEpisode> getTvEpisodesByFile(TvShow tvShow, Path file) {
-    List<TvShowEpisode> episodes = new ArrayList<>(1);
-    // validy check
-    if (file == null) {
-      return episodes;
-    }
-
-    // check if that file is in this tv show/episode (iterating thread safe)
-    for (TvShowEpisode episode : new ArrayList<>(tvShow.getEpisodes())) {
-      for (MediaFile mediaFile : new ArrayList<>(episode.getMediaFiles())) {
-        if (file.equals(mediaFile.getFile())) {
-          episodes.add(episode);
-        }
-      }
-    }
-
-    return episodes;
+    // indexed lookup in the tv show
+    return tvShow.getEpisodesByFile(file);
   }
 
   /**
@@ -1473,49 +1664,40 @@ public final class TvShowList extends AbstractModelObject {
   }
 
   /**
-   * search all episodes of all TV shows for duplicates (duplicate S/E)
+   * search all TV shows (duplicate IDs) and all episodes of all TV shows (duplicate S/E - and in the fingerprint mode the same content) for
+   * duplicates. The duplicates are maintained incrementally; only the flags of entities which became or are no longer a duplicate are changed
    */
   public void searchDuplicateEpisodes() {
-    Map<String, TvShow> showMap = new HashMap<>();
-    for (TvShow tvShow : getTvShows()) {
-      Map<String, Object> ids = tvShow.getIds();
-      for (var entry : ids.entrySet()) {
-        // ignore collection "IDs"
-        if (MediaMetadata.TMDB_SET.equalsIgnoreCase(entry.getKey()) || "tmdbcol".equalsIgnoreCase(entry.getKey())) {
-          continue;
-        }
-        String id = entry.getKey() + entry.getValue();
+    duplicateIndex.updateDuplicateFlags();
+    episodeDuplicateIndex.updateDuplicateFlags();
+  }
 
-        if (showMap.containsKey(id)) {
-          // yes - set duplicate flag on both tvShows
-          tvShow.setDuplicate();
-          TvShow show2 = showMap.get(id);
-          show2.setDuplicate();
-        }
-        else {
-          // no, store show
-          showMap.put(id, tvShow);
-        }
+  private static Collection<String> getDuplicateKeys(TvShow tvShow) {
+    List<String> keys = new ArrayList<>();
+    for (var entry : tvShow.getIds().entrySet()) {
+      // ignore collection "IDs"
+      if (MediaMetadata.TMDB_SET.equalsIgnoreCase(entry.getKey()) || "tmdbcol".equalsIgnoreCase(entry.getKey())) {
+        continue;
       }
+      keys.add(entry.getKey() + entry.getValue());
+    }
+    return keys;
+  }
 
-      // check for every episode
-      Map<String, TvShowEpisode> episodeMap = new HashMap<>();
-      for (TvShowEpisode episode : tvShow.getEpisodes()) {
-        if (episode.getSeason() == -1 || episode.getEpisode() == -1) {
-          continue;
-        }
-        String se = "S" + episode.getSeason() + "E" + episode.getEpisode();
+  static Collection<String> getDuplicateKeys(TvShowEpisode episode) {
+    // duplicate S/E within the same TV show
+    if (episode.getSeason() == -1 || episode.getEpisode() == -1 || episode.getTvShowDbId() == null) {
+      return Collections.emptyList();
+    }
+    return Collections.singletonList(episode.getTvShowDbId() + ":S" + episode.getSeason() + "E" + episode.getEpisode());
+  }
 
-        TvShowEpisode duplicate = episodeMap.get(se);
-        if (duplicate != null) {
-          duplicate.setDuplicate();
-          episode.setDuplicate();
-        }
-        else {
-          episodeMap.put(se, episode);
-        }
-      }
+  static MediaFile getFingerprintFile(TvShowEpisode episode) {
+    // all episodes of a multi episode file share the same fingerprint - they are no duplicates
+    if (episode.isMultiEpisode()) {
+      return null;
     }
+    return episode.getMainVideoFile();
   }
 
   public List<TvShowScraperMetadataConfig> detectMissingMetadata(TvShow tvShow) {
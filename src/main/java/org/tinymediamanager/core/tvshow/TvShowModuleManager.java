@@ -15,20 +15,15 @@
  */
 package org.tinymediamanager.core.tvshow;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.TimeZone;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.UUID;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
-import org.apache.commons.lang3.StringUtils;
 import org.h2.mvstore.MVMap;
 import org.h2.mvstore.MVStore;
 import org.slf4j.Logger;
@@ -41,12 +36,17 @@ import org.tinymediamanager.core.NullKeySerializer;
 import org.tinymediamanager.core.Settings;
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.Utils;
+import org.tinymediamanager.core.WriteBehindQueue;
+import org.tinymediamanager.core.entities.DetailCache;
 import org.tinymediamanager.core.entities.MediaEntity;
+import org.tinymediamanager.core.http.EntityQuerySource;
+import org.tinymediamanager.core.http.QueryHandler;
 import org.tinymediamanager.core.http.TmmHttpServer;
 import org.tinymediamanager.core.tvshow.entities.TvShow;
 import org.tinymediamanager.core.tvshow.entities.TvShowEpisode;
 import org.tinymediamanager.core.tvshow.entities.TvShowSeason;
 import org.tinymediamanager.core.tvshow.http.TvShowCommandHandler;
+import org.tinymediamanager.core.tvshow.tasks.TvShowRenameTask;
 import org.tinymediamanager.scraper.util.MetadataUtil;
 
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
@@ -78,10 +78,11 @@ public final class TvShowModuleManager implements ITmmModule {
   private static TvShowModuleManager   instance;
 
   private final List<String>           startupMessages;
-  private final Map<MediaEntity, Long> pendingChanges;
-  private final ReentrantReadWriteLock lock;
+  private final WriteBehindQueue       persistenceQueue;
+  private final int                    detailCacheSize;
 
   private boolean                      enabled;
+  private DetailCache                  detailCache;
   private int                          autoCommitBufferSize = 8192;
   private MVStore                      mvStore;
   private ObjectWriter                 tvShowObjectWriter;
@@ -96,19 +97,19 @@ public final class TvShowModuleManager implements ITmmModule {
   private MVMap<UUID, String>          episodeMap;
   private MVMap<String, String>        metadataMap;
 
-  private Timer                        databaseTimer;
-
   private TvShowModuleManager() {
     enabled = false;
     startupMessages = new ArrayList<>();
-    pendingChanges = new HashMap<>();
-    lock = new ReentrantReadWriteLock();
+    persistenceQueue = new WriteBehindQueue("tvshows", () -> mvStore, COMMIT_DELAY);
 
     // check if a custom autocommit buffer size has been set via jvm args
     int bufferSize = Integer.getInteger("tmm.mvstore.buffersize", 8);
     if (2 <= bufferSize && bufferSize <= 64) {
       autoCommitBufferSize = 1024 * bufferSize;
     }
+
+    // the amount of entities whose detail data (cast, crew, ...) is kept in the heap; 0 keeps everything in the heap
+    detailCacheSize = Math.max(0, Integer.getInteger("tmm.detailcache.size", 1000));
   }
 
   public static TvShowModuleManager getInstance() {
@@ -164,21 +165,34 @@ public final class TvShowModuleManager implements ITmmModule {
     episodeObjectWriter = objectMapper.writerFor(TvShowEpisode.class);
     episodeObjectReader = objectMapper.readerFor(TvShowEpisode.class);
 
+    persistenceQueue.register(TvShow.class, () -> tvShowMap, tvShowObjectWriter);
+    persistenceQueue.register(TvShowSeason.class, () -> seasonMap, seasonObjectWriter);
+    persistenceQueue.register(TvShowEpisode.class, () -> episodeMap, episodeObjectWriter);
+
     // open database
     openDatabaseAndLoadTvShows();
     enabled = true;
 
-    TimerTask databaseWriteTask = new TimerTask() {
-      @Override
-      public void run() {
-        writePendingChanges();
-      }
-    };
-    databaseTimer = new Timer();
-    databaseTimer.schedule(databaseWriteTask, COMMIT_DELAY, COMMIT_DELAY);
+    // roll back the renames of a crashed run to bring the file system in sync with the database
+    TvShowRenameTask.recoverUnfinishedRenames();
+
+    // only keep the summary data of the episodes in the heap - the detail data is loaded on demand
+    detailCache = new DetailCache("episodes", detailCacheSize, this::loadEpisodeFromDb, entity -> !persistenceQueue.isPending(entity));
+    for (TvShow tvShow : getTvShowList().getTvShows()) {
+      detailCache.evictAll(tvShow.getEpisodes());
+    }
+
+    // write changed TV shows/seasons/episodes in the background
+    persistenceQueue.start();
 
     try {
       TmmHttpServer.getInstance().createContext("tvshow", new TvShowCommandHandler());
+      TmmHttpServer.getInstance()
+          .createQueryContext("tvshows",
+              new QueryHandler<>(new EntityQuerySource<>(() -> getTvShowList().getTvShows(), tvShowObjectWriter, persistenceQueue::getVersion)));
+      TmmHttpServer.getInstance()
+          .createQueryContext("episodes",
+              new QueryHandler<>(new EntityQuerySource<>(() -> getTvShowList().getEpisodes(), episodeObjectWriter, persistenceQueue::getVersion)));
     }
     catch (Exception e) {
       LOGGER.warn("could not register TV show API - '{}'", e.getMessage());
@@ -304,6 +318,8 @@ public final class TvShowModuleManager implements ITmmModule {
           episodeMap = mvStore.openMap("episodes");
           metadataMap = mvStore.openMap("metadata");
 
+          // the new database is empty - write everything
+          persistenceQueue.reset();
           for (TvShow tvShow : getTvShowList().getTvShows()) {
             persistTvShow(tvShow);
 
@@ -348,11 +364,9 @@ public final class TvShowModuleManager implements ITmmModule {
 
     enabled = false;
 
-    databaseTimer.cancel();
-
     // write pending changes
+    persistenceQueue.shutdown();
     if (mvStore != null && !mvStore.isClosed()) {
-      writePendingChanges(true);
       mvStore.commit();
 
       mvStore.compactMoveChunks();
@@ -367,73 +381,6 @@ public final class TvShowModuleManager implements ITmmModule {
     }
   }
 
-  private void writePendingChanges() {
-    writePendingChanges(false);
-  }
-
-  private synchronized void writePendingChanges(boolean force) {
-    if (force) {
-      // force write - wait until the lock is released
-      lock.writeLock().lock();
-    }
-    else {
-      // lock if there is no other task running
-      if (!lock.writeLock().tryLock()) {
-        return;
-      }
-    }
-
-    try {
-      Map<MediaEntity, Long> pending = new HashMap<>(pendingChanges);
-
-      long now = System.currentTimeMillis();
-
-      for (Map.Entry<MediaEntity, Long> entry : pending.entrySet()) {
-        if (force || entry.getValue() < (now - COMMIT_DELAY)) {
-          try {
-            if (entry.getKey() instanceof TvShow tvShow) {
-              // store TV show
-              // only diffs
-              String oldValue = tvShowMap.get(tvShow.getDbId());
-              String newValue = tvShowObjectWriter.writeValueAsString(tvShow);
-              if (!StringUtils.equals(oldValue, newValue)) {
-                tvShowMap.put(tvShow.getDbId(), newValue);
-              }
-            }
-            else if (entry.getKey() instanceof TvShowSeason season) {
-              // store season
-              // only diffs
-              String oldValue = seasonMap.get(season.getDbId());
-              String newValue = seasonObjectWriter.writeValueAsString(season);
-              if (!StringUtils.equals(oldValue, newValue)) {
-                seasonMap.put(season.getDbId(), newValue);
-              }
-            }
-            else if (entry.getKey() instanceof TvShowEpisode episode) {
-              // store episode
-              // only diffs
-              String oldValue = episodeMap.get(episode.getDbId());
-              String newValue = episodeObjectWriter.writeValueAsString(episode);
-              if (!StringUtils.equals(oldValue, newValue)) {
-                episodeMap.put(episode.getDbId(), newValue);
-              }
-            }
-          }
-          catch (Exception e) {
-            LOGGER.warn("could not store '{}' - '{}'", entry.getKey().getClass().getName(), e.getMessage());
-          }
-          finally {
-            pendingChanges.remove(entry.getKey());
-          }
-        }
-      }
-    }
-    finally {
-      mvStore.commit();
-      lock.writeLock().unlock();
-    }
-  }
-
   @Override
   public boolean isEnabled() {
     return enabled;
@@ -539,67 +486,64 @@ public final class TvShowModuleManager implements ITmmModule {
   }
 
   void persistTvShow(TvShow tvShow) {
-    // write movie to DB
-    try {
-      lock.writeLock().lock();
-      pendingChanges.put(tvShow, System.currentTimeMillis());
-    }
-    finally {
-      lock.writeLock().unlock();
-    }
+    // write TV show to DB
+    persistenceQueue.enqueue(tvShow);
   }
 
   void removeTvShowFromDb(TvShow tvShow) {
-    try {
-      lock.writeLock().lock();
-      pendingChanges.remove(tvShow);
-      tvShowMap.remove(tvShow.getDbId());
-    }
-    finally {
-      lock.writeLock().unlock();
-    }
+    persistenceQueue.remove(tvShow);
   }
 
   void persistSeason(TvShowSeason season) {
-    try {
-      lock.writeLock().lock();
-      pendingChanges.put(season, System.currentTimeMillis());
-    }
-    finally {
-      lock.writeLock().unlock();
-    }
+    persistenceQueue.enqueue(season);
   }
 
   void removeSeasonFromDb(TvShowSeason season) {
-    try {
-      lock.writeLock().lock();
-      pendingChanges.remove(season);
-      seasonMap.remove(season.getDbId());
-    }
-    finally {
-      lock.writeLock().unlock();
-    }
+    persistenceQueue.remove(season);
   }
 
   void persistEpisode(TvShowEpisode episode) {
-    try {
-      lock.writeLock().lock();
-      pendingChanges.put(episode, System.currentTimeMillis());
-    }
-    finally {
-      lock.writeLock().unlock();
-    }
+    persistenceQueue.enqueue(episode);
   }
 
   void removeEpisodeFromDb(TvShowEpisode episode) {
-    try {
-      lock.writeLock().lock();
-      pendingChanges.remove(episode);
-      episodeMap.remove(episode.getDbId());
+    persistenceQueue.remove(episode);
+    if (detailCache != null) {
+      detailCache.remove(episode);
     }
-    finally {
-      lock.writeLock().unlock();
+  }
+
+  private MediaEntity loadEpisodeFromDb(MediaEntity episode) throws IOException {
+    String json = episodeMap.get(episode.getDbId());
+    if (json == null) {
+      return null;
     }
+    return episodeObjectReader.readValue(json);
+  }
+
+  /**
+   * get the {@link DetailCache} for the detail data of the episodes
+   *
+   * @return the {@link DetailCache} or null if the module has not been started
+   */
+  public DetailCache getDetailCache() {
+    return detailCache;
+  }
+
+  /**
+   * get the statistics of the database writes (queue depth, flush latency, written bytes)
+   *
+   * @return the {@link WriteBehindQueue.Statistics} of the TV show database
+   */
+  public WriteBehindQueue.Statistics getPersistenceStatistics() {
+    return persistenceQueue.getStatistics();
+  }
+
+  /**
+   * write all pending changes into the TV show database synchronously (e.g. before the renamer marks a move as persisted)
+   */
+  public void flushPersistence() {
+    persistenceQueue.flush(true);
   }
 
   @Override
@@ -54,6 +54,7 @@ import org.tinymediamanager.core.MediaFileType;
 import org.tinymediamanager.core.Message;
 import org.tinymediamanager.core.Message.MessageLevel;
 import org.tinymediamanager.core.MessageManager;
+import org.tinymediamanager.core.RenameJournal;
 import org.tinymediamanager.core.Settings;
 import org.tinymediamanager.core.Utils;
 import org.tinymediamanager.core.entities.MediaFile;
@@ -1040,6 +1041,7 @@ public class TvShowRenamer {
       e.setPath(episode.getPath());
       e.gatherMediaFileInformation(false);
       e.saveToDb();
+      RenameJournal.checkpoint();
 
       // ######################################################################
       // ## build up image cache
@@ -1141,6 +1143,7 @@ public class TvShowRenamer {
             e.updateMediaFilePath(epFolder, newEpFolder);
             e.setPath(newEpFolder.toAbsolutePath().toString());
             e.saveToDb();
+            RenameJournal.checkpoint();
           }
         }
         // and cleanup
@@ -231,6 +231,7 @@ public final class TvShowSettings extends AbstractSettings {
   String                                         preferredRating                        = "tvdb";
   boolean                                        extractArtworkFromVsmeta               = false;
   boolean                                        useMediainfoMetadata                   = false;
+  boolean                                        duplicateFingerprintMode               = false;
 
   // ui
   final List<MediaFileType>                      showTvShowArtworkTypes                 = ObservableCollections.observableList(new ArrayList<>());
@@ -742,6 +743,16 @@ public final class TvShowSettings extends AbstractSettings {
     firePropertyChange("extractArtworkFromVsmeta", oldValue, newValue);
   }
 
+  public boolean isDuplicateFingerprintMode() {
+    return duplicateFingerprintMode;
+  }
+
+  public void setDuplicateFingerprintMode(boolean newValue) {
+    boolean oldValue = this.duplicateFingerprintMode;
+    this.duplicateFingerprintMode = newValue;
+    firePropertyChange("duplicateFingerprintMode", oldValue, newValue);
+  }
+
   public boolean isUseMediainfoMetadata() {
     return useMediainfoMetadata;
   }
@@ -98,7 +98,7 @@ public abstract class TvShowEpisodeGenericXmlConnector implements ITvShowEpisode
     // first of all, get the data from a previous written NFO file,
     // if we do not want clean NFOs
     if (!TvShowModuleManager.getInstance().getSettings().isWriteCleanNfo()) {
-      for (MediaFile mf : firstEpisode.getMediaFiles(MediaFileType.NFO)) {
+      for (MediaFile mf : firstEpisode.getMediaFilesView(MediaFileType.NFO)) {
         try {
           parser = TvShowEpisodeNfoParser.parseNfo(mf.getFileAsPath());
           break;
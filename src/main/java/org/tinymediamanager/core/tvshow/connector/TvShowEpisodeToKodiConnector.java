@@ -125,7 +125,7 @@ public class TvShowEpisodeToKodiConnector extends TvShowEpisodeGenericXmlConnect
     Element fileinfo = document.createElement("fileinfo");
     Element streamdetails = document.createElement("streamdetails");
 
-    List<MediaFile> videos = episode.getMediaFiles(MediaFileType.VIDEO);
+    List<MediaFile> videos = episode.getMediaFilesView(MediaFileType.VIDEO);
     if (!videos.isEmpty()) {
       MediaFile videoFile = videos.get(0);
       Element video = document.createElement("video");
@@ -222,7 +222,7 @@ public class TvShowEpisodeToKodiConnector extends TvShowEpisodeGenericXmlConnect
         streamdetails.appendChild(subtitle);
       }
 
-      for (MediaFile sub : episode.getMediaFiles(MediaFileType.SUBTITLE)) {
+      for (MediaFile sub : episode.getMediaFilesView(MediaFileType.SUBTITLE)) {
         for (MediaFileSubtitle ss : sub.getSubtitles()) {
           Element subtitle = document.createElement("subtitle");
 
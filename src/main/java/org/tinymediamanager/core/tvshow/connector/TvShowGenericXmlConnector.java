@@ -99,7 +99,7 @@ public abstract class TvShowGenericXmlConnector implements ITvShowConnector {
     // first of all, get the data from a previous written NFO file,
     // if we do not want clean NFOs
     if (!TvShowModuleManager.getInstance().getSettings().isWriteCleanNfo()) {
-      for (MediaFile mf : tvShow.getMediaFiles(MediaFileType.NFO)) {
+      for (MediaFile mf : tvShow.getMediaFilesView(MediaFileType.NFO)) {
         try {
           parser = TvShowNfoParser.parseNfo(mf.getFileAsPath());
           break;
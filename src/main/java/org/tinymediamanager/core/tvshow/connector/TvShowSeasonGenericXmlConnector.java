@@ -86,7 +86,7 @@ public abstract class TvShowSeasonGenericXmlConnector implements ITvShowSeasonCo
     // first of all, get the data from a previous written NFO file,
     // if we do not want clean NFOs
     if (!TvShowModuleManager.getInstance().getSettings().isWriteCleanNfo()) {
-      for (MediaFile mf : tvShowSeason.getMediaFiles(MediaFileType.NFO)) {
+      for (MediaFile mf : tvShowSeason.getMediaFilesView(MediaFileType.NFO)) {
         try {
           parser = TvShowSeasonNfoParser.parseNfo(mf.getFileAsPath());
           break;
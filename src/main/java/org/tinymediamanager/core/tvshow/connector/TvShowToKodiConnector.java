@@ -165,7 +165,7 @@ public class TvShowToKodiConnector extends TvShowGenericXmlConnector {
 
     // only add a trailer if there is no physical trailer due to a bug in kodi
     // https://forum.kodi.tv/showthread.php?tid=348759&pid=2900477#pid2900477
-    if (tvShow.getMediaFiles(MediaFileType.TRAILER).isEmpty()) {
+    if (tvShow.getMediaFilesView(MediaFileType.TRAILER).isEmpty()) {
       for (MediaTrailer mediaTrailer : new ArrayList<>(tvShow.getTrailer())) {
         if (mediaTrailer.getInNfo() && mediaTrailer.getUrl().startsWith("http")) {
           trailer.setTextContent(prepareTrailerForKodi(mediaTrailer));
@@ -21,6 +21,7 @@ import static org.tinymediamanager.core.Constants.ADDED_EPISODE;
 import static org.tinymediamanager.core.Constants.ADDED_SEASON;
 import static org.tinymediamanager.core.Constants.CERTIFICATION;
 import static org.tinymediamanager.core.Constants.COUNTRY;
+import static org.tinymediamanager.core.Constants.EPISODE;
 import static org.tinymediamanager.core.Constants.EPISODE_COUNT;
 import static org.tinymediamanager.core.Constants.FIRST_AIRED;
 import static org.tinymediamanager.core.Constants.FIRST_AIRED_AS_STRING;
@@ -174,6 +175,7 @@ public class TvShow extends MediaEntity implements IMediaInformation {
 
   private final List<TvShowSeason>                seasons                    = new CopyOnWriteArrayList<>();
   private final List<TvShowEpisode>               episodes                   = new CopyOnWriteArrayList<>();
+  private final TvShowEpisodeIndex                episodeIndex               = new TvShowEpisodeIndex(episodes);
   private String                                  titleSortable              = "";
   private String                                  otherIds                   = "";
   private Date                                    lastWatched                = null;
@@ -193,7 +195,11 @@ public class TvShow extends MediaEntity implements IMediaInformation {
       if (evt.getSource() instanceof TvShowEpisode episode) {
 
         switch (evt.getPropertyName()) {
-          case TAGS, MEDIA_INFORMATION, MEDIA_FILES, SUBTITLES, "hasSubtitles":
+          case TAGS, MEDIA_INFORMATION, SUBTITLES, "hasSubtitles":
+            firePropertyChange(evt);
+            break;
+
+          case MEDIA_FILES:
             firePropertyChange(evt);
             break;
 
@@ -455,6 +461,9 @@ public class TvShow extends MediaEntity implements IMediaInformation {
     // also rebuild the seasons and fire the event for all episodes too
     if (!oldValue.equals(newValue)) {
       LOGGER.info("Switched episodeGroup '{}' -> '{}' for show {}", oldValue, newValue, getTitle());
+      // the season/episode numbers of all episodes have been changed
+      episodeIndex.invalidate();
+
       // remove all episodes from all seasons
       seasons.forEach(TvShowSeason::removeAllEpisodes);
 
@@ -637,6 +646,7 @@ public class TvShow extends MediaEntity implements IMediaInformation {
   public synchronized void addEpisode(TvShowEpisode episode) {
     int oldValue = episodes.size();
     episodes.add(episode);
+    episodeIndex.add(episode);
     episode.addPropertyChangeListener(propertyChangeListener);
     addToSeason(episode);
 
@@ -881,6 +891,7 @@ public class TvShow extends MediaEntity implements IMediaInformation {
       episode.removePropertyChangeListener(propertyChangeListener);
       removeFromSeason(episode);
       episodes.remove(episode);
+      episodeIndex.remove(episode);
       TvShowModuleManager.getInstance().getTvShowList().removeEpisodeFromDb(episode);
 
       // and remove the image cache
@@ -933,6 +944,7 @@ public class TvShow extends MediaEntity implements IMediaInformation {
       episode.deleteFilesSafely();
       removeFromSeason(episode);
       episodes.remove(episode);
+      episodeIndex.remove(episode);
       TvShowModuleManager.getInstance().getTvShowList().removeEpisodeFromDb(episode);
 
       // and remove the image cache
@@ -1441,7 +1453,7 @@ public class TvShow extends MediaEntity implements IMediaInformation {
     }
 
     // check if there is a mediafile (trailer)
-    if (!getMediaFiles(MediaFileType.TRAILER).isEmpty()) {
+    if (!getMediaFilesView(MediaFileType.TRAILER).isEmpty()) {
       return true;
     }
 
@@ -1454,7 +1466,7 @@ public class TvShow extends MediaEntity implements IMediaInformation {
    * @return the check for the musictheme file
    */
   public Boolean getHasMusicTheme() {
-    return (!getMediaFiles(MediaFileType.THEME).isEmpty());
+    return (!getMediaFilesView(MediaFileType.THEME).isEmpty());
   }
 
   public Boolean getHasNote() {
@@ -2101,20 +2113,64 @@ public class TvShow extends MediaEntity implements IMediaInformation {
     return dupes;
   }
 
+  /**
+   * get all episodes with the given season/episode number (in the episode group of this TV show)
+   *
+   * @param season
+   *          the season number
+   * @param episode
+   *          the episode number
+   * @return a {@link List} of all found episodes
+   */
   public List<TvShowEpisode> getEpisode(final int season, final int episode) {
     if (season == -1 || episode == -1) {
       return Collections.emptyList();
     }
 
-    List<TvShowEpisode> eps = new ArrayList<>();
+    return episodeIndex.getByEpisode(season, episode);
+  }
 
-    for (TvShowEpisode ep : episodes) {
-      if (ep.getSeason() == season && ep.getEpisode() == episode) {
-        eps.add(ep);
-      }
+  /**
+   * get all episodes with the given season/episode number in DVD order
+   *
+   * @param season
+   *          the DVD season number
+   * @param episode
+   *          the DVD episode number
+   * @return a {@link List} of all found episodes
+   */
+  public List<TvShowEpisode> getEpisodeInDvdOrder(final int season, final int episode) {
+    if (season == -1 || episode == -1) {
+      return Collections.emptyList();
     }
 
-    return eps;
+    return episodeIndex.getByDvdEpisode(season, episode);
+  }
+
+  /**
+   * get all episodes which have a {@link MediaFile} with the given file
+   *
+   * @param file
+   *          the file
+   * @return a {@link List} of all found episodes
+   */
+  public List<TvShowEpisode> getEpisodesByFile(Path file) {
+    if (file == null) {
+      return new ArrayList<>(1);
+    }
+
+    return episodeIndex.getByFile(file);
+  }
+
+  /**
+   * re-index the given episode after its files or numbers have been changed. This is called synchronously by the episode - the (EDT) property
+   * change events would be too late for lookups in other threads
+   *
+   * @param episode
+   *          the changed episode
+   */
+  void updateEpisodeIndex(TvShowEpisode episode) {
+    episodeIndex.update(episode);
   }
 
   /**
@@ -2365,7 +2421,7 @@ public class TvShow extends MediaEntity implements IMediaInformation {
     }
 
     // add local trailers (in the front)!
-    for (MediaFile mf : getMediaFiles(MediaFileType.TRAILER)) {
+    for (MediaFile mf : getMediaFilesView(MediaFileType.TRAILER)) {
       LOGGER.debug("adding local trailer {}", mf.getFilename());
       MediaTrailer mt = new MediaTrailer();
       mt.setName(mf.getFilename());
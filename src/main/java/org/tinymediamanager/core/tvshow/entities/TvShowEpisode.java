@@ -52,6 +52,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -74,6 +75,7 @@ import org.tinymediamanager.core.ScraperMetadataConfig;
 import org.tinymediamanager.core.TmmDateFormat;
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.Utils;
+import org.tinymediamanager.core.entities.DetailCache;
 import org.tinymediamanager.core.entities.MediaEntity;
 import org.tinymediamanager.core.entities.MediaFile;
 import org.tinymediamanager.core.entities.MediaRating;
@@ -118,6 +120,7 @@ import com.fasterxml.jackson.annotation.JsonSetter;
 public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpisode>, IMediaInformation {
   private static final Logger                LOGGER                = LoggerFactory.getLogger(TvShowEpisode.class);
   private static final Comparator<MediaFile> MEDIA_FILE_COMPARATOR = new TvShowMediaFileComparator();
+  private static final Set<String>           DETAIL_PROPERTIES     = Set.of("actors", "directors", "writers");
 
   @JsonProperty
   private final List<MediaEpisodeNumber>     episodeNumbers        = new CopyOnWriteArrayList<>();
@@ -294,6 +297,9 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
     if (locked || other == null) {
       return;
     }
+    markDetailsModified();
+    other.ensureDetailsLoaded();
+
     super.merge(other, force);
 
     setFirstAired(firstAired == null || force ? other.firstAired : firstAired);
@@ -320,6 +326,42 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
     return MEDIA_FILE_COMPARATOR;
   }
 
+  @Override
+  protected DetailCache getDetailCache() {
+    return TvShowModuleManager.getInstance().getDetailCache();
+  }
+
+  @Override
+  protected void copyDetails(MediaEntity source) {
+    if (source instanceof TvShowEpisode episode) {
+      replaceContent(actors, episode.actors);
+      replaceContent(directors, episode.directors);
+      replaceContent(writers, episode.writers);
+    }
+  }
+
+  @Override
+  protected Map<Person.Type, List<String>> collectPersonNames() {
+    Map<Person.Type, List<String>> names = new EnumMap<>(Person.Type.class);
+    names.put(Person.Type.ACTOR, toPersonNames(getActors()));
+    names.put(Person.Type.DIRECTOR, toPersonNames(getDirectors()));
+    names.put(Person.Type.WRITER, toPersonNames(getWriters()));
+    return names;
+  }
+
+  @Override
+  public Set<String> getDetailProperties() {
+    return DETAIL_PROPERTIES;
+  }
+
+  @Override
+  protected void clearDetails() {
+    // guests and crew are only needed for the detail views/editors/renamer/exporter
+    actors.clear();
+    directors.clear();
+    writers.clear();
+  }
+
   /**
    * checks whether the parent {@link TvShow} is locked
    *
@@ -530,6 +572,8 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
         episodeNumbersForType.forEach(this::setEpisode);
       }
     }
+
+    updateEpisodeIndex();
   }
 
   public MediaEpisodeGroup getEpisodeGroup() {
@@ -668,6 +712,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
 
       if (!toRemove.isEmpty()) {
         episodeNumbers.removeAll(toRemove);
+        updateEpisodeIndex();
         firePropertyChange(EPISODE, 0, -1);
         firePropertyChange(SEASON, 0, -1);
         firePropertyChange(TITLE_FOR_UI, -1, episode.episode());
@@ -698,6 +743,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
     else {
       episodeNumbers.add(episode);
     }
+    updateEpisodeIndex();
     firePropertyChange(EPISODE, -1, episode.episode());
     firePropertyChange(SEASON, -1, episode.season());
     firePropertyChange(TITLE_FOR_UI, -1, episode.episode());
@@ -871,7 +917,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
     String thumbUrl = getArtworkUrl(MediaFileType.THUMB);
     if (StringUtils.isNotBlank(thumbUrl)) {
       // create correct filename
-      MediaFile mf = getMediaFiles(MediaFileType.VIDEO).get(0);
+      MediaFile mf = getMediaFilesView(MediaFileType.VIDEO).get(0);
       String basename = FilenameUtils.getBaseName(mf.getFilename());
 
       List<String> filenames = new ArrayList<>();
@@ -1054,6 +1100,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
       addToTags(metadata.getTags());
     }
 
+    markDetailsModified();
     if (config.contains(TvShowEpisodeScraperMetadataConfig.ACTORS)) {
       if (!matchFound || overwriteExistingItems) {
         actors.clear();
@@ -1097,7 +1144,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
     LOGGER.debug("write nfo: " + getTvShow().getTitle() + " S" + getSeason() + "E" + getEpisode());
     // worst case: multi episode in multiple files
     // e.g. warehouse13.s01e01e02.Part1.avi/warehouse13.s01e01e02.Part2.avi
-    for (MediaFile mf : getMediaFiles(MediaFileType.VIDEO)) {
+    for (MediaFile mf : getMediaFilesView(MediaFileType.VIDEO)) {
       List<TvShowEpisode> eps = new ArrayList<>(TvShowList.getTvEpisodesByFile(tvShow, mf.getFile()));
       for (TvShowEpisode ep : eps) {
         if (!episodesInNfo.contains(ep)) {
@@ -1130,6 +1177,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
    *          a {@link Collection} of all actors to be added
    */
   public void addToActors(Collection<Person> newActors) {
+    markDetailsModified();
     Set<Person> newItems = new LinkedHashSet<>();
 
     // do not accept duplicates or null values
@@ -1157,6 +1205,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
    * remove all actors.
    */
   public void removeActors() {
+    markDetailsModified();
     actors.clear();
     firePropertyChange(ACTORS, null, getActors());
     firePropertyChange(ACTORS_AS_STRING, null, getActorsAsString());
@@ -1168,6 +1217,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
    * @return the actors of this episode
    */
   public List<Person> getActors() {
+    ensureDetailsLoaded();
     return actors;
   }
 
@@ -1177,6 +1227,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
    * @return a string containing all actors; separated by ,
    */
   public String getActorsAsString() {
+    ensureDetailsLoaded();
     List<String> actorNames = new ArrayList<>();
     for (Person actor : actors) {
       actorNames.add(actor.getName());
@@ -1192,6 +1243,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
    */
   @JsonSetter
   public void setActors(List<Person> newActors) {
+    markDetailsModified();
     // two way sync of actors
     mergePersons(actors, newActors);
     firePropertyChange(ACTORS, null, getActors());
@@ -1205,6 +1257,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
    *          a {@link Collection} of directors to be added
    */
   public void addToDirectors(Collection<Person> newDirectors) {
+    markDetailsModified();
     Set<Person> newItems = new LinkedHashSet<>();
 
     // do not accept duplicates or null values
@@ -1232,6 +1285,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
    * remove the all directors.
    */
   public void removeDirectors() {
+    markDetailsModified();
     directors.clear();
     firePropertyChange(DIRECTORS, null, this.getDirectors());
     firePropertyChange(DIRECTORS_AS_STRING, null, this.getDirectorsAsString());
@@ -1245,6 +1299,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
    */
   @JsonSetter
   public void setDirectors(List<Person> newDirectors) {
+    markDetailsModified();
     // two way sync of directors
     mergePersons(directors, newDirectors);
 
@@ -1258,6 +1313,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
    * @return the directors
    */
   public List<Person> getDirectors() {
+    ensureDetailsLoaded();
     return directors;
   }
 
@@ -1267,6 +1323,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
    * @return a string containing all directors; separated by ,
    */
   public String getDirectorsAsString() {
+    ensureDetailsLoaded();
     List<String> directorNames = new ArrayList<>();
     for (Person director : directors) {
       directorNames.add(director.getName());
@@ -1281,6 +1338,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
    *          a {@link Collection} of the writers to be added
    */
   public void addToWriters(Collection<Person> newWriters) {
+    markDetailsModified();
     Set<Person> newItems = new LinkedHashSet<>();
 
     // do not accept duplicates or null values
@@ -1308,6 +1366,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
    * remove all writers.
    */
   public void removeWriters() {
+    markDetailsModified();
     writers.clear();
     firePropertyChange(WRITERS, null, this.getWriters());
     firePropertyChange(WRITERS_AS_STRING, null, this.getWritersAsString());
@@ -1321,6 +1380,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
    */
   @JsonSetter
   public void setWriters(List<Person> newWriters) {
+    markDetailsModified();
     // two way sync of writers
     mergePersons(writers, newWriters);
 
@@ -1334,6 +1394,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
    * @return the writers
    */
   public List<Person> getWriters() {
+    ensureDetailsLoaded();
     return writers;
   }
 
@@ -1343,6 +1404,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
    * @return a string containing all writers; separated by ,
    */
   public String getWritersAsString() {
+    ensureDetailsLoaded();
     List<String> writerNames = new ArrayList<>();
     for (Person writer : writers) {
       writerNames.add(writer.getName());
@@ -1406,7 +1468,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
    * @return the media info audio codec
    */
   public String getMediaInfoAudioCodecAndChannels() {
-    List<MediaFile> videos = getMediaFiles(MediaFileType.VIDEO);
+    List<MediaFile> videos = getMediaFilesView(MediaFileType.VIDEO);
     if (!videos.isEmpty()) {
       MediaFile mediaFile = videos.get(0);
       return mediaFile.getAudioCodec() + "_" + mediaFile.getAudioChannels();
@@ -1451,14 +1513,14 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
     // still nothing found? wtf - maybe some of those -1/-1 eps
     String filename1 = "";
     try {
-      filename1 = getMediaFiles(MediaFileType.VIDEO).get(0).getFilename();
+      filename1 = getMediaFilesView(MediaFileType.VIDEO).get(0).getFilename();
     }
     catch (Exception ignored) {
     }
 
     String filename2 = "";
     try {
-      filename2 = otherTvShowEpisode.getMediaFiles(MediaFileType.VIDEO).get(0).getFilename();
+      filename2 = otherTvShowEpisode.getMediaFilesView(MediaFileType.VIDEO).get(0).getFilename();
     }
     catch (Exception ignored) {
     }
@@ -1469,7 +1531,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
     List<MediaFile> mediaFilesWithAudioStreams = new ArrayList<>(1);
 
     // get the audio streams from the first video file
-    List<MediaFile> videoFiles = getMediaFiles(MediaFileType.VIDEO);
+    List<MediaFile> videoFiles = getMediaFilesView(MediaFileType.VIDEO);
     if (!videoFiles.isEmpty()) {
       MediaFile videoFile = videoFiles.get(0);
       mediaFilesWithAudioStreams.add(videoFile);
@@ -1494,7 +1556,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
   }
 
   public boolean getHasSubtitles() {
-    if (!getMediaFiles(MediaFileType.SUBTITLE).isEmpty()) {
+    if (!getMediaFilesView(MediaFileType.SUBTITLE).isEmpty()) {
       return true;
     }
 
@@ -1509,7 +1571,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
 
   public int getRuntimeFromMediaFiles() {
     int runtime = 0;
-    for (MediaFile mf : getMediaFiles(MediaFileType.VIDEO)) {
+    for (MediaFile mf : getMediaFilesView(MediaFileType.VIDEO)) {
       runtime += mf.getDuration();
     }
 
@@ -1545,7 +1607,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
 
     // did we get metadata via the video media file?
     if (mediaFile.getType() == MediaFileType.VIDEO && TvShowModuleManager.getInstance().getSettings().isUseMediainfoMetadata()
-        && getMediaFiles(MediaFileType.NFO).isEmpty() && !mediaFile.getExtraData().isEmpty()) {
+        && getMediaFilesView(MediaFileType.NFO).isEmpty() && !mediaFile.getExtraData().isEmpty()) {
 
       if (getAiredEpisode() == -1 || getAiredSeason() == -1) {
         String e = mediaFile.getExtraData().get("episode");
@@ -1615,6 +1677,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
 
   @Override
   protected float calculateScrapeScore() {
+    ensureDetailsLoaded();
     float score = super.calculateScrapeScore();
 
     // some fields count multiple times to reach the threshold
@@ -1680,7 +1743,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
    * @return the video base name (without stacking)
    */
   public String getVideoBasenameWithoutStacking() {
-    MediaFile mf = getMediaFiles(MediaFileType.VIDEO).get(0);
+    MediaFile mf = getMediaFilesView(MediaFileType.VIDEO).get(0);
     return FilenameUtils.getBaseName(mf.getFilenameWithoutStacking());
   }
 
@@ -1713,7 +1776,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
 
     if (stacked) {
       // search the first stacked media file (e.g. CD1)
-      vid = getMediaFiles(MediaFileType.VIDEO).stream().min(Comparator.comparingInt(MediaFile::getStacking)).orElse(MediaFile.EMPTY_MEDIAFILE);
+      vid = getMediaFilesView(MediaFileType.VIDEO).stream().min(Comparator.comparingInt(MediaFile::getStacking)).orElse(MediaFile.EMPTY_MEDIAFILE);
     }
     else {
       // get the biggest one
@@ -1782,7 +1845,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
   public List<String> getMediaInfoAudioCodecList() {
     List<String> lang = new ArrayList<>(getMainVideoFile().getAudioCodecList());
 
-    for (MediaFile mf : getMediaFiles(MediaFileType.AUDIO)) {
+    for (MediaFile mf : getMediaFilesView(MediaFileType.AUDIO)) {
       lang.addAll(mf.getAudioCodecList());
     }
     return lang;
@@ -1802,7 +1865,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
   public List<String> getMediaInfoAudioChannelList() {
     List<String> lang = new ArrayList<>(getMainVideoFile().getAudioChannelsList());
 
-    for (MediaFile mf : getMediaFiles(MediaFileType.AUDIO)) {
+    for (MediaFile mf : getMediaFilesView(MediaFileType.AUDIO)) {
       lang.addAll(mf.getAudioChannelsList());
     }
     return lang;
@@ -1817,7 +1880,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
   public List<String> getMediaInfoAudioChannelDotList() {
     List<String> lang = new ArrayList<>(getMainVideoFile().getAudioChannelsDotList());
 
-    for (MediaFile mf : getMediaFiles(MediaFileType.AUDIO)) {
+    for (MediaFile mf : getMediaFilesView(MediaFileType.AUDIO)) {
       lang.addAll(mf.getAudioChannelsDotList());
     }
     return lang;
@@ -1841,7 +1904,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
   public List<String> getMediaInfoAudioLanguageList() {
     List<String> lang = new ArrayList<>(getMainVideoFile().getAudioLanguagesList());
 
-    for (MediaFile mf : getMediaFiles(MediaFileType.AUDIO)) {
+    for (MediaFile mf : getMediaFilesView(MediaFileType.AUDIO)) {
       lang.addAll(mf.getAudioLanguagesList());
     }
     return lang;
@@ -1869,7 +1932,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
 
   @Override
   public String getMediaInfoContainerFormat() {
-    List<MediaFile> videos = getMediaFiles(MediaFileType.VIDEO);
+    List<MediaFile> videos = getMediaFilesView(MediaFileType.VIDEO);
     if (!videos.isEmpty()) {
       MediaFile mediaFile = videos.get(0);
       return mediaFile.getContainerFormat();
@@ -1899,7 +1962,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
   @Override
   public boolean isVideoIn3D() {
     String video3DFormat = "";
-    List<MediaFile> videos = getMediaFiles(MediaFileType.VIDEO);
+    List<MediaFile> videos = getMediaFilesView(MediaFileType.VIDEO);
     if (!videos.isEmpty()) {
       MediaFile mediaFile = videos.get(0);
       video3DFormat = mediaFile.getVideo3DFormat();
@@ -1911,7 +1974,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
   @Override
   public long getVideoFilesize() {
     long filesize = 0;
-    for (MediaFile mf : getMediaFiles(MediaFileType.VIDEO)) {
+    for (MediaFile mf : getMediaFilesView(MediaFileType.VIDEO)) {
       filesize += mf.getFilesize();
     }
     return filesize;
@@ -2046,9 +2109,19 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
     }
   }
 
+  /**
+   * update the episode index of the TV show synchronously (lookups in other threads must see the change immediately)
+   */
+  private void updateEpisodeIndex() {
+    if (tvShow != null) {
+      tvShow.updateEpisodeIndex(this);
+    }
+  }
+
   @Override
   protected void fireAddedEventForMediaFile(MediaFile mediaFile) {
     super.fireAddedEventForMediaFile(mediaFile);
+    updateEpisodeIndex();
 
     // episode related media file types
     if (mediaFile.getType() == MediaFileType.SUBTITLE) {
@@ -2059,6 +2132,7 @@ public class TvShowEpisode extends MediaEntity implements Comparable<TvShowEpiso
   @Override
   protected void fireRemoveEventForMediaFile(MediaFile mediaFile) {
     super.fireRemoveEventForMediaFile(mediaFile);
+    updateEpisodeIndex();
 
     // episode related media file types
     if (mediaFile.getType() == MediaFileType.SUBTITLE) {
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.tvshow.entities;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.tinymediamanager.core.entities.MediaFile;
+
+/**
+ * The class {@link TvShowEpisodeIndex} indexes the episodes of a {@link TvShow} by their files and by their season/episode numbers (in the
+ * episode group of the TV show and in DVD order) for constant time lookups.<br />
+ * <br />
+ * The index is built on the first lookup and maintained by the TV show when episodes are added or removed; renumbered episodes and changed media
+ * files are re-indexed synchronously by the episode itself (not via the property change events, which are delivered later on the EDT). Since the
+ * path of a {@link MediaFile} can be changed in place without any event (e.g. by the renamer), every found episode is verified and the file index
+ * is rebuilt if a file cannot be found after media file paths have been changed.
+ *
+ * @author Manuel Laggner
+ */
+class TvShowEpisodeIndex {
+  private final List<TvShowEpisode>            episodes;
+
+  private final Map<TvShowEpisode, Keys>       indexed      = new IdentityHashMap<>();
+  private final Map<Path, List<TvShowEpisode>> byFile       = new HashMap<>();
+  private final Map<Long, List<TvShowEpisode>> byEpisode    = new HashMap<>();
+  private final Map<Long, List<TvShowEpisode>> byDvdEpisode = new HashMap<>();
+
+  private boolean                              built        = false;
+  private long                                 pathChanges  = -1;
+
+  /**
+   * create the index for the given episodes
+   *
+   * @param episodes
+   *          the (live) list of episodes of the TV show
+   */
+  TvShowEpisodeIndex(List<TvShowEpisode> episodes) {
+    this.episodes = episodes;
+  }
+
+  synchronized void add(TvShowEpisode episode) {
+    if (!built) {
+      // will be indexed on the first lookup
+      return;
+    }
+
+    Keys keys = new Keys(new ArrayList<>(), toKey(episode.getSeason(), episode.getEpisode()),
+        toKey(episode.getDvdSeason(), episode.getDvdEpisode()));
+    for (MediaFile mediaFile : episode.getMediaFiles()) {
+      Path file = mediaFile.getFile();
+      if (!keys.files().contains(file)) {
+        keys.files().add(file);
+        byFile.computeIfAbsent(file, k -> new ArrayList<>(1)).add(episode);
+      }
+    }
+    if (keys.episode() != null) {
+      byEpisode.computeIfAbsent(keys.episode(), k -> new ArrayList<>(1)).add(episode);
+    }
+    if (keys.dvdEpisode() != null) {
+      byDvdEpisode.computeIfAbsent(keys.dvdEpisode(), k -> new ArrayList<>(1)).add(episode);
+    }
+
+    indexed.put(episode, keys);
+  }
+
+  synchronized void remove(TvShowEpisode episode) {
+    Keys keys = indexed.remove(episode);
+    if (keys == null) {
+      return;
+    }
+
+    for (Path file : keys.files()) {
+      removeFrom(byFile, file, episode);
+    }
+    removeFrom(byEpisode, keys.episode(), episode);
+    removeFrom(byDvdEpisode, keys.dvdEpisode(), episode);
+  }
+
+  /**
+   * re-index the given episode (e.g. after its files or numbers have been changed)
+   */
+  synchronized void update(TvShowEpisode episode) {
+    if (indexed.containsKey(episode)) {
+      remove(episode);
+      add(episode);
+    }
+  }
+
+  /**
+   * drop the whole index (e.g. after the episode group of the TV show has been changed). It is being rebuilt on the next lookup
+   */
+  synchronized void invalidate() {
+    built = false;
+    indexed.clear();
+    byFile.clear();
+    byEpisode.clear();
+    byDvdEpisode.clear();
+  }
+
+  /**
+   * get all episodes which have a {@link MediaFile} with the given file
+   *
+   * @param file
+   *          the file to search for
+   * @return a list of all found episodes
+   */
+  synchronized List<TvShowEpisode> getByFile(Path file) {
+    ensureBuilt();
+
+    Predicate<TvShowEpisode> hasFile = episode -> episode.getMediaFiles().stream().anyMatch(mediaFile -> file.equals(mediaFile.getFile()));
+
+    List<TvShowEpisode> found = verify(byFile.get(file), hasFile);
+    if (found.isEmpty() && pathChanges != MediaFile.getPathChanges()) {
+      // paths of media files have been changed meanwhile - the file may be missing in the index
+      invalidate();
+      ensureBuilt();
+      found = verify(byFile.get(file), hasFile);
+    }
+
+    return found;
+  }
+
+  /**
+   * get all episodes with the given season/episode number in the episode group of the TV show
+   */
+  synchronized List<TvShowEpisode> getByEpisode(int season, int episode) {
+    ensureBuilt();
+    return verify(byEpisode.get(toKey(season, episode)), ep -> ep.getSeason() == season && ep.getEpisode() == episode);
+  }
+
+  /**
+   * get all episodes with the given season/episode number in DVD order
+   */
+  synchronized List<TvShowEpisode> getByDvdEpisode(int season, int episode) {
+    ensureBuilt();
+    return verify(byDvdEpisode.get(toKey(season, episode)), ep -> ep.getDvdSeason() == season && ep.getDvdEpisode() == episode);
+  }
+
+  private void ensureBuilt() {
+    if (built) {
+      return;
+    }
+
+    built = true;
+    pathChanges = MediaFile.getPathChanges();
+    for (TvShowEpisode episode : episodes) {
+      add(episode);
+    }
+  }
+
+  private List<TvShowEpisode> verify(List<TvShowEpisode> candidates, Predicate<TvShowEpisode> matches) {
+    if (candidates == null || candidates.isEmpty()) {
+      return new ArrayList<>(1);
+    }
+
+    List<TvShowEpisode> found = new ArrayList<>(candidates.size());
+    List<TvShowEpisode> stale = new ArrayList<>();
+    for (TvShowEpisode episode : candidates) {
+      if (matches.test(episode)) {
+        found.add(episode);
+      }
+      else {
+        stale.add(episode);
+      }
+    }
+    stale.forEach(this::update);
+
+    // same order as in the episode list
+    if (found.size() > 1) {
+      found.sort(TvShowEpisode::compareTo);
+    }
+
+    return found;
+  }
+
+  private static Long toKey(int season, int episode) {
+    if (season < 0 || episode < 0) {
+      return null;
+    }
+    return ((long) season << 32) | episode;
+  }
+
+  private static void removeFrom(Map<?, List<TvShowEpisode>> index, Object key, TvShowEpisode episode) {
+    if (key == null) {
+      return;
+    }
+
+    List<TvShowEpisode> list = index.get(key);
+    if (list != null) {
+      list.removeIf(entry -> entry == episode);
+      if (list.isEmpty()) {
+        index.remove(key);
+      }
+    }
+  }
+
+  private record Keys(List<Path> files, Long episode, Long dvdEpisode) {
+  }
+}
@@ -517,6 +517,16 @@ class TvShowCommandTask extends TmmThreadPool {
         tvShowsToProcess.addAll(tvShowList.getUnscrapedTvShows());
         break;
 
+      case "search":
+        if (scope.args != null && scope.args.length > 0) {
+          Set<TvShow> foundTvShows = new LinkedHashSet<>();
+          for (String searchTerm : scope.args) {
+            foundTvShows.addAll(tvShowList.searchTvShows(searchTerm));
+          }
+          tvShowsToProcess.addAll(foundTvShows);
+        }
+        break;
+
       case "new":
       default:
         tvShowsToProcess.addAll(newTvShows);
@@ -560,6 +570,16 @@ class TvShowCommandTask extends TmmThreadPool {
         episodesToProcess.addAll(tvShowList.getUnscrapedEpisodes());
         break;
 
+      case "search":
+        if (scope.args != null && scope.args.length > 0) {
+          Set<TvShowEpisode> foundEpisodes = new LinkedHashSet<>();
+          for (String searchTerm : scope.args) {
+            foundEpisodes.addAll(tvShowList.searchEpisodes(searchTerm));
+          }
+          episodesToProcess.addAll(foundEpisodes);
+        }
+        break;
+
       case "all":
         for (TvShow tvShow : tvShowList.getTvShows()) {
           episodesToProcess.addAll(tvShow.getEpisodes());
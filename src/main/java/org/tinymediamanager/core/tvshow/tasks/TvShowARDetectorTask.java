@@ -17,8 +17,6 @@ package org.tinymediamanager.core.tvshow.tasks;
 
 import java.util.List;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.tinymediamanager.core.MediaFileType;
 import org.tinymediamanager.core.entities.MediaFile;
 import org.tinymediamanager.core.tasks.ARDetectorTask;
@@ -31,8 +29,6 @@ import org.tinymediamanager.core.tvshow.entities.TvShowEpisode;
  */
 public class TvShowARDetectorTask extends ARDetectorTask {
 
-  private static final Logger       LOGGER = LoggerFactory.getLogger(TvShowARDetectorTask.class);
-
   private final List<TvShowEpisode> episodes;
 
   public TvShowARDetectorTask(List<TvShowEpisode> episodes) {
@@ -52,20 +48,17 @@ public class TvShowARDetectorTask extends ARDetectorTask {
       setWorkUnits(filesTotal * 100);
     }
 
-    int idx = 0;
-    for (TvShowEpisode episode : this.episodes) {
+    analyzeAll(this.episodes, episode -> {
       for (MediaFile mediaFile : episode.getMediaFiles(MediaFileType.VIDEO)) {
         if (cancel) {
           break;
         }
-        analyze(mediaFile, idx++);
+        analyze(mediaFile);
       }
-      if (cancel) {
-        LOGGER.info("Abort queue");
-        break;
+      if (!cancel) {
+        episode.saveToDb();
+        episode.writeNFO();
       }
-      episode.saveToDb();
-      episode.writeNFO();
-    }
+    });
   }
 }
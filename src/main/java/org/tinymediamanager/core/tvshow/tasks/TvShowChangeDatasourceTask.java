@@ -27,6 +27,7 @@ import org.tinymediamanager.core.Message;
 import org.tinymediamanager.core.MessageManager;
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.Utils;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.core.tvshow.entities.TvShow;
 import org.tinymediamanager.core.tvshow.entities.TvShowEpisode;
@@ -50,7 +51,7 @@ public class TvShowChangeDatasourceTask extends TmmThreadPool {
 
   @Override
   protected void doInBackground() {
-    initThreadPool(1, "changeDataSource");
+    initThreadPool(1, "changeDataSource", ResourceClass.DISK);
     start();
 
     for (TvShow tvShow : tvShowsToChange) {
@@ -31,6 +31,8 @@ import org.tinymediamanager.core.MediaFileType;
 import org.tinymediamanager.core.Message;
 import org.tinymediamanager.core.MessageManager;
 import org.tinymediamanager.core.TmmResourceBundle;
+import org.tinymediamanager.core.threading.TmmScheduler.Priority;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.core.tvshow.TvShowArtworkHelper;
 import org.tinymediamanager.core.tvshow.TvShowEpisodeScraperMetadataConfig;
@@ -84,7 +86,8 @@ public class TvShowMissingArtworkDownloadTask extends TmmThreadPool {
   protected void doInBackground() {
     LOGGER.info("Getting missing artwork");
 
-    initThreadPool(3, "scrapeMissingTvShowArtwork");
+    initThreadPool(3, "scrapeMissingTvShowArtwork", ResourceClass.NETWORK);
+    setPriority(Priority.LOW);
     start();
 
     for (TvShow show : tvShows) {
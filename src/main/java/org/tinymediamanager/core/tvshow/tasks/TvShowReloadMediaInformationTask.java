@@ -27,6 +27,7 @@ import org.tinymediamanager.core.MessageManager;
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.entities.MediaFile;
 import org.tinymediamanager.core.tasks.MediaFileInformationFetcherTask;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.core.tvshow.entities.TvShow;
 import org.tinymediamanager.core.tvshow.entities.TvShowEpisode;
@@ -66,7 +67,7 @@ public class TvShowReloadMediaInformationTask extends TmmThreadPool {
       // update MediaInfo
       start();
 
-      initThreadPool(1, "reloadMI");
+      initThreadPool(1, "reloadMI", ResourceClass.DISK);
       for (TvShow show : tvShows) {
         if (cancel) {
           break;
@@ -15,33 +15,53 @@
  */
 package org.tinymediamanager.core.tvshow.tasks;
 
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.tinymediamanager.core.Message;
 import org.tinymediamanager.core.Message.MessageLevel;
 import org.tinymediamanager.core.MessageManager;
+import org.tinymediamanager.core.RenameJournal;
 import org.tinymediamanager.core.TmmResourceBundle;
+import org.tinymediamanager.core.threading.TmmScheduler;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
 import org.tinymediamanager.core.threading.TmmThreadPool;
+import org.tinymediamanager.core.tvshow.TvShowModuleManager;
 import org.tinymediamanager.core.tvshow.TvShowRenamer;
 import org.tinymediamanager.core.tvshow.entities.TvShow;
 import org.tinymediamanager.core.tvshow.entities.TvShowEpisode;
 
 /**
- * The class MovieRenameTask. rename all chosen movies
+ * The class MovieRenameTask. rename all chosen movies. Different TV shows are renamed in parallel (with a limited amount of concurrent renames per
+ * file system); every rename is journaled to be able to roll back an unfinished rename after a crash
  * 
  * @author Manuel Laggner
  */
 public class TvShowRenameTask extends TmmThreadPool {
-  private static final Logger       LOGGER           = LoggerFactory.getLogger(TvShowRenameTask.class);
+  private static final Logger        LOGGER                 = LoggerFactory.getLogger(TvShowRenameTask.class);
+  private static final RenameJournal JOURNAL                = new RenameJournal("tvshows",
+      () -> TvShowModuleManager.getInstance().flushPersistence());
+  // the TV shows/episodes of a crashed run which have been rolled back at startup - they are renamed again with the next rename run
+  private static final Set<String>   UNFINISHED             = ConcurrentHashMap.newKeySet();
 
-  private final List<TvShow>        tvShowsToRename  = new ArrayList<>();
-  private final List<TvShowEpisode> episodesToRename = new ArrayList<>();
+  private static final int           MAX_THREADS            = 8;
+
+  private final List<TvShow>         tvShowsToRename        = new ArrayList<>();
+  private final List<TvShowEpisode>  episodesToRename       = new ArrayList<>();
 
   /**
    * Rename just the given {@link TvShow} root (and {@link org.tinymediamanager.core.entities.MediaFile}s)
@@ -86,24 +106,46 @@ public class TvShowRenameTask extends TmmThreadPool {
   protected void doInBackground() {
     try {
       start();
-      initThreadPool(1, "rename");
 
-      // 1. episodes first (to get the right season folders for moving season artwork)
-      for (TvShowEpisode tvEpisodesToRename : episodesToRename) {
-        if (cancel) {
-          break;
-        }
-        submitTask(new RenameEpisodeTask(tvEpisodesToRename));
+      // roll back renames of a crashed run and rename these TV shows/episodes again
+      resumeUnfinishedRenames();
+
+      // every TV show is renamed in an own chain: episodes first (to get the right season folders for moving season artwork), then the TV show
+      // root
+      Map<TvShow, RenameChain> chains = new LinkedHashMap<>();
+      for (TvShowEpisode episode : episodesToRename) {
+        chains.computeIfAbsent(episode.getTvShow(), RenameChain::new).episodes.add(episode);
+      }
+      for (TvShow tvShow : tvShowsToRename) {
+        chains.computeIfAbsent(tvShow, RenameChain::new).renameRoot = true;
       }
 
-      waitForCompletionOrCancel();
-      if (cancel) {
-        return;
+      Map<Object, Deque<RenameChain>> chainsPerFileSystem = new LinkedHashMap<>();
+      for (RenameChain chain : chains.values()) {
+        chainsPerFileSystem.computeIfAbsent(chain.fileSystemKey, key -> new ArrayDeque<>()).add(chain);
       }
 
-      // 2. rename TV show root
-      for (TvShow tvShow : tvShowsToRename) {
-        TvShowRenamer.renameTvShow(tvShow); // rename root and artwork and update ShowMFs
+      // the amount of concurrent renames per file system is limited by the disk budget of the scheduler
+      initThreadPool(MAX_THREADS, "rename", ResourceClass.DISK);
+
+      JOURNAL.open();
+      try {
+        // submit in a round robin order to spread the file systems over the queue
+        boolean submitted = true;
+        while (submitted && !cancel) {
+          submitted = false;
+          for (Deque<RenameChain> fileSystemChains : chainsPerFileSystem.values()) {
+            RenameChain chain = fileSystemChains.poll();
+            if (chain != null) {
+              submitTask(new RenameTvShowTask(chain), chain.fileSystemKey);
+              submitted = true;
+            }
+          }
+        }
+        waitForCompletionOrCancel();
+      }
+      finally {
+        JOURNAL.close();
       }
 
       LOGGER.info("Done renaming TV shows)");
@@ -115,19 +157,73 @@ public class TvShowRenameTask extends TmmThreadPool {
   }
 
   /**
-   * ThreadpoolWorker to work off ONE episode
+   * roll back the renames of a crashed run. This is called at the start of the TV show module, so that the file system is in sync with the
+   * database before anything accesses the TV shows. The rolled back TV shows/episodes are being renamed again with the next rename run
+   */
+  public static void recoverUnfinishedRenames() {
+    UNFINISHED.addAll(JOURNAL.recover());
+  }
+
+  private void resumeUnfinishedRenames() {
+    recoverUnfinishedRenames();
+    if (UNFINISHED.isEmpty()) {
+      return;
+    }
+
+    Set<String> ids = new HashSet<>(UNFINISHED);
+    UNFINISHED.removeAll(ids);
+
+    for (TvShow tvShow : TvShowModuleManager.getInstance().getTvShowList().getTvShows()) {
+      if (ids.contains(tvShow.getDbId().toString()) && !tvShowsToRename.contains(tvShow)) {
+        LOGGER.info("resuming unfinished rename of '{}'", tvShow.getTitle());
+        tvShowsToRename.add(tvShow);
+      }
+
+      for (TvShowEpisode episode : tvShow.getEpisodes()) {
+        if (ids.contains(episode.getDbId().toString()) && !episodesToRename.contains(episode)) {
+          LOGGER.info("resuming unfinished rename of '{}'", episode.getTitle());
+          episodesToRename.add(episode);
+        }
+      }
+    }
+  }
+
+  /**
+   * all episodes of a TV show (and the TV show root) need to be renamed sequentially
    */
-  private static class RenameEpisodeTask implements Callable<Object> {
-    private final TvShowEpisode episode;
+  private static class RenameChain {
+    private final TvShow              tvShow;
+    private final List<TvShowEpisode> episodes   = new ArrayList<>();
+    private final Object              fileSystemKey;
+    private boolean                   renameRoot = false;
+
+    private RenameChain(TvShow tvShow) {
+      this.tvShow = tvShow;
+      this.fileSystemKey = TmmScheduler.getDeviceKey(Paths.get(tvShow.getDataSource()));
+    }
+  }
+
+  /**
+   * ThreadpoolWorker to work off ONE TV show
+   */
+  private static class RenameTvShowTask implements Callable<Object> {
+    private final RenameChain chain;
 
-    public RenameEpisodeTask(TvShowEpisode episode) {
-      this.episode = episode;
+    private RenameTvShowTask(RenameChain chain) {
+      this.chain = chain;
     }
 
     @Override
     public String call() {
-      TvShowRenamer.renameEpisode(episode);
-      return episode.getTitle();
+      for (TvShowEpisode episode : chain.episodes) {
+        JOURNAL.execute(episode.getDbId().toString(), () -> TvShowRenamer.renameEpisode(episode));
+      }
+
+      if (chain.renameRoot) {
+        // rename root and artwork and update ShowMFs
+        JOURNAL.execute(chain.tvShow.getDbId().toString(), () -> TvShowRenamer.renameTvShow(chain.tvShow));
+      }
+      return chain.tvShow.getTitle();
     }
   }
 
@@ -33,6 +33,8 @@ import org.tinymediamanager.core.entities.MediaRating;
 import org.tinymediamanager.core.entities.MediaTrailer;
 import org.tinymediamanager.core.entities.Person;
 import org.tinymediamanager.core.movie.MovieModuleManager;
+import org.tinymediamanager.core.threading.TmmScheduler.Priority;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
 import org.tinymediamanager.core.threading.TmmTaskManager;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.core.tvshow.TvShowEpisodeScraperMetadataConfig;
@@ -96,7 +98,9 @@ public class TvShowScrapeTask extends TmmThreadPool {
     LOGGER.debug("start scraping tv shows...");
     start();
 
-    initThreadPool(3, "scrape");
+    initThreadPool(3, "scrape", ResourceClass.NETWORK);
+    // scrapes triggered by the user are preferred over background jobs
+    setPriority(Priority.HIGH);
     for (TvShow tvShow : tvShowScrapeParams.tvShowsToScrape) {
       submitTask(new Worker(tvShow));
     }
@@ -34,6 +34,7 @@ import org.tinymediamanager.core.MessageManager;
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.entities.MediaFile;
 import org.tinymediamanager.core.tasks.SubtitleDownloadTask;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
 import org.tinymediamanager.core.threading.TmmTaskManager;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.core.tvshow.TvShowModuleManager;
@@ -87,7 +88,7 @@ public class TvShowSubtitleSearchAndDownloadTask extends TmmThreadPool {
 
   @Override
   protected void doInBackground() {
-    initThreadPool(3, "searchAndDownloadSubtitles");
+    initThreadPool(3, "searchAndDownloadSubtitles", ResourceClass.NETWORK);
     start();
 
     for (TvShowEpisode episode : episodes) {
@@ -35,6 +35,7 @@ import org.tinymediamanager.core.MessageManager;
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.Utils;
 import org.tinymediamanager.core.entities.MediaFile;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.core.tvshow.entities.TvShow;
 import org.tinymediamanager.scraper.MediaMetadata;
@@ -59,7 +60,7 @@ public class TvShowThemeDownloadTask extends TmmThreadPool {
 
   @Override
   protected void doInBackground() {
-    initThreadPool(3, "themeDownload");
+    initThreadPool(3, "themeDownload", ResourceClass.NETWORK);
     start();
 
     for (TvShow tvShow : tvShows) {
@@ -35,11 +35,14 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -65,7 +68,12 @@ import org.tinymediamanager.core.Utils;
 import org.tinymediamanager.core.entities.MediaEntity;
 import org.tinymediamanager.core.entities.MediaFile;
 import org.tinymediamanager.core.entities.MediaSource;
+import org.tinymediamanager.core.metrics.Counter;
+import org.tinymediamanager.core.metrics.TmmMetrics;
 import org.tinymediamanager.core.tasks.MediaFileInformationFetcherTask;
+import org.tinymediamanager.core.threading.TmmScheduler;
+import org.tinymediamanager.core.threading.TmmScheduler.Priority;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
 import org.tinymediamanager.core.threading.TmmTaskManager;
 import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.core.tvshow.TvShowArtworkHelper;
@@ -100,25 +108,33 @@ import org.tinymediamanager.thirdparty.trakttv.TvShowSyncTraktTvTask;
  */
 
 public class TvShowUpdateDatasourceTask extends TmmThreadPool {
-  private static final Logger          LOGGER        = LoggerFactory.getLogger(TvShowUpdateDatasourceTask.class);
+  private static final Logger          LOGGER                 = LoggerFactory.getLogger(TvShowUpdateDatasourceTask.class);
 
   // skip well-known, but unneeded folders (UPPERCASE)
-  private static final List<String>    SKIP_FOLDERS  = Arrays.asList(".", "..", "CERTIFICATE", "$RECYCLE.BIN", "RECYCLER",
+  private static final List<String>    SKIP_FOLDERS           = Arrays.asList(".", "..", "CERTIFICATE", "$RECYCLE.BIN", "RECYCLER",
       "SYSTEM VOLUME INFORMATION", "@EADIR", "ADV_OBJ", "EXTRATHUMB", "PLEX VERSIONS");
 
   // skip folders starting with a SINGLE "." or "._"
-  private static final String          SKIP_REGEX    = "^[.][\\w@]+.*";
+  private static final String          SKIP_REGEX             = "^[.][\\w@]+.*";
 
-  private static long                  preDir        = 0;
-  private static long                  postDir       = 0;
-  private static long                  visFile       = 0;
+  // new episodes per partition which are parsed concurrently for big TV shows
+  private static final int             EPISODE_PARTITION_SIZE = 32;
 
-  private final List<String>           dataSources   = new ArrayList<>();
-  private final List<Pattern>          skipFolders   = new ArrayList<>();
-  private final List<TvShow>           showsToUpdate = new ArrayList<>();
+  // statistics of the file system walk (the per run values are the difference to the values at the start of the run)
+  private static final Counter         PRE_DIR                = scanCounter("pre_dir");
+  private static final Counter         POST_DIR               = scanCounter("post_dir");
+  private static final Counter         VISIT_FILE             = scanCounter("visit_file");
+
+  private final List<String>           dataSources            = new ArrayList<>();
+  private final List<Pattern>          skipFolders            = new ArrayList<>();
+  private final List<TvShow>           showsToUpdate          = new ArrayList<>();
   private final TvShowList             tvShowList;
-  private final Set<Path>              filesFound    = new HashSet<>();
-  private final ReentrantReadWriteLock fileLock      = new ReentrantReadWriteLock();
+  private final Set<Path>              filesFound             = new HashSet<>();
+  private final ReentrantReadWriteLock fileLock               = new ReentrantReadWriteLock();
+
+  private long                         preDirStart;
+  private long                         postDirStart;
+  private long                         visitFileStart;
 
   /**
    * Instantiates a new scrape task - to update all datasources
@@ -244,7 +260,7 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
           }
 
           LOGGER.info("Start UDS on datasource: {}", ds);
-          initThreadPool(3, "update");
+          initThreadPool(3, "update", ResourceClass.DISK, TmmScheduler.getDeviceKey(dsAsPath));
           setTaskName(TmmResourceBundle.getString("update.datasource") + " '" + ds + "'");
           publishState();
 
@@ -336,9 +352,7 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
           LOGGER.info("FilesFound: {}", filesFound.size());
           LOGGER.info("tvShowsFound: {}", tvShowList.getTvShowCount());
           LOGGER.info("episodesFound: {}", tvShowList.getEpisodeCount());
-          LOGGER.debug("PreDir: {}", preDir);
-          LOGGER.debug("PostDir: {}", postDir);
-          LOGGER.debug("VisFile: {}", visFile);
+          logWalkStatistics();
 
           if (cancel) {
             break;
@@ -352,7 +366,7 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
         } // end foreach datasource
       }
       else { // for each selected show
-        initThreadPool(3, "update");
+        initThreadPool(3, "update", ResourceClass.DISK);
 
         // get distinct data sources
         Set<String> showDatasources = new HashSet<>();
@@ -396,12 +410,13 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
           }
 
           // update selected TV shows
+          Object device = TmmScheduler.getDeviceKey(dsAsPath);
           for (TvShow show : showsToUpdate) {
             if (!show.getDataSource().equals(ds)) {
               continue;
             }
             showsToCleanup.add(show);
-            submitTask(new FindTvShowTask(show.getPathNIO(), Paths.get(ds)));
+            submitTask(new FindTvShowTask(show.getPathNIO(), Paths.get(ds)), device);
           }
         }
         waitForCompletionOrCancel();
@@ -410,9 +425,7 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
         LOGGER.info("FilesFound: {}", filesFound.size());
         LOGGER.info("tvShowsFound: {}", tvShowList.getTvShowCount());
         LOGGER.info("episodesFound: {}", tvShowList.getEpisodeCount());
-        LOGGER.debug("PreDir: {}", preDir);
-        LOGGER.debug("PostDir: {}", postDir);
-        LOGGER.debug("VisFile: {}", visFile);
+        logWalkStatistics();
 
         if (!cancel) {
           cleanup(showsToCleanup);
@@ -424,15 +437,15 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
         return;
       }
 
-      // map Kodi entries
+      // map Kodi entries - new/moved TV shows and episodes are being mapped on demand
       if (StringUtils.isNotBlank(Settings.getInstance().getKodiHost())) {
-        // call async to avoid slowdown of UDS
-        TmmTaskManager.getInstance().addUnnamedTask(() -> KodiRPC.getInstance().updateTvShowMappings());
+        KodiRPC.getInstance().markTvShowMappingsOutdated();
       }
 
       LOGGER.info("getting Mediainfo...");
 
-      initThreadPool(1, "mediainfo");
+      // the files of every show are analyzed concurrently - the disk budget per device is limited by the scheduler
+      initThreadPool(3, "mediainfo", ResourceClass.DISK);
       setTaskName(TmmResourceBundle.getString("update.mediainfo"));
       setTaskDescription(null);
       setProgressDone(0);
@@ -649,10 +662,12 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
    * detect which mediafiles has to be parsed and start a thread to do that
    */
   private void gatherMediaInformationForUngatheredMediaFiles(TvShow tvShow) {
+    Object device = TmmScheduler.getDeviceKey(tvShow.getPathNIO());
+
     // get mediainfo for tv show (fanart/poster..)
     for (MediaFile mf : tvShow.getMediaFiles()) {
       if (StringUtils.isBlank(mf.getContainerFormat())) {
-        submitTask(new TvShowMediaFileInformationFetcherTask(mf, tvShow, false));
+        submitTask(new TvShowMediaFileInformationFetcherTask(mf, tvShow, false), device);
       }
       else {
         // // did the file dates/size change?
@@ -662,7 +677,7 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
             Utils.deleteFileSafely(mediaFile.getFileAsPath());
             tvShow.removeFromMediaFiles(mediaFile);
           });
-          submitTask(new TvShowMediaFileInformationFetcherTask(mf, tvShow, true));
+          submitTask(new TvShowMediaFileInformationFetcherTask(mf, tvShow, true), device);
         }
       }
     }
@@ -671,7 +686,7 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
     for (TvShowEpisode episode : new ArrayList<>(tvShow.getEpisodes())) {
       for (MediaFile mf : episode.getMediaFiles()) {
         if (StringUtils.isBlank(mf.getContainerFormat())) {
-          submitTask(new TvShowMediaFileInformationFetcherTask(mf, episode, false));
+          submitTask(new TvShowMediaFileInformationFetcherTask(mf, episode, false), device);
         }
         else {
           // at least update the file dates
@@ -681,7 +696,7 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
               Utils.deleteFileSafely(mediaFile.getFileAsPath());
               episode.removeFromMediaFiles(mediaFile);
             });
-            submitTask(new TvShowMediaFileInformationFetcherTask(mf, episode, true));
+            submitTask(new TvShowMediaFileInformationFetcherTask(mf, episode, true), device);
           }
         }
       }
@@ -870,7 +885,19 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
       // ******************************
 
       Set<Path> discFolders = new HashSet<>();
-      for (MediaFile vid : getMediaFiles(mfs, MediaFileType.VIDEO)) {
+      List<MediaFile> videos = getMediaFiles(mfs, MediaFileType.VIDEO);
+
+      // index all MFs by their (generated) basename, to find the files of an episode without comparing every video with all files
+      Map<String, List<MediaFile>> filesByBasename = new HashMap<>();
+      for (MediaFile other : mfs) {
+        // change asdf-poster.jpg -> asdf.jpg, to ease basename matching ;)
+        filesByBasename.computeIfAbsent(getBasenameKey(other, getMediaFileNameWithoutType(other)), key -> new ArrayList<>()).add(other);
+      }
+
+      // big shows: parse the NFOs/file names of all new episodes concurrently - the episodes are created in the file order below
+      Map<Path, EpisodeMetadata> parsedMetadata = parseEpisodeMetadata(tvShow, videos, filesByBasename);
+
+      for (MediaFile vid : videos) {
         if (cancel) {
           return null;
         }
@@ -903,24 +930,18 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
           // epFiles.add(vid); // add ourself
 
           // normal episode file - get all same named files (in same directory!)
-          String vidBasename = FilenameUtils.getBaseName(Utils.cleanStackingMarkers(vid.getFilename()));
-          vidBasename = showDir.relativize(vid.getFileAsPath().getParent()) + "/" + vidBasename;
+          String vidBasename = getBasenameKey(vid, vid.getFilename());
           LOGGER.trace("UDS: video basename {} - {}", vidBasename, vid.getFile());
-          for (MediaFile other : mfs) {
-            // change asdf-poster.jpg -> asdf.jpg, to ease basename matching ;)
-            String imgBasename = FilenameUtils.getBaseName(Utils.cleanStackingMarkers(getMediaFileNameWithoutType(other)));
-            imgBasename = showDir.relativize(other.getFileAsPath().getParent()) + "/" + imgBasename;
-
-            // we now got a match with same (generated) basename!
-            if (vidBasename.equalsIgnoreCase(imgBasename)) {
-              if (other.getType() == MediaFileType.POSTER || other.getType() == MediaFileType.GRAPHIC) {
-                // re-type posters to EP "posters" (=thumb)
-                other.setType(MediaFileType.THUMB);
-              }
-              epFiles.add(other);
-              LOGGER.trace("UDS: found matching {} - {}", imgBasename, other.getFile());
+          for (MediaFile other : getEpisodeFiles(vidBasename, filesByBasename)) {
+            if (other.getType() == MediaFileType.POSTER || other.getType() == MediaFileType.GRAPHIC) {
+              // re-type posters to EP "posters" (=thumb)
+              other.setType(MediaFileType.THUMB);
+              // the generated basename depends on the type
+              filesByBasename.computeIfAbsent(getBasenameKey(other, getMediaFileNameWithoutType(other)), key -> new ArrayList<>()).add(other);
             }
-          } // end inner MF loop over all non videos
+            epFiles.add(other);
+            LOGGER.trace("UDS: found matching {} - {}", vidBasename, other.getFile());
+          }
         } // end MF nodisc file
 
         // ******************************
@@ -933,124 +954,73 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
           // STEP 2.1.1 - parse EP NFO (has precedence over files)
           // ******************************
 
-          // meta data from VSMETA files
-          MediaFile meta = getMediaFile(epFiles, MediaFileType.VSMETA);
-          TvShowEpisode vsMetaEP = null;
-          if (meta != null) {
-            VSMeta vsmeta = new VSMeta(meta.getFileAsPath());
-            vsmeta.parseFile();
-            vsMetaEP = vsmeta.getTvShowEpisode();
-          }
-
-          // meta data from XML files
-          TvShowEpisode xmlEP = null;
-          for (MediaFile xmlMf : epFiles) {
-            if ("xml".equalsIgnoreCase(xmlMf.getExtension()) && !xmlMf.getFilename().endsWith("mediainfo.xml")) {
-              try {
-                TvShowEpisodeNfoParser nfoParser = TvShowEpisodeNfoParser.parseNfo(xmlMf.getFileAsPath());
-                List<TvShowEpisode> epsInXml = nfoParser.toTvShowEpisodes();
-                if (!epsInXml.isEmpty()) {
-                  xmlEP = epsInXml.get(0);
-                }
-              }
-              catch (Exception e) {
-                // ignored
-              }
-            }
+          EpisodeMetadata metadata = parsedMetadata.get(vid.getFileAsPath());
+          if (metadata == null) {
+            metadata = parseEpisodeMetadata(tvShow, vid, epFiles);
           }
+          TvShowEpisode vsMetaEP = metadata.vsMetaEpisode();
+          TvShowEpisode xmlEP = metadata.xmlEpisode();
+          List<TvShowEpisode> episodesInNfo = metadata.nfoEpisodes();
 
           // drop all unknown EP files
           epFiles = epFiles.stream().filter(mediaFile -> mediaFile.getType() != MediaFileType.UNKNOWN).collect(Collectors.toList());
 
-          MediaFile epNfo = getMediaFile(epFiles, MediaFileType.NFO);
-          if (epNfo != null) {
-            LOGGER.debug("found episode NFO - try to parse '{}'", showDir.relativize(epNfo.getFileAsPath()));
-            List<TvShowEpisode> episodesInNfo = new ArrayList<>();
+          // did we find any episodes in the NFO?
+          if (!episodesInNfo.isEmpty()) {
+            // these have priority!
+            for (TvShowEpisode episode : episodesInNfo) {
+              episode.setPath(vid.getPath());
+              episode.setTvShow(tvShow);
 
-            try {
-              TvShowEpisodeNfoParser parser = TvShowEpisodeNfoParser.parseNfo(epNfo.getFileAsPath());
-
-              // ALL episodes detected with -1? try to parse from filename...
-              boolean allUnknown = !parser.episodes.isEmpty() && parser.episodes.stream().allMatch(ep -> ep.episode == -1);
-              if (allUnknown) {
-                EpisodeMatchingResult result = TvShowEpisodeAndSeasonParser
-                    .detectEpisodeFromFilename(showDir.relativize(epNfo.getFileAsPath()).toString(), tvShow.getTitle());
-                if (parser.episodes.size() == result.episodes.size()) {
-                  int i = 0;
-                  for (Episode ep : parser.episodes) {
-                    ep.episode = result.episodes.get(i);
-                    ep.season = result.season;
-                    i++;
-                  }
-                }
+              if (episode.getMediaSource() == MediaSource.UNKNOWN) {
+                episode.setMediaSource(MediaSource.parseMediaSource(vid.getBasename()));
               }
+              episode.setNewlyAdded(true);
 
-              if (parser.isValidNfo()) {
-                episodesInNfo.addAll(parser.toTvShowEpisodes());
+              // remember the filename the first time the show gets added to tmm
+              if (StringUtils.isBlank(episode.getOriginalFilename())) {
+                episode.setOriginalFilename(vid.getFilename());
               }
-            }
-            catch (Exception e) {
-              LOGGER.debug("could not parse episode NFO: {}", e.getMessage());
-            }
-
-            // did we find any episodes in the NFO?
-            if (!episodesInNfo.isEmpty()) {
-              // these have priority!
-              for (TvShowEpisode episode : episodesInNfo) {
-                episode.setPath(vid.getPath());
-                episode.setTvShow(tvShow);
-
-                if (episode.getMediaSource() == MediaSource.UNKNOWN) {
-                  episode.setMediaSource(MediaSource.parseMediaSource(vid.getBasename()));
-                }
-                episode.setNewlyAdded(true);
-
-                // remember the filename the first time the show gets added to tmm
-                if (StringUtils.isBlank(episode.getOriginalFilename())) {
-                  episode.setOriginalFilename(vid.getFilename());
-                }
-
-                episode.addToMediaFiles(epFiles); // all found EP MFs
 
-                if (vid.isDiscFile()) {
-                  episode.setDisc(true);
+              episode.addToMediaFiles(epFiles); // all found EP MFs
 
-                  // disc files should be inside a discFolder - if we have one, set the path a level higher:
-                  Path discRoot = vid.getFileAsPath().toAbsolutePath();
-                  if (discRoot.getFileName().toString().matches(DISC_FOLDER_REGEX)) {
-                    // name of video file matches a disc folder? (eg when having already a virtual one)
-                    discRoot = discRoot.getParent();
-                    episode.setPath(discRoot.toString());
-                  }
-                  else if (discRoot.getParent().getFileName().toString().matches(DISC_FOLDER_REGEX)) {
-                    // video file not in its dedicated folder
-                    discRoot = discRoot.getParent();
-                    episode.setPath(discRoot.toString());
-                  }
-                  // else keep the current video path as episode root (set above)
-                }
+              if (vid.isDiscFile()) {
+                episode.setDisc(true);
 
-                if (episodesInNfo.size() > 1) {
-                  episode.setMultiEpisode(true);
+                // disc files should be inside a discFolder - if we have one, set the path a level higher:
+                Path discRoot = vid.getFileAsPath().toAbsolutePath();
+                if (discRoot.getFileName().toString().matches(DISC_FOLDER_REGEX)) {
+                  // name of video file matches a disc folder? (eg when having already a virtual one)
+                  discRoot = discRoot.getParent();
+                  episode.setPath(discRoot.toString());
                 }
-                else {
-                  episode.setMultiEpisode(false);
+                else if (discRoot.getParent().getFileName().toString().matches(DISC_FOLDER_REGEX)) {
+                  // video file not in its dedicated folder
+                  discRoot = discRoot.getParent();
+                  episode.setPath(discRoot.toString());
                 }
-                episode.merge(vsMetaEP); // merge VSmeta infos
-                episode.merge(xmlEP); // merge XML infos
+                // else keep the current video path as episode root (set above)
+              }
 
-                episode.saveToDb();
-                tvShow.addEpisode(episode);
+              if (episodesInNfo.size() > 1) {
+                episode.setMultiEpisode(true);
+              }
+              else {
+                episode.setMultiEpisode(false);
               }
-              continue; // with next video MF
+              episode.merge(vsMetaEP); // merge VSmeta infos
+              episode.merge(xmlEP); // merge XML infos
+
+              episode.saveToDb();
+              tvShow.addEpisode(episode);
             }
-          } // end parse NFO
+            continue; // with next video MF
+          }
 
           // ******************************
           // STEP 2.1.2 - no NFO? try to parse episode/season
           // ******************************
-          String relativePath = showDir.relativize(vid.getFileAsPath()).toString();
-          EpisodeMatchingResult result = TvShowEpisodeAndSeasonParser.detectEpisodeFromFilename(relativePath, tvShow.getTitle());
+          EpisodeMatchingResult result = metadata.filenameResult();
 
           // second check: is the detected episode (>-1; season >-1) already in
           // tmm and any valid stacking markers found?
@@ -1376,6 +1346,174 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
       return showDir.getFileName().toString();
     }
 
+    /**
+     * parse the metadata of a new episode: the VSMETA, XML and NFO files of the episode and (if there is no NFO) its file name
+     *
+     * @param tvShow
+     *          the TV show
+     * @param vid
+     *          the video file of the episode
+     * @param epFiles
+     *          all files of the episode
+     * @return the parsed {@link EpisodeMetadata}
+     */
+    private EpisodeMetadata parseEpisodeMetadata(TvShow tvShow, MediaFile vid, List<MediaFile> epFiles) {
+      // meta data from VSMETA files
+      MediaFile meta = getMediaFile(epFiles, MediaFileType.VSMETA);
+      TvShowEpisode vsMetaEP = null;
+      if (meta != null) {
+        VSMeta vsmeta = new VSMeta(meta.getFileAsPath());
+        vsmeta.parseFile();
+        vsMetaEP = vsmeta.getTvShowEpisode();
+      }
+
+      // meta data from XML files
+      TvShowEpisode xmlEP = null;
+      for (MediaFile xmlMf : epFiles) {
+        if ("xml".equalsIgnoreCase(xmlMf.getExtension()) && !xmlMf.getFilename().endsWith("mediainfo.xml")) {
+          try {
+            TvShowEpisodeNfoParser nfoParser = TvShowEpisodeNfoParser.parseNfo(xmlMf.getFileAsPath());
+            List<TvShowEpisode> epsInXml = nfoParser.toTvShowEpisodes();
+            if (!epsInXml.isEmpty()) {
+              xmlEP = epsInXml.get(0);
+            }
+          }
+          catch (Exception e) {
+            // ignored
+          }
+        }
+      }
+
+      List<TvShowEpisode> episodesInNfo = new ArrayList<>();
+      MediaFile epNfo = getMediaFile(epFiles, MediaFileType.NFO);
+      if (epNfo != null) {
+        LOGGER.debug("found episode NFO - try to parse '{}'", showDir.relativize(epNfo.getFileAsPath()));
+        try {
+          TvShowEpisodeNfoParser parser = TvShowEpisodeNfoParser.parseNfo(epNfo.getFileAsPath());
+
+          // ALL episodes detected with -1? try to parse from filename...
+          boolean allUnknown = !parser.episodes.isEmpty() && parser.episodes.stream().allMatch(ep -> ep.episode == -1);
+          if (allUnknown) {
+            EpisodeMatchingResult result = TvShowEpisodeAndSeasonParser
+                .detectEpisodeFromFilename(showDir.relativize(epNfo.getFileAsPath()).toString(), tvShow.getTitle());
+            if (parser.episodes.size() == result.episodes.size()) {
+              int i = 0;
+              for (Episode ep : parser.episodes) {
+                ep.episode = result.episodes.get(i);
+                ep.season = result.season;
+                i++;
+              }
+            }
+          }
+
+          if (parser.isValidNfo()) {
+            episodesInNfo.addAll(parser.toTvShowEpisodes());
+          }
+        }
+        catch (Exception e) {
+          LOGGER.debug("could not parse episode NFO: {}", e.getMessage());
+        }
+      }
+
+      // no NFO? try to parse episode/season from the file name
+      EpisodeMatchingResult result = null;
+      if (episodesInNfo.isEmpty()) {
+        String relativePath = showDir.relativize(vid.getFileAsPath()).toString();
+        result = TvShowEpisodeAndSeasonParser.detectEpisodeFromFilename(relativePath, tvShow.getTitle());
+      }
+
+      return new EpisodeMetadata(vsMetaEP, xmlEP, episodesInNfo, result);
+    }
+
+    /**
+     * parse the metadata of all new episodes (except disc files) of big shows concurrently: the files are split into partitions which are being
+     * parsed in the CPU queue of the {@link TmmScheduler} (or in this thread if the queue is busy)
+     *
+     * @param tvShow
+     *          the TV show
+     * @param videos
+     *          all video files of the TV show
+     * @param filesByBasename
+     *          all files of the TV show by their (generated) basename
+     * @return the parsed {@link EpisodeMetadata} by the video file; empty for small shows
+     */
+    private Map<Path, EpisodeMetadata> parseEpisodeMetadata(TvShow tvShow, List<MediaFile> videos, Map<String, List<MediaFile>> filesByBasename) {
+      List<MediaFile> newVideos = new ArrayList<>();
+      for (MediaFile vid : videos) {
+        if (!vid.isDiscFile() && TvShowList.getTvEpisodesByFile(tvShow, vid.getFile()).isEmpty()) {
+          newVideos.add(vid);
+        }
+      }
+
+      Map<Path, EpisodeMetadata> metadata = new ConcurrentHashMap<>();
+      if (newVideos.size() < 2 * EPISODE_PARTITION_SIZE) {
+        // not worth the overhead - parsed one by one while creating the episodes
+        return metadata;
+      }
+
+      List<Runnable> partitions = new ArrayList<>();
+      for (int i = 0; i < newVideos.size(); i += EPISODE_PARTITION_SIZE) {
+        List<MediaFile> partition = newVideos.subList(i, Math.min(i + EPISODE_PARTITION_SIZE, newVideos.size()));
+        partitions.add(() -> {
+          for (MediaFile vid : partition) {
+            if (cancel) {
+              return;
+            }
+            List<MediaFile> epFiles = getEpisodeFiles(getBasenameKey(vid, vid.getFilename()), filesByBasename);
+            metadata.put(vid.getFileAsPath(), parseEpisodeMetadata(tvShow, vid, epFiles));
+          }
+        });
+      }
+
+      try {
+        TmmScheduler.getInstance().runAll(ResourceClass.CPU, null, Priority.NORMAL, partitions);
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      catch (Exception e) {
+        // the missing episodes are being parsed while creating them
+        LOGGER.debug("could not parse the episodes of '{}' concurrently - {}", showDir, e.getMessage());
+      }
+
+      return metadata;
+    }
+
+    /**
+     * gets the (generated) basename of the MF relative to the show dir - lower case for a case insensitive matching<br>
+     * season 1/episode1-poster.jpg -> season 1/episode1
+     *
+     * @param mf
+     *          the MF
+     * @param filename
+     *          the filename of the MF to use
+     * @return the basename
+     */
+    private String getBasenameKey(MediaFile mf, String filename) {
+      String basename = FilenameUtils.getBaseName(Utils.cleanStackingMarkers(filename));
+      return (showDir.relativize(mf.getFileAsPath().getParent()) + "/" + basename).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * gets all MFs with the given (generated) basename
+     *
+     * @param basename
+     *          the basename (see {@link #getBasenameKey(MediaFile, String)})
+     * @param filesByBasename
+     *          all MFs by their basename
+     * @return all matching MFs
+     */
+    private List<MediaFile> getEpisodeFiles(String basename, Map<String, List<MediaFile>> filesByBasename) {
+      List<MediaFile> files = new ArrayList<>();
+      for (MediaFile other : filesByBasename.getOrDefault(basename, Collections.emptyList())) {
+        // the basename of re-typed MFs may have been changed meanwhile
+        if (basename.equals(getBasenameKey(other, getMediaFileNameWithoutType(other))) && !files.contains(other)) {
+          files.add(other);
+        }
+      }
+      return files;
+    }
+
     /**
      * gets the filename of the MF, reduced by type<br>
      * episode1-poster.jpg -> episode1.jpg<br>
@@ -1613,7 +1751,7 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
         return TERMINATE;
       }
 
-      incVisFile();
+      VISIT_FILE.increment();
 
       if (file.getFileName() == null) {
         return CONTINUE;
@@ -1659,7 +1797,7 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
         return TERMINATE;
       }
 
-      incPreDir();
+      PRE_DIR.increment();
 
       try {
         // getFilename returns null on DS root!
@@ -1692,37 +1830,43 @@ public class TvShowUpdateDatasourceTask extends TmmThreadPool {
         return TERMINATE;
       }
 
-      incPostDir();
+      POST_DIR.increment();
 
       return CONTINUE;
     }
   }
 
-  private static void resetCounters() {
-    visFile = 0;
-    preDir = 0;
-    postDir = 0;
+  private static Counter scanCounter(String event) {
+    return TmmMetrics.getInstance()
+        .counter("tmm_datasource_walk_total", "directories and files visited while updating the data sources", "module", "tvshow", "event", event);
   }
 
-  /**
-   * synchronized increment of visFile
-   */
-  private static synchronized void incVisFile() {
-    visFile++;
+  private void resetCounters() {
+    preDirStart = PRE_DIR.get();
+    postDirStart = POST_DIR.get();
+    visitFileStart = VISIT_FILE.get();
   }
 
-  /**
-   * synchronized increment of preDir
-   */
-  private static synchronized void incPreDir() {
-    preDir++;
+  private void logWalkStatistics() {
+    LOGGER.debug("PreDir: {}", PRE_DIR.get() - preDirStart);
+    LOGGER.debug("PostDir: {}", POST_DIR.get() - postDirStart);
+    LOGGER.debug("VisFile: {}", VISIT_FILE.get() - visitFileStart);
   }
 
   /**
-   * synchronized increment of postDir
+   * the parsed metadata of a new episode
+   *
+   * @param vsMetaEpisode
+   *          the episode from the VSMETA file (or null)
+   * @param xmlEpisode
+   *          the episode from a XML file (or null)
+   * @param nfoEpisodes
+   *          all episodes from the NFO file
+   * @param filenameResult
+   *          the episode/season parsed from the file name (null if there are episodes in the NFO)
    */
-  private static synchronized void incPostDir() {
-    postDir++;
+  private record EpisodeMetadata(TvShowEpisode vsMetaEpisode, TvShowEpisode xmlEpisode, List<TvShowEpisode> nfoEpisodes,
+      EpisodeMatchingResult filenameResult) {
   }
 
   /**
@@ -61,6 +61,10 @@ public class TmmHttpClient {
   private static OkHttpClient createHttpClient() {
     OkHttpClient.Builder builder = new OkHttpClient.Builder();
 
+    // limit the concurrent requests per provider
+    builder.addInterceptor(new TmmHttpHostLimitInterceptor());
+    // record the latency per provider (without the time waiting for a free slot)
+    builder.addInterceptor(new TmmHttpMetricsInterceptor());
     // add an own logging interceptor to only log text responses
     builder.addInterceptor(new TmmHttpLoggingInterceptor());
     // NEEDS TO BE SECOND LAST, TO AUTO DECODE BROTLI & GZIP
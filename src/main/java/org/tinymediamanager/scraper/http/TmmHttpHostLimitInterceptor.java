@@ -0,0 +1,178 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.scraper.http;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * The class {@link TmmHttpHostLimitInterceptor} limits the amount of concurrent requests per host (= per provider). With a small amount of
+ * worker threads the thread count limits the load on the providers - if there are (nearly) unlimited threads (virtual threads), this interceptor
+ * takes over this job.<br />
+ * The permit of a request is held until its response body has been read completely or closed - the transfer of the body is the main load of
+ * most requests.
+ *
+ * @author Manuel Laggner
+ */
+public class TmmHttpHostLimitInterceptor implements Interceptor {
+  private static volatile int                 maxRequestsPerHost = 0;
+  private static final Map<String, Semaphore> SEMAPHORES         = new ConcurrentHashMap<>();
+
+  /**
+   * set the maximum amount of concurrent requests per host
+   *
+   * @param maxRequests
+   *          the maximum amount of concurrent requests per host; 0 for no limit
+   */
+  public static synchronized void setMaxRequestsPerHost(int maxRequests) {
+    if (maxRequestsPerHost != maxRequests) {
+      maxRequestsPerHost = maxRequests;
+      // running requests release the permits of the old semaphores
+      SEMAPHORES.clear();
+    }
+  }
+
+  public static int getMaxRequestsPerHost() {
+    return maxRequestsPerHost;
+  }
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    int maxRequests = maxRequestsPerHost;
+    if (maxRequests <= 0) {
+      return chain.proceed(chain.request());
+    }
+
+    HttpUrl url = chain.request().url();
+    Semaphore semaphore = SEMAPHORES.computeIfAbsent(url.host() + ":" + url.port(), host -> new Semaphore(maxRequests, true));
+    try {
+      semaphore.acquire();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("interrupted while waiting for a free connection slot");
+    }
+
+    Permit permit = new Permit(semaphore);
+    Response response;
+    try {
+      response = chain.proceed(chain.request());
+    }
+    catch (IOException | RuntimeException e) {
+      permit.release();
+      throw e;
+    }
+
+    ResponseBody body = response.body();
+    if (body == null) {
+      permit.release();
+      return response;
+    }
+
+    return response.newBuilder().body(new PermitReleasingBody(body, permit)).build();
+  }
+
+  /*************************************************************************
+   * helper classes
+   *************************************************************************/
+
+  /**
+   * a permit of the semaphore which is released exactly once
+   */
+  private static class Permit {
+    private final Semaphore     semaphore;
+    private final AtomicBoolean released = new AtomicBoolean(false);
+
+    private Permit(Semaphore semaphore) {
+      this.semaphore = semaphore;
+    }
+
+    private void release() {
+      if (released.compareAndSet(false, true)) {
+        semaphore.release();
+      }
+    }
+  }
+
+  /**
+   * a {@link ResponseBody} which releases the permit when the body has been exhausted or closed
+   */
+  private static class PermitReleasingBody extends ResponseBody {
+    private final ResponseBody   delegate;
+    private final BufferedSource source;
+
+    private PermitReleasingBody(ResponseBody delegate, Permit permit) {
+      this.delegate = delegate;
+      this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+          long read;
+          try {
+            read = super.read(sink, byteCount);
+          }
+          catch (IOException e) {
+            permit.release();
+            throw e;
+          }
+
+          if (read == -1) {
+            permit.release();
+          }
+          return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+          try {
+            super.close();
+          }
+          finally {
+            permit.release();
+          }
+        }
+      });
+    }
+
+    @Override
+    public MediaType contentType() {
+      return delegate.contentType();
+    }
+
+    @Override
+    public long contentLength() {
+      return delegate.contentLength();
+    }
+
+    @Override
+    public BufferedSource source() {
+      return source;
+    }
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.scraper.http;
+
+import java.io.IOException;
+
+import org.tinymediamanager.core.metrics.TmmMetrics;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * The class {@link TmmHttpMetricsInterceptor} records the latency and the status of all HTTP requests per host (= per provider) in the
+ * {@link TmmMetrics}
+ *
+ * @author Manuel Laggner
+ */
+public class TmmHttpMetricsInterceptor implements Interceptor {
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    String host = chain.request().url().host();
+    long start = System.nanoTime();
+    String status = "error";
+
+    try {
+      Response response = chain.proceed(chain.request());
+      status = Integer.toString(response.code());
+      return response;
+    }
+    finally {
+      TmmMetrics.getInstance()
+          .timer("tmm_http_request_duration_seconds", "latency of the HTTP requests (until the response headers)", "host", host, "status", status)
+          .observeSince(start);
+    }
+  }
+}
@@ -16,15 +16,10 @@
 
 package org.tinymediamanager.scraper.opensubtitles;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.nio.LongBuffer;
-import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -35,7 +30,9 @@ import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.tinymediamanager.core.FeatureNotEnabledException;
+import org.tinymediamanager.core.FileHashService;
 import org.tinymediamanager.core.entities.MediaFile;
+import org.tinymediamanager.core.entities.MediaFileHashes;
 import org.tinymediamanager.scraper.MediaProviderInfo;
 import org.tinymediamanager.scraper.SubtitleSearchAndScrapeOptions;
 import org.tinymediamanager.scraper.SubtitleSearchResult;
@@ -53,18 +50,17 @@ import org.tinymediamanager.scraper.util.Similarity;
  * @author Myron Boyle, Manuel Laggner
  */
 abstract class OpenSubtitlesSubtitleProvider implements IMediaProvider {
-  public static final String       ID              = "opensubtitles";
+  public static final String       ID           = "opensubtitles";
 
-  private static final String      SERVICE         = "http://api.opensubtitles.org/xml-rpc";
-  private static final int         HASH_CHUNK_SIZE = 64 * 1024;
+  private static final String      SERVICE      = "http://api.opensubtitles.org/xml-rpc";
 
-  protected static TmmXmlRpcClient client          = null;
+  protected static TmmXmlRpcClient client       = null;
 
   private final MediaProviderInfo  providerInfo;
 
-  private String                   sessionToken    = "";
-  private String                   username        = "";
-  private String                   password        = "";
+  private String                   sessionToken = "";
+  private String                   username     = "";
+  private String                   password     = "";
 
   protected OpenSubtitlesSubtitleProvider() {
     providerInfo = createMediaProviderInfo();
@@ -135,9 +131,15 @@ abstract class OpenSubtitlesSubtitleProvider implements IMediaProvider {
     // first try: search with moviehash & filesize
     MediaFile mediaFile = options.getMediaFile();
     if (mediaFile != null && mediaFile.exists() && mediaFile.getFilesize() > 0) {
-      File file = mediaFile.getFile().toFile();
-      long fileSize = file.length();
-      String hash = computeOpenSubtitlesHash(file);
+      Path file = mediaFile.getFileAsPath();
+      // the hashes are persisted in the media file - no need to re-read the file if it has not been changed
+      long fileSize = mediaFile.getFilesize();
+      String hash = "";
+      MediaFileHashes hashes = FileHashService.getHashes(mediaFile);
+      if (hashes != null) {
+        fileSize = hashes.filesize();
+        hash = hashes.openSubtitlesHash();
+      }
 
       getLogger().debug("searching subtitle for {}", file);
       getLogger().debug("moviebytesize: {}; moviehash: {}", fileSize, hash);
@@ -386,45 +388,4 @@ abstract class OpenSubtitlesSubtitleProvider implements IMediaProvider {
       }
     }
   }
-
-  /**
-   * Returns OpenSubtitle hash or empty string if error
-   *
-   * @param file
-   *          the file to compute the hash
-   * @return hash
-   */
-  private String computeOpenSubtitlesHash(File file) {
-    long size = file.length();
-    long chunkSizeForFile = Math.min(HASH_CHUNK_SIZE, size);
-
-    try (FileInputStream is = new FileInputStream(file); FileChannel fileChannel = is.getChannel()) {
-      // do not use FileChannel.map() here because it is not releasing resources
-      ByteBuffer buf = ByteBuffer.allocate((int) chunkSizeForFile);
-      fileChannel.read(buf);
-      long head = computeOpenSubtitlesHashForChunk(buf);
-
-      fileChannel.read(buf, Math.max(size - HASH_CHUNK_SIZE, 0));
-      long tail = computeOpenSubtitlesHashForChunk(buf);
-
-      return String.format("%016x", size + head + tail);
-    }
-    catch (Exception e) {
-      getLogger().error("Error computing OpenSubtitles hash", e);
-    }
-    return "";
-  }
-
-  private static long computeOpenSubtitlesHashForChunk(ByteBuffer buffer) {
-
-    buffer.rewind();
-    LongBuffer longBuffer = buffer.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
-    long hash = 0;
-
-    while (longBuffer.hasRemaining()) {
-      hash += longBuffer.get();
-    }
-
-    return hash;
-  }
 }
@@ -18,13 +18,7 @@ package org.tinymediamanager.scraper.opensubtitles_com;
 import static org.tinymediamanager.scraper.MediaMetadata.IMDB;
 import static org.tinymediamanager.scraper.MediaMetadata.TMDB;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.lang.reflect.Type;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.nio.LongBuffer;
-import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -35,7 +29,9 @@ import java.util.TreeMap;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.tinymediamanager.core.FeatureNotEnabledException;
+import org.tinymediamanager.core.FileHashService;
 import org.tinymediamanager.core.entities.MediaFile;
+import org.tinymediamanager.core.entities.MediaFileHashes;
 import org.tinymediamanager.scraper.MediaMetadata;
 import org.tinymediamanager.scraper.MediaProviderInfo;
 import org.tinymediamanager.scraper.SubtitleSearchAndScrapeOptions;
@@ -59,14 +55,13 @@ import com.google.gson.reflect.TypeToken;
 import retrofit2.Response;
 
 abstract class OpenSubtitlesComSubtitleProvider implements IMediaProvider {
-  private static final String                                      ID              = "opensubtitles2";
-  private static final int                                         HASH_CHUNK_SIZE = 64 * 1024;
+  private static final String                                      ID             = "opensubtitles2";
 
-  private static final CacheMap<DownloadRequest, DownloadResponse> DOWNLOAD_CACHE  = new CacheMap<>(7200 * 3, 60);
+  private static final CacheMap<DownloadRequest, DownloadResponse> DOWNLOAD_CACHE = new CacheMap<>(7200 * 3, 60);
 
   private final MediaProviderInfo                                  providerInfo;
 
-  protected Controller                                             controller      = null;
+  protected Controller                                             controller     = null;
 
   protected OpenSubtitlesComSubtitleProvider() {
     providerInfo = createMediaProviderInfo();
@@ -185,9 +180,14 @@ abstract class OpenSubtitlesComSubtitleProvider implements IMediaProvider {
     // pass moviehash
     MediaFile mediaFile = options.getMediaFile();
     if (mediaFile != null && mediaFile.exists() && mediaFile.getFilesize() > 0) {
-      File file = mediaFile.getFile().toFile();
-      long fileSize = file.length();
-      String hash = computeOpenSubtitlesHash(file);
+      // the hashes are persisted in the media file - no need to re-read the file if it has not been changed
+      long fileSize = mediaFile.getFilesize();
+      String hash = "";
+      MediaFileHashes hashes = FileHashService.getHashes(mediaFile);
+      if (hashes != null) {
+        fileSize = hashes.filesize();
+        hash = hashes.openSubtitlesHash();
+      }
       query.put("moviehash", hash);
 
       getLogger().debug("moviebytesize: {}; moviehash: {}", fileSize, hash);
@@ -436,45 +436,4 @@ abstract class OpenSubtitlesComSubtitleProvider implements IMediaProvider {
       return null;
     }
   }
-
-  /**
-   * Returns OpenSubtitle hash or empty string if error
-   *
-   * @param file
-   *          the file to compute the hash
-   * @return hash
-   */
-  private String computeOpenSubtitlesHash(File file) {
-    long size = file.length();
-    long chunkSizeForFile = Math.min(HASH_CHUNK_SIZE, size);
-
-    try (FileInputStream is = new FileInputStream(file); FileChannel fileChannel = is.getChannel()) {
-      // do not use FileChannel.map() here because it is not releasing resources
-      ByteBuffer buf = ByteBuffer.allocate((int) chunkSizeForFile);
-      fileChannel.read(buf);
-      long head = computeOpenSubtitlesHashForChunk(buf);
-
-      fileChannel.read(buf, Math.max(size - HASH_CHUNK_SIZE, 0));
-      long tail = computeOpenSubtitlesHashForChunk(buf);
-
-      return String.format("%016x", size + head + tail).toLowerCase(Locale.ROOT);
-    }
-    catch (Exception e) {
-      getLogger().error("Error computing OpenSubtitles hash", e);
-    }
-    return "";
-  }
-
-  private static long computeOpenSubtitlesHashForChunk(ByteBuffer buffer) {
-
-    buffer.rewind();
-    LongBuffer longBuffer = buffer.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
-    long hash = 0;
-
-    while (longBuffer.hasRemaining()) {
-      hash += longBuffer.get();
-    }
-
-    return hash;
-  }
 }
@@ -15,12 +15,17 @@
  */
 package org.tinymediamanager.thirdparty;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -35,7 +40,8 @@ import org.tinymediamanager.core.Settings;
  * @author Manuel Laggner/Wolfgang Janes
  */
 public class FFmpeg {
-  private static final Logger LOGGER = LoggerFactory.getLogger(FFmpeg.class);
+  private static final Logger  LOGGER              = LoggerFactory.getLogger(FFmpeg.class);
+  private static final Pattern PATTERN_CROP_DETECT = Pattern.compile("\\[Parsed_cropdetect_(\\d+) @");
 
   private FFmpeg() {
     throw new IllegalAccessError();
@@ -149,6 +155,121 @@ public class FFmpeg {
     return cmdList;
   }
 
+  /**
+   * scan multiple samples of the given video file in a single FFmpeg session. Every sample is opened as a separate (fast seeked) input which
+   * is piped through its own cropdetect filter; the output is parsed while FFmpeg is running and every cropdetect line is passed to the
+   * listener along with the index of the sample it belongs to
+   *
+   * @param starts
+   *          the start positions (in seconds) of all samples
+   * @param duration
+   *          the duration of every sample
+   * @param darkLevel
+   *          the dark level for cropdetect
+   * @param videoFile
+   *          the video file to scan
+   * @param threads
+   *          the amount of threads FFmpeg may use for all samples together (0 = let FFmpeg decide)
+   * @param listener
+   *          the {@link SampleListener} to be informed about every cropdetect line
+   * @throws IOException
+   *           any {@link IOException} occurred
+   * @throws InterruptedException
+   *           being thrown if the thread has been interrupted
+   */
+  public static void scanSamples(List<Integer> starts, int duration, int darkLevel, Path videoFile, int threads, SampleListener listener)
+      throws IOException, InterruptedException {
+    executeCommand(createCommandForScanSamples(starts, duration, darkLevel, videoFile, threads), line -> {
+      Matcher matcher = PATTERN_CROP_DETECT.matcher(line);
+      if (matcher.find()) {
+        return listener.onCropDetect(Integer.parseInt(matcher.group(1)), line);
+      }
+      return true;
+    });
+  }
+
+  /**
+   * https://www.ffmpeg.org/ffmpeg-filters.html#cropdetect <br />
+   * every chain of the filter graph only contains one filter, so cropdetect of sample n is logged as "Parsed_cropdetect_n"
+   */
+  private static List<String> createCommandForScanSamples(List<Integer> starts, int duration, int darkLevel, Path videoFile, int threads)
+      throws IOException {
+    List<String> cmdList = new ArrayList<>();
+    cmdList.add(getFfmpegExecutable());
+    cmdList.add("-hide_banner");
+
+    int threadsPerSample = threads > 0 ? Math.max(1, threads / starts.size()) : 0;
+
+    StringBuilder filterGraph = new StringBuilder();
+    for (int i = 0; i < starts.size(); i++) {
+      if (threadsPerSample > 0) {
+        cmdList.add("-threads");
+        cmdList.add(Integer.toString(threadsPerSample));
+      }
+      cmdList.add("-noaccurate_seek");
+      cmdList.add("-t");
+      cmdList.add(Integer.toString(duration));
+      cmdList.add("-ss");
+      cmdList.add(Integer.toString(starts.get(i)));
+      cmdList.add("-i");
+      cmdList.add(videoFile.toAbsolutePath().toString());
+
+      if (i > 0) {
+        filterGraph.append(';');
+      }
+      filterGraph.append('[').append(i).append(":v:0]cropdetect=").append(darkLevel).append(":2:0[v").append(i).append(']');
+    }
+
+    cmdList.add("-filter_complex");
+    cmdList.add(filterGraph.toString());
+    for (int i = 0; i < starts.size(); i++) {
+      cmdList.add("-map");
+      cmdList.add("[v" + i + "]");
+    }
+    cmdList.add("-f");
+    cmdList.add("null");
+    cmdList.add("pipe:1");
+    return cmdList;
+  }
+
+  /**
+   * execute the given command and pass every line of the output to the line consumer while the process is running
+   *
+   * @param cmdline
+   *          the command to execute
+   * @param lineConsumer
+   *          the consumer for every line; returning false aborts the process
+   */
+  private static void executeCommand(List<String> cmdline, Predicate<String> lineConsumer) throws IOException, InterruptedException {
+    LOGGER.debug("Running command: {}", String.join(" ", cmdline));
+
+    ProcessBuilder pb = new ProcessBuilder(cmdline.toArray(new String[0])).redirectErrorStream(true);
+    final Process process = pb.start();
+
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      String lastLine = "";
+      while ((line = reader.readLine()) != null) {
+        lastLine = line;
+        if (!lineConsumer.test(line)) {
+          // aborted by the consumer
+          LOGGER.debug("FFmpeg has been aborted");
+          return;
+        }
+      }
+
+      int processValue = process.waitFor();
+      if (processValue != 0) {
+        LOGGER.warn("error at FFmpeg: '{}'", lastLine);
+        throw new IOException("error running FFmpeg - code '" + processValue + "'");
+      }
+    }
+    finally {
+      process.destroy();
+      IOUtils.close(process.getErrorStream());
+    }
+  }
+
   private static String executeCommand(List<String> cmdline) throws IOException, InterruptedException {
     LOGGER.debug("Running command: {}", String.join(" ", cmdline));
 
@@ -204,4 +325,21 @@ public class FFmpeg {
       throw new IOException("FFmpeg is not available");
     }
   }
+
+  /**
+   * the listener for the streamed results of {@link #scanSamples(List, int, int, Path, int, SampleListener)}
+   */
+  @FunctionalInterface
+  public interface SampleListener {
+    /**
+     * a cropdetect line for the given sample has been parsed
+     *
+     * @param sampleIndex
+     *          the index of the sample (in the list of start positions)
+     * @param line
+     *          the cropdetect line
+     * @return true to continue scanning, false to abort FFmpeg
+     */
+    boolean onCropDetect(int sampleIndex, String line);
+  }
 }
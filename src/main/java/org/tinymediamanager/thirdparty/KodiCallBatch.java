@@ -0,0 +1,142 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.thirdparty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tinymediamanager.jsonrpc.api.AbstractCall;
+import org.tinymediamanager.jsonrpc.api.call.VideoLibrary;
+import org.tinymediamanager.jsonrpc.io.ApiCallback;
+
+/**
+ * The class {@link KodiCallBatch} sends a batch of calls over the (persistent) connection to Kodi without waiting for the response of every
+ * single call. The connection matches the responses to the calls by their JSON-RPC id, so the responses may arrive in any order. Calls which
+ * have not been answered at all (e.g. the connection broke down) are returned to be sent one by one
+ *
+ * @author Manuel Laggner
+ */
+class KodiCallBatch {
+  private static final Logger                   LOGGER   = LoggerFactory.getLogger(KodiCallBatch.class);
+
+  private static final int                      PENDING  = 0;
+  private static final int                      ANSWERED = 1;
+  private static final int                      FAILED   = 2;
+
+  private final List<? extends AbstractCall<?>> calls;
+  private final AtomicIntegerArray              states;
+
+  /**
+   * the transport to send a single call with - the callback is invoked once the response (or the error) for the call arrived
+   */
+  interface Transport {
+    void call(AbstractCall<?> call, ApiCallback<?> callback) throws Exception;
+  }
+
+  KodiCallBatch(List<? extends AbstractCall<?>> calls) {
+    this.calls = calls;
+    this.states = new AtomicIntegerArray(calls.size());
+  }
+
+  /**
+   * send all calls and wait for their responses
+   *
+   * @param transport
+   *          the transport to send the calls with
+   * @param timeout
+   *          the max. time to wait for all responses (in ms)
+   * @return all calls which have not been answered (neither with a result nor with an error)
+   * @throws InterruptedException
+   *           if the thread has been interrupted while waiting for the responses
+   */
+  List<AbstractCall<?>> execute(Transport transport, long timeout) throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(calls.size());
+
+    for (int i = 0; i < calls.size(); i++) {
+      try {
+        transport.call(calls.get(i), new BatchCallback(i, latch));
+      }
+      catch (Exception e) {
+        LOGGER.debug("could not send call to Kodi - '{}'", e.getMessage());
+        // do not wait for the calls which have not been sent
+        for (int j = i; j < calls.size(); j++) {
+          latch.countDown();
+        }
+        break;
+      }
+    }
+
+    latch.await(timeout, TimeUnit.MILLISECONDS);
+
+    List<AbstractCall<?>> unanswered = new ArrayList<>();
+    for (int i = 0; i < calls.size(); i++) {
+      if (states.get(i) == PENDING) {
+        unanswered.add(calls.get(i));
+      }
+    }
+    return unanswered;
+  }
+
+  /**
+   * can the call be sent once more if it has not been answered? Kodi may have executed an unanswered call nevertheless (e.g. the response got
+   * lost or arrived after the timeout), so only calls without side effects may be sent again
+   *
+   * @param call
+   *          the call to check
+   * @return true if sending the call twice does not harm
+   */
+  static boolean isIdempotent(AbstractCall<?> call) {
+    return !(call instanceof VideoLibrary.RefreshMovie || call instanceof VideoLibrary.RefreshTVShow
+        || call instanceof VideoLibrary.RefreshEpisode);
+  }
+
+  /**
+   * was the call with the given index answered with an error?
+   */
+  boolean isFailed(int index) {
+    return states.get(index) == FAILED;
+  }
+
+  private class BatchCallback implements ApiCallback<Object> {
+    private final int            index;
+    private final CountDownLatch latch;
+
+    private BatchCallback(int index, CountDownLatch latch) {
+      this.index = index;
+      this.latch = latch;
+    }
+
+    @Override
+    public void onResponse(AbstractCall<Object> call) {
+      if (states.compareAndSet(index, PENDING, ANSWERED)) {
+        latch.countDown();
+      }
+    }
+
+    @Override
+    public void onError(int code, String message, String hint) {
+      LOGGER.error("Error calling Kodi: {} - {}", code, message);
+      if (states.compareAndSet(index, PENDING, FAILED)) {
+        latch.countDown();
+      }
+    }
+  }
+}
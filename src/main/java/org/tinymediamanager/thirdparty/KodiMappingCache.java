@@ -0,0 +1,234 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.thirdparty;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The class {@link KodiMappingCache} holds the mappings of the TMM database ids to the ids of the Kodi library and persists them per Kodi host, so
+ * that the whole Kodi library does not need to be pulled on every connect. The cache is being updated incrementally with the notifications of
+ * Kodi; a full rebuild is only needed if the cache is missing, outdated or does not match the library any more.
+ *
+ * @author Manuel Laggner
+ */
+class KodiMappingCache {
+  private static final Logger         LOGGER        = LoggerFactory.getLogger(KodiMappingCache.class);
+  private static final ObjectMapper   OBJECT_MAPPER = new ObjectMapper();
+  private static final long           MAX_AGE       = 7L * 24 * 60 * 60 * 1000; // 7 days
+
+  // the mappings are being replaced as a whole (and never cleared) so concurrent readers never see a half built mapping
+  private volatile Map<UUID, Integer> movies        = new ConcurrentHashMap<>();
+  private volatile Map<UUID, Integer> tvShows       = new ConcurrentHashMap<>();
+  private volatile Map<UUID, Integer> episodes      = new ConcurrentHashMap<>();
+  private volatile Set<UUID>          mappedTvShows = ConcurrentHashMap.newKeySet(); // shows with mapped episodes
+
+  private Path                        file          = null;
+  private long                        moviesBuilt   = 0;
+  private long                        tvShowsBuilt  = 0;
+  private volatile boolean            dirty         = false;
+
+  Map<UUID, Integer> movies() {
+    return movies;
+  }
+
+  Map<UUID, Integer> tvShows() {
+    return tvShows;
+  }
+
+  Map<UUID, Integer> episodes() {
+    return episodes;
+  }
+
+  Set<UUID> mappedTvShows() {
+    return mappedTvShows;
+  }
+
+  /**
+   * get the mapping for the given item type of the Kodi library
+   *
+   * @param kodiType
+   *          the type of the item (movie, tvshow or episode)
+   * @return the mapping or null if items of this type are not being mapped
+   */
+  Map<UUID, Integer> mapping(String kodiType) {
+    if (kodiType == null) {
+      return null;
+    }
+
+    return switch (kodiType) {
+      case "movie" -> movies;
+      case "tvshow" -> tvShows;
+      case "episode" -> episodes;
+      default -> null;
+    };
+  }
+
+  /**
+   * is the movie mapping usable without a rebuild?
+   */
+  boolean isMovieMappingValid() {
+    return !movies.isEmpty() && System.currentTimeMillis() - moviesBuilt < MAX_AGE;
+  }
+
+  /**
+   * is the TV show mapping usable without a rebuild?
+   */
+  boolean isTvShowMappingValid() {
+    return !tvShows.isEmpty() && System.currentTimeMillis() - tvShowsBuilt < MAX_AGE;
+  }
+
+  /**
+   * replace the movie mapping with a freshly built one
+   */
+  void setMovies(Map<UUID, Integer> newMovies) {
+    movies = new ConcurrentHashMap<>(newMovies);
+    moviesBuilt = System.currentTimeMillis();
+    dirty = true;
+  }
+
+  /**
+   * replace the TV show mapping with a freshly built one. All episode mappings are dropped and resolved again on demand
+   */
+  void setTvShows(Map<UUID, Integer> newTvShows) {
+    // drop the episode mappings first, so no episode of the old mapping is being resolved with the new one
+    episodes = new ConcurrentHashMap<>();
+    mappedTvShows = ConcurrentHashMap.newKeySet();
+    tvShows = new ConcurrentHashMap<>(newTvShows);
+    tvShowsBuilt = System.currentTimeMillis();
+    dirty = true;
+  }
+
+  /**
+   * replace the episode mapping of a TV show
+   */
+  void setEpisodes(UUID tvShowDbId, Collection<UUID> episodeDbIds, Map<UUID, Integer> newEpisodes) {
+    episodeDbIds.forEach(episodes::remove);
+    episodes.putAll(newEpisodes);
+    mappedTvShows.add(tvShowDbId);
+    dirty = true;
+  }
+
+  void put(Map<UUID, Integer> mapping, UUID dbId, Integer kodiId) {
+    if (!kodiId.equals(mapping.put(dbId, kodiId))) {
+      dirty = true;
+    }
+  }
+
+  /**
+   * remove the entry of the given TMM entity (e.g. if the cached Kodi id does not belong to it any more)
+   */
+  void remove(Map<UUID, Integer> mapping, UUID dbId) {
+    if (mapping.remove(dbId) != null) {
+      dirty = true;
+    }
+  }
+
+  /**
+   * remove all entries with the given Kodi id (e.g. after it has been removed from the Kodi library)
+   */
+  void removeKodiId(Map<UUID, Integer> mapping, int kodiId) {
+    if (mapping.values().removeIf(id -> id == kodiId)) {
+      dirty = true;
+    }
+  }
+
+  /**
+   * load the persisted cache from the given file. The in-memory cache is cleared in any case
+   *
+   * @param file
+   *          the file to read from and to persist the cache into
+   */
+  synchronized void load(Path file) {
+    this.file = file;
+    Map<UUID, Integer> newMovies = new ConcurrentHashMap<>();
+    Map<UUID, Integer> newTvShows = new ConcurrentHashMap<>();
+    Map<UUID, Integer> newEpisodes = new ConcurrentHashMap<>();
+    Set<UUID> newMappedTvShows = ConcurrentHashMap.newKeySet();
+    moviesBuilt = 0;
+    tvShowsBuilt = 0;
+    dirty = false;
+
+    try {
+      if (Files.exists(file)) {
+        Content content = OBJECT_MAPPER.readValue(file.toFile(), Content.class);
+        if (content.movies() != null) {
+          newMovies.putAll(content.movies());
+          moviesBuilt = content.moviesBuilt();
+        }
+        if (content.tvShows() != null) {
+          newTvShows.putAll(content.tvShows());
+          tvShowsBuilt = content.tvShowsBuilt();
+        }
+        if (content.episodes() != null && content.mappedTvShows() != null) {
+          newEpisodes.putAll(content.episodes());
+          newMappedTvShows.addAll(content.mappedTvShows());
+        }
+        LOGGER.debug("loaded Kodi mappings from cache - {} movies, {} shows, {} episodes", newMovies.size(), newTvShows.size(),
+            newEpisodes.size());
+      }
+    }
+    catch (Exception e) {
+      LOGGER.debug("could not read Kodi mapping cache '{}' - '{}'", file, e.getMessage());
+    }
+
+    movies = newMovies;
+    episodes = newEpisodes;
+    mappedTvShows = newMappedTvShows;
+    tvShows = newTvShows;
+  }
+
+  /**
+   * persist the cache if it has been changed since the last load/save
+   */
+  synchronized void save() {
+    if (file == null || !dirty) {
+      return;
+    }
+
+    try {
+      Files.createDirectories(file.getParent());
+      Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+      OBJECT_MAPPER.writeValue(tempFile.toFile(), new Content(moviesBuilt, new HashMap<>(movies), tvShowsBuilt, new HashMap<>(tvShows),
+          new HashMap<>(episodes), new HashSet<>(mappedTvShows)));
+      Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+      dirty = false;
+    }
+    catch (Exception e) {
+      LOGGER.debug("could not write Kodi mapping cache '{}' - '{}'", file, e.getMessage());
+    }
+  }
+
+  /**
+   * the persisted form of the cache
+   */
+  record Content(long moviesBuilt, Map<UUID, Integer> movies, long tvShowsBuilt, Map<UUID, Integer> tvShows, Map<UUID, Integer> episodes,
+      Set<UUID> mappedTvShows) {
+  }
+}
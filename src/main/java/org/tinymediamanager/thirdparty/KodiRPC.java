@@ -20,15 +20,27 @@ import java.net.URLDecoder;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.ArrayUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.tinymediamanager.Globals;
 import org.tinymediamanager.core.MediaFileHelper;
 import org.tinymediamanager.core.MediaFileType;
 import org.tinymediamanager.core.Message;
@@ -66,31 +78,52 @@ import org.tinymediamanager.jsonrpc.io.ConnectionListener;
 import org.tinymediamanager.jsonrpc.io.JavaConnectionManager;
 import org.tinymediamanager.jsonrpc.io.JsonApiRequest;
 import org.tinymediamanager.jsonrpc.notification.AbstractEvent;
+import org.tinymediamanager.jsonrpc.notification.VideoLibrary.OnRemove;
+import org.tinymediamanager.jsonrpc.notification.VideoLibrary.OnUpdate;
 import org.tinymediamanager.scraper.util.StrgUtils;
 
 public class KodiRPC {
-  private static final Logger         LOGGER            = LoggerFactory.getLogger(KodiRPC.class);
-  private static KodiRPC              instance;
-  private static final String         SEPARATOR_REGEX   = "[\\/\\\\]+";
-
-  private final JavaConnectionManager connectionManager = new JavaConnectionManager();
-
-  private final Map<String, String>   videodatasources  = new LinkedHashMap<>();                 // dir, label
-  private final List<String>          audiodatasources  = new ArrayList<>();
-
-  // TMM DbId-to-KodiId mappings
-  private final Map<UUID, Integer>    moviemappings     = new HashMap<>();
-  private final Map<UUID, Integer>    tvshowmappings    = new HashMap<>();
-  private final Map<UUID, Integer>    episodemappings   = new HashMap<>();                       // on demand
-
-  private String                      kodiVersion       = "";
+  /** the max. amount of calls being sent to Kodi in one batch request */
+  public static final int                 BATCH_SIZE           = 50;
+
+  private static final Logger             LOGGER               = LoggerFactory.getLogger(KodiRPC.class);
+  private static KodiRPC                  instance;
+  private static final String             SEPARATOR_REGEX      = "[\\/\\\\]+";
+  private static final int                MAX_CONCURRENT_CALLS = 2;
+  private static final long               UPDATE_DELAY         = 2000;                                        // ms
+  private static final long               BATCH_TIMEOUT        = 30000;                                       // ms
+  private static final int                SAMPLE_SIZE          = 10;                                          // checked mappings on connect
+
+  private final JavaConnectionManager     connectionManager    = new JavaConnectionManager();
+  private final Semaphore                 callPermits          = new Semaphore(MAX_CONCURRENT_CALLS, true);
+  private final ScheduledExecutorService  notificationExecutor;
+
+  private final Map<String, String>       videodatasources     = new LinkedHashMap<>();                      // dir, label
+  private final List<String>              audiodatasources     = new ArrayList<>();
+
+  // TMM DbId-to-KodiId mappings (persisted per Kodi host)
+  private final KodiMappingCache          mappings             = new KodiMappingCache();
+  private final Set<UUID>                 verifiedTvShows      = ConcurrentHashMap.newKeySet();              // episodes re-mapped in this session
+  private final Map<String, Set<Integer>> pendingUpdates       = new HashMap<>();                            // Kodi type -> Kodi ids
+
+  private volatile boolean                moviesVerified       = false;                                      // re-mapped in this session
+  private volatile boolean                tvShowsVerified      = false;                                      // re-mapped in this session
+  private boolean                         updateScheduled      = false;
+  private String                          kodiVersion          = "";
+
+  KodiRPC() {
+    notificationExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "kodi-notifications");
+      thread.setDaemon(true);
+      return thread;
+    });
 
-  private KodiRPC() {
     connectionManager.registerConnectionListener(new ConnectionListener() {
 
       @Override
       public void notificationReceived(AbstractEvent event) {
         LOGGER.debug("Event received: {}", event);
+        notificationExecutor.execute(() -> onNotification(event));
       }
 
       @Override
@@ -196,37 +229,10 @@ public class KodiRPC {
     final VideoLibrary.GetMovies call = new VideoLibrary.GetMovies(MovieFields.FILE);
     send(call);
     if (call.getResults() != null && !call.getResults().isEmpty()) {
-      moviemappings.clear();
-
       // KODI ds|file=id
       Map<String, Integer> kodiDsAndFolder = new HashMap<>();
       for (MovieDetail movie : call.getResults()) {
-        if (movie.file == null || movie.file.isEmpty()) {
-          continue;
-        }
-
-        // stacking only supported on movies
-        if (movie.file.startsWith("stack")) {
-          String[] files = movie.file.split(" , ");
-          for (String s : files) {
-            s = s.replaceFirst("^stack://", "");
-            String ds = detectDatasource(s);
-            String rel = s.replace(ds, ""); // remove ds, to have a relative folder
-            rel = rel.replaceAll(SEPARATOR_REGEX, "/"); // normalize separators
-            ds = ds.replaceAll(SEPARATOR_REGEX + "$", ""); // replace ending separator
-            ds = ds.replaceAll(".*" + SEPARATOR_REGEX, ""); // replace everything till last separator
-            kodiDsAndFolder.put(ds + "|" + rel, movie.movieid);
-          }
-        }
-        else {
-          // Kodi return full path of video file
-          String ds = detectDatasource(movie.file); // detect datasource of show dir
-          String rel = movie.file.replace(ds, ""); // remove ds, to have a relative folder
-          rel = rel.replaceAll(SEPARATOR_REGEX, "/"); // normalize separators
-          ds = ds.replaceAll(SEPARATOR_REGEX + "$", ""); // replace ending separator
-          ds = ds.replaceAll(".*" + SEPARATOR_REGEX, ""); // replace everything till last separator
-          kodiDsAndFolder.put(ds + "|" + rel, movie.movieid);
-        }
+        putMovieFile(kodiDsAndFolder, movie.file, movie.movieid);
       }
       LOGGER.debug("KODI {} movies", call.getResults().size()); // stacked movies are multiple times in here
 
@@ -235,22 +241,62 @@ public class KodiRPC {
       LOGGER.debug("TMM {} movies", tmmDsAndFolder.size());
 
       // map em'
-      for (Map.Entry<String, UUID> entry : tmmDsAndFolder.entrySet()) {
-        String key = entry.getKey();
-        UUID value = entry.getValue();
-        Integer kodiId = kodiDsAndFolder.get(key);
-        if (kodiId != null && kodiId > 0) {
-          // we have a match!
-          moviemappings.put(value, kodiId);
-        }
-        else {
-          LOGGER.trace("Could not map: {}", key);
-        }
-      }
+      Map<UUID, Integer> moviemappings = match(tmmDsAndFolder, kodiDsAndFolder);
+      mappings.setMovies(moviemappings);
+      mappings.save();
+      moviesVerified = true;
       LOGGER.debug("mapped {} movies", moviemappings.size());
     }
   }
 
+  private void putMovieFile(Map<String, Integer> kodiDsAndFolder, String file, int kodiId) {
+    if (file == null || file.isEmpty()) {
+      return;
+    }
+
+    // stacking only supported on movies
+    if (file.startsWith("stack")) {
+      String[] files = file.split(" , ");
+      for (String s : files) {
+        kodiDsAndFolder.put(toKodiKey(s.replaceFirst("^stack://", ""), false), kodiId);
+      }
+    }
+    else {
+      // Kodi return full path of video file
+      kodiDsAndFolder.put(toKodiKey(file, false), kodiId);
+    }
+  }
+
+  /**
+   * builds the key (datasource name|relative path) of a file/folder in the Kodi library
+   */
+  private String toKodiKey(String file, boolean folder) {
+    String ds = detectDatasource(file); // detect datasource of file/dir
+    String rel = file.replace(ds, ""); // remove ds, to have a relative folder
+    if (folder) {
+      rel = rel.replaceAll(SEPARATOR_REGEX + "$", ""); // remove ending separator
+    }
+    rel = rel.replaceAll(SEPARATOR_REGEX, "/"); // normalize separators
+    ds = ds.replaceAll(SEPARATOR_REGEX + "$", ""); // replace ending separator
+    ds = ds.replaceAll(".*" + SEPARATOR_REGEX, ""); // replace everything till last separator
+    return ds + "|" + rel;
+  }
+
+  private Map<UUID, Integer> match(Map<String, UUID> tmmDsAndFolder, Map<String, Integer> kodiDsAndFolder) {
+    Map<UUID, Integer> matched = new HashMap<>();
+    for (Map.Entry<String, UUID> entry : tmmDsAndFolder.entrySet()) {
+      Integer kodiId = kodiDsAndFolder.get(entry.getKey());
+      if (kodiId != null && kodiId > 0) {
+        // we have a match!
+        matched.put(entry.getValue(), kodiId);
+      }
+      else {
+        LOGGER.trace("Could not map: {}", entry.getKey());
+      }
+    }
+    return matched;
+  }
+
   private Map<String, UUID> prepareMovieFileMap(List<Movie> movies) {
     Map<String, UUID> fileMap = new HashMap<>();
     for (Movie movie : movies) {
@@ -313,15 +359,12 @@ public class KodiRPC {
   }
 
   /**
-   * builds the show/episode mappings: DBid -> Kodi ID
+   * builds the show mappings: DBid -> Kodi ID. The episode mappings are resolved on demand
    */
   protected void getAndSetTvShowMappings() {
     final VideoLibrary.GetTVShows tvShowCall = new VideoLibrary.GetTVShows(TVShowFields.FILE);
     send(tvShowCall);
     if (tvShowCall.getResults() != null && !tvShowCall.getResults().isEmpty()) {
-      tvshowmappings.clear();
-      episodemappings.clear();
-
       // KODI ds|dir=id
       Map<String, Integer> kodiDsAndFolder = new HashMap<>();
       for (TVShowDetail show : tvShowCall.getResults()) {
@@ -329,226 +372,651 @@ public class KodiRPC {
           continue;
         }
         // Kodi return full path of show dir
-        String ds = detectDatasource(show.file); // detect datasource of show dir
-        String rel = show.file.replace(ds, ""); // remove ds, to have a relative folder
-        rel = rel.replaceAll(SEPARATOR_REGEX + "$", ""); // remove ending separator
-        rel = rel.replaceAll(SEPARATOR_REGEX, "/"); // normalize separators
-        ds = ds.replaceAll(SEPARATOR_REGEX + "$", ""); // replace ending separator
-        ds = ds.replaceAll(".*" + SEPARATOR_REGEX, ""); // replace everything till last separator
-        kodiDsAndFolder.put(ds + "|" + rel, show.tvshowid);
+        kodiDsAndFolder.put(toKodiKey(show.file, true), show.tvshowid);
       }
       LOGGER.debug("KODI {} shows", kodiDsAndFolder.size());
 
       // TMM ds|dir=id
       LOGGER.debug("TMM {} shows", TvShowModuleManager.getInstance().getTvShowList().getTvShows().size());
-      for (TvShow tmmShow : TvShowModuleManager.getInstance().getTvShowList().getTvShows()) {
+      Map<String, UUID> tmmDsAndFolder = prepareTvShowFolderMap(TvShowModuleManager.getInstance().getTvShowList().getTvShows());
+
+      // map em'
+      Map<UUID, Integer> tvshowmappings = match(tmmDsAndFolder, kodiDsAndFolder);
+      mappings.setTvShows(tvshowmappings);
+      mappings.save();
+      tvShowsVerified = true;
+      verifiedTvShows.clear();
+      LOGGER.debug("mapped {} shows", tvshowmappings.size());
+    }
+  }
+
+  private Map<String, UUID> prepareTvShowFolderMap(List<TvShow> tvShows) {
+    Map<String, UUID> folderMap = new HashMap<>();
+    for (TvShow tmmShow : tvShows) {
+      try {
+        Path ds = Paths.get(tmmShow.getDataSource());
+        String dsName = ds.getFileName().toString();
+        String rel = Utils.relPath(ds, tmmShow.getPathNIO());
+        rel = rel.replaceAll(SEPARATOR_REGEX, "/"); // normalize separators
+        folderMap.put(dsName + "|" + rel, tmmShow.getDbId());
+      }
+      catch (Exception e) {
+        LOGGER.error("Error mapping TvShow: {} on {}", e.getMessage(), tmmShow);
+      }
+    }
+    return folderMap;
+  }
+
+  /**
+   * the mappings are cached across sessions - re-map once per session if an entity cannot be found (it may have been added meanwhile)
+   */
+  private void verifyMovieMappings(List<Movie> movies) {
+    if (isConnected() && !moviesVerified && movies.stream().anyMatch(movie -> !mappings.movies().containsKey(movie.getDbId()))) {
+      getAndSetMovieMappings();
+    }
+  }
+
+  private void verifyTvShowMappings(List<TvShow> tvShows) {
+    if (isConnected() && !tvShowsVerified && tvShows.stream().anyMatch(tvShow -> !mappings.tvShows().containsKey(tvShow.getDbId()))) {
+      getAndSetTvShowMappings();
+    }
+  }
+
+  private void logNfoRefresh(MediaEntity entity) {
+    List<MediaFile> nfo = entity.getMediaFiles(MediaFileType.NFO);
+    if (!nfo.isEmpty()) {
+      LOGGER.info("Refreshing from NFO: {}", nfo.get(0).getFileAsPath());
+    }
+    else {
+      LOGGER.error("No NFO file found to refresh! {}", entity.getTitle());
+      // we do NOT return here, maybe Kodi will do something even w/o nfo...
+    }
+  }
+
+  public void refreshFromNfo(Movie movie) {
+    refreshMoviesFromNfo(List.of(movie));
+  }
+
+  /**
+   * refresh the given movies in Kodi from their NFO files. The calls are being sent in batches of {@link #BATCH_SIZE}
+   *
+   * @param movies
+   *          the movies to refresh
+   */
+  public void refreshMoviesFromNfo(List<Movie> movies) {
+    List<AbstractCall<?>> calls = new ArrayList<>();
+    getMovieDetails(movies).forEach((movie, details) -> {
+      logNfoRefresh(movie);
+      calls.add(new VideoLibrary.RefreshMovie(details.movieid, false)); // always refresh from NFO
+    });
+
+    sendBatch(calls);
+  }
+
+  public void refreshFromNfo(TvShow tvShow) {
+    refreshTvShowsFromNfo(List.of(tvShow));
+  }
+
+  /**
+   * refresh the given TV shows (along with all their episodes) in Kodi from their NFO files. The calls are being sent in batches of
+   * {@link #BATCH_SIZE}
+   *
+   * @param tvShows
+   *          the TV shows to refresh
+   */
+  public void refreshTvShowsFromNfo(List<TvShow> tvShows) {
+    List<AbstractCall<?>> calls = new ArrayList<>();
+    getTvShowDetails(tvShows).forEach((tvShow, details) -> {
+      logNfoRefresh(tvShow);
+      calls.add(new VideoLibrary.RefreshTVShow(details.tvshowid, false, true)); // always refresh from NFO, recursive
+    });
+
+    sendBatch(calls);
+  }
+
+  public void refreshFromNfo(TvShowEpisode episode) {
+    refreshEpisodesFromNfo(List.of(episode));
+  }
+
+  /**
+   * refresh the given episodes in Kodi from their NFO files. The calls are being sent in batches of {@link #BATCH_SIZE}
+   *
+   * @param episodes
+   *          the episodes to refresh
+   */
+  public void refreshEpisodesFromNfo(List<TvShowEpisode> episodes) {
+    List<AbstractCall<?>> calls = new ArrayList<>();
+    getEpisodeDetails(episodes).forEach((episode, details) -> {
+      logNfoRefresh(episode);
+      calls.add(new VideoLibrary.RefreshEpisode(details.episodeid, false)); // always refresh from NFO
+    });
+
+    sendBatch(calls);
+  }
+
+  public void readWatchedState(Movie movie) {
+    readWatchedStateOfMovies(List.of(movie));
+  }
+
+  /**
+   * read the watched state of the given movies from Kodi. The calls are being sent in batches of {@link #BATCH_SIZE}
+   *
+   * @param movies
+   *          the movies to read the watched state for
+   */
+  public void readWatchedStateOfMovies(List<Movie> movies) {
+    getMovieDetails(movies, VideoModel.MovieDetail.PLAYCOUNT, VideoModel.MovieDetail.LASTPLAYED).forEach((movie, result) -> {
+      if (result.playcount == null) {
+        return;
+      }
+
+      movie.setPlaycount(result.playcount);
+      if (result.playcount > 0) {
+        movie.setWatched(true);
         try {
-          Path ds = Paths.get(tmmShow.getDataSource());
-          String dsName = ds.getFileName().toString();
-          String rel = Utils.relPath(ds, tmmShow.getPathNIO());
-          rel = rel.replaceAll(SEPARATOR_REGEX, "/"); // normalize separators
+          movie.setLastWatched(StrgUtils.parseDate(result.lastplayed));
+        }
+        catch (Exception e) {
+          movie.setLastWatched(new Date());
+        }
+      }
+      else {
+        // Kodi saids so
+        movie.setWatched(false);
+        movie.setLastWatched(null);
+      }
 
-          Integer kodiId = kodiDsAndFolder.get(dsName + "|" + rel);
-          if (kodiId != null && kodiId > 0) {
-            // we have a match!
-            tvshowmappings.put(tmmShow.getDbId(), kodiId);
-          }
-          else {
-            LOGGER.trace("Could not map: {}", dsName + "|" + rel);
-          }
+      movie.writeNFO();
+      movie.setLastWatched(null); // write date to NFO, but do not save it, not even in session!
+      movie.saveToDb();
+    });
+  }
+
+  public void readWatchedState(TvShowEpisode episode) {
+    readWatchedStateOfEpisodes(List.of(episode));
+  }
+
+  /**
+   * read the watched state of the given episodes from Kodi. The calls are being sent in batches of {@link #BATCH_SIZE}
+   *
+   * @param episodes
+   *          the episodes to read the watched state for
+   */
+  public void readWatchedStateOfEpisodes(List<TvShowEpisode> episodes) {
+    getEpisodeDetails(episodes, VideoModel.EpisodeDetail.PLAYCOUNT, VideoModel.EpisodeDetail.LASTPLAYED).forEach((episode, result) -> {
+      if (result.playcount == null) {
+        return;
+      }
+
+      episode.setPlaycount(result.playcount);
+      if (result.playcount > 0) {
+        episode.setWatched(true);
+        try {
+          episode.setLastWatched(StrgUtils.parseDate(result.lastplayed));
         }
         catch (Exception e) {
-          LOGGER.error("Error mapping TvShow: {} on {}", e.getMessage(), tmmShow);
+          episode.setLastWatched(new Date());
         }
       }
-      LOGGER.debug("mapped {} shows", tvshowmappings.size());
+      else {
+        // Kodi saids so
+        episode.setWatched(false);
+        episode.setLastWatched(null);
+      }
+
+      episode.writeNFO();
+      episode.setLastWatched(null); // write date to NFO, but do not save it, not even in session!
+      episode.saveToDb();
+    });
+  }
+
+  /**
+   * get the details of the given movies from Kodi. The cached Kodi ids are verified with the file Kodi reports for them: movies with an
+   * outdated id (e.g. the Kodi library has been rebuilt meanwhile) are re-mapped and requested again
+   *
+   * @param movies
+   *          the movies to get the details for
+   * @param properties
+   *          the properties to request (the file is always requested)
+   * @return the details of all mapped movies
+   */
+  private Map<Movie, MovieDetail> getMovieDetails(List<Movie> movies, String... properties) {
+    verifyMovieMappings(movies);
+
+    Map<Movie, MovieDetail> details = new LinkedHashMap<>();
+    List<Movie> mismatched = requestMovieDetails(movies, properties, details);
+    if (!mismatched.isEmpty()) {
+      getAndSetMovieMappings();
+      requestMovieDetails(mismatched, properties, details);
     }
+    return details;
   }
 
-  public void refreshFromNfo(Movie movie) {
-    Integer kodiID = moviemappings.get(movie.getDbId());
+  /**
+   * request the details of all mapped movies and put the verified ones into the given map
+   *
+   * @return all movies whose cached Kodi id does not belong to them any more (the mapping has been dropped)
+   */
+  private List<Movie> requestMovieDetails(List<Movie> movies, String[] properties, Map<Movie, MovieDetail> details) {
+    String[] fields = ArrayUtils.add(properties, MovieFields.FILE);
 
-    if (kodiID != null) {
-      List<MediaFile> nfo = movie.getMediaFiles(MediaFileType.NFO);
-      if (!nfo.isEmpty()) {
-        LOGGER.info("Refreshing from NFO: {}", nfo.get(0).getFileAsPath());
+    List<Movie> mapped = new ArrayList<>();
+    List<VideoLibrary.GetMovieDetails> calls = new ArrayList<>();
+    for (Movie movie : movies) {
+      Integer kodiID = mappings.movies().get(movie.getDbId());
+      if (kodiID != null) {
+        mapped.add(movie);
+        calls.add(new VideoLibrary.GetMovieDetails(kodiID, fields));
       }
       else {
-        LOGGER.error("No NFO file found to refresh! {}", movie.getTitle());
-        // we do NOT return here, maybe Kodi will do something even w/o nfo...
+        LOGGER.error("Could not map '{}' to Kodi library! {}", movie.getTitle(), movie.getDbId());
       }
-
-      final VideoLibrary.RefreshMovie call = new VideoLibrary.RefreshMovie(kodiID, false); // always refresh from NFO
-      sendWoResponse(call);
     }
-    else {
-      LOGGER.error("Unable to refresh - could not map '{}' to Kodi library! {}", movie.getTitle(), movie.getDbId());
+
+    sendBatch(calls);
+
+    List<Movie> mismatched = new ArrayList<>();
+    for (int i = 0; i < calls.size(); i++) {
+      MovieDetail result = calls.get(i).getResult();
+      Movie movie = mapped.get(i);
+      if (result == null) {
+        continue;
+      }
+
+      Map<String, Integer> kodiDsAndFolder = new HashMap<>();
+      putMovieFile(kodiDsAndFolder, result.file, result.movieid);
+      if (Collections.disjoint(kodiDsAndFolder.keySet(), parseEntity(movie, movie.isDisc()).keySet())) {
+        LOGGER.debug("Kodi id {} does not belong to '{}' any more", result.movieid, movie.getTitle());
+        mappings.remove(mappings.movies(), movie.getDbId());
+        mismatched.add(movie);
+      }
+      else {
+        details.put(movie, result);
+      }
     }
+    return mismatched;
   }
 
-  public void refreshFromNfo(TvShow tvShow) {
-    Integer kodiID = tvshowmappings.get(tvShow.getDbId());
+  /**
+   * get the details of the given TV shows from Kodi. The cached Kodi ids are verified with the folder Kodi reports for them: TV shows with an
+   * outdated id are re-mapped and requested again
+   *
+   * @param tvShows
+   *          the TV shows to get the details for
+   * @return the details of all mapped TV shows
+   */
+  private Map<TvShow, TVShowDetail> getTvShowDetails(List<TvShow> tvShows) {
+    verifyTvShowMappings(tvShows);
 
-    if (kodiID != null) {
-      List<MediaFile> nfo = tvShow.getMediaFiles(MediaFileType.NFO);
-      if (!nfo.isEmpty()) {
-        LOGGER.info("Refreshing from NFO: {}", nfo.get(0).getFileAsPath());
+    Map<TvShow, TVShowDetail> details = new LinkedHashMap<>();
+    List<TvShow> mismatched = requestTvShowDetails(tvShows, details);
+    if (!mismatched.isEmpty()) {
+      getAndSetTvShowMappings();
+      requestTvShowDetails(mismatched, details);
+    }
+    return details;
+  }
+
+  /**
+   * request the details of all mapped TV shows and put the verified ones into the given map
+   *
+   * @return all TV shows whose cached Kodi id does not belong to them any more (the mapping has been dropped)
+   */
+  private List<TvShow> requestTvShowDetails(List<TvShow> tvShows, Map<TvShow, TVShowDetail> details) {
+    List<TvShow> mapped = new ArrayList<>();
+    List<VideoLibrary.GetTVShowDetails> calls = new ArrayList<>();
+    for (TvShow tvShow : tvShows) {
+      Integer kodiID = mappings.tvShows().get(tvShow.getDbId());
+      if (kodiID != null) {
+        mapped.add(tvShow);
+        calls.add(new VideoLibrary.GetTVShowDetails(kodiID, TVShowFields.FILE));
       }
       else {
-        LOGGER.error("No NFO file found to refresh! {}", tvShow.getTitle());
-        // we do NOT return here, maybe Kodi will do something even w/o nfo...
+        LOGGER.error("Could not map '{}' to Kodi library! {}", tvShow.getTitle(), tvShow.getDbId());
+      }
+    }
+
+    sendBatch(calls);
+
+    List<TvShow> mismatched = new ArrayList<>();
+    for (int i = 0; i < calls.size(); i++) {
+      TVShowDetail result = calls.get(i).getResult();
+      TvShow tvShow = mapped.get(i);
+      if (result == null || result.file == null) {
+        continue;
       }
 
-      final VideoLibrary.RefreshTVShow call = new VideoLibrary.RefreshTVShow(kodiID, false, true); // always refresh from NFO, recursive
-      sendWoResponse(call);
+      if (!prepareTvShowFolderMap(List.of(tvShow)).containsKey(toKodiKey(result.file, true))) {
+        LOGGER.debug("Kodi id {} does not belong to '{}' any more", result.tvshowid, tvShow.getTitle());
+        mappings.remove(mappings.tvShows(), tvShow.getDbId());
+        mismatched.add(tvShow);
+      }
+      else {
+        details.put(tvShow, result);
+      }
     }
-    else {
-      LOGGER.error("Unable to refresh - could not map '{}' to Kodi library! {}", tvShow.getTitle(), tvShow.getDbId());
+    return mismatched;
+  }
+
+  /**
+   * get the details of the given episodes from Kodi. The cached Kodi ids are verified with the file Kodi reports for them: the episodes of
+   * TV shows with outdated ids are re-mapped and requested again
+   *
+   * @param episodes
+   *          the episodes to get the details for
+   * @param properties
+   *          the properties to request (the file is always requested)
+   * @return the details of all mapped episodes
+   */
+  private Map<TvShowEpisode, EpisodeDetail> getEpisodeDetails(List<TvShowEpisode> episodes, String... properties) {
+    Map<TvShowEpisode, EpisodeDetail> details = new LinkedHashMap<>();
+    List<TvShowEpisode> mismatched = requestEpisodeDetails(episodes, properties, details);
+    if (!mismatched.isEmpty()) {
+      Set<TvShow> tvShows = new HashSet<>();
+      mismatched.forEach(episode -> tvShows.add(episode.getTvShow()));
+      // the Kodi ids of the TV shows may be outdated too
+      getTvShowDetails(new ArrayList<>(tvShows));
+      mapEpisodes(tvShows);
+      requestEpisodeDetails(mismatched, properties, details);
     }
+    return details;
   }
 
-  public void refreshFromNfo(TvShowEpisode episode) {
-    Integer kodiID = getEpisodeId(episode);
+  /**
+   * request the details of all mapped episodes and put the verified ones into the given map
+   *
+   * @return all episodes whose cached Kodi id does not belong to them any more (the mapping has been dropped)
+   */
+  private List<TvShowEpisode> requestEpisodeDetails(List<TvShowEpisode> episodes, String[] properties,
+      Map<TvShowEpisode, EpisodeDetail> details) {
+    String[] fields = ArrayUtils.add(properties, EpisodeFields.FILE);
+    Map<UUID, Integer> kodiIDs = getEpisodeIds(episodes);
+
+    List<TvShowEpisode> mapped = new ArrayList<>();
+    List<VideoLibrary.GetEpisodeDetails> calls = new ArrayList<>();
+    for (TvShowEpisode episode : episodes) {
+      Integer kodiID = kodiIDs.get(episode.getDbId());
+      if (kodiID != null) {
+        mapped.add(episode);
+        calls.add(new VideoLibrary.GetEpisodeDetails(kodiID, fields));
+      }
+      else {
+        LOGGER.error("Could not map '{}' to Kodi library! {}", episode.getTitle(), episode.getDbId());
+      }
+    }
+
+    sendBatch(calls);
 
-    if (kodiID != null) {
-      List<MediaFile> nfo = episode.getMediaFiles(MediaFileType.NFO);
-      if (!nfo.isEmpty()) {
-        LOGGER.info("Refreshing from NFO: {}", nfo.get(0).getFileAsPath());
+    List<TvShowEpisode> mismatched = new ArrayList<>();
+    for (int i = 0; i < calls.size(); i++) {
+      EpisodeDetail result = calls.get(i).getResult();
+      TvShowEpisode episode = mapped.get(i);
+      if (result == null || result.file == null) {
+        continue;
+      }
+
+      if (!parseEntity(episode, episode.isDisc()).containsKey(toKodiKey(result.file, false))) {
+        LOGGER.debug("Kodi id {} does not belong to '{}' any more", result.episodeid, episode.getTitle());
+        mappings.remove(mappings.episodes(), episode.getDbId());
+        mismatched.add(episode);
       }
       else {
-        LOGGER.error("No NFO file found to refresh! {}", episode.getTitle());
-        // we do NOT return here, maybe Kodi will do something even w/o nfo...
+        details.put(episode, result);
       }
+    }
+    return mismatched;
+  }
+
+  public Integer getEpisodeId(TvShowEpisode episode) {
+    return getEpisodeIds(List.of(episode)).get(episode.getDbId());
+  }
 
-      final VideoLibrary.RefreshEpisode call = new VideoLibrary.RefreshEpisode(kodiID, false); // always refresh from NFO
-      sendWoResponse(call);
+  /**
+   * get the Kodi ids of the given episodes. The episodes of all needed TV shows are mapped at once (with a batch request)
+   *
+   * @param episodes
+   *          the episodes to get the Kodi ids for
+   * @return a map of DBid -> Kodi ID of all mapped episodes
+   */
+  private Map<UUID, Integer> getEpisodeIds(List<TvShowEpisode> episodes) {
+    // map all not yet cached shows
+    Set<TvShow> toMap = new HashSet<>();
+    for (TvShowEpisode episode : episodes) {
+      if (mappings.tvShows().containsKey(episode.getTvShowDbId()) && !mappings.mappedTvShows().contains(episode.getTvShowDbId())) {
+        toMap.add(episode.getTvShow());
+      }
     }
-    else {
-      LOGGER.error("Unable to refresh - could not map '{}' to Kodi library! {}", episode.getTitle(), episode.getDbId());
+    mapEpisodes(toMap);
+
+    // re-map the shows with unknown episodes (once per session)
+    toMap.clear();
+    for (TvShowEpisode episode : episodes) {
+      if (mappings.tvShows().containsKey(episode.getTvShowDbId()) && !mappings.episodes().containsKey(episode.getDbId())
+          && !verifiedTvShows.contains(episode.getTvShowDbId())) {
+        toMap.add(episode.getTvShow());
+      }
+    }
+    mapEpisodes(toMap);
+
+    Map<UUID, Integer> kodiIDs = new HashMap<>();
+    for (TvShowEpisode episode : episodes) {
+      Integer kodiID = mappings.episodes().get(episode.getDbId());
+      if (kodiID != null) {
+        kodiIDs.put(episode.getDbId(), kodiID);
+      }
     }
+    return kodiIDs;
   }
 
-  public void readWatchedState(Movie movie) {
-    Integer kodiID = moviemappings.get(movie.getDbId());
-
-    if (kodiID != null) {
-      final VideoLibrary.GetMovieDetails call = new VideoLibrary.GetMovieDetails(kodiID, VideoModel.MovieDetail.PLAYCOUNT,
-          VideoModel.MovieDetail.LASTPLAYED);
-      send(call);
-      if (call.getResult() != null && call.getResult().playcount != null) {
-        movie.setPlaycount(call.getResult().playcount);
-        if (call.getResult().playcount > 0) {
-          movie.setWatched(true);
-          try {
-            movie.setLastWatched(StrgUtils.parseDate(call.getResult().lastplayed));
-          }
-          catch (Exception e) {
-            movie.setLastWatched(new Date());
-          }
-        }
-        else {
-          // Kodi saids so
-          movie.setWatched(false);
-          movie.setLastWatched(null);
-        }
+  private void mapEpisodes(Collection<TvShow> tvShows) {
+    if (tvShows.isEmpty() || !isConnected()) {
+      return;
+    }
+
+    List<TvShow> tmmShows = new ArrayList<>();
+    List<VideoLibrary.GetEpisodes> calls = new ArrayList<>();
+    for (TvShow tvShow : tvShows) {
+      Integer kodiShowId = mappings.tvShows().get(tvShow.getDbId());
+      if (kodiShowId != null) {
+        tmmShows.add(tvShow);
+        calls.add(new VideoLibrary.GetEpisodes(kodiShowId, EpisodeFields.FILE));
+      }
+    }
+
+    sendBatch(calls);
 
-        movie.writeNFO();
-        movie.setLastWatched(null); // write date to NFO, but do not save it, not even in session!
-        movie.saveToDb();
+    for (int i = 0; i < calls.size(); i++) {
+      if (calls.get(i).getResults() != null) {
+        setEpisodeMappings(tmmShows.get(i), calls.get(i).getResults());
       }
     }
+    mappings.save();
+  }
+
+  private void setEpisodeMappings(TvShow tmmShow, List<EpisodeDetail> kodiEpisodes) {
+    // KODI ds|file=id
+    Map<String, Integer> kodiDsAndFolder = new HashMap<>();
+    for (EpisodeDetail ep : kodiEpisodes) {
+      if (ep.file == null || ep.file.isEmpty()) {
+        continue;
+      }
+      kodiDsAndFolder.put(toKodiKey(ep.file, false), ep.episodeid);
+    }
+    LOGGER.debug("KODI {} episodes", kodiDsAndFolder.size());
+
+    // TMM ds|dir=id
+    Map<String, UUID> tmmDsAndFolder = prepareEpisodeFileMap(tmmShow);
+    LOGGER.debug("TMM {} episodes", tmmDsAndFolder.size());
+
+    // map em
+    Map<UUID, Integer> episodemappings = match(tmmDsAndFolder, kodiDsAndFolder);
+    mappings.setEpisodes(tmmShow.getDbId(), tmmShow.getEpisodes().stream().map(TvShowEpisode::getDbId).toList(), episodemappings);
+    verifiedTvShows.add(tmmShow.getDbId());
+    LOGGER.debug("mapped {} episodes for {}", episodemappings.size(), tmmShow.getTitle());
+  }
+
+  // -----------------------------------------------------------------------------------
+
+  /**
+   * keeps the cached mappings up to date with the library notifications of Kodi (e.g. new Kodi ids after refreshing an item or scanning the
+   * library). Removals are applied immediately, updates are collected and mapped in one batch after a short delay.<br />
+   * Runs in the notification executor only
+   */
+  private void onNotification(AbstractEvent event) {
+    if (event instanceof OnRemove onRemove && onRemove.data != null) {
+      libraryItemChanged(onRemove.data.type, onRemove.data.id, true);
+    }
+    else if (event instanceof OnUpdate onUpdate && onUpdate.data != null && onUpdate.data.item != null) {
+      libraryItemChanged(onUpdate.data.item.type, onUpdate.data.item.id, false);
+    }
+  }
+
+  /**
+   * apply a changed item of the Kodi library to the cached mappings. Runs in the notification executor only
+   *
+   * @param type
+   *          the Kodi type of the changed item (movie, tvshow, episode)
+   * @param kodiId
+   *          the Kodi id of the changed item
+   * @param removed
+   *          true if the item has been removed from the Kodi library
+   */
+  void libraryItemChanged(String type, Integer kodiId, boolean removed) {
+    Map<UUID, Integer> mapping = mappings.mapping(type);
+    if (mapping == null || kodiId == null) {
+      return;
+    }
+
+    if (removed) {
+      mappings.removeKodiId(mapping, kodiId);
+    }
     else {
-      LOGGER.error("Unable get playcount - could not map '{}' to Kodi library! {}", movie.getTitle(), movie.getDbId());
+      pendingUpdates.computeIfAbsent(type, k -> new HashSet<>()).add(kodiId);
+    }
+
+    if (!updateScheduled) {
+      updateScheduled = true;
+      notificationExecutor.schedule(this::processLibraryUpdates, UPDATE_DELAY, TimeUnit.MILLISECONDS);
     }
   }
 
-  public void readWatchedState(TvShowEpisode episode) {
-    Integer kodiID = getEpisodeId(episode);
-
-    if (kodiID != null) {
-      final VideoLibrary.GetEpisodeDetails call = new VideoLibrary.GetEpisodeDetails(kodiID, VideoModel.EpisodeDetail.PLAYCOUNT,
-          VideoModel.EpisodeDetail.LASTPLAYED);
-      send(call);
-      if (call.getResult() != null && call.getResult().playcount != null) {
-        episode.setPlaycount(call.getResult().playcount);
-        if (call.getResult().playcount > 0) {
-          episode.setWatched(true);
-          try {
-            episode.setLastWatched(StrgUtils.parseDate(call.getResult().lastplayed));
-          }
-          catch (Exception e) {
-            episode.setLastWatched(new Date());
-          }
-        }
-        else {
-          // Kodi saids so
-          episode.setWatched(false);
-          episode.setLastWatched(null);
-        }
+  KodiMappingCache getMappings() {
+    return mappings;
+  }
+
+  Map<String, Set<Integer>> getPendingUpdates() {
+    return pendingUpdates;
+  }
+
+  private void processLibraryUpdates() {
+    updateScheduled = false;
+    Map<String, Set<Integer>> updates = new HashMap<>(pendingUpdates);
+    pendingUpdates.clear();
 
-        episode.writeNFO();
-        episode.setLastWatched(null); // write date to NFO, but do not save it, not even in session!
-        episode.saveToDb();
+    try {
+      if (isConnected()) {
+        mapUpdatedMovies(updates.getOrDefault("movie", Set.of()));
+        mapUpdatedTvShows(updates.getOrDefault("tvshow", Set.of()));
+        mapUpdatedEpisodes(updates.getOrDefault("episode", Set.of()));
       }
     }
-    else {
-      LOGGER.error("Unable get playcount - could not map '{}' to Kodi library! {}", episode.getTitle(), episode.getDbId());
+    catch (Exception e) {
+      LOGGER.debug("could not process Kodi library updates - '{}'", e.getMessage());
     }
+
+    mappings.save();
   }
 
-  public Integer getEpisodeId(TvShowEpisode episode) {
-    Integer kodiShowId = tvshowmappings.get(episode.getTvShowDbId());
-    if (kodiShowId == null) {
-      return null;
+  private void mapUpdatedMovies(Set<Integer> kodiIds) {
+    if (kodiIds.isEmpty()) {
+      return;
     }
 
-    Integer kodiEpId = episodemappings.get(episode.getDbId());
-    if (kodiEpId == null) {
-      // cache show
-      getAndSetTvShowEpisodeMappings(episode.getTvShow(), kodiShowId);
-      // retry
-      kodiEpId = episodemappings.get(episode.getDbId());
+    List<Integer> ids = new ArrayList<>(kodiIds);
+    List<VideoLibrary.GetMovieDetails> calls = ids.stream().map(id -> new VideoLibrary.GetMovieDetails(id, MovieFields.FILE)).toList();
+    sendBatch(calls);
+
+    Map<String, Integer> kodiDsAndFolder = new HashMap<>();
+    for (int i = 0; i < calls.size(); i++) {
+      if (calls.get(i).getResult() != null) {
+        putMovieFile(kodiDsAndFolder, calls.get(i).getResult().file, ids.get(i));
+      }
+    }
+    if (kodiDsAndFolder.isEmpty()) {
+      return;
     }
 
-    return kodiEpId;
+    Map<String, UUID> tmmDsAndFolder = prepareMovieFileMap(MovieModuleManager.getInstance().getMovieList().getMovies());
+    for (Map.Entry<String, Integer> entry : kodiDsAndFolder.entrySet()) {
+      UUID dbId = tmmDsAndFolder.get(entry.getKey());
+      if (dbId != null) {
+        mappings.put(mappings.movies(), dbId, entry.getValue());
+      }
+    }
   }
 
-  protected synchronized void getAndSetTvShowEpisodeMappings(TvShow tmmShow, Integer kodiShowId) {
-    // tvshow has not been cached - do it once
-    final VideoLibrary.GetEpisodes episodeCall = new VideoLibrary.GetEpisodes(kodiShowId, EpisodeFields.FILE);
-    send(episodeCall);
-    if (episodeCall.getResults() != null && !episodeCall.getResults().isEmpty()) {
-      Map<String, Integer> kodiDsAndFolder = new HashMap<>();
-      for (EpisodeDetail ep : episodeCall.getResults()) {
-        if (ep.file == null || ep.file.isEmpty()) {
-          continue;
-        }
-        // KODI ds|file=id
-        // Kodi return full path of show dir
-        String ds = detectDatasource(ep.file); // detect datasource of show dir
-        String rel = ep.file.replace(ds, ""); // remove ds, to have a relative folde
-        rel = rel.replaceAll(SEPARATOR_REGEX, "/"); // normalize separators
-        ds = ds.replaceAll(SEPARATOR_REGEX + "$", ""); // replace ending separator
-        ds = ds.replaceAll(".*" + SEPARATOR_REGEX, ""); // replace everything till last separator
-        kodiDsAndFolder.put(ds + "|" + rel, ep.episodeid);
+  private void mapUpdatedTvShows(Set<Integer> kodiIds) {
+    if (kodiIds.isEmpty()) {
+      return;
+    }
+
+    List<Integer> ids = new ArrayList<>(kodiIds);
+    List<VideoLibrary.GetTVShowDetails> calls = ids.stream().map(id -> new VideoLibrary.GetTVShowDetails(id, TVShowFields.FILE)).toList();
+    sendBatch(calls);
+
+    Map<String, UUID> tmmDsAndFolder = null;
+    for (int i = 0; i < calls.size(); i++) {
+      TVShowDetail show = calls.get(i).getResult();
+      if (show == null || show.file == null || show.file.isEmpty()) {
+        continue;
       }
-      LOGGER.debug("KODI {} episodes", kodiDsAndFolder.size());
 
-      // TMM ds|dir=id
-      Map<String, UUID> tmmDsAndFolder = prepareEpisodeFileMap(tmmShow);
-      LOGGER.debug("TMM {} episodes", tmmDsAndFolder.size());
-
-      // map em
-      for (Map.Entry<String, UUID> entry : tmmDsAndFolder.entrySet()) {
-        String key = entry.getKey();
-        UUID value = entry.getValue();
-        Integer kodiId = kodiDsAndFolder.get(key);
-        if (kodiId != null && kodiId > 0) {
-          // we have a match!
-          episodemappings.put(value, kodiId);
-        }
+      if (tmmDsAndFolder == null) {
+        tmmDsAndFolder = prepareTvShowFolderMap(TvShowModuleManager.getInstance().getTvShowList().getTvShows());
+      }
+      UUID dbId = tmmDsAndFolder.get(toKodiKey(show.file, true));
+      if (dbId != null) {
+        mappings.put(mappings.tvShows(), dbId, ids.get(i));
+      }
+    }
+  }
+
+  private void mapUpdatedEpisodes(Set<Integer> kodiIds) {
+    if (kodiIds.isEmpty()) {
+      return;
+    }
+
+    List<Integer> ids = new ArrayList<>(kodiIds);
+    List<VideoLibrary.GetEpisodeDetails> calls = ids.stream()
+        .map(id -> new VideoLibrary.GetEpisodeDetails(id, EpisodeFields.FILE, EpisodeFields.TVSHOWID))
+        .toList();
+    sendBatch(calls);
+
+    // Kodi show id -> TMM show
+    Map<Integer, UUID> tvShowIds = new HashMap<>();
+    mappings.tvShows().forEach((dbId, kodiId) -> tvShowIds.put(kodiId, dbId));
+    Map<UUID, Map<String, UUID>> tmmDsAndFolder = new HashMap<>();
+
+    for (int i = 0; i < calls.size(); i++) {
+      EpisodeDetail ep = calls.get(i).getResult();
+      if (ep == null || ep.file == null || ep.file.isEmpty() || ep.tvshowid == null) {
+        continue;
+      }
+
+      // episodes of not yet cached shows will be mapped on demand
+      UUID tvShowDbId = tvShowIds.get(ep.tvshowid);
+      if (tvShowDbId == null || !mappings.mappedTvShows().contains(tvShowDbId)) {
+        continue;
+      }
+      TvShow tmmShow = TvShowModuleManager.getInstance().getTvShowList().lookupTvShow(tvShowDbId);
+      if (tmmShow == null) {
+        continue;
+      }
+
+      UUID dbId = tmmDsAndFolder.computeIfAbsent(tvShowDbId, k -> prepareEpisodeFileMap(tmmShow)).get(toKodiKey(ep.file, false));
+      if (dbId != null) {
+        mappings.put(mappings.episodes(), dbId, ids.get(i));
       }
-      LOGGER.debug("mapped {} episodes for {}", episodemappings.size(), tmmShow.getTitle());
     }
   }
 
@@ -680,12 +1148,19 @@ public class KodiRPC {
       LOGGER.warn("Cannot send RPC call - not connected");
       return;
     }
+    if (!acquirePermit()) {
+      return;
+    }
+
     try {
       call.setResponse(JsonApiRequest.execute(connectionManager.getHostConfig(), call.getRequest()));
     }
     catch (ApiException e) {
       LOGGER.error("Error calling Kodi: {}", e.getMessage());
     }
+    finally {
+      callPermits.release();
+    }
   }
 
   /**
@@ -699,6 +1174,9 @@ public class KodiRPC {
       LOGGER.warn("Cannot send RPC call - not connected");
       return;
     }
+    if (!acquirePermit()) {
+      return;
+    }
 
     try {
       JsonApiRequest.execute(connectionManager.getHostConfig(), call.getRequest());
@@ -706,6 +1184,79 @@ public class KodiRPC {
     catch (ApiException e) {
       LOGGER.error("Error calling Kodi: {}", e.getMessage());
     }
+    finally {
+      callPermits.release();
+    }
+  }
+
+  /**
+   * Sends the calls to Kodi in batches of up to {@link #BATCH_SIZE} calls and waits for the responses. The calls of a batch are being sent over
+   * the persistent connection without waiting for every single response.<br />
+   * Call getResult() / getResults() of every call afterwards. Calls which have not been answered in the batch are being sent one by one - except
+   * the calls with side effects (e.g. refreshing an item) which might have been executed by Kodi nevertheless
+   *
+   * @param calls
+   *          the calls to send
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public void sendBatch(List<? extends AbstractCall<?>> calls) {
+    if (calls.isEmpty()) {
+      return;
+    }
+    if (!isConnected()) {
+      LOGGER.warn("Cannot send RPC call - not connected");
+      return;
+    }
+
+    for (int start = 0; start < calls.size(); start += BATCH_SIZE) {
+      List<? extends AbstractCall<?>> chunk = calls.subList(start, Math.min(calls.size(), start + BATCH_SIZE));
+      if (chunk.size() == 1) {
+        send(chunk.get(0));
+        continue;
+      }
+      if (!acquirePermit()) {
+        return;
+      }
+
+      List<AbstractCall<?>> unanswered;
+      try {
+        unanswered = new KodiCallBatch(chunk).execute((call, callback) -> connectionManager.call((AbstractCall) call, (ApiCallback) callback),
+            BATCH_TIMEOUT);
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      finally {
+        callPermits.release();
+      }
+
+      if (!unanswered.isEmpty()) {
+        LOGGER.debug("{} calls of the batch have not been answered by Kodi; sending them one by one", unanswered.size());
+        for (AbstractCall<?> call : unanswered) {
+          if (KodiCallBatch.isIdempotent(call)) {
+            send(call);
+          }
+          else {
+            LOGGER.warn("Kodi did not answer a call in time - not sending it again since it may have been executed already");
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * limit the concurrent calls to Kodi, so that bulk actions do not flood the Kodi instance
+   */
+  private boolean acquirePermit() {
+    try {
+      callPermits.acquire();
+      return true;
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
   }
 
   /**
@@ -730,8 +1281,18 @@ public class KodiRPC {
           this.kodiVersion = getKodiVersion();
           getAndSetVideoDataSources();
           getAndSetAudioDataSources();
-          getAndSetMovieMappings();
-          getAndSetTvShowMappings();
+
+          // take the cached mappings of this Kodi instance if possible
+          mappings.load(getMappingCacheFile(config));
+          moviesVerified = false;
+          tvShowsVerified = false;
+          verifiedTvShows.clear();
+          if (!mappings.isMovieMappingValid() || !isMovieMappingConsistent()) {
+            getAndSetMovieMappings();
+          }
+          if (!mappings.isTvShowMappingValid() || !isTvShowMappingConsistent()) {
+            getAndSetTvShowMappings();
+          }
         }
       }
       catch (Exception e) {
@@ -740,6 +1301,39 @@ public class KodiRPC {
     }).start();
   }
 
+  /**
+   * cheap consistency check of the cached movie mappings: a sample of the cached Kodi ids has to point to the same files in Kodi
+   */
+  private boolean isMovieMappingConsistent() {
+    List<Movie> sample = MovieModuleManager.getInstance()
+        .getMovieList()
+        .getMovies()
+        .stream()
+        .filter(movie -> mappings.movies().containsKey(movie.getDbId()))
+        .collect(Collectors.toCollection(ArrayList::new));
+    Collections.shuffle(sample);
+    sample = sample.subList(0, Math.min(SAMPLE_SIZE, sample.size()));
+
+    // do not use getMovieDetails here: that would re-map on every mismatch
+    return requestMovieDetails(sample, new String[0], new HashMap<>()).isEmpty();
+  }
+
+  /**
+   * cheap consistency check of the cached TV show mappings: a sample of the cached Kodi ids has to point to the same folders in Kodi
+   */
+  private boolean isTvShowMappingConsistent() {
+    List<TvShow> sample = TvShowModuleManager.getInstance()
+        .getTvShowList()
+        .getTvShows()
+        .stream()
+        .filter(tvShow -> mappings.tvShows().containsKey(tvShow.getDbId()))
+        .collect(Collectors.toCollection(ArrayList::new));
+    Collections.shuffle(sample);
+    sample = sample.subList(0, Math.min(SAMPLE_SIZE, sample.size()));
+
+    return requestTvShowDetails(sample, new HashMap<>()).isEmpty();
+  }
+
   public void connect() {
     Settings s = Settings.getInstance();
     if (s.getKodiHost().isEmpty()) {
@@ -755,7 +1349,13 @@ public class KodiRPC {
     }
   }
 
+  private Path getMappingCacheFile(HostConfig config) {
+    String name = (config.getAddress() + "_" + config.getHttpPort()).replaceAll("[^a-zA-Z0-9._-]", "_");
+    return Paths.get(Globals.CACHE_FOLDER, "kodi", name + ".json");
+  }
+
   public void disconnect() {
+    mappings.save();
     connectionManager.disconnect();
     this.kodiVersion = "";
   }
@@ -766,6 +1366,21 @@ public class KodiRPC {
     }
   }
 
+  /**
+   * the movies in TMM have changed (e.g. by a datasource update) - re-map once the next time a movie cannot be found
+   */
+  public void markMovieMappingsOutdated() {
+    moviesVerified = false;
+  }
+
+  /**
+   * the TV shows/episodes in TMM have changed (e.g. by a datasource update) - re-map once the next time a TV show/episode cannot be found
+   */
+  public void markTvShowMappingsOutdated() {
+    tvShowsVerified = false;
+    verifiedTvShows.clear();
+  }
+
   public void updateTvShowMappings() {
     if (isConnected()) {
       getAndSetTvShowMappings();
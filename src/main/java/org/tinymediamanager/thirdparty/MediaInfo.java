@@ -19,10 +19,13 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,13 +42,24 @@ import com.sun.jna.WString;
  */
 public class MediaInfo implements Closeable {
 
-  private static final Logger LOGGER = LoggerFactory.getLogger(MediaInfo.class);
+  private static final Logger          LOGGER            = LoggerFactory.getLogger(MediaInfo.class);
+
+  // read all parameters with a custom inform template (one native call) instead of two native calls per parameter
+  private static final boolean         BULK_SNAPSHOT     = Boolean.parseBoolean(System.getProperty("tmm.mediainfo.bulksnapshot", "true"));
+  // the stream kinds with a fixed set of parameters; the others (e.g. chapters in menus) are read parameter by parameter
+  private static final Set<StreamKind> BULK_STREAM_KINDS = EnumSet.of(StreamKind.General, StreamKind.Video, StreamKind.Audio, StreamKind.Text,
+      StreamKind.Image);
+  private static final char            RECORD_START      = '\u001D';
+  private static final char            FIELD_SEPARATOR   = '\u001F';
+  private static final char            RECORD_END        = '\u001E';
+
+  private static BulkTemplate          bulkTemplate;
 
   /**
    * the internal pointer handle of mediainfo<br>
    * .
    */
-  private Pointer             handle;
+  private Pointer                      handle;
 
   /**
    * checks if libmediainfo could be loaded
@@ -408,11 +422,23 @@ public class MediaInfo implements Closeable {
   }
 
   /**
-   * Snapshot.
+   * Snapshot of all parameters of all streams
    * 
    * @return the map
    */
   public Map<StreamKind, List<Map<String, String>>> snapshot() {
+    if (BULK_SNAPSHOT) {
+      return bulkSnapshot();
+    }
+    return parameterSnapshot();
+  }
+
+  /**
+   * Snapshot of all parameters of all streams - read parameter by parameter (two native calls per parameter)
+   *
+   * @return the map
+   */
+  public Map<StreamKind, List<Map<String, String>>> parameterSnapshot() {
     Map<StreamKind, List<Map<String, String>>> mediaInfo = new EnumMap<>(StreamKind.class);
 
     for (StreamKind streamKind : StreamKind.values()) {
@@ -455,6 +481,163 @@ public class MediaInfo implements Closeable {
     return streamInfo;
   }
 
+  /**
+   * Snapshot of all parameters of all streams - read with a single custom inform call. The result is the same as {@link #parameterSnapshot()}:
+   * the template contains all parameters of the loaded libmediainfo (Info_Parameters), additional parameters of a stream (e.g. tags) are read
+   * one by one afterwards. If the inform output of a stream kind cannot be parsed, this stream kind is read parameter by parameter
+   *
+   * @return the map
+   */
+  public Map<StreamKind, List<Map<String, String>>> bulkSnapshot() {
+    BulkTemplate template = getBulkTemplate();
+    if (template == null) {
+      return parameterSnapshot();
+    }
+
+    // the template is the same for all instances, so it does not matter if libmediainfo stores this option globally
+    option("Inform", template.inform());
+    Map<StreamKind, List<String[]>> records = parseRecords(inform(), template.parameters());
+
+    Map<StreamKind, List<Map<String, String>>> mediaInfo = new EnumMap<>(StreamKind.class);
+
+    for (StreamKind streamKind : StreamKind.values()) {
+      int streamCount = streamCount(streamKind);
+      if (streamCount == 0) {
+        continue;
+      }
+
+      List<String> parameters = template.parameters().get(streamKind);
+      List<String[]> streamRecords = records.get(streamKind);
+      List<Map<String, String>> streamInfoList = new ArrayList<>(streamCount);
+
+      if (parameters == null || streamRecords == null || streamRecords.size() != streamCount) {
+        if (parameters != null) {
+          LOGGER.debug("could not read '{}' with a custom inform - reading parameter by parameter", streamKind);
+        }
+        for (int i = 0; i < streamCount; i++) {
+          streamInfoList.add(snapshot(streamKind, i));
+        }
+      }
+      else {
+        for (int i = 0; i < streamCount; i++) {
+          Map<String, String> streamInfo = new LinkedHashMap<>();
+          String[] values = streamRecords.get(i);
+          for (int j = 0; j < parameters.size(); j++) {
+            if (!values[j].isEmpty()) {
+              streamInfo.put(parameters.get(j), values[j]);
+            }
+          }
+
+          // additional parameters of this stream are appended after the fixed ones
+          for (int j = parameters.size(), count = parameterCount(streamKind, i); j < count; j++) {
+            String value = get(streamKind, i, j, InfoKind.Text);
+            if (!value.isEmpty()) {
+              streamInfo.put(get(streamKind, i, j, InfoKind.Name), value);
+            }
+          }
+
+          streamInfoList.add(streamInfo);
+        }
+      }
+
+      mediaInfo.put(streamKind, streamInfoList);
+    }
+
+    return mediaInfo;
+  }
+
+  private static synchronized BulkTemplate getBulkTemplate() {
+    if (bulkTemplate == null) {
+      Map<StreamKind, List<String>> parameters = parseParameters(parameters());
+      parameters.keySet().retainAll(BULK_STREAM_KINDS);
+      // parameters which cannot be used in a template - read this stream kind parameter by parameter
+      parameters.values().removeIf(names -> names.stream().anyMatch(name -> name.isEmpty() || name.indexOf(';') >= 0 || name.indexOf('%') >= 0));
+      if (parameters.isEmpty()) {
+        return null;
+      }
+
+      StringBuilder inform = new StringBuilder();
+      for (Map.Entry<StreamKind, List<String>> entry : parameters.entrySet()) {
+        if (!inform.isEmpty()) {
+          inform.append(System.lineSeparator());
+        }
+        inform.append(entry.getKey().name()).append(';').append(RECORD_START).append(entry.getKey().name());
+        for (String parameter : entry.getValue()) {
+          inform.append(FIELD_SEPARATOR).append('%').append(parameter).append('%');
+        }
+        inform.append(RECORD_END);
+      }
+
+      bulkTemplate = new BulkTemplate(inform.toString(), parameters);
+    }
+
+    return bulkTemplate;
+  }
+
+  /**
+   * parse the output of Info_Parameters: a section per stream kind (separated by an empty line) with one parameter per line (name : description)
+   */
+  static Map<StreamKind, List<String>> parseParameters(String infoParameters) {
+    Map<StreamKind, List<String>> parameters = new EnumMap<>(StreamKind.class);
+
+    List<String> current = null;
+    boolean sectionStart = true;
+    for (String line : infoParameters.split("\\R")) {
+      if (line.isBlank()) {
+        sectionStart = true;
+        continue;
+      }
+
+      if (sectionStart) {
+        sectionStart = false;
+        current = null;
+        for (StreamKind streamKind : StreamKind.values()) {
+          if (streamKind.name().equals(line.strip())) {
+            current = new ArrayList<>();
+            parameters.put(streamKind, current);
+          }
+        }
+        continue;
+      }
+
+      if (current != null) {
+        int separator = line.indexOf(':');
+        current.add((separator > 0 ? line.substring(0, separator) : line).strip());
+      }
+    }
+
+    return parameters;
+  }
+
+  /**
+   * parse the output of the bulk template: every stream is written as RECORD_START kind FIELD_SEPARATOR value ... RECORD_END
+   */
+  static Map<StreamKind, List<String[]>> parseRecords(String inform, Map<StreamKind, List<String>> parameters) {
+    Map<StreamKind, List<String[]>> records = new EnumMap<>(StreamKind.class);
+
+    int end;
+    int position = 0;
+    while ((end = inform.indexOf(RECORD_END, position)) >= 0) {
+      int start = inform.lastIndexOf(RECORD_START, end);
+      if (start >= position) {
+        String[] fields = inform.substring(start + 1, end).split(String.valueOf(FIELD_SEPARATOR), -1);
+        try {
+          StreamKind streamKind = StreamKind.valueOf(fields[0]);
+          List<String> streamParameters = parameters.get(streamKind);
+          if (streamParameters != null && fields.length == streamParameters.size() + 1) {
+            records.computeIfAbsent(streamKind, k -> new ArrayList<>()).add(Arrays.copyOfRange(fields, 1, fields.length));
+          }
+        }
+        catch (IllegalArgumentException e) {
+          LOGGER.trace("unknown stream kind in inform - {}", fields[0]);
+        }
+      }
+      position = end + 1;
+    }
+
+    return records;
+  }
+
   @Override
   public void close() {
     if (isLoaded()) {
@@ -636,4 +819,7 @@ public class MediaInfo implements Closeable {
       }
     }
   }
+
+  private record BulkTemplate(String inform, Map<StreamKind, List<String>> parameters) {
+  }
 }
@@ -69,11 +69,13 @@ public class MovieSyncTraktTvTask extends TmmTask {
     }
 
     TraktTv traktTV = TraktTv.getInstance();
+    // the last activities are fetched only once for all steps of this sync
+    TraktTvLastActivities lastActivities = new TraktTvLastActivities();
 
     if (syncCollection) {
       publishState(TmmResourceBundle.getString("trakt.sync.movie"), 0);
       try {
-        traktTV.syncTraktMovieCollection(movies);
+        traktTV.syncTraktMovieCollection(movies, lastActivities);
       }
       catch (Exception e) {
         LOGGER.error("Could not sync to trakt - '{}'", e.getMessage());
@@ -83,7 +85,7 @@ public class MovieSyncTraktTvTask extends TmmTask {
     if (syncWatched) {
       publishState(TmmResourceBundle.getString("trakt.sync.moviewatched"), 0);
       try {
-        traktTV.syncTraktMovieWatched(movies);
+        traktTV.syncTraktMovieWatched(movies, lastActivities);
       }
       catch (Exception e) {
         LOGGER.error("Could not sync to trakt - '{}'", e.getMessage());
@@ -93,7 +95,7 @@ public class MovieSyncTraktTvTask extends TmmTask {
     if (syncRating) {
       publishState(TmmResourceBundle.getString("trakt.sync.movierating"), 0);
       try {
-        traktTV.syncTraktMovieRating(movies);
+        traktTV.syncTraktMovieRating(movies, lastActivities);
       }
       catch (Exception e) {
         LOGGER.error("Could not sync to trakt - '{}'", e.getMessage());
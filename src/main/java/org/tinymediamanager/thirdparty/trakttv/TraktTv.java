@@ -65,10 +65,11 @@ import retrofit2.Response;
  */
 
 public class TraktTv implements TmmFeature {
-  private static final Logger LOGGER = LoggerFactory.getLogger(TraktTv.class);
-  private static TraktTv      instance;
+  private static final Logger    LOGGER    = LoggerFactory.getLogger(TraktTv.class);
+  private static TraktTv         instance;
 
-  private TraktV2             api;
+  private final TraktTvSyncCache syncCache = new TraktTvSyncCache();
+  private TraktV2                api;
 
   enum SyncType {
     COLLECTION,
@@ -181,6 +182,10 @@ public class TraktTv implements TmmFeature {
     return api;
   }
 
+  TraktTvSyncCache getSyncCache() {
+    return syncCache;
+  }
+
   private <T> T executeCall(Call<T> call) throws IOException {
     Response<T> response = call.execute();
     if (!response.isSuccessful() && response.code() == 401) {
@@ -246,13 +251,17 @@ public class TraktTv implements TmmFeature {
    * Gets all Trakt movies from collection, matches them to ours, and sends ONLY the new ones back to Trakt
    */
   public void syncTraktMovieCollection(List<Movie> moviesInTmm) throws ScrapeException {
+    syncTraktMovieCollection(moviesInTmm, new TraktTvLastActivities());
+  }
+
+  void syncTraktMovieCollection(List<Movie> moviesInTmm, TraktTvLastActivities lastActivities) throws ScrapeException {
     initAPI();
 
     if (!isEnabled()) {
       return;
     }
 
-    new TraktTvMovie(this).syncTraktMovieCollection(moviesInTmm);
+    new TraktTvMovie(this, lastActivities).syncTraktMovieCollection(moviesInTmm);
   }
 
   /**
@@ -261,13 +270,17 @@ public class TraktTv implements TmmFeature {
    * Then update the remaining TMM movies on Trakt as 'seen'.
    */
   public void syncTraktMovieWatched(List<Movie> moviesInTmm) throws ScrapeException {
+    syncTraktMovieWatched(moviesInTmm, new TraktTvLastActivities());
+  }
+
+  void syncTraktMovieWatched(List<Movie> moviesInTmm, TraktTvLastActivities lastActivities) throws ScrapeException {
     initAPI();
 
     if (!isEnabled()) {
       return;
     }
 
-    new TraktTvMovie(this).syncTraktMovieWatched(moviesInTmm);
+    new TraktTvMovie(this, lastActivities).syncTraktMovieWatched(moviesInTmm);
   }
 
   /**
@@ -275,13 +288,17 @@ public class TraktTv implements TmmFeature {
    * Gets all movies from Trakt, set the personal rating for movies without existing personal rating and send back new/changed items<br>
    */
   public void syncTraktMovieRating(List<Movie> moviesInTmm) throws ScrapeException {
+    syncTraktMovieRating(moviesInTmm, new TraktTvLastActivities());
+  }
+
+  void syncTraktMovieRating(List<Movie> moviesInTmm, TraktTvLastActivities lastActivities) throws ScrapeException {
     initAPI();
 
     if (!isEnabled()) {
       return;
     }
 
-    new TraktTvMovie(this).syncTraktMovieRating(moviesInTmm);
+    new TraktTvMovie(this, lastActivities).syncTraktMovieRating(moviesInTmm);
   }
 
   /**
@@ -312,33 +329,45 @@ public class TraktTv implements TmmFeature {
    * Do not send diffs, since this is too complicated currently :|
    */
   public void syncTraktTvShowCollection(List<TvShow> tvShowsInTmm) throws Exception {
+    syncTraktTvShowCollection(tvShowsInTmm, new TraktTvLastActivities());
+  }
+
+  void syncTraktTvShowCollection(List<TvShow> tvShowsInTmm, TraktTvLastActivities lastActivities) throws Exception {
     initAPI();
 
     if (!isEnabled()) {
       return;
     }
 
-    new TraktTvTvShow(this).syncTraktTvShowCollection(tvShowsInTmm);
+    new TraktTvTvShow(this, lastActivities).syncTraktTvShowCollection(tvShowsInTmm);
   }
 
   public void syncTraktTvShowWatched(List<TvShow> tvShowsInTmm) throws Exception {
+    syncTraktTvShowWatched(tvShowsInTmm, new TraktTvLastActivities());
+  }
+
+  void syncTraktTvShowWatched(List<TvShow> tvShowsInTmm, TraktTvLastActivities lastActivities) throws Exception {
     initAPI();
 
     if (!isEnabled()) {
       return;
     }
 
-    new TraktTvTvShow(this).syncTraktTvShowWatched(tvShowsInTmm);
+    new TraktTvTvShow(this, lastActivities).syncTraktTvShowWatched(tvShowsInTmm);
   }
 
   public void syncTraktTvShowRating(List<TvShow> tvShowsInTmm) throws Exception {
+    syncTraktTvShowRating(tvShowsInTmm, new TraktTvLastActivities());
+  }
+
+  void syncTraktTvShowRating(List<TvShow> tvShowsInTmm, TraktTvLastActivities lastActivities) throws Exception {
     initAPI();
 
     if (!isEnabled()) {
       return;
     }
 
-    new TraktTvTvShow(this).syncTraktTvShowRating(tvShowsInTmm);
+    new TraktTvTvShow(this, lastActivities).syncTraktTvShowRating(tvShowsInTmm);
   }
 
   /**
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.thirdparty.trakttv;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.tinymediamanager.core.entities.MediaEntity;
+import org.tinymediamanager.scraper.MediaMetadata;
+
+/**
+ * The class {@link TraktTvIdIndex} is a hash index of media entities by their provider ids (trakt, imdb, tmdb, ...). Matching Trakt.tv items
+ * against this index is a constant time lookup per id instead of a scan over all entities.
+ *
+ * @param <E>
+ *          the type of the entities
+ * @author Manuel Laggner
+ */
+class TraktTvIdIndex<E extends MediaEntity> {
+  private final List<String>         providers;
+  private final Map<String, List<E>> index    = new HashMap<>();
+  private final Map<E, Integer>      ordinals = new IdentityHashMap<>();
+
+  TraktTvIdIndex(Collection<E> entities, String... providers) {
+    this.providers = List.of(providers);
+
+    for (E entity : entities) {
+      add(entity);
+    }
+  }
+
+  /**
+   * add the given entity to the index. This can be called again for an already indexed entity to index newly added ids
+   *
+   * @param entity
+   *          the entity to (re-)index
+   */
+  void add(E entity) {
+    ordinals.putIfAbsent(entity, ordinals.size());
+
+    for (String provider : providers) {
+      String key = createKey(provider, getId(entity, provider));
+      if (key != null) {
+        List<E> entities = index.computeIfAbsent(key, k -> new ArrayList<>(1));
+        if (!entities.contains(entity)) {
+          entities.add(entity);
+        }
+      }
+    }
+  }
+
+  /**
+   * find all entities which match at least one of the given ids
+   *
+   * @param ids
+   *          the ids (provider -> id) to search for; null values are ignored
+   * @return a {@link List} of all matching entities in the order they have been added to the index
+   */
+  List<E> find(Map<String, Object> ids) {
+    Set<E> found = new LinkedHashSet<>();
+
+    for (Map.Entry<String, Object> entry : ids.entrySet()) {
+      String key = createKey(entry.getKey(), entry.getValue());
+      if (key != null) {
+        found.addAll(index.getOrDefault(key, List.of()));
+      }
+    }
+
+    List<E> result = new ArrayList<>(found);
+    if (result.size() > 1) {
+      result.sort(Comparator.comparing(ordinals::get));
+    }
+    return result;
+  }
+
+  private static Object getId(MediaEntity entity, String provider) {
+    if (MediaMetadata.IMDB.equals(provider)) {
+      return entity.getIdAsString(provider);
+    }
+    return entity.getIdAsInt(provider);
+  }
+
+  private static String createKey(String provider, Object id) {
+    if (id instanceof Integer intId) {
+      return intId > 0 ? provider + ":" + intId : null;
+    }
+    if (id instanceof String stringId) {
+      // string ids (like imdb) are matched case insensitive
+      return StringUtils.isNotBlank(stringId) ? provider + ":" + stringId.toLowerCase(Locale.ROOT) : null;
+    }
+    return null;
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.thirdparty.trakttv;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tinymediamanager.core.ThrowingSupplier;
+
+import com.uwetrottmann.trakt5.entities.LastActivities;
+
+/**
+ * The class {@link TraktTvLastActivities} holds the last activities of Trakt.tv for one sync run. They are fetched on first use and shared by all
+ * steps of the run (collection, watched, ratings), so the endpoint is only called once per sync.
+ *
+ * @author Manuel Laggner
+ */
+class TraktTvLastActivities {
+  private static final Logger LOGGER  = LoggerFactory.getLogger(TraktTvLastActivities.class);
+
+  private boolean             fetched = false;
+  private LastActivities      lastActivities;
+
+  /**
+   * get the last activities - the loader is only called on the first call
+   *
+   * @param loader
+   *          the loader to fetch the last activities from Trakt.tv
+   * @return the {@link LastActivities} or null if they could not be fetched
+   */
+  synchronized LastActivities get(ThrowingSupplier<LastActivities, Exception> loader) {
+    if (!fetched) {
+      fetched = true;
+      try {
+        lastActivities = loader.get();
+      }
+      catch (Exception e) {
+        // no delta sync possible - just fetch everything
+        LOGGER.debug("could not get last activities from Trakt.tv: {}", e.getMessage());
+      }
+    }
+    return lastActivities;
+  }
+}
@@ -25,8 +25,12 @@ import static org.tinymediamanager.thirdparty.trakttv.TraktTv.printStatus;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -45,6 +49,7 @@ import org.tinymediamanager.scraper.util.MetadataUtil;
 
 import com.uwetrottmann.trakt5.TraktV2;
 import com.uwetrottmann.trakt5.entities.BaseMovie;
+import com.uwetrottmann.trakt5.entities.LastActivities;
 import com.uwetrottmann.trakt5.entities.Metadata;
 import com.uwetrottmann.trakt5.entities.MovieIds;
 import com.uwetrottmann.trakt5.entities.RatedMovie;
@@ -65,12 +70,20 @@ import retrofit2.Response;
  * @author Manuel Laggner
  */
 class TraktTvMovie {
-  private static final Logger LOGGER = LoggerFactory.getLogger(TraktTvMovie.class);
+  private static final Logger         LOGGER = LoggerFactory.getLogger(TraktTvMovie.class);
 
-  private final TraktV2       api;
+  private final TraktV2               api;
+  private final TraktTvSyncCache      syncCache;
+  private final TraktTvLastActivities lastActivities;
 
   TraktTvMovie(TraktTv traktTv) {
+    this(traktTv, new TraktTvLastActivities());
+  }
+
+  TraktTvMovie(TraktTv traktTv, TraktTvLastActivities lastActivities) {
     this.api = traktTv.getApi();
+    this.syncCache = traktTv.getSyncCache();
+    this.lastActivities = lastActivities;
   }
 
   private <T> T executeCall(Call<T> call) throws IOException {
@@ -112,7 +125,8 @@ class TraktTvMovie {
     try {
       // Extended.DEFAULT adds url, poster, fanart, banner, genres
       // Extended.MAX adds certs, runtime, and other stuff (useful for scraper!)
-      traktMovies = executeCall(api.sync().collectionMovies(Extended.METADATA));
+      traktMovies = syncCache.getItems(TraktTvSyncCache.Section.MOVIE_COLLECTION, getLastActivities(), BaseMovie.class,
+          () -> executeCall(api.sync().collectionMovies(Extended.METADATA)));
     }
     catch (Exception e) {
       LOGGER.error("failed syncing trakt: {}", e.getMessage());
@@ -121,16 +135,21 @@ class TraktTvMovie {
 
     LOGGER.info("You have {} movies in your Trakt.tv collection", traktMovies.size());
 
-    List<Movie> tmmMovies = new ArrayList<>(moviesInTmm);
+    Set<Movie> tmmMovies = new LinkedHashSet<>(moviesInTmm);
+    TraktTvIdIndex<Movie> idIndex = createIdIndex(moviesInTmm);
 
     // loop over all movies on trakt and match them with the tmm ones
     for (BaseMovie traktMovie : traktMovies) {
-      List<Movie> matchingTmmMovies = getTmmMoviesForTraktMovie(tmmMovies, traktMovie.movie);
+      List<Movie> matchingTmmMovies = getTmmMoviesForTraktMovie(idIndex, traktMovie.movie);
+      matchingTmmMovies.removeIf(movie -> !tmmMovies.contains(movie));
       boolean metadataFound = false;
 
       for (Movie tmmMovie : matchingTmmMovies) {
         // update missing IDs (we get them for free :)
         boolean dirty = updateIDs(tmmMovie, traktMovie.movie);
+        if (dirty) {
+          idIndex.add(tmmMovie);
+        }
 
         if (traktMovie.collected_at != null) {
           Date collectedAt = DateTimeUtils.toDate(traktMovie.collected_at.toInstant());
@@ -209,8 +228,7 @@ class TraktTvMovie {
    * Then update the remaining TMM movies on Trakt as 'seen'.
    */
   void syncTraktMovieWatched(List<Movie> moviesInTmm) {
-    // create a local copy of the list
-    List<Movie> tmmMovies = new ArrayList<>(moviesInTmm);
+    TraktTvIdIndex<Movie> idIndex = createIdIndex(moviesInTmm);
 
     // *****************************************************************************
     // 1) get all Trakt watched movies and update our "watched" status
@@ -219,7 +237,8 @@ class TraktTvMovie {
     try {
       // Extended.DEFAULT adds url, poster, fanart, banner, genres
       // Extended.MAX adds certs, runtime, and other stuff (useful for scraper!)
-      traktMovies = executeCall(api.sync().watchedMovies(null));
+      traktMovies = syncCache.getItems(TraktTvSyncCache.Section.MOVIE_WATCHED, getLastActivities(), BaseMovie.class,
+          () -> executeCall(api.sync().watchedMovies(null)));
     }
     catch (Exception e) {
       LOGGER.error("failed syncing trakt.tv: {}", e.getMessage());
@@ -230,11 +249,14 @@ class TraktTvMovie {
 
     // loop over all watched movies on trakt
     for (BaseMovie traktWatched : traktMovies) {
-      List<Movie> matchingTmmMovies = getTmmMoviesForTraktMovie(tmmMovies, traktWatched.movie);
+      List<Movie> matchingTmmMovies = getTmmMoviesForTraktMovie(idIndex, traktWatched.movie);
 
       for (Movie tmmMovie : matchingTmmMovies) {
         // update missing IDs (we get them for free :)
         boolean dirty = updateIDs(tmmMovie, traktWatched.movie);
+        if (dirty) {
+          idIndex.add(tmmMovie);
+        }
 
         if (!tmmMovie.isWatched()) {
           // save Trakt watched status
@@ -269,12 +291,12 @@ class TraktTvMovie {
     // 2) mark additionally "watched" movies as 'seen' on Trakt.tv
     // *****************************************************************************
     // Now get all TMM watched movies...
-    List<Movie> tmmWatchedMovies = moviesInTmm.stream().filter(Movie::isWatched).collect(Collectors.toList());
+    Set<Movie> tmmWatchedMovies = moviesInTmm.stream().filter(Movie::isWatched).collect(Collectors.toCollection(LinkedHashSet::new));
     LOGGER.info("You have now {} movies marked as 'watched' in your TMM database", tmmWatchedMovies.size());
 
     // ...and subtract the already watched from Trakt
     for (BaseMovie traktWatched : traktMovies) {
-      tmmWatchedMovies.removeAll(getTmmMoviesForTraktMovie(tmmMovies, traktWatched.movie));
+      getTmmMoviesForTraktMovie(idIndex, traktWatched.movie).forEach(tmmWatchedMovies::remove);
     }
 
     if (tmmWatchedMovies.isEmpty()) {
@@ -320,8 +342,7 @@ class TraktTvMovie {
    * Gets all movies from Trakt, set the personal rating for movies without existing personal rating and send back new/changed items<br>
    */
   void syncTraktMovieRating(List<Movie> moviesInTmm) {
-    // create a local copy of the list
-    List<Movie> tmmMovies = new ArrayList<>(moviesInTmm);
+    TraktTvIdIndex<Movie> idIndex = createIdIndex(moviesInTmm);
 
     // *****************************************************************************
     // 1) get all Trakt movies and update our movies without a personal rating
@@ -330,7 +351,8 @@ class TraktTvMovie {
     try {
       // Extended.DEFAULT adds url, poster, fanart, banner, genres
       // Extended.MAX adds certs, runtime, and other stuff (useful for scraper!)
-      traktMovies = executeCall(api.sync().ratingsMovies(RatingsFilter.ALL, null, null, null));
+      traktMovies = syncCache.getItems(TraktTvSyncCache.Section.MOVIE_RATINGS, getLastActivities(), RatedMovie.class,
+          () -> executeCall(api.sync().ratingsMovies(RatingsFilter.ALL, null, null, null)));
     }
     catch (Exception e) {
       LOGGER.error("failed syncing trakt.tv: {}", e.getMessage());
@@ -345,11 +367,14 @@ class TraktTvMovie {
         continue;
       }
 
-      List<Movie> matchingTmmMovies = getTmmMoviesForTraktMovie(tmmMovies, traktRated.movie);
+      List<Movie> matchingTmmMovies = getTmmMoviesForTraktMovie(idIndex, traktRated.movie);
 
       for (Movie tmmMovie : matchingTmmMovies) {
         // update missing IDs (we get them for free :)
         boolean dirty = updateIDs(tmmMovie, traktRated.movie);
+        if (dirty) {
+          idIndex.add(tmmMovie);
+        }
 
         MediaRating userRating = tmmMovie.getUserRating();
         if (userRating == MediaMetadata.EMPTY_RATING) {
@@ -368,9 +393,9 @@ class TraktTvMovie {
     // 2) user the user rating of tmm movies on Trakt.tv (only if the value differs)
     // *****************************************************************************
     // Now get all TMM user rated movies...
-    List<Movie> tmmRatedMovies = moviesInTmm.stream()
+    Set<Movie> tmmRatedMovies = moviesInTmm.stream()
         .filter(movie -> movie.getUserRating() != MediaMetadata.EMPTY_RATING)
-        .collect(Collectors.toList());
+        .collect(Collectors.toCollection(LinkedHashSet::new));
     LOGGER.info("You have now {} movies with user rating in your TMM database", tmmRatedMovies.size());
 
     // ...and subtract movies with the same rating on Trakt
@@ -379,7 +404,7 @@ class TraktTvMovie {
         continue;
       }
 
-      List<Movie> tmmMoviesForTraktMovie = getTmmMoviesForTraktMovie(tmmMovies, traktRated.movie);
+      List<Movie> tmmMoviesForTraktMovie = getTmmMoviesForTraktMovie(idIndex, traktRated.movie);
 
       // since we can have this movie multiple times in tmm with different ratings, we look if there is at least one trakt rating matching the tmm
       // rating
@@ -394,7 +419,7 @@ class TraktTvMovie {
 
       // match found -> do not sync
       if (matchFound) {
-        tmmRatedMovies.removeAll(tmmMoviesForTraktMovie);
+        tmmMoviesForTraktMovie.forEach(tmmRatedMovies::remove);
       }
     }
 
@@ -449,6 +474,8 @@ class TraktTvMovie {
     try {
       traktCollection = executeCall(api.sync().collectionMovies(null));
       traktWatched = executeCall(api.sync().watchedMovies(null));
+      syncCache.invalidate(TraktTvSyncCache.Section.MOVIE_COLLECTION);
+      syncCache.invalidate(TraktTvSyncCache.Section.MOVIE_WATCHED);
     }
     catch (Exception e) {
       LOGGER.error("failed syncing trakt: {}", e.getMessage());
@@ -499,32 +526,27 @@ class TraktTvMovie {
     }
   }
 
-  private List<Movie> getTmmMoviesForTraktMovie(List<Movie> tmmMovies, com.uwetrottmann.trakt5.entities.Movie traktMovie) {
-    return tmmMovies.stream().filter(movie -> matches(movie, traktMovie)).collect(Collectors.toList());
+  private LastActivities getLastActivities() {
+    return lastActivities.get(() -> executeCall(api.sync().lastActivities()));
   }
 
-  private boolean matches(Movie tmmMovie, com.uwetrottmann.trakt5.entities.Movie traktMovie) {
+  private static TraktTvIdIndex<Movie> createIdIndex(List<Movie> tmmMovies) {
+    return new TraktTvIdIndex<>(tmmMovies, MediaMetadata.TRAKT_TV, MediaMetadata.IMDB, MediaMetadata.TMDB);
+  }
+
+  private static List<Movie> getTmmMoviesForTraktMovie(TraktTvIdIndex<Movie> idIndex, com.uwetrottmann.trakt5.entities.Movie traktMovie) {
     if (traktMovie == null || traktMovie.ids == null) {
-      return false;
+      return new ArrayList<>();
     }
 
     MovieIds ids = traktMovie.ids;
 
-    int traktId = MetadataUtil.unboxInteger(ids.trakt);
-    if (traktId > 0 && traktId == tmmMovie.getIdAsInt(MediaMetadata.TRAKT_TV)) {
-      return true;
-    }
-
-    if (StringUtils.isNotEmpty(ids.imdb) && ids.imdb.equals(tmmMovie.getImdbId())) {
-      return true;
-    }
-
-    int tmdbId = MetadataUtil.unboxInteger(ids.tmdb);
-    if (tmdbId > 0 && tmdbId == tmmMovie.getTmdbId()) {
-      return true;
-    }
+    Map<String, Object> idsToFind = new HashMap<>();
+    idsToFind.put(MediaMetadata.TRAKT_TV, ids.trakt);
+    idsToFind.put(MediaMetadata.IMDB, ids.imdb);
+    idsToFind.put(MediaMetadata.TMDB, ids.tmdb);
 
-    return false;
+    return idIndex.find(idsToFind);
   }
 
   private static boolean matchesMetadata(Metadata metadata, Movie movie) {
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.thirdparty.trakttv;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.threeten.bp.OffsetDateTime;
+import org.tinymediamanager.Globals;
+import org.tinymediamanager.core.ThrowingSupplier;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+import com.uwetrottmann.trakt5.TraktV2;
+import com.uwetrottmann.trakt5.entities.LastActivities;
+import com.uwetrottmann.trakt5.entities.LastActivity;
+
+/**
+ * The class {@link TraktTvSyncCache} is used for delta syncs with Trakt.tv. Trakt.tv offers the timestamp of the last change of every section
+ * (collection, watched, ratings) in the last_activities endpoint. The items of a section are cached locally along with this timestamp
+ * (watermark) - as long as the watermark does not change, the items are taken from the cache instead of downloading them again.
+ *
+ * @author Manuel Laggner
+ */
+class TraktTvSyncCache {
+  private static final Logger LOGGER = LoggerFactory.getLogger(TraktTvSyncCache.class);
+  private static final Gson   GSON   = TraktV2.getGsonBuilder().create();
+
+  enum Section {
+    MOVIE_COLLECTION,
+    MOVIE_WATCHED,
+    MOVIE_RATINGS,
+    SHOW_COLLECTION,
+    SHOW_WATCHED,
+    SHOW_RATINGS,
+    EPISODE_RATINGS
+  }
+
+  private final Path cacheFolder;
+
+  TraktTvSyncCache() {
+    this(Paths.get(Globals.CACHE_FOLDER, "trakt"));
+  }
+
+  TraktTvSyncCache(Path cacheFolder) {
+    this.cacheFolder = cacheFolder;
+  }
+
+  /**
+   * get the items of the given section. If the section has not been changed on Trakt.tv since the last download, the cached items are returned -
+   * otherwise the items are loaded with the given loader and cached along with the new watermark
+   *
+   * @param section
+   *          the {@link Section} to get the items for
+   * @param lastActivities
+   *          the {@link LastActivities} from Trakt.tv (may be null - in this case the items are always loaded)
+   * @param itemClass
+   *          the class of the items
+   * @param loader
+   *          the loader to download the items from Trakt.tv
+   * @return a {@link List} of all items of this section
+   * @throws Exception
+   *           any {@link Exception} thrown by the loader
+   */
+  synchronized <T> List<T> getItems(Section section, LastActivities lastActivities, Class<T> itemClass, ThrowingSupplier<List<T>, Exception> loader)
+      throws Exception {
+    OffsetDateTime watermark = getWatermark(section, lastActivities);
+    Path cacheFile = cacheFolder.resolve(section.name().toLowerCase(Locale.ROOT) + ".json");
+
+    if (watermark != null && Files.exists(cacheFile)) {
+      try {
+        JsonObject cached = JsonParser.parseString(Files.readString(cacheFile, StandardCharsets.UTF_8)).getAsJsonObject();
+        if (watermark.toString().equals(cached.get("watermark").getAsString())) {
+          List<T> items = GSON.fromJson(cached.get("items"), TypeToken.getParameterized(List.class, itemClass).getType());
+          LOGGER.debug("Trakt.tv section '{}' has not been changed since {} - using {} cached items", section, watermark, items.size());
+          return items;
+        }
+      }
+      catch (Exception e) {
+        LOGGER.debug("could not read Trakt.tv cache '{}' - {}", cacheFile, e.getMessage());
+      }
+    }
+
+    List<T> items = loader.get();
+
+    if (watermark != null) {
+      try {
+        JsonObject cached = new JsonObject();
+        cached.addProperty("watermark", watermark.toString());
+        cached.add("items", GSON.toJsonTree(items));
+
+        Files.createDirectories(cacheFolder);
+        Path tempFile = cacheFolder.resolve(cacheFile.getFileName() + ".tmp");
+        Files.writeString(tempFile, GSON.toJson(cached), StandardCharsets.UTF_8);
+        Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+      catch (Exception e) {
+        LOGGER.debug("could not write Trakt.tv cache '{}' - {}", cacheFile, e.getMessage());
+      }
+    }
+    else {
+      invalidate(section);
+    }
+
+    return items;
+  }
+
+  /**
+   * invalidate the cached items of the given section (e.g. after sending changes to Trakt.tv)
+   *
+   * @param section
+   *          the {@link Section} to invalidate
+   */
+  synchronized void invalidate(Section section) {
+    try {
+      Files.deleteIfExists(cacheFolder.resolve(section.name().toLowerCase(Locale.ROOT) + ".json"));
+    }
+    catch (Exception e) {
+      LOGGER.debug("could not delete Trakt.tv cache for '{}' - {}", section, e.getMessage());
+    }
+  }
+
+  /**
+   * invalidate the cached items of all sections
+   */
+  synchronized void invalidateAll() {
+    for (Section section : Section.values()) {
+      invalidate(section);
+    }
+  }
+
+  static OffsetDateTime getWatermark(Section section, LastActivities lastActivities) {
+    if (lastActivities == null) {
+      return null;
+    }
+
+    return switch (section) {
+      case MOVIE_COLLECTION -> lastActivities.movies != null ? lastActivities.movies.collected_at : null;
+      case MOVIE_WATCHED -> lastActivities.movies != null ? lastActivities.movies.watched_at : null;
+      case MOVIE_RATINGS -> getRatedAt(lastActivities.movies);
+      case SHOW_COLLECTION -> lastActivities.episodes != null ? lastActivities.episodes.collected_at : null;
+      case SHOW_WATCHED -> lastActivities.episodes != null ? lastActivities.episodes.watched_at : null;
+      case SHOW_RATINGS -> getRatedAt(lastActivities.shows);
+      case EPISODE_RATINGS -> getRatedAt(lastActivities.episodes);
+    };
+  }
+
+  private static OffsetDateTime getRatedAt(LastActivity lastActivity) {
+    return lastActivity != null ? lastActivity.rated_at : null;
+  }
+}
@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -53,6 +54,7 @@ import com.uwetrottmann.trakt5.entities.BaseEpisode;
 import com.uwetrottmann.trakt5.entities.BaseSeason;
 import com.uwetrottmann.trakt5.entities.BaseShow;
 import com.uwetrottmann.trakt5.entities.EpisodeIds;
+import com.uwetrottmann.trakt5.entities.LastActivities;
 import com.uwetrottmann.trakt5.entities.Metadata;
 import com.uwetrottmann.trakt5.entities.RatedEpisode;
 import com.uwetrottmann.trakt5.entities.RatedShow;
@@ -77,12 +79,20 @@ import retrofit2.Response;
  * @author Manuel Laggner
  */
 class TraktTvTvShow {
-  private static final Logger LOGGER = LoggerFactory.getLogger(TraktTvTvShow.class);
+  private static final Logger         LOGGER = LoggerFactory.getLogger(TraktTvTvShow.class);
 
-  private final TraktV2       api;
+  private final TraktV2               api;
+  private final TraktTvSyncCache      syncCache;
+  private final TraktTvLastActivities lastActivities;
 
   public TraktTvTvShow(TraktTv traktTv) {
+    this(traktTv, new TraktTvLastActivities());
+  }
+
+  TraktTvTvShow(TraktTv traktTv, TraktTvLastActivities lastActivities) {
     this.api = traktTv.getApi();
+    this.syncCache = traktTv.getSyncCache();
+    this.lastActivities = lastActivities;
   }
 
   private <T> T executeCall(Call<T> call) throws IOException {
@@ -117,6 +127,8 @@ class TraktTvTvShow {
 
     // create a local copy of the list
     List<TvShow> tvShows = new ArrayList<>(tvShowsInTmm);
+    TraktTvIdIndex<TvShow> idIndex = createIdIndex(tvShows);
+    Map<TvShow, BaseShow> traktShowsForTmmShows = new IdentityHashMap<>();
 
     // *****************************************************************************
     // 1) sync ALL missing show IDs & dates from trakt
@@ -125,7 +137,8 @@ class TraktTvTvShow {
     try {
       // Extended.DEFAULT adds url, poster, fanart, banner, genres
       // Extended.MAX adds certs, runtime, and other stuff (useful for scraper!)
-      traktShows = executeCall(api.sync().collectionShows(Extended.METADATA));
+      traktShows = syncCache.getItems(TraktTvSyncCache.Section.SHOW_COLLECTION, getLastActivities(), BaseShow.class,
+          () -> executeCall(api.sync().collectionShows(Extended.METADATA)));
     }
     catch (Exception e) {
       LOGGER.error("failed syncing trakt: {}", e.getMessage());
@@ -135,11 +148,16 @@ class TraktTvTvShow {
     LOGGER.info("You have {} TvShows in your Trakt.tv collection", traktShows.size());
 
     for (BaseShow traktShow : traktShows) {
-      List<TvShow> matchingTmmTvShows = getTmmTvShowForTraktShow(tvShows, traktShow.show);
+      List<TvShow> matchingTmmTvShows = getTmmTvShowForTraktShow(idIndex, traktShow.show);
 
       for (TvShow tmmShow : matchingTmmTvShows) {
+        traktShowsForTmmShows.putIfAbsent(tmmShow, traktShow);
+
         // update show IDs from trakt
         boolean showDirty = updateIDs(tmmShow, traktShow.show);
+        if (showDirty) {
+          idIndex.add(tmmShow);
+        }
 
         // update collection date from trakt (show)
         if (traktShow.last_collected_at != null) {
@@ -183,7 +201,7 @@ class TraktTvTvShow {
     LOGGER.debug("Adding up to {} TV shows to Trakt.tv collection", tvShows.size());
     // send show per show; sending all together may result too often in a timeout
     for (TvShow tmmShow : tvShows) {
-      SyncShow syncShow = toSyncShow(tmmShow, false, traktShows);
+      SyncShow syncShow = toSyncShow(tmmShow, false, traktShowsForTmmShows.get(tmmShow));
       if (syncShow == null) {
         continue;
       }
@@ -204,12 +222,15 @@ class TraktTvTvShow {
   void syncTraktTvShowWatched(List<TvShow> tvShowsInTmm) {
     // create a local copy of the list
     List<TvShow> tvShows = new ArrayList<>(tvShowsInTmm);
+    TraktTvIdIndex<TvShow> idIndex = createIdIndex(tvShows);
+    Map<TvShow, BaseShow> traktShowsForTmmShows = new IdentityHashMap<>();
 
     List<BaseShow> traktShows;
     try {
       // Extended.DEFAULT adds url, poster, fanart, banner, genres
       // Extended.MAX adds certs, runtime, and other stuff (useful for scraper!)
-      traktShows = executeCall(api.sync().watchedShows(null));
+      traktShows = syncCache.getItems(TraktTvSyncCache.Section.SHOW_WATCHED, getLastActivities(), BaseShow.class,
+          () -> executeCall(api.sync().watchedShows(null)));
     }
     catch (Exception e) {
       LOGGER.error("failed syncing trakt: {}", e.getMessage());
@@ -218,11 +239,16 @@ class TraktTvTvShow {
 
     LOGGER.info("You have {} TvShows marked as watched on Trakt.tv", traktShows.size());
     for (BaseShow traktShow : traktShows) {
-      List<TvShow> matchingTmmTvShows = getTmmTvShowForTraktShow(tvShows, traktShow.show);
+      List<TvShow> matchingTmmTvShows = getTmmTvShowForTraktShow(idIndex, traktShow.show);
 
       for (TvShow tmmShow : matchingTmmTvShows) {
+        traktShowsForTmmShows.putIfAbsent(tmmShow, traktShow);
+
         // update show IDs from trakt
         boolean showDirty = updateIDs(tmmShow, traktShow.show);
+        if (showDirty) {
+          idIndex.add(tmmShow);
+        }
 
         // update collection date from trakt (episodes)
         for (BaseSeason bs : ListUtils.nullSafe(traktShow.seasons)) {
@@ -272,7 +298,7 @@ class TraktTvTvShow {
     // send show per show; sending all together may result too often in a timeout
     for (TvShow tmmShow : tvShows) {
       // get items to sync
-      SyncShow syncShow = toSyncShow(tmmShow, true, traktShows);
+      SyncShow syncShow = toSyncShow(tmmShow, true, traktShowsForTmmShows.get(tmmShow));
       if (syncShow == null) {
         continue;
       }
@@ -332,6 +358,8 @@ class TraktTvTvShow {
   void syncTraktTvShowRating(List<TvShow> tvShowsInTmm) {
     // create a local copy of the list
     List<TvShow> tvShows = new ArrayList<>(tvShowsInTmm);
+    TraktTvIdIndex<TvShow> idIndex = createIdIndex(tvShows);
+    Map<TvShow, List<RatedEpisode>> traktEpisodesForTmmShows = new IdentityHashMap<>();
 
     // *****************************************************************************
     // 1) get all Trakt shows/episodes and update our items without a personal rating
@@ -340,7 +368,8 @@ class TraktTvTvShow {
     try {
       // Extended.DEFAULT adds url, poster, fanart, banner, genres
       // Extended.MAX adds certs, runtime, and other stuff (useful for scraper!)
-      traktShows = executeCall(api.sync().ratingsShows(RatingsFilter.ALL, null, null, null));
+      traktShows = syncCache.getItems(TraktTvSyncCache.Section.SHOW_RATINGS, getLastActivities(), RatedShow.class,
+          () -> executeCall(api.sync().ratingsShows(RatingsFilter.ALL, null, null, null)));
     }
     catch (Exception e) {
       LOGGER.error("failed syncing trakt: {}", e.getMessage());
@@ -351,7 +380,8 @@ class TraktTvTvShow {
     try {
       // Extended.DEFAULT adds url, poster, fanart, banner, genres
       // Extended.MAX adds certs, runtime, and other stuff (useful for scraper!)
-      traktEpisodes = executeCall(api.sync().ratingsEpisodes(RatingsFilter.ALL, null, null, null));
+      traktEpisodes = syncCache.getItems(TraktTvSyncCache.Section.EPISODE_RATINGS, getLastActivities(), RatedEpisode.class,
+          () -> executeCall(api.sync().ratingsEpisodes(RatingsFilter.ALL, null, null, null)));
     }
     catch (Exception e) {
       LOGGER.error("failed syncing trakt: {}", e.getMessage());
@@ -366,11 +396,14 @@ class TraktTvTvShow {
         continue;
       }
 
-      List<TvShow> matchingTmmTvShows = getTmmTvShowForTraktShow(tvShows, traktShow.show);
+      List<TvShow> matchingTmmTvShows = getTmmTvShowForTraktShow(idIndex, traktShow.show);
 
       for (TvShow tmmShow : matchingTmmTvShows) {
         // update show IDs from trakt
         boolean dirty = updateIDs(tmmShow, traktShow.show);
+        if (dirty) {
+          idIndex.add(tmmShow);
+        }
 
         MediaRating userRating = tmmShow.getUserRating();
         if (userRating == MediaMetadata.EMPTY_RATING) {
@@ -390,9 +423,11 @@ class TraktTvTvShow {
         continue;
       }
 
-      List<TvShow> matchingTmmTvShows = getTmmTvShowForTraktShow(tvShows, traktEpisode.show);
+      List<TvShow> matchingTmmTvShows = getTmmTvShowForTraktShow(idIndex, traktEpisode.show);
 
       for (TvShow tmmShow : matchingTmmTvShows) {
+        traktEpisodesForTmmShows.computeIfAbsent(tmmShow, k -> new ArrayList<>()).add(traktEpisode);
+
         List<TvShowEpisode> matchingEpisodes = tmmShow.getEpisode(MetadataUtil.unboxInteger(traktEpisode.episode.number, -1),
             MetadataUtil.unboxInteger(traktEpisode.episode.season, -1));
 
@@ -422,7 +457,7 @@ class TraktTvTvShow {
     // send show per show; sending all together may result too often in a timeout
     for (TvShow tmmShow : tvShows) {
       // get items to sync
-      SyncShow syncShow = toSyncShow(tmmShow, traktShows, traktEpisodes);
+      SyncShow syncShow = toSyncShow(tmmShow, traktEpisodesForTmmShows.getOrDefault(tmmShow, List.of()));
       if (syncShow == null) {
         continue;
       }
@@ -453,6 +488,8 @@ class TraktTvTvShow {
     try {
       traktCollection = executeCall(api.sync().collectionShows(null));
       traktWatched = executeCall(api.sync().watchedShows(null));
+      syncCache.invalidate(TraktTvSyncCache.Section.SHOW_COLLECTION);
+      syncCache.invalidate(TraktTvSyncCache.Section.SHOW_WATCHED);
     }
     catch (Exception e) {
       LOGGER.error("failed syncing trakt: {}", e.getMessage());
@@ -501,43 +538,31 @@ class TraktTvTvShow {
     }
   }
 
-  private List<TvShow> getTmmTvShowForTraktShow(List<TvShow> tmmTvShows, Show traktShow) {
-    return tmmTvShows.stream().filter(tvShow -> matches(tvShow, traktShow)).collect(Collectors.toList());
+  private LastActivities getLastActivities() {
+    return lastActivities.get(() -> executeCall(api.sync().lastActivities()));
   }
 
-  private boolean matches(TvShow tmmShow, Show traktShow) {
+  private static TraktTvIdIndex<TvShow> createIdIndex(List<TvShow> tmmTvShows) {
+    return new TraktTvIdIndex<>(tmmTvShows, MediaMetadata.TRAKT_TV, MediaMetadata.IMDB, MediaMetadata.TMDB, MediaMetadata.TVDB,
+        MediaMetadata.TVRAGE);
+  }
+
+  private static List<TvShow> getTmmTvShowForTraktShow(TraktTvIdIndex<TvShow> idIndex, Show traktShow) {
     if (traktShow == null || traktShow.ids == null) {
-      return false;
+      return new ArrayList<>();
     }
 
     ShowIds ids = traktShow.ids;
 
-    int traktId = MetadataUtil.unboxInteger(ids.trakt);
-    if (traktId > 0 && traktId == tmmShow.getIdAsInt(MediaMetadata.TRAKT_TV)) {
-      return true;
-    }
-
-    if (StringUtils.isNotBlank(ids.imdb) && ids.imdb.equals(tmmShow.getImdbId())) {
-      return true;
-    }
-
-    int tmdbId = MetadataUtil.unboxInteger(ids.tmdb);
-    if (tmdbId > 0 && tmdbId == tmmShow.getTmdbId()) {
-      return true;
-    }
-
-    int tvdbId = MetadataUtil.unboxInteger(ids.tvdb);
-    if (tvdbId > 0 && tvdbId == tmmShow.getIdAsInt(MediaMetadata.TVDB)) {
-      return true;
-    }
-
+    Map<String, Object> idsToFind = new HashMap<>();
+    idsToFind.put(MediaMetadata.TRAKT_TV, ids.trakt);
+    idsToFind.put(MediaMetadata.IMDB, ids.imdb);
+    idsToFind.put(MediaMetadata.TMDB, ids.tmdb);
+    idsToFind.put(MediaMetadata.TVDB, ids.tvdb);
     // not used atm
-    int tvrageId = MetadataUtil.unboxInteger(ids.tvrage);
-    if (tvrageId > 0 && tvrageId == tmmShow.getIdAsInt(MediaMetadata.TVRAGE)) {
-      return true;
-    }
+    idsToFind.put(MediaMetadata.TVRAGE, ids.tvrage);
 
-    return false;
+    return idIndex.find(idsToFind);
   }
 
   private boolean updateIDs(TvShow tmmShow, Show traktShow) {
@@ -572,7 +597,7 @@ class TraktTvTvShow {
     return dirty;
   }
 
-  private SyncShow toSyncShow(TvShow tmmShow, boolean watched, List<BaseShow> showsInTrakt) {
+  private SyncShow toSyncShow(TvShow tmmShow, boolean watched, BaseShow showInTrakt) {
     boolean hasId = false;
 
     ShowIds ids = new ShowIds();
@@ -652,17 +677,6 @@ class TraktTvTvShow {
     }
 
     // now do a match with the existing data to send a delta
-
-    // 1. search for the show
-    BaseShow showInTrakt = null;
-
-    for (BaseShow show : showsInTrakt) {
-      if (matches(tmmShow, show.show)) {
-        showInTrakt = show;
-        break;
-      }
-    }
-
     if (showInTrakt == null) {
       // not yet in trakt.tv -> full sync possible
       return new SyncShow().id(ids).seasons(syncSeasons);
@@ -716,7 +730,7 @@ class TraktTvTvShow {
     return false;
   }
 
-  private SyncShow toSyncShow(TvShow tmmShow, List<RatedShow> showsInTrakt, List<RatedEpisode> episodesInTrakt) {
+  private SyncShow toSyncShow(TvShow tmmShow, List<RatedEpisode> episodesInTrakt) {
     boolean hasId = false;
 
     ShowIds ids = new ShowIds();
@@ -777,7 +791,7 @@ class TraktTvTvShow {
     // now do a match with the existing data to send a delta
     Map<String, RatedEpisode> episodesForShow = new HashMap<>();
     for (RatedEpisode ratedEpisode : episodesInTrakt) {
-      if (ratedEpisode.episode != null && matches(tmmShow, ratedEpisode.show)) {
+      if (ratedEpisode.episode != null) {
         String key = "S" + ratedEpisode.episode.season + "E" + ratedEpisode.episode.number;
         episodesForShow.put(key, ratedEpisode);
       }
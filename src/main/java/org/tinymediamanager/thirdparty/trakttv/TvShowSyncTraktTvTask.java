@@ -70,11 +70,13 @@ public class TvShowSyncTraktTvTask extends TmmTask {
     }
 
     TraktTv traktTV = TraktTv.getInstance();
+    // the last activities are fetched only once for all steps of this sync
+    TraktTvLastActivities lastActivities = new TraktTvLastActivities();
 
     if (syncCollection) {
       publishState(TmmResourceBundle.getString("trakt.sync.tvshow"), 0);
       try {
-        traktTV.syncTraktTvShowCollection(tvShows);
+        traktTV.syncTraktTvShowCollection(tvShows, lastActivities);
       }
       catch (Exception e) {
         LOGGER.error("Could not sync to trakt - '{}'", e.getMessage());
@@ -84,7 +86,7 @@ public class TvShowSyncTraktTvTask extends TmmTask {
     if (syncWatched) {
       publishState(TmmResourceBundle.getString("trakt.sync.tvshowwatched"), 0);
       try {
-        traktTV.syncTraktTvShowWatched(tvShows);
+        traktTV.syncTraktTvShowWatched(tvShows, lastActivities);
       }
       catch (Exception e) {
         LOGGER.error("Could not sync to trakt - '{}'", e.getMessage());
@@ -94,7 +96,7 @@ public class TvShowSyncTraktTvTask extends TmmTask {
     if (syncRating) {
       publishState(TmmResourceBundle.getString("trakt.sync.tvshowrating"), 0);
       try {
-        traktTV.syncTraktTvShowRating(tvShows);
+        traktTV.syncTraktTvShowRating(tvShows, lastActivities);
       }
       catch (Exception e) {
         LOGGER.error("Could not sync to trakt - '{}'", e.getMessage());
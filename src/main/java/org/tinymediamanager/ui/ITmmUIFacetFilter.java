@@ -0,0 +1,55 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.ui;
+
+import java.util.Collection;
+
+import org.tinymediamanager.core.FacetIndex;
+
+/**
+ * The interface ITmmUIFacetFilter is used for UI filters which can be answered by a {@link FacetIndex}. Such a filter accepts an entity if the
+ * entity has <b>any</b> of the selected facet values
+ *
+ * @param <T>
+ *          the type of the indexed entity
+ *
+ * @author Manuel Laggner
+ */
+public interface ITmmUIFacetFilter<T> {
+
+  /**
+   * get the id of this filter. Used as id of the facet too
+   *
+   * @return the id of this filter
+   */
+  String getId();
+
+  /**
+   * extract all facet values of the given entity. Must only depend on the entity itself (and not on the filter state)
+   *
+   * @param entity
+   *          the entity to extract the values from
+   * @return a {@link Collection} of all values of this entity
+   */
+  Collection<?> getFacetValues(T entity);
+
+  /**
+   * get all selected facet values. Use {@link FacetIndex#EMPTY} to select entities without any value
+   *
+   * @return a {@link Collection} of all selected values
+   */
+  Collection<?> getSelectedFacetValues();
+}
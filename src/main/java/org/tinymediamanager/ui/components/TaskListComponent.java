@@ -16,6 +16,8 @@
 package org.tinymediamanager.ui.components;
 
 import java.awt.Font;
+import java.text.MessageFormat;
+import java.util.Locale;
 
 import javax.swing.JButton;
 import javax.swing.JLabel;
@@ -25,8 +27,12 @@ import javax.swing.JSeparator;
 
 import org.apache.commons.lang3.StringUtils;
 import org.tinymediamanager.core.TmmResourceBundle;
+import org.tinymediamanager.core.threading.TmmScheduler;
+import org.tinymediamanager.core.threading.TmmScheduler.QueueState;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
 import org.tinymediamanager.core.threading.TmmTaskHandle;
 import org.tinymediamanager.core.threading.TmmTaskHandle.TaskState;
+import org.tinymediamanager.core.threading.TmmThreadPool;
 import org.tinymediamanager.ui.IconManager;
 import org.tinymediamanager.ui.TmmFontHelper;
 
@@ -42,6 +48,7 @@ public class TaskListComponent extends JPanel {
 
   private JLabel        mainLabel;
   private JLabel        dynaLabel;
+  private JLabel        schedulerLabel;
   private JProgressBar  bar;
   private JButton       closeButton;
 
@@ -50,12 +57,15 @@ public class TaskListComponent extends JPanel {
   }
 
   private void initComponents() {
-    setLayout(new MigLayout("", "[100lp:300lp,grow][]", "[][][][]"));
+    setLayout(new MigLayout("", "[100lp:300lp,grow][]", "[][][][][]"));
     setOpaque(false);
 
     mainLabel = new JLabel();
     TmmFontHelper.changeFont(mainLabel, 1.167, Font.BOLD);
     dynaLabel = new JLabel();
+    schedulerLabel = new JLabel();
+    TmmFontHelper.changeFont(schedulerLabel, 0.833);
+    schedulerLabel.setVisible(false);
 
     bar = new JProgressBar();
 
@@ -66,9 +76,10 @@ public class TaskListComponent extends JPanel {
     add(bar, "cell 0 1,growx");
     add(closeButton, "cell 1 1");
     add(dynaLabel, "cell 0 2,wmin 0");
+    add(schedulerLabel, "cell 0 3,wmin 0,hidemode 3");
 
     JSeparator separator = new JSeparator();
-    add(separator, "cell 0 3 2 1,growx");
+    add(separator, "cell 0 4 2 1,growx");
   }
 
   public TaskListComponent(String staticText) {
@@ -136,6 +147,32 @@ public class TaskListComponent extends JPanel {
     else {
       bar.setIndeterminate(true);
     }
+
+    // show the share of this task in the queues of the scheduler
+    if (taskHandle instanceof TmmThreadPool pool && taskHandle.getState() == TaskState.STARTED) {
+      schedulerLabel.setText(MessageFormat.format(TmmResourceBundle.getString("task.scheduler.state"),
+          pool.getResourceClass().name().toLowerCase(Locale.ROOT), pool.getPriority().name().toLowerCase(Locale.ROOT), pool.getRunningJobs(),
+          pool.getQueuedJobs()));
+      schedulerLabel.setToolTipText(getQueueStates(pool.getResourceClass()));
+      schedulerLabel.setVisible(true);
+    }
+    else {
+      schedulerLabel.setVisible(false);
+    }
+  }
+
+  /**
+   * the state of all queues of the scheduler for the given resource class (e.g. every disk) - shared by all tasks
+   */
+  private static String getQueueStates(ResourceClass resourceClass) {
+    StringBuilder sb = new StringBuilder("<html>");
+    for (QueueState state : TmmScheduler.getInstance().getQueueStates()) {
+      if (state.resourceClass() == resourceClass) {
+        sb.append(MessageFormat.format(TmmResourceBundle.getString("task.scheduler.queue"), state.name(), state.running(), state.budget(),
+            state.queued())).append("<br>");
+      }
+    }
+    return sb.append("</html>").toString();
   }
 
   public TmmTaskHandle getHandle() {
@@ -16,6 +16,7 @@
 package org.tinymediamanager.ui.components.tree;
 
 import java.beans.PropertyChangeListener;
+import java.util.function.Predicate;
 
 /**
  * The interface TmmTreeFilter is used for creating tree filters for the TmmTree
@@ -50,6 +51,16 @@ public interface ITmmTreeFilter<E extends TmmTreeNode> {
    */
   boolean accept(E object);
 
+  /**
+   * create a snapshot of the current filter state. This is called on the EDT right before the tree is being filtered - filters which read their
+   * state from Swing components must capture it here, because the returned {@link Predicate} may be evaluated in other (and parallel) threads
+   *
+   * @return a {@link Predicate} accepting the same objects as this filter with its current state
+   */
+  default Predicate<E> createSnapshot() {
+    return this::accept;
+  }
+
   /**
    * Adds the property change listener.
    *
@@ -15,6 +15,7 @@
  */
 package org.tinymediamanager.ui.components.tree;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -23,6 +24,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
 
 import org.tinymediamanager.core.AbstractModelObject;
 
@@ -69,6 +71,47 @@ public abstract class TmmTreeDataProvider<E extends TmmTreeNode> extends Abstrac
     }
   }
 
+  /**
+   * check whether the given node is accepted by all set tree filters
+   *
+   * @param node
+   *          the node to check
+   * @return true if the node is accepted by all filters; false otherwise
+   */
+  public boolean accept(E node) {
+    for (ITmmTreeFilter<E> filter : treeFilters) {
+      if (!filter.accept(node)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * create a snapshot of all active tree filters (see {@link ITmmTreeFilter#createSnapshot()}). Must be called on the EDT; the returned
+   * {@link Predicate} can be evaluated in any thread afterwards. Data providers may override this to answer (some of) the filters in a more
+   * efficient way (e.g. via a pre-calculated index)
+   *
+   * @return a {@link Predicate} accepting the nodes which are accepted by all set tree filters
+   */
+  public Predicate<E> createFilterSnapshot() {
+    List<Predicate<E>> snapshots = new ArrayList<>();
+    for (ITmmTreeFilter<E> filter : treeFilters) {
+      if (filter.isActive()) {
+        snapshots.add(filter.createSnapshot());
+      }
+    }
+
+    return node -> {
+      for (Predicate<E> snapshot : snapshots) {
+        if (!snapshot.test(node)) {
+          return false;
+        }
+      }
+      return true;
+    };
+  }
+
   /**
    * check whether the filters for this tree are active or not
    * 
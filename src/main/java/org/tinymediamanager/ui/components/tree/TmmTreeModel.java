@@ -23,11 +23,19 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.swing.SwingUtilities;
 import javax.swing.tree.DefaultTreeModel;
@@ -43,6 +51,16 @@ import javax.swing.tree.TreeNode;
  */
 public class TmmTreeModel<E extends TmmTreeNode> extends DefaultTreeModel {
   protected static final long            TIMER_DELAY               = 100L;
+  // calculate filtering and sorting in the background if there are more nodes than this
+  protected static final int             PARALLEL_THRESHOLD        = 1000;
+  // publish the results of a background calculation at least in this interval - even if newer calculations have been started meanwhile
+  protected static final long            MAX_PUBLISH_INTERVAL      = 1000L;
+  private static final ExecutorService   FILTER_EXECUTOR           = new ThreadPoolExecutor(0, 1, 5, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+      runnable -> {
+        Thread thread = new Thread(runnable, "tree-filter");
+        thread.setDaemon(true);
+        return thread;
+      });
 
   protected final TmmTreeDataProvider<E> dataProvider;
   protected final TmmTree<E>             tree;
@@ -57,6 +75,15 @@ public class TmmTreeModel<E extends TmmTreeNode> extends DefaultTreeModel {
   protected final Map<Object, List<E>>   rawNodeChildrenCache      = new HashMap<>();
   // cache for children nodes returned by data provider (parent ID -> list of filtered nodes).
   protected final Map<String, List<E>>   filteredNodeChildrenCache = new HashMap<>();
+  // cache for the filter result of every node (node ID -> accepted)
+  protected final Map<String, Boolean>   acceptedNodeCache         = new ConcurrentHashMap<>();
+  // invalidation stamps (node ID -> stamp) to detect outdated results of background calculations
+  protected final Map<String, Long>      nodeInvalidations         = new ConcurrentHashMap<>();
+  protected final AtomicLong             invalidationCounter       = new AtomicLong();
+  protected final AtomicLong             calculationGeneration     = new AtomicLong();
+  protected volatile long                fullInvalidation          = 0;
+  // start of the oldest calculation whose results have not been published yet (0 = nothing pending)
+  protected volatile long                pendingSince              = 0;
   // lock for accessing the cache
   protected final ReadWriteLock          readWriteLock             = new ReentrantReadWriteLock();
   // just don't do some UI tasks while the structure is changing
@@ -106,10 +133,8 @@ public class TmmTreeModel<E extends TmmTreeNode> extends DefaultTreeModel {
 
         TreeNode[] path = child.getPath();
         if (path != null && path.length > 1) {
-          readWriteLock.writeLock().lock();
-          TmmTreeNode parent = (TmmTreeNode) path[1];
-          filteredNodeChildrenCache.remove(parent.getId());
-          readWriteLock.writeLock().unlock();
+          // only the changed node, its subtree and its parents need to be filtered/sorted again
+          invalidateNode(child);
           updateSortingAndFiltering();
         }
       }
@@ -228,7 +253,72 @@ public class TmmTreeModel<E extends TmmTreeNode> extends DefaultTreeModel {
    * invalidate the filter cache
    */
   public void invalidateFilterCache() {
-    filteredNodeChildrenCache.clear();
+    readWriteLock.writeLock().lock();
+    try {
+      fullInvalidation = invalidationCounter.incrementAndGet();
+      filteredNodeChildrenCache.clear();
+      acceptedNodeCache.clear();
+      nodeInvalidations.clear();
+    }
+    finally {
+      readWriteLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * invalidate the filter cache for the given node: the filter result of the node itself, of all nodes in its subtree (their filter result may
+   * depend on their parents) and of all its parents (their filter result may depend on their children)
+   *
+   * @param node
+   *          the changed node
+   */
+  protected void invalidateNode(E node) {
+    long stamp = invalidationCounter.incrementAndGet();
+
+    readWriteLock.writeLock().lock();
+    try {
+      invalidateSubtree(node.getId(), stamp);
+      invalidatePath(node, stamp);
+    }
+    finally {
+      readWriteLock.writeLock().unlock();
+    }
+  }
+
+  private void invalidateSubtree(String nodeId, long stamp) {
+    acceptedNodeCache.remove(nodeId);
+    filteredNodeChildrenCache.remove(nodeId);
+    nodeInvalidations.put(nodeId, stamp);
+
+    List<E> children = rawNodeChildrenCache.get(nodeId);
+    if (children != null) {
+      for (E child : children) {
+        invalidateSubtree(child.getId(), stamp);
+      }
+    }
+  }
+
+  /**
+   * invalidate the given node and all its parents (must be called with the write lock held)
+   */
+  private void invalidatePath(E node, long stamp) {
+    for (TreeNode treeNode : node.getPath()) {
+      if (treeNode instanceof TmmTreeNode tmmTreeNode) {
+        acceptedNodeCache.remove(tmmTreeNode.getId());
+        filteredNodeChildrenCache.remove(tmmTreeNode.getId());
+        nodeInvalidations.put(tmmTreeNode.getId(), stamp);
+      }
+    }
+    acceptedNodeCache.remove(getRoot().getId());
+    filteredNodeChildrenCache.remove(getRoot().getId());
+    nodeInvalidations.put(getRoot().getId(), stamp);
+  }
+
+  /**
+   * check if the result for the given node (calculated at the given stamp) is still valid
+   */
+  private boolean isValid(String nodeId, long stamp) {
+    return fullInvalidation <= stamp && nodeInvalidations.getOrDefault(nodeId, 0L) <= stamp;
   }
 
   /**
@@ -245,35 +335,141 @@ public class TmmTreeModel<E extends TmmTreeNode> extends DefaultTreeModel {
     long now = System.currentTimeMillis();
 
     if (now > nextUpdateSortAndFilter) {
-      // Saving tree state to restore it right after children update
-      TmmTreeState treeState = null;
-      if (this.tree != null) {
-        treeState = tree.getTreeState();
-      }
+      nextUpdateSortAndFilter = now + TIMER_DELAY;
 
-      // Updating root node children
-      setAdjusting(true);
-      performFilteringAndSortingRecursively(parent);
+      calculateFilteringAndSorting(() -> {
+        // Saving tree state to restore it right after children update
+        TmmTreeState treeState = null;
+        if (this.tree != null) {
+          treeState = tree.getTreeState();
+        }
 
-      setAdjusting(false);
-      nodeStructureChanged(treeState);
+        // Updating root node children
+        setAdjusting(true);
+        performFilteringAndSortingRecursively(parent);
 
-      long end = System.currentTimeMillis();
+        setAdjusting(false);
+        nodeStructureChanged(treeState);
 
-      if ((end - now) < TIMER_DELAY) {
-        // logic has been run within the delay time
-        nextUpdateSortAndFilter = end + TIMER_DELAY;
-      }
-      else {
-        // logic was slower than the interval - increase the interval adaptively
-        nextUpdateSortAndFilter = end + (end - now) * 2;
-      }
+        // measure from the request - the background calculation counts too
+        long end = System.currentTimeMillis();
+
+        if ((end - now) < TIMER_DELAY) {
+          // logic has been run within the delay time
+          nextUpdateSortAndFilter = end + TIMER_DELAY;
+        }
+        else {
+          // logic was slower than the interval - increase the interval adaptively
+          nextUpdateSortAndFilter = end + (end - now) * 2;
+        }
+      });
     }
     else {
       startUpdateSortAndFilterTimer();
     }
   }
 
+  /**
+   * pre-calculate the filtered and sorted children of all nodes which are not cached (yet) and run the given publisher afterwards. The publisher
+   * is meant to update the node structure - which is cheap then, because all lists can be taken from the cache.<br />
+   * For big trees the calculation is done in the background (in parallel) and the publisher is invoked on the EDT afterwards; for small trees
+   * everything is done directly in the calling thread. A newer calculation discards the running one - unless there has not been any publish for
+   * {@link #MAX_PUBLISH_INTERVAL}, so a steady stream of changes cannot starve the UI
+   *
+   * @param publisher
+   *          the {@link Runnable} to update the node structure with the calculated results
+   */
+  protected void calculateFilteringAndSorting(Runnable publisher) {
+    final long generation = calculationGeneration.incrementAndGet();
+    final long stamp = invalidationCounter.get();
+    if (pendingSince == 0) {
+      pendingSince = System.currentTimeMillis();
+    }
+
+    // collect all parents with outdated children
+    final Map<String, List<E>> dirtyParents = new HashMap<>();
+    int nodeCount = 0;
+
+    // the filters read their state from Swing components - capture it here on the EDT
+    final Predicate<E> filter = createFilterSnapshot();
+
+    readWriteLock.readLock().lock();
+    try {
+      for (Map.Entry<Object, List<E>> entry : rawNodeChildrenCache.entrySet()) {
+        if (entry.getKey() instanceof String parentId && !filteredNodeChildrenCache.containsKey(parentId) && !entry.getValue().isEmpty()) {
+          dirtyParents.put(parentId, new ArrayList<>(entry.getValue()));
+          nodeCount += entry.getValue().size();
+        }
+      }
+    }
+    finally {
+      readWriteLock.readLock().unlock();
+    }
+
+    if (nodeCount < PARALLEL_THRESHOLD) {
+      // not worth to switch the thread
+      publish(publisher);
+      return;
+    }
+
+    FILTER_EXECUTOR.execute(() -> {
+      final Map<String, Boolean> acceptedNodes = new ConcurrentHashMap<>();
+      final Map<String, List<E>> filteredNodes = new ConcurrentHashMap<>();
+
+      try {
+        dirtyParents.entrySet().parallelStream().forEach(entry -> {
+          // a newer calculation has been started in the meantime - no need to finish this one
+          if (!isOutdated(generation)) {
+            filteredNodes.put(entry.getKey(), calculateFilterAndSort(entry.getValue(), filter, acceptedNodes));
+          }
+        });
+      }
+      catch (Exception e) {
+        // the underlying data may change while calculating - the remaining nodes will be calculated while publishing
+      }
+
+      SwingUtilities.invokeLater(() -> {
+        if (isOutdated(generation)) {
+          // the newer calculation will publish its results
+          return;
+        }
+
+        // take over all results which have not been invalidated in the meantime
+        readWriteLock.writeLock().lock();
+        try {
+          acceptedNodes.forEach((nodeId, accepted) -> {
+            if (isValid(nodeId, stamp)) {
+              acceptedNodeCache.put(nodeId, accepted);
+            }
+          });
+          filteredNodes.forEach((parentId, children) -> {
+            if (isValid(parentId, stamp)) {
+              filteredNodeChildrenCache.put(parentId, children);
+            }
+          });
+        }
+        finally {
+          readWriteLock.writeLock().unlock();
+        }
+
+        publish(publisher);
+      });
+    });
+  }
+
+  /**
+   * check if the calculation of the given generation has been replaced by a newer one and does not need to be published
+   */
+  private boolean isOutdated(long generation) {
+    long since = pendingSince;
+    return generation != calculationGeneration.get() && (since == 0 || System.currentTimeMillis() - since < MAX_PUBLISH_INTERVAL);
+  }
+
+  private void publish(Runnable publisher) {
+    pendingSince = 0;
+    publisher.run();
+  }
+
   protected void startUpdateSortAndFilterTimer() {
     // lazily update the node structure to prevent UI locking
     if (updateSortAndFilterTask != null) {
@@ -478,28 +674,48 @@ public class TmmTreeModel<E extends TmmTreeNode> extends DefaultTreeModel {
       return filteredNodes;
     }
 
-    // Filter children
-    final List<E> filteredAndSorted = new ArrayList<>();
+    // Filter and sort children
+    final List<E> filteredAndSorted = calculateFilterAndSort(children, createFilterSnapshot(), acceptedNodeCache);
 
-    if (hasActiveFilters()) {
-      final Set<ITmmTreeFilter<E>> filters = dataProvider.getTreeFilters();
+    // get cache
+    readWriteLock.writeLock().lock();
+    filteredNodeChildrenCache.put(parentNode.getId(), filteredAndSorted);
+    readWriteLock.writeLock().unlock();
 
-      // filter
-      for (final E element : children) {
-        // filter over all set filters
-        boolean accepted = true;
-        for (ITmmTreeFilter<E> filter : filters) {
-          if (!filter.accept(element)) {
-            accepted = false;
-          }
-        }
-        if (accepted) {
-          filteredAndSorted.add(element);
-        }
-      }
+    return filteredAndSorted;
+  }
+
+  /**
+   * create a snapshot of the active filters. Must be called on the EDT
+   *
+   * @return the {@link Predicate} for filtering the nodes or null if there is no active filter
+   */
+  protected Predicate<E> createFilterSnapshot() {
+    return hasActiveFilters() ? dataProvider.createFilterSnapshot() : null;
+  }
+
+  /**
+   * filter and sort the given children. The filter results are taken from the node cache or calculated and stored in the given map. Big lists are
+   * filtered in parallel, so this must not touch any Swing component
+   *
+   * @param children
+   *          a list of all children to filter/sort
+   * @param filter
+   *          the snapshot of the active filters (null if there is no active filter)
+   * @param acceptedNodes
+   *          the map to store newly calculated filter results in
+   * @return a list of all filtered/sorted children
+   */
+  protected List<E> calculateFilterAndSort(List<E> children, Predicate<E> filter, Map<String, Boolean> acceptedNodes) {
+    final List<E> filteredAndSorted;
+
+    if (filter != null) {
+      // filter over all set filters
+      Stream<E> stream = children.size() > PARALLEL_THRESHOLD ? children.parallelStream() : children.stream();
+      filteredAndSorted = stream.filter(element -> isAccepted(element, filter, acceptedNodes)).collect(Collectors.toCollection(ArrayList::new));
     }
     else {
-      filteredAndSorted.addAll(children);
+      filteredAndSorted = new ArrayList<>(children);
     }
 
     // sort
@@ -513,14 +729,18 @@ public class TmmTreeModel<E extends TmmTreeNode> extends DefaultTreeModel {
       }
     }
 
-    // get cache
-    readWriteLock.writeLock().lock();
-    filteredNodeChildrenCache.put(parentNode.getId(), filteredAndSorted);
-    readWriteLock.writeLock().unlock();
-
     return filteredAndSorted;
   }
 
+  private boolean isAccepted(E node, Predicate<E> filter, Map<String, Boolean> acceptedNodes) {
+    Boolean accepted = acceptedNodeCache.get(node.getId());
+    if (accepted == null) {
+      accepted = filter.test(node);
+      acceptedNodes.put(node.getId(), accepted);
+    }
+    return accepted;
+  }
+
   /**
    * Adds a single child node for the specified parent node
    * 
@@ -564,13 +784,8 @@ public class TmmTreeModel<E extends TmmTreeNode> extends DefaultTreeModel {
     cachedChildren.addAll(children);
     cacheNodes(children);
 
-    // force re-calculate of the whole subtree
-    for (Object obj : parent.getPath()) {
-      if (obj instanceof TmmTreeNode) {
-        filteredNodeChildrenCache.remove(((TmmTreeNode) obj).getId());
-      }
-    }
-    filteredNodeChildrenCache.remove(getRoot().getId());
+    // force re-calculate of the whole path
+    invalidatePath(parent, invalidationCounter.incrementAndGet());
 
     readWriteLock.writeLock().unlock();
 
@@ -615,13 +830,8 @@ public class TmmTreeModel<E extends TmmTreeNode> extends DefaultTreeModel {
       children.remove(node);
     }
 
-    // force re-calculate of the whole subtree
-    for (Object obj : parent.getPath()) {
-      if (obj instanceof TmmTreeNode) {
-        filteredNodeChildrenCache.remove(((TmmTreeNode) obj).getId());
-      }
-    }
-    filteredNodeChildrenCache.remove(getRoot().getId());
+    // force re-calculate of the whole path
+    invalidatePath(parent, invalidationCounter.incrementAndGet());
 
     readWriteLock.writeLock().unlock();
 
@@ -749,6 +959,10 @@ public class TmmTreeModel<E extends TmmTreeNode> extends DefaultTreeModel {
     // Clears node children cached state
     nodeCached.remove(node.getId());
 
+    // Clears the filter results
+    acceptedNodeCache.remove(node.getId());
+    filteredNodeChildrenCache.remove(node.getId());
+
     // Clears node raw children cache
     final List<E> children = rawNodeChildrenCache.remove(node.getId());
     readWriteLock.writeLock().unlock();
@@ -738,36 +738,42 @@ public class TmmTreeTable extends TmmTable {
       long now = System.currentTimeMillis();
 
       if (now > nextNodeStructureChanged) {
-        // store selected nodes
-        int[] selectedRows = getSelectedRows();
+        nextNodeStructureChanged = now + TIMER_DELAY;
 
-        setAdjusting(true);
+        // filter/sort (in the background for big trees) and publish the new structure in one step
+        calculateFilteringAndSorting(() -> {
+          // store selected nodes
+          int[] selectedRows = getSelectedRows();
 
-        // Updating root node children
-        boolean structureChanged = performFilteringAndSortingRecursively(getRoot());
-        if (structureChanged) {
-          nodeStructureChanged();
+          setAdjusting(true);
 
-          // Restoring tree state including all selections and expansions
-          clearSelection();
-          setAdjusting(false);
-          for (int row : selectedRows) {
-            getSelectionModel().addSelectionInterval(row, row);
+          // Updating root node children
+          boolean structureChanged = performFilteringAndSortingRecursively(getRoot());
+          if (structureChanged) {
+            nodeStructureChanged();
+
+            // Restoring tree state including all selections and expansions
+            clearSelection();
+            setAdjusting(false);
+            for (int row : selectedRows) {
+              getSelectionModel().addSelectionInterval(row, row);
+            }
           }
-        }
-        else {
-          setAdjusting(false);
-        }
-        long end = System.currentTimeMillis();
+          else {
+            setAdjusting(false);
+          }
+          // measure from the request - the background calculation counts too
+          long end = System.currentTimeMillis();
 
-        if ((end - now) < TIMER_DELAY) {
-          // logic has been run within the delay time
-          nextNodeStructureChanged = end + TIMER_DELAY;
-        }
-        else {
-          // logic was slower than the interval - increase the interval adaptively
-          nextNodeStructureChanged = end + (end - now) * 2;
-        }
+          if ((end - now) < TIMER_DELAY) {
+            // logic has been run within the delay time
+            nextNodeStructureChanged = end + TIMER_DELAY;
+          }
+          else {
+            // logic was slower than the interval - increase the interval adaptively
+            nextNodeStructureChanged = end + (end - now) * 2;
+          }
+        });
       }
       else {
         startUpdateSortAndFilterTimer();
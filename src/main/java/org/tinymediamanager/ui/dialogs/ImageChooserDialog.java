@@ -40,6 +40,8 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Future;
@@ -80,6 +82,7 @@ import org.tinymediamanager.core.TmmProperties;
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.Utils;
 import org.tinymediamanager.core.movie.MovieModuleManager;
+import org.tinymediamanager.core.threading.TmmThreadPool.TmmThreadFactory;
 import org.tinymediamanager.core.tvshow.TvShowModuleManager;
 import org.tinymediamanager.core.tvshow.entities.TvShowSeason;
 import org.tinymediamanager.scraper.ArtworkSearchAndScrapeOptions;
@@ -120,6 +123,9 @@ import net.miginfocom.swing.MigLayout;
 public class ImageChooserDialog extends TmmDialog {
   private static final Logger               LOGGER         = LoggerFactory.getLogger(ImageChooserDialog.class);
   private static final String               DIALOG_ID      = "imageChooser";
+  private static final int                  QUERY_TIMEOUT  = 30;
+  // shared by all dialogs: bounded to not flood the artwork hosters with parallel requests
+  private static final ThreadPoolExecutor   EXECUTOR       = createExecutor();
 
   private final Map<String, Object>         ids;
   private final MediaArtworkType            type;
@@ -158,6 +164,13 @@ public class ImageChooserDialog extends TmmDialog {
   private JButton                           btnUnMarkExtrafanart;
   private JLabel                            lblExtrafanartSelected;
 
+  private static ThreadPoolExecutor createExecutor() {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(10, 10, 2, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+        new TmmThreadFactory("image-chooser"));
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
   /**
    * Instantiates a new image chooser dialog.
    *
@@ -1185,9 +1198,12 @@ public class ImageChooserDialog extends TmmDialog {
   }
 
   private class DownloadTask extends SwingWorker<Void, DownloadChunk> {
-    private final Map<String, Object> ids;
-    private final List<MediaScraper>  artworkScrapers;
-    private boolean                   imagesFound = false;
+    private final Map<String, Object>         ids;
+    private final List<MediaScraper>          artworkScrapers;
+    private final List<Future<DownloadChunk>> futures     = new ArrayList<>();
+    private boolean                           imagesFound = false;
+    private int                               pending     = 0;
+    private boolean                           closed      = false;
 
     public DownloadTask(Map<String, Object> ids, List<MediaScraper> artworkScrapers) {
       this.ids = ids;
@@ -1209,174 +1225,236 @@ public class ImageChooserDialog extends TmmDialog {
         return null;
       }
 
-      // open a thread pool to parallel download the images
-      ThreadPoolExecutor pool = new ThreadPoolExecutor(5, 10, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
-      pool.allowCoreThreadTimeOut(true);
-      ExecutorCompletionService<DownloadChunk> service = new ExecutorCompletionService<>(pool);
+      CompletionService<DownloadChunk> service = new ExecutorCompletionService<>(EXECUTOR);
 
-      // get images from all artwork providers
+      // query all artwork providers at once; the previews of every provider are being downloaded as soon as it answers
+      List<Future<DownloadChunk>> providerFutures = new ArrayList<>();
       for (MediaScraper scraper : artworkScrapers) {
-        try {
-          IMediaArtworkProvider artworkProvider = (IMediaArtworkProvider) scraper.getMediaProvider();
-
-          ArtworkSearchAndScrapeOptions options = new ArtworkSearchAndScrapeOptions(mediaType);
-          if (mediaType == MediaType.MOVIE || mediaType == MediaType.MOVIE_SET) {
-            options.setLanguage(MovieModuleManager.getInstance().getSettings().getDefaultImageScraperLanguage());
-            options.setFanartSize(MovieModuleManager.getInstance().getSettings().getImageFanartSize());
-            options.setPosterSize(MovieModuleManager.getInstance().getSettings().getImagePosterSize());
-          }
-          else if (mediaType == MediaType.TV_SHOW || mediaType == MediaType.TV_EPISODE) {
-            options.setLanguage(TvShowModuleManager.getInstance().getSettings().getScraperLanguage());
-            options.setFanartSize(TvShowModuleManager.getInstance().getSettings().getImageFanartSize());
-            options.setPosterSize(TvShowModuleManager.getInstance().getSettings().getImagePosterSize());
-            options.setThumbSize(TvShowModuleManager.getInstance().getSettings().getImageThumbSize());
-          }
-          else {
-            continue;
-          }
+        ArtworkSearchAndScrapeOptions options = createOptions();
+        if (options == null) {
+          continue;
+        }
 
-          switch (type) {
-            case POSTER:
-              options.setArtworkType(MediaArtworkType.POSTER);
-              break;
+        Future<DownloadChunk> future = submit(service, () -> getArtwork(scraper, options, service));
+        if (future != null) {
+          providerFutures.add(future);
+        }
+      }
 
-            case BACKGROUND:
-              options.setArtworkType(BACKGROUND);
-              break;
+      long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(QUERY_TIMEOUT);
+      boolean timedOut = false;
 
-            case BANNER:
-              options.setArtworkType(MediaArtworkType.BANNER);
-              break;
+      try {
+        while (!providerFutures.isEmpty()) {
+          Future<DownloadChunk> future = service.poll(500, TimeUnit.MILLISECONDS);
+          if (future != null) {
+            try {
+              DownloadChunk dc = future.get();
+              if (dc != null && dc.image != null) {
+                publish(dc);
+                imagesFound = true;
+              }
+            }
+            catch (CancellationException e) {
+              // provider did not answer in time
+            }
+            catch (ExecutionException e) {
+              LOGGER.error("ThreadPool imageChooser: Error getting result! - {}", e.getMessage());
+            }
 
-            case SEASON_POSTER:
-              options.setArtworkType(MediaArtworkType.SEASON_POSTER);
+            if (finishDownload()) {
+              // all providers answered and all previews are downloaded
               break;
+            }
+          }
 
-            case SEASON_FANART:
-              options.setArtworkType(MediaArtworkType.SEASON_FANART);
-              break;
+          if (!timedOut && System.currentTimeMillis() > deadline) {
+            // do not wait any longer for slow providers - the previews of the other ones are still being processed
+            timedOut = true;
+            for (Future<DownloadChunk> providerFuture : providerFutures) {
+              if (providerFuture.cancel(true)) {
+                LOGGER.debug("artwork provider did not answer within {}s", QUERY_TIMEOUT);
+              }
+            }
+          }
+        }
+      }
+      catch (InterruptedException e) { // NOSONAR
+        // the dialog has been closed
+      }
+      finally {
+        cancelDownloads();
+      }
 
-            case SEASON_BANNER:
-              options.setArtworkType(MediaArtworkType.SEASON_BANNER);
-              break;
+      return null;
+    }
 
-            case SEASON_THUMB:
-              options.setArtworkType(MediaArtworkType.SEASON_THUMB);
-              break;
+    private ArtworkSearchAndScrapeOptions createOptions() {
+      ArtworkSearchAndScrapeOptions options = new ArtworkSearchAndScrapeOptions(mediaType);
+      if (mediaType == MediaType.MOVIE || mediaType == MediaType.MOVIE_SET) {
+        options.setLanguage(MovieModuleManager.getInstance().getSettings().getDefaultImageScraperLanguage());
+        options.setFanartSize(MovieModuleManager.getInstance().getSettings().getImageFanartSize());
+        options.setPosterSize(MovieModuleManager.getInstance().getSettings().getImagePosterSize());
+      }
+      else if (mediaType == MediaType.TV_SHOW || mediaType == MediaType.TV_EPISODE) {
+        options.setLanguage(TvShowModuleManager.getInstance().getSettings().getScraperLanguage());
+        options.setFanartSize(TvShowModuleManager.getInstance().getSettings().getImageFanartSize());
+        options.setPosterSize(TvShowModuleManager.getInstance().getSettings().getImagePosterSize());
+        options.setThumbSize(TvShowModuleManager.getInstance().getSettings().getImageThumbSize());
+      }
+      else {
+        return null;
+      }
 
-            case CLEARART:
-              options.setArtworkType(MediaArtworkType.CLEARART);
-              break;
+      switch (type) {
+        case POSTER:
+          options.setArtworkType(MediaArtworkType.POSTER);
+          break;
 
-            case DISC:
-              options.setArtworkType(MediaArtworkType.DISC);
-              break;
+        case BACKGROUND:
+          options.setArtworkType(BACKGROUND);
+          break;
 
-            case CLEARLOGO:
-            case LOGO:
-              options.setArtworkType(MediaArtworkType.CLEARLOGO);
-              break;
+        case BANNER:
+          options.setArtworkType(MediaArtworkType.BANNER);
+          break;
 
-            case CHARACTERART:
-              options.setArtworkType(MediaArtworkType.CHARACTERART);
-              break;
+        case SEASON_POSTER:
+          options.setArtworkType(MediaArtworkType.SEASON_POSTER);
+          break;
 
-            case KEYART:
-              options.setArtworkType(MediaArtworkType.KEYART);
-              break;
+        case SEASON_FANART:
+          options.setArtworkType(MediaArtworkType.SEASON_FANART);
+          break;
 
-            case THUMB:
-              options.setArtworkType(MediaArtworkType.THUMB);
-              break;
-          }
+        case SEASON_BANNER:
+          options.setArtworkType(MediaArtworkType.SEASON_BANNER);
+          break;
 
-          // populate ids
-          options.setIds(ids);
+        case SEASON_THUMB:
+          options.setArtworkType(MediaArtworkType.SEASON_THUMB);
+          break;
 
-          // get the artwork
-          List<MediaArtwork> artwork = artworkProvider.getArtwork(options);
-          if (artwork == null || artwork.isEmpty()) {
-            continue;
-          }
+        case CLEARART:
+          options.setArtworkType(MediaArtworkType.CLEARART);
+          break;
 
-          int season = MediaIdUtil.getIdAsIntOrDefault(ids, "tvShowSeason", -1);
+        case DISC:
+          options.setArtworkType(MediaArtworkType.DISC);
+          break;
 
-          // display all images
-          for (MediaArtwork art : artwork) {
-            if (isCancelled()) {
-              return null;
-            }
-            if (art.getPreviewUrl().isEmpty()) {
-              continue;
-            }
+        case CLEARLOGO:
+        case LOGO:
+          options.setArtworkType(MediaArtworkType.CLEARLOGO);
+          break;
 
-            // for seasons, just use the season related artwork
-            if (season > -1 && season != art.getSeason()) {
-              continue;
-            }
+        case CHARACTERART:
+          options.setArtworkType(MediaArtworkType.CHARACTERART);
+          break;
 
-            Callable<DownloadChunk> callable = () -> {
-              Url url = new Url(art.getPreviewUrl());
-              DownloadChunk chunk = new DownloadChunk();
-              chunk.artwork = art;
-              try {
-                chunk.image = ImageUtils.createImage(url.getBytesWithRetry(5));
-              }
-              catch (Exception e) {
-                // ignore, return empty chunk
-              }
-              return chunk;
-            };
+        case KEYART:
+          options.setArtworkType(MediaArtworkType.KEYART);
+          break;
 
-            service.submit(callable);
-          }
-        }
-        catch (MissingIdException e) {
-          LOGGER.debug("could not fetch artwork: {}", e.getIds());
-        }
-        catch (ScrapeException e) {
-          LOGGER.error("getArtwork", e);
+        case THUMB:
+          options.setArtworkType(MediaArtworkType.THUMB);
+          break;
+      }
+
+      // populate ids
+      options.setIds(ids);
+
+      return options;
+    }
+
+    /**
+     * get the artwork from the given provider and submit the download of all previews
+     */
+    private DownloadChunk getArtwork(MediaScraper scraper, ArtworkSearchAndScrapeOptions options, CompletionService<DownloadChunk> service) {
+      try {
+        IMediaArtworkProvider artworkProvider = (IMediaArtworkProvider) scraper.getMediaProvider();
+
+        // get the artwork
+        List<MediaArtwork> artwork = artworkProvider.getArtwork(options);
+        if (artwork == null || artwork.isEmpty()) {
+          return null;
         }
-        catch (Exception e) {
-          if (e instanceof InterruptedException || e instanceof InterruptedIOException) { // NOSONAR
-            // shutdown the pool
-            pool.getQueue().clear();
-            pool.shutdownNow();
 
+        int season = MediaIdUtil.getIdAsIntOrDefault(ids, "tvShowSeason", -1);
+
+        // display all images
+        for (MediaArtwork art : artwork) {
+          if (isCancelled() || Thread.currentThread().isInterrupted()) {
             return null;
           }
-          LOGGER.error("could not process artwork downloading - {}", e.getMessage());
-        }
-      } // end foreach scraper
-
-      // wait for all downloads to finish
-      pool.shutdown();
-      while (true) {
-        try {
-          final Future<DownloadChunk> future = service.poll(1, TimeUnit.SECONDS);
-          if (future != null) {
-            DownloadChunk dc = future.get();
-            if (dc.image != null) {
-              publish(dc);
-              imagesFound = true;
-            }
+          if (art.getPreviewUrl().isEmpty()) {
+            continue;
           }
-          else if (pool.isTerminated()) {
-            // no result got and the pool is terminated -> we're finished
-            break;
+
+          // for seasons, just use the season related artwork
+          if (season > -1 && season != art.getSeason()) {
+            continue;
           }
+
+          Callable<DownloadChunk> callable = () -> {
+            Url url = new Url(art.getPreviewUrl());
+            DownloadChunk chunk = new DownloadChunk();
+            chunk.artwork = art;
+            try {
+              chunk.image = ImageUtils.createImage(url.getBytesWithRetry(5));
+            }
+            catch (Exception e) {
+              // ignore, return empty chunk
+            }
+            return chunk;
+          };
+
+          submit(service, callable);
         }
-        catch (InterruptedException e) { // NOSONAR
-          return null;
-        }
-        catch (ExecutionException e) {
-          LOGGER.error("ThreadPool imageChooser: Error getting result! - {}", e.getMessage());
+      }
+      catch (MissingIdException e) {
+        LOGGER.debug("could not fetch artwork: {}", e.getIds());
+      }
+      catch (ScrapeException e) {
+        LOGGER.error("getArtwork", e);
+      }
+      catch (Exception e) {
+        if (!(e instanceof InterruptedException) && !(e instanceof InterruptedIOException)) { // NOSONAR
+          LOGGER.error("could not process artwork downloading - {}", e.getMessage());
         }
       }
 
       return null;
     }
 
+    private synchronized Future<DownloadChunk> submit(CompletionService<DownloadChunk> service, Callable<DownloadChunk> callable) {
+      if (closed) {
+        return null;
+      }
+
+      pending++;
+      Future<DownloadChunk> future = service.submit(callable);
+      futures.add(future);
+      return future;
+    }
+
+    private synchronized boolean finishDownload() {
+      pending--;
+      if (pending <= 0) {
+        closed = true;
+      }
+      return closed;
+    }
+
+    private synchronized void cancelDownloads() {
+      closed = true;
+      // the executor is shared - so we have to cancel our own downloads
+      for (Future<DownloadChunk> future : futures) {
+        future.cancel(true);
+      }
+      futures.clear();
+    }
+
     @Override
     protected void process(List<DownloadChunk> chunks) {
       for (DownloadChunk chunk : chunks) {
@@ -17,16 +17,21 @@ package org.tinymediamanager.ui.movies;
 
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.swing.SwingUtilities;
 
 import org.tinymediamanager.core.AbstractSettings;
+import org.tinymediamanager.core.FacetIndex;
 import org.tinymediamanager.core.movie.MovieModuleManager;
 import org.tinymediamanager.core.movie.entities.Movie;
+import org.tinymediamanager.ui.ITmmUIFacetFilter;
 import org.tinymediamanager.ui.ITmmUIFilter;
 import org.tinymediamanager.ui.movies.filters.IMovieUIFilter;
 
@@ -39,9 +44,17 @@ import ca.odell.glazedlists.matchers.Matcher;
  * @author Manuel Laggner
  */
 public class MovieMatcherEditor extends AbstractMatcherEditor<Movie> {
+  private static final ExecutorService FACET_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "facet-index");
+    thread.setDaemon(true);
+    return thread;
+  });
+
   private final Set<IMovieUIFilter>    filters;
   private final PropertyChangeListener filterChangeListener;
-  private boolean                      filtersActive = true;
+  private final FacetIndex<Movie>      facetIndex;
+  private final Set<String>            buildingFacets = new HashSet<>(); // EDT only
+  private boolean                      filtersActive  = true;
 
   /**
    * Instantiates a new movie matcher editor.
@@ -49,6 +62,7 @@ public class MovieMatcherEditor extends AbstractMatcherEditor<Movie> {
   public MovieMatcherEditor() {
     filters = new HashSet<>();
     filterChangeListener = evt -> updateFiltering();
+    facetIndex = MovieModuleManager.getInstance().getMovieList().getFacetIndex();
   }
 
   /**
@@ -57,9 +71,16 @@ public class MovieMatcherEditor extends AbstractMatcherEditor<Movie> {
    * @param filter
    *          the new filter to be added
    */
+  @SuppressWarnings("unchecked")
   public void addFilter(IMovieUIFilter filter) {
     filter.addPropertyChangeListener(filterChangeListener);
     filters.add(filter);
+
+    // filters which can be answered by the facet index get their own facet
+    if (filter instanceof ITmmUIFacetFilter<?> facetFilter && !facetIndex.hasFacet(filter.getId())) {
+      ITmmUIFacetFilter<Movie> movieFacetFilter = (ITmmUIFacetFilter<Movie>) facetFilter;
+      facetIndex.registerFacet(filter.getId(), movieFacetFilter::getFacetValues);
+    }
   }
 
   /**
@@ -121,16 +142,7 @@ public class MovieMatcherEditor extends AbstractMatcherEditor<Movie> {
    * re-filter the list
    */
   private void updateFiltering() {
-    SwingUtilities.invokeLater(() -> {
-      Matcher<Movie> matcher;
-      if (filtersActive) {
-        matcher = new MovieMatcher(new HashSet<>(filters));
-      }
-      else {
-        matcher = new MovieMatcher(Collections.emptySet());
-      }
-      fireChanged(matcher);
-    });
+    SwingUtilities.invokeLater(this::applyFiltering);
 
     if (MovieModuleManager.getInstance().getSettings().isStoreUiFilters()) {
       List<AbstractSettings.UIFilters> filterValues = new ArrayList<>();
@@ -150,6 +162,42 @@ public class MovieMatcherEditor extends AbstractMatcherEditor<Movie> {
     }
   }
 
+  /**
+   * create a new matcher for the current filters and apply it (EDT only)
+   */
+  private void applyFiltering() {
+    Matcher<Movie> matcher;
+    if (filtersActive) {
+      for (IMovieUIFilter filter : filters) {
+        if (filter.getFilterState() != ITmmUIFilter.FilterState.INACTIVE && facetIndex.hasFacet(filter.getId())
+            && !facetIndex.isFacetBuilt(filter.getId())) {
+          // building up the facet extracts the values of all movies - do that in the background and filter movie by movie meanwhile
+          buildFacet(filter.getId());
+        }
+      }
+      matcher = new MovieMatcher(new HashSet<>(filters), facetIndex);
+    }
+    else {
+      matcher = new MovieMatcher(Collections.emptySet(), facetIndex);
+    }
+    fireChanged(matcher);
+  }
+
+  private void buildFacet(String facetId) {
+    if (!buildingFacets.add(facetId)) {
+      return;
+    }
+
+    FACET_EXECUTOR.execute(() -> {
+      facetIndex.buildFacet(facetId);
+      SwingUtilities.invokeLater(() -> {
+        buildingFacets.remove(facetId);
+        // switch to the facet for the next filtering - the result of the filters does not change
+        applyFiltering();
+      });
+    });
+  }
+
   /**
    * get all filters
    * 
@@ -160,17 +208,69 @@ public class MovieMatcherEditor extends AbstractMatcherEditor<Movie> {
   }
 
   /*
-   * helper class for running all filters against the given movie
+   * helper class for running all filters against the given movie. All facet filters with a built up facet are pre-calculated via the facet index
+   * (bitset AND/OR); only the other filters need to be evaluated per movie
    */
   private static class MovieMatcher implements Matcher<Movie> {
     private final Set<IMovieUIFilter> filters;
+    private final Set<IMovieUIFilter> facetFilters;
+    private final FacetIndex<Movie>   facetIndex;
+    private final long                modificationStamp;
+    private BitSet                    facetMatches = null;
 
-    public MovieMatcher(Set<IMovieUIFilter> filters) {
-      this.filters = filters;
+    public MovieMatcher(Set<IMovieUIFilter> filters, FacetIndex<Movie> facetIndex) {
+      this.filters = new HashSet<>();
+      this.facetFilters = new HashSet<>();
+      this.facetIndex = facetIndex;
+
+      // take the stamp _before_ querying the index: every movie changed afterwards will be evaluated directly
+      this.modificationStamp = facetIndex.getModificationStamp();
+
+      for (IMovieUIFilter filter : filters) {
+        if (filter.getFilterState() == ITmmUIFilter.FilterState.INACTIVE) {
+          continue;
+        }
+
+        if (filter instanceof ITmmUIFacetFilter<?> facetFilter && facetIndex.isFacetBuilt(filter.getId())) {
+          BitSet bits = facetIndex.anyOf(filter.getId(), facetFilter.getSelectedFacetValues());
+
+          if (facetMatches == null) {
+            facetMatches = filter.getFilterState() == ITmmUIFilter.FilterState.ACTIVE ? bits : facetIndex.all();
+          }
+          else if (filter.getFilterState() == ITmmUIFilter.FilterState.ACTIVE) {
+            facetMatches.and(bits);
+          }
+
+          if (filter.getFilterState() == ITmmUIFilter.FilterState.ACTIVE_NEGATIVE) {
+            facetMatches.andNot(bits);
+          }
+
+          facetFilters.add(filter);
+        }
+        else {
+          this.filters.add(filter);
+        }
+      }
     }
 
     @Override
     public boolean matches(Movie movie) {
+      if (facetMatches != null) {
+        if (facetIndex.isModifiedSince(movie, modificationStamp)) {
+          // the pre-calculated result is not valid for this movie any more
+          if (!matches(movie, facetFilters)) {
+            return false;
+          }
+        }
+        else if (!facetMatches.get(facetIndex.getOrdinal(movie))) {
+          return false;
+        }
+      }
+
+      return matches(movie, filters);
+    }
+
+    private boolean matches(Movie movie, Set<IMovieUIFilter> filters) {
       for (IMovieUIFilter filter : filters) {
         switch (filter.getFilterState()) {
           case ACTIVE:
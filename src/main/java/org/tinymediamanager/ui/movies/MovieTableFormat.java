@@ -418,7 +418,7 @@ public class MovieTableFormat extends TmmTableFormat<Movie> {
      * audio codec and channels(hidden per default)
      */
     col = new Column(TmmResourceBundle.getString("metatag.audio"), "audio", movie -> {
-      List<MediaFile> videos = movie.getMediaFiles(MediaFileType.VIDEO);
+      List<MediaFile> videos = movie.getMediaFilesView(MediaFileType.VIDEO);
       if (!videos.isEmpty()) {
         MediaFile mediaFile = videos.get(0);
         if (StringUtils.isNotBlank(mediaFile.getAudioCodec())) {
@@ -15,19 +15,31 @@
  */
 package org.tinymediamanager.ui.movies;
 
+import static org.tinymediamanager.core.Constants.ORIGINAL_TITLE;
+import static org.tinymediamanager.core.Constants.SORT_TITLE;
+import static org.tinymediamanager.core.Constants.TITLE;
+import static org.tinymediamanager.core.Constants.TITLE_SORTABLE;
+
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
+import javax.swing.SwingUtilities;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import javax.swing.text.JTextComponent;
 
 import org.apache.commons.lang3.StringUtils;
+import org.tinymediamanager.core.FacetIndex;
+import org.tinymediamanager.core.TextSearchIndex;
 import org.tinymediamanager.core.jmte.JmteUtils;
 import org.tinymediamanager.core.movie.MovieModuleManager;
 import org.tinymediamanager.core.movie.MovieRenamer;
@@ -48,6 +60,7 @@ import ca.odell.glazedlists.matchers.Matcher;
 public class MovieTextMatcherEditor extends AbstractMatcherEditor<Movie> {
   private final MovieSettings  settings = MovieModuleManager.getInstance().getSettings();
   private final JTextComponent textComponent;
+  private final AtomicBoolean  building = new AtomicBoolean(false);
   private static final Engine  ENGINE   = MovieRenamer.createEngine();
 
   private String               normalizedFilterText;
@@ -77,7 +90,7 @@ public class MovieTextMatcherEditor extends AbstractMatcherEditor<Movie> {
     normalizedFilterText = StrgUtils.normalizeString(textComponent.getText());
     try {
       filterPattern = Pattern.compile(normalizedFilterText, Pattern.CASE_INSENSITIVE);
-      fireChanged(new MovieMatcher());
+      fireChanged(new MovieMatcher(normalizedFilterText));
     }
     catch (PatternSyntaxException ignore) {
       filterPattern = null;
@@ -88,12 +101,66 @@ public class MovieTextMatcherEditor extends AbstractMatcherEditor<Movie> {
    * helper class for running this filter against the given movie
    */
   private class MovieMatcher implements Matcher<Movie> {
+    private final FacetIndex<Movie> facetIndex;
+    private final long              modificationStamp;
+    private final BitSet            candidates;
+
+    private MovieMatcher(String searchTerm) {
+      TextSearchIndex<Movie> textSearchIndex = MovieModuleManager.getInstance().getMovieList().getTextSearchIndex();
+      facetIndex = textSearchIndex.getFacetIndex();
+
+      // the stamp must be taken before the candidates are calculated: every later change falls back to the full check
+      modificationStamp = facetIndex.getModificationStamp();
+
+      // the index can only answer literal searches in the title fields (no field:value search)
+      if (TextSearchIndex.isIndexable(searchTerm) && !searchTerm.contains(":")) {
+        List<String> fields = new ArrayList<>();
+        if (settings.getTitle()) {
+          fields.add(TITLE);
+        }
+        if (settings.getSortableTitle()) {
+          fields.add(TITLE_SORTABLE);
+        }
+        if (settings.getOriginalTitle()) {
+          fields.add(ORIGINAL_TITLE);
+        }
+        if (settings.getSortableOriginalTitle()) {
+          fields.add("originalTitleSortable");
+        }
+        if (settings.getSortTitle()) {
+          fields.add(SORT_TITLE);
+        }
+
+        if (textSearchIndex.isBuilt(fields)) {
+          candidates = textSearchIndex.getCandidates(searchTerm, fields);
+        }
+        else {
+          // build up the index in the background and filter again afterwards - check all movies meanwhile
+          candidates = null;
+          if (building.compareAndSet(false, true)) {
+            textSearchIndex.buildInBackground(fields, () -> {
+              building.set(false);
+              SwingUtilities.invokeLater(MovieTextMatcherEditor.this::refilter);
+            });
+          }
+        }
+      }
+      else {
+        candidates = null;
+      }
+    }
+
     @Override
     public boolean matches(Movie movie) {
       if (StringUtils.isBlank(normalizedFilterText) || filterPattern == null) {
         return true;
       }
 
+      // quick exit for all movies which cannot match (unless they have been changed since the candidates were calculated)
+      if (candidates != null && !facetIndex.isCandidate(candidates, movie, modificationStamp)) {
+        return false;
+      }
+
       if (settings.getTitle() && StringUtils.isNotBlank(movie.getTitle())) {
         java.util.regex.Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(movie.getTitle()));
         if (matcher.find()) {
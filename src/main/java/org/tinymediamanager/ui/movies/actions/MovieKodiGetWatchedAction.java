@@ -59,11 +59,12 @@ public class MovieKodiGetWatchedAction extends TmmAction {
               @Override
               protected void doInBackground() {
                 KodiRPC kodiRPC = KodiRPC.getInstance();
-                int i = 0;
 
-                for (Movie movie : selectedMovies) {
-                  kodiRPC.readWatchedState(movie);
-                  publishState(++i);
+                // send the calls in batches
+                for (int i = 0; i < selectedMovies.size(); i += KodiRPC.BATCH_SIZE) {
+                  List<Movie> batch = selectedMovies.subList(i, Math.min(selectedMovies.size(), i + KodiRPC.BATCH_SIZE));
+                  kodiRPC.readWatchedStateOfMovies(batch);
+                  publishState(i + batch.size());
                   if (cancel) {
                     return;
                   }
@@ -42,10 +42,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
-import javax.swing.AbstractAction;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
 import javax.swing.JLabel;
@@ -70,6 +70,7 @@ import org.tinymediamanager.core.MediaFileType;
 import org.tinymediamanager.core.Message;
 import org.tinymediamanager.core.Message.MessageLevel;
 import org.tinymediamanager.core.MessageManager;
+import org.tinymediamanager.core.MultiProviderSearch;
 import org.tinymediamanager.core.ScraperMetadataConfig;
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.entities.MediaFile;
@@ -101,7 +102,7 @@ import org.tinymediamanager.ui.components.NoBorderScrollPane;
 import org.tinymediamanager.ui.components.ReadOnlyTextArea;
 import org.tinymediamanager.ui.components.SquareIconButton;
 import org.tinymediamanager.ui.components.TmmLabel;
-import org.tinymediamanager.ui.components.combobox.MediaScraperComboBox;
+import org.tinymediamanager.ui.components.combobox.MediaScraperCheckComboBox;
 import org.tinymediamanager.ui.components.combobox.ScraperMetadataConfigCheckComboBox;
 import org.tinymediamanager.ui.components.table.TmmTable;
 import org.tinymediamanager.ui.components.table.TmmTableFormat;
@@ -137,7 +138,9 @@ public class MovieChooserDialog extends TmmDialog implements ActionListener {
   private final List<MediaScraper>                                             artworkScrapers;
   private final List<MediaScraper>                                             trailerScrapers;
 
-  private MediaScraper                                                         mediaScraper;
+  private final MultiProviderSearch                                            searchSession         = new MultiProviderSearch();
+  private final Map<MediaSearchResult, MovieChooserModel>                      chooserModels         = new IdentityHashMap<>();
+
   private SortedList<MovieChooserModel>                                        searchResultEventList = null;
   private EventList<Person>                                                    castMemberEventList   = null;
   private MovieChooserModel                                                    selectedResult        = null;
@@ -150,7 +153,7 @@ public class MovieChooserDialog extends TmmDialog implements ActionListener {
   /**
    * UI components
    */
-  private final MediaScraperComboBox                                           cbScraper;
+  private final MediaScraperCheckComboBox                                      cbScraper;
   private final TmmTable                                                       tableSearchResults;
   private final JLabel                                                         lblTitle;
   private final JTextArea                                                      taMovieDescription;
@@ -182,7 +185,6 @@ public class MovieChooserDialog extends TmmDialog implements ActionListener {
   public MovieChooserDialog(Movie movie, int queueIndex, int queueSize) {
     super(TmmResourceBundle.getString("moviechooser.search") + (queueSize > 1 ? " " + (queueIndex + 1) + "/" + queueSize : ""), "movieChooser");
     movieToScrape = movie;
-    mediaScraper = movieList.getDefaultMediaScraper();
     artworkScrapers = movieList.getDefaultArtworkScrapers();
     trailerScrapers = movieList.getDefaultTrailerScrapers();
 
@@ -236,12 +238,13 @@ public class MovieChooserDialog extends TmmDialog implements ActionListener {
         panelSearchField.add(lblScraper, "cell 0 0,alignx right");
       }
       {
-        cbScraper = new MediaScraperComboBox(movieList.getAvailableMediaScrapers());
+        cbScraper = new MediaScraperCheckComboBox(movieList.getAvailableMediaScrapers());
         MediaScraper defaultScraper = movieList.getDefaultMediaScraper();
         if (defaultScraper != null && defaultScraper.isEnabled()) {
-          cbScraper.setSelectedItem(defaultScraper);
+          cbScraper.setSelectedItems(Collections.singletonList(defaultScraper));
         }
-        cbScraper.setAction(new ChangeScraperAction());
+        // the results of already used scrapers are cached - only the newly selected scrapers will be queried
+        cbScraper.addSelectionChangedListener(index -> searchMovie(textFieldSearchString.getText(), false));
         panelSearchField.add(cbScraper, "cell 1 0,growx");
       }
       {
@@ -435,6 +438,11 @@ public class MovieChooserDialog extends TmmDialog implements ActionListener {
       }
 
       int index = tableSearchResults.convertRowIndexToModel(tableSearchResults.getSelectedRow());
+      if (index > -1 && index < searchResultEventList.size() && searchResultEventList.get(index) == selectedResult) {
+        // the selected result has just been moved (results of another scraper have been added)
+        return;
+      }
+
       castMemberEventList.clear();
       if (selectedResult != null) {
         selectedResult.removePropertyChangeListener(listener);
@@ -728,6 +736,34 @@ public class MovieChooserDialog extends TmmDialog implements ActionListener {
     SwingUtilities.invokeLater(activeSearchTask::execute);
   }
 
+  /**
+   * show the given results in the table. The table is updated incrementally to keep the selection (and already scraped results) while the results
+   * of the other scrapers are arriving
+   */
+  private void showSearchResults(List<MultiProviderSearch.Result> results, MediaLanguages language) {
+    List<MovieChooserModel> models = new ArrayList<>();
+    for (MultiProviderSearch.Result result : results) {
+      models.add(chooserModels.computeIfAbsent(result.result(),
+          key -> new MovieChooserModel(movieToScrape, result.scraper(), artworkScrapers, trailerScrapers, result.result(), language)));
+    }
+
+    searchResultEventList.retainAll(models);
+    for (MovieChooserModel model : models) {
+      if (!searchResultEventList.contains(model)) {
+        searchResultEventList.add(model);
+      }
+    }
+
+    if (searchResultEventList.isEmpty()) {
+      // display empty result
+      searchResultEventList.add(MovieChooserModel.emptyResult);
+    }
+
+    if (tableSearchResults.getSelectedRow() < 0) {
+      tableSearchResults.setRowSelectionInterval(0, 0); // select first row
+    }
+  }
+
   private void startProgressBar(final String description) {
     SwingUtilities.invokeLater(() -> {
       lblProgressAction.setText(description);
@@ -764,36 +800,36 @@ public class MovieChooserDialog extends TmmDialog implements ActionListener {
   /******************************************************************************
    * helper classes
    ******************************************************************************/
-  private class ChangeScraperAction extends AbstractAction {
-    @Override
-    public void actionPerformed(ActionEvent e) {
-      mediaScraper = (MediaScraper) cbScraper.getSelectedItem();
-      searchMovie(textFieldSearchString.getText(), false);
-    }
-  }
-
-  private class SearchTask extends SwingWorker<Void, Void> {
-    private final String            searchTerm;
-    private final Movie             movie;
-    private final boolean           withIds;
-    private final MediaLanguages    language;
+  private class SearchTask extends SwingWorker<Void, List<MultiProviderSearch.Result>> {
+    private final String                     searchTerm;
+    private final Movie                      movie;
+    private final boolean                    withIds;
+    private final MediaLanguages             language;
+    private final List<MediaScraper>         scrapers;
 
-    private List<MediaSearchResult> searchResult;
-    private Throwable               error  = null;
-    boolean                         cancel = false;
+    private List<MultiProviderSearch.Result> searchResult;
+    private Throwable                        error  = null;
+    boolean                                  cancel = false;
 
     private SearchTask(String searchTerm, Movie movie, boolean withIds) {
       this.searchTerm = searchTerm;
       this.movie = movie;
       this.withIds = withIds;
       this.language = (MediaLanguages) cbLanguage.getSelectedItem();
+      this.scrapers = cbScraper.getSelectedItems();
     }
 
     @Override
     public Void doInBackground() {
       startProgressBar(TmmResourceBundle.getString("chooser.searchingfor") + " " + searchTerm);
       try {
-        searchResult = movieList.searchMovie(searchTerm, movie.getYear(), withIds ? movie.getIds() : null, mediaScraper, language);
+        // show the results of the fastest scrapers while waiting for the others
+        searchResult = movieList.searchMovie(searchTerm, movie.getYear(), withIds ? movie.getIds() : null, scrapers, language, searchSession,
+            results -> publish(results));
+      }
+      catch (InterruptedException e) {
+        // cancelled
+        Thread.currentThread().interrupt();
       }
       catch (Exception e) {
         error = e;
@@ -801,6 +837,13 @@ public class MovieChooserDialog extends TmmDialog implements ActionListener {
       return null;
     }
 
+    @Override
+    protected void process(List<List<MultiProviderSearch.Result>> chunks) {
+      if (!cancel) {
+        showSearchResults(chunks.get(chunks.size() - 1), language);
+      }
+    }
+
     public void cancel() {
       cancel = true;
       super.cancel(true);
@@ -809,36 +852,19 @@ public class MovieChooserDialog extends TmmDialog implements ActionListener {
     @Override
     public void done() {
       stopProgressBar();
-      searchResultEventList.clear();
+      if (cancel) {
+        return;
+      }
 
       if (error != null) {
         // display empty result
+        searchResultEventList.clear();
         searchResultEventList.add(MovieChooserModel.emptyResult);
+        tableSearchResults.setRowSelectionInterval(0, 0);
         SwingUtilities.invokeLater(() -> lblError.setText(error.getMessage()));
       }
-      else if (!cancel) {
-        if (searchResult == null || searchResult.isEmpty()) {
-          // display empty result
-          searchResultEventList.add(MovieChooserModel.emptyResult);
-        }
-        else {
-          MediaScraper mpFromResult = null;
-          for (MediaSearchResult result : searchResult) {
-            if (mpFromResult == null) {
-              mpFromResult = movieList.getMediaScraperById(result.getProviderId());
-            }
-            if (mpFromResult == null) {
-              // still null? maybe we have a Kodi scraper here where the getProdiverId comes from the sub-scraper; take the scraper from the dropdown
-              mpFromResult = (MediaScraper) cbScraper.getSelectedItem();
-            }
-            searchResultEventList.add(new MovieChooserModel(movieToScrape, mpFromResult, artworkScrapers, trailerScrapers, result, language));
-            // get metadataProvider from searchresult
-          }
-        }
-      }
-
-      if (!searchResultEventList.isEmpty()) { // only one result
-        tableSearchResults.setRowSelectionInterval(0, 0); // select first row
+      else {
+        showSearchResults(searchResult != null ? searchResult : Collections.emptyList(), language);
       }
     }
   }
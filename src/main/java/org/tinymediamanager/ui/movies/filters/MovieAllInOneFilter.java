@@ -28,14 +28,19 @@ import static org.tinymediamanager.core.AbstractSettings.UniversalFilterFields.T
 import static org.tinymediamanager.core.AbstractSettings.UniversalFilterFields.TAGS;
 import static org.tinymediamanager.core.AbstractSettings.UniversalFilterFields.WRITER;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 
 import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
 
 import org.apache.commons.lang3.StringUtils;
 import org.tinymediamanager.core.AbstractSettings;
 import org.tinymediamanager.core.MediaFileType;
+import org.tinymediamanager.core.TextSearchIndex;
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.entities.MediaFile;
 import org.tinymediamanager.core.entities.Person;
@@ -53,11 +58,17 @@ import org.tinymediamanager.ui.components.TmmLabel;
  */
 public class MovieAllInOneFilter extends AbstractTextMovieUIFilter {
 
-  private final MovieSettings settings;
+  private final MovieSettings          settings;
+  private final TextSearchIndex<Movie> textSearchIndex;
+  private final AtomicBoolean          building   = new AtomicBoolean(false);
+
+  // the candidates from the text search index for the current filter text - replaced as a whole, since accept() runs in other threads too
+  private volatile Candidates          candidates = null;
 
   public MovieAllInOneFilter() {
     super();
     settings = MovieModuleManager.getInstance().getSettings();
+    textSearchIndex = MovieModuleManager.getInstance().getMovieList().getTextSearchIndex();
   }
 
   @Override
@@ -81,6 +92,11 @@ public class MovieAllInOneFilter extends AbstractTextMovieUIFilter {
 
     List<AbstractSettings.UniversalFilterFields> filterFields = settings.getUniversalFilterFields();
 
+    // quick exit for all movies which cannot match (unless they have been changed since the candidates were calculated)
+    if (!isCandidate(movie, filterFields)) {
+      return false;
+    }
+
     // note
     if (filterFields.contains(NOTE) && filterField(movie.getNote())) {
       return true;
@@ -88,7 +104,7 @@ public class MovieAllInOneFilter extends AbstractTextMovieUIFilter {
 
     // file name
     if (filterFields.contains(FILENAME)) {
-      for (MediaFile mediaFile : movie.getMediaFiles(MediaFileType.VIDEO)) {
+      for (MediaFile mediaFile : movie.getMediaFilesView(MediaFileType.VIDEO)) {
         if (filterField(mediaFile.getFilename())) {
           return true;
         }
@@ -132,8 +148,8 @@ public class MovieAllInOneFilter extends AbstractTextMovieUIFilter {
 
     // actors
     if (filterFields.contains(ACTOR)) {
-      for (Person cast : movie.getActors()) {
-        if (filterField(cast.getName())) {
+      for (String cast : movie.getPersonNames(Person.Type.ACTOR)) {
+        if (filterField(cast)) {
           return true;
         }
       }
@@ -141,8 +157,8 @@ public class MovieAllInOneFilter extends AbstractTextMovieUIFilter {
 
     // producers
     if (filterFields.contains(PRODUCER)) {
-      for (Person producer : movie.getProducers()) {
-        if (filterField(producer.getName())) {
+      for (String producer : movie.getPersonNames(Person.Type.PRODUCER)) {
+        if (filterField(producer)) {
           return true;
         }
       }
@@ -150,8 +166,8 @@ public class MovieAllInOneFilter extends AbstractTextMovieUIFilter {
 
     // director
     if (filterFields.contains(DIRECTOR)) {
-      for (Person director : movie.getDirectors()) {
-        if (filterField(director.getName())) {
+      for (String director : movie.getPersonNames(Person.Type.DIRECTOR)) {
+        if (filterField(director)) {
           return true;
         }
       }
@@ -159,8 +175,8 @@ public class MovieAllInOneFilter extends AbstractTextMovieUIFilter {
 
     // writer
     if (filterFields.contains(WRITER)) {
-      for (Person writer : movie.getWriters()) {
-        if (filterField(writer.getName())) {
+      for (String writer : movie.getPersonNames(Person.Type.WRITER)) {
+        if (filterField(writer)) {
           return true;
         }
       }
@@ -178,6 +194,55 @@ public class MovieAllInOneFilter extends AbstractTextMovieUIFilter {
     return false;
   }
 
+  private boolean isCandidate(Movie movie, List<AbstractSettings.UniversalFilterFields> filterFields) {
+    Candidates current = candidates;
+    if (current == null || !current.filterText().equals(normalizedFilterText) || !current.fields().equals(filterFields)) {
+      // no (matching) candidates - check the movie itself
+      return true;
+    }
+
+    return textSearchIndex.getFacetIndex().isCandidate(current.bits(), movie, current.modificationStamp());
+  }
+
+  @Override
+  protected void filterChanged() {
+    // the candidates must be ready before the filter change is being announced
+    updateCandidates(StrgUtils.normalizeString(textField.getText()));
+    super.filterChanged();
+  }
+
+  /**
+   * calculate the candidates for the current filter text (EDT). If the index of the filter fields has not been built up yet, this is done in the
+   * background and the filter is re-applied afterwards - all movies are checked meanwhile
+   */
+  private void updateCandidates(String filterText) {
+    candidates = null;
+
+    if (!TextSearchIndex.isIndexable(filterText)) {
+      return;
+    }
+
+    List<AbstractSettings.UniversalFilterFields> filterFields = new ArrayList<>(settings.getUniversalFilterFields());
+    List<String> fieldIds = new ArrayList<>();
+    for (AbstractSettings.UniversalFilterFields field : filterFields) {
+      fieldIds.add(field.name());
+    }
+
+    if (!textSearchIndex.isBuilt(fieldIds)) {
+      if (building.compareAndSet(false, true)) {
+        textSearchIndex.buildInBackground(fieldIds, () -> {
+          building.set(false);
+          SwingUtilities.invokeLater(this::filterChanged);
+        });
+      }
+      return;
+    }
+
+    // the stamp must be taken before the candidates are calculated: every later change falls back to the full check
+    long modificationStamp = textSearchIndex.getFacetIndex().getModificationStamp();
+    candidates = new Candidates(filterText, filterFields, textSearchIndex.getCandidates(filterText, fieldIds), modificationStamp);
+  }
+
   private boolean filterField(String textToFilter) {
     try {
       if (StringUtils.isNotBlank(textToFilter)) {
@@ -192,4 +257,7 @@ public class MovieAllInOneFilter extends AbstractTextMovieUIFilter {
     }
     return false;
   }
+
+  private record Candidates(String filterText, List<AbstractSettings.UniversalFilterFields> fields, BitSet bits, long modificationStamp) {
+  }
 }
@@ -20,9 +20,12 @@ import static org.tinymediamanager.core.MediaFileType.VIDEO;
 
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
 import javax.swing.JLabel;
 
@@ -32,6 +35,7 @@ import org.tinymediamanager.core.entities.MediaFile;
 import org.tinymediamanager.core.movie.MovieList;
 import org.tinymediamanager.core.movie.MovieModuleManager;
 import org.tinymediamanager.core.movie.entities.Movie;
+import org.tinymediamanager.ui.ITmmUIFacetFilter;
 import org.tinymediamanager.ui.components.TmmLabel;
 
 /**
@@ -39,7 +43,7 @@ import org.tinymediamanager.ui.components.TmmLabel;
  * 
  * @author Manuel Laggner
  */
-public class MovieAudioCodecFilter extends AbstractCheckComboBoxMovieUIFilter<String> {
+public class MovieAudioCodecFilter extends AbstractCheckComboBoxMovieUIFilter<String> implements ITmmUIFacetFilter<Movie> {
   private final MovieList movieList = MovieModuleManager.getInstance().getMovieList();
 
   public MovieAudioCodecFilter() {
@@ -71,6 +75,20 @@ public class MovieAudioCodecFilter extends AbstractCheckComboBoxMovieUIFilter<St
     return false;
   }
 
+  @Override
+  public Collection<?> getFacetValues(Movie movie) {
+    Set<String> audioCodecs = new HashSet<>();
+    for (MediaFile mf : movie.getMediaFiles(VIDEO, AUDIO)) {
+      audioCodecs.addAll(mf.getAudioCodecList());
+    }
+    return audioCodecs;
+  }
+
+  @Override
+  public Collection<?> getSelectedFacetValues() {
+    return checkComboBox.getSelectedItems();
+  }
+
   @Override
   protected JLabel createLabel() {
     return new TmmLabel(TmmResourceBundle.getString("metatag.audiocodec"));
@@ -72,7 +72,7 @@ public class MovieAudioLanguageFilter extends AbstractCheckComboBoxMovieUIFilter
   public boolean accept(Movie movie) {
 
     List<String> selectedItems = checkComboBox.getSelectedItems();
-    List<MediaFile> mediaFileList = movie.getMediaFiles(MediaFileType.VIDEO);
+    List<MediaFile> mediaFileList = movie.getMediaFilesView(MediaFileType.VIDEO);
 
     for (MediaFile mf : mediaFileList) {
       // check for explicit empty search
@@ -62,7 +62,7 @@ public class MovieAudioTitleFilter extends AbstractCheckComboBoxMovieUIFilter<St
   public boolean accept(Movie movie) {
 
     List<String> selectedItems = checkComboBox.getSelectedItems();
-    List<MediaFile> mediaFileList = movie.getMediaFiles(MediaFileType.VIDEO);
+    List<MediaFile> mediaFileList = movie.getMediaFilesView(MediaFileType.VIDEO);
 
     for (MediaFile mf : mediaFileList) {
       // check for explicit empty search
@@ -45,9 +45,9 @@ public class MovieCastFilter extends AbstractTextMovieUIFilter {
     }
     try {
       // director
-      for (Person director : movie.getDirectors()) {
-        if (StringUtils.isNotEmpty(director.getName())) {
-          Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(director.getName()));
+      for (String director : movie.getPersonNames(Person.Type.DIRECTOR)) {
+        if (StringUtils.isNotEmpty(director)) {
+          Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(director));
           if (matcher.find()) {
             return true;
           }
@@ -55,9 +55,9 @@ public class MovieCastFilter extends AbstractTextMovieUIFilter {
       }
 
       // writer
-      for (Person writer : movie.getWriters()) {
-        if (StringUtils.isNotEmpty(writer.getName())) {
-          Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(writer.getName()));
+      for (String writer : movie.getPersonNames(Person.Type.WRITER)) {
+        if (StringUtils.isNotEmpty(writer)) {
+          Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(writer));
           if (matcher.find()) {
             return true;
           }
@@ -65,9 +65,9 @@ public class MovieCastFilter extends AbstractTextMovieUIFilter {
       }
 
       // actors
-      for (Person cast : movie.getActors()) {
-        if (StringUtils.isNotEmpty(cast.getName())) {
-          Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(cast.getName()));
+      for (String cast : movie.getPersonNames(Person.Type.ACTOR)) {
+        if (StringUtils.isNotEmpty(cast)) {
+          Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(cast));
           if (matcher.find()) {
             return true;
           }
@@ -75,9 +75,9 @@ public class MovieCastFilter extends AbstractTextMovieUIFilter {
       }
 
       // producers
-      for (Person producer : movie.getProducers()) {
-        if (StringUtils.isNotEmpty(producer.getName())) {
-          Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(producer.getName()));
+      for (String producer : movie.getPersonNames(Person.Type.PRODUCER)) {
+        if (StringUtils.isNotEmpty(producer)) {
+          Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(producer));
           return matcher.find();
         }
       }
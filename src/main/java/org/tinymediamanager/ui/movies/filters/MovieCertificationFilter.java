@@ -17,6 +17,7 @@ package org.tinymediamanager.ui.movies.filters;
 
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
@@ -29,6 +30,7 @@ import org.tinymediamanager.core.movie.MovieList;
 import org.tinymediamanager.core.movie.MovieModuleManager;
 import org.tinymediamanager.core.movie.entities.Movie;
 import org.tinymediamanager.scraper.entities.MediaCertification;
+import org.tinymediamanager.ui.ITmmUIFacetFilter;
 import org.tinymediamanager.ui.components.TmmLabel;
 
 /**
@@ -36,7 +38,7 @@ import org.tinymediamanager.ui.components.TmmLabel;
  * 
  * @author Manuel Laggner
  */
-public class MovieCertificationFilter extends AbstractCheckComboBoxMovieUIFilter<MediaCertification> {
+public class MovieCertificationFilter extends AbstractCheckComboBoxMovieUIFilter<MediaCertification> implements ITmmUIFacetFilter<Movie> {
   private final MovieList movieList = MovieModuleManager.getInstance().getMovieList();
 
   public MovieCertificationFilter() {
@@ -58,6 +60,16 @@ public class MovieCertificationFilter extends AbstractCheckComboBoxMovieUIFilter
     return selectedItems.contains(movie.getCertification());
   }
 
+  @Override
+  public Collection<?> getFacetValues(Movie movie) {
+    return Collections.singletonList(movie.getCertification());
+  }
+
+  @Override
+  public Collection<?> getSelectedFacetValues() {
+    return checkComboBox.getSelectedItems();
+  }
+
   @Override
   protected JLabel createLabel() {
     return new TmmLabel(TmmResourceBundle.getString("metatag.certification"));
@@ -17,6 +17,8 @@ package org.tinymediamanager.ui.movies.filters;
 
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import javax.swing.JLabel;
@@ -26,6 +28,7 @@ import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.movie.MovieModuleManager;
 import org.tinymediamanager.core.movie.MovieSettings;
 import org.tinymediamanager.core.movie.entities.Movie;
+import org.tinymediamanager.ui.ITmmUIFacetFilter;
 import org.tinymediamanager.ui.components.TmmLabel;
 
 /**
@@ -33,7 +36,7 @@ import org.tinymediamanager.ui.components.TmmLabel;
  * 
  * @author Manuel Laggner
  */
-public class MovieDatasourceFilter extends AbstractCheckComboBoxMovieUIFilter<String> {
+public class MovieDatasourceFilter extends AbstractCheckComboBoxMovieUIFilter<String> implements ITmmUIFacetFilter<Movie> {
   private MovieSettings movieSettings = MovieModuleManager.getInstance().getSettings();
 
   public MovieDatasourceFilter() {
@@ -54,6 +57,16 @@ public class MovieDatasourceFilter extends AbstractCheckComboBoxMovieUIFilter<St
     return datasources.contains(movie.getDataSource());
   }
 
+  @Override
+  public Collection<?> getFacetValues(Movie movie) {
+    return Collections.singletonList(movie.getDataSource());
+  }
+
+  @Override
+  public Collection<?> getSelectedFacetValues() {
+    return checkComboBox.getSelectedItems();
+  }
+
   @Override
   protected JLabel createLabel() {
     return new TmmLabel(TmmResourceBundle.getString("metatag.datasource"));
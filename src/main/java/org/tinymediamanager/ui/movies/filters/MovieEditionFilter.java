@@ -16,6 +16,8 @@
 package org.tinymediamanager.ui.movies.filters;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
@@ -26,6 +28,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.movie.MovieEdition;
 import org.tinymediamanager.core.movie.entities.Movie;
+import org.tinymediamanager.ui.ITmmUIFacetFilter;
 import org.tinymediamanager.ui.components.TmmLabel;
 
 /**
@@ -33,7 +36,7 @@ import org.tinymediamanager.ui.components.TmmLabel;
  * 
  * @author Manuel Laggner
  */
-public class MovieEditionFilter extends AbstractCheckComboBoxMovieUIFilter<MovieEdition> {
+public class MovieEditionFilter extends AbstractCheckComboBoxMovieUIFilter<MovieEdition> implements ITmmUIFacetFilter<Movie> {
   private final MovieEdition.MovieEditionComparator comparator;
 
   public MovieEditionFilter() {
@@ -55,6 +58,16 @@ public class MovieEditionFilter extends AbstractCheckComboBoxMovieUIFilter<Movie
     return selectedItems.contains(movie.getEdition());
   }
 
+  @Override
+  public Collection<?> getFacetValues(Movie movie) {
+    return Collections.singletonList(movie.getEdition());
+  }
+
+  @Override
+  public Collection<?> getSelectedFacetValues() {
+    return checkComboBox.getSelectedItems();
+  }
+
   @Override
   protected JLabel createLabel() {
     return new TmmLabel(TmmResourceBundle.getString("metatag.edition"));
@@ -16,6 +16,8 @@
 package org.tinymediamanager.ui.movies.filters;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
@@ -24,11 +26,13 @@ import javax.swing.JLabel;
 import javax.swing.SwingUtilities;
 
 import org.tinymediamanager.core.Constants;
+import org.tinymediamanager.core.FacetIndex;
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.entities.MediaGenres;
 import org.tinymediamanager.core.movie.MovieList;
 import org.tinymediamanager.core.movie.MovieModuleManager;
 import org.tinymediamanager.core.movie.entities.Movie;
+import org.tinymediamanager.ui.ITmmUIFacetFilter;
 import org.tinymediamanager.ui.components.TmmLabel;
 
 /**
@@ -36,7 +40,7 @@ import org.tinymediamanager.ui.components.TmmLabel;
  * 
  * @author Manuel Laggner
  */
-public class MovieGenreFilter extends AbstractCheckComboBoxMovieUIFilter<MediaGenres> {
+public class MovieGenreFilter extends AbstractCheckComboBoxMovieUIFilter<MediaGenres> implements ITmmUIFacetFilter<Movie> {
   private final Comparator<MediaGenres> comparator;
   private final MovieList               movieList;
 
@@ -74,6 +78,22 @@ public class MovieGenreFilter extends AbstractCheckComboBoxMovieUIFilter<MediaGe
     return false;
   }
 
+  @Override
+  public Collection<?> getFacetValues(Movie movie) {
+    return movie.getGenres();
+  }
+
+  @Override
+  public Collection<?> getSelectedFacetValues() {
+    List<MediaGenres> selectedItems = checkComboBox.getSelectedItems();
+
+    // explicit empty search
+    if (selectedItems.isEmpty()) {
+      return Collections.singletonList(FacetIndex.EMPTY);
+    }
+    return selectedItems;
+  }
+
   @Override
   protected JLabel createLabel() {
     return new TmmLabel(TmmResourceBundle.getString("movieextendedsearch.genre"));
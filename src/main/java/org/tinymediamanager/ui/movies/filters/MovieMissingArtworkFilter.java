@@ -16,6 +16,7 @@
 package org.tinymediamanager.ui.movies.filters;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
@@ -27,6 +28,7 @@ import org.tinymediamanager.core.movie.MovieList;
 import org.tinymediamanager.core.movie.MovieModuleManager;
 import org.tinymediamanager.core.movie.MovieScraperMetadataConfig;
 import org.tinymediamanager.core.movie.entities.Movie;
+import org.tinymediamanager.ui.ITmmUIFacetFilter;
 import org.tinymediamanager.ui.components.TmmLabel;
 
 /**
@@ -34,9 +36,10 @@ import org.tinymediamanager.ui.components.TmmLabel;
  * 
  * @author Manuel Laggner
  */
-public class MovieMissingArtworkFilter extends AbstractCheckComboBoxMovieUIFilter<MovieMissingArtworkFilter.MetadataField> {
+public class MovieMissingArtworkFilter extends AbstractCheckComboBoxMovieUIFilter<MovieMissingArtworkFilter.MetadataField> implements ITmmUIFacetFilter<Movie> {
 
-  private final MovieList movieList;
+  private final MovieList                        movieList;
+  private final List<MovieScraperMetadataConfig> checkableFields = new ArrayList<>();
 
   public MovieMissingArtworkFilter() {
     super();
@@ -49,6 +52,7 @@ public class MovieMissingArtworkFilter extends AbstractCheckComboBoxMovieUIFilte
     for (MovieScraperMetadataConfig config : MovieScraperMetadataConfig.values()) {
       if (config.isArtwork()) {
         values.add(new MetadataField(config));
+        checkableFields.add(config);
       }
     }
     setValues(values);
@@ -83,6 +87,20 @@ public class MovieMissingArtworkFilter extends AbstractCheckComboBoxMovieUIFilte
     return !movieList.detectMissingFields(movie, values).isEmpty();
   }
 
+  @Override
+  public Collection<?> getFacetValues(Movie movie) {
+    return movieList.detectMissingFields(movie, checkableFields);
+  }
+
+  @Override
+  public Collection<?> getSelectedFacetValues() {
+    List<MovieScraperMetadataConfig> values = new ArrayList<>();
+    for (MetadataField metadataField : checkComboBox.getSelectedItems()) {
+      values.add(metadataField.config);
+    }
+    return values;
+  }
+
   @Override
   protected JLabel createLabel() {
     return new TmmLabel(TmmResourceBundle.getString("movieextendedsearch.missingartwork"));
@@ -15,6 +15,8 @@
  */
 package org.tinymediamanager.ui.movies.filters;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
@@ -25,11 +27,13 @@ import javax.swing.JLabel;
 import javax.swing.SwingUtilities;
 
 import org.tinymediamanager.core.Constants;
+import org.tinymediamanager.core.FacetIndex;
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.movie.MovieList;
 import org.tinymediamanager.core.movie.MovieModuleManager;
 import org.tinymediamanager.core.movie.entities.Movie;
 import org.tinymediamanager.scraper.util.ListUtils;
+import org.tinymediamanager.ui.ITmmUIFacetFilter;
 import org.tinymediamanager.ui.components.TmmLabel;
 import org.tinymediamanager.ui.components.table.TmmTableFormat;
 
@@ -38,7 +42,7 @@ import org.tinymediamanager.ui.components.table.TmmTableFormat;
  * 
  * @author Manuel Laggner
  */
-public class MovieTagFilter extends AbstractCheckComboBoxMovieUIFilter<String> {
+public class MovieTagFilter extends AbstractCheckComboBoxMovieUIFilter<String> implements ITmmUIFacetFilter<Movie> {
   private final Comparator<String> comparator;
   private final MovieList          movieList;
   private final Set<String>        oldTags;
@@ -77,6 +81,22 @@ public class MovieTagFilter extends AbstractCheckComboBoxMovieUIFilter<String> {
     return false;
   }
 
+  @Override
+  public Collection<?> getFacetValues(Movie movie) {
+    return movie.getTags();
+  }
+
+  @Override
+  public Collection<?> getSelectedFacetValues() {
+    List<String> tags = checkComboBox.getSelectedItems();
+
+    // explicit empty search
+    if (tags.isEmpty()) {
+      return Collections.singletonList(FacetIndex.EMPTY);
+    }
+    return tags;
+  }
+
   @Override
   protected JLabel createLabel() {
     return new TmmLabel(TmmResourceBundle.getString("movieextendedsearch.tag"));
@@ -17,6 +17,7 @@ package org.tinymediamanager.ui.movies.filters;
 
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
@@ -28,6 +29,7 @@ import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.movie.MovieList;
 import org.tinymediamanager.core.movie.MovieModuleManager;
 import org.tinymediamanager.core.movie.entities.Movie;
+import org.tinymediamanager.ui.ITmmUIFacetFilter;
 import org.tinymediamanager.ui.components.TmmLabel;
 
 /**
@@ -35,7 +37,7 @@ import org.tinymediamanager.ui.components.TmmLabel;
  * 
  * @author Manuel Laggner
  */
-public class MovieVideoCodecFilter extends AbstractCheckComboBoxMovieUIFilter<String> {
+public class MovieVideoCodecFilter extends AbstractCheckComboBoxMovieUIFilter<String> implements ITmmUIFacetFilter<Movie> {
   private final MovieList movieList = MovieModuleManager.getInstance().getMovieList();
 
   public MovieVideoCodecFilter() {
@@ -57,6 +59,16 @@ public class MovieVideoCodecFilter extends AbstractCheckComboBoxMovieUIFilter<St
     return selectedValues.contains(movie.getMediaInfoVideoCodec());
   }
 
+  @Override
+  public Collection<?> getFacetValues(Movie movie) {
+    return Collections.singletonList(movie.getMediaInfoVideoCodec());
+  }
+
+  @Override
+  public Collection<?> getSelectedFacetValues() {
+    return checkComboBox.getSelectedItems();
+  }
+
   @Override
   protected JLabel createLabel() {
     return new TmmLabel(TmmResourceBundle.getString("metatag.videocodec"));
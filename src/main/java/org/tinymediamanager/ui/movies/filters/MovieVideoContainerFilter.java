@@ -17,17 +17,20 @@ package org.tinymediamanager.ui.movies.filters;
 
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
 import javax.swing.JLabel;
 
+import org.apache.commons.lang3.StringUtils;
 import org.tinymediamanager.core.Constants;
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.movie.MovieList;
 import org.tinymediamanager.core.movie.MovieModuleManager;
 import org.tinymediamanager.core.movie.entities.Movie;
+import org.tinymediamanager.ui.ITmmUIFacetFilter;
 import org.tinymediamanager.ui.components.TmmLabel;
 
 /**
@@ -35,7 +38,7 @@ import org.tinymediamanager.ui.components.TmmLabel;
  * 
  * @author Manuel Laggner
  */
-public class MovieVideoContainerFilter extends AbstractCheckComboBoxMovieUIFilter<String> {
+public class MovieVideoContainerFilter extends AbstractCheckComboBoxMovieUIFilter<String> implements ITmmUIFacetFilter<Movie> {
   private final MovieList movieList = MovieModuleManager.getInstance().getMovieList();
 
   public MovieVideoContainerFilter() {
@@ -66,6 +69,21 @@ public class MovieVideoContainerFilter extends AbstractCheckComboBoxMovieUIFilte
     return false;
   }
 
+  @Override
+  public Collection<?> getFacetValues(Movie movie) {
+    // the container is compared case insensitive
+    return Collections.singletonList(StringUtils.lowerCase(movie.getMediaInfoContainerFormat(), Locale.ROOT));
+  }
+
+  @Override
+  public Collection<?> getSelectedFacetValues() {
+    List<String> selectedValues = new ArrayList<>();
+    for (String value : checkComboBox.getSelectedItems()) {
+      selectedValues.add(value.toLowerCase(Locale.ROOT));
+    }
+    return selectedValues;
+  }
+
   @Override
   protected JLabel createLabel() {
     return new TmmLabel(TmmResourceBundle.getString("metatag.container"));
@@ -52,7 +52,7 @@ public class MovieVideoExtrasFilter extends AbstractMovieUIFilter {
 
   @Override
   public boolean accept(Movie movie) {
-    return !movie.getMediaFiles(MediaFileType.EXTRA).isEmpty();
+    return !movie.getMediaFilesView(MediaFileType.EXTRA).isEmpty();
   }
 
   @Override
@@ -50,7 +50,7 @@ public class MovieVideoFilenameFilter extends AbstractTextMovieUIFilter {
     }
 
     try {
-      for (MediaFile mediaFile : movie.getMediaFiles(MediaFileType.VIDEO)) {
+      for (MediaFile mediaFile : movie.getMediaFilesView(MediaFileType.VIDEO)) {
         Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(mediaFile.getFilename()));
         if (matcher.find()) {
           return true;
@@ -73,6 +73,7 @@ public class MovieSettingsPanel extends JPanel {
   private JButton             btnPresetPlex;
   private JButton             btnPresetMediaPig;
   private JCheckBox           chckbxIncludeExternalAudioStreams;
+  private JCheckBox           chckbxDuplicateFingerprint;
   private JCheckBox           chckbxUseMediainfoMetadata;
 
   private JCheckBox           chckbxTraktSyncWatched;
@@ -192,7 +193,7 @@ public class MovieSettingsPanel extends JPanel {
     }
     {
       JPanel panelMisc = new JPanel();
-      panelMisc.setLayout(new MigLayout("hidemode 1, insets 0", "[20lp!][16lp!][grow]", "[][][][][][][]")); // 16lp ~ width of the
+      panelMisc.setLayout(new MigLayout("hidemode 1, insets 0", "[20lp!][16lp!][grow]", "[][][][][][][][]")); // 16lp ~ width of the
 
       JLabel lblMiscT = new TmmLabel(TmmResourceBundle.getString("Settings.misc"), H3);
       CollapsiblePanel collapsiblePanel = new CollapsiblePanel(panelMisc, lblMiscT, true);
@@ -220,6 +221,13 @@ public class MovieSettingsPanel extends JPanel {
 
         chckbxIncludeExternalAudioStreams = new JCheckBox(TmmResourceBundle.getString("Settings.includeexternalstreamsinnfo"));
         panelMisc.add(chckbxIncludeExternalAudioStreams, "cell 1 5 2 1");
+
+        chckbxDuplicateFingerprint = new JCheckBox(TmmResourceBundle.getString("Settings.duplicatefingerprint"));
+        panelMisc.add(chckbxDuplicateFingerprint, "cell 1 6 2 1");
+
+        JLabel lblDuplicateFingerprintHint = new JLabel(IconManager.HINT);
+        lblDuplicateFingerprintHint.setToolTipText(TmmResourceBundle.getString("Settings.duplicatefingerprint.hint"));
+        panelMisc.add(lblDuplicateFingerprintHint, "cell 1 6 2 1");
       }
     }
   }
@@ -320,5 +328,10 @@ public class MovieSettingsPanel extends JPanel {
     AutoBinding autoBinding = Bindings.createAutoBinding(UpdateStrategy.READ_WRITE, settings, movieSettingsBeanProperty, chckbxResetNewFlag,
         jCheckBoxBeanProperty);
     autoBinding.bind();
+    //
+    Property movieSettingsBeanProperty_19 = BeanProperty.create("duplicateFingerprintMode");
+    AutoBinding autoBinding_21 = Bindings.createAutoBinding(UpdateStrategy.READ_WRITE, settings, movieSettingsBeanProperty_19,
+        chckbxDuplicateFingerprint, jCheckBoxBeanProperty);
+    autoBinding_21.bind();
   }
 }
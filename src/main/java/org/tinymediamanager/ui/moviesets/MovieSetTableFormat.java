@@ -573,7 +573,7 @@ public class MovieSetTableFormat extends TmmTreeTableFormat<TmmTreeNode> {
     }
 
     if (userObject instanceof Movie movie) {
-      List<MediaFile> videos = movie.getMediaFiles(MediaFileType.VIDEO);
+      List<MediaFile> videos = movie.getMediaFilesView(MediaFileType.VIDEO);
       if (!videos.isEmpty()) {
         MediaFile mediaFile = videos.get(0);
         if (StringUtils.isNotBlank(mediaFile.getAudioCodec())) {
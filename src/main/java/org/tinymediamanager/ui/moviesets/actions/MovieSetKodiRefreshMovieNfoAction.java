@@ -60,20 +60,16 @@ public class MovieSetKodiRefreshMovieNfoAction extends TmmAction {
               @Override
               protected void doInBackground() {
                 KodiRPC kodiRPC = KodiRPC.getInstance();
-                int i = 0;
 
-                for (Movie movie : selectedMovies) {
-                  kodiRPC.refreshFromNfo(movie);
-                  publishState(++i);
+                // send the calls in batches; the new movieIds are taken from the notifications of Kodi
+                for (int i = 0; i < selectedMovies.size(); i += KodiRPC.BATCH_SIZE) {
+                  List<Movie> batch = selectedMovies.subList(i, Math.min(selectedMovies.size(), i + KodiRPC.BATCH_SIZE));
+                  kodiRPC.refreshMoviesFromNfo(batch);
+                  publishState(i + batch.size());
                   if (cancel) {
                     return;
                   }
                 }
-
-                // if we have updated at least one movie, we need to re-match the movies
-                if (progressDone > 0) {
-                  kodiRPC.updateMovieMappings();
-                }
               }
             });
   }
@@ -18,6 +18,7 @@ package org.tinymediamanager.ui.moviesets.filters;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import javax.swing.JComponent;
@@ -37,6 +38,9 @@ abstract class AbstractCheckComboBoxMovieSetUIFilter<E> extends AbstractMovieSet
 
   protected TmmCheckComboBox<E> checkComboBox;
 
+  // the selected items, captured on the EDT for filtering
+  private volatile List<E>      selectedItems = Collections.emptyList();
+
   @Override
   protected JComponent createFilterComponent() {
     checkComboBox = new TmmCheckComboBox<>();
@@ -82,6 +86,21 @@ abstract class AbstractCheckComboBoxMovieSetUIFilter<E> extends AbstractMovieSet
     checkComboBox.clearSelection();
   }
 
+  @Override
+  protected void captureFilterValues() {
+    selectedItems = Collections.unmodifiableList(new ArrayList<>(checkComboBox.getSelectedItems()));
+  }
+
+  /**
+   * get the items which have been selected in the {@link TmmCheckComboBox} when the filter values have been captured. This must be used for
+   * filtering instead of accessing the {@link TmmCheckComboBox} directly
+   *
+   * @return the selected items
+   */
+  protected List<E> getSelectedItems() {
+    return selectedItems;
+  }
+
   /**
    * set the given values into the {@link TmmCheckComboBox}
    *
@@ -18,6 +18,7 @@ package org.tinymediamanager.ui.moviesets.filters;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Predicate;
 
 import javax.swing.SwingUtilities;
 
@@ -45,10 +46,23 @@ abstract class AbstractMovieSetUIFilter extends AbstractTmmUIFilter<TmmTreeNode>
     }
   }
 
+  @Override
+  public Predicate<TmmTreeNode> createSnapshot() {
+    // capture the state of the filter components here on the EDT - the snapshot is evaluated in other threads
+    FilterState filterState = getFilterState();
+    captureFilterValues();
+    return node -> accept(node, filterState);
+  }
+
   @Override
   public boolean accept(TmmTreeNode node) {
+    captureFilterValues();
+    return accept(node, getFilterState());
+  }
+
+  private boolean accept(TmmTreeNode node, FilterState filterState) {
     // is this filter active?
-    if (getFilterState() == FilterState.INACTIVE) {
+    if (filterState == FilterState.INACTIVE) {
       return true;
     }
 
@@ -56,10 +70,10 @@ abstract class AbstractMovieSetUIFilter extends AbstractTmmUIFilter<TmmTreeNode>
 
     if (userObject instanceof MovieSet) {
       MovieSet movieSet = (MovieSet) userObject;
-      if (getFilterState() == FilterState.ACTIVE) {
+      if (filterState == FilterState.ACTIVE) {
         return accept(movieSet, new ArrayList<>(movieSet.getMoviesForDisplay()));
       }
-      else if (getFilterState() == FilterState.ACTIVE_NEGATIVE) {
+      else if (filterState == FilterState.ACTIVE_NEGATIVE) {
         return !accept(movieSet, new ArrayList<>(movieSet.getMoviesForDisplay()));
       }
     }
@@ -71,10 +85,10 @@ abstract class AbstractMovieSetUIFilter extends AbstractTmmUIFilter<TmmTreeNode>
         return false;
       }
 
-      if (getFilterState() == FilterState.ACTIVE) {
+      if (filterState == FilterState.ACTIVE) {
         return accept(movie.getMovieSet(), Collections.singletonList(movie));
       }
-      else if (getFilterState() == FilterState.ACTIVE_NEGATIVE) {
+      else if (filterState == FilterState.ACTIVE_NEGATIVE) {
         return !accept(movie.getMovieSet(), Collections.singletonList(movie));
       }
     }
@@ -82,6 +96,14 @@ abstract class AbstractMovieSetUIFilter extends AbstractTmmUIFilter<TmmTreeNode>
     return true;
   }
 
+  /**
+   * capture the values of the filter components which are needed for filtering. This is called on the EDT before filtering; the captured values
+   * must not be changed afterwards but be replaced with new instances in the next call
+   */
+  protected void captureFilterValues() {
+    // nothing to capture
+  }
+
   /**
    * should we accept the node providing this data?
    * 
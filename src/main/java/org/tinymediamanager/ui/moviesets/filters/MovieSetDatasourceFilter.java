@@ -51,7 +51,7 @@ public class MovieSetDatasourceFilter extends AbstractCheckComboBoxMovieSetUIFil
 
   @Override
   public boolean accept(MovieSet movieSet, List<Movie> movies) {
-    List<String> datasources = checkComboBox.getSelectedItems();
+    List<String> datasources = getSelectedItems();
     for (Movie movie : movies) {
       if (datasources.contains(movie.getDataSource())) {
         return true;
@@ -60,6 +60,7 @@ import org.tinymediamanager.core.Settings;
 import org.tinymediamanager.core.TmmProperties;
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.Utils;
+import org.tinymediamanager.core.threading.VirtualThreads;
 import org.tinymediamanager.ui.TmmFontHelper;
 import org.tinymediamanager.ui.TmmUIHelper;
 import org.tinymediamanager.ui.components.CollapsiblePanel;
@@ -96,6 +97,7 @@ class SystemSettingsPanel extends JPanel {
   private JLabel               lblMemory;
   private JCheckBox            chckbxIgnoreSSLProblems;
   private JCheckBox            chckbxDisableD3d;
+  private JCheckBox            chckbxVirtualThreads;
   private JSpinner             spMaximumDownloadThreads;
   private JRadioButton         rdbtnFfmpegInternal;
   private JRadioButton         rdbtnFFmpegExternal;
@@ -340,7 +342,7 @@ class SystemSettingsPanel extends JPanel {
     }
     {
       JPanel panelMisc = new JPanel();
-      panelMisc.setLayout(new MigLayout("hidemode 1, insets 0", "[20lp!][16lp!][grow]", "[][][][][]")); // 16lp ~ width of the
+      panelMisc.setLayout(new MigLayout("hidemode 1, insets 0", "[20lp!][16lp!][grow]", "[][][][][][][]")); // 16lp ~ width of the
 
       JLabel lblMiscT = new TmmLabel(TmmResourceBundle.getString("Settings.misc"), H3);
       CollapsiblePanel collapsiblePanel = new CollapsiblePanel(panelMisc, lblMiscT, true);
@@ -373,6 +375,17 @@ class SystemSettingsPanel extends JPanel {
         tpD3dHint.setText(TmmResourceBundle.getString("Settings.disabled3d.desc"));
         TmmFontHelper.changeFont(tpD3dHint, L2);
         panelMisc.add(tpD3dHint, "cell 2 4,grow");
+
+        chckbxVirtualThreads = new JCheckBox(TmmResourceBundle.getString("Settings.virtualthreads"));
+        if (!VirtualThreads.isSupported()) {
+          chckbxVirtualThreads.setEnabled(false);
+        }
+        panelMisc.add(chckbxVirtualThreads, "cell 1 5 2 1");
+
+        JTextPane tpVirtualThreadsHint = new ReadOnlyTextPane();
+        tpVirtualThreadsHint.setText(TmmResourceBundle.getString("Settings.virtualthreads.desc"));
+        TmmFontHelper.changeFont(tpVirtualThreadsHint, L2);
+        panelMisc.add(tpVirtualThreadsHint, "cell 2 6,grow");
       }
     }
   }
@@ -504,6 +517,11 @@ class SystemSettingsPanel extends JPanel {
         jCheckBoxBeanProperty);
     autoBinding_4.bind();
     //
+    Property settingsBeanProperty_12 = BeanProperty.create("useVirtualThreads");
+    AutoBinding autoBinding_13 = Bindings.createAutoBinding(UpdateStrategy.READ_WRITE, settings, settingsBeanProperty_12, chckbxVirtualThreads,
+        jCheckBoxBeanProperty);
+    autoBinding_13.bind();
+    //
     Property settingsBeanProperty_5 = BeanProperty.create("maximumDownloadThreads");
     Property jSpinnerBeanProperty = BeanProperty.create("value");
     AutoBinding autoBinding_5 = Bindings.createAutoBinding(UpdateStrategy.READ_WRITE, settings, settingsBeanProperty_5, spMaximumDownloadThreads,
@@ -17,19 +17,33 @@ package org.tinymediamanager.ui.tvshows;
 
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+import javax.swing.SwingUtilities;
 
 import org.apache.commons.lang3.StringUtils;
 import org.tinymediamanager.core.Constants;
+import org.tinymediamanager.core.FacetIndex;
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.tvshow.TvShowList;
 import org.tinymediamanager.core.tvshow.TvShowModuleManager;
 import org.tinymediamanager.core.tvshow.entities.TvShow;
 import org.tinymediamanager.core.tvshow.entities.TvShowEpisode;
 import org.tinymediamanager.core.tvshow.entities.TvShowSeason;
+import org.tinymediamanager.ui.ITmmUIFacetFilter;
+import org.tinymediamanager.ui.ITmmUIFilter;
 import org.tinymediamanager.ui.components.table.TmmTableFormat;
+import org.tinymediamanager.ui.components.tree.ITmmTreeFilter;
 import org.tinymediamanager.ui.components.tree.TmmTreeDataProvider;
 import org.tinymediamanager.ui.components.tree.TmmTreeNode;
 import org.tinymediamanager.ui.components.treetable.ITmmTreeTableSortingStrategy;
@@ -41,16 +55,29 @@ import org.tinymediamanager.ui.components.treetable.TmmTreeTableFormat;
  * @author Manuel Laggner
  */
 public class TvShowTreeDataProvider extends TmmTreeDataProvider<TmmTreeNode> {
-  protected static final ResourceBundle         BUNDLE     = ResourceBundle.getBundle("messages");
-
-  private final TmmTreeTableFormat<TmmTreeNode> tableFormat;
-  private final TmmTreeNode                     root       = new TmmTreeNode(new Object(), this);
-
-  private final PropertyChangeListener          tvShowPropertyChangeListener;
-  private final PropertyChangeListener          seasonPropertyChangeListener;
-  private final PropertyChangeListener          episodePropertyChangeListener;
-
-  private final TvShowList                      tvShowList = TvShowModuleManager.getInstance().getTvShowList();
+  protected static final ResourceBundle          BUNDLE         = ResourceBundle.getBundle("messages");
+  private static final ExecutorService           FACET_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "facet-index");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final TmmTreeTableFormat<TmmTreeNode>  tableFormat;
+  private final TmmTreeNode                      root           = new TmmTreeNode(new Object(), this);
+
+  private final PropertyChangeListener           tvShowPropertyChangeListener;
+  private final PropertyChangeListener           seasonPropertyChangeListener;
+  private final PropertyChangeListener           episodePropertyChangeListener;
+
+  private final TvShowList                       tvShowList     = TvShowModuleManager.getInstance().getTvShowList();
+  private final FacetIndex<TvShow>               facetIndex     = tvShowList.getFacetIndex();
+
+  // the pre-calculated results of all filters which can be answered by the facet index
+  private final Set<ITmmTreeFilter<TmmTreeNode>> facetFilters   = new HashSet<>();
+  private final Set<ITmmTreeFilter<TmmTreeNode>> otherFilters   = new HashSet<>();
+  private final Set<String>                      buildingFacets = new HashSet<>(); // EDT only
+  private BitSet                                 facetMatches   = null;
+  private long                                   facetModificationStamp;
 
   public TvShowTreeDataProvider(TmmTreeTableFormat<TmmTreeNode> tableFormat) {
     this.tableFormat = tableFormat;
@@ -186,6 +213,153 @@ public class TvShowTreeDataProvider extends TmmTreeDataProvider<TmmTreeNode> {
     });
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public void setTreeFilters(Set<ITmmTreeFilter<TmmTreeNode>> treeFilters) {
+    super.setTreeFilters(treeFilters);
+
+    facetFilters.clear();
+    otherFilters.clear();
+    facetMatches = null;
+
+    // take the stamp _before_ querying the index: every TV show changed afterwards will be evaluated directly
+    facetModificationStamp = facetIndex.getModificationStamp();
+
+    for (ITmmTreeFilter<TmmTreeNode> filter : getTreeFilters()) {
+      if (filter instanceof ITmmUIFacetFilter<?> facetFilter && filter instanceof ITmmUIFilter<?> uiFilter
+          && uiFilter.getFilterState() != ITmmUIFilter.FilterState.INACTIVE) {
+        if (!facetIndex.hasFacet(filter.getId())) {
+          ITmmUIFacetFilter<TvShow> tvShowFacetFilter = (ITmmUIFacetFilter<TvShow>) facetFilter;
+          facetIndex.registerFacet(filter.getId(), tvShowFacetFilter::getFacetValues);
+        }
+
+        if (!facetIndex.isFacetBuilt(filter.getId())) {
+          // building up the facet extracts the values of all TV shows - do that in the background and filter node by node meanwhile
+          buildFacet(filter.getId());
+          otherFilters.add(filter);
+          continue;
+        }
+
+        facetMatches = applyFacet(facetIndex, facetMatches, filter.getId(), facetFilter.getSelectedFacetValues(), uiFilter.getFilterState());
+        facetFilters.add(filter);
+      }
+      else {
+        otherFilters.add(filter);
+      }
+    }
+  }
+
+  /**
+   * combine the pre-calculated matches with the result of the given facet filter
+   *
+   * @param facetIndex
+   *          the {@link FacetIndex} to query
+   * @param matches
+   *          the matches of the previous facet filters or null if there was no previous facet filter
+   * @param facetId
+   *          the id of the facet
+   * @param selectedValues
+   *          the selected values of the filter ({@link FacetIndex#EMPTY} only for an empty selection)
+   * @param filterState
+   *          the state of the filter
+   * @return the combined matches
+   */
+  static BitSet applyFacet(FacetIndex<?> facetIndex, BitSet matches, String facetId, Collection<?> selectedValues,
+      ITmmUIFilter.FilterState filterState) {
+    if (filterState == ITmmUIFilter.FilterState.ACTIVE) {
+      BitSet bits = facetIndex.anyOf(facetId, selectedValues);
+      if (matches == null) {
+        return bits;
+      }
+      matches.and(bits);
+      return matches;
+    }
+
+    if (matches == null) {
+      matches = facetIndex.all();
+    }
+
+    // a negative search with an empty selection does not exclude anything (just like the filter itself)
+    if (!selectedValues.isEmpty() && !selectedValues.equals(Collections.singletonList(FacetIndex.EMPTY))) {
+      matches.andNot(facetIndex.anyOf(facetId, selectedValues));
+    }
+    return matches;
+  }
+
+  private void buildFacet(String facetId) {
+    if (!buildingFacets.add(facetId)) {
+      return;
+    }
+
+    FACET_EXECUTOR.execute(() -> {
+      facetIndex.buildFacet(facetId);
+      SwingUtilities.invokeLater(() -> {
+        buildingFacets.remove(facetId);
+        // switch to the facet for the next filtering - the result of the filters does not change
+        setTreeFilters(new HashSet<>(getTreeFilters()));
+      });
+    });
+  }
+
+  @Override
+  public Predicate<TmmTreeNode> createFilterSnapshot() {
+    List<Predicate<TmmTreeNode>> facetSnapshots = new ArrayList<>();
+    for (ITmmTreeFilter<TmmTreeNode> filter : facetFilters) {
+      facetSnapshots.add(filter.createSnapshot());
+    }
+    List<Predicate<TmmTreeNode>> otherSnapshots = new ArrayList<>();
+    for (ITmmTreeFilter<TmmTreeNode> filter : otherFilters) {
+      if (filter.isActive()) {
+        otherSnapshots.add(filter.createSnapshot());
+      }
+    }
+
+    final BitSet matches = facetMatches;
+    final long modificationStamp = facetModificationStamp;
+
+    return node -> {
+      if (matches != null) {
+        TvShow tvShow = getTvShow(node);
+
+        if (tvShow == null || facetIndex.isModifiedSince(tvShow, modificationStamp)) {
+          // the pre-calculated result is not valid for this TV show any more
+          for (Predicate<TmmTreeNode> snapshot : facetSnapshots) {
+            if (!snapshot.test(node)) {
+              return false;
+            }
+          }
+        }
+        else if (!matches.get(facetIndex.getOrdinal(tvShow))) {
+          return false;
+        }
+      }
+
+      for (Predicate<TmmTreeNode> snapshot : otherSnapshots) {
+        if (!snapshot.test(node)) {
+          return false;
+        }
+      }
+
+      return true;
+    };
+  }
+
+  private TvShow getTvShow(TmmTreeNode node) {
+    Object userObject = node.getUserObject();
+
+    if (userObject instanceof TvShow tvShow) {
+      return tvShow;
+    }
+    else if (userObject instanceof TvShowSeason season) {
+      return season.getTvShow();
+    }
+    else if (userObject instanceof TvShowEpisode episode) {
+      return episode.getTvShow();
+    }
+
+    return null;
+  }
+
   /**
    * add the dummy episodes to the tree is the setting has been activated
    */
@@ -16,6 +16,8 @@
 package org.tinymediamanager.ui.tvshows.actions;
 
 import java.awt.event.ActionEvent;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.threading.TmmTask;
@@ -59,13 +61,14 @@ public class TvShowKodiGetWatchedAction extends TmmAction {
           @Override
           protected void doInBackground() {
             KodiRPC kodiRPC = KodiRPC.getInstance();
-            int i = 0;
+            List<TvShowEpisode> episodes = new ArrayList<>(selectedObjects.getEpisodesRecursive());
 
-            // get watched state
-            for (TvShowEpisode episode : selectedObjects.getEpisodesRecursive()) {
-              kodiRPC.readWatchedState(episode);
+            // get watched state (in batches)
+            for (int i = 0; i < episodes.size(); i += KodiRPC.BATCH_SIZE) {
+              List<TvShowEpisode> batch = episodes.subList(i, Math.min(episodes.size(), i + KodiRPC.BATCH_SIZE));
+              kodiRPC.readWatchedStateOfEpisodes(batch);
 
-              publishState(++i);
+              publishState(i + batch.size());
               if (cancel) {
                 return;
               }
@@ -17,9 +17,10 @@ package org.tinymediamanager.ui.tvshows.actions;
 
 import java.awt.event.ActionEvent;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.threading.TmmTask;
@@ -64,43 +65,34 @@ public class TvShowKodiRefreshNfoAction extends TmmAction {
           @Override
           protected void doInBackground() {
             KodiRPC kodiRPC = KodiRPC.getInstance();
-            int i = 0;
+            List<TvShow> tvShows = new ArrayList<>(selectedObjects.getTvShows());
 
             // cache of all processed DbIds (better than whole objects)
-            List<UUID> processed = new ArrayList<UUID>(selectedObjects.getEpisodesRecursive().size());
+            Set<UUID> processed = new HashSet<>();
 
-            // update show + all EPs
-            for (TvShow tvShow : selectedObjects.getTvShows()) {
-              kodiRPC.refreshFromNfo(tvShow);
-              processed.addAll(tvShow.getEpisodes().stream().map(ep -> ep.getDbId()).collect(Collectors.toList()));
-              publishState(++i);
+            // update show + all EPs (in batches; the new Kodi ids are taken from the notifications of Kodi)
+            for (int i = 0; i < tvShows.size(); i += KodiRPC.BATCH_SIZE) {
+              List<TvShow> batch = tvShows.subList(i, Math.min(tvShows.size(), i + KodiRPC.BATCH_SIZE));
+              kodiRPC.refreshTvShowsFromNfo(batch);
+              batch.forEach(tvShow -> tvShow.getEpisodes().forEach(ep -> processed.add(ep.getDbId())));
+              publishState(i + batch.size());
               if (cancel) {
                 return;
               }
             }
 
             // update single EP only, but not if we already had it via show...
-            for (TvShowEpisode episode : selectedObjects.getEpisodesRecursive()) {
-              if (!processed.contains(episode.getDbId())) {
-                kodiRPC.refreshFromNfo(episode);
-
-                publishState(++i);
-                if (cancel) {
-                  return;
-                }
-              }
-            }
-
-            // if we have updated at least one movie, we need to re-match the movies
-            if (progressDone > 0) {
-              try {
-                // need some time to propagate the new movieId
-                Thread.sleep(1000);
-              }
-              catch (InterruptedException e) {
-                // ignore
+            List<TvShowEpisode> episodes = selectedObjects.getEpisodesRecursive()
+                .stream()
+                .filter(episode -> !processed.contains(episode.getDbId()))
+                .toList();
+            for (int i = 0; i < episodes.size(); i += KodiRPC.BATCH_SIZE) {
+              List<TvShowEpisode> batch = episodes.subList(i, Math.min(episodes.size(), i + KodiRPC.BATCH_SIZE));
+              kodiRPC.refreshEpisodesFromNfo(batch);
+              publishState(tvShows.size() + i + batch.size());
+              if (cancel) {
+                return;
               }
-              kodiRPC.updateTvShowMappings();
             }
           }
         });
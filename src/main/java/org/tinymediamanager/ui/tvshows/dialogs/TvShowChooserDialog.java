@@ -44,11 +44,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
-import javax.swing.AbstractAction;
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
@@ -72,6 +72,7 @@ import org.tinymediamanager.core.MediaFileType;
 import org.tinymediamanager.core.Message;
 import org.tinymediamanager.core.Message.MessageLevel;
 import org.tinymediamanager.core.MessageManager;
+import org.tinymediamanager.core.MultiProviderSearch;
 import org.tinymediamanager.core.ScraperMetadataConfig;
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.entities.MediaRating;
@@ -109,7 +110,7 @@ import org.tinymediamanager.ui.components.NoBorderScrollPane;
 import org.tinymediamanager.ui.components.ReadOnlyTextArea;
 import org.tinymediamanager.ui.components.SquareIconButton;
 import org.tinymediamanager.ui.components.TmmLabel;
-import org.tinymediamanager.ui.components.combobox.MediaScraperComboBox;
+import org.tinymediamanager.ui.components.combobox.MediaScraperCheckComboBox;
 import org.tinymediamanager.ui.components.combobox.ScraperMetadataConfigCheckComboBox;
 import org.tinymediamanager.ui.components.table.TmmTable;
 import org.tinymediamanager.ui.components.table.TmmTableFormat;
@@ -141,11 +142,12 @@ public class TvShowChooserDialog extends TmmDialog implements ActionListener {
       .getTvShowList();
   private final List<MediaScraper>                                                     artworkScrapers;
   private final List<MediaScraper>                                                     trailerScrapers;
+  private final MultiProviderSearch                                                    searchSession         = new MultiProviderSearch();
+  private final Map<MediaSearchResult, TvShowChooserModel>                             chooserModels         = new IdentityHashMap<>();
 
   private TvShow                                                                       tvShowToScrape;
   private SortedList<TvShowChooserModel>                                               searchResultEventList = null;
   private TvShowChooserModel                                                           selectedResult        = null;
-  private MediaScraper                                                                 mediaScraper;
   private boolean                                                                      continueQueue         = true;
   private boolean                                                                      navigateBack          = false;
 
@@ -155,7 +157,7 @@ public class TvShowChooserDialog extends TmmDialog implements ActionListener {
    * UI components
    */
 
-  private final MediaScraperComboBox                                                   cbScraper;
+  private final MediaScraperCheckComboBox                                              cbScraper;
   private final JComboBox<MediaLanguages>                                              cbLanguage;
   private final TmmTable                                                               tableSearchResults;
   private final JLabel                                                                 lblTtitle;
@@ -189,7 +191,6 @@ public class TvShowChooserDialog extends TmmDialog implements ActionListener {
   public TvShowChooserDialog(TvShow tvShow, int queueIndex, int queueSize) {
     super(TmmResourceBundle.getString("tvshowchooser.search") + (queueSize > 1 ? " " + (queueIndex + 1) + "/" + queueSize : ""), "tvShowChooser");
 
-    mediaScraper = tvShowList.getDefaultMediaScraper();
     artworkScrapers = tvShowList.getDefaultArtworkScrapers();
     trailerScrapers = tvShowList.getDefaultTrailerScrapers();
 
@@ -233,12 +234,13 @@ public class TvShowChooserDialog extends TmmDialog implements ActionListener {
         panelSearchField.add(lblScraper, "cell 0 0,alignx right");
       }
       {
-        cbScraper = new MediaScraperComboBox(tvShowList.getAvailableMediaScrapers());
+        cbScraper = new MediaScraperCheckComboBox(tvShowList.getAvailableMediaScrapers());
         MediaScraper defaultScraper = tvShowList.getDefaultMediaScraper();
         if (defaultScraper != null && defaultScraper.isEnabled()) {
-          cbScraper.setSelectedItem(defaultScraper);
+          cbScraper.setSelectedItems(Collections.singletonList(defaultScraper));
         }
-        cbScraper.setAction(new ChangeScraperAction());
+        // the results of already used scrapers are cached - only the newly selected scrapers will be queried
+        cbScraper.addSelectionChangedListener(index -> searchTvShow(textFieldSearchString.getText(), false));
         panelSearchField.add(cbScraper, "cell 1 0,growx");
       }
       {
@@ -476,6 +478,11 @@ public class TvShowChooserDialog extends TmmDialog implements ActionListener {
       }
 
       int index = tableSearchResults.convertRowIndexToModel(tableSearchResults.getSelectedRow());
+      if (index > -1 && index < searchResultEventList.size() && searchResultEventList.get(index) == selectedResult) {
+        // the selected result has just been moved (results of another scraper have been added)
+        return;
+      }
+
       if (selectedResult != null) {
         selectedResult.removePropertyChangeListener(listener);
       }
@@ -857,6 +864,34 @@ public class TvShowChooserDialog extends TmmDialog implements ActionListener {
     SwingUtilities.invokeLater(activeSearchTask::execute);
   }
 
+  /**
+   * show the given results in the table. The table is updated incrementally to keep the selection (and already scraped results) while the results
+   * of the other scrapers are arriving
+   */
+  private void showSearchResults(List<MultiProviderSearch.Result> results, MediaLanguages language) {
+    List<TvShowChooserModel> models = new ArrayList<>();
+    for (MultiProviderSearch.Result result : results) {
+      models.add(chooserModels.computeIfAbsent(result.result(),
+          key -> new TvShowChooserModel(tvShowToScrape, result.scraper(), artworkScrapers, trailerScrapers, result.result(), language)));
+    }
+
+    searchResultEventList.retainAll(models);
+    for (TvShowChooserModel model : models) {
+      if (!searchResultEventList.contains(model)) {
+        searchResultEventList.add(model);
+      }
+    }
+
+    if (searchResultEventList.isEmpty()) {
+      // display empty result
+      searchResultEventList.add(TvShowChooserModel.emptyResult);
+    }
+
+    if (tableSearchResults.getSelectedRow() < 0) {
+      tableSearchResults.setRowSelectionInterval(0, 0); // select first row
+    }
+  }
+
   private void startProgressBar(final String description) {
     SwingUtilities.invokeLater(() -> {
       lblProgressAction.setText(description);
@@ -874,28 +909,36 @@ public class TvShowChooserDialog extends TmmDialog implements ActionListener {
     });
   }
 
-  private class SearchTask extends SwingWorker<Void, Void> {
-    private final String            searchTerm;
-    private final TvShow            show;
-    private final boolean           withIds;
-    private final MediaLanguages    language;
+  private class SearchTask extends SwingWorker<Void, List<MultiProviderSearch.Result>> {
+    private final String                     searchTerm;
+    private final TvShow                     show;
+    private final boolean                    withIds;
+    private final MediaLanguages             language;
+    private final List<MediaScraper>         scrapers;
 
-    private List<MediaSearchResult> searchResult;
-    private Throwable               error  = null;
-    boolean                         cancel = false;
+    private List<MultiProviderSearch.Result> searchResult;
+    private Throwable                        error  = null;
+    boolean                                  cancel = false;
 
     private SearchTask(String searchTerm, TvShow show, boolean withIds) {
       this.searchTerm = searchTerm;
       this.show = show;
       this.withIds = withIds;
       this.language = (MediaLanguages) cbLanguage.getSelectedItem();
+      this.scrapers = cbScraper.getSelectedItems();
     }
 
     @Override
     public Void doInBackground() {
       startProgressBar(TmmResourceBundle.getString("chooser.searchingfor") + " " + searchTerm);
       try {
-        searchResult = tvShowList.searchTvShow(searchTerm, show.getYear(), withIds ? show.getIds() : null, mediaScraper, language);
+        // show the results of the fastest scrapers while waiting for the others
+        searchResult = tvShowList.searchTvShow(searchTerm, show.getYear(), withIds ? show.getIds() : null, scrapers, language, searchSession,
+            results -> publish(results));
+      }
+      catch (InterruptedException e) {
+        // cancelled
+        Thread.currentThread().interrupt();
       }
       catch (Exception e) {
         error = e;
@@ -903,6 +946,13 @@ public class TvShowChooserDialog extends TmmDialog implements ActionListener {
       return null;
     }
 
+    @Override
+    protected void process(List<List<MultiProviderSearch.Result>> chunks) {
+      if (!cancel) {
+        showSearchResults(chunks.get(chunks.size() - 1), language);
+      }
+    }
+
     public void cancel() {
       cancel = true;
       super.cancel(true);
@@ -911,35 +961,19 @@ public class TvShowChooserDialog extends TmmDialog implements ActionListener {
     @Override
     public void done() {
       stopProgressBar();
-      searchResultEventList.clear();
+      if (cancel) {
+        return;
+      }
 
       if (error != null) {
         // display empty result
+        searchResultEventList.clear();
         searchResultEventList.add(TvShowChooserModel.emptyResult);
+        tableSearchResults.setRowSelectionInterval(0, 0);
         SwingUtilities.invokeLater(() -> lblError.setText(error.getMessage()));
       }
-      else if (!cancel) {
-        if (ListUtils.isEmpty(searchResult)) {
-          // display empty result
-          searchResultEventList.add(TvShowChooserModel.emptyResult);
-        }
-        else {
-          MediaScraper mpFromResult = null;
-          for (MediaSearchResult result : searchResult) {
-            if (mpFromResult == null) {
-              mpFromResult = tvShowList.getMediaScraperById(result.getProviderId());
-            }
-            if (mpFromResult == null) {
-              // still null? maybe we have a Kodi scraper here where the getProdiverId comes from the sub-scraper; take the scraper from the dropdown
-              mpFromResult = (MediaScraper) cbScraper.getSelectedItem();
-            }
-            searchResultEventList.add(new TvShowChooserModel(tvShowToScrape, mpFromResult, artworkScrapers, trailerScrapers, result, language));
-          }
-        }
-      }
-
-      if (!searchResultEventList.isEmpty()) {
-        tableSearchResults.setRowSelectionInterval(0, 0); // select first row
+      else {
+        showSearchResults(searchResult != null ? searchResult : Collections.emptyList(), language);
       }
     }
   }
@@ -979,14 +1013,6 @@ public class TvShowChooserDialog extends TmmDialog implements ActionListener {
     return continueQueue;
   }
 
-  private class ChangeScraperAction extends AbstractAction {
-    @Override
-    public void actionPerformed(ActionEvent e) {
-      mediaScraper = (MediaScraper) cbScraper.getSelectedItem();
-      searchTvShow(textFieldSearchString.getText(), false);
-    }
-  }
-
   /**
    * inner class for representing the result tableSearchResults
    */
@@ -27,9 +27,12 @@ import org.tinymediamanager.scraper.util.MetadataUtil;
 import net.miginfocom.swing.MigLayout;
 
 public abstract class AbstractNumberTvShowUIFilter extends AbstractTvShowUIFilter {
-  protected JSpinner spinnerLow;
-  protected JSpinner spinnerHigh;
-  protected JLabel   lblTo;
+  protected JSpinner              spinnerLow;
+  protected JSpinner              spinnerHigh;
+  protected JLabel                lblTo;
+
+  // the values of the filter components, captured on the EDT for filtering
+  private volatile CapturedValues capturedValues = new CapturedValues(FilterOption.EQ, 0, 0);
 
   protected JSpinner.NumberEditor prepareNumberEditor(JSpinner spinner, String pattern) {
     JSpinner.NumberEditor numberEditor = new JSpinner.NumberEditor(spinner, pattern);
@@ -92,11 +95,17 @@ public abstract class AbstractNumberTvShowUIFilter extends AbstractTvShowUIFilte
     return comboBox;
   }
 
+  @Override
+  protected void captureFilterValues() {
+    capturedValues = new CapturedValues(getFilterOption(), (int) spinnerLow.getValue(), (int) spinnerHigh.getValue());
+  }
+
   protected boolean matchInt(int value) {
-    FilterOption filterOption = getFilterOption();
+    CapturedValues values = capturedValues;
+    FilterOption filterOption = values.filterOption();
 
-    int low = (int) spinnerLow.getValue();
-    int high = (int) spinnerHigh.getValue();
+    int low = values.low();
+    int high = values.high();
 
     if (value == 0) {
       return false;
@@ -123,4 +132,7 @@ public abstract class AbstractNumberTvShowUIFilter extends AbstractTvShowUIFilte
 
     return false;
   }
+
+  private record CapturedValues(FilterOption filterOption, int low, int high) {
+  }
 }
@@ -23,9 +23,10 @@ import javax.swing.JTextField;
 import org.tinymediamanager.scraper.util.StrgUtils;
 
 public abstract class AbstractTextTvShowUIFilter extends AbstractTvShowUIFilter {
-  protected JTextField textField;
-  protected String     normalizedFilterText;
-  protected Pattern    filterPattern;
+  protected JTextField       textField;
+  // the filter text and pattern are captured on the EDT for filtering
+  protected volatile String  normalizedFilterText;
+  protected volatile Pattern filterPattern;
 
   @Override
   protected JComponent createFilterComponent() {
@@ -50,11 +51,8 @@ public abstract class AbstractTextTvShowUIFilter extends AbstractTvShowUIFilter
     textField.setText("");
   }
 
-  /**
-   * delegate the filter changed event to the tree
-   */
   @Override
-  protected void filterChanged() {
+  protected void captureFilterValues() {
     normalizedFilterText = StrgUtils.normalizeString(textField.getText());
     try {
       filterPattern = Pattern.compile(normalizedFilterText, Pattern.CASE_INSENSITIVE);
@@ -62,7 +60,14 @@ public abstract class AbstractTextTvShowUIFilter extends AbstractTvShowUIFilter
     catch (Exception e) {
       // just catch illegal patterns
     }
+  }
 
+  /**
+   * delegate the filter changed event to the tree
+   */
+  @Override
+  protected void filterChanged() {
+    captureFilterValues();
     super.filterChanged();
   }
 }
@@ -18,6 +18,7 @@ package org.tinymediamanager.ui.tvshows.filters;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Predicate;
 
 import javax.swing.SwingUtilities;
 
@@ -46,10 +47,23 @@ abstract class AbstractTvShowUIFilter extends AbstractTmmUIFilter<TmmTreeNode> i
     }
   }
 
+  @Override
+  public Predicate<TmmTreeNode> createSnapshot() {
+    // capture the state of the filter components here on the EDT - the snapshot is evaluated in other threads
+    FilterState filterState = getFilterState();
+    captureFilterValues();
+    return node -> accept(node, filterState);
+  }
+
   @Override
   public boolean accept(TmmTreeNode node) {
+    captureFilterValues();
+    return accept(node, getFilterState());
+  }
+
+  private boolean accept(TmmTreeNode node, FilterState filterState) {
     // is this filter active?
-    if (getFilterState() == FilterState.INACTIVE) {
+    if (filterState == FilterState.INACTIVE) {
       return true;
     }
 
@@ -57,28 +71,28 @@ abstract class AbstractTvShowUIFilter extends AbstractTmmUIFilter<TmmTreeNode> i
 
     if (userObject instanceof TvShow) {
       TvShow tvShow = (TvShow) userObject;
-      if (getFilterState() == FilterState.ACTIVE) {
+      if (filterState == FilterState.ACTIVE) {
         return accept(tvShow, new ArrayList<>(tvShow.getEpisodesForDisplay()));
       }
-      else if (getFilterState() == FilterState.ACTIVE_NEGATIVE) {
+      else if (filterState == FilterState.ACTIVE_NEGATIVE) {
         return accept(tvShow, new ArrayList<>(tvShow.getEpisodesForDisplay()), true);
       }
     }
     else if (userObject instanceof TvShowSeason) {
       TvShowSeason season = (TvShowSeason) userObject;
-      if (getFilterState() == FilterState.ACTIVE) {
+      if (filterState == FilterState.ACTIVE) {
         return accept(season.getTvShow(), new ArrayList<>(season.getEpisodesForDisplay()));
       }
-      else if (getFilterState() == FilterState.ACTIVE_NEGATIVE) {
+      else if (filterState == FilterState.ACTIVE_NEGATIVE) {
         return accept(season.getTvShow(), new ArrayList<>(season.getEpisodesForDisplay()), true);
       }
     }
     else if (userObject instanceof TvShowEpisode) {
       TvShowEpisode episode = (TvShowEpisode) userObject;
-      if (getFilterState() == FilterState.ACTIVE) {
+      if (filterState == FilterState.ACTIVE) {
         return accept(episode.getTvShow(), Collections.singletonList(episode));
       }
-      else if (getFilterState() == FilterState.ACTIVE_NEGATIVE) {
+      else if (filterState == FilterState.ACTIVE_NEGATIVE) {
         return accept(episode.getTvShow(), Collections.singletonList(episode), true);
       }
     }
@@ -86,6 +100,14 @@ abstract class AbstractTvShowUIFilter extends AbstractTmmUIFilter<TmmTreeNode> i
     return true;
   }
 
+  /**
+   * capture the values of the filter components which are needed for filtering. This is called on the EDT before filtering; the captured values
+   * must not be changed afterwards but be replaced with new instances in the next call
+   */
+  protected void captureFilterValues() {
+    // nothing to capture
+  }
+
   /**
    * utility method for easier calling
    */
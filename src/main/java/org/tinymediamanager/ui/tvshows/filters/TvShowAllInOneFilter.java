@@ -24,6 +24,8 @@ import static org.tinymediamanager.core.AbstractSettings.UniversalFilterFields.P
 import static org.tinymediamanager.core.AbstractSettings.UniversalFilterFields.TAGS;
 import static org.tinymediamanager.core.AbstractSettings.UniversalFilterFields.WRITER;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.regex.Matcher;
 
@@ -31,6 +33,7 @@ import javax.swing.JLabel;
 
 import org.apache.commons.lang3.StringUtils;
 import org.tinymediamanager.core.AbstractSettings;
+import org.tinymediamanager.core.TextSearchIndex;
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.entities.Person;
 import org.tinymediamanager.core.tvshow.TvShowModuleManager;
@@ -48,16 +51,23 @@ import org.tinymediamanager.ui.components.TmmLabel;
  */
 public class TvShowAllInOneFilter extends AbstractTextTvShowUIFilter {
 
-  private final TvShowSettings       settings;
+  private final TvShowSettings                 settings;
+  private final TextSearchIndex<TvShow>        textSearchIndex;
+  private final TextSearchIndex<TvShowEpisode> episodeTextSearchIndex;
 
-  private final TvShowNoteFilter     tvShowNoteFilter;
-  private final TvShowFilenameFilter tvShowFilenameFilter;
-  private final TvShowStudioFilter   tvShowStudioFilter;
-  private final TvShowCountryFilter  tvShowCountryFilter;
+  private final TvShowNoteFilter               tvShowNoteFilter;
+  private final TvShowFilenameFilter           tvShowFilenameFilter;
+  private final TvShowStudioFilter             tvShowStudioFilter;
+  private final TvShowCountryFilter            tvShowCountryFilter;
+
+  // the candidates from the text search indices for the current filter text (nodes may be filtered in parallel)
+  private volatile Candidates                  candidates;
 
   public TvShowAllInOneFilter() {
     super();
     settings = TvShowModuleManager.getInstance().getSettings();
+    textSearchIndex = TvShowModuleManager.getInstance().getTvShowList().getTextSearchIndex();
+    episodeTextSearchIndex = TvShowModuleManager.getInstance().getTvShowList().getEpisodeTextSearchIndex();
 
     tvShowNoteFilter = new TvShowNoteFilter();
     tvShowFilenameFilter = new TvShowFilenameFilter();
@@ -86,9 +96,13 @@ public class TvShowAllInOneFilter extends AbstractTextTvShowUIFilter {
 
     List<AbstractSettings.UniversalFilterFields> filterFields = settings.getUniversalFilterFields();
 
+    // quick exit for all nodes which cannot match (the negative search needs to look at every episode)
+    if (!invert && !isCandidate(tvShow, episodes, filterFields)) {
+      return false;
+    }
+
     // note
     if (filterFields.contains(NOTE)) {
-      setFields(tvShowNoteFilter);
       if (tvShowNoteFilter.accept(tvShow, episodes, invert)) {
         return true;
       }
@@ -96,7 +110,6 @@ public class TvShowAllInOneFilter extends AbstractTextTvShowUIFilter {
 
     // file name
     if (filterFields.contains(FILENAME)) {
-      setFields(tvShowFilenameFilter);
       if (tvShowFilenameFilter.accept(tvShow, episodes, invert)) {
         return true;
       }
@@ -104,7 +117,6 @@ public class TvShowAllInOneFilter extends AbstractTextTvShowUIFilter {
 
     // production company
     if (filterFields.contains(PRODUCTION_COMPANY)) {
-      setFields(tvShowStudioFilter);
       if (tvShowStudioFilter.accept(tvShow, episodes, invert)) {
         return true;
       }
@@ -112,7 +124,6 @@ public class TvShowAllInOneFilter extends AbstractTextTvShowUIFilter {
 
     // country
     if (filterFields.contains(COUNTRY)) {
-      setFields(tvShowCountryFilter);
       if (tvShowCountryFilter.accept(tvShow, episodes, invert)) {
         return true;
       }
@@ -141,6 +152,67 @@ public class TvShowAllInOneFilter extends AbstractTextTvShowUIFilter {
     return false;
   }
 
+  private boolean isCandidate(TvShow tvShow, List<TvShowEpisode> episodes, List<AbstractSettings.UniversalFilterFields> filterFields) {
+    String searchTerm = normalizedFilterText;
+    if (!TextSearchIndex.isIndexable(searchTerm)) {
+      return true;
+    }
+
+    Candidates current = getCandidates(searchTerm, filterFields);
+
+    if (textSearchIndex.getFacetIndex().isCandidate(current.tvShows, tvShow, current.tvShowStamp)) {
+      return true;
+    }
+
+    for (TvShowEpisode episode : episodes) {
+      if (episodeTextSearchIndex.getFacetIndex().isCandidate(current.episodes, episode, current.episodeStamp)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private synchronized Candidates getCandidates(String searchTerm, List<AbstractSettings.UniversalFilterFields> filterFields) {
+    Candidates current = candidates;
+    if (current != null && current.searchTerm.equals(searchTerm) && current.filterFields.equals(filterFields)) {
+      return current;
+    }
+
+    // only pass the fields which are used for TV shows/episodes
+    List<String> fieldIds = new ArrayList<>();
+    List<String> episodeFieldIds = new ArrayList<>();
+    for (AbstractSettings.UniversalFilterFields field : filterFields) {
+      if (textSearchIndex.hasField(field.name())) {
+        fieldIds.add(field.name());
+      }
+      if (episodeTextSearchIndex.hasField(field.name())) {
+        episodeFieldIds.add(field.name());
+      }
+    }
+
+    // the stamps must be taken before the candidates are calculated: every later change falls back to the full check
+    long tvShowStamp = textSearchIndex.getFacetIndex().getModificationStamp();
+    BitSet tvShows = textSearchIndex.getCandidates(searchTerm, fieldIds);
+    long episodeStamp = episodeTextSearchIndex.getFacetIndex().getModificationStamp();
+    BitSet episodes = episodeTextSearchIndex.getCandidates(searchTerm, episodeFieldIds);
+
+    current = new Candidates(searchTerm, new ArrayList<>(filterFields), tvShows, tvShowStamp, episodes, episodeStamp);
+    candidates = current;
+    return current;
+  }
+
+  @Override
+  protected void captureFilterValues() {
+    super.captureFilterValues();
+
+    // pass the captured values to the delegates here on the EDT - they are evaluated in parallel afterwards
+    setFields(tvShowNoteFilter);
+    setFields(tvShowFilenameFilter);
+    setFields(tvShowStudioFilter);
+    setFields(tvShowCountryFilter);
+  }
+
   private void setFields(AbstractTextTvShowUIFilter filter) {
     filter.textField = this.textField;
     filter.filterPattern = this.filterPattern;
@@ -170,9 +242,9 @@ public class TvShowAllInOneFilter extends AbstractTextTvShowUIFilter {
       for (TvShowEpisode episode : episodes) {
         boolean found = false;
 
-        for (Person actor : episode.getActors()) {
-          if (StringUtils.isNotBlank(actor.getName())) {
-            Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(actor.getName()));
+        for (String actor : episode.getPersonNames(Person.Type.ACTOR)) {
+          if (StringUtils.isNotBlank(actor)) {
+            Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(actor));
             if (matcher.find()) {
               found = true;
               break;
@@ -202,9 +274,9 @@ public class TvShowAllInOneFilter extends AbstractTextTvShowUIFilter {
       for (TvShowEpisode episode : episodes) {
         boolean found = false;
 
-        for (Person director : episode.getDirectors()) {
-          if (StringUtils.isNotBlank(director.getName())) {
-            Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(director.getName()));
+        for (String director : episode.getPersonNames(Person.Type.DIRECTOR)) {
+          if (StringUtils.isNotBlank(director)) {
+            Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(director));
             if (matcher.find()) {
               found = true;
               break;
@@ -234,9 +306,9 @@ public class TvShowAllInOneFilter extends AbstractTextTvShowUIFilter {
       for (TvShowEpisode episode : episodes) {
         boolean found = false;
 
-        for (Person writer : episode.getWriters()) {
-          if (StringUtils.isNotBlank(writer.getName())) {
-            Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(writer.getName()));
+        for (String writer : episode.getPersonNames(Person.Type.WRITER)) {
+          if (StringUtils.isNotBlank(writer)) {
+            Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(writer));
             if (matcher.find()) {
               found = true;
               break;
@@ -309,4 +381,8 @@ public class TvShowAllInOneFilter extends AbstractTextTvShowUIFilter {
 
     return false;
   }
+
+  private record Candidates(String searchTerm, List<AbstractSettings.UniversalFilterFields> filterFields, BitSet tvShows, long tvShowStamp,
+      BitSet episodes, long episodeStamp) {
+  }
 }
@@ -65,7 +65,7 @@ public class TvShowAspectRatioFilter extends AbstractCheckComboBoxTvShowUIFilter
 
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
-    List<String> selectedItems = checkComboBox.getSelectedItems();
+    List<String> selectedItems = getSelectedItems();
 
     // search codec in the episodes
     for (TvShowEpisode episode : episodes) {
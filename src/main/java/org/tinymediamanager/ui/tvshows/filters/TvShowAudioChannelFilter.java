@@ -58,7 +58,7 @@ public class TvShowAudioChannelFilter extends AbstractCheckComboBoxTvShowUIFilte
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
     List<String> audioChannels = new ArrayList<String>();
-    for (String values : checkComboBox.getSelectedItems()) {
+    for (String values : getSelectedItems()) {
       audioChannels.add(values.substring(0, 1)); // MI does not return more than 8 channels, so 16 is no issue ;)
     }
 
@@ -58,7 +58,7 @@ public class TvShowAudioCodecFilter extends AbstractCheckComboBoxTvShowUIFilter<
 
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
-    List<String> codecs = checkComboBox.getSelectedItems();
+    List<String> codecs = getSelectedItems();
 
     // search codec in the episodes
     for (TvShowEpisode episode : episodes) {
@@ -64,7 +64,7 @@ public class TvShowAudioLanguageFilter extends AbstractCheckComboBoxTvShowUIFilt
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
 
-    List<String> selectedItems = checkComboBox.getSelectedItems();
+    List<String> selectedItems = getSelectedItems();
 
     for (TvShowEpisode episode : episodes) {
       List<MediaFile> mfs = episode.getMediaFiles(VIDEO, AUDIO);
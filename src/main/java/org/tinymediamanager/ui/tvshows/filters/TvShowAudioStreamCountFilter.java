@@ -57,7 +57,7 @@ public class TvShowAudioStreamCountFilter extends AbstractCheckComboBoxTvShowUIF
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
 
-    List<Integer> selectedItems = checkComboBox.getSelectedItems();
+    List<Integer> selectedItems = getSelectedItems();
 
     for (TvShowEpisode episode : episodes) {
       List<MediaFile> mfs = episode.getMediaFiles(VIDEO);
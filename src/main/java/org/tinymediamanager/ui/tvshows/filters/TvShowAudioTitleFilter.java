@@ -74,7 +74,7 @@ public class TvShowAudioTitleFilter extends AbstractCheckComboBoxTvShowUIFilter<
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
 
-    List<String> selectedItems = checkComboBox.getSelectedItems();
+    List<String> selectedItems = getSelectedItems();
 
     for (TvShowEpisode episode : episodes) {
       List<MediaFile> mfs = episode.getMediaFiles(VIDEO, AUDIO);
@@ -70,27 +70,27 @@ public class TvShowCastFilter extends AbstractTextTvShowUIFilter {
         boolean foundWriter = false;
         boolean foundDirector = false;
 
-        for (Person director : episode.getDirectors()) {
-          if (StringUtils.isNotBlank(director.getName())) {
-            Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(director.getName()));
+        for (String director : episode.getPersonNames(Person.Type.DIRECTOR)) {
+          if (StringUtils.isNotBlank(director)) {
+            Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(director));
             if (matcher.find()) {
               foundDirector = true;
               break;
             }
           }
         }
-        for (Person writer : episode.getWriters()) {
-          if (StringUtils.isNotBlank(writer.getName())) {
-            Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(writer.getName()));
+        for (String writer : episode.getPersonNames(Person.Type.WRITER)) {
+          if (StringUtils.isNotBlank(writer)) {
+            Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(writer));
             if (matcher.find()) {
               foundWriter = true;
               break;
             }
           }
         }
-        for (Person actor : episode.getActors()) {
-          if (StringUtils.isNotBlank(actor.getName())) {
-            Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(actor.getName()));
+        for (String actor : episode.getPersonNames(Person.Type.ACTOR)) {
+          if (StringUtils.isNotBlank(actor)) {
+            Matcher matcher = filterPattern.matcher(StrgUtils.normalizeString(actor));
             if (matcher.find()) {
               foundGuest = true;
               break;
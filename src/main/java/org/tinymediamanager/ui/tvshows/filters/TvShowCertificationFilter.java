@@ -17,6 +17,7 @@ package org.tinymediamanager.ui.tvshows.filters;
 
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
@@ -30,6 +31,7 @@ import org.tinymediamanager.core.tvshow.TvShowModuleManager;
 import org.tinymediamanager.core.tvshow.entities.TvShow;
 import org.tinymediamanager.core.tvshow.entities.TvShowEpisode;
 import org.tinymediamanager.scraper.entities.MediaCertification;
+import org.tinymediamanager.ui.ITmmUIFacetFilter;
 import org.tinymediamanager.ui.components.TmmLabel;
 
 /**
@@ -37,7 +39,7 @@ import org.tinymediamanager.ui.components.TmmLabel;
  * 
  * @author Wolfgang Janes
  */
-public class TvShowCertificationFilter extends AbstractCheckComboBoxTvShowUIFilter<MediaCertification> {
+public class TvShowCertificationFilter extends AbstractCheckComboBoxTvShowUIFilter<MediaCertification> implements ITmmUIFacetFilter<TvShow> {
   private final TvShowList tvShowList = TvShowModuleManager.getInstance().getTvShowList();
 
   public TvShowCertificationFilter() {
@@ -60,7 +62,7 @@ public class TvShowCertificationFilter extends AbstractCheckComboBoxTvShowUIFilt
 
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
-    List<MediaCertification> selectedItems = checkComboBox.getSelectedItems();
+    List<MediaCertification> selectedItems = getSelectedItems();
     if (invert) {
       return !selectedItems.contains(tvShow.getCertification());
     }
@@ -70,6 +72,16 @@ public class TvShowCertificationFilter extends AbstractCheckComboBoxTvShowUIFilt
 
   }
 
+  @Override
+  public Collection<?> getFacetValues(TvShow tvShow) {
+    return Collections.singletonList(tvShow.getCertification());
+  }
+
+  @Override
+  public Collection<?> getSelectedFacetValues() {
+    return checkComboBox.getSelectedItems();
+  }
+
   @Override
   protected JLabel createLabel() {
     return new TmmLabel(TmmResourceBundle.getString("metatag.certification"));
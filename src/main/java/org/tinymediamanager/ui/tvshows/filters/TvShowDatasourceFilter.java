@@ -17,6 +17,8 @@ package org.tinymediamanager.ui.tvshows.filters;
 
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import javax.swing.JComponent;
@@ -28,6 +30,7 @@ import org.tinymediamanager.core.tvshow.TvShowModuleManager;
 import org.tinymediamanager.core.tvshow.TvShowSettings;
 import org.tinymediamanager.core.tvshow.entities.TvShow;
 import org.tinymediamanager.core.tvshow.entities.TvShowEpisode;
+import org.tinymediamanager.ui.ITmmUIFacetFilter;
 import org.tinymediamanager.ui.components.TmmLabel;
 import org.tinymediamanager.ui.components.combobox.TmmCheckComboBox;
 
@@ -36,7 +39,7 @@ import org.tinymediamanager.ui.components.combobox.TmmCheckComboBox;
  * 
  * @author Manuel Laggner
  */
-public class TvShowDatasourceFilter extends AbstractCheckComboBoxTvShowUIFilter<String> {
+public class TvShowDatasourceFilter extends AbstractCheckComboBoxTvShowUIFilter<String> implements ITmmUIFacetFilter<TvShow> {
   private final TvShowSettings tvShowSettings = TvShowModuleManager.getInstance().getSettings();
 
   public TvShowDatasourceFilter() {
@@ -53,10 +56,20 @@ public class TvShowDatasourceFilter extends AbstractCheckComboBoxTvShowUIFilter<
 
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
-    List<String> dataSources = checkComboBox.getSelectedItems();
+    List<String> dataSources = getSelectedItems();
     return invert ^ dataSources.contains(tvShow.getDataSource());
   }
 
+  @Override
+  public Collection<?> getFacetValues(TvShow tvShow) {
+    return Collections.singletonList(tvShow.getDataSource());
+  }
+
+  @Override
+  public Collection<?> getSelectedFacetValues() {
+    return checkComboBox.getSelectedItems();
+  }
+
   @Override
   protected JLabel createLabel() {
     return new TmmLabel(TmmResourceBundle.getString("metatag.datasource"));
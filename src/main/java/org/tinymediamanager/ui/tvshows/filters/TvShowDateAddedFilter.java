@@ -37,14 +37,9 @@ import org.tinymediamanager.ui.components.datepicker.DatePicker;
  * @author Manuel Laggner
  */
 public class TvShowDateAddedFilter extends AbstractTvShowUIFilter {
-  private final Calendar calendar;
-  private DatePicker     datePicker;
-
-  public TvShowDateAddedFilter() {
-    super();
-    calendar = Calendar.getInstance();
-    calendar.setTimeZone(TimeZone.getTimeZone("UTC"));
-  }
+  private DatePicker        datePicker;
+  // the selected date, captured on the EDT for filtering
+  private volatile Calendar selectedDate;
 
   @Override
   protected JLabel createLabel() {
@@ -91,13 +86,20 @@ public class TvShowDateAddedFilter extends AbstractTvShowUIFilter {
     datePicker.setDate(null);
   }
 
+  @Override
+  protected void captureFilterValues() {
+    selectedDate = datePicker.getDate() != null ? (Calendar) datePicker.getCalendar().clone() : null;
+  }
+
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
-    if (datePicker.getDate() == null) {
+    Calendar datePickerCalendar = selectedDate; // in localtime
+    if (datePickerCalendar == null) {
       return true;
     }
 
-    Calendar datePickerCalendar = datePicker.getCalendar(); // in localtime
+    // the filter is evaluated in parallel - every call needs its own calendar
+    Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
 
     try {
       for (TvShowEpisode episode : episodes) {
@@ -71,7 +71,7 @@ public class TvShowDecadeFilter extends AbstractCheckComboBoxTvShowUIFilter<Stri
 
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
-    List<String> selectedItems = checkComboBox.getSelectedItems();
+    List<String> selectedItems = getSelectedItems();
     return invert ^ selectedItems.contains(tvShow.getDecadeShort());
   }
 
@@ -54,7 +54,7 @@ public class TvShowFrameRateFilter extends AbstractCheckComboBoxTvShowUIFilter<D
 
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
-    List<Double> frameRates = checkComboBox.getSelectedItems();
+    List<Double> frameRates = getSelectedItems();
 
     for (Double frameRate : frameRates) {
       if (invert ^ frameRate == 0) {
@@ -15,6 +15,7 @@
  */
 package org.tinymediamanager.ui.tvshows.filters;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
@@ -22,10 +23,12 @@ import java.util.Locale;
 import javax.swing.JLabel;
 import javax.swing.SwingUtilities;
 
+import org.tinymediamanager.core.FacetIndex;
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.entities.MediaGenres;
 import org.tinymediamanager.core.tvshow.entities.TvShow;
 import org.tinymediamanager.core.tvshow.entities.TvShowEpisode;
+import org.tinymediamanager.ui.ITmmUIFacetFilter;
 import org.tinymediamanager.ui.components.TmmLabel;
 
 /**
@@ -33,7 +36,7 @@ import org.tinymediamanager.ui.components.TmmLabel;
  * 
  * @author Manuel Laggner
  */
-public class TvShowGenreFilter extends AbstractCheckComboBoxTvShowUIFilter<MediaGenres> {
+public class TvShowGenreFilter extends AbstractCheckComboBoxTvShowUIFilter<MediaGenres> implements ITmmUIFacetFilter<TvShow> {
 
   public TvShowGenreFilter() {
     super();
@@ -49,7 +52,7 @@ public class TvShowGenreFilter extends AbstractCheckComboBoxTvShowUIFilter<Media
 
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
-    List<MediaGenres> selectedItems = checkComboBox.getSelectedItems();
+    List<MediaGenres> selectedItems = getSelectedItems();
 
     // check for explicit empty search
     if (!invert && (selectedItems.isEmpty() && tvShow.getGenres().isEmpty())) {
@@ -65,6 +68,22 @@ public class TvShowGenreFilter extends AbstractCheckComboBoxTvShowUIFilter<Media
     return invert == Collections.disjoint(selectedItems, tvShow.getGenres());
   }
 
+  @Override
+  public Collection<?> getFacetValues(TvShow tvShow) {
+    return tvShow.getGenres();
+  }
+
+  @Override
+  public Collection<?> getSelectedFacetValues() {
+    List<MediaGenres> selectedItems = checkComboBox.getSelectedItems();
+
+    // explicit empty search
+    if (selectedItems.isEmpty()) {
+      return Collections.singletonList(FacetIndex.EMPTY);
+    }
+    return selectedItems;
+  }
+
   @Override
   protected JLabel createLabel() {
     return new TmmLabel(TmmResourceBundle.getString("metatag.genre"));
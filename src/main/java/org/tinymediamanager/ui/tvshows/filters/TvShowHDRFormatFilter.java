@@ -70,7 +70,7 @@ public class TvShowHDRFormatFilter extends AbstractCheckComboBoxTvShowUIFilter<S
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
 
-    List<String> selectedItems = checkComboBox.getSelectedItems();
+    List<String> selectedItems = getSelectedItems();
 
     for (TvShowEpisode episode : episodes) {
       for (String sel : selectedItems) {
@@ -34,6 +34,7 @@ import org.tinymediamanager.ui.components.TmmLabel;
 public class TvShowLockedFilter extends AbstractTvShowUIFilter {
 
   private JComboBox<LockedFlag> comboBox;
+  private volatile LockedFlag   selectedFlag;
 
   private enum LockedFlag {
     LOCKED(TmmResourceBundle.getString("metatag.locked")),
@@ -87,9 +88,14 @@ public class TvShowLockedFilter extends AbstractTvShowUIFilter {
     comboBox.setSelectedItem(comboBox.getItemAt(0));
   }
 
+  @Override
+  protected void captureFilterValues() {
+    selectedFlag = (LockedFlag) comboBox.getSelectedItem();
+  }
+
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
-    if (invert ^ tvShow.isLocked() == (comboBox.getSelectedItem() == LockedFlag.LOCKED)) {
+    if (invert ^ tvShow.isLocked() == (selectedFlag == LockedFlag.LOCKED)) {
       return true;
     }
     return false;
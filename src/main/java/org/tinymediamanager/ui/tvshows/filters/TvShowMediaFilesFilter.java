@@ -75,7 +75,7 @@ public class TvShowMediaFilesFilter extends AbstractCheckComboBoxTvShowUIFilter<
     boolean isValid = false;
 
     List<MediaFileType> selectedItems = new ArrayList<>();
-    for (TvShowMediaFilesFilter.MediaFileTypeContainer container : checkComboBox.getSelectedItems()) {
+    for (TvShowMediaFilesFilter.MediaFileTypeContainer container : getSelectedItems()) {
       selectedItems.add(container.type);
     }
 
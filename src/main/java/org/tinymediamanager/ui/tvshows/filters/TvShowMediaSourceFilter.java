@@ -50,7 +50,7 @@ public class TvShowMediaSourceFilter extends AbstractCheckComboBoxTvShowUIFilter
 
   @Override
   public boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
-    List<MediaSource> selectedItems = checkComboBox.getSelectedItems();
+    List<MediaSource> selectedItems = getSelectedItems();
 
     // search for media source in episodes
     for (TvShowEpisode episode : episodes) {
@@ -93,7 +93,7 @@ public class TvShowMissingArtworkFilter extends AbstractCheckComboBoxTvShowUIFil
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
     List<TvShowScraperMetadataConfig> tvShowValues = new ArrayList<>();
     List<TvShowEpisodeScraperMetadataConfig> episodeValues = new ArrayList<>();
-    for (MetadataField metadataField : checkComboBox.getSelectedItems()) {
+    for (MetadataField metadataField : getSelectedItems()) {
       if (!metadataField.episode) {
         tvShowValues.add(metadataField.config);
       }
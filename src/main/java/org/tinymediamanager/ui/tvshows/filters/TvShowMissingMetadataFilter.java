@@ -80,7 +80,7 @@ public class TvShowMissingMetadataFilter extends AbstractCheckComboBoxTvShowUIFi
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
     List<TvShowScraperMetadataConfig> tvShowValues = new ArrayList<>();
     List<TvShowEpisodeScraperMetadataConfig> episodeValues = new ArrayList<>();
-    for (MetadataField metadataField : checkComboBox.getSelectedItems()) {
+    for (MetadataField metadataField : getSelectedItems()) {
       tvShowValues.add(metadataField.config);
 
       // the values which should be added to the episode too
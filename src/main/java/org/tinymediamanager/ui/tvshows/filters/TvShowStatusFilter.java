@@ -16,6 +16,7 @@
 package org.tinymediamanager.ui.tvshows.filters;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -25,6 +26,7 @@ import org.tinymediamanager.core.MediaAiredStatus;
 import org.tinymediamanager.core.TmmResourceBundle;
 import org.tinymediamanager.core.tvshow.entities.TvShow;
 import org.tinymediamanager.core.tvshow.entities.TvShowEpisode;
+import org.tinymediamanager.ui.ITmmUIFacetFilter;
 import org.tinymediamanager.ui.components.TmmLabel;
 
 /**
@@ -32,7 +34,7 @@ import org.tinymediamanager.ui.components.TmmLabel;
  * 
  * @author Manuel Laggner
  */
-public class TvShowStatusFilter extends AbstractCheckComboBoxTvShowUIFilter<MediaAiredStatus> {
+public class TvShowStatusFilter extends AbstractCheckComboBoxTvShowUIFilter<MediaAiredStatus> implements ITmmUIFacetFilter<TvShow> {
 
   public TvShowStatusFilter() {
     super();
@@ -46,11 +48,21 @@ public class TvShowStatusFilter extends AbstractCheckComboBoxTvShowUIFilter<Medi
 
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
-    List<MediaAiredStatus> airedStatuses = checkComboBox.getSelectedItems();
+    List<MediaAiredStatus> airedStatuses = getSelectedItems();
 
     return invert ^ airedStatuses.contains(tvShow.getStatus());
   }
 
+  @Override
+  public Collection<?> getFacetValues(TvShow tvShow) {
+    return Collections.singletonList(tvShow.getStatus());
+  }
+
+  @Override
+  public Collection<?> getSelectedFacetValues() {
+    return checkComboBox.getSelectedItems();
+  }
+
   @Override
   protected JLabel createLabel() {
     return new TmmLabel(TmmResourceBundle.getString("metatag.status"));
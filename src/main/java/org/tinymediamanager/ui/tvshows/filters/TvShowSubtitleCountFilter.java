@@ -62,7 +62,7 @@ public class TvShowSubtitleCountFilter extends AbstractCheckComboBoxTvShowUIFilt
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
 
-    List<Integer> selectedItems = checkComboBox.getSelectedItems();
+    List<Integer> selectedItems = getSelectedItems();
 
     for (TvShowEpisode episode : episodes) {
       List<MediaFile> mfs = episode.getMediaFiles(VIDEO);
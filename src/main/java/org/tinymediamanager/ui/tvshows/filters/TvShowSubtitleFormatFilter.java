@@ -61,7 +61,7 @@ public class TvShowSubtitleFormatFilter extends AbstractCheckComboBoxTvShowUIFil
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
 
-    List<String> selectedItems = checkComboBox.getSelectedItems();
+    List<String> selectedItems = getSelectedItems();
 
     for (TvShowEpisode episode : episodes) {
       List<String> epCodecs = episode.getMediaInfoSubtitleCodecList();
@@ -60,7 +60,7 @@ public class TvShowSubtitleLanguageFilter extends AbstractCheckComboBoxTvShowUIF
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
 
-    List<String> selectedItems = checkComboBox.getSelectedItems();
+    List<String> selectedItems = getSelectedItems();
 
     for (TvShowEpisode episode : episodes) {
       List<String> epLang = episode.getMediaInfoSubtitleLanguageList();
@@ -60,7 +60,7 @@ public class TvShowTagFilter extends AbstractCheckComboBoxTvShowUIFilter<String>
 
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
-    List<String> tags = checkComboBox.getSelectedItems();
+    List<String> tags = getSelectedItems();
 
     // check for explicit empty search
     if (!invert && (tags.isEmpty() && tvShow.getTags().isEmpty())) {
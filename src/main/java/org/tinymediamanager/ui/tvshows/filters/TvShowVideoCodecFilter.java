@@ -56,11 +56,11 @@ public class TvShowVideoCodecFilter extends AbstractCheckComboBoxTvShowUIFilter<
 
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
-    List<String> codecs = checkComboBox.getSelectedItems();
+    List<String> codecs = getSelectedItems();
 
     // search codec in the episodes
     for (TvShowEpisode episode : episodes) {
-      List<MediaFile> mfs = episode.getMediaFiles(MediaFileType.VIDEO);
+      List<MediaFile> mfs = episode.getMediaFilesView(MediaFileType.VIDEO);
       for (MediaFile mf : mfs) {
         if (invert ^ codecs.contains(mf.getVideoCodec())) {
           return true;
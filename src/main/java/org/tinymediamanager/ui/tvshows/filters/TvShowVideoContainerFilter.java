@@ -54,7 +54,7 @@ public class TvShowVideoContainerFilter extends AbstractCheckComboBoxTvShowUIFil
 
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
-    List<String> selectedValues = checkComboBox.getSelectedItems();
+    List<String> selectedValues = getSelectedItems();
 
     // search container in the episodes
     for (TvShowEpisode episode : episodes) {
@@ -54,7 +54,7 @@ public class TvShowVideoFilenameFilter extends AbstractTextTvShowUIFilter {
         }
         else {
           // actual file name
-          for (MediaFile mediaFile : episode.getMediaFiles(MediaFileType.VIDEO)) {
+          for (MediaFile mediaFile : episode.getMediaFilesView(MediaFileType.VIDEO)) {
             matcher = filterPattern.matcher(StrgUtils.normalizeString(mediaFile.getFilename()));
             if (matcher.find()) {
               foundEpisode = true;
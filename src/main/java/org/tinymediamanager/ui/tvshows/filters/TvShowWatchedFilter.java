@@ -49,6 +49,7 @@ public class TvShowWatchedFilter extends AbstractTvShowUIFilter {
   }
 
   private JComboBox<WatchedFlag> comboBox;
+  private volatile WatchedFlag   selectedFlag;
 
   @Override
   public String getId() {
@@ -97,6 +98,11 @@ public class TvShowWatchedFilter extends AbstractTvShowUIFilter {
     return comboBox;
   }
 
+  @Override
+  protected void captureFilterValues() {
+    selectedFlag = (WatchedFlag) comboBox.getSelectedItem();
+  }
+
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
     for (TvShowEpisode episode : episodes) {
@@ -104,7 +110,7 @@ public class TvShowWatchedFilter extends AbstractTvShowUIFilter {
         continue;
       }
 
-      if (invert ^ episode.isWatched() == (comboBox.getSelectedItem() == WatchedFlag.WATCHED)) {
+      if (invert ^ episode.isWatched() == (selectedFlag == WatchedFlag.WATCHED)) {
         return true;
       }
     }
@@ -71,7 +71,7 @@ public class TvShowYearFilter extends AbstractCheckComboBoxTvShowUIFilter<Intege
 
   @Override
   protected boolean accept(TvShow tvShow, List<TvShowEpisode> episodes, boolean invert) {
-    List<Integer> selectedItems = checkComboBox.getSelectedItems();
+    List<Integer> selectedItems = getSelectedItems();
     return invert ^ selectedItems.contains(tvShow.getYear());
   }
 
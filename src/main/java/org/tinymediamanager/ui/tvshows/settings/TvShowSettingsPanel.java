@@ -60,6 +60,7 @@ class TvShowSettingsPanel extends JPanel {
 
   private JCheckBox            chckbxImageCache;
   private JCheckBox            chckbxExtractArtworkFromVsmeta;
+  private JCheckBox            chckbxDuplicateFingerprint;
   private JCheckBox            chckbxTraktTv;
   private JButton              btnClearTraktTvShows;
   private JButton              btnPresetKodi;
@@ -196,7 +197,7 @@ class TvShowSettingsPanel extends JPanel {
     }
     {
       JPanel panelMisc = new JPanel();
-      panelMisc.setLayout(new MigLayout("hidemode 1, insets 0", "[20lp!][16lp!][grow]", "[][][][][15lp!][][]")); // 16lp ~ width of the
+      panelMisc.setLayout(new MigLayout("hidemode 1, insets 0", "[20lp!][16lp!][grow]", "[][][][][15lp!][][][]")); // 16lp ~ width of the
 
       JLabel lblMiscT = new TmmLabel(TmmResourceBundle.getString("Settings.misc"), H3);
       CollapsiblePanel collapsiblePanel = new CollapsiblePanel(panelMisc, lblMiscT, true);
@@ -233,6 +234,13 @@ class TvShowSettingsPanel extends JPanel {
         JLabel lblCreateMissingSeasonItemsHint = new JLabel(IconManager.HINT);
         lblCreateMissingSeasonItemsHint.setToolTipText(TmmResourceBundle.getString("Settings.tvshow.writemissingitems.hint"));
         panelMisc.add(lblCreateMissingSeasonItemsHint, "cell 1 6 2 1");
+
+        chckbxDuplicateFingerprint = new JCheckBox(TmmResourceBundle.getString("Settings.duplicatefingerprint"));
+        panelMisc.add(chckbxDuplicateFingerprint, "cell 1 7 2 1");
+
+        JLabel lblDuplicateFingerprintHint = new JLabel(IconManager.HINT);
+        lblDuplicateFingerprintHint.setToolTipText(TmmResourceBundle.getString("Settings.duplicatefingerprint.hint"));
+        panelMisc.add(lblDuplicateFingerprintHint, "cell 1 7 2 1");
       }
     }
   }
@@ -332,5 +340,10 @@ class TvShowSettingsPanel extends JPanel {
     AutoBinding autoBinding_4 = Bindings.createAutoBinding(UpdateStrategy.READ_WRITE, settings, tvShowSettingsBeanProperty_3, chckbxResetNewFlag,
         jCheckBoxBeanProperty);
     autoBinding_4.bind();
+    //
+    Property tvShowSettingsBeanProperty_14 = BeanProperty.create("duplicateFingerprintMode");
+    AutoBinding autoBinding_19 = Bindings.createAutoBinding(UpdateStrategy.READ_WRITE, settings, tvShowSettingsBeanProperty_14,
+        chckbxDuplicateFingerprint, jCheckBoxBeanProperty);
+    autoBinding_19.bind();
   }
 }
@@ -0,0 +1,100 @@
+package org.tinymediamanager.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+import org.tinymediamanager.core.entities.MediaFile;
+import org.tinymediamanager.core.entities.MediaFileHashes;
+import org.tinymediamanager.core.movie.entities.Movie;
+
+public class DuplicateIndexTest extends BasicTest {
+
+  @Test
+  public void testFlagsAreCleared() {
+    FacetIndex<Movie> facetIndex = new FacetIndex<>();
+    DuplicateIndex<Movie> duplicateIndex = new DuplicateIndex<>(facetIndex,
+        movie -> StringUtils.isBlank(movie.getImdbId()) ? Collections.emptyList() : Collections.singletonList("imdb" + movie.getImdbId()),
+        movie -> null, () -> false);
+
+    Movie aladdin = new Movie();
+    aladdin.setImdbId("tt0103639");
+    Movie duplicate = new Movie();
+    duplicate.setImdbId("tt0103639");
+    Movie remake = new Movie();
+    remake.setImdbId("tt6139732");
+    facetIndex.addAll(List.of(aladdin, duplicate, remake));
+
+    duplicateIndex.updateDuplicateFlags();
+    assertThat(aladdin.isDuplicate()).isTrue();
+    assertThat(duplicate.isDuplicate()).isTrue();
+    assertThat(remake.isDuplicate()).isFalse();
+
+    // the duplicate is no duplicate of the original any more, but of the remake
+    duplicate.setImdbId("tt6139732");
+    duplicateIndex.updateDuplicateFlags();
+    assertThat(aladdin.isDuplicate()).isFalse();
+    assertThat(duplicate.isDuplicate()).isTrue();
+    assertThat(remake.isDuplicate()).isTrue();
+
+    // no duplicates at all
+    duplicate.setImdbId("");
+    duplicateIndex.updateDuplicateFlags();
+    assertThat(aladdin.isDuplicate()).isFalse();
+    assertThat(duplicate.isDuplicate()).isFalse();
+    assertThat(remake.isDuplicate()).isFalse();
+  }
+
+  @Test
+  public void testFingerprintKeys() {
+    AtomicBoolean fingerprintMode = new AtomicBoolean(false);
+    Map<Movie, MediaFile> videoFiles = new IdentityHashMap<>();
+
+    FacetIndex<Movie> facetIndex = new FacetIndex<>();
+    DuplicateIndex<Movie> duplicateIndex = new DuplicateIndex<>(facetIndex, movie -> Collections.emptyList(), videoFiles::get,
+        fingerprintMode::get);
+
+    // two copies of the same file without any IDs
+    Movie copy1 = new Movie();
+    videoFiles.put(copy1, createVideoFile("/movies/copy1.mkv", "abcdef"));
+    Movie copy2 = new Movie();
+    videoFiles.put(copy2, createVideoFile("/movies/copy2.mkv", "abcdef"));
+    Movie other = new Movie();
+    videoFiles.put(other, createVideoFile("/movies/other.mkv", "123456"));
+    facetIndex.addAll(List.of(copy1, copy2, other));
+
+    // no fingerprints without the fingerprint mode
+    duplicateIndex.updateDuplicateFlags();
+    assertThat(copy1.isDuplicate()).isFalse();
+    assertThat(copy2.isDuplicate()).isFalse();
+
+    fingerprintMode.set(true);
+    duplicateIndex.invalidateAll();
+    duplicateIndex.updateDuplicateFlags();
+    assertThat(copy1.isDuplicate()).isTrue();
+    assertThat(copy2.isDuplicate()).isTrue();
+    assertThat(other.isDuplicate()).isFalse();
+
+    // a stored fingerprint of an older version of the file is not used
+    videoFiles.get(copy2).setFilesize(2000);
+    duplicateIndex.invalidateAll();
+    duplicateIndex.updateDuplicateFlags();
+    assertThat(copy1.isDuplicate()).isFalse();
+    assertThat(copy2.isDuplicate()).isFalse();
+  }
+
+  private static MediaFile createVideoFile(String path, String fingerprint) {
+    MediaFile mediaFile = new MediaFile(Paths.get(path));
+    mediaFile.setFilesize(1000);
+    mediaFile.setFiledate(1000);
+    mediaFile.setHashes(new MediaFileHashes("", fingerprint, 1000, 1000));
+    return mediaFile;
+  }
+}
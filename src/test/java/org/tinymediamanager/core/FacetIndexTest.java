@@ -0,0 +1,87 @@
+package org.tinymediamanager.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.tinymediamanager.core.entities.MediaGenres;
+import org.tinymediamanager.core.movie.entities.Movie;
+
+public class FacetIndexTest extends BasicTest {
+
+  @Test
+  public void testFacets() {
+    FacetIndex<Movie> index = new FacetIndex<>();
+    index.registerFacet("genre", Movie::getGenres);
+
+    Movie action = new Movie();
+    action.addToGenres(List.of(MediaGenres.ACTION));
+    Movie comedy = new Movie();
+    comedy.addToGenres(List.of(MediaGenres.COMEDY, MediaGenres.ROMANCE));
+    Movie empty = new Movie();
+
+    index.add(action);
+    index.add(comedy);
+    index.add(empty);
+
+    BitSet bits = index.anyOf("genre", List.of(MediaGenres.ACTION, MediaGenres.ROMANCE));
+    assertThat(bits.get(index.getOrdinal(action))).isTrue();
+    assertThat(bits.get(index.getOrdinal(comedy))).isTrue();
+    assertThat(bits.get(index.getOrdinal(empty))).isFalse();
+
+    bits = index.anyOf("genre", Collections.singletonList(FacetIndex.EMPTY));
+    assertThat(bits.cardinality()).isEqualTo(1);
+    assertThat(bits.get(index.getOrdinal(empty))).isTrue();
+
+    // incremental update via property change
+    long stamp = index.getModificationStamp();
+    empty.addToGenres(List.of(MediaGenres.ACTION));
+    assertThat(index.isModifiedSince(empty, stamp)).isTrue();
+    assertThat(index.isModifiedSince(action, stamp)).isFalse();
+
+    bits = index.anyOf("genre", List.of(MediaGenres.ACTION));
+    assertThat(bits.cardinality()).isEqualTo(2);
+    assertThat(bits.get(index.getOrdinal(empty))).isTrue();
+
+    // removal
+    index.remove(action);
+    bits = index.anyOf("genre", List.of(MediaGenres.ACTION));
+    assertThat(bits.cardinality()).isEqualTo(1);
+    assertThat(index.getOrdinal(action)).isEqualTo(-1);
+  }
+
+  @Test
+  public void testSharedValues() {
+    FacetIndex<Movie> index = new FacetIndex<>();
+    index.registerFacet("imdb", movie -> Collections.singletonList(movie.getImdbId()), true);
+
+    Movie aladdin = new Movie();
+    aladdin.setImdbId("tt0103639");
+    Movie duplicate = new Movie();
+    duplicate.setImdbId("tt0103639");
+    Movie remake = new Movie();
+    remake.setImdbId("tt6139732");
+
+    index.add(aladdin);
+    index.add(duplicate);
+    index.add(remake);
+
+    BitSet bits = index.shared("imdb");
+    assertThat(bits.cardinality()).isEqualTo(2);
+    assertThat(bits.get(index.getOrdinal(aladdin))).isTrue();
+    assertThat(bits.get(index.getOrdinal(duplicate))).isTrue();
+
+    // changing the ID is picked up incrementally
+    duplicate.setImdbId("tt6139732");
+    bits = index.shared("imdb");
+    assertThat(bits.cardinality()).isEqualTo(2);
+    assertThat(bits.get(index.getOrdinal(aladdin))).isFalse();
+    assertThat(bits.get(index.getOrdinal(remake))).isTrue();
+
+    index.remove(remake);
+    assertThat(index.shared("imdb").isEmpty()).isTrue();
+  }
+}
@@ -0,0 +1,53 @@
+package org.tinymediamanager.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Random;
+
+import org.junit.Test;
+import org.tinymediamanager.core.entities.MediaFile;
+import org.tinymediamanager.core.entities.MediaFileHashes;
+
+public class FileHashServiceTest extends BasicTest {
+
+  @Test
+  public void testOpenSubtitlesHash() throws Exception {
+    // one little endian 64 bit word with the value 1: size (8) + head (1) + tail (1)
+    Path file = getWorkFolder().resolve("small.avi");
+    Files.write(file, new byte[] { 1, 0, 0, 0, 0, 0, 0, 0 });
+
+    assertThat(FileHashService.getOpenSubtitlesHash(new MediaFile(file))).isEqualTo("000000000000000a");
+  }
+
+  @Test
+  public void testHashesAreStoredAndInvalidated() throws Exception {
+    byte[] content = new byte[1024 * 1024];
+    new Random(42).nextBytes(content);
+
+    Path file = getWorkFolder().resolve("movie.avi");
+    Files.write(file, content);
+
+    MediaFile mediaFile = new MediaFile(file);
+    MediaFileHashes hashes = FileHashService.getHashes(mediaFile);
+    assertThat(hashes).isNotNull();
+    assertThat(hashes.openSubtitlesHash()).hasSize(16);
+    assertThat(hashes.fingerprint()).hasSize(32);
+    assertThat(mediaFile.getHashes()).isSameAs(hashes);
+
+    // unchanged file: re-use the stored hashes
+    assertThat(FileHashService.getHashes(mediaFile)).isSameAs(hashes);
+
+    // changed content in the middle of the file: the OpenSubtitles hash stays the same, but the fingerprint changes
+    content[FileHashService.HASH_CHUNK_SIZE + 1] ^= 0xff;
+    Files.write(file, content);
+    Files.setLastModifiedTime(file, FileTime.fromMillis(hashes.filedate() + 10000));
+
+    MediaFileHashes newHashes = FileHashService.getHashes(mediaFile);
+    assertThat(newHashes).isNotSameAs(hashes);
+    assertThat(newHashes.openSubtitlesHash()).isEqualTo(hashes.openSubtitlesHash());
+    assertThat(newHashes.fingerprint()).isNotEqualTo(hashes.fingerprint());
+  }
+}
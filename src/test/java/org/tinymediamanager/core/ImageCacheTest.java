@@ -0,0 +1,61 @@
+package org.tinymediamanager.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.junit.Test;
+import org.tinymediamanager.core.ImageCache.CacheType;
+
+public class ImageCacheTest extends BasicTest {
+
+  @Test
+  public void testIsAnimatedGif() throws Exception {
+    Path folder = getWorkFolder();
+    Files.createDirectories(folder);
+
+    Path still = writeGif(folder.resolve("still.gif"), 1);
+    Path animated = writeGif(folder.resolve("animated.gif"), 3);
+
+    assertThat(ImageCache.isAnimatedGif(still)).isFalse();
+    assertThat(ImageCache.isAnimatedGif(animated)).isTrue();
+    assertThat(ImageCache.isAnimatedGif(Paths.get("src/test/resources/dummy-fanart.jpg"))).isFalse();
+  }
+
+  @Test
+  public void testCalculateSubsampling() {
+    // 4k fanart to 1000px
+    assertThat(ImageCache.calculateSubsampling(3840, 2160, 1000, 562, CacheType.BALANCED)).isEqualTo(3);
+    assertThat(ImageCache.calculateSubsampling(3840, 2160, 1000, 562, CacheType.QUALITY)).isEqualTo(1);
+    // 4k fanart to 400px
+    assertThat(ImageCache.calculateSubsampling(3840, 2160, 400, 225, CacheType.ULTRA_QUALITY)).isEqualTo(4);
+    // no upscaling
+    assertThat(ImageCache.calculateSubsampling(300, 200, 300, 200, CacheType.BALANCED)).isEqualTo(1);
+  }
+
+  private Path writeGif(Path file, int frames) throws Exception {
+    ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+    try (ImageOutputStream ios = ImageIO.createImageOutputStream(file.toFile())) {
+      writer.setOutput(ios);
+      writer.prepareWriteSequence(null);
+      for (int i = 0; i < frames; i++) {
+        BufferedImage image = new BufferedImage(16, 16, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(i, i, 0xFFFFFF);
+        writer.writeToSequence(new IIOImage(image, null, null), null);
+      }
+      writer.endWriteSequence();
+    }
+    finally {
+      writer.dispose();
+    }
+    return file;
+  }
+}
@@ -0,0 +1,110 @@
+package org.tinymediamanager.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.tinymediamanager.scraper.MediaMetadata;
+import org.tinymediamanager.scraper.MediaProviderInfo;
+import org.tinymediamanager.scraper.MediaScraper;
+import org.tinymediamanager.scraper.MediaSearchResult;
+import org.tinymediamanager.scraper.ScraperType;
+import org.tinymediamanager.scraper.entities.MediaType;
+import org.tinymediamanager.scraper.interfaces.IMediaProvider;
+
+public class MultiProviderSearchTest extends BasicTest {
+
+  @Test
+  public void testSearch() throws Exception {
+    MediaScraper tmdb = createScraper(MediaMetadata.TMDB);
+    MediaScraper imdb = createScraper(MediaMetadata.IMDB);
+    MediaScraper slow = createScraper("slow");
+
+    AtomicInteger searches = new AtomicInteger();
+    MultiProviderSearch.ProviderSearch search = scraper -> {
+      searches.incrementAndGet();
+      switch (scraper.getId()) {
+        case MediaMetadata.TMDB:
+          MediaSearchResult aladdin = new MediaSearchResult(MediaMetadata.TMDB, MediaType.MOVIE, "812", "Aladdin", 1992, 1f);
+          aladdin.setIMDBId("tt0103639");
+          return List.of(aladdin);
+
+        case MediaMetadata.IMDB:
+          MediaSearchResult duplicate = new MediaSearchResult(MediaMetadata.IMDB, MediaType.MOVIE, "tt0103639", "Aladdin", 1992, 0.9f);
+          MediaSearchResult remake = new MediaSearchResult(MediaMetadata.IMDB, MediaType.MOVIE, "tt6139732", "Aladdin", 2019, 0.8f);
+          return List.of(duplicate, remake);
+
+        default:
+          try {
+            Thread.sleep(10000);
+          }
+          catch (InterruptedException e) {
+            // cancelled by the timeout
+          }
+          return Collections.emptyList();
+      }
+    };
+
+    MultiProviderSearch session = new MultiProviderSearch(1000);
+    List<List<MultiProviderSearch.Result>> updates = Collections.synchronizedList(new ArrayList<>());
+
+    // the slow provider is skipped, the duplicate of IMDB is merged into the result of TMDB
+    List<MultiProviderSearch.Result> results = session.search(List.of(tmdb, imdb, slow), "aladdin", search, updates::add);
+    assertThat(results).hasSize(2);
+    assertThat(results.get(0).scraper()).isSameAs(tmdb);
+    assertThat(results.get(0).result().getIMDBId()).isEqualTo("tt0103639");
+    assertThat(results.get(1).result().getYear()).isEqualTo(2019);
+    assertThat(updates).hasSize(2);
+
+    // the answers are cached for the session
+    searches.set(0);
+    results = session.search(List.of(tmdb, imdb), "aladdin", search, null);
+    assertThat(results).hasSize(2);
+    assertThat(searches.get()).isZero();
+  }
+
+  @Test
+  public void testMergeDoesNotModifyAnswers() {
+    MediaScraper tmdb = createScraper(MediaMetadata.TMDB);
+    MediaScraper imdb = createScraper(MediaMetadata.IMDB);
+
+    MediaSearchResult aladdin = new MediaSearchResult(MediaMetadata.TMDB, MediaType.MOVIE, "812", "Aladdin", 1992, 1f);
+    aladdin.setIMDBId("tt0103639");
+    MediaSearchResult duplicate = new MediaSearchResult(MediaMetadata.IMDB, MediaType.MOVIE, "tt0103639", "Aladdin", 1992, 0.9f);
+    duplicate.setId(MediaMetadata.TRAKT_TV, "1234");
+
+    Map<MediaScraper, List<MediaSearchResult>> answers = new LinkedHashMap<>();
+    answers.put(tmdb, List.of(aladdin));
+    answers.put(imdb, List.of(duplicate));
+
+    List<MultiProviderSearch.Result> results = MultiProviderSearch.merge(List.of(tmdb, imdb), answers);
+    assertThat(results).hasSize(1);
+    assertThat(results.get(0).result().getIds()).containsEntry(MediaMetadata.TRAKT_TV, "1234");
+    assertThat(results.get(0).result().getTitle()).isEqualTo("Aladdin");
+
+    // the (cached) answer of TMDB is untouched
+    assertThat(aladdin.getIds()).doesNotContainKey(MediaMetadata.TRAKT_TV);
+  }
+
+  private MediaScraper createScraper(String id) {
+    return new MediaScraper(ScraperType.MOVIE, new IMediaProvider() {
+      private final MediaProviderInfo providerInfo = new MediaProviderInfo(id, "movie", id, id);
+
+      @Override
+      public MediaProviderInfo getProviderInfo() {
+        return providerInfo;
+      }
+
+      @Override
+      public boolean isActive() {
+        return true;
+      }
+    });
+  }
+}
@@ -0,0 +1,77 @@
+package org.tinymediamanager.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class RenameJournalTest extends BasicTest {
+
+  @Test
+  public void testRecover() throws Exception {
+    Path journalFile = getWorkFolder().resolve("test.rename.journal");
+
+    // a committed transaction stays
+    Path committedSource = Files.createFile(getWorkFolder().resolve("committed.mkv"));
+    Path committedDestination = getWorkFolder().resolve("committed-renamed.mkv");
+
+    RenameJournal journal = new RenameJournal(journalFile);
+    journal.open();
+    journal.execute("1", () -> {
+      try {
+        Utils.moveFileSafe(committedSource, committedDestination);
+      }
+      catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    journal.close();
+
+    assertThat(journalFile).doesNotExist();
+    assertThat(journal.recover()).isEmpty();
+    assertThat(committedDestination).exists();
+
+    // an unfinished transaction of a crashed run is being rolled back (except the moves before the checkpoint)
+    Path source = getWorkFolder().resolve("movie");
+    Path destination = Files.createDirectories(getWorkFolder().resolve("Movie (2024)"));
+    Path persistedSource = getWorkFolder().resolve("persisted.mkv");
+    Path persistedDestination = Files.createFile(getWorkFolder().resolve("persisted-renamed.mkv"));
+    Files.write(journalFile,
+        List.of("BEGIN\t2", "MOVE\t2\t" + persistedSource.toAbsolutePath() + "\t" + persistedDestination.toAbsolutePath(), "CHECKPOINT\t2",
+            "MOVE\t2\t" + source.toAbsolutePath() + "\t" + destination.toAbsolutePath(), "BEGIN\t3", "COMMIT\t3"),
+        StandardCharsets.UTF_8);
+
+    assertThat(journal.recover()).containsExactly("2");
+    assertThat(source).isDirectory();
+    assertThat(destination).doesNotExist();
+    assertThat(persistedDestination).exists();
+    assertThat(journalFile).doesNotExist();
+  }
+
+  @Test
+  public void testPersistBeforeCheckpointAndCommit() throws Exception {
+    Path journalFile = getWorkFolder().resolve("persist.rename.journal");
+    List<String> journalStates = new ArrayList<>();
+
+    // the database must be flushed before CHECKPOINT/COMMIT are written - record the journal content at flush time
+    RenameJournal journal = new RenameJournal(journalFile, () -> {
+      try {
+        journalStates.add(String.join(",", Files.readAllLines(journalFile, StandardCharsets.UTF_8)));
+      }
+      catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    journal.open();
+    journal.execute("1", RenameJournal::checkpoint);
+
+    assertThat(journalStates).containsExactly("BEGIN\t1", "BEGIN\t1,CHECKPOINT\t1");
+    assertThat(Files.readAllLines(journalFile, StandardCharsets.UTF_8)).containsExactly("BEGIN\t1", "CHECKPOINT\t1", "COMMIT\t1");
+    journal.close();
+  }
+}
@@ -0,0 +1,72 @@
+package org.tinymediamanager.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.tinymediamanager.core.movie.entities.Movie;
+
+public class TextSearchIndexTest extends BasicTest {
+
+  @Test
+  public void testSearch() {
+    TextSearchIndex<Movie> index = new TextSearchIndex<>(new FacetIndex<>());
+    index.registerField("title", movie -> Collections.singletonList(movie.getTitle()));
+
+    Movie amelie = new Movie();
+    amelie.setTitle("Le fabuleux destin d'Amélie Poulain");
+    Movie matrix = new Movie();
+    matrix.setTitle("The Matrix");
+    Movie empty = new Movie();
+
+    index.getFacetIndex().add(amelie);
+    index.getFacetIndex().add(matrix);
+    index.getFacetIndex().add(empty);
+
+    // case insensitive and without diacritics
+    assertThat(index.search("AMELIE", List.of("title"))).containsExactly(amelie);
+    assertThat(index.search("matr", List.of("title"))).containsExactly(matrix);
+    assertThat(index.search("xyz", List.of("title"))).isEmpty();
+
+    // candidates are a superset of the real matches
+    BitSet candidates = index.getCandidates("matrix", List.of("title"));
+    assertThat(candidates.get(index.getFacetIndex().getOrdinal(matrix))).isTrue();
+    assertThat(candidates.get(index.getFacetIndex().getOrdinal(amelie))).isFalse();
+
+    // regular expressions and short terms cannot be answered by the index
+    assertThat(TextSearchIndex.isIndexable("ma.*x")).isFalse();
+    assertThat(TextSearchIndex.isIndexable("ma")).isFalse();
+    assertThat(index.getCandidates("ma.*x", List.of("title")).cardinality()).isEqualTo(3);
+
+    // incremental update via property change
+    long stamp = index.getFacetIndex().getModificationStamp();
+    empty.setTitle("Matrix Reloaded");
+    assertThat(index.getFacetIndex().isCandidate(candidates, empty, stamp)).isTrue();
+    assertThat(index.search("matrix", List.of("title"))).containsExactlyInAnyOrder(matrix, empty);
+  }
+
+  @Test
+  public void testBuildInBackground() throws Exception {
+    TextSearchIndex<Movie> index = new TextSearchIndex<>(new FacetIndex<>());
+    index.registerField("plot", movie -> Collections.singletonList(movie.getPlot()));
+
+    Movie movie = new Movie();
+    movie.setPlot("A computer hacker learns about the true nature of reality");
+    index.getFacetIndex().add(movie);
+
+    // unknown fields are not indexed at all
+    assertThat(index.isBuilt(List.of("plot", "unknown"))).isFalse();
+
+    CountDownLatch latch = new CountDownLatch(1);
+    index.buildInBackground(List.of("plot", "unknown"), latch::countDown);
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(index.isBuilt(List.of("plot", "unknown"))).isTrue();
+    assertThat(index.getCandidates("hacker", List.of("plot")).get(index.getFacetIndex().getOrdinal(movie))).isTrue();
+  }
+}
@@ -0,0 +1,66 @@
+package org.tinymediamanager.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.junit.Test;
+import org.tinymediamanager.core.movie.entities.Movie;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+public class WriteBehindQueueTest extends BasicTest {
+
+  @Test
+  public void testFlush() {
+    ObjectMapper objectMapper = JsonMapper.builder()
+        .configure(MapperFeature.AUTO_DETECT_GETTERS, false)
+        .configure(MapperFeature.AUTO_DETECT_IS_GETTERS, false)
+        .configure(MapperFeature.AUTO_DETECT_SETTERS, false)
+        .configure(MapperFeature.AUTO_DETECT_FIELDS, false)
+        .build();
+
+    MVStore mvStore = MVStore.open(null);
+    MVMap<UUID, String> movieMap = mvStore.openMap("movies");
+
+    WriteBehindQueue queue = new WriteBehindQueue("test", () -> mvStore, 60000);
+    queue.register(Movie.class, () -> movieMap, objectMapper.writerFor(Movie.class));
+
+    Movie movie = new Movie();
+    movie.setTitle("Aladdin");
+
+    // not written before the flush delay
+    queue.enqueue(movie);
+    queue.flush(false);
+    assertThat(movieMap).isEmpty();
+    assertThat(queue.getStatistics().queueDepth()).isEqualTo(1);
+
+    queue.flush(true);
+    assertThat(movieMap.get(movie.getDbId())).contains("Aladdin");
+    assertThat(queue.getStatistics().queueDepth()).isZero();
+    assertThat(queue.getStatistics().entitiesWritten()).isEqualTo(1);
+    assertThat(queue.getStatistics().bytesWritten()).isEqualTo(movieMap.get(movie.getDbId()).length());
+
+    // unchanged entities are not written again
+    queue.enqueue(movie);
+    queue.flush(true);
+    assertThat(queue.getStatistics().entitiesWritten()).isEqualTo(1);
+
+    movie.setTitle("Aladdin 2");
+    queue.enqueue(movie);
+    queue.flush(true);
+    assertThat(movieMap.get(movie.getDbId())).contains("Aladdin 2");
+    assertThat(queue.getStatistics().entitiesWritten()).isEqualTo(2);
+
+    // removals are processed with the next flush
+    queue.remove(movie);
+    queue.flush(false);
+    assertThat(movieMap).isEmpty();
+
+    mvStore.close();
+  }
+}
@@ -0,0 +1,100 @@
+package org.tinymediamanager.core.entities;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.tinymediamanager.core.BasicTest;
+import org.tinymediamanager.core.MediaFileType;
+
+/**
+ * heap benchmark for a synthetic library of 100k movies (video + nfo + poster per movie)
+ */
+public class MediaFileMemoryTest extends BasicTest {
+  private static final int      MOVIES       = 100_000;
+  private static final String[] VIDEO_CODECS = { "h264", "h265", "mpeg2", "vc1" };
+  private static final String[] AUDIO_CODECS = { "ac3", "dts", "aac", "truehd", "eac3" };
+  private static final String[] LANGUAGES    = { "eng", "deu", "fra", "spa", "ita", "jpn" };
+
+  @Test
+  public void testHeapUsageOfSyntheticLibrary() {
+    long before = usedHeap();
+    List<MediaFile> library = createLibrary();
+    long compact = usedHeap() - before;
+
+    // every folder path exists only once and all codec/language values are shared among all media files
+    Set<String> paths = Collections.newSetFromMap(new IdentityHashMap<>());
+    Set<String> vocabulary = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (MediaFile mediaFile : library) {
+      paths.add(mediaFile.getPath());
+      vocabulary.add(mediaFile.getVideoCodec());
+      for (MediaFileAudioStream audioStream : mediaFile.getAudioStreams()) {
+        vocabulary.add(audioStream.getCodec());
+        vocabulary.add(audioStream.getLanguage());
+      }
+    }
+
+    assertThat(paths).hasSize(MOVIES);
+    assertThat(vocabulary).hasSize(1 + VIDEO_CODECS.length + AUDIO_CODECS.length + LANGUAGES.length); // + the empty string
+
+    // the old representation held a copy of all these strings and an eagerly created Path per media file
+    before = usedHeap();
+    List<Object> duplicates = new ArrayList<>();
+    for (MediaFile mediaFile : library) {
+      duplicates.add(new String(mediaFile.getPath()));
+      duplicates.add(Paths.get(mediaFile.getPath(), mediaFile.getFilename()).toAbsolutePath());
+      duplicates.add(new String(mediaFile.getVideoCodec()));
+      for (MediaFileAudioStream audioStream : mediaFile.getAudioStreams()) {
+        duplicates.add(new String(audioStream.getCodec()));
+        duplicates.add(new String(audioStream.getLanguage()));
+      }
+    }
+    long saved = usedHeap() - before;
+
+    System.out.println(String.format("%d media files: %d MB heap; the duplicate strings/paths of the old representation would add %d MB",
+        library.size(), compact / 1024 / 1024, saved / 1024 / 1024));
+    assertThat(duplicates).isNotEmpty();
+  }
+
+  private List<MediaFile> createLibrary() {
+    List<MediaFile> library = new ArrayList<>();
+
+    for (int i = 0; i < MOVIES; i++) {
+      Path folder = Paths.get("/media/movies", "Movie " + i + " (" + (1950 + i % 70) + ")");
+
+      // every media file gets its own copy of the folder/codec strings - like they are created when parsing the file system and mediainfo
+      MediaFile video = new MediaFile(Paths.get(folder.toString(), "Movie " + i + ".mkv"), MediaFileType.VIDEO);
+      video.setVideoCodec(new String(VIDEO_CODECS[i % VIDEO_CODECS.length]));
+
+      List<MediaFileAudioStream> audioStreams = new ArrayList<>();
+      for (int j = 0; j < 2; j++) {
+        MediaFileAudioStream audioStream = new MediaFileAudioStream();
+        audioStream.setCodec(new String(AUDIO_CODECS[(i + j) % AUDIO_CODECS.length]));
+        audioStream.setLanguage(new String(LANGUAGES[(i + j) % LANGUAGES.length]));
+        audioStreams.add(audioStream);
+      }
+      video.setAudioStreams(audioStreams);
+      library.add(video);
+
+      library.add(new MediaFile(Paths.get(folder.toString(), "Movie " + i + ".nfo"), MediaFileType.NFO));
+      library.add(new MediaFile(Paths.get(folder.toString(), "poster.jpg"), MediaFileType.POSTER));
+    }
+
+    return library;
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,74 @@
+package org.tinymediamanager.core.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.tinymediamanager.core.BasicTest;
+import org.tinymediamanager.core.entities.MediaGenres;
+import org.tinymediamanager.core.movie.entities.Movie;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class QueryHandlerTest extends BasicTest {
+
+  @Test
+  public void testQuery() throws Exception {
+    QueryHandler.Query query = QueryHandler.Query
+        .parse("fields=title,year&filter=ids.imdb:TT0103639,genres~anim&limit=5000&cursor=" + QueryHandler.encodeCursor("abc"));
+    assertThat(query.fields()).containsExactly("id", "title", "year");
+    assertThat(query.limit()).isEqualTo(QueryHandler.MAX_LIMIT);
+    assertThat(query.cursor()).isEqualTo("abc");
+    assertThat(query.details()).isFalse();
+
+    ObjectNode aladdin = (ObjectNode) new ObjectMapper()
+        .readTree("{\"title\":\"Aladdin\",\"ids\":{\"imdb\":\"tt0103639\"},\"genres\":[\"FAMILY\",\"ANIMATION\"]}");
+    ObjectNode remake = (ObjectNode) new ObjectMapper()
+        .readTree("{\"title\":\"Aladdin\",\"ids\":{\"imdb\":\"tt6139732\"},\"genres\":[\"FAMILY\",\"ANIMATION\"]}");
+    assertThat(query.matches(aladdin)).isTrue();
+    assertThat(query.matches(remake)).isFalse();
+
+    // the same query results in the same ETag
+    assertThat(QueryHandler.Query.parse("filter=title:aladdin")).isEqualTo(QueryHandler.Query.parse("filter=title:Aladdin"));
+
+    assertThatThrownBy(() -> QueryHandler.Query.parse("sort=title")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> QueryHandler.Query.parse("filter=title")).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void testFilterOnEntityFields() throws Exception {
+    ObjectMapper objectMapper = JsonMapper.builder()
+        .configure(MapperFeature.AUTO_DETECT_GETTERS, false)
+        .configure(MapperFeature.AUTO_DETECT_IS_GETTERS, false)
+        .configure(MapperFeature.AUTO_DETECT_SETTERS, false)
+        .configure(MapperFeature.AUTO_DETECT_FIELDS, false)
+        .build();
+
+    Movie aladdin = new Movie();
+    aladdin.setTitle("Aladdin");
+    aladdin.setYear(1992);
+    aladdin.setImdbId("tt0103639");
+    aladdin.addToGenres(List.of(MediaGenres.FAMILY, MediaGenres.ANIMATION));
+
+    EntityQuerySource<Movie> source = new EntityQuerySource<>(() -> List.of(aladdin), objectMapper.writerFor(Movie.class), () -> 1);
+
+    // single fields are being serialized with the writer of the entity
+    assertThat(source.getField(aladdin, "title").asText()).isEqualTo("Aladdin");
+    assertThat(source.getField(aladdin, "id").asText()).isEqualTo(aladdin.getDbId().toString());
+    assertThat(source.getField(aladdin, "unknown")).isNull();
+
+    assertThat(QueryHandler.Query.parse("filter=ids.imdb:TT0103639,genres~anim").matches(source, aladdin)).isTrue();
+    assertThat(QueryHandler.Query.parse("filter=title:aladdin,year:1992").matches(source, aladdin)).isTrue();
+    assertThat(QueryHandler.Query.parse("filter=id:" + aladdin.getDbId()).matches(source, aladdin)).isTrue();
+    assertThat(QueryHandler.Query.parse("filter=ids.imdb:tt6139732").matches(source, aladdin)).isFalse();
+
+    // the same result as filtering the whole entity
+    ObjectNode node = source.toJson(aladdin, false);
+    assertThat(QueryHandler.Query.parse("filter=ids.imdb:TT0103639,genres~anim").matches(node)).isTrue();
+  }
+}
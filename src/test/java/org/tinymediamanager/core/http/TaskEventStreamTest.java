@@ -0,0 +1,124 @@
+package org.tinymediamanager.core.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.tinymediamanager.core.BasicTest;
+import org.tinymediamanager.core.threading.TmmTaskHandle;
+
+public class TaskEventStreamTest extends BasicTest {
+
+  @Test
+  public void testProgressIsCoalesced() {
+    TaskEventStream stream = new TaskEventStream();
+    TaskEventStream.Client client = stream.new Client(null);
+    assertThat(stream.addClient(client)).isTrue();
+
+    TestTask task = new TestTask();
+    task.state = TmmTaskHandle.TaskState.STARTED;
+    for (int i = 1; i <= 10; i++) {
+      task.progressDone = i;
+      stream.processTaskEvent(task);
+    }
+    stream.flush();
+
+    // only the latest progress is being sent
+    List<String> frames = drain(client);
+    assertThat(frames).hasSize(1);
+    assertThat(frames.get(0)).contains("\"state\":\"STARTED\"").contains("\"progressDone\":10");
+
+    // nothing has changed - nothing to send
+    stream.flush();
+    assertThat(drain(client)).isEmpty();
+  }
+
+  @Test
+  public void testStateChangesAreNotCoalesced() {
+    TaskEventStream stream = new TaskEventStream();
+    TaskEventStream.Client client = stream.new Client(null);
+    stream.addClient(client);
+
+    TestTask task = new TestTask();
+    task.state = TmmTaskHandle.TaskState.QUEUED;
+    stream.processTaskEvent(task);
+    task.state = TmmTaskHandle.TaskState.STARTED;
+    task.progressDone = 1;
+    stream.processTaskEvent(task);
+    task.progressDone = 2;
+    stream.processTaskEvent(task);
+    task.state = TmmTaskHandle.TaskState.FINISHED;
+    stream.processTaskEvent(task);
+    stream.flush();
+
+    List<String> frames = drain(client);
+    assertThat(frames).hasSize(3);
+    assertThat(frames.get(0)).contains("\"state\":\"QUEUED\"");
+    assertThat(frames.get(1)).contains("\"state\":\"STARTED\"").contains("\"progressDone\":2");
+    assertThat(frames.get(2)).contains("\"state\":\"FINISHED\"");
+  }
+
+  @Test
+  public void testMaxClients() {
+    TaskEventStream stream = new TaskEventStream();
+
+    int added = 0;
+    for (int i = 0; i < 20; i++) {
+      if (stream.addClient(stream.new Client(null))) {
+        added++;
+      }
+    }
+    assertThat(added).isEqualTo(8);
+  }
+
+  private static List<String> drain(TaskEventStream.Client client) {
+    List<String> frames = new ArrayList<>();
+    String frame;
+    while ((frame = client.pollFrame()) != null) {
+      frames.add(frame);
+    }
+    return frames;
+  }
+
+  private static class TestTask implements TmmTaskHandle {
+    private TaskState state;
+    private int       progressDone;
+
+    @Override
+    public String getTaskName() {
+      return "test";
+    }
+
+    @Override
+    public int getWorkUnits() {
+      return 10;
+    }
+
+    @Override
+    public int getProgressDone() {
+      return progressDone;
+    }
+
+    @Override
+    public String getTaskDescription() {
+      return null;
+    }
+
+    @Override
+    public TaskState getState() {
+      return state;
+    }
+
+    @Override
+    public TaskType getType() {
+      return TaskType.BACKGROUND_TASK;
+    }
+
+    @Override
+    public void cancel() {
+      // nothing to do
+    }
+  }
+}
@@ -19,9 +19,13 @@ package org.tinymediamanager.core.mediainfo;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.tinymediamanager.core.MediaFileHelper.VIDEO_3D_HSBS;
 
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -125,6 +129,45 @@ public class MediaInfoTest extends BasicTest {
     // assertThat(mf.getAudioChannels()).isEqualTo("8ch");
   }
 
+  @Test
+  public void testBulkSnapshot() throws Exception {
+    copyResourceFolderToWorkFolder("samples");
+    Path samplesFolder = getWorkFolder().resolve("samples");
+
+    long bulkTime = 0;
+    long parameterTime = 0;
+
+    for (int run = 0; run < 5; run++) {
+      try (DirectoryStream<Path> stream = Files.newDirectoryStream(samplesFolder)) {
+        for (Path file : stream) {
+          try (MediaInfo mediaInfo = new MediaInfo()) {
+            if (!mediaInfo.open(file)) {
+              continue;
+            }
+
+            long start = System.nanoTime();
+            Map<MediaInfo.StreamKind, List<Map<String, String>>> bulk = mediaInfo.bulkSnapshot();
+            bulkTime += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Map<MediaInfo.StreamKind, List<Map<String, String>>> parameters = mediaInfo.parameterSnapshot();
+            parameterTime += System.nanoTime() - start;
+
+            // both snapshots must deliver the same parameters in the same order
+            assertThat(bulk).as(file.getFileName().toString()).isEqualTo(parameters);
+            for (Map.Entry<MediaInfo.StreamKind, List<Map<String, String>>> entry : bulk.entrySet()) {
+              for (int i = 0; i < entry.getValue().size(); i++) {
+                assertThat(entry.getValue().get(i).keySet()).containsExactlyElementsOf(parameters.get(entry.getKey()).get(i).keySet());
+              }
+            }
+          }
+        }
+      }
+    }
+
+    System.out.println("bulk snapshot: " + bulkTime / 1000000 + " ms, parameter snapshot: " + parameterTime / 1000000 + " ms");
+  }
+
   @Test
   public void testIsoXmlOldFormat() throws Exception {
     copyResourceFolderToWorkFolder("testmovies/MediainfoXML");
@@ -0,0 +1,44 @@
+package org.tinymediamanager.core.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+
+import org.junit.Test;
+import org.tinymediamanager.core.BasicTest;
+
+public class TmmMetricsTest extends BasicTest {
+
+  @Test
+  public void testPrometheusFormat() {
+    TmmMetrics metrics = new TmmMetrics();
+
+    metrics.counter("tmm_requests_total", "requests", "result", "hit").increment();
+    metrics.counter("tmm_requests_total", "requests", "result", "hit").increment(2);
+    metrics.counter("tmm_requests_total", "requests", "result", "miss").increment();
+    metrics.gauge("tmm_queue_depth", "queue depth", () -> 5, "queue", "a\"b");
+
+    Histogram histogram = metrics.histogram("tmm_duration_seconds", "durations", new double[] { 0.1, 1 }, "task", "update");
+    histogram.observe(0.25);
+    histogram.observe(0.5);
+    histogram.observe(3);
+
+    String text = metrics.toPrometheus();
+    assertThat(text).contains("# TYPE tmm_requests_total counter\n");
+    assertThat(text).contains("tmm_requests_total{result=\"hit\"} 3\n");
+    assertThat(text).contains("tmm_requests_total{result=\"miss\"} 1\n");
+    assertThat(text).contains("tmm_queue_depth{queue=\"a\\\"b\"} 5\n");
+    assertThat(text).contains("tmm_duration_seconds_bucket{task=\"update\",le=\"0.1\"} 0\n");
+    assertThat(text).contains("tmm_duration_seconds_bucket{task=\"update\",le=\"1\"} 2\n");
+    assertThat(text).contains("tmm_duration_seconds_bucket{task=\"update\",le=\"+Inf\"} 3\n");
+    assertThat(text).contains("tmm_duration_seconds_sum{task=\"update\"} 3.75\n");
+    assertThat(text).contains("tmm_duration_seconds_count{task=\"update\"} 3\n");
+
+    Map<String, Object> map = metrics.toMap();
+    assertThat(map).containsOnlyKeys("tmm_duration_seconds", "tmm_queue_depth", "tmm_requests_total");
+
+    // a name can only be used for one type
+    assertThatThrownBy(() -> metrics.timer("tmm_requests_total", "requests")).isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2012 - 2024 Manuel Laggner
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.tinymediamanager.core.movie;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.tinymediamanager.core.TmmModuleManager;
+import org.tinymediamanager.core.entities.DetailCache;
+import org.tinymediamanager.core.entities.Person;
+import org.tinymediamanager.core.http.EntityQuerySource;
+import org.tinymediamanager.core.movie.entities.Movie;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * the details of movies loaded from the database must be evictable (and reloadable) via the {@link DetailCache}
+ */
+public class MovieDetailCacheTest extends BasicMovieTest {
+  private static final int MOVIES = 500;
+  private static final int ACTORS = 50;
+
+  @Test
+  public void testEvictMoviesLoadedFromDatabase() throws Exception {
+    TmmModuleManager.getInstance().startUp();
+    MovieModuleManager.getInstance().startUp();
+
+    for (int i = 0; i < MOVIES; i++) {
+      Movie movie = new Movie();
+      movie.setTitle("Movie " + i);
+
+      List<Person> actors = new ArrayList<>();
+      for (int j = 0; j < ACTORS; j++) {
+        actors.add(new Person(Person.Type.ACTOR, "Actor " + i + "-" + j, "Role " + j));
+      }
+      movie.setActors(actors);
+
+      MovieModuleManager.getInstance().getMovieList().addMovie(movie);
+      movie.saveToDb();
+    }
+    MovieModuleManager.getInstance().shutDown();
+
+    // start again: the movies are loaded from the database and their details get evicted right away
+    MovieModuleManager.clearInstances();
+    MovieModuleManager.getInstance().startUp();
+
+    try {
+      List<Movie> movies = MovieModuleManager.getInstance().getMovieList().getMovies();
+      DetailCache detailCache = MovieModuleManager.getInstance().getDetailCache();
+
+      assertThat(movies).hasSize(MOVIES);
+      assertThat(detailCache.getStatistics().evictions()).isEqualTo(MOVIES);
+      assertThat(detailCache.getStatistics().resident()).isZero();
+
+      // the person names are resident - filters and the search index do not reload the details
+      for (Movie movie : movies) {
+        assertThat(movie.getPersonNames(Person.Type.ACTOR)).hasSize(ACTORS);
+      }
+      assertThat(detailCache.getStatistics().loads()).isZero();
+
+      long evicted = usedHeap();
+
+      // accessing the details loads them again
+      for (Movie movie : movies) {
+        assertThat(movie.getActors()).hasSize(ACTORS);
+      }
+      assertThat(detailCache.getStatistics().loads()).isEqualTo(MOVIES);
+      assertThat(detailCache.getStatistics().resident()).isEqualTo(MOVIES);
+
+      long loaded = usedHeap();
+
+      detailCache.evictAll(movies);
+      assertThat(detailCache.getStatistics().evictions()).isEqualTo(2L * MOVIES);
+      assertThat(detailCache.getStatistics().resident()).isZero();
+
+      long evictedAgain = usedHeap();
+
+      System.out.println(String.format("%d movies with %d actors each: %d KB heap with evicted details, %d KB with loaded details, %d KB after evicting",
+          MOVIES, ACTORS, evicted / 1024, loaded / 1024, evictedAgain / 1024));
+      assertThat(evictedAgain).isLessThan(loaded);
+    }
+    finally {
+      MovieModuleManager.getInstance().shutDown();
+      TmmModuleManager.getInstance().shutDown();
+    }
+  }
+
+  @Test
+  public void testQueryEvictedMovies() throws Exception {
+    TmmModuleManager.getInstance().startUp();
+    MovieModuleManager.getInstance().startUp();
+
+    Movie movie = new Movie();
+    movie.setTitle("Aladdin");
+    movie.setActors(List.of(new Person(Person.Type.ACTOR, "Robin Williams", "Genie")));
+    MovieModuleManager.getInstance().getMovieList().addMovie(movie);
+    movie.saveToDb();
+    MovieModuleManager.getInstance().shutDown();
+
+    MovieModuleManager.clearInstances();
+    MovieModuleManager.getInstance().startUp();
+
+    try {
+      List<Movie> movies = MovieModuleManager.getInstance().getMovieList().getMovies();
+      // the same (field based) mapping as the database
+      ObjectMapper objectMapper = JsonMapper.builder()
+          .configure(MapperFeature.AUTO_DETECT_GETTERS, false)
+          .configure(MapperFeature.AUTO_DETECT_IS_GETTERS, false)
+          .configure(MapperFeature.AUTO_DETECT_SETTERS, false)
+          .configure(MapperFeature.AUTO_DETECT_FIELDS, false)
+          .build();
+      EntityQuerySource<Movie> source = new EntityQuerySource<>(() -> movies, objectMapper.writerFor(Movie.class), () -> 1);
+      Movie evicted = movies.get(0);
+      assertThat(evicted.isDetailsLoaded()).isFalse();
+
+      // evicted details are not serialized as empty lists
+      assertThat(source.toJson(evicted, false).has("title")).isTrue();
+      assertThat(source.toJson(evicted, false).has("actors")).isFalse();
+      assertThat(evicted.isDetailsLoaded()).isFalse();
+
+      // filters on detail fields load the details
+      assertThat(source.getField(evicted, "actors")).hasSize(1);
+      assertThat(evicted.isDetailsLoaded()).isTrue();
+      assertThat(source.toJson(evicted, false).get("actors")).hasSize(1);
+    }
+    finally {
+      MovieModuleManager.getInstance().shutDown();
+      TmmModuleManager.getInstance().shutDown();
+    }
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -57,6 +57,43 @@ public class MovieMediaFileTest extends BasicMovieTest {
     assertThat(movie.getMainVideoFile()).isEqualTo(first);
   }
 
+  @Test
+  public void testMediaFileIndex() {
+    Movie movie = new Movie();
+
+    MediaFile small = new MediaFile(getWorkFolder().resolve("Index/small.avi"), MediaFileType.VIDEO);
+    small.setFilesize(100);
+    movie.addToMediaFiles(small);
+    MediaFile big = new MediaFile(getWorkFolder().resolve("Index/big.avi"), MediaFileType.VIDEO);
+    big.setFilesize(200);
+    movie.addToMediaFiles(big);
+    MediaFile nfo = new MediaFile(getWorkFolder().resolve("Index/movie.nfo"), MediaFileType.NFO);
+    movie.addToMediaFiles(nfo);
+
+    assertThat(movie.getMediaFilesView(MediaFileType.VIDEO)).containsExactlyInAnyOrder(small, big);
+    assertThat(movie.getMediaFilesView(MediaFileType.POSTER)).isEmpty();
+    assertThat(movie.getBiggestMediaFile(MediaFileType.VIDEO)).isSameAs(big);
+
+    // the index is not rebuilt (nor copied) without any change
+    assertThat(movie.getMediaFiles(MediaFileType.VIDEO)).isSameAs(movie.getMediaFilesView(MediaFileType.VIDEO));
+
+    // changing the size/type via the setters of the media file invalidates the index
+    small.setFilesize(300);
+    assertThat(movie.getBiggestMediaFile(MediaFileType.VIDEO)).isSameAs(small);
+
+    nfo.setType(MediaFileType.TEXT);
+    assertThat(movie.getMediaFilesView(MediaFileType.NFO)).isEmpty();
+    assertThat(movie.getMediaFiles(MediaFileType.NFO, MediaFileType.TEXT)).containsExactly(nfo);
+
+    // the returned list is a snapshot which can be iterated while removing media files
+    for (MediaFile mediaFile : movie.getMediaFiles(MediaFileType.VIDEO)) {
+      if (mediaFile == big) {
+        movie.removeFromMediaFiles(mediaFile);
+      }
+    }
+    assertThat(movie.getMediaFilesView(MediaFileType.VIDEO)).containsExactly(small);
+  }
+
   @Test
   public void mediaFileDetectionTest() {
     // video
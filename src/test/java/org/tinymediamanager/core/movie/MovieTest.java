@@ -15,12 +15,16 @@
  */
 package org.tinymediamanager.core.movie;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.junit.Test;
 import org.tinymediamanager.core.Utils;
+import org.tinymediamanager.core.entities.MediaFile;
 import org.tinymediamanager.core.movie.entities.Movie;
 import org.tinymediamanager.scraper.util.ParserUtils;
 import org.tinymediamanager.scraper.util.StrgUtils;
@@ -32,6 +36,36 @@ import org.tinymediamanager.scraper.util.StrgUtils;
 public class MovieTest extends BasicMovieTest {
   private Movie m = new Movie();
 
+  @Test
+  public void testDuplicateKeys() {
+    Movie movie = new Movie();
+    movie.setTitle("Aladdin");
+    movie.setYear(1992);
+    movie.setImdbId("tt0103639");
+    movie.setTmdbId(812);
+    MediaFile video = new MediaFile(Paths.get("/movies/Aladdin (1992)/Aladdin.mkv"));
+    video.setDurationInMinutes(90);
+    movie.addToMediaFiles(video);
+
+    MovieSettings settings = MovieModuleManager.getInstance().getSettings();
+    boolean fingerprintMode = settings.isDuplicateFingerprintMode();
+    try {
+      settings.setDuplicateFingerprintMode(false);
+      assertThat(MovieList.getDuplicateKeys(movie)).containsExactlyInAnyOrder("imdbtt0103639", "tmdb812");
+
+      // title, year and runtime are only a key in the fingerprint mode
+      settings.setDuplicateFingerprintMode(true);
+      assertThat(MovieList.getDuplicateKeys(movie)).contains("runtime:aladdin:1992:90");
+
+      // no runtime - no key
+      video.setDuration(0);
+      assertThat(MovieList.getDuplicateKeys(movie)).noneMatch(key -> key.startsWith("runtime:"));
+    }
+    finally {
+      settings.setDuplicateFingerprintMode(fingerprintMode);
+    }
+  }
+
   @Test
   public void testNamingDetection() {
     String longest = StrgUtils.getLongestString(new String[] { "exq-theequalizer-720p.mkv", "The.Equalizer.German.720p.BluRay.x264-EXQUiSiTE" });
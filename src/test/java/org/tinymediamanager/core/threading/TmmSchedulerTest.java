@@ -0,0 +1,57 @@
+package org.tinymediamanager.core.threading;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.tinymediamanager.core.BasicTest;
+import org.tinymediamanager.core.threading.TmmScheduler.Priority;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
+
+public class TmmSchedulerTest extends BasicTest {
+
+  @Test
+  public void testPriorityOrder() throws Exception {
+    TmmScheduler scheduler = TmmScheduler.getInstance();
+    Object device = "test-device";
+
+    // occupy the whole disk budget of this device
+    CountDownLatch first = new CountDownLatch(1);
+    CountDownLatch second = new CountDownLatch(1);
+    Future<Object> blocker1 = scheduler.submit(ResourceClass.DISK, device, Priority.NORMAL, () -> await(first));
+    Future<Object> blocker2 = scheduler.submit(ResourceClass.DISK, device, Priority.NORMAL, () -> await(second));
+
+    List<String> order = Collections.synchronizedList(new ArrayList<>());
+    List<Future<Object>> jobs = new ArrayList<>();
+    jobs.add(scheduler.submit(ResourceClass.DISK, device, Priority.LOW, () -> order.add("low")));
+    jobs.add(scheduler.submit(ResourceClass.DISK, device, Priority.NORMAL, () -> order.add("normal1")));
+    jobs.add(scheduler.submit(ResourceClass.DISK, device, Priority.HIGH, () -> order.add("high")));
+    jobs.add(scheduler.submit(ResourceClass.DISK, device, Priority.NORMAL, () -> order.add("normal2")));
+
+    // free one slot: all waiting jobs run one after another in the order of their priority
+    first.countDown();
+    for (Future<Object> job : jobs) {
+      job.get(10, TimeUnit.SECONDS);
+    }
+    assertThat(order).containsExactly("high", "normal1", "normal2", "low");
+
+    second.countDown();
+    blocker1.get(10, TimeUnit.SECONDS);
+    blocker2.get(10, TimeUnit.SECONDS);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
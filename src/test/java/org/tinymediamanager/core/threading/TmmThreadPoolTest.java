@@ -0,0 +1,48 @@
+package org.tinymediamanager.core.threading;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.tinymediamanager.core.BasicTest;
+import org.tinymediamanager.core.threading.TmmScheduler.Priority;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
+
+public class TmmThreadPoolTest extends BasicTest {
+
+  @Test
+  public void testNestedPoolRunsInParallel() throws Exception {
+    // both jobs of the nested pool wait for each other - they only finish in time if they do not run one after another
+    CountDownLatch latch = new CountDownLatch(2);
+    List<Object> results = Collections.synchronizedList(new ArrayList<>());
+
+    TmmThreadPool pool = new TmmThreadPool("nested") {
+      @Override
+      protected void doInBackground() {
+        initThreadPool(2, "nested");
+        for (int i = 0; i < 2; i++) {
+          submitTask(() -> {
+            latch.countDown();
+            return latch.await(5, TimeUnit.SECONDS);
+          });
+        }
+        waitForCompletionOrCancel();
+      }
+
+      @Override
+      public void callback(Object obj) {
+        results.add(obj);
+      }
+    };
+
+    // run the pool embedded in a job of the scheduler (like a pool started by a job of another pool)
+    TmmScheduler.getInstance().submit(ResourceClass.CPU, null, Priority.NORMAL, pool::doInBackground).get(10, TimeUnit.SECONDS);
+
+    assertThat(results).containsExactly(true, true);
+  }
+}
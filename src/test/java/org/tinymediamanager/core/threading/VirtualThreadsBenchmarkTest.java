@@ -0,0 +1,123 @@
+package org.tinymediamanager.core.threading;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.tinymediamanager.core.BasicTest;
+import org.tinymediamanager.core.threading.TmmScheduler.ResourceClass;
+import org.tinymediamanager.scraper.http.TmmHttpClient;
+
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * compares the wall-clock time of a bulk scrape (every scrape queries all providers) with platform threads and with virtual threads against
+ * local mock servers with a fixed latency
+ */
+public class VirtualThreadsBenchmarkTest extends BasicTest {
+  private static final int          PROVIDERS      = 4;
+  private static final int          SCRAPES        = 40;
+  private static final int          SCRAPE_THREADS = 3;
+  private static final long         LATENCY_MS     = 50;
+
+  private final List<MockWebServer> providers      = new ArrayList<>();
+
+  @Before
+  public void setup() throws Exception {
+    super.setup();
+
+    for (int i = 0; i < PROVIDERS; i++) {
+      MockWebServer server = new MockWebServer();
+      server.setDispatcher(new Dispatcher() {
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+          return new MockResponse().setResponseCode(200).setBody("{\"title\":\"Movie\"}").setHeadersDelay(LATENCY_MS, TimeUnit.MILLISECONDS);
+        }
+      });
+      server.start();
+      providers.add(server);
+    }
+  }
+
+  @After
+  public void shutDown() throws Exception {
+    VirtualThreads.setEnabled(false);
+    for (MockWebServer server : providers) {
+      server.shutdown();
+    }
+  }
+
+  @Test
+  public void testBulkScrape() throws Exception {
+    VirtualThreads.setEnabled(false);
+    long platform = runBulkScrape();
+
+    Assume.assumeTrue("virtual threads are not supported by this JDK", VirtualThreads.isSupported());
+
+    VirtualThreads.setEnabled(true);
+    long virtual = runBulkScrape();
+
+    System.out.printf("bulk scrape of %d items with %d providers: platform threads %d ms, virtual threads %d ms%n", SCRAPES, PROVIDERS,
+        platform, virtual);
+  }
+
+  private long runBulkScrape() {
+    BulkScrapeTask task = new BulkScrapeTask();
+    long start = System.nanoTime();
+    task.run();
+    long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertThat(task.successful.get()).isEqualTo(SCRAPES);
+    return duration;
+  }
+
+  private class BulkScrapeTask extends TmmThreadPool {
+    private final AtomicInteger successful = new AtomicInteger();
+
+    private BulkScrapeTask() {
+      super("benchmark");
+    }
+
+    @Override
+    protected void doInBackground() {
+      initThreadPool(SCRAPE_THREADS, "benchmark", ResourceClass.NETWORK);
+
+      for (int i = 0; i < SCRAPES; i++) {
+        String id = Integer.toString(i);
+        submitTask(() -> {
+          // one search per provider - just like a scrape with all (meta data and artwork) providers
+          for (MockWebServer server : providers) {
+            Request request = new Request.Builder().url(server.url("/movie/" + id)).build();
+            try (Response response = TmmHttpClient.getHttpClient().newCall(request).execute()) {
+              if (!response.isSuccessful()) {
+                return false;
+              }
+            }
+          }
+          return true;
+        });
+      }
+
+      waitForCompletionOrCancel();
+    }
+
+    @Override
+    public void callback(Object obj) {
+      if (Boolean.TRUE.equals(obj)) {
+        successful.incrementAndGet();
+      }
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package org.tinymediamanager.core.tvshow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Paths;
+
+import org.junit.Test;
+import org.tinymediamanager.core.MediaFileType;
+import org.tinymediamanager.core.entities.MediaFile;
+import org.tinymediamanager.core.tvshow.entities.TvShow;
+import org.tinymediamanager.core.tvshow.entities.TvShowEpisode;
+import org.tinymediamanager.scraper.entities.MediaEpisodeGroup;
+import org.tinymediamanager.scraper.entities.MediaEpisodeNumber;
+
+public class TvShowEpisodeIndexTest extends BasicTvShowTest {
+
+  @Test
+  public void testIndexedLookups() {
+    TvShow show = new TvShow();
+
+    MediaFile video = new MediaFile(Paths.get("/tv/show/S01E01.mkv"), MediaFileType.VIDEO);
+    TvShowEpisode ep1 = new TvShowEpisode();
+    ep1.setEpisode(new MediaEpisodeNumber(MediaEpisodeGroup.DEFAULT_AIRED, 1, 1));
+    ep1.setEpisode(new MediaEpisodeNumber(MediaEpisodeGroup.DEFAULT_DVD, 1, 3));
+    ep1.setTvShow(show);
+    ep1.addToMediaFiles(video);
+    show.addEpisode(ep1);
+
+    TvShowEpisode ep2 = new TvShowEpisode();
+    ep2.setEpisode(new MediaEpisodeNumber(MediaEpisodeGroup.DEFAULT_AIRED, 1, 2));
+    ep2.setTvShow(show);
+    ep2.addToMediaFiles(new MediaFile(Paths.get("/tv/show/S01E02.mkv"), MediaFileType.VIDEO));
+    show.addEpisode(ep2);
+
+    assertThat(show.getEpisode(1, 1)).containsExactly(ep1);
+    assertThat(show.getEpisodeInDvdOrder(1, 3)).containsExactly(ep1);
+    assertThat(show.getEpisodesByFile(Paths.get("/tv/show/S01E02.mkv"))).containsExactly(ep2);
+
+    // renumbering
+    ep2.setEpisode(new MediaEpisodeNumber(MediaEpisodeGroup.DEFAULT_AIRED, 1, 3));
+    assertThat(show.getEpisode(1, 2)).isEmpty();
+    assertThat(show.getEpisode(1, 3)).containsExactly(ep2);
+
+    // a second episode in the same file (multi episode file)
+    TvShowEpisode ep3 = new TvShowEpisode();
+    ep3.setEpisode(new MediaEpisodeNumber(MediaEpisodeGroup.DEFAULT_AIRED, 1, 4));
+    ep3.setTvShow(show);
+    ep3.addToMediaFiles(new MediaFile(Paths.get("/tv/show/S01E02.mkv"), MediaFileType.VIDEO));
+    show.addEpisode(ep3);
+    assertThat(show.getEpisodesByFile(Paths.get("/tv/show/S01E02.mkv"))).containsExactly(ep2, ep3);
+
+    // changed media files are re-indexed right away (not with the property change events on the EDT)
+    MediaFile subtitle = new MediaFile(Paths.get("/tv/show/S01E02.srt"), MediaFileType.SUBTITLE);
+    ep2.addToMediaFiles(subtitle);
+    assertThat(show.getEpisodesByFile(Paths.get("/tv/show/S01E02.srt"))).containsExactly(ep2);
+    ep2.removeFromMediaFiles(subtitle);
+    assertThat(show.getEpisodesByFile(Paths.get("/tv/show/S01E02.srt"))).isEmpty();
+
+    // renaming the file in place (without any event)
+    video.setFile(Paths.get("/tv/show/Season 1/S01E01.mkv"));
+    assertThat(show.getEpisodesByFile(Paths.get("/tv/show/S01E01.mkv"))).isEmpty();
+    assertThat(show.getEpisodesByFile(Paths.get("/tv/show/Season 1/S01E01.mkv"))).containsExactly(ep1);
+  }
+}
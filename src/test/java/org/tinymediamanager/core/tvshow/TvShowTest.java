@@ -17,9 +17,12 @@ package org.tinymediamanager.core.tvshow;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.file.Paths;
+
 import org.apache.commons.io.FilenameUtils;
 import org.junit.Before;
 import org.junit.Test;
+import org.tinymediamanager.core.MediaFileType;
 import org.tinymediamanager.core.TmmModuleManager;
 import org.tinymediamanager.core.entities.MediaFile;
 import org.tinymediamanager.core.tvshow.TvShowEpisodeAndSeasonParser.EpisodeMatchingResult;
@@ -42,6 +45,35 @@ public class TvShowTest extends BasicTvShowTest {
     setTraceLogging();
   }
 
+  @Test
+  public void testEpisodeDuplicateKeys() {
+    TvShow tvShow = new TvShow();
+
+    TvShowEpisode episode = new TvShowEpisode();
+    episode.setEpisode(new MediaEpisodeNumber(MediaEpisodeGroup.DEFAULT_AIRED, 1, 2));
+    episode.setTvShow(tvShow);
+
+    // duplicates are only searched within the same TV show
+    assertThat(TvShowList.getDuplicateKeys(episode)).containsExactly(tvShow.getDbId() + ":S1E2");
+
+    // no key for unknown S/E
+    TvShowEpisode unknown = new TvShowEpisode();
+    unknown.setTvShow(tvShow);
+    assertThat(TvShowList.getDuplicateKeys(unknown)).isEmpty();
+
+    // no key without a TV show
+    TvShowEpisode orphan = new TvShowEpisode();
+    orphan.setEpisode(new MediaEpisodeNumber(MediaEpisodeGroup.DEFAULT_AIRED, 1, 2));
+    assertThat(TvShowList.getDuplicateKeys(orphan)).isEmpty();
+
+    // episodes of a multi episode file are not compared by their (shared) fingerprint
+    MediaFile video = new MediaFile(Paths.get("/tv/show/S01E02E03.mkv"), MediaFileType.VIDEO);
+    episode.addToMediaFiles(video);
+    assertThat(TvShowList.getFingerprintFile(episode)).isSameAs(video);
+    episode.setMultiEpisode(true);
+    assertThat(TvShowList.getFingerprintFile(episode)).isNull();
+  }
+
   @Test
   public void testTvShows() {
     try {
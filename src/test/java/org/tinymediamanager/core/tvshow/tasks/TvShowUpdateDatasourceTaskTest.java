@@ -18,6 +18,8 @@ package org.tinymediamanager.core.tvshow.tasks;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -65,6 +67,54 @@ public class TvShowUpdateDatasourceTaskTest extends BasicTvShowTest {
     check();
   }
 
+  @Test
+  public void udsBigShow() throws Exception {
+    // more than 2 partitions of new episodes - the metadata is being parsed concurrently
+    Path showFolder = getWorkFolder().resolve("bigshows/Big Show");
+    Files.createDirectories(showFolder);
+
+    int episodes = 70;
+    for (int i = 1; i <= episodes; i++) {
+      String basename = String.format("Big Show - S%02dE%02d", season(i), episode(i));
+      Files.createFile(showFolder.resolve(basename + ".mkv"));
+      if (i % 7 == 0) {
+        Files.writeString(showFolder.resolve(basename + ".nfo"), "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n<episodedetails>\n"
+            + "  <title>Title " + i + "</title>\n  <season>" + season(i) + "</season>\n  <episode>" + episode(i) + "</episode>\n</episodedetails>\n");
+      }
+    }
+
+    String dataSource = getWorkFolder().resolve("bigshows").toAbsolutePath().toString();
+    TvShowModuleManager.getInstance().getSettings().addTvShowDataSources(dataSource);
+    new TvShowUpdateDatasourceTask(dataSource).run();
+
+    TvShow show = TvShowModuleManager.getInstance().getTvShowList().getTvShowByPath(showFolder);
+    assertThat(show).isNotNull();
+    assertThat(show.getEpisodes()).hasSize(episodes);
+
+    // every episode got the metadata of its own files - regardless of the partition/thread it has been parsed in
+    for (int i = 1; i <= episodes; i++) {
+      String filename = String.format("Big Show - S%02dE%02d.mkv", season(i), episode(i));
+      List<TvShowEpisode> found = show.getEpisodes()
+          .stream()
+          .filter(episode -> episode.getMainVideoFile().getFilename().equals(filename))
+          .toList();
+      assertThat(found).as(filename).hasSize(1);
+      assertThat(found.get(0).getSeason()).as(filename).isEqualTo(season(i));
+      assertThat(found.get(0).getEpisode()).as(filename).isEqualTo(episode(i));
+      if (i % 7 == 0) {
+        assertThat(found.get(0).getTitle()).as(filename).isEqualTo("Title " + i);
+      }
+    }
+  }
+
+  private static int season(int i) {
+    return i <= 40 ? 1 : 2;
+  }
+
+  private static int episode(int i) {
+    return i <= 40 ? i : i - 40;
+  }
+
   private void check() throws Exception {
     TvShowList tvShowList = TvShowModuleManager.getInstance().getTvShowList();
 
@@ -0,0 +1,57 @@
+package org.tinymediamanager.scraper.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.tinymediamanager.core.BasicTest;
+
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+public class TmmHttpHostLimitInterceptorTest extends BasicTest {
+
+  @After
+  public void tearDown() {
+    TmmHttpHostLimitInterceptor.setMaxRequestsPerHost(0);
+  }
+
+  @Test
+  public void testPermitIsHeldUntilTheBodyIsClosed() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try (MockWebServer server = new MockWebServer()) {
+      server.enqueue(new MockResponse().setBody("first"));
+      server.enqueue(new MockResponse().setBody("second"));
+      server.start();
+
+      TmmHttpHostLimitInterceptor.setMaxRequestsPerHost(1);
+      Request request = new Request.Builder().url(server.url("/")).build();
+
+      // the body of the first response has not been read yet - the second request has to wait
+      Response first = TmmHttpClient.getHttpClient().newCall(request).execute();
+      Future<String> second = executor.submit(() -> {
+        try (Response response = TmmHttpClient.getHttpClient().newCall(request).execute()) {
+          return response.body().string();
+        }
+      });
+
+      Thread.sleep(300);
+      assertThat(second.isDone()).isFalse();
+
+      assertThat(first.body().string()).isEqualTo("first");
+      first.close();
+      assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package org.tinymediamanager.thirdparty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.tinymediamanager.core.BasicTest;
+import org.tinymediamanager.jsonrpc.api.AbstractCall;
+import org.tinymediamanager.jsonrpc.api.call.VideoLibrary;
+import org.tinymediamanager.jsonrpc.io.ApiCallback;
+
+public class KodiCallBatchTest extends BasicTest {
+
+  @Test
+  public void testOutOfOrderResponses() throws Exception {
+    List<VideoLibrary.RefreshMovie> calls = createCalls(5);
+    List<AbstractCall<?>> answered = new ArrayList<>();
+
+    // answer the calls in reverse order once all calls have been sent; the 2nd call fails
+    FakeTransport transport = new FakeTransport() {
+      @Override
+      void allSent() {
+        for (int i = sent.size() - 1; i >= 0; i--) {
+          if (i == 1) {
+            callbacks.get(i).onError(-32602, "Invalid params", null);
+          }
+          else {
+            answered.add(sent.get(i));
+            callbacks.get(i).onResponse(sent.get(i));
+          }
+        }
+      }
+    };
+    transport.expected = calls.size();
+
+    KodiCallBatch batch = new KodiCallBatch(calls);
+    List<AbstractCall<?>> unanswered = batch.execute(transport, 1000);
+
+    // every response is being matched to its call
+    assertThat(unanswered).isEmpty();
+    assertThat(transport.sent).containsExactlyElementsOf(calls);
+    assertThat(answered).containsExactly(calls.get(4), calls.get(3), calls.get(2), calls.get(0));
+
+    // errors are not being retried
+    assertThat(batch.isFailed(1)).isTrue();
+    assertThat(batch.isFailed(0)).isFalse();
+    assertThat(batch.isFailed(4)).isFalse();
+  }
+
+  @Test
+  public void testUnansweredCalls() throws Exception {
+    List<VideoLibrary.RefreshMovie> calls = createCalls(4);
+
+    // the 3rd call is never answered
+    FakeTransport transport = new FakeTransport() {
+      @Override
+      void allSent() {
+        for (int i = 0; i < sent.size(); i++) {
+          if (i != 2) {
+            callbacks.get(i).onResponse(sent.get(i));
+          }
+        }
+      }
+    };
+    transport.expected = calls.size();
+
+    KodiCallBatch batch = new KodiCallBatch(calls);
+    List<AbstractCall<?>> unanswered = batch.execute(transport, 100);
+
+    // the unanswered call is being returned to be sent one by one
+    assertThat(unanswered).containsExactly(calls.get(2));
+    assertThat(batch.isFailed(2)).isFalse();
+  }
+
+  @Test
+  public void testIdempotentCalls() {
+    // reading calls can be sent again, refreshing calls might be executed twice
+    assertThat(KodiCallBatch.isIdempotent(new VideoLibrary.GetMovieDetails(1))).isTrue();
+    assertThat(KodiCallBatch.isIdempotent(new VideoLibrary.GetEpisodeDetails(1))).isTrue();
+    assertThat(KodiCallBatch.isIdempotent(new VideoLibrary.RefreshMovie(1, false))).isFalse();
+    assertThat(KodiCallBatch.isIdempotent(new VideoLibrary.RefreshTVShow(1, false, true))).isFalse();
+    assertThat(KodiCallBatch.isIdempotent(new VideoLibrary.RefreshEpisode(1, false))).isFalse();
+  }
+
+  @Test
+  public void testTransportError() throws Exception {
+    List<VideoLibrary.RefreshMovie> calls = createCalls(4);
+
+    // the connection breaks down while sending the 3rd call
+    FakeTransport transport = new FakeTransport() {
+      @Override
+      public void call(AbstractCall<?> call, ApiCallback<?> callback) throws Exception {
+        if (sent.size() == 2) {
+          throw new IOException("connection reset");
+        }
+        super.call(call, callback);
+        callbacks.get(callbacks.size() - 1).onResponse(call);
+      }
+    };
+
+    long start = System.currentTimeMillis();
+    List<AbstractCall<?>> unanswered = new KodiCallBatch(calls).execute(transport, 10000);
+
+    // all calls which have not been sent are being returned without waiting for the timeout
+    assertThat(unanswered).containsExactly(calls.get(2), calls.get(3));
+    assertThat(System.currentTimeMillis() - start).isLessThan(10000);
+  }
+
+  private List<VideoLibrary.RefreshMovie> createCalls(int count) {
+    List<VideoLibrary.RefreshMovie> calls = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      calls.add(new VideoLibrary.RefreshMovie(i + 1, false));
+    }
+    return calls;
+  }
+
+  /**
+   * collects the sent calls and their callbacks instead of sending them to Kodi
+   */
+  @SuppressWarnings({ "rawtypes" })
+  private static class FakeTransport implements KodiCallBatch.Transport {
+    final List<AbstractCall> sent      = new ArrayList<>();
+    final List<ApiCallback>  callbacks = new ArrayList<>();
+    int                      expected  = -1;
+
+    @Override
+    public void call(AbstractCall<?> call, ApiCallback<?> callback) throws Exception {
+      sent.add(call);
+      callbacks.add(callback);
+      if (sent.size() == expected) {
+        allSent();
+      }
+    }
+
+    void allSent() {
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package org.tinymediamanager.thirdparty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.Test;
+import org.tinymediamanager.core.BasicTest;
+
+public class KodiMappingCacheTest extends BasicTest {
+
+  @Test
+  public void testPersistence() throws Exception {
+    Path file = getWorkFolder().resolve("kodi").resolve("localhost_8080.json");
+
+    UUID movie = UUID.randomUUID();
+    UUID tvShow = UUID.randomUUID();
+    UUID episode = UUID.randomUUID();
+
+    KodiMappingCache cache = new KodiMappingCache();
+    cache.load(file);
+    assertThat(cache.isMovieMappingValid()).isFalse();
+
+    cache.setMovies(Map.of(movie, 1));
+    cache.setTvShows(Map.of(tvShow, 2));
+    cache.setEpisodes(tvShow, List.of(episode), Map.of(episode, 3));
+    cache.save();
+
+    // load the persisted mappings
+    KodiMappingCache loaded = new KodiMappingCache();
+    loaded.load(file);
+    assertThat(loaded.isMovieMappingValid()).isTrue();
+    assertThat(loaded.isTvShowMappingValid()).isTrue();
+    assertThat(loaded.movies()).containsEntry(movie, 1);
+    assertThat(loaded.episodes()).containsEntry(episode, 3);
+    assertThat(loaded.mappedTvShows()).containsExactly(tvShow);
+
+    // incremental updates
+    loaded.removeKodiId(loaded.movies(), 1);
+    loaded.put(loaded.episodes(), episode, 4);
+    loaded.save();
+
+    cache.load(file);
+    assertThat(cache.movies()).isEmpty();
+    assertThat(cache.episodes()).containsEntry(episode, 4);
+  }
+
+  @Test
+  public void testMappingByKodiType() {
+    UUID movie = UUID.randomUUID();
+
+    KodiMappingCache cache = new KodiMappingCache();
+    cache.setMovies(Map.of(movie, 1));
+
+    assertThat(cache.mapping("movie")).isSameAs(cache.movies());
+    assertThat(cache.mapping("tvshow")).isSameAs(cache.tvShows());
+    assertThat(cache.mapping("episode")).isSameAs(cache.episodes());
+    assertThat(cache.mapping("song")).isNull();
+    assertThat(cache.mapping(null)).isNull();
+
+    // drop an outdated entry
+    cache.remove(cache.movies(), movie);
+    assertThat(cache.movies()).isEmpty();
+  }
+
+  @Test
+  public void testReplaceMapping() {
+    UUID movie1 = UUID.randomUUID();
+    UUID movie2 = UUID.randomUUID();
+
+    KodiMappingCache cache = new KodiMappingCache();
+    cache.setMovies(Map.of(movie1, 1));
+    Map<UUID, Integer> oldMovies = cache.movies();
+
+    // the mapping is being replaced as a whole - readers of the old mapping never see it half built
+    cache.setMovies(Map.of(movie2, 2));
+    assertThat(oldMovies).containsOnlyKeys(movie1);
+    assertThat(cache.movies()).containsOnlyKeys(movie2);
+  }
+
+  @Test
+  public void testNotificationRemove() {
+    UUID movie1 = UUID.randomUUID();
+    UUID movie2 = UUID.randomUUID();
+
+    KodiRPC kodiRPC = new KodiRPC();
+    kodiRPC.getMappings().setMovies(Map.of(movie1, 1, movie2, 2));
+
+    // removals are being applied immediately
+    kodiRPC.libraryItemChanged("movie", 1, true);
+    assertThat(kodiRPC.getMappings().movies()).containsOnlyKeys(movie2);
+
+    // unknown types and ids are being ignored
+    kodiRPC.libraryItemChanged("song", 2, true);
+    kodiRPC.libraryItemChanged(null, 2, true);
+    kodiRPC.libraryItemChanged("movie", null, true);
+    assertThat(kodiRPC.getMappings().movies()).containsOnlyKeys(movie2);
+    assertThat(kodiRPC.getPendingUpdates()).isEmpty();
+  }
+
+  @Test
+  public void testNotificationUpdate() {
+    UUID episode = UUID.randomUUID();
+
+    KodiRPC kodiRPC = new KodiRPC();
+    kodiRPC.getMappings().setEpisodes(UUID.randomUUID(), List.of(episode), Map.of(episode, 5));
+
+    // updates are being collected (and coalesced) to be mapped in one batch
+    kodiRPC.libraryItemChanged("episode", 5, false);
+    kodiRPC.libraryItemChanged("episode", 5, false);
+    kodiRPC.libraryItemChanged("episode", 6, false);
+    kodiRPC.libraryItemChanged("movie", 7, false);
+
+    assertThat(kodiRPC.getPendingUpdates()).containsOnlyKeys("episode", "movie");
+    assertThat(kodiRPC.getPendingUpdates().get("episode")).isEqualTo(Set.of(5, 6));
+    assertThat(kodiRPC.getPendingUpdates().get("movie")).isEqualTo(Set.of(7));
+
+    // the mapping is untouched until the update has been processed
+    assertThat(kodiRPC.getMappings().episodes()).containsEntry(episode, 5);
+  }
+}
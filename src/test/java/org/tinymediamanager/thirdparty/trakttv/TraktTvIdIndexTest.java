@@ -0,0 +1,58 @@
+package org.tinymediamanager.thirdparty.trakttv;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.tinymediamanager.core.BasicTest;
+import org.tinymediamanager.core.movie.entities.Movie;
+import org.tinymediamanager.scraper.MediaMetadata;
+
+public class TraktTvIdIndexTest extends BasicTest {
+
+  @Test
+  public void testFind() {
+    Movie first = new Movie();
+    first.setId(MediaMetadata.IMDB, "tt0133093");
+    Movie second = new Movie();
+    second.setId(MediaMetadata.TMDB, 603);
+    Movie other = new Movie();
+    other.setId(MediaMetadata.TMDB, 604);
+
+    TraktTvIdIndex<Movie> index = new TraktTvIdIndex<>(List.of(first, second, other), MediaMetadata.TRAKT_TV, MediaMetadata.IMDB,
+        MediaMetadata.TMDB);
+
+    Map<String, Object> ids = new HashMap<>();
+    ids.put(MediaMetadata.TRAKT_TV, 481);
+    ids.put(MediaMetadata.IMDB, "tt0133093");
+    ids.put(MediaMetadata.TMDB, 603);
+
+    // both movies match (by different ids) and are returned in the original order
+    assertThat(index.find(ids)).containsExactly(first, second);
+
+    // empty/null ids never match
+    ids.put(MediaMetadata.IMDB, "");
+    ids.put(MediaMetadata.TMDB, null);
+    assertThat(index.find(ids)).isEmpty();
+
+    // re-indexing picks up newly added ids
+    other.setId(MediaMetadata.TRAKT_TV, 481);
+    index.add(other);
+    assertThat(index.find(ids)).containsExactly(other);
+  }
+
+  @Test
+  public void testFindIgnoresCaseOfStringIds() {
+    Movie movie = new Movie();
+    movie.setId(MediaMetadata.IMDB, "TT0133093");
+
+    TraktTvIdIndex<Movie> index = new TraktTvIdIndex<>(List.of(movie), MediaMetadata.IMDB);
+
+    Map<String, Object> ids = new HashMap<>();
+    ids.put(MediaMetadata.IMDB, "tt0133093");
+    assertThat(index.find(ids)).containsExactly(movie);
+  }
+}
@@ -0,0 +1,47 @@
+package org.tinymediamanager.thirdparty.trakttv;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.tinymediamanager.core.BasicTest;
+
+import com.uwetrottmann.trakt5.entities.LastActivities;
+
+public class TraktTvLastActivitiesTest extends BasicTest {
+
+  @Test
+  public void testFetchedOnce() {
+    TraktTvLastActivities lastActivities = new TraktTvLastActivities();
+    LastActivities activities = new LastActivities();
+    AtomicInteger calls = new AtomicInteger();
+
+    assertThat(lastActivities.get(() -> {
+      calls.incrementAndGet();
+      return activities;
+    })).isSameAs(activities);
+    assertThat(lastActivities.get(() -> {
+      calls.incrementAndGet();
+      return new LastActivities();
+    })).isSameAs(activities);
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  public void testFailedFetchIsNotRepeated() {
+    TraktTvLastActivities lastActivities = new TraktTvLastActivities();
+    AtomicInteger calls = new AtomicInteger();
+
+    assertThat(lastActivities.get(() -> {
+      calls.incrementAndGet();
+      throw new IOException("offline");
+    })).isNull();
+    assertThat(lastActivities.get(() -> {
+      calls.incrementAndGet();
+      return new LastActivities();
+    })).isNull();
+    assertThat(calls).hasValue(1);
+  }
+}
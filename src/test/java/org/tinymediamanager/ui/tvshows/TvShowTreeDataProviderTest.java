@@ -0,0 +1,76 @@
+package org.tinymediamanager.ui.tvshows;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.tinymediamanager.core.BasicTest;
+import org.tinymediamanager.core.FacetIndex;
+import org.tinymediamanager.core.entities.MediaGenres;
+import org.tinymediamanager.core.tvshow.entities.TvShow;
+import org.tinymediamanager.ui.ITmmUIFilter.FilterState;
+
+public class TvShowTreeDataProviderTest extends BasicTest {
+
+  @Test
+  public void testApplyFacet() {
+    FacetIndex<TvShow> index = new FacetIndex<>();
+    index.registerFacet("genre", TvShow::getGenres);
+
+    TvShow action = new TvShow();
+    action.addToGenres(List.of(MediaGenres.ACTION));
+    TvShow comedy = new TvShow();
+    comedy.addToGenres(List.of(MediaGenres.COMEDY));
+    TvShow empty = new TvShow();
+
+    index.add(action);
+    index.add(comedy);
+    index.add(empty);
+
+    List<Object> emptySelection = Collections.singletonList(FacetIndex.EMPTY);
+
+    // positive search
+    BitSet bits = TvShowTreeDataProvider.applyFacet(index, null, "genre", List.of(MediaGenres.ACTION), FilterState.ACTIVE);
+    assertThat(bits.cardinality()).isEqualTo(1);
+    assertThat(bits.get(index.getOrdinal(action))).isTrue();
+
+    // explicit empty search
+    bits = TvShowTreeDataProvider.applyFacet(index, null, "genre", emptySelection, FilterState.ACTIVE);
+    assertThat(bits.cardinality()).isEqualTo(1);
+    assertThat(bits.get(index.getOrdinal(empty))).isTrue();
+
+    // negative search
+    bits = TvShowTreeDataProvider.applyFacet(index, null, "genre", List.of(MediaGenres.ACTION), FilterState.ACTIVE_NEGATIVE);
+    assertThat(bits.cardinality()).isEqualTo(2);
+    assertThat(bits.get(index.getOrdinal(action))).isFalse();
+
+    // a negative search with an empty selection does not exclude anything
+    bits = TvShowTreeDataProvider.applyFacet(index, null, "genre", emptySelection, FilterState.ACTIVE_NEGATIVE);
+    assertThat(bits.cardinality()).isEqualTo(3);
+
+    // combined with the result of a previous filter
+    BitSet previous = TvShowTreeDataProvider.applyFacet(index, null, "genre", List.of(MediaGenres.ACTION, MediaGenres.COMEDY),
+        FilterState.ACTIVE);
+    bits = TvShowTreeDataProvider.applyFacet(index, previous, "genre", emptySelection, FilterState.ACTIVE_NEGATIVE);
+    assertThat(bits.cardinality()).isEqualTo(2);
+    bits = TvShowTreeDataProvider.applyFacet(index, bits, "genre", List.of(MediaGenres.COMEDY), FilterState.ACTIVE_NEGATIVE);
+    assertThat(bits.cardinality()).isEqualTo(1);
+    assertThat(bits.get(index.getOrdinal(action))).isTrue();
+  }
+
+  @Test
+  public void testBuildFacet() {
+    FacetIndex<TvShow> index = new FacetIndex<>();
+    index.add(new TvShow());
+
+    index.registerFacet("genre", TvShow::getGenres);
+    assertThat(index.isFacetBuilt("genre")).isFalse();
+
+    index.buildFacet("genre");
+    assertThat(index.isFacetBuilt("genre")).isTrue();
+    assertThat(index.isFacetBuilt("unknown")).isFalse();
+  }
+}